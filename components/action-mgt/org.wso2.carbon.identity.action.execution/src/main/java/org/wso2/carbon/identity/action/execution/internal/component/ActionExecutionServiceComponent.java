@@ -71,6 +71,7 @@ public class ActionExecutionServiceComponent {
         try {
             BundleContext bundleCtx = context.getBundleContext();
             bundleCtx.ungetService(bundleCtx.getServiceReference(ActionExecutorService.class));
+            ActionExecutorServiceImpl.getInstance().closeHttpClients();
             LOG.debug("Action execution bundle is deactivated.");
         } catch (Throwable e) {
             LOG.error("Error while deactivating Action execution service component.", e);
@@ -77,6 +77,8 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -112,6 +114,15 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
         return INSTANCE;
     }
 
+    /**
+     * Closes the non-blocking HTTP client used to send the action requests. It is created again on the next action
+     * request sent through the non-blocking HTTP client.
+     */
+    public void closeHttpClients() {
+
+        apiClient.close();
+    }
+
     @Override
     public boolean isExecutionEnabled(ActionType actionType) {
 
@@ -126,7 +137,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
         try {
             List<Action> actions = getActionsByActionType(actionType, tenantDomain);
             validateActions(actions, actionType);
-            // As of now only one action is allowed.
+            if (actions.size() > 1) {
+                return executeInParallel(actions, flowContext, tenantDomain);
+            }
             Action action = actions.get(0);
 
             return execute(action, flowContext, tenantDomain);
@@ -159,9 +172,84 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     private ActionExecutionStatus<?> execute(Action action, FlowContext flowContext, String tenantDomain)
             throws ActionExecutionException {
 
+        long deadline = getExecutionDeadline();
+        PreparedAction preparedAction = prepareAction(action, flowContext, tenantDomain);
+        if (preparedAction == null) {
+            // If the action is not active, not eligible or its rule is not satisfied, it is regarded as the action
+            // execution being successful.
+            return new SuccessStatus.Builder().setResponseContext(flowContext.getContextData()).build();
+        }
+
+        ActionInvocationResponse actionInvocationResponse = executeActionAsynchronously(action,
+                preparedAction.authenticationMethod, preparedAction.payload, deadline);
+        return processActionResponse(preparedAction, actionInvocationResponse, flowContext);
+    }
+
+    /**
+     * Execute the given actions concurrently. Version checks, rule evaluations and request building of the actions
+     * run in the calling thread, which carries the tenant and the diagnostic context of the flow, and the API call
+     * of each action is sent as soon as its request is built. The API calls run in parallel against the same flow
+     * context, hence the actions are expected to be independent of each other. The responses are then processed one
+     * by one in the order of the given actions, so the outcome does not depend on the order the API calls complete.
+     * The first response that is not a success is returned, otherwise the status of the last processed success
+     * response is returned. All the actions share a single execution deadline.
+     *
+     * @param actions      Actions to be executed.
+     * @param flowContext  Flow context.
+     * @param tenantDomain Tenant domain.
+     * @return Action execution status.
+     * @throws ActionExecutionException If an error occurs while executing any of the actions.
+     */
+    private ActionExecutionStatus<?> executeInParallel(List<Action> actions, FlowContext flowContext,
+                                                       String tenantDomain) throws ActionExecutionException {
+
+        long deadline = getExecutionDeadline();
+        List<PreparedAction> preparedActions = new ArrayList<>(actions.size());
+        List<CompletableFuture<ActionInvocationResponse>> actionExecutors = new ArrayList<>(actions.size());
+        try {
+            for (Action action : actions) {
+                PreparedAction preparedAction = prepareAction(action, flowContext, tenantDomain);
+                if (preparedAction == null) {
+                    continue;
+                }
+                preparedActions.add(preparedAction);
+                actionExecutors.add(invokeAction(action, preparedAction.authenticationMethod,
+                        preparedAction.payload, deadline));
+            }
+
+            ActionExecutionStatus<?> actionExecutionStatus = null;
+            for (int i = 0; i < preparedActions.size(); i++) {
+                PreparedAction preparedAction = preparedActions.get(i);
+                ActionInvocationResponse actionInvocationResponse =
+                        awaitCompletion(preparedAction.action, actionExecutors.get(i), deadline);
+                actionExecutionStatus = processActionResponse(preparedAction, actionInvocationResponse, flowContext);
+                if (actionExecutionStatus.getStatus() != ActionExecutionStatus.Status.SUCCESS) {
+                    return actionExecutionStatus;
+                }
+            }
+            if (actionExecutionStatus != null) {
+                return actionExecutionStatus;
+            }
+            return new SuccessStatus.Builder().setResponseContext(flowContext.getContextData()).build();
+        } finally {
+            for (CompletableFuture<ActionInvocationResponse> actionExecutor : actionExecutors) {
+                actionExecutor.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Run the version check and rule evaluation of the action, and build the request to be sent to the action
+     * endpoint.
+     *
+     * @return Prepared action, or null if the action should not be executed.
+     */
+    private PreparedAction prepareAction(Action action, FlowContext flowContext, String tenantDomain)
+            throws ActionExecutionException {
+
         if (action.getStatus() != Action.Status.ACTIVE) {
             // If no active actions are detected, it is regarded as the action execution being successful.
-            return new SuccessStatus.Builder().setResponseContext(flowContext.getContextData()).build();
+            return null;
         }
 
         ActionExecutionRequestContext actionExecutionRequestContext = ActionExecutionRequestContext.create(action);
@@ -172,14 +260,14 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                         "Skipping action execution.", action.getId()));
             }
             // If the action version is not satisfied, it is regarded as the action execution being successful.
-            return new SuccessStatus.Builder().setResponseContext(flowContext.getContextData()).build();
+            return null;
         }
 
         DIAGNOSTIC_LOGGER.logActionInitiation(action);
 
         if (!evaluateActionRule(action, flowContext, tenantDomain)) {
             // If the action rule is not satisfied, it is regarded as the action execution being successful.
-            return new SuccessStatus.Builder().setResponseContext(flowContext.getContextData()).build();
+            return null;
         }
 
         DIAGNOSTIC_LOGGER.logActionExecution(action);
@@ -188,7 +276,27 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                 actionType, action, flowContext, actionExecutionRequestContext);
         ActionExecutionResponseProcessor actionExecutionResponseProcessor = getResponseProcessor(actionType);
 
-        return executeAction(action, actionRequest, flowContext, actionExecutionResponseProcessor);
+        try {
+            AuthMethods.AuthMethod authenticationMethod =
+                    getAuthenticationMethod(action.getId(), action.getEndpoint().getAuthentication());
+            String payload = serializeRequest(actionRequest);
+
+            logActionRequest(action, payload);
+
+            return new PreparedAction(action, actionRequest, actionExecutionResponseProcessor, authenticationMethod,
+                    payload);
+        } catch (ActionMgtException | JsonProcessingException e) {
+            throw new ActionExecutionException("Error occurred while executing action: " + action.getId(), e);
+        }
+    }
+
+    private long getExecutionDeadline() {
+
+        int executionTimeout = ActionExecutorConfig.getInstance().getExecutionTimeoutInMillis();
+        if (executionTimeout <= 0) {
+            return APIClient.NO_DEADLINE;
+        }
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(executionTimeout);
     }
 
     private Action getActionByActionId(ActionType actionType, String actionId, String tenantDomain)
@@ -219,9 +327,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
             throw new ActionExecutionRuntimeException("No actions found for action type: " + actionType);
         }
 
-        if (actions.size() > 1) {
-            // when multiple actions are supported for an action type the logic below needs to be improved such that,
-            // a successful processing from one action becomes the input to the successor.
+        if (actions.size() > 1 && !ActionExecutorConfig.getInstance().isParallelExecutionEnabled()) {
+            // Sequential execution of multiple actions requires a successful processing from one action to become
+            // the input to the successor, which is not supported. Independent actions can be executed in parallel.
             throw new ActionExecutionException("Multiple actions found for action type: " + actionType.name() +
                     ". Current implementation doesn't support multiple actions for a single action type.");
         }
@@ -269,30 +377,6 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
         return responseProcessor;
     }
 
-    private ActionExecutionStatus<?> executeAction(Action action,
-                                                   ActionExecutionRequest actionRequest,
-                                                   FlowContext flowContext,
-                                                   ActionExecutionResponseProcessor actionExecutionResponseProcessor)
-            throws ActionExecutionException {
-
-        Authentication endpointAuthentication = action.getEndpoint().getAuthentication();
-        AuthMethods.AuthMethod authenticationMethod;
-
-        try {
-            authenticationMethod = getAuthenticationMethod(action.getId(), endpointAuthentication);
-            String payload = serializeRequest(actionRequest);
-
-            logActionRequest(action, payload);
-
-            ActionInvocationResponse actionInvocationResponse =
-                    executeActionAsynchronously(action, authenticationMethod, payload);
-            return processActionResponse(action, actionInvocationResponse, flowContext, actionRequest,
-                    actionExecutionResponseProcessor);
-        } catch (ActionMgtException | JsonProcessingException | ActionExecutionResponseProcessorException e) {
-            throw new ActionExecutionException("Error occurred while executing action: " + action.getId(), e);
-        }
-    }
-
     private boolean evaluateActionRule(Action action, FlowContext flowContext, String tenantDomain)
             throws ActionExecutionException {
 
@@ -347,22 +431,57 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
 
     private ActionInvocationResponse executeActionAsynchronously(Action action,
                                                                  AuthMethods.AuthMethod authenticationMethod,
-                                                                 String payload) throws ActionExecutionException {
+                                                                 String payload, long deadline)
+            throws ActionExecutionException {
+
+        return awaitCompletion(action, invokeAction(action, authenticationMethod, payload, deadline), deadline);
+    }
+
+    /**
+     * Send the API call of the action on the executor service. Only the API call is handed over to the executor
+     * service, as the other steps of the action execution rely on the thread local context of the caller.
+     */
+    private CompletableFuture<ActionInvocationResponse> invokeAction(Action action,
+                                                                     AuthMethods.AuthMethod authenticationMethod,
+                                                                     String payload, long deadline) {
 
         String apiEndpoint = action.getEndpoint().getUri();
-        Map<String, String> headers = new HashMap<>();
-        headers.put(API_VERSION_HEADER, action.getActionVersion());
-        CompletableFuture<ActionInvocationResponse> actionExecutor = CompletableFuture.supplyAsync(
+        Map<String, String> headers = getRequestHeaders(action);
+        return CompletableFuture.supplyAsync(
                 () -> apiClient.callAPI(ActionType.valueOf(action.getType().getActionType()),
-                        apiEndpoint, authenticationMethod, headers, payload), executorService);
+                        apiEndpoint, authenticationMethod, headers, payload, deadline), executorService);
+    }
+
+    private <T> T awaitCompletion(Action action, CompletableFuture<T> actionExecutor, long deadline)
+            throws ActionExecutionException {
+
         try {
-            return actionExecutor.get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new ActionExecutionException("Error occurred while executing action: " + action.getId(),
-                    e);
+            if (deadline == APIClient.NO_DEADLINE) {
+                return actionExecutor.get();
+            }
+            return actionExecutor.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            actionExecutor.cancel(true);
+            throw new ActionExecutionException("Execution timeout reached while executing action: " +
+                    action.getId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ActionExecutionException("Error occurred while executing action: " + action.getId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ActionExecutionException) {
+                throw (ActionExecutionException) e.getCause();
+            }
+            throw new ActionExecutionException("Error occurred while executing action: " + action.getId(), e);
         }
     }
 
+    private Map<String, String> getRequestHeaders(Action action) {
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(API_VERSION_HEADER, action.getActionVersion());
+        return headers;
+    }
+
     private void logActionRequest(Action action, String payload) {
 
         DIAGNOSTIC_LOGGER.logActionRequest(action);
@@ -377,6 +496,20 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
         }
     }
 
+    private ActionExecutionStatus<?> processActionResponse(PreparedAction preparedAction,
+                                                           ActionInvocationResponse actionInvocationResponse,
+                                                           FlowContext flowContext)
+            throws ActionExecutionException {
+
+        try {
+            return processActionResponse(preparedAction.action, actionInvocationResponse, flowContext,
+                    preparedAction.actionRequest, preparedAction.responseProcessor);
+        } catch (ActionExecutionResponseProcessorException e) {
+            throw new ActionExecutionException("Error occurred while executing action: " +
+                    preparedAction.action.getId(), e);
+        }
+    }
+
     private ActionExecutionStatus<?> processActionResponse(Action action,
                                                            ActionInvocationResponse actionInvocationResponse,
                                                            FlowContext flowContext,
@@ -668,4 +801,27 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
 
         }
     }
+
+    /**
+     * Action which is ready to be invoked, along with the response of the invocation once completed.
+     */
+    private static class PreparedAction {
+
+        private final Action action;
+        private final ActionExecutionRequest actionRequest;
+        private final ActionExecutionResponseProcessor responseProcessor;
+        private final AuthMethods.AuthMethod authenticationMethod;
+        private final String payload;
+
+        PreparedAction(Action action, ActionExecutionRequest actionRequest,
+                       ActionExecutionResponseProcessor responseProcessor,
+                       AuthMethods.AuthMethod authenticationMethod, String payload) {
+
+            this.action = action;
+            this.actionRequest = actionRequest;
+            this.responseProcessor = responseProcessor;
+            this.authenticationMethod = authenticationMethod;
+            this.payload = payload;
+        }
+    }
 }
@@ -23,20 +23,38 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.Timeout;
 import org.apache.http.ConnectionClosedException;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
 import org.apache.http.NoHttpResponseException;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.util.EntityUtils;
+import org.slf4j.MDC;
 import org.wso2.carbon.identity.action.execution.api.exception.ActionInvocationException;
 import org.wso2.carbon.identity.action.execution.api.model.ActionExecutionStatus;
 import org.wso2.carbon.identity.action.execution.api.model.ActionInvocationErrorResponse;
@@ -49,11 +67,28 @@ import org.wso2.carbon.identity.action.execution.api.model.ResponseData;
 import org.wso2.carbon.identity.action.execution.internal.service.impl.ResponseDataDeserializer;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.net.URI;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is responsible for making API calls to the external services.
@@ -63,7 +98,27 @@ public class APIClient {
     private static final Log LOG = LogFactory.getLog(APIClient.class);
     private static final ActionExecutionDiagnosticLogger DIAGNOSTIC_LOGGER = new ActionExecutionDiagnosticLogger();
     private static final String ACTION_STATUS = "actionStatus";
+    /**
+     * Deadline value which indicates that the request is only bounded by the configured HTTP timeouts.
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    /**
+     * Minimum number of latency samples of an endpoint required to derive the hedging delay from its latency.
+     */
+    private static final int MIN_SAMPLES_FOR_ADAPTIVE_HEDGING = 100;
+    private static final double HEDGING_PERCENTILE = 95;
+    /**
+     * Aborts the requests of the blocking HTTP client which are still running at their deadline.
+     */
+    private static final ScheduledThreadPoolExecutor REQUEST_ABORT_SCHEDULER = createRequestAbortScheduler();
     private final CloseableHttpClient httpClient;
+    private final RequestConfig requestConfig;
+    private final boolean asyncClientEnabled;
+    private final boolean circuitBreakerEnabled;
+    private final Map<String, EndpointCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, EndpointLatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+    private volatile CloseableHttpAsyncClient asyncHttpClient;
+    private volatile ScheduledThreadPoolExecutor asyncRequestScheduler;
 
     public APIClient() {
 
@@ -72,7 +127,7 @@ public class APIClient {
         int connectionRequestTimeout = ActionExecutorConfig.getInstance().getHttpConnectionRequestTimeoutInMillis();
         int connectionTimeout = ActionExecutorConfig.getInstance().getHttpConnectionTimeoutInMillis();
 
-        RequestConfig config = RequestConfig.custom()
+        requestConfig = RequestConfig.custom()
                 .setConnectTimeout(connectionTimeout)
                 .setConnectionRequestTimeout(connectionRequestTimeout)
                 .setSocketTimeout(readTimeout)
@@ -81,8 +136,61 @@ public class APIClient {
                 .build();
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setMaxTotal(ActionExecutorConfig.getInstance().getHttpConnectionPoolSize());
-        httpClient = HttpClientBuilder.create().setDefaultRequestConfig(config).setConnectionManager(connectionManager)
+        int maxPerRoute = ActionExecutorConfig.getInstance().getHttpConnectionMaxPerRoute();
+        if (maxPerRoute > 0) {
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        }
+        httpClient = HttpClientBuilder.create().setDefaultRequestConfig(requestConfig).setConnectionManager(connectionManager)
                 .build();
+        asyncClientEnabled = ActionExecutorConfig.getInstance().isAsyncHttpClientEnabled();
+        circuitBreakerEnabled = ActionExecutorConfig.getInstance().isCircuitBreakerEnabled();
+    }
+
+    /**
+     * Returns the latency histograms of the action endpoints, keyed by the endpoint origin.
+     *
+     * @return Unmodifiable view of the latency histograms.
+     */
+    public Map<String, EndpointLatencyHistogram> getEndpointLatencyHistograms() {
+
+        return Collections.unmodifiableMap(latencyHistograms);
+    }
+
+    /**
+     * Returns the circuit breakers of the action endpoints, keyed by the endpoint origin. Circuit breakers are only
+     * maintained if enabled by the configuration.
+     *
+     * @return Unmodifiable view of the circuit breakers.
+     */
+    public Map<String, EndpointCircuitBreaker> getEndpointCircuitBreakers() {
+
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    /**
+     * Closes the non-blocking HTTP client and stops the scheduler of its requests. The pending requests complete
+     * with a failure. Both are created again if a request is sent through the non-blocking HTTP client afterwards.
+     */
+    public void close() {
+
+        CloseableHttpAsyncClient client;
+        ScheduledThreadPoolExecutor scheduler;
+        synchronized (this) {
+            client = asyncHttpClient;
+            scheduler = asyncRequestScheduler;
+            asyncHttpClient = null;
+            asyncRequestScheduler = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                LOG.warn("Error while closing the non-blocking HTTP client of the action execution.", e);
+            }
+        }
     }
 
     /**
@@ -98,10 +206,32 @@ public class APIClient {
     public ActionInvocationResponse callAPI(ActionType actionType, String url, AuthMethods.AuthMethod authMethod,
                                             Map<String, String> additionalHeaders, String payload) {
 
+        int executionTimeout = ActionExecutorConfig.getInstance().getExecutionTimeoutInMillis();
+        long deadline = executionTimeout > 0 ?
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(executionTimeout) : NO_DEADLINE;
+        return callAPI(actionType, url, authMethod, additionalHeaders, payload, deadline);
+    }
+
+    /**
+     * Makes a POST API call to the given URL with the provided payload and headers, completing all the attempts
+     * before the given deadline. The timeouts of each attempt are capped by the time left until the deadline and
+     * no further attempts are made once the deadline has passed.
+     *
+     * @param actionType        Action type.
+     * @param url               URL of the API endpoint.
+     * @param authMethod        Authentication method to be used.
+     * @param additionalHeaders Headers to be included in the request.
+     * @param payload           Payload to be sent in the request body.
+     * @param deadline          Deadline as a {@link System#nanoTime()} value, or {@link #NO_DEADLINE}.
+     * @return ActionInvocationResponse containing the response or error details.
+     */
+    public ActionInvocationResponse callAPI(ActionType actionType, String url, AuthMethods.AuthMethod authMethod,
+                                            Map<String, String> additionalHeaders, String payload, long deadline) {
+
         HttpPost httpPost = new HttpPost(url);
         setRequestEntity(httpPost, payload, authMethod, additionalHeaders);
 
-        return executeRequest(actionType, httpPost);
+        return executeRequest(actionType, httpPost, deadline);
     }
 
     private void setRequestEntity(HttpPost httpPost, String jsonRequest, AuthMethods.AuthMethod authMethod,
@@ -119,37 +249,540 @@ public class APIClient {
         }
     }
 
-    private ActionInvocationResponse executeRequest(ActionType actionType, HttpPost request) {
+    private ActionInvocationResponse executeRequest(ActionType actionType, HttpPost request, long deadline) {
+
+        if (asyncClientEnabled) {
+            return executeAsyncRequest(actionType, request, deadline);
+        }
+        // The timeouts of the blocking HTTP client only bound each connect and read, hence the request is aborted
+        // if it is still running at the deadline.
+        ScheduledFuture<?> requestAbortion = null;
+        if (deadline != NO_DEADLINE) {
+            requestAbortion = REQUEST_ABORT_SCHEDULER.schedule(request::abort, deadline - System.nanoTime(),
+                    TimeUnit.NANOSECONDS);
+        }
+        try {
+            return executeAttempts(actionType, request, deadline);
+        } finally {
+            if (requestAbortion != null) {
+                requestAbortion.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Sends the request through the blocking HTTP client. The attempts and the backoff between them run on the
+     * calling thread.
+     */
+    private ActionInvocationResponse executeAttempts(ActionType actionType, HttpPost request, long deadline) {
 
         int attempts = 0;
         int retryCount = ActionExecutorConfig.getInstance().getHttpRequestRetryCount();
         ActionInvocationResponse actionInvocationResponse = null;
+        String endpoint = getEndpoint(request.getURI());
+        EndpointCircuitBreaker circuitBreaker = circuitBreakerEnabled ? getCircuitBreaker(endpoint) : null;
 
         while (attempts < retryCount) {
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                actionInvocationResponse = handleResponse(actionType, response);
-                if (!actionInvocationResponse.isError() || !actionInvocationResponse.isRetry()) {
-                    return actionInvocationResponse;
-                }
-                logEndpointUnavailability(request, attempts + 1, retryCount);
-            } catch (ConnectTimeoutException | SocketTimeoutException e) {
-                logEndpointTimeout(request, attempts + 1, retryCount);
-            } catch (ConnectionClosedException | NoHttpResponseException | SocketException | UnknownHostException e) {
-                logEndpointRequestFailure(request, attempts + 1, retryCount);
-            } catch (Exception e) {
-                DIAGNOSTIC_LOGGER.logAPICallError(request);
-                LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
+            ActionInvocationResponse rejectedResponse = startAttempt(request, attempts, deadline, circuitBreaker,
+                    actionInvocationResponse);
+            if (rejectedResponse != null) {
+                actionInvocationResponse = rejectedResponse;
                 break;
+            }
+            long startTime = System.nanoTime();
+            ActionInvocationResponse response = null;
+            Exception failure = null;
+            try {
+                response = sendRequest(actionType, request);
+            } catch (Exception e) {
+                failure = e;
+            }
+            AttemptOutcome outcome;
+            try {
+                // Completed before releasing the connection, which clears the aborted state of the request.
+                outcome = completeAttempt(request, endpoint, circuitBreaker, attempts + 1, retryCount, startTime,
+                        response, failure);
             } finally {
                 request.releaseConnection();
             }
+            if (outcome.response != null) {
+                actionInvocationResponse = outcome.response;
+            }
+            if (!outcome.retry) {
+                break;
+            }
             attempts++;
+            if (attempts < retryCount && !backOff(attempts, deadline)) {
+                break;
+            }
+        }
+
+        return actionInvocationResponse != null ? actionInvocationResponse : createFailureResponse();
+    }
+
+    /**
+     * Sends the request through the non-blocking HTTP client. The attempts are sent by the non-blocking HTTP client
+     * and the retries and hedged requests are scheduled, hence no thread is held while a request is in flight or
+     * waiting for a retry. The calling thread still waits until the final response is available or the deadline is
+     * reached, since the action execution flow needs the response to continue.
+     */
+    private ActionInvocationResponse executeAsyncRequest(ActionType actionType, HttpPost request, long deadline) {
+
+        byte[] body;
+        try {
+            body = EntityUtils.toByteArray(request.getEntity());
+        } catch (IOException e) {
+            DIAGNOSTIC_LOGGER.logAPICallError(request);
+            LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
+            return createFailureResponse();
+        }
+
+        AsyncExecution execution = new AsyncExecution(actionType, request, body, deadline);
+        execution.start();
+        try {
+            if (deadline == NO_DEADLINE) {
+                return execution.result.get();
+            }
+            return execution.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            execution.result.cancel(true);
+            logExecutionTimeout(request, execution.attempts);
+            return createTimeoutResponse();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            execution.result.cancel(true);
+            return createFailureResponse();
+        } catch (ExecutionException | CancellationException e) {
+            LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
+            return createFailureResponse();
+        }
+    }
+
+    /**
+     * Checks whether an attempt can be sent within the deadline and the circuit breaker of the endpoint, and caps
+     * the timeouts of the attempt by the time left until the deadline.
+     *
+     * @return Response to complete the request with if the attempt cannot be sent, null otherwise.
+     */
+    private ActionInvocationResponse startAttempt(HttpPost request, int attempts, long deadline,
+                                                  EndpointCircuitBreaker circuitBreaker,
+                                                  ActionInvocationResponse lastResponse) {
+
+        if (deadline != NO_DEADLINE) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                logExecutionTimeout(request, attempts);
+                return lastResponse != null ? lastResponse : createTimeoutResponse();
+            }
+            request.setConfig(getRequestConfig(remainingMillis));
+        }
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            logCircuitOpen(request);
+            return new ActionInvocationResponse.Builder()
+                    .errorLog("Action endpoint is unavailable. Request is not sent as the circuit is open.")
+                    .build();
+        }
+        return null;
+    }
+
+    /**
+     * Records the result of an attempt in the latency histogram and the circuit breaker of the endpoint, and
+     * decides whether the request should be retried.
+     */
+    private AttemptOutcome completeAttempt(HttpPost request, String endpoint, EndpointCircuitBreaker circuitBreaker,
+                                           int attempt, int retryCount, long startTime,
+                                           ActionInvocationResponse response, Throwable failure) {
+
+        boolean endpointFailure = true;
+        try {
+            if (failure == null) {
+                getLatencyHistogram(endpoint).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                endpointFailure = response.isError() && response.isRetry();
+                if (!endpointFailure) {
+                    return new AttemptOutcome(response, false);
+                }
+                logEndpointUnavailability(request, attempt, retryCount);
+                return new AttemptOutcome(response, true);
+            }
+            if (failure instanceof ConnectTimeoutException || failure instanceof SocketTimeoutException) {
+                logEndpointTimeout(request, attempt, retryCount);
+                return new AttemptOutcome(null, true);
+            }
+            if (failure instanceof ConnectionClosedException || failure instanceof NoHttpResponseException ||
+                    failure instanceof SocketException || failure instanceof UnknownHostException) {
+                logEndpointRequestFailure(request, attempt, retryCount);
+                return new AttemptOutcome(null, true);
+            }
+            if (request.isAborted()) {
+                logExecutionTimeout(request, attempt);
+                return new AttemptOutcome(createTimeoutResponse(), false);
+            }
+            DIAGNOSTIC_LOGGER.logAPICallError(request);
+            LOG.error("Request for API: " + request.getURI() + " failed due to an error.", failure);
+            return new AttemptOutcome(null, false);
+        } finally {
+            if (circuitBreaker != null) {
+                if (endpointFailure) {
+                    circuitBreaker.recordFailure();
+                } else {
+                    circuitBreaker.recordSuccess();
+                }
+            }
         }
+    }
+
+    private static ActionInvocationResponse createTimeoutResponse() {
+
+        return new ActionInvocationResponse.Builder()
+                .errorLog("Action execution timed out before the action request completed.")
+                .build();
+    }
 
-        return actionInvocationResponse != null ? actionInvocationResponse : new ActionInvocationResponse.Builder()
+    private static ActionInvocationResponse createFailureResponse() {
+
+        return new ActionInvocationResponse.Builder()
                 .errorLog("Failed to execute the action request or maximum retry attempts reached.").build();
     }
 
+    private ActionInvocationResponse sendRequest(ActionType actionType, HttpPost request) throws IOException {
+
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            return handleResponse(actionType, response);
+        }
+    }
+
+    /**
+     * Sends an attempt of the request through the non-blocking HTTP client. If hedging is enabled for the action
+     * type, a second request is sent when the first one has not completed within the hedging delay, and the
+     * response which completes first is used.
+     */
+    private CompletableFuture<SimpleHttpResponse> sendAsyncRequest(ActionType actionType, HttpPost request,
+                                                                   String endpoint, byte[] body, long deadline) {
+
+        CompletableFuture<SimpleHttpResponse> primary = execute(toAsyncRequest(request, body, deadline));
+        if (!ActionExecutorConfig.getInstance().isHedgingEnabled(actionType)) {
+            return primary;
+        }
+        long hedgingDelay = getHedgingDelayInMillis(endpoint);
+        if (deadline != NO_DEADLINE && TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) <= hedgingDelay) {
+            return primary;
+        }
+
+        CompletableFuture<SimpleHttpResponse> response = new CompletableFuture<>();
+        primary.whenComplete((httpResponse, e) -> complete(response, httpResponse, e));
+        ScheduledFuture<?> hedging = getAsyncRequestScheduler().schedule(() -> {
+            if (response.isDone()) {
+                return;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Request for API: " + request.getURI() + " did not complete within " + hedgingDelay +
+                        " ms. Sending a hedged request.");
+            }
+            CompletableFuture<SimpleHttpResponse> hedged = execute(toAsyncRequest(request, body, deadline));
+            hedged.whenComplete((httpResponse, e) -> complete(response, httpResponse, e));
+            response.whenComplete((httpResponse, e) -> hedged.cancel(true));
+        }, hedgingDelay, TimeUnit.MILLISECONDS);
+        response.whenComplete((httpResponse, e) -> {
+            hedging.cancel(false);
+            primary.cancel(true);
+        });
+        return response;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T value, Throwable failure) {
+
+        if (failure == null) {
+            future.complete(value);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    private CompletableFuture<SimpleHttpResponse> execute(SimpleHttpRequest request) {
+
+        CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+        Future<SimpleHttpResponse> future = getAsyncHttpClient().execute(request,
+                new FutureCallback<SimpleHttpResponse>() {
+
+                    @Override
+                    public void completed(SimpleHttpResponse response) {
+
+                        result.complete(response);
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+
+                        result.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+
+                        result.cancel(false);
+                    }
+                });
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Maps the failures of the non-blocking HTTP client to the exceptions handled by the retry logic.
+     */
+    private static IOException toIOException(Throwable cause) {
+
+        if (cause instanceof SocketTimeoutException || cause instanceof SocketException ||
+                cause instanceof UnknownHostException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof InterruptedIOException) {
+            SocketTimeoutException timeoutException = new SocketTimeoutException(cause.getMessage());
+            timeoutException.initCause(cause);
+            return timeoutException;
+        }
+        if (cause instanceof org.apache.hc.core5.http.ConnectionClosedException) {
+            return new NoHttpResponseException(cause.getMessage());
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException(cause);
+    }
+
+    private SimpleHttpRequest toAsyncRequest(HttpPost request, byte[] body, long deadline) {
+
+        SimpleRequestBuilder builder = SimpleRequestBuilder.post(request.getURI());
+        for (Header header : request.getAllHeaders()) {
+            if (!"Content-Type".equalsIgnoreCase(header.getName())) {
+                builder.addHeader(header.getName(), header.getValue());
+            }
+        }
+        builder.setBody(body, ContentType.APPLICATION_JSON);
+
+        int responseTimeout = requestConfig.getSocketTimeout();
+        int connectionRequestTimeout = requestConfig.getConnectionRequestTimeout();
+        if (deadline != NO_DEADLINE) {
+            long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            responseTimeout = capTimeout(responseTimeout, remainingMillis);
+            connectionRequestTimeout = capTimeout(connectionRequestTimeout, remainingMillis);
+        }
+        builder.setRequestConfig(org.apache.hc.client5.http.config.RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
+                .setRedirectsEnabled(false)
+                .build());
+        return builder.build();
+    }
+
+    private ActionInvocationResponse toActionInvocationResponse(ActionType actionType, SimpleHttpResponse response) {
+
+        BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, response.getCode(),
+                response.getReasonPhrase());
+        byte[] body = response.getBodyBytes();
+        if (body != null) {
+            ByteArrayEntity entity = new ByteArrayEntity(body);
+            if (response.getContentType() != null) {
+                entity.setContentType(response.getContentType().toString());
+            }
+            httpResponse.setEntity(entity);
+        }
+        return handleResponse(actionType, httpResponse);
+    }
+
+    private CloseableHttpAsyncClient getAsyncHttpClient() {
+
+        CloseableHttpAsyncClient client = asyncHttpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = asyncHttpClient;
+                if (client == null) {
+                    client = createAsyncHttpClient();
+                    asyncHttpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private ScheduledThreadPoolExecutor getAsyncRequestScheduler() {
+
+        ScheduledThreadPoolExecutor scheduler = asyncRequestScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = asyncRequestScheduler;
+                if (scheduler == null) {
+                    scheduler = createAsyncRequestScheduler();
+                    asyncRequestScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Creates the scheduler which handles the responses of the non-blocking HTTP client off its I/O threads, and
+     * schedules the retries and hedged requests.
+     */
+    private static ScheduledThreadPoolExecutor createAsyncRequestScheduler() {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "ActionAsyncRequestScheduler-" +
+                            threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private CloseableHttpAsyncClient createAsyncHttpClient() {
+
+        ActionExecutorConfig config = ActionExecutorConfig.getInstance();
+        PoolingAsyncClientConnectionManagerBuilder connectionManagerBuilder =
+                PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(config.getHttpConnectionPoolSize())
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.ofMilliseconds(requestConfig.getConnectTimeout()))
+                                .build())
+                        .setDefaultTlsConfig(TlsConfig.custom()
+                                .setVersionPolicy(getHttpVersionPolicy(config.getHttpVersionPolicy()))
+                                .build());
+        int maxPerRoute = config.getHttpConnectionMaxPerRoute();
+        if (maxPerRoute > 0) {
+            connectionManagerBuilder.setMaxConnPerRoute(maxPerRoute);
+        }
+        PoolingAsyncClientConnectionManager connectionManager = connectionManagerBuilder.build();
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .build();
+        client.start();
+        return client;
+    }
+
+    private static HttpVersionPolicy getHttpVersionPolicy(String versionPolicy) {
+
+        try {
+            return HttpVersionPolicy.valueOf(versionPolicy.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid HTTP version policy: " + versionPolicy + " configured for the action execution " +
+                    "HTTP client. Using the default policy: " + HttpVersionPolicy.NEGOTIATE);
+            return HttpVersionPolicy.NEGOTIATE;
+        }
+    }
+
+    /**
+     * Returns the hedging delay of the endpoint. The 95th percentile latency of the endpoint is used once enough
+     * samples are recorded, otherwise the configured hedging delay is used.
+     */
+    private long getHedgingDelayInMillis(String endpoint) {
+
+        EndpointLatencyHistogram histogram = latencyHistograms.get(endpoint);
+        if (histogram != null && histogram.getCount() >= MIN_SAMPLES_FOR_ADAPTIVE_HEDGING) {
+            return Math.max(1, histogram.getPercentile(HEDGING_PERCENTILE));
+        }
+        return ActionExecutorConfig.getInstance().getHedgingDelayInMillis();
+    }
+
+    private static ScheduledThreadPoolExecutor createRequestAbortScheduler() {
+
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ActionRequestAbortScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most of the requests complete before their deadline, hence the cancelled abortions are not retained.
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Waits before the next retry attempt using exponential backoff with full jitter, within the deadline.
+     *
+     * @return 'false' if the thread is interrupted while waiting, 'true' otherwise.
+     */
+    private static boolean backOff(int attempts, long deadline) {
+
+        long delay = getBackoffDelayInMillis(attempts, deadline);
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the delay before the next retry attempt using exponential backoff with full jitter, within the
+     * deadline.
+     */
+    private static long getBackoffDelayInMillis(int attempts, long deadline) {
+
+        int initialDelay = ActionExecutorConfig.getInstance().getRetryBackoffInitialDelayInMillis();
+        if (initialDelay <= 0) {
+            return 0;
+        }
+        long maxDelay = Math.max(initialDelay, ActionExecutorConfig.getInstance().getRetryBackoffMaxDelayInMillis());
+        long delay = ThreadLocalRandom.current().nextLong(
+                Math.min(maxDelay, (long) initialDelay << Math.min(attempts - 1, 20)) + 1);
+        if (deadline != NO_DEADLINE) {
+            delay = Math.min(delay, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        }
+        return delay;
+    }
+
+    private EndpointCircuitBreaker getCircuitBreaker(String endpoint) {
+
+        return circuitBreakers.computeIfAbsent(endpoint, key -> new EndpointCircuitBreaker(
+                ActionExecutorConfig.getInstance().getCircuitBreakerFailureThreshold(),
+                ActionExecutorConfig.getInstance().getCircuitBreakerOpenDurationInMillis()));
+    }
+
+    private EndpointLatencyHistogram getLatencyHistogram(String endpoint) {
+
+        return latencyHistograms.computeIfAbsent(endpoint, key -> new EndpointLatencyHistogram());
+    }
+
+    private static String getEndpoint(URI uri) {
+
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ENGLISH) : "http";
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+
+    private RequestConfig getRequestConfig(long remainingMillis) {
+
+        return RequestConfig.copy(requestConfig)
+                .setConnectTimeout(capTimeout(requestConfig.getConnectTimeout(), remainingMillis))
+                .setConnectionRequestTimeout(capTimeout(requestConfig.getConnectionRequestTimeout(),
+                        remainingMillis))
+                .setSocketTimeout(capTimeout(requestConfig.getSocketTimeout(), remainingMillis))
+                .build();
+    }
+
+    private static int capTimeout(int timeout, long remainingMillis) {
+
+        // A non-positive timeout means no timeout, hence the remaining time becomes the timeout.
+        if (timeout <= 0 || timeout > remainingMillis) {
+            return (int) Math.min(remainingMillis, Integer.MAX_VALUE);
+        }
+        return timeout;
+    }
+
     private ActionInvocationResponse handleResponse(ActionType actionType, HttpResponse response) {
 
         int statusCode = response.getStatusLine().getStatusCode();
@@ -319,6 +952,21 @@ public class APIClient {
         }
     }
 
+    private static void logExecutionTimeout(HttpPost request, int attempts) {
+
+        DIAGNOSTIC_LOGGER.logAPICallError(request);
+        LOG.debug("Execution timeout reached for the request to API: " + request.getURI() + " after " + attempts +
+                " attempt(s).");
+    }
+
+    private static void logCircuitOpen(HttpPost request) {
+
+        DIAGNOSTIC_LOGGER.logAPICallError(request);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Circuit of API: " + request.getURI() + " is open. Skipping the request.");
+        }
+    }
+
     private static void logEndpointTimeout(HttpPost request, int currentAttempt, int retryCount) {
 
         DIAGNOSTIC_LOGGER.logAPICallTimeout(request, currentAttempt, retryCount);
@@ -342,4 +990,180 @@ public class APIClient {
             }
         }
     }
+
+    /**
+     * Outcome of an attempt of a request.
+     */
+    private static final class AttemptOutcome {
+
+        // Null if the attempt did not produce a response.
+        private final ActionInvocationResponse response;
+        private final boolean retry;
+
+        AttemptOutcome(ActionInvocationResponse response, boolean retry) {
+
+            this.response = response;
+            this.retry = retry;
+        }
+    }
+
+    /**
+     * Attempts of a request sent through the non-blocking HTTP client. Each attempt is sent once the previous
+     * attempt completes or its backoff delay elapses. The attempts are completed on the async request scheduler
+     * with the MDC context of the caller, so that the diagnostic logs are correlated with the caller.
+     */
+    private final class AsyncExecution {
+
+        private final ActionType actionType;
+        private final HttpPost request;
+        private final byte[] body;
+        private final long deadline;
+        private final String endpoint;
+        private final EndpointCircuitBreaker circuitBreaker;
+        private final int retryCount;
+        private final ScheduledThreadPoolExecutor scheduler;
+        private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        private final CompletableFuture<ActionInvocationResponse> result = new CompletableFuture<>();
+        private volatile int attempts;
+        private volatile ActionInvocationResponse lastResponse;
+        private volatile Future<?> pending;
+
+        AsyncExecution(ActionType actionType, HttpPost request, byte[] body, long deadline) {
+
+            this.actionType = actionType;
+            this.request = request;
+            this.body = body;
+            this.deadline = deadline;
+            this.endpoint = getEndpoint(request.getURI());
+            this.circuitBreaker = circuitBreakerEnabled ? getCircuitBreaker(endpoint) : null;
+            this.retryCount = ActionExecutorConfig.getInstance().getHttpRequestRetryCount();
+            this.scheduler = getAsyncRequestScheduler();
+            // Completing the execution, including by cancellation, cancels the attempt or retry in progress.
+            result.whenComplete((response, e) -> {
+                Future<?> pendingAttempt = pending;
+                if (pendingAttempt != null) {
+                    pendingAttempt.cancel(true);
+                }
+            });
+        }
+
+        void start() {
+
+            runWithCallerContext(this::attempt);
+        }
+
+        private void attempt() {
+
+            if (result.isDone()) {
+                return;
+            }
+            if (attempts >= retryCount) {
+                complete();
+                return;
+            }
+            ActionInvocationResponse rejectedResponse = startAttempt(request, attempts, deadline, circuitBreaker,
+                    lastResponse);
+            if (rejectedResponse != null) {
+                result.complete(rejectedResponse);
+                return;
+            }
+            long startTime = System.nanoTime();
+            CompletableFuture<SimpleHttpResponse> response;
+            try {
+                response = sendAsyncRequest(actionType, request, endpoint, body, deadline);
+            } catch (RuntimeException e) {
+                completeAttempt(null, e, startTime);
+                return;
+            }
+            pending = response;
+            // Handled off the I/O threads of the non-blocking HTTP client. Every admitted attempt is completed here,
+            // including the cancelled ones, so that the permit of the circuit breaker is always given back.
+            response.whenComplete((httpResponse, e) -> dispatch(
+                    () -> runWithCallerContext(() -> completeAttempt(httpResponse, e, startTime))));
+            if (result.isDone()) {
+                response.cancel(true);
+            }
+        }
+
+        private void completeAttempt(SimpleHttpResponse httpResponse, Throwable failure, long startTime) {
+
+            if (result.isDone()) {
+                // The outcome of an attempt completed after the execution is not known, e.g. it was cancelled at
+                // the deadline, hence it is neither a success nor a failure of the endpoint.
+                if (circuitBreaker != null) {
+                    circuitBreaker.release();
+                }
+                return;
+            }
+            ActionInvocationResponse response = null;
+            Throwable attemptFailure = null;
+            if (failure != null) {
+                attemptFailure = toIOException(failure instanceof CompletionException && failure.getCause() != null ?
+                        failure.getCause() : failure);
+            } else {
+                try {
+                    response = toActionInvocationResponse(actionType, httpResponse);
+                } catch (RuntimeException e) {
+                    attemptFailure = e;
+                }
+            }
+            AttemptOutcome outcome = APIClient.this.completeAttempt(request, endpoint, circuitBreaker, attempts + 1,
+                    retryCount, startTime, response, attemptFailure);
+            if (outcome.response != null) {
+                lastResponse = outcome.response;
+            }
+            attempts++;
+            if (!outcome.retry || attempts >= retryCount) {
+                complete();
+                return;
+            }
+            long delay = getBackoffDelayInMillis(attempts, deadline);
+            if (delay > 0) {
+                pending = scheduler.schedule(() -> runWithCallerContext(this::attempt), delay,
+                        TimeUnit.MILLISECONDS);
+            } else {
+                attempt();
+            }
+        }
+
+        private void complete() {
+
+            result.complete(lastResponse != null ? lastResponse : createFailureResponse());
+        }
+
+        /**
+         * Runs the task on the scheduler, or on the current thread if the scheduler is stopped.
+         */
+        private void dispatch(Runnable task) {
+
+            try {
+                scheduler.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+
+        private void runWithCallerContext(Runnable task) {
+
+            Map<String, String> previousContextMap = MDC.getCopyOfContextMap();
+            setMDCContext(contextMap);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Includes the rejected retries once the scheduler is stopped.
+                LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
+                complete();
+            } finally {
+                setMDCContext(previousContextMap);
+            }
+        }
+    }
+
+    private static void setMDCContext(Map<String, String> contextMap) {
+
+        MDC.clear();
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import org.wso2.carbon.identity.action.execution.api.model.ActionType;
 import org.wso2.carbon.identity.core.util.IdentityConfigParser;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -50,11 +51,43 @@ public class ActionExecutorConfig {
     private static final String HTTP_CONNECTION_TIMEOUT_PROPERTY = "Actions.HTTPClient.HTTPConnectionTimeout";
     private static final String HTTP_CONNECTION_POOL_SIZE_PROPERTY = "Actions.HTTPClient.HTTPConnectionPoolSize";
     private static final String HTTP_REQUEST_RETRY_COUNT_PROPERTY = "Actions.HTTPClient.HTTPRequestRetryCount";
+    private static final String EXECUTION_TIMEOUT_PROPERTY = "Actions.ExecutionTimeout";
+    private static final String PARALLEL_EXECUTION_ENABLE_PROPERTY = "Actions.ParallelExecution.Enable";
+    private static final String HTTP_CONNECTION_MAX_PER_ROUTE_PROPERTY =
+            "Actions.HTTPClient.HTTPConnectionMaxPerRoute";
+    private static final String HTTP_ASYNC_CLIENT_ENABLE_PROPERTY = "Actions.HTTPClient.Async.Enable";
+    private static final String HTTP_VERSION_POLICY_PROPERTY = "Actions.HTTPClient.Async.HTTPVersionPolicy";
+    private static final String RETRY_BACKOFF_INITIAL_DELAY_PROPERTY =
+            "Actions.HTTPClient.RetryBackoff.InitialDelay";
+    private static final String RETRY_BACKOFF_MAX_DELAY_PROPERTY = "Actions.HTTPClient.RetryBackoff.MaxDelay";
+    private static final String CIRCUIT_BREAKER_ENABLE_PROPERTY = "Actions.HTTPClient.CircuitBreaker.Enable";
+    private static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD_PROPERTY =
+            "Actions.HTTPClient.CircuitBreaker.FailureThreshold";
+    private static final String CIRCUIT_BREAKER_OPEN_DURATION_PROPERTY =
+            "Actions.HTTPClient.CircuitBreaker.OpenDuration";
+    private static final String HEDGING_ENABLE_PROPERTY = "Actions.HTTPClient.Hedging.Enable";
+    private static final String HEDGING_DELAY_PROPERTY = "Actions.HTTPClient.Hedging.Delay";
     private static final int DEFAULT_HTTP_REQUEST_RETRY_COUNT = 2;
     private static final int DEFAULT_HTTP_CONNECTION_POOL_SIZE = 20;
     private static final int DEFAULT_HTTP_READ_TIMEOUT_IN_MILLIS = 5000;
     private static final int DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT_IN_MILLIS = 2000;
     private static final int DEFAULT_HTTP_CONNECTION_TIMEOUT_IN_MILLIS = 2000;
+    // No overall deadline unless configured. The requests are only bounded by the HTTP timeouts and retries.
+    private static final int DEFAULT_EXECUTION_TIMEOUT_IN_MILLIS = 0;
+    // Same as the default per route limit of the Apache HTTP client connection managers.
+    private static final int DEFAULT_HTTP_CONNECTION_MAX_PER_ROUTE = 2;
+    private static final String DEFAULT_HTTP_VERSION_POLICY = "NEGOTIATE";
+    private static final int DEFAULT_RETRY_BACKOFF_INITIAL_DELAY_IN_MILLIS = 100;
+    private static final int DEFAULT_RETRY_BACKOFF_MAX_DELAY_IN_MILLIS = 2000;
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS = 30000;
+    private static final int DEFAULT_HEDGING_DELAY_IN_MILLIS = 500;
+    /**
+     * Action types of which the action endpoints only compute a response for the flow without changing any state,
+     * hence the requests can be safely sent more than once.
+     */
+    private static final Set<ActionType> IDEMPOTENT_ACTION_TYPES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(ActionType.PRE_ISSUE_ACCESS_TOKEN, ActionType.PRE_ISSUE_ID_TOKEN)));
 
     private ActionExecutorConfig() {
 
@@ -168,6 +201,156 @@ public class ActionExecutorConfig {
         return parseTimeoutConfig(HTTP_CONNECTION_TIMEOUT_PROPERTY, DEFAULT_HTTP_CONNECTION_TIMEOUT_IN_MILLIS);
     }
 
+    /**
+     * Retrieves the overall timeout for executing the actions of a flow, including all the HTTP request retries.
+     * The timeout is disabled unless configured. A value less than or equal to zero disables the timeout.
+     *
+     * @return The execution timeout int value in milliseconds.
+     */
+    public int getExecutionTimeoutInMillis() {
+
+        return parseTimeoutConfig(EXECUTION_TIMEOUT_PROPERTY, DEFAULT_EXECUTION_TIMEOUT_IN_MILLIS);
+    }
+
+    /**
+     * Returns a boolean value based on the system configuration: 'actions.parallel_execution.enable' that enables
+     * executing multiple actions of an action type concurrently.
+     *
+     * @return 'true' if configuration is 'true', return 'false' otherwise.
+     */
+    public boolean isParallelExecutionEnabled() {
+
+        return isActionTypeEnabled(PARALLEL_EXECUTION_ENABLE_PROPERTY);
+    }
+
+    /**
+     * Returns the maximum number of HTTP connections per action endpoint based on the system configuration.
+     *
+     * @return The per endpoint connection limit, or the default if the property is missing or invalid.
+     */
+    public int getHttpConnectionMaxPerRoute() {
+
+        return parseIntConfig(HTTP_CONNECTION_MAX_PER_ROUTE_PROPERTY,
+                DEFAULT_HTTP_CONNECTION_MAX_PER_ROUTE);
+    }
+
+    /**
+     * Returns a boolean value based on the system configuration: 'actions.http_client.async.enable' that enables
+     * sending the action requests through the non-blocking HTTP client.
+     * The attempts, the backoff between the retries and the hedged requests are scheduled without holding a thread,
+     * but the calling thread still waits for the final response of the action, bounded by the execution timeout.
+     * With the blocking HTTP client, the calling thread sends the attempts and sleeps during the retry backoff.
+     *
+     * @return 'true' if configuration is 'true', return 'false' otherwise.
+     */
+    public boolean isAsyncHttpClientEnabled() {
+
+        return isActionTypeEnabled(HTTP_ASYNC_CLIENT_ENABLE_PROPERTY);
+    }
+
+    /**
+     * Returns the HTTP version policy of the non-blocking HTTP client. One of FORCE_HTTP_1, FORCE_HTTP_2 or
+     * NEGOTIATE, where NEGOTIATE uses HTTP/2 with the endpoints that support it over TLS.
+     *
+     * @return The HTTP version policy.
+     */
+    public String getHttpVersionPolicy() {
+
+        String versionPolicy = getVersion(HTTP_VERSION_POLICY_PROPERTY);
+        return versionPolicy != null ? versionPolicy.trim() : DEFAULT_HTTP_VERSION_POLICY;
+    }
+
+    /**
+     * Retrieves the initial delay of the exponential backoff between HTTP request retries.
+     *
+     * @return The initial backoff delay in milliseconds.
+     */
+    public int getRetryBackoffInitialDelayInMillis() {
+
+        return parseTimeoutConfig(RETRY_BACKOFF_INITIAL_DELAY_PROPERTY,
+                DEFAULT_RETRY_BACKOFF_INITIAL_DELAY_IN_MILLIS);
+    }
+
+    /**
+     * Retrieves the maximum delay of the exponential backoff between HTTP request retries.
+     *
+     * @return The maximum backoff delay in milliseconds.
+     */
+    public int getRetryBackoffMaxDelayInMillis() {
+
+        return parseTimeoutConfig(RETRY_BACKOFF_MAX_DELAY_PROPERTY, DEFAULT_RETRY_BACKOFF_MAX_DELAY_IN_MILLIS);
+    }
+
+    /**
+     * Returns a boolean value based on the system configuration: 'actions.http_client.circuit_breaker.enable' that
+     * enables the per endpoint circuit breakers.
+     *
+     * @return 'true' if configuration is 'true', return 'false' otherwise.
+     */
+    public boolean isCircuitBreakerEnabled() {
+
+        return isActionTypeEnabled(CIRCUIT_BREAKER_ENABLE_PROPERTY);
+    }
+
+    /**
+     * Returns the number of consecutive failures which opens the circuit of an action endpoint.
+     *
+     * @return The circuit breaker failure threshold.
+     */
+    public int getCircuitBreakerFailureThreshold() {
+
+        return parseIntConfig(CIRCUIT_BREAKER_FAILURE_THRESHOLD_PROPERTY, DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+    }
+
+    /**
+     * Retrieves the time an open circuit rejects requests before a probe request is allowed.
+     *
+     * @return The open duration in milliseconds.
+     */
+    public int getCircuitBreakerOpenDurationInMillis() {
+
+        return parseTimeoutConfig(CIRCUIT_BREAKER_OPEN_DURATION_PROPERTY,
+                DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS);
+    }
+
+    /**
+     * Returns whether requests of the given action type can be hedged. Hedging is only applied to idempotent
+     * action types when enabled by the system configuration: 'actions.http_client.hedging.enable'.
+     *
+     * @param actionType Action Type
+     * @return 'true' if the requests of the action type can be hedged, return 'false' otherwise.
+     */
+    public boolean isHedgingEnabled(ActionType actionType) {
+
+        return IDEMPOTENT_ACTION_TYPES.contains(actionType) && isActionTypeEnabled(HEDGING_ENABLE_PROPERTY);
+    }
+
+    /**
+     * Retrieves the delay after which a hedged request is sent if the first request has not completed. This is
+     * used until enough latency samples are available for the endpoint.
+     *
+     * @return The hedging delay in milliseconds.
+     */
+    public int getHedgingDelayInMillis() {
+
+        return parseTimeoutConfig(HEDGING_DELAY_PROPERTY, DEFAULT_HEDGING_DELAY_IN_MILLIS);
+    }
+
+    private int parseIntConfig(String propertyName, int defaultValue) {
+
+        int propertyValue = defaultValue;
+        String value = (String) IdentityConfigParser.getInstance().getConfiguration().get(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                propertyValue = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.debug("Failed to read " + propertyName + " property in identity.xml." +
+                        " Expects a number. Using the default value: " + defaultValue, e);
+            }
+        }
+        return propertyValue;
+    }
+
     private int parseTimeoutConfig(String timeoutTypeName, int defaultTimeout) {
 
         int timeoutPropertyValue = defaultTimeout;
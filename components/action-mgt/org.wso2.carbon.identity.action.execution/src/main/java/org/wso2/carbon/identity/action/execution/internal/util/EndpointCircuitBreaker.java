@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.internal.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker of a single action endpoint.
+ * The circuit opens after the configured number of consecutive failed requests and rejects requests until the
+ * open duration elapses. Then a single probe request is allowed; the circuit closes if it succeeds and opens
+ * again if it fails.
+ */
+public class EndpointCircuitBreaker {
+
+    /**
+     * State of the circuit.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public EndpointCircuitBreaker(int failureThreshold, long openDurationInMillis) {
+
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationInMillis);
+    }
+
+    /**
+     * Checks whether a request can be sent to the endpoint. Every permitted request must be followed by a call to
+     * either {@link #recordSuccess()}, {@link #recordFailure()} or {@link #release()}.
+     *
+     * @return 'true' if the request is permitted, 'false' if the circuit is open.
+     */
+    public synchronized boolean tryAcquire() {
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a request which reached the endpoint and received a response that is not a server unavailability.
+     */
+    public synchronized void recordSuccess() {
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    /**
+     * Records a request which failed due to a connection failure, a timeout or a server unavailability.
+     */
+    public synchronized void recordFailure() {
+
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Releases the permit of a request which was abandoned before its outcome was known, such as a request cancelled
+     * at the execution deadline. If the request was the probe of a half open circuit, another probe is allowed.
+     */
+    public synchronized void release() {
+
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+
+        return consecutiveFailures;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram of the requests sent to a single action endpoint, with fixed buckets in milliseconds.
+ */
+public class EndpointLatencyHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_IN_MILLIS =
+            {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, Long.MAX_VALUE};
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_IN_MILLIS.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumInMillis = new AtomicLong();
+    private final AtomicLong maxInMillis = new AtomicLong();
+
+    /**
+     * Records the latency of a completed request.
+     *
+     * @param latencyInMillis Latency in milliseconds.
+     */
+    public void record(long latencyInMillis) {
+
+        int bucket = 0;
+        while (latencyInMillis > BUCKET_UPPER_BOUNDS_IN_MILLIS[bucket]) {
+            bucket++;
+        }
+        bucketCounts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sumInMillis.addAndGet(latencyInMillis);
+        long max;
+        while (latencyInMillis > (max = maxInMillis.get())) {
+            if (maxInMillis.compareAndSet(max, latencyInMillis)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the upper bound of the bucket which contains the given percentile of the recorded latencies. The
+     * maximum recorded latency is returned for the percentiles which fall in the last, unbounded bucket.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency in milliseconds, or 0 if no latencies are recorded.
+     */
+    public long getPercentile(double percentile) {
+
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_IN_MILLIS.length - 1; i++) {
+            cumulative += bucketCounts.get(i);
+            if (cumulative >= rank) {
+                return BUCKET_UPPER_BOUNDS_IN_MILLIS[i];
+            }
+        }
+        return maxInMillis.get();
+    }
+
+    /**
+     * Returns the upper bounds of the buckets in milliseconds. The last bucket is unbounded.
+     *
+     * @return Bucket upper bounds.
+     */
+    public long[] getBucketUpperBounds() {
+
+        return BUCKET_UPPER_BOUNDS_IN_MILLIS.clone();
+    }
+
+    /**
+     * Returns the number of recorded latencies in each bucket, in the order of {@link #getBucketUpperBounds()}.
+     *
+     * @return Bucket counts.
+     */
+    public long[] getBucketCounts() {
+
+        long[] counts = new long[bucketCounts.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts.get(i);
+        }
+        return counts;
+    }
+
+    public long getCount() {
+
+        return count.get();
+    }
+
+    public long getSumInMillis() {
+
+        return sumInMillis.get();
+    }
+
+    public long getMaxInMillis() {
+
+        return maxInMillis.get();
+    }
+}
@@ -28,6 +28,8 @@ import org.mockito.MockitoAnnotations;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.action.execution.api.exception.ActionExecutionException;
 import org.wso2.carbon.identity.action.execution.api.exception.ActionExecutionRequestBuilderException;
 import org.wso2.carbon.identity.action.execution.api.model.ActionExecutionRequest;
@@ -87,10 +89,12 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -396,13 +400,13 @@ public class ActionExecutorServiceImplTest {
                 actionExecutionRequest);
 
         ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         actionExecutorService.execute(actionType, FlowContext.create(), "tenantDomain");
 
         String payload = getJSONRequestPayload(actionExecutionRequest);
         // Verify that the HTTP client was called with the expected request
-        verify(apiClient).callAPI(any(), any(), any(), any(), eq(payload));
+        verify(apiClient).callAPI(any(), any(), any(), any(), eq(payload), anyLong());
     }
 
     @Test
@@ -427,13 +431,13 @@ public class ActionExecutorServiceImplTest {
                 actionExecutionRequest);
 
         ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         actionExecutorService.execute(actionType, FlowContext.create(), "tenantDomain");
 
         String payload = getJSONRequestPayload(actionExecutionRequest);
         // Verify that the HTTP client was called with the expected request
-        verify(apiClient).callAPI(any(), any(), any(), any(), eq(payload));
+        verify(apiClient).callAPI(any(), any(), any(), any(), eq(payload), anyLong());
     }
 
     @Test
@@ -466,7 +470,7 @@ public class ActionExecutorServiceImplTest {
 
         ActionInvocationResponse actionInvocationResponse =
                 createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         ActionExecutionStatus expectedStatus = new SuccessStatus.Builder().build();
         when(actionExecutionResponseProcessor.getSupportedActionType()).thenReturn(actionType);
@@ -516,7 +520,7 @@ public class ActionExecutorServiceImplTest {
                 actionExecutionRequest);
 
         ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         ActionExecutionStatus expectedStatus = new SuccessStatus.Builder().build();
         when(actionExecutionResponseProcessor.getSupportedActionType()).thenReturn(actionType);
@@ -556,7 +560,7 @@ public class ActionExecutorServiceImplTest {
 
         ActionInvocationResponse actionInvocationResponse =
                 createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         ActionExecutionStatus expectedStatus = new SuccessStatus.Builder().build();
         when(actionExecutionResponseProcessor.getSupportedActionType()).thenReturn(actionType);
@@ -587,7 +591,7 @@ public class ActionExecutorServiceImplTest {
                 mock(ActionExecutionRequest.class));
 
         ActionInvocationResponse actionInvocationResponse = createFailureActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         ActionExecutionStatus expectedStatus = new FailedStatus(new Failure("Error_reason",
                 "Error_description"));
@@ -626,7 +630,7 @@ public class ActionExecutorServiceImplTest {
                 mock(ActionExecutionRequest.class));
 
         ActionInvocationResponse actionInvocationResponse = createIncompleteActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         ActionExecutionStatus expectedStatus = new IncompleteStatus.Builder().build();
         when(actionExecutionResponseProcessor.getSupportedActionType()).thenReturn(actionType);
@@ -666,7 +670,7 @@ public class ActionExecutorServiceImplTest {
                 mock(ActionExecutionRequest.class));
 
         ActionInvocationResponse actionInvocationResponse = createActionInvocationResponseWithoutAPIResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         actionExecutorService.execute(actionType, FlowContext.create(), "tenantDomain");
     }
@@ -692,7 +696,7 @@ public class ActionExecutorServiceImplTest {
                 mock(ActionExecutionRequest.class));
 
         ActionInvocationResponse actionInvocationResponse = createErrorActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(actionInvocationResponse);
 
         ActionExecutionStatus expectedStatus = new ErrorStatus(new Error("Error_message",
                 "Error_description"));
@@ -711,6 +715,126 @@ public class ActionExecutorServiceImplTest {
         assertEquals(actionExecutionStatusWithActionIds.getStatus(), expectedStatus.getStatus());
     }
 
+    @Test
+    public void testParallelActionExecutionReturnsFirstNonSuccessStatusInActionOrder() throws Exception {
+
+        ActionType actionType = ActionType.PRE_ISSUE_ACCESS_TOKEN;
+        Action firstAction = createAction();
+        Action secondAction = createAction();
+        when(secondAction.getId()).thenReturn("secondActionId");
+        when(secondAction.getEndpoint().getUri()).thenReturn("http://example.org");
+        when(actionExecutorConfig.isParallelExecutionEnabled()).thenReturn(true);
+        when(actionManagementService.getActionsByActionType(any(), any())).thenReturn(
+                Arrays.asList(firstAction, secondAction));
+
+        actionExecutionRequestBuilderFactory.when(
+                        () -> ActionExecutionRequestBuilderFactory.getActionExecutionRequestBuilder(any()))
+                .thenReturn(actionExecutionRequestBuilder);
+        actionExecutionResponseProcessorFactory.when(() -> ActionExecutionResponseProcessorFactory
+                        .getActionExecutionResponseProcessor(any()))
+                .thenReturn(actionExecutionResponseProcessor);
+        requestFilter.when(() -> RequestFilter.getFilteredHeaders(any(), any(), any()))
+                .thenReturn(new ArrayList<Header>());
+        requestFilter.when(() -> RequestFilter.getFilteredParams(any(), any(), any()))
+                .thenReturn(new ArrayList<Param>());
+        when(actionExecutionRequestBuilder.buildActionExecutionRequest(any(), any())).thenReturn(
+                createActionExecutionRequest(actionType));
+
+        ActionInvocationResponse successResponse = createSuccessActionInvocationResponse();
+        ActionInvocationResponse failureResponse = createFailureActionInvocationResponse();
+        when(apiClient.callAPI(any(), eq("http://example.com"), any(), any(), any(), anyLong()))
+                .thenReturn(successResponse);
+        when(apiClient.callAPI(any(), eq("http://example.org"), any(), any(), any(), anyLong()))
+                .thenReturn(failureResponse);
+        when(actionExecutionResponseProcessor.processSuccessResponse(any(), any()))
+                .thenReturn(new SuccessStatus.Builder().build());
+        when(actionExecutionResponseProcessor.processFailureResponse(any(), any()))
+                .thenReturn(new FailedStatus(new Failure("Error_reason", "Error_description")));
+
+        ActionExecutionStatus<?> actualStatus =
+                actionExecutorService.execute(actionType, FlowContext.create(), "tenantDomain");
+
+        assertEquals(actualStatus.getStatus(), ActionExecutionStatus.Status.FAILED);
+        verify(apiClient).callAPI(any(), eq("http://example.com"), any(), any(), any(), anyLong());
+        verify(apiClient).callAPI(any(), eq("http://example.org"), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testParallelActionsArePreparedInCallerTenant() throws Exception {
+
+        ActionType actionType = ActionType.PRE_ISSUE_ACCESS_TOKEN;
+        Action firstAction = createAction();
+        Action secondAction = createAction();
+        when(secondAction.getId()).thenReturn("secondActionId");
+        when(actionExecutorConfig.isParallelExecutionEnabled()).thenReturn(true);
+        when(actionManagementService.getActionsByActionType(any(), any())).thenReturn(
+                Arrays.asList(firstAction, secondAction));
+
+        actionExecutionRequestBuilderFactory.when(
+                        () -> ActionExecutionRequestBuilderFactory.getActionExecutionRequestBuilder(any()))
+                .thenReturn(actionExecutionRequestBuilder);
+        actionExecutionResponseProcessorFactory.when(() -> ActionExecutionResponseProcessorFactory
+                        .getActionExecutionResponseProcessor(any()))
+                .thenReturn(actionExecutionResponseProcessor);
+        requestFilter.when(() -> RequestFilter.getFilteredHeaders(any(), any(), any()))
+                .thenReturn(new ArrayList<Header>());
+        requestFilter.when(() -> RequestFilter.getFilteredParams(any(), any(), any()))
+                .thenReturn(new ArrayList<Param>());
+        ActionExecutionRequest actionExecutionRequest = createActionExecutionRequest(actionType);
+        List<String> preparedTenantDomains = Collections.synchronizedList(new ArrayList<>());
+        when(actionExecutionRequestBuilder.buildActionExecutionRequest(any(), any())).thenAnswer(invocation -> {
+            preparedTenantDomains.add(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain());
+            return actionExecutionRequest;
+        });
+
+        ActionInvocationResponse successResponse = createSuccessActionInvocationResponse();
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenReturn(successResponse);
+        when(actionExecutionResponseProcessor.processSuccessResponse(any(), any()))
+                .thenReturn(new SuccessStatus.Builder().build());
+
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, this.getClass().getResource("/").getFile());
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain("tenant-a");
+            ActionExecutionStatus<?> actualStatus =
+                    actionExecutorService.execute(actionType, FlowContext.create(), "tenant-a");
+
+            assertEquals(actualStatus.getStatus(), ActionExecutionStatus.Status.SUCCESS);
+            assertEquals(preparedTenantDomains, Arrays.asList("tenant-a", "tenant-a"));
+            verify(apiClient, times(2)).callAPI(any(), any(), any(), any(), any(), anyLong());
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Test(expectedExceptions = ActionExecutionException.class,
+            expectedExceptionsMessageRegExp = "Execution timeout reached while executing action: actionId")
+    public void testActionExecuteFailureWhenExecutionTimeoutReached() throws Exception {
+
+        ActionType actionType = ActionType.PRE_ISSUE_ACCESS_TOKEN;
+        Action action = createAction();
+        when(actionExecutorConfig.getExecutionTimeoutInMillis()).thenReturn(100);
+        when(actionManagementService.getActionsByActionType(any(), any())).thenReturn(
+                Collections.singletonList(action));
+
+        actionExecutionRequestBuilderFactory.when(
+                        () -> ActionExecutionRequestBuilderFactory.getActionExecutionRequestBuilder(any()))
+                .thenReturn(actionExecutionRequestBuilder);
+        actionExecutionResponseProcessorFactory.when(() -> ActionExecutionResponseProcessorFactory
+                        .getActionExecutionResponseProcessor(any()))
+                .thenReturn(actionExecutionResponseProcessor);
+        when(actionExecutionRequestBuilder.buildActionExecutionRequest(any(), any())).thenReturn(
+                mock(ActionExecutionRequest.class));
+
+        ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
+        when(apiClient.callAPI(any(), any(), any(), any(), any(), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return actionInvocationResponse;
+        });
+
+        actionExecutorService.execute(actionType, FlowContext.create(), "tenantDomain");
+    }
+
     private String getJSONRequestPayload(ActionExecutionRequest actionExecutionRequest) throws JsonProcessingException {
 
         ObjectMapper requestObjectmapper = new ObjectMapper();
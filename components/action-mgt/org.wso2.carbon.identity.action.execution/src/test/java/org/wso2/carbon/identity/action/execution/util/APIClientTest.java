@@ -20,6 +20,10 @@ package org.wso2.carbon.identity.action.execution.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.http.ConnectionClosedException;
 import org.apache.http.HttpStatus;
 import org.apache.http.NoHttpResponseException;
@@ -51,6 +55,7 @@ import org.wso2.carbon.identity.action.execution.internal.service.impl.ActionInv
 import org.wso2.carbon.identity.action.execution.internal.util.APIClient;
 import org.wso2.carbon.identity.action.execution.internal.util.ActionExecutorConfig;
 import org.wso2.carbon.identity.action.execution.internal.util.AuthMethods;
+import org.wso2.carbon.identity.action.execution.internal.util.EndpointCircuitBreaker;
 import org.wso2.carbon.identity.action.management.api.model.AuthProperty;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 
@@ -64,6 +69,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -89,6 +96,9 @@ public class APIClientTest {
     @Mock
     private StatusLine statusLine;
 
+    private static final String CIRCUIT_OPEN_ERROR =
+            "Action endpoint is unavailable. Request is not sent as the circuit is open.";
+
     private MockedStatic<ActionExecutorConfig> actionExecutorConfigStatic;
     private MockedStatic<LoggerUtils> loggerUtils;
     private final Map<String, String> headers = new HashMap<>();
@@ -568,6 +578,65 @@ public class APIClientTest {
                 "Failed to execute the action request or maximum retry attempts reached.");
     }
 
+    @Test
+    public void testCancelledHalfOpenProbeReleasesCircuit() throws Exception {
+
+        ActionExecutorConfig actionExecutorConfig = ActionExecutorConfig.getInstance();
+        when(actionExecutorConfig.isAsyncHttpClientEnabled()).thenReturn(true);
+        when(actionExecutorConfig.isCircuitBreakerEnabled()).thenReturn(true);
+        when(actionExecutorConfig.getCircuitBreakerFailureThreshold()).thenReturn(1);
+        when(actionExecutorConfig.getHttpRequestRetryCount()).thenReturn(1);
+        APIClient asyncApiClient = new APIClient();
+        CloseableHttpAsyncClient asyncHttpClient = mock(CloseableHttpAsyncClient.class);
+        setField(asyncApiClient, "asyncHttpClient", asyncHttpClient);
+
+        try {
+            // A connection failure opens the circuit, which is half open again right away.
+            when(asyncHttpClient.execute(any(SimpleHttpRequest.class), any())).thenAnswer(invocation -> {
+                FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.failed(new SocketException("Connection refused"));
+                return CompletableFuture.completedFuture(null);
+            });
+            ActionInvocationResponse response = asyncApiClient.callAPI(ActionType.PRE_ISSUE_ACCESS_TOKEN,
+                    "http://example.com", null, headers, "{}");
+            assertTrue(response.isError());
+            EndpointCircuitBreaker circuitBreaker =
+                    asyncApiClient.getEndpointCircuitBreakers().get("http://example.com:80");
+            assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.OPEN);
+
+            // The probe never receives a response and is cancelled at the deadline.
+            when(asyncHttpClient.execute(any(SimpleHttpRequest.class), any())).thenReturn(new CompletableFuture<>());
+            response = asyncApiClient.callAPI(ActionType.PRE_ISSUE_ACCESS_TOKEN, "http://example.com", null,
+                    headers, "{}", System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+            assertEquals(response.getErrorLog(), "Action execution timed out before the action request completed.");
+            assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.HALF_OPEN);
+
+            when(asyncHttpClient.execute(any(SimpleHttpRequest.class), any())).thenAnswer(invocation -> {
+                FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+                callback.completed(SimpleHttpResponse.create(HttpStatus.SC_OK,
+                        "{\"actionStatus\":\"SUCCESS\",\"operations\":[]}",
+                        org.apache.hc.core5.http.ContentType.APPLICATION_JSON));
+                return CompletableFuture.completedFuture(null);
+            });
+            // The cancelled probe is released on the async request scheduler, after which the next request is
+            // admitted as the probe.
+            long waitUntil = System.currentTimeMillis() + 5000;
+            do {
+                response = asyncApiClient.callAPI(ActionType.PRE_ISSUE_ACCESS_TOKEN, "http://example.com", null,
+                        headers, "{}");
+                if (!CIRCUIT_OPEN_ERROR.equals(response.getErrorLog())) {
+                    break;
+                }
+                Thread.sleep(20);
+            } while (System.currentTimeMillis() < waitUntil);
+
+            assertTrue(response.isSuccess(), String.valueOf(response.getErrorLog()));
+            assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.CLOSED);
+        } finally {
+            asyncApiClient.close();
+        }
+    }
+
     private void setField(Object target, String fieldName, Object value) throws Exception {
 
         Field field = target.getClass().getDeclaredField(fieldName);
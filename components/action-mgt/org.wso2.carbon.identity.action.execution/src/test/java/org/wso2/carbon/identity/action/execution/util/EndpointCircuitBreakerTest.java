@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.util;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.action.execution.internal.util.EndpointCircuitBreaker;
+import org.wso2.carbon.identity.action.execution.internal.util.EndpointLatencyHistogram;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class EndpointCircuitBreakerTest {
+
+    @Test
+    public void testCircuitOpensAfterConsecutiveFailures() {
+
+        EndpointCircuitBreaker circuitBreaker = new EndpointCircuitBreaker(3, 60000);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.recordFailure();
+        }
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordSuccess();
+        assertEquals(circuitBreaker.getConsecutiveFailures(), 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.recordFailure();
+        }
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.OPEN);
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testHalfOpenCircuitAllowsSingleProbe() throws Exception {
+
+        EndpointCircuitBreaker circuitBreaker = new EndpointCircuitBreaker(1, 50);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordFailure();
+        assertFalse(circuitBreaker.tryAcquire());
+
+        Thread.sleep(100);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.HALF_OPEN);
+        assertFalse(circuitBreaker.tryAcquire());
+
+        // Failed probe opens the circuit again.
+        circuitBreaker.recordFailure();
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.OPEN);
+        assertFalse(circuitBreaker.tryAcquire());
+
+        Thread.sleep(100);
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordSuccess();
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.CLOSED);
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testReleasedProbeAllowsNextProbe() {
+
+        EndpointCircuitBreaker circuitBreaker = new EndpointCircuitBreaker(1, 0);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.HALF_OPEN);
+        assertFalse(circuitBreaker.tryAcquire());
+
+        // The probe was abandoned without an outcome, hence the circuit stays half open and admits another probe.
+        circuitBreaker.release();
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.HALF_OPEN);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+
+        EndpointLatencyHistogram histogram = new EndpointLatencyHistogram();
+        assertEquals(histogram.getPercentile(95), 0);
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(3);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(200);
+        }
+        histogram.record(30000);
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getPercentile(50), 5);
+        assertEquals(histogram.getPercentile(95), 250);
+        assertEquals(histogram.getPercentile(100), 30000);
+        assertEquals(histogram.getMaxInMillis(), 30000);
+        assertEquals(histogram.getBucketCounts()[0], 90);
+    }
+}
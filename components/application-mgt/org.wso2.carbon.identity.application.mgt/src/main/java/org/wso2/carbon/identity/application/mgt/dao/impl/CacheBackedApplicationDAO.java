@@ -42,6 +42,7 @@ import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicI
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoCacheEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoNameCacheKey;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoResourceIdCacheKey;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationCacheWarmUpLoader;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationResourceIDByInboundAuthCache;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationResourceIDCacheInboundAuthEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationResourceIDCacheInboundAuthKey;
@@ -57,6 +58,7 @@ import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderRe
 import org.wso2.carbon.identity.application.mgt.internal.cache.TrustedAppByPlatformTypeCache;
 import org.wso2.carbon.identity.application.mgt.internal.cache.TrustedAppPlatformTypeCacheEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.TrustedAppPlatformTypeCacheKey;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -114,6 +116,10 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
                 throw new IdentityApplicationManagementException(error, e);
             }
         }
+        if (serviceProvider != null) {
+            CacheWarmUpManager.getInstance().recordAccess(ApplicationCacheWarmUpLoader.LOADER_NAME, tenantDomain,
+                    serviceProvider.getApplicationResourceId());
+        }
         return serviceProvider;
     }
 
@@ -473,6 +479,8 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public ServiceProvider getApplicationByResourceId(String resourceId, String tenantDomain)
             throws IdentityApplicationManagementException {
 
+        CacheWarmUpManager.getInstance().recordAccess(ApplicationCacheWarmUpLoader.LOADER_NAME, tenantDomain,
+                resourceId);
         ServiceProvider application = getApplicationFromCacheByResourceId(resourceId, tenantDomain);
         if (application == null) {
             // Cache miss, fetch from DB.
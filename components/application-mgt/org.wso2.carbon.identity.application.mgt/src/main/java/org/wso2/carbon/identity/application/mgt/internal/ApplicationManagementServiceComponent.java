@@ -53,6 +53,7 @@ import org.wso2.carbon.identity.application.mgt.ai.LoginFlowAIManagerImpl;
 import org.wso2.carbon.identity.application.mgt.defaultsequence.DefaultAuthSeqMgtService;
 import org.wso2.carbon.identity.application.mgt.defaultsequence.DefaultAuthSeqMgtServiceImpl;
 import org.wso2.carbon.identity.application.mgt.inbound.protocol.ApplicationInboundAuthConfigHandler;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationCacheWarmUpLoader;
 import org.wso2.carbon.identity.application.mgt.internal.impl.DiscoverableApplicationManagerImpl;
 import org.wso2.carbon.identity.application.mgt.listener.AdminRoleListener;
 import org.wso2.carbon.identity.application.mgt.listener.ApplicationClaimMgtListener;
@@ -73,6 +74,7 @@ import org.wso2.carbon.identity.certificate.management.service.ApplicationCertif
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataMgtListener;
 import org.wso2.carbon.identity.core.SAMLSSOServiceProviderManager;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManagementInitialize;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
@@ -166,6 +168,7 @@ public class ApplicationManagementServiceComponent {
                     null);
             bundleContext.registerService(AuthorizedAPIManagementListener.class, new MyAccountAuthorizedAPIListener(),
                     null);
+            CacheWarmUpManager.getInstance().registerLoader(new ApplicationCacheWarmUpLoader());
 
             if (log.isDebugEnabled()) {
                 log.debug("Identity ApplicationManagementComponent bundle is activated");
@@ -177,6 +180,7 @@ public class ApplicationManagementServiceComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext context) {
+        CacheWarmUpManager.getInstance().unregisterLoader(ApplicationCacheWarmUpLoader.LOADER_NAME);
         if (log.isDebugEnabled()) {
             log.debug("Identity ApplicationManagementComponent bundle is deactivated");
         }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.mgt.internal.cache;
+
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtSystemConfig;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpException;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpLoader;
+
+/**
+ * Warms up the application caches with the most accessed applications. Keys are application resource ids. Loading
+ * an application through the cache backed DAO fills the caches by name, id, resource id and inbound key.
+ */
+public class ApplicationCacheWarmUpLoader implements CacheWarmUpLoader {
+
+    public static final String LOADER_NAME = "Application";
+
+    @Override
+    public String getName() {
+
+        return LOADER_NAME;
+    }
+
+    @Override
+    public void load(String tenantDomain, String key) throws CacheWarmUpException {
+
+        try {
+            ApplicationMgtSystemConfig.getInstance().getApplicationDAO().getApplicationByResourceId(key, tenantDomain);
+        } catch (IdentityApplicationManagementException e) {
+            throw new CacheWarmUpException("Error while loading the application: " + key, e);
+        }
+    }
+}
@@ -26,8 +26,8 @@ import org.wso2.carbon.identity.framework.async.operation.status.mgt.api.models.
 import org.wso2.carbon.identity.framework.async.operation.status.mgt.api.models.UnitOperationInitDTO;
 import org.wso2.carbon.identity.framework.async.operation.status.mgt.internal.models.dos.UnitOperationDO;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * DAO interface for Asynchronous Operation Status Management.
@@ -62,7 +62,7 @@ public interface AsyncOperationStatusMgtDAO {
      * @param queue A queue containing {@link UnitOperationInitDTO} objects to be saved.
      * @throws AsyncOperationStatusMgtException If an error occurs during the batch insert operation.
      */
-    void registerAsyncStatusUnit(ConcurrentLinkedQueue<UnitOperationInitDTO> queue) throws
+    void registerAsyncStatusUnit(Collection<UnitOperationInitDTO> queue) throws
             AsyncOperationStatusMgtException;
 
     /**
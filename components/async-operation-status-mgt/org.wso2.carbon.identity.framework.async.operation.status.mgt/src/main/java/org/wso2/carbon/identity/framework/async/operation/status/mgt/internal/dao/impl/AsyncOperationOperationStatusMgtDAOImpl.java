@@ -43,11 +43,11 @@ import org.wso2.carbon.identity.framework.async.operation.status.mgt.internal.ut
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.wso2.carbon.identity.framework.async.operation.status.mgt.api.constants.ErrorMessage.ERROR_WHILE_PERSISTING_ASYNC_OPERATION_STATUS;
 import static org.wso2.carbon.identity.framework.async.operation.status.mgt.api.constants.ErrorMessage.ERROR_WHILE_PERSISTING_ASYNC_OPERATION_STATUS_UNIT;
@@ -141,7 +141,7 @@ public class AsyncOperationOperationStatusMgtDAOImpl implements AsyncOperationSt
     }
 
     @Override
-    public void registerAsyncStatusUnit(ConcurrentLinkedQueue<UnitOperationInitDTO> queue)
+    public void registerAsyncStatusUnit(Collection<UnitOperationInitDTO> queue)
             throws AsyncOperationStatusMgtException {
 
         Timestamp currentTimestamp = new Timestamp(new Date().getTime());
@@ -24,101 +24,304 @@ import org.wso2.carbon.identity.framework.async.operation.status.mgt.api.excepti
 import org.wso2.carbon.identity.framework.async.operation.status.mgt.api.models.UnitOperationInitDTO;
 import org.wso2.carbon.identity.framework.async.operation.status.mgt.internal.dao.AsyncOperationStatusMgtDAO;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * In-memory queue to store async operations, with database fallback.
+ * In-memory buffer to store async operations, with database fallback.
+ * Operations are added to a bounded ring buffer without locking, and a dedicated flusher thread persists them to
+ * the database in batches of the threshold size, either when the threshold is reached or periodically. When the
+ * database falls behind and the buffer is full, producers wait for free space for a bounded time and then persist
+ * their operation directly, which slows the producers down to the rate of the database.
  */
 public class AsyncOperationDataBuffer {
 
     private static final Log LOG = LogFactory.getLog(AsyncOperationDataBuffer.class);
-    private final ConcurrentLinkedQueue<UnitOperationInitDTO> queue = new ConcurrentLinkedQueue<>();
+    private static final int DEFAULT_CAPACITY_MULTIPLIER = 100;
+    private static final long BACK_PRESSURE_TIMEOUT_MILLIS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final int MAX_BATCH_PERSIST_ATTEMPTS = 3;
+
+    private final AtomicReferenceArray<UnitOperationInitDTO> buffer;
+    private final int capacity;
+    private final int mask;
+    // Sequence of the next slot to be claimed by a producer.
+    private final AtomicLong tail = new AtomicLong();
+    // Sequence of the next slot to be consumed.
+    private final AtomicLong head = new AtomicLong();
+    private final Object consumerLock = new Object();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
     private final AsyncOperationStatusMgtDAO asyncOperationStatusMgtDAO;
     private final int threshold;
-    private final int flushIntervalSeconds;
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean shutdown;
+    private volatile List<UnitOperationInitDTO> failedBatch;
+    private int failedBatchAttempts;
 
     public AsyncOperationDataBuffer(AsyncOperationStatusMgtDAO asyncOperationStatusMgtDAO, int threshold,
                                     int flushIntervalSeconds) {
 
+        this(asyncOperationStatusMgtDAO, threshold, flushIntervalSeconds, threshold * DEFAULT_CAPACITY_MULTIPLIER);
+    }
+
+    /**
+     * @param asyncOperationStatusMgtDAO DAO used to persist the operations.
+     * @param threshold                  Number of buffered operations which triggers a flush, which is also the
+     *                                   size of the database batches.
+     * @param flushIntervalSeconds       Interval of the periodic flush.
+     * @param capacity                   Maximum number of buffered operations. Rounded up to a power of two.
+     */
+    public AsyncOperationDataBuffer(AsyncOperationStatusMgtDAO asyncOperationStatusMgtDAO, int threshold,
+                                    int flushIntervalSeconds, int capacity) {
+
         this.asyncOperationStatusMgtDAO = asyncOperationStatusMgtDAO;
-        this.threshold = threshold;
-        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.threshold = Math.max(1, threshold);
+        this.capacity = roundUpToPowerOfTwo(Math.max(capacity, this.threshold));
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AsyncOperationDataBufferFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
 
-        startPeriodicFlushTask();
+        startPeriodicFlushTask(flushIntervalSeconds);
     }
 
     /**
-     * Add an operation to the queue. If queue exceeds threshold, persist to DB.
+     * Add an operation to the buffer. Once the buffer reaches the threshold, the buffered operations are persisted
+     * by the flusher. If the buffer stays full, the operation is persisted in the calling thread.
      *
      * @param operation The operation to add.
      */
-    public synchronized void add(UnitOperationInitDTO operation) throws AsyncOperationStatusMgtException {
+    public void add(UnitOperationInitDTO operation) throws AsyncOperationStatusMgtException {
 
-        queue.offer(operation);
-        if (queue.size() >= threshold) {
-            persistToDatabase();
+        if (shutdown) {
+            persist(Collections.singletonList(operation));
+            return;
+        }
+        if (!offer(operation)) {
+            requestFlush();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BACK_PRESSURE_TIMEOUT_MILLIS);
+            while (!offer(operation)) {
+                if (shutdown || System.nanoTime() - deadline > 0) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Async operation data buffer is full. Persisting the unit operation of operation: "
+                                + operation.getOperationId() + " directly to the database.");
+                    }
+                    persist(Collections.singletonList(operation));
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        if (shutdown) {
+            // The buffer may already be drained by the shutdown, hence flush the added operation.
+            flushAll();
+        } else if (size() >= threshold) {
+            requestFlush();
         }
     }
 
     /**
-     * Check if the queue is empty.
+     * Check if the buffer is empty.
      *
-     * @return True if the queue is empty, false otherwise.
+     * @return True if the buffer is empty, false otherwise.
      */
     public boolean isEmpty() {
 
-        return queue.isEmpty();
+        return size() == 0;
     }
 
     /**
-     * Retrieve and remove an operation from the queue.
+     * Get the number of buffered operations.
      *
-     * @return The next operation, or null if the queue is empty.
+     * @return Number of buffered operations.
      */
-    public synchronized UnitOperationInitDTO dequeue() {
+    public int size() {
 
-        return queue.poll();
+        return (int) Math.max(0, tail.get() - head.get());
     }
 
     /**
-     * Shuts down the scheduled task.
+     * Retrieve and remove an operation from the buffer.
+     *
+     * @return The next operation, or null if the buffer is empty.
+     */
+    public UnitOperationInitDTO dequeue() {
+
+        synchronized (consumerLock) {
+            return poll();
+        }
+    }
+
+    /**
+     * Stops the flusher and persists all the buffered operations. Operations added after the shutdown are persisted
+     * in the calling thread.
      */
     public void shutdown() {
 
+        shutdown = true;
         scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Async operation data buffer flusher did not terminate within " + SHUTDOWN_TIMEOUT_SECONDS +
+                        " seconds.");
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+        if (!isEmpty() || failedBatch != null) {
+            LOG.warn("Failed to persist all the buffered unit operation records during the shutdown.");
+        }
+    }
+
+    private boolean offer(UnitOperationInitDTO operation) {
+
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        buffer.set((int) (sequence & mask), operation);
+        return true;
     }
 
     /**
-     * Persist queued operations to the database in batch.
+     * Must be called while holding the consumer lock.
      */
-    private synchronized void persistToDatabase() throws AsyncOperationStatusMgtException {
+    private UnitOperationInitDTO poll() {
+
+        long sequence = head.get();
+        if (sequence >= tail.get()) {
+            return null;
+        }
+        int index = (int) (sequence & mask);
+        UnitOperationInitDTO operation = buffer.get(index);
+        if (operation == null) {
+            // The slot is claimed by a producer but the operation is not published yet.
+            return null;
+        }
+        buffer.set(index, null);
+        head.set(sequence + 1);
+        return operation;
+    }
 
-        if (!queue.isEmpty()) {
-            asyncOperationStatusMgtDAO.registerAsyncStatusUnit(queue);
-            queue.clear();
+    private List<UnitOperationInitDTO> drain(int maxOperations) {
+
+        List<UnitOperationInitDTO> batch = new ArrayList<>(Math.min(maxOperations, size()));
+        synchronized (consumerLock) {
+            UnitOperationInitDTO operation;
+            while (batch.size() < maxOperations && (operation = poll()) != null) {
+                batch.add(operation);
+            }
+        }
+        return batch;
+    }
+
+    private void requestFlush() {
+
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
         }
     }
 
     /**
-     * Periodically flushes the queue to avoid long delays for small workloads.
+     * Persist the buffered operations to the database in batches.
      */
-    private void startPeriodicFlushTask() {
+    private void flush() {
 
-        scheduler.scheduleAtFixedRate(() -> {
-            if (!queue.isEmpty()) {
-                try {
-                    persistToDatabase();
-                } catch (AsyncOperationStatusMgtException e) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.error("Error while flushing unit operation records to the database.", e);
-                    }
+        flushRequested.set(false);
+        synchronized (flushLock) {
+            try {
+                if (failedBatch != null) {
+                    persistBatch(failedBatch);
+                }
+                List<UnitOperationInitDTO> batch;
+                while (!(batch = drain(threshold)).isEmpty()) {
+                    persistBatch(batch);
                 }
+            } catch (AsyncOperationStatusMgtException e) {
+                LOG.error("Error while flushing unit operation records to the database.", e);
+            }
+        }
+    }
+
+    /**
+     * Persist all the buffered operations, including the operations which are being published by producers.
+     */
+    private void flushAll() {
+
+        int attempts = 0;
+        do {
+            flush();
+            if (isEmpty() || failedBatch != null) {
+                return;
+            }
+            Thread.yield();
+        } while (++attempts < 100);
+    }
+
+    private void persistBatch(List<UnitOperationInitDTO> batch) throws AsyncOperationStatusMgtException {
+
+        try {
+            persist(batch);
+            failedBatch = null;
+            failedBatchAttempts = 0;
+        } catch (AsyncOperationStatusMgtException e) {
+            if (batch != failedBatch) {
+                failedBatch = batch;
+                failedBatchAttempts = 0;
+            }
+            if (++failedBatchAttempts >= MAX_BATCH_PERSIST_ATTEMPTS) {
+                LOG.error("Dropping " + batch.size() + " unit operation records after " + failedBatchAttempts +
+                        " failed attempts to persist them.");
+                failedBatch = null;
+                failedBatchAttempts = 0;
+            }
+            throw e;
+        }
+    }
+
+    private void persist(List<UnitOperationInitDTO> operations) throws AsyncOperationStatusMgtException {
+
+        asyncOperationStatusMgtDAO.registerAsyncStatusUnit(operations);
+    }
+
+    /**
+     * Periodically flushes the buffer to avoid long delays for small workloads.
+     */
+    private void startPeriodicFlushTask(int flushIntervalSeconds) {
+
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (!isEmpty() || failedBatch != null) {
+                flush();
             }
         }, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
     }
 
+    private static int roundUpToPowerOfTwo(int value) {
+
+        int highestOneBit = Integer.highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
+    }
 }
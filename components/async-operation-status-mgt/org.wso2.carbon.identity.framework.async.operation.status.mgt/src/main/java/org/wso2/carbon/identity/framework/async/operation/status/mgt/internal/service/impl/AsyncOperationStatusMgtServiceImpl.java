@@ -97,6 +97,14 @@ public class AsyncOperationStatusMgtServiceImpl implements AsyncOperationStatusM
         return instance;
     }
 
+    /**
+     * Persists the buffered unit operation records and stops the flusher of the buffer.
+     */
+    public void shutdown() {
+
+        operationDataBuffer.shutdown();
+    }
+
     @Override
     public String registerOperationStatus(OperationInitDTO record, boolean updateIfExists)
             throws AsyncOperationStatusMgtException {
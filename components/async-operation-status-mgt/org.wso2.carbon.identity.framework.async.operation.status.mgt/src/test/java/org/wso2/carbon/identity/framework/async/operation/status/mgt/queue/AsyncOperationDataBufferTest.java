@@ -25,12 +25,18 @@ import org.wso2.carbon.identity.framework.async.operation.status.mgt.api.models.
 import org.wso2.carbon.identity.framework.async.operation.status.mgt.internal.dao.AsyncOperationStatusMgtDAO;
 import org.wso2.carbon.identity.framework.async.operation.status.mgt.internal.queue.AsyncOperationDataBuffer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -93,6 +99,66 @@ public class AsyncOperationDataBufferTest {
         assertTrue(dataBuffer.isEmpty());
     }
 
+    @Test
+    void testShutdownFlushesBufferedOperations() throws Exception {
+
+        List<UnitOperationInitDTO> persisted = Collections.synchronizedList(new ArrayList<>());
+        AsyncOperationDataBuffer buffer = new AsyncOperationDataBuffer(mockPersistingDAO(persisted, 0), threshold,
+                60);
+        for (int i = 0; i < threshold / 2; i++) {
+            buffer.add(new UnitOperationInitDTO());
+        }
+        buffer.shutdown();
+
+        assertEquals(threshold / 2, persisted.size());
+        assertTrue(buffer.isEmpty());
+
+        // Operations added after the shutdown are persisted directly.
+        buffer.add(new UnitOperationInitDTO());
+        assertEquals(threshold / 2 + 1, persisted.size());
+    }
+
+    @Test
+    void testConcurrentProducersWithSlowDatabase() throws Exception {
+
+        List<UnitOperationInitDTO> persisted = Collections.synchronizedList(new ArrayList<>());
+        AsyncOperationDataBuffer buffer = new AsyncOperationDataBuffer(mockPersistingDAO(persisted, 5), 10, 60, 16);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread producer = new Thread(() -> {
+                for (int j = 0; j < 250; j++) {
+                    try {
+                        buffer.add(new UnitOperationInitDTO());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        buffer.shutdown();
+
+        assertEquals(1000, persisted.size());
+        assertTrue(buffer.isEmpty());
+    }
+
+    private AsyncOperationStatusMgtDAO mockPersistingDAO(List<UnitOperationInitDTO> persisted, long delayMillis)
+            throws Exception {
+
+        AsyncOperationStatusMgtDAO dao = mock(AsyncOperationStatusMgtDAO.class);
+        doAnswer(invocation -> {
+            Collection<UnitOperationInitDTO> batch = invocation.getArgument(0);
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+            persisted.addAll(batch);
+            return null;
+        }).when(dao).registerAsyncStatusUnit(any());
+        return dao;
+    }
+
     private void emptyBuffer() {
 
         while (!dataBuffer.isEmpty()) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.wso2.carbon.identity.application.authentication.framework.AuthenticatorFlowStatus;
+import org.wso2.carbon.identity.application.authentication.framework.LocalApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.Property;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticator of the benchmarks which completes the step without any user interaction. The subject step
+ * authenticator sets the authenticated user with a fixed set of attributes.
+ */
+public class BenchmarkAuthenticator implements LocalApplicationAuthenticator {
+
+    private static final long serialVersionUID = -4302114513247417856L;
+
+    static final String USER_ID = "4b4414e1-916b-4475-aaee-6b0751c29ff6";
+    static final String USER_NAME = "benchmark_user";
+
+    private final String name;
+    private final boolean setSubject;
+
+    public BenchmarkAuthenticator(String name, boolean setSubject) {
+
+        this.name = name;
+        this.setSubject = setSubject;
+    }
+
+    @Override
+    public boolean canHandle(HttpServletRequest request) {
+
+        return false;
+    }
+
+    @Override
+    public AuthenticatorFlowStatus process(HttpServletRequest request, HttpServletResponse response,
+                                           AuthenticationContext context) {
+
+        if (setSubject) {
+            AuthenticatedUser user = AuthenticatedUser.createLocalAuthenticatedUserFromSubjectIdentifier(USER_NAME);
+            user.setUserId(USER_ID);
+            user.getUserAttributes().put(ClaimMapping.build("http://wso2.org/claims/givenname",
+                    "http://wso2.org/claims/givenname", null, false), "Benchmark");
+            user.getUserAttributes().put(ClaimMapping.build("http://wso2.org/claims/lastname",
+                    "http://wso2.org/claims/lastname", null, false), "User");
+            context.setSubject(user);
+        }
+        return AuthenticatorFlowStatus.SUCCESS_COMPLETED;
+    }
+
+    @Override
+    public String getContextIdentifier(HttpServletRequest request) {
+
+        return null;
+    }
+
+    @Override
+    public String getName() {
+
+        return name;
+    }
+
+    @Override
+    public String getFriendlyName() {
+
+        return name;
+    }
+
+    @Override
+    public List<Property> getConfigurationProperties() {
+
+        return Collections.emptyList();
+    }
+}
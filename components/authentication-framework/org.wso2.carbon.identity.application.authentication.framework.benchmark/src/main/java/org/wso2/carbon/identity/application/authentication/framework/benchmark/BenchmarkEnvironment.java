@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.builder.StAXOMBuilder;
+import org.testng.ITestClass;
+import org.wso2.carbon.CarbonConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.config.builder.FileBasedConfigurationBuilder;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JSExecutionSupervisor;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JsFunctionRegistryImpl;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JsWrapperFactoryProvider;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalGraphBuilderFactory;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalWrapperFactory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl.AsyncSequenceExecutor;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.internal.core.ApplicationAuthenticatorManager;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.IdentityProviderProperty;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
+import org.wso2.carbon.identity.central.log.mgt.internal.CentralLogMgtServiceComponentHolder;
+import org.wso2.carbon.identity.common.testng.CarbonBasedTestListener;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.common.testng.WithH2Database;
+import org.wso2.carbon.identity.common.testng.WithRealmService;
+import org.wso2.carbon.identity.core.internal.component.IdentityCoreServiceDataHolder;
+import org.wso2.carbon.identity.event.services.IdentityEventService;
+import org.wso2.carbon.idp.mgt.IdentityProviderManager;
+import org.wso2.carbon.idp.mgt.dao.CacheBackedIdPMgtDAO;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Offline environment of the authentication framework benchmarks. The carbon home, the in-memory H2 identity
+ * database and the in-memory realm are set up with the identity test utilities, the same way the framework unit
+ * tests are set up. Services which are not on the measured path are replaced with mocks.
+ */
+@WithCarbonHome
+@WithH2Database(jndiName = "jdbc/WSO2IdentityDB", files = {"dbScripts/h2.sql"})
+@WithRealmService(injectToSingletons = {IdentityCoreServiceDataHolder.class, FrameworkServiceDataHolder.class})
+public final class BenchmarkEnvironment {
+
+    public static final String TENANT_DOMAIN = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    public static final String BASIC_AUTHENTICATOR = "BasicMockAuthenticator";
+    public static final String SECOND_FACTOR_AUTHENTICATOR = "HwkMockAuthenticator";
+
+    private static final String APPLICATION_AUTHENTICATION_FILE =
+            "org/wso2/carbon/identity/application/authentication/framework/handler/sequence/impl/" +
+                    "application-authentication-GraphStepHandlerTest.xml";
+
+    private static boolean initialized;
+
+    private BenchmarkEnvironment() {
+
+    }
+
+    /**
+     * Set up the environment. Subsequent calls are ignored, hence every benchmark state can call this on its setup.
+     *
+     * @throws Exception If the environment cannot be set up.
+     */
+    public static synchronized void init() throws Exception {
+
+        if (initialized) {
+            return;
+        }
+
+        ITestClass testClass = mock(ITestClass.class);
+        when(testClass.getRealClass()).thenReturn(BenchmarkEnvironment.class);
+        new CarbonBasedTestListener().onBeforeClass(testClass);
+
+        URL configUrl = BenchmarkEnvironment.class.getClassLoader().getResource(APPLICATION_AUTHENTICATION_FILE);
+        FileBasedConfigurationBuilder.getInstance(Paths.get(configUrl.toURI()).toString());
+
+        CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME = true;
+        FrameworkServiceDataHolder dataHolder = FrameworkServiceDataHolder.getInstance();
+        dataHolder.setAdaptiveAuthenticationAvailable(true);
+        dataHolder.setJsExecutionSupervisor(new JSExecutionSupervisor(1, 5000L));
+        dataHolder.setJsFunctionRegistry(new JsFunctionRegistryImpl());
+        Field wrapperFactoryField = JsWrapperFactoryProvider.class.getDeclaredField("jsWrapperBaseFactory");
+        wrapperFactoryField.setAccessible(true);
+        wrapperFactoryField.set(JsWrapperFactoryProvider.getInstance(), new JsGraalWrapperFactory());
+        JsGraalGraphBuilderFactory graphBuilderFactory = new JsGraalGraphBuilderFactory();
+        graphBuilderFactory.init();
+        dataHolder.setJsGenericGraphBuilderFactory(graphBuilderFactory);
+        AsyncSequenceExecutor asyncSequenceExecutor = new AsyncSequenceExecutor();
+        asyncSequenceExecutor.init();
+        dataHolder.setAsyncSequenceExecutor(asyncSequenceExecutor);
+        CentralLogMgtServiceComponentHolder.getInstance().setIdentityEventService(mock(IdentityEventService.class));
+
+        Field daoField = IdentityProviderManager.class.getDeclaredField("dao");
+        daoField.setAccessible(true);
+        CacheBackedIdPMgtDAO idpMgtDAO = mock(CacheBackedIdPMgtDAO.class);
+        IdentityProvider residentIdP = new IdentityProvider();
+        residentIdP.setIdentityProviderName(IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME);
+        residentIdP.setIdpProperties(new IdentityProviderProperty[0]);
+        when(idpMgtDAO.getIdPByName(any(), eq(IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME), anyInt(),
+                anyString())).thenReturn(residentIdP);
+        daoField.set(null, idpMgtDAO);
+
+        ApplicationAuthenticatorManager authenticatorManager = ApplicationAuthenticatorManager.getInstance();
+        authenticatorManager.addSystemDefinedAuthenticator(new BenchmarkAuthenticator(BASIC_AUTHENTICATOR, true));
+        authenticatorManager.addSystemDefinedAuthenticator(
+                new BenchmarkAuthenticator(SECOND_FACTOR_AUTHENTICATOR, false));
+        initialized = true;
+    }
+
+    /**
+     * Start the tenant flow of the benchmark thread. The carbon context is thread local, hence this has to be
+     * called from the thread which runs the benchmark.
+     */
+    public static void startTenantFlow() {
+
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(TENANT_DOMAIN);
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        UserCoreUtil.setDomainInThreadLocal(TENANT_DOMAIN);
+    }
+
+    public static void endTenantFlow() {
+
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    /**
+     * Load a service provider from the benchmark resources.
+     *
+     * @param fileName Name of the service provider file.
+     * @return Service provider.
+     * @throws Exception If the service provider cannot be read.
+     */
+    public static ServiceProvider loadServiceProvider(String fileName) throws Exception {
+
+        try (InputStream inputStream = BenchmarkEnvironment.class.getResourceAsStream("/benchmark/" + fileName)) {
+            OMElement documentElement = new StAXOMBuilder(inputStream).getDocumentElement();
+            return ServiceProvider.build(documentElement);
+        }
+    }
+
+    /**
+     * Create a fresh authentication context of a login.
+     *
+     * @param serviceProvider Service provider of the login.
+     * @return Authentication context.
+     */
+    public static AuthenticationContext createAuthenticationContext(ServiceProvider serviceProvider) {
+
+        AuthenticationContext authenticationContext = new AuthenticationContext();
+        authenticationContext.setServiceProviderName(serviceProvider.getApplicationName());
+        authenticationContext.setTenantDomain(TENANT_DOMAIN);
+        authenticationContext.setCurrentStep(1);
+        authenticationContext.setContextIdentifier(UUID.randomUUID().toString());
+        authenticationContext.initializeAnalyticsData();
+        return authenticationContext;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ExternalIdPConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl.DefaultClaimFilter;
+import org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl.DefaultClaimHandler;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.common.model.ClaimConfig;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Benchmarks of mapping the claims of a federated user to the claims requested by the application. The identity
+ * provider and the application both use custom claim mappings, which is the most expensive mapping path.
+ */
+@State(Scope.Thread)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class ClaimMappingBenchmark {
+
+    private static final String LOCAL_CLAIM_PREFIX = "http://wso2.org/claims/benchmark";
+    private static final String IDP_CLAIM_PREFIX = "idp_claim_";
+    private static final String SP_CLAIM_PREFIX = "app_claim_";
+
+    @Param({"10", "50", "200"})
+    private int claimCount;
+
+    private final DefaultClaimHandler claimHandler = DefaultClaimHandler.getInstance();
+    private final Map<String, String> remoteClaims = new HashMap<>();
+    private ApplicationConfig applicationConfig;
+    private ExternalIdPConfig externalIdPConfig;
+    private AuthenticatorConfig authenticatorConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.startTenantFlow();
+        if (FrameworkServiceDataHolder.getInstance().getClaimFilters().isEmpty()) {
+            FrameworkServiceDataHolder.getInstance().addClaimFilter(new DefaultClaimFilter());
+        }
+
+        ClaimMapping[] idpClaimMappings = new ClaimMapping[claimCount];
+        ClaimMapping[] spClaimMappings = new ClaimMapping[claimCount];
+        for (int i = 0; i < claimCount; i++) {
+            String localClaim = LOCAL_CLAIM_PREFIX + i;
+            idpClaimMappings[i] = ClaimMapping.build(localClaim, IDP_CLAIM_PREFIX + i, null, false);
+            spClaimMappings[i] = ClaimMapping.build(localClaim, SP_CLAIM_PREFIX + i, null, true);
+            remoteClaims.put(IDP_CLAIM_PREFIX + i, "value" + i);
+        }
+
+        IdentityProvider identityProvider = new IdentityProvider();
+        identityProvider.setIdentityProviderName("BenchmarkIdP");
+        ClaimConfig idpClaimConfig = new ClaimConfig();
+        idpClaimConfig.setLocalClaimDialect(false);
+        idpClaimConfig.setClaimMappings(idpClaimMappings);
+        identityProvider.setClaimConfig(idpClaimConfig);
+        externalIdPConfig = new ExternalIdPConfig(identityProvider);
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationID(103);
+        serviceProvider.setApplicationName("benchmark-claim-mapping");
+        ClaimConfig spClaimConfig = new ClaimConfig();
+        spClaimConfig.setLocalClaimDialect(false);
+        spClaimConfig.setClaimMappings(spClaimMappings);
+        serviceProvider.setClaimConfig(spClaimConfig);
+        applicationConfig = new ApplicationConfig(serviceProvider, BenchmarkEnvironment.TENANT_DOMAIN);
+
+        authenticatorConfig = new AuthenticatorConfig();
+        authenticatorConfig.setName(BenchmarkEnvironment.BASIC_AUTHENTICATOR);
+        authenticatorConfig.setApplicationAuthenticator(
+                new BenchmarkAuthenticator(BenchmarkEnvironment.BASIC_AUTHENTICATOR, false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        BenchmarkEnvironment.endTenantFlow();
+    }
+
+    /**
+     * Map the claims returned by a federated identity provider to the claims of the application.
+     */
+    @Benchmark
+    public Map<String, String> federatedClaimMapping() throws FrameworkException {
+
+        StepConfig stepConfig = new StepConfig();
+        stepConfig.setOrder(1);
+        stepConfig.setSubjectAttributeStep(true);
+        stepConfig.setSubjectIdentifierStep(true);
+        stepConfig.setAuthenticatedAutenticator(authenticatorConfig);
+
+        SequenceConfig sequenceConfig = new SequenceConfig();
+        sequenceConfig.setApplicationConfig(applicationConfig);
+        AuthenticationContext context = new AuthenticationContext();
+        context.setTenantDomain(BenchmarkEnvironment.TENANT_DOMAIN);
+        context.setSequenceConfig(sequenceConfig);
+        context.setExternalIdP(externalIdPConfig);
+
+        // The handler adds the runtime claims and the role claim to the given map.
+        return claimHandler.handleClaimMappings(stepConfig, context, new HashMap<>(remoteClaims), true);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.config.loader.UIBasedConfigurationLoader;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl.GraphBasedSequenceHandler;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks of a complete login sequence, from building the sequence configuration of the application to the
+ * completion of the last authentication step.
+ */
+@State(Scope.Thread)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class LoginBenchmark {
+
+    private final UIBasedConfigurationLoader configurationLoader = new UIBasedConfigurationLoader();
+    private final GraphBasedSequenceHandler sequenceHandler = new GraphBasedSequenceHandler();
+    private ServiceProvider basicLoginApplication;
+    private ServiceProvider adaptiveLoginApplication;
+    private final Map<String, Object> requestAttributes = new HashMap<>();
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.startTenantFlow();
+        basicLoginApplication = BenchmarkEnvironment.loadServiceProvider("basic-login-sp.xml");
+        adaptiveLoginApplication = BenchmarkEnvironment.loadServiceProvider("adaptive-login-sp.xml");
+        request = mock(HttpServletRequest.class);
+        doAnswer(m -> requestAttributes.put(m.getArgument(0), m.getArgument(1))).when(request)
+                .setAttribute(anyString(), any());
+        doAnswer(m -> requestAttributes.get(m.getArgument(0))).when(request).getAttribute(anyString());
+        response = mock(HttpServletResponse.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        BenchmarkEnvironment.endTenantFlow();
+    }
+
+    /**
+     * Single step login of an application without an adaptive script.
+     */
+    @Benchmark
+    public AuthenticationContext basicSingleStepLogin() throws Exception {
+
+        return login(basicLoginApplication);
+    }
+
+    /**
+     * Two step login of an application whose second step is decided by an adaptive script.
+     */
+    @Benchmark
+    public AuthenticationContext twoStepAdaptiveLogin() throws Exception {
+
+        return login(adaptiveLoginApplication);
+    }
+
+    private AuthenticationContext login(ServiceProvider serviceProvider) throws Exception {
+
+        requestAttributes.clear();
+        AuthenticationContext context = BenchmarkEnvironment.createAuthenticationContext(serviceProvider);
+        SequenceConfig sequenceConfig = configurationLoader.getSequenceConfig(context, Collections.emptyMap(),
+                serviceProvider);
+        context.setSequenceConfig(sequenceConfig);
+        sequenceHandler.handle(request, response, context);
+        if (!context.getSequenceConfig().isCompleted()) {
+            throw new IllegalStateException("Login of application: " + serviceProvider.getApplicationName() +
+                    " did not complete.");
+        }
+        return context;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+
+import java.util.UUID;
+
+/**
+ * Benchmarks of resolving the session context of a returning user, both from the session context cache and from
+ * the session data store when the cache does not hold the session.
+ */
+@State(Scope.Thread)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class SessionContextCacheBenchmark {
+
+    private final SessionContextCache sessionContextCache = SessionContextCache.getInstance();
+    private SessionContextCacheKey sessionKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.startTenantFlow();
+
+        AuthenticatedUser user = AuthenticatedUser.createLocalAuthenticatedUserFromSubjectIdentifier(
+                BenchmarkAuthenticator.USER_NAME);
+        user.setUserId(BenchmarkAuthenticator.USER_ID);
+        user.setTenantDomain(BenchmarkEnvironment.TENANT_DOMAIN);
+        SessionContext sessionContext = new SessionContext();
+        sessionContext.addProperty(FrameworkConstants.AUTHENTICATED_USER, user);
+
+        SessionContextCacheEntry cacheEntry = new SessionContextCacheEntry();
+        cacheEntry.setContext(sessionContext);
+        sessionKey = new SessionContextCacheKey(UUID.randomUUID().toString());
+        // Stores the session in the cache as well as in the session data store.
+        sessionContextCache.addToCache(sessionKey, cacheEntry, BenchmarkEnvironment.TENANT_DOMAIN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        sessionContextCache.clearCacheEntry(sessionKey, BenchmarkEnvironment.TENANT_DOMAIN);
+        BenchmarkEnvironment.endTenantFlow();
+    }
+
+    /**
+     * Resolve a session which is held by the session context cache.
+     */
+    @Benchmark
+    public SessionContextCacheEntry sessionContextCacheHit() {
+
+        return resolveSession();
+    }
+
+    /**
+     * Resolve a session which has to be loaded from the session data store. The cache is cleared before each
+     * invocation, outside of the measured section.
+     */
+    @Benchmark
+    public SessionContextCacheEntry sessionContextCacheMiss(CacheEvictionState evictionState) {
+
+        return resolveSession();
+    }
+
+    private SessionContextCacheEntry resolveSession() {
+
+        SessionContextCacheEntry cacheEntry = sessionContextCache.getValueFromCache(sessionKey,
+                BenchmarkEnvironment.TENANT_DOMAIN);
+        if (cacheEntry == null) {
+            throw new IllegalStateException("Session: " + sessionKey.getContextId() + " cannot be resolved.");
+        }
+        return cacheEntry;
+    }
+
+    /**
+     * Evicts the session context cache before every invocation of the cache miss benchmark. Loading the session
+     * from the data store takes well over the timer resolution, hence the invocation level setup does not skew the
+     * result.
+     */
+    @State(Scope.Thread)
+    public static class CacheEvictionState {
+
+        @Setup(Level.Invocation)
+        public void evict() {
+
+            SessionContextCache.getInstance().clear(BenchmarkEnvironment.TENANT_DOMAIN);
+        }
+    }
+}
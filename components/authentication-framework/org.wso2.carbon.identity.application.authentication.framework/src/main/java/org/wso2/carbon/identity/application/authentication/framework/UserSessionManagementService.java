@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.application.authentication.framework;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.session.mgt.SessionManagementException;
 import org.wso2.carbon.identity.application.authentication.framework.model.UserSession;
+import org.wso2.carbon.identity.application.authentication.framework.model.UserSessionPage;
 import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.core.model.ExpressionNode;
 
@@ -143,6 +144,24 @@ public interface UserSessionManagementService {
         return false;
     }
 
+    /**
+     * Get a page of the active sessions of the user. The sessions are read from the session mapping and metadata
+     * tables without loading the session contexts, hence the organization based filtering of
+     * {@link #getSessionsByUserId(String, String)} is not applied.
+     *
+     * @param userId       Id of the user.
+     * @param tenantDomain Tenant domain of the user.
+     * @param cursor       Cursor returned with the previous page, or null to get the first page.
+     * @param limit        Maximum number of sessions in the page.
+     * @return Page of user sessions ordered by the session id. In the default method, null is returned.
+     * @throws SessionManagementException if the session retrieval fails.
+     */
+    default UserSessionPage getSessionPageByUserId(String userId, String tenantDomain, String cursor, int limit)
+            throws SessionManagementException {
+
+        return null;
+    }
+
     /**
      * Get active sessions that fulfill the criteria determined by the filter parameter value.
      *
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.loader;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.internal.core.ApplicationAuthenticatorManager;
+import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.Config.SEQUENCE_TEMPLATE_CACHE_ENABLED;
+
+/**
+ * Cache of the step configurations built from the authentication steps of an application.
+ * Building the step configurations resolves the authenticators and identity providers of every step, which does
+ * not need to be repeated for each login as long as the application, its identity providers and the deployed
+ * authenticators are not changed. The cache is disabled by default and can be enabled with the
+ * AuthenticationSequenceTemplateCache.Enable configuration.
+ * <p>
+ * The templates are kept in a tenant wise cache which is invalidated across the cluster when an application or an
+ * identity provider of the tenant is updated or deleted. A template is also bound to the authentication steps
+ * instance and the version of the system defined authenticators it was built from, hence it is rebuilt when the
+ * application is reloaded or an authenticator is deployed or undeployed. Step configurations which use user defined
+ * authenticators are not cached, since the updates of those authenticators are not notified. Each login gets a deep
+ * copy of the template, hence the template itself is never modified.
+ */
+public class SequenceTemplateCache {
+
+    private static final Log log = LogFactory.getLog(SequenceTemplateCache.class);
+    private static final String CACHE_NAME = "AuthenticationSequenceTemplateCache";
+    private static final SequenceTemplateCache INSTANCE =
+            new SequenceTemplateCache(Boolean.parseBoolean(IdentityUtil.getProperty(SEQUENCE_TEMPLATE_CACHE_ENABLED)));
+
+    private final boolean enabled;
+    private final TemplateCache templates;
+
+    SequenceTemplateCache(boolean enabled) {
+
+        this.enabled = enabled;
+        this.templates = new TemplateCache();
+    }
+
+    public static SequenceTemplateCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get a copy of the step configurations of an application, building and caching the template if it is not
+     * available or outdated.
+     *
+     * @param tenantDomain        Tenant domain of the application.
+     * @param applicationId       Resource id of the application.
+     * @param authenticationSteps Authentication steps of the application.
+     * @param loader              Loader to build the step configurations when the template is not available.
+     * @return Step configurations, which can be modified by the caller.
+     * @throws FrameworkException If an error occurs while building the step configurations.
+     */
+    public Map<Integer, StepConfig> getStepMap(String tenantDomain, String applicationId,
+                                               AuthenticationStep[] authenticationSteps, StepMapLoader loader)
+            throws FrameworkException {
+
+        if (!isEnabled() || StringUtils.isBlank(applicationId) || authenticationSteps == null) {
+            return loader.load();
+        }
+
+        int authenticatorsVersion =
+                ApplicationAuthenticatorManager.getInstance().getSystemDefinedAuthenticatorsVersion();
+        SequenceTemplate template = templates.getValueFromCache(applicationId, tenantDomain);
+        if (template != null && template.authenticationSteps == authenticationSteps &&
+                template.authenticatorsVersion == authenticatorsVersion) {
+            return copyOf(template.stepMap);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Building the authentication step template of application: " + applicationId +
+                    " in tenant: " + tenantDomain);
+        }
+        Map<Integer, StepConfig> stepMap = loader.load();
+        if (hasOnlySystemDefinedAuthenticators(stepMap)) {
+            templates.addToCache(applicationId, new SequenceTemplate(authenticationSteps, authenticatorsVersion,
+                    copyOf(stepMap)), tenantDomain);
+        } else {
+            templates.clearCacheEntry(applicationId, tenantDomain);
+        }
+        return stepMap;
+    }
+
+    /**
+     * Remove the template of an application.
+     *
+     * @param tenantDomain  Tenant domain of the application.
+     * @param applicationId Resource id of the application.
+     */
+    public void invalidate(String tenantDomain, String applicationId) {
+
+        if (!isEnabled() || StringUtils.isBlank(applicationId)) {
+            return;
+        }
+        templates.clearCacheEntry(applicationId, tenantDomain);
+    }
+
+    /**
+     * Remove the templates of all the applications of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidateTenant(String tenantDomain) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        templates.clear(tenantDomain);
+    }
+
+    private boolean isEnabled() {
+
+        return enabled && templates.isEnabled();
+    }
+
+    private static boolean hasOnlySystemDefinedAuthenticators(Map<Integer, StepConfig> stepMap) {
+
+        List<ApplicationAuthenticator> systemDefinedAuthenticators =
+                ApplicationAuthenticatorManager.getInstance().getSystemDefinedAuthenticators();
+        for (StepConfig stepConfig : stepMap.values()) {
+            for (AuthenticatorConfig authenticatorConfig : stepConfig.getAuthenticatorList()) {
+                ApplicationAuthenticator authenticator = authenticatorConfig.getApplicationAuthenticator();
+                if (authenticator != null && !systemDefinedAuthenticators.contains(authenticator)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Map<Integer, StepConfig> copyOf(Map<Integer, StepConfig> stepMap) {
+
+        Map<Integer, StepConfig> copy = new HashMap<>(stepMap.size());
+        stepMap.forEach((order, stepConfig) -> copy.put(order, new StepConfig(stepConfig)));
+        return copy;
+    }
+
+    /**
+     * Builds the step configurations of an application.
+     */
+    @FunctionalInterface
+    public interface StepMapLoader {
+
+        Map<Integer, StepConfig> load() throws FrameworkException;
+    }
+
+    /**
+     * Tenant wise cache of the templates, keyed by the resource id of the application.
+     */
+    private static final class TemplateCache extends BaseCache<String, SequenceTemplate> {
+
+        TemplateCache() {
+
+            super(CACHE_NAME);
+        }
+    }
+
+    /**
+     * Step configurations built from an authentication steps instance.
+     */
+    private static final class SequenceTemplate implements Serializable {
+
+        private static final long serialVersionUID = -3412519032174608410L;
+
+        // Not serialized, hence a template read from a serialized cache is always rebuilt.
+        private final transient AuthenticationStep[] authenticationSteps;
+        private final int authenticatorsVersion;
+        private final Map<Integer, StepConfig> stepMap;
+
+        SequenceTemplate(AuthenticationStep[] authenticationSteps, int authenticatorsVersion,
+                         Map<Integer, StepConfig> stepMap) {
+
+            this.authenticationSteps = authenticationSteps;
+            this.authenticatorsVersion = authenticatorsVersion;
+            this.stepMap = Collections.unmodifiableMap(stepMap);
+        }
+    }
+}
@@ -192,12 +192,32 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
         // setting request path authenticators
         loadRequestPathAuthenticators(sequenceConfig, serviceProvider);
 
-        int stepOrder = 0;
-
         if (authenticationSteps == null) {
             return sequenceConfig;
         }
 
+        sequenceConfig.getStepMap().putAll(getSequenceTemplateCache().getStepMap(tenantDomain,
+                serviceProvider.getApplicationResourceId(), authenticationSteps,
+                () -> loadStepConfigs(authenticationSteps, tenantDomain)));
+        return sequenceConfig;
+    }
+
+    /**
+     * Get the cache of the step configurations built for each application.
+     *
+     * @return Sequence template cache.
+     */
+    protected SequenceTemplateCache getSequenceTemplateCache() {
+
+        return SequenceTemplateCache.getInstance();
+    }
+
+    private Map<Integer, StepConfig> loadStepConfigs(AuthenticationStep[] authenticationSteps, String tenantDomain)
+            throws FrameworkException {
+
+        Map<Integer, StepConfig> stepMap = new HashMap<>();
+        int stepOrder = 0;
+
         // for each configured step
         for (AuthenticationStep authenticationStep : authenticationSteps) {
 
@@ -216,10 +236,10 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
             // loading local authenticators
             loadLocalAuthenticators(authenticationStep, stepConfig, tenantDomain);
 
-            sequenceConfig.getStepMap().put(stepOrder, stepConfig);
+            stepMap.put(stepOrder, stepConfig);
         }
 
-        return sequenceConfig;
+        return stepMap;
     }
 
     protected StepConfig createStepConfigurationObject(int stepOrder, AuthenticationStep authenticationStep) {
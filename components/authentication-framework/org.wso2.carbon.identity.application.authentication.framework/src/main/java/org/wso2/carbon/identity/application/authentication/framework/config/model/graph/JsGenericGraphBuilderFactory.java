@@ -33,6 +33,13 @@ public interface JsGenericGraphBuilderFactory<T> {
 
     void init();
 
+    /**
+     * Release the resources held by the factory, such as the shared script engines.
+     */
+    default void destroy() {
+
+    }
+
     JsBaseGraphBuilder createBuilder(AuthenticationContext context, Map<Integer, StepConfig> stepConfigMapCopy);
 
     JsBaseGraphBuilder createBuilder(AuthenticationContext authenticationContext,
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.graalvm.polyglot.Context;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of pre-warmed GraalJS polyglot contexts.
+ * A context holds the global state of the script executed in it, hence a context is used for a single script
+ * execution and closed afterwards, as before. The pool creates the contexts ahead of time in a background thread,
+ * so that the logins do not pay the context creation and language initialization cost. The number of idle contexts
+ * is limited by the pool size, independent of the number of request threads.
+ */
+public class GraalContextPool {
+
+    private static final Log LOG = LogFactory.getLog(GraalContextPool.class);
+
+    private final BlockingQueue<Context> contexts;
+    private final Supplier<Context> contextFactory;
+    private final ExecutorService refillExecutor;
+    private final AtomicBoolean refillScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    /**
+     * @param size           Maximum number of pre-warmed contexts. Contexts are not pooled if the size is 0.
+     * @param contextFactory Factory which creates a context with the common bindings.
+     */
+    public GraalContextPool(int size, Supplier<Context> contextFactory) {
+
+        this.contexts = size > 0 ? new ArrayBlockingQueue<>(size) : null;
+        this.contextFactory = contextFactory;
+        this.refillExecutor = size > 0 ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GraalJSContextPoolRefill");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        scheduleRefill();
+    }
+
+    /**
+     * Get a context for a script execution. The caller is responsible for closing the context after the execution.
+     *
+     * @return A pre-warmed context if available, otherwise a newly created context.
+     */
+    public Context acquire() {
+
+        Context context = contexts != null ? contexts.poll() : null;
+        scheduleRefill();
+        if (context != null) {
+            return context;
+        }
+        if (LOG.isDebugEnabled() && contexts != null) {
+            LOG.debug("No pre-warmed GraalJS context is available. Creating a new context.");
+        }
+        return contextFactory.get();
+    }
+
+    /**
+     * Number of pre-warmed contexts available in the pool.
+     *
+     * @return Number of idle contexts.
+     */
+    public int getIdleCount() {
+
+        return contexts != null ? contexts.size() : 0;
+    }
+
+    /**
+     * Stop pre-warming contexts and close the idle contexts.
+     */
+    public void close() {
+
+        closed = true;
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+        if (contexts != null) {
+            Context context;
+            while ((context = contexts.poll()) != null) {
+                closeQuietly(context);
+            }
+        }
+    }
+
+    private void scheduleRefill() {
+
+        if (contexts == null || closed || contexts.remainingCapacity() == 0 ||
+                !refillScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            refillScheduled.set(false);
+        }
+    }
+
+    private void refill() {
+
+        try {
+            while (!closed && contexts.remainingCapacity() > 0) {
+                Context context = contextFactory.get();
+                if (closed || !contexts.offer(context)) {
+                    closeQuietly(context);
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Error while creating pre-warmed GraalJS contexts.", e);
+        } finally {
+            refillScheduled.set(false);
+        }
+    }
+
+    private static void closeQuietly(Context context) {
+
+        try {
+            context.close();
+        } catch (RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while closing the GraalJS context.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.graalvm.polyglot.Source;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_GRAALJS_SOURCE_CACHE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.POLYGLOT_LANGUAGE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.POLYGLOT_SOURCE;
+
+/**
+ * Cache of the GraalJS sources of the adaptive authentication scripts.
+ * Polyglot contexts created from the shared engine reuse the parsed and compiled code of a source, as long as the
+ * same source is evaluated. Hence, the sources are cached per tenant, application and script content, so that the
+ * script is not parsed again in each login.
+ */
+public class GraalScriptSourceCache {
+
+    private static final GraalScriptSourceCache INSTANCE = new GraalScriptSourceCache();
+    private static final String SHARED_SOURCE_KEY_PREFIX = "__shared__";
+
+    private volatile int maxEntries = DEFAULT_GRAALJS_SOURCE_CACHE_SIZE;
+    private final Map<String, Source> sources = new LinkedHashMap<String, Source>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = -3529212856479381207L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+
+            return size() > maxEntries;
+        }
+    };
+
+    private GraalScriptSourceCache() {
+
+    }
+
+    public static GraalScriptSourceCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Set the maximum number of cached sources. The least recently used sources are evicted beyond this limit.
+     *
+     * @param maxEntries Maximum number of cached sources.
+     */
+    public void setMaxEntries(int maxEntries) {
+
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Get the source of the adaptive authentication script of an application.
+     *
+     * @param tenantDomain  Tenant domain of the application.
+     * @param applicationId Identifier of the application.
+     * @param script        Adaptive authentication script.
+     * @return Cached source of the script.
+     * @throws IOException If an error occurs while building the source.
+     */
+    public Source getScriptSource(String tenantDomain, String applicationId, String script) throws IOException {
+
+        return getSource(tenantDomain + ":" + applicationId + ":" + DigestUtils.sha256Hex(script), script);
+    }
+
+    /**
+     * Get the source of a code fragment which is shared by all the applications, such as the functions evaluated
+     * in each context and the serialized event handler functions.
+     *
+     * @param code Javascript code.
+     * @return Cached source of the code.
+     * @throws IOException If an error occurs while building the source.
+     */
+    public Source getSharedSource(String code) throws IOException {
+
+        return getSource(SHARED_SOURCE_KEY_PREFIX + ":" + DigestUtils.sha256Hex(code), code);
+    }
+
+    /**
+     * Remove all the cached sources.
+     */
+    public void clear() {
+
+        synchronized (sources) {
+            sources.clear();
+        }
+    }
+
+    public int size() {
+
+        synchronized (sources) {
+            return sources.size();
+        }
+    }
+
+    private Source getSource(String key, String code) throws IOException {
+
+        synchronized (sources) {
+            Source source = sources.get(key);
+            if (source != null) {
+                return source;
+            }
+        }
+        Source source = Source.newBuilder(POLYGLOT_LANGUAGE, code, POLYGLOT_SOURCE).build();
+        synchronized (sources) {
+            Source existing = sources.putIfAbsent(key, source);
+            return existing != null ? existing : source;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.GenericSerializableJsFunction;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 /**
@@ -75,7 +76,17 @@ public class GraalSerializableJsFunction implements GenericSerializableJsFunctio
     public Object apply(Context polyglotContext, Object... params) {
 
         if (isPolyglotFunction) {
-            Value jsFunction = polyglotContext.eval("js", "(" + getSource() + ")");
+            Value jsFunction;
+            try {
+                jsFunction = polyglotContext.eval(
+                        GraalScriptSourceCache.getInstance().getSharedSource("(" + getSource() + ")"));
+            } catch (IOException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Error while building the cached source of the function. Evaluating without caching.",
+                            e);
+                }
+                jsFunction = polyglotContext.eval("js", "(" + getSource() + ")");
+            }
             return jsFunction.execute(params);
         }
 
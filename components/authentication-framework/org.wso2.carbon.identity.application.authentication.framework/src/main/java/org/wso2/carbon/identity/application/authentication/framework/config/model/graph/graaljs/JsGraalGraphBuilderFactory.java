@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.application.authentication.framework.config.mod
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.ResourceLimits;
 import org.graalvm.polyglot.Value;
@@ -45,8 +46,12 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_GRAALJS_CONTEXT_POOL_SIZE;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_GRAALJS_SOURCE_CACHE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.GRAALJS_CONTEXT_POOL_SIZE;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.GRAALJS_SCRIPT_STATEMENTS_LIMIT;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.GRAALJS_SOURCE_CACHE_SIZE;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.JS_FUNC_SELECT_ACR_FROM;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.JS_LOG;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.POLYGLOT_LANGUAGE;
@@ -54,6 +59,8 @@ import static org.wso2.carbon.identity.application.authentication.framework.util
 /**
  * Factory to create a Javascript based sequence builder.
  * This factory is there to reuse of GraalJS Polyglot Context and any related expensive objects.
+ * All the contexts are created from a single shared polyglot engine, so that the code parsed and compiled in one
+ * context is reused by the others, and are handed out from a pool of pre-warmed contexts.
  * <p>
  * Since Nashorn is deprecated in JDK 11 and onwards. We are introducing GraalJS engine.
  */
@@ -62,10 +69,35 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
     private static final Log LOG = LogFactory.getLog(JsGraalGraphBuilderFactory.class);
     private static final String JS_BINDING_CURRENT_CONTEXT = "JS_BINDING_CURRENT_CONTEXT";
     private int javascriptResourceLimit = 0;
+    private int contextPoolSize = DEFAULT_GRAALJS_CONTEXT_POOL_SIZE;
+    private volatile Engine engine;
+    private volatile HostAccess hostAccess;
+    private volatile GraalContextPool contextPool;
 
     public void init() {
 
         setJavascriptResourceLimit();
+        contextPoolSize = readIntProperty(GRAALJS_CONTEXT_POOL_SIZE, DEFAULT_GRAALJS_CONTEXT_POOL_SIZE);
+        GraalScriptSourceCache.getInstance().setMaxEntries(
+                readIntProperty(GRAALJS_SOURCE_CACHE_SIZE, DEFAULT_GRAALJS_SOURCE_CACHE_SIZE));
+        getContextPool();
+    }
+
+    /**
+     * Close the pre-warmed contexts and the shared polyglot engine.
+     */
+    @Override
+    public synchronized void destroy() {
+
+        if (contextPool != null) {
+            contextPool.close();
+            contextPool = null;
+        }
+        if (engine != null) {
+            engine.close();
+            engine = null;
+        }
+        GraalScriptSourceCache.getInstance().clear();
     }
 
     @SuppressWarnings("unchecked")
@@ -106,10 +138,20 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
 
     public Context createEngine(AuthenticationContext authenticationContext) {
 
+        return getContextPool().acquire();
+    }
+
+    /**
+     * Create a new context from the shared engine, with the common functions bound and the language initialized.
+     *
+     * @return New polyglot context.
+     */
+    public Context createContext() {
+
         Context context = Context.newBuilder(POLYGLOT_LANGUAGE)
-                .allowHostAccess(getHostAccess())
+                .engine(getEngine())
+                .allowHostAccess(getSharedHostAccess())
                 .resourceLimits(getResourceLimits())
-                .option("engine.WarnInterpreterOnly", "false")
                 .build();
 
         Value bindings = context.getBindings(POLYGLOT_LANGUAGE);
@@ -118,6 +160,48 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
         return context;
     }
 
+    private GraalContextPool getContextPool() {
+
+        GraalContextPool pool = contextPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = contextPool;
+                if (pool == null) {
+                    pool = new GraalContextPool(contextPoolSize, this::createContext);
+                    contextPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private Engine getEngine() {
+
+        Engine sharedEngine = engine;
+        if (sharedEngine == null) {
+            synchronized (this) {
+                sharedEngine = engine;
+                if (sharedEngine == null) {
+                    sharedEngine = Engine.newBuilder()
+                            .option("engine.WarnInterpreterOnly", "false")
+                            .build();
+                    engine = sharedEngine;
+                }
+            }
+        }
+        return sharedEngine;
+    }
+
+    private HostAccess getSharedHostAccess() {
+
+        HostAccess sharedHostAccess = hostAccess;
+        if (sharedHostAccess == null) {
+            sharedHostAccess = getHostAccess();
+            hostAccess = sharedHostAccess;
+        }
+        return sharedHostAccess;
+    }
+
     public ResourceLimits getResourceLimits() {
 
         ResourceLimits.Builder resourceLimitsBuilder = ResourceLimits.newBuilder();
@@ -176,6 +260,19 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
                 currentNode);
     }
 
+    private int readIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Error while parsing the property: " + propertyName + ". Defaulting to " + defaultValue, e);
+            }
+        }
+        return defaultValue;
+    }
+
     private void setJavascriptResourceLimit() {
 
         /*
@@ -64,6 +64,18 @@ public interface UserSessionDAO {
         return Optional.empty();
     }
 
+    /**
+     * Method to retrieve the session information of the given session ids without loading the session contexts.
+     *
+     * @param sessionIds Ids of the sessions.
+     * @return User sessions in the order of the given session ids. Sessions without applications are skipped.
+     * @throws SessionManagementServerException if an error occurs when retrieving the sessions from the database.
+     */
+    default List<UserSession> getSessions(List<String> sessionIds) throws SessionManagementServerException {
+
+        return Collections.emptyList();
+    }
+
     /**
      * Method to search active sessions on the system.
      *
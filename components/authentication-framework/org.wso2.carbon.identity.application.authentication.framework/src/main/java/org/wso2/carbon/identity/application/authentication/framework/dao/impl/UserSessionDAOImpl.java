@@ -45,6 +45,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +58,9 @@ import java.util.stream.Collectors;
 public class UserSessionDAOImpl implements UserSessionDAO {
 
     public static final String SCOPE_LIST_PLACEHOLDER = "_SCOPE_LIST_";
+    public static final String SESSION_ID_LIST_PLACEHOLDER = "_SESSION_ID_LIST_";
+    // Keeps the IN lists within the limits of all the supported databases, e.g. 1000 expressions in Oracle.
+    private static final int MAX_SESSION_IDS_PER_QUERY = 1000;
 
     public UserSessionDAOImpl() {
     }
@@ -168,6 +172,85 @@ public class UserSessionDAOImpl implements UserSessionDAO {
         return Optional.empty();
     }
 
+    @Override
+    public List<UserSession> getSessions(List<String> sessionIds) throws SessionManagementServerException {
+
+        List<UserSession> userSessionList = new ArrayList<>();
+        if (CollectionUtils.isEmpty(sessionIds)) {
+            return userSessionList;
+        }
+        for (int i = 0; i < sessionIds.size(); i += MAX_SESSION_IDS_PER_QUERY) {
+            userSessionList.addAll(getSessionsOfChunk(
+                    sessionIds.subList(i, Math.min(i + MAX_SESSION_IDS_PER_QUERY, sessionIds.size()))));
+        }
+        return userSessionList;
+    }
+
+    private List<UserSession> getSessionsOfChunk(List<String> sessionIds) throws SessionManagementServerException {
+
+        Map<String, UserSession> userSessions = new LinkedHashMap<>();
+        for (String sessionId : sessionIds) {
+            UserSession userSession = new UserSession();
+            userSession.setSessionId(sessionId);
+            userSession.setApplications(new ArrayList<>());
+            userSessions.put(sessionId, userSession);
+        }
+        String placeholder = String.join(", ", Collections.nCopies(userSessions.size(), "?"));
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate(JdbcUtils.Database.SESSION);
+
+        try {
+            List<Application> applications = new ArrayList<>();
+            jdbcTemplate.executeQuery(SQLQueries.SQL_GET_APPS_FOR_SESSION_IDS.replace(SESSION_ID_LIST_PLACEHOLDER,
+                    placeholder), (resultSet, rowNumber) -> {
+                        Application application = new Application(resultSet.getString(2), null,
+                                resultSet.getString(3), null);
+                        UserSession userSession = userSessions.get(resultSet.getString(1));
+                        if (userSession != null) {
+                            userSession.getApplications().add(application);
+                            applications.add(application);
+                        }
+                        return null;
+                    }, preparedStatement -> {
+                        int index = 1;
+                        for (String sessionId : userSessions.keySet()) {
+                            preparedStatement.setString(index++, sessionId);
+                        }
+                    });
+            generateApplicationFromAppID(applications);
+
+            String sqlStmt = JdbcUtils.isH2DB(JdbcUtils.Database.SESSION)
+                    ? SQLQueries.SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_FOR_SESSION_IDS_H2
+                    : SQLQueries.SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_FOR_SESSION_IDS;
+            jdbcTemplate.executeQuery(sqlStmt.replace(SESSION_ID_LIST_PLACEHOLDER, placeholder),
+                    (resultSet, rowNumber) -> {
+                        UserSession userSession = userSessions.get(resultSet.getString(1));
+                        if (userSession != null) {
+                            setSessionProperty(userSession, resultSet.getString(2), resultSet.getString(3));
+                        }
+                        return null;
+                    }, preparedStatement -> {
+                        int index = 1;
+                        for (String sessionId : userSessions.keySet()) {
+                            preparedStatement.setString(index++, sessionId);
+                        }
+                    });
+        } catch (DataAccessException e) {
+            throw new SessionManagementServerException(
+                    SessionMgtConstants.ErrorMessages.ERROR_CODE_UNABLE_TO_GET_SESSION,
+                    SessionMgtConstants.ErrorMessages.ERROR_CODE_UNABLE_TO_GET_SESSION.getDescription(), e);
+        }
+
+        List<UserSession> userSessionList = new ArrayList<>();
+        for (UserSession userSession : userSessions.values()) {
+            // Applications which are not present in the SP_APP table are not considered for the session object.
+            userSession.getApplications().removeIf(application -> application.getAppName() == null);
+            if (!userSession.getApplications().isEmpty()) {
+                userSessionList.add(userSession);
+            }
+        }
+        return userSessionList;
+    }
+
     @Override
     public List<UserSession> getSessions(int tenantId, List<ExpressionNode> filter, Integer limit, String sortOrder)
             throws UserSessionException {
@@ -379,6 +462,26 @@ public class UserSessionDAOImpl implements UserSessionDAO {
                 preparedStatement -> preparedStatement.setString(1, sessionId));
     }
 
+    private void setSessionProperty(UserSession userSession, String propertyType, String value) {
+
+        switch (propertyType) {
+            case SessionMgtConstants.USER_AGENT:
+                userSession.setUserAgent(value);
+                break;
+            case SessionMgtConstants.IP_ADDRESS:
+                userSession.setIp(value);
+                break;
+            case SessionMgtConstants.LAST_ACCESS_TIME:
+                userSession.setLastAccessTime(value);
+                break;
+            case SessionMgtConstants.LOGIN_TIME:
+                userSession.setLoginTime(value);
+                break;
+            default:
+                break;
+        }
+    }
+
     private Map<String, Application> getApplicationsForFilter(String appFilter)
             throws DataAccessException {
 
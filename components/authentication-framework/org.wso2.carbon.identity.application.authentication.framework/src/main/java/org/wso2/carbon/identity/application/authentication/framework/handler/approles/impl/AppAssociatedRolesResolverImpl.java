@@ -267,10 +267,7 @@ public class AppAssociatedRolesResolverImpl implements ApplicationRolesResolver
                         .resolveTenantDomain(authenticatedUser.getAccessingOrganization());
                 userId = authenticatedUser.getSharedUserId();
             }
-            List<String> roleIdsFromUserGroups = getRoleIdsOfGroups(userGroups, tenantDomain);
-            List<String> roleIdsFromUser = getRoleIdsOfUser(userId, tenantDomain);
-
-            return new HashSet<>(CollectionUtils.union(roleIdsFromUserGroups, roleIdsFromUser));
+            return new HashSet<>(getRoleIdsOfUserAndGroups(userId, userGroups, tenantDomain));
         } catch (IdentityRoleManagementException | UserIdNotFoundException | OrganizationManagementException e) {
             throw RoleResolverUtils.handleServerException(ERROR_CODE_RETRIEVING_APP_ROLES, e);
         }
@@ -343,33 +340,19 @@ public class AppAssociatedRolesResolverImpl implements ApplicationRolesResolver
     }
 
     /**
-     * Get Role IDs assigned to user through groups.
-     *
-     * @param userGroups   User groups.
-     * @param tenantDomain Tenant domain.
-     * @return Role IDs assigned to user through groups.
-     * @throws IdentityRoleManagementException If an error occurred while getting role IDs assigned through groups.
-     */
-    private List<String> getRoleIdsOfGroups(List<String> userGroups, String tenantDomain)
-            throws IdentityRoleManagementException {
-
-        return FrameworkServiceDataHolder.getInstance().getRoleManagementServiceV2()
-                .getRoleIdListOfGroups(userGroups, tenantDomain);
-    }
-
-    /**
-     * Get Role IDs assigned to user directly.
+     * Get Role IDs assigned to user directly and through groups.
      *
      * @param userId       User ID.
+     * @param userGroups   User groups.
      * @param tenantDomain Tenant domain.
-     * @return Role IDs assigned to user directly.
-     * @throws IdentityRoleManagementException If an error occurred while getting role IDs assigned directly.
+     * @return Role IDs assigned to user directly and through groups.
+     * @throws IdentityRoleManagementException If an error occurred while getting role IDs of the user.
      */
-    private List<String> getRoleIdsOfUser(String userId, String tenantDomain)
+    private List<String> getRoleIdsOfUserAndGroups(String userId, List<String> userGroups, String tenantDomain)
             throws IdentityRoleManagementException {
 
         return FrameworkServiceDataHolder.getInstance().getRoleManagementServiceV2()
-                .getRoleIdListOfUser(userId, tenantDomain);
+                .getRoleIdListOfUserAndGroups(userId, userGroups, null, tenantDomain);
     }
 
     /**
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.model.script.AuthenticationScriptConfig;
+import org.wso2.carbon.identity.application.mgt.ApplicationConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.user.core.UserCoreConstants;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.Config.CLAIM_FETCH_PLAN_ENABLED;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.Config.CLAIM_FETCH_PLAN_MAX_ENTRIES;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.Config.DEFAULT_CLAIM_FETCH_PLAN_MAX_ENTRIES;
+
+/**
+ * Works out the local claims of the user to be read from the user store during the claim handling of an
+ * application, instead of reading every claim of the local dialect. The plan contains the requested and mandatory
+ * claims of the application, the subject claim, the role and group claims and the local claims referred by the
+ * adaptive authentication script. A plan is bound to the service provider instance it was built from, so that
+ * reloading the application from the application management caches builds the plan again. The plans are kept in a
+ * concurrent map, and the least recently used plans are removed once the maximum number of entries is exceeded.
+ */
+public class ClaimFetchPlanner {
+
+    private static final Log log = LogFactory.getLog(ClaimFetchPlanner.class);
+    private static final ClaimFetchPlanner INSTANCE = new ClaimFetchPlanner();
+    private static final Pattern SCRIPT_CLAIM_PATTERN = Pattern.compile("[\"'](" +
+            Pattern.quote(ApplicationConstants.LOCAL_IDP_DEFAULT_CLAIM_DIALECT + "/") + "[^\"'\\s]+)[\"']");
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final ConcurrentMap<String, ClaimFetchPlan> plans = new ConcurrentHashMap<>();
+
+    private ClaimFetchPlanner() {
+
+        this(Boolean.parseBoolean(IdentityUtil.getProperty(CLAIM_FETCH_PLAN_ENABLED)), readMaxEntries());
+    }
+
+    ClaimFetchPlanner(boolean enabled, int maxEntries) {
+
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    public static ClaimFetchPlanner getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the local claim URIs to be read from the user store for an application.
+     *
+     * @param tenantDomain Tenant domain of the application.
+     * @param requestType  Request type of the authentication request.
+     * @param appConfig    Application configuration.
+     * @return Unmodifiable set of local claim URIs, or null if all the local claims should be read.
+     */
+    public Set<String> getClaimsToFetch(String tenantDomain, String requestType, ApplicationConfig appConfig) {
+
+        if (!enabled || appConfig == null || appConfig.getServiceProvider() == null) {
+            return null;
+        }
+        /* OpenID returns every claim mapped to its dialect, and when the application does not request any claim the
+        post authentication handlers fall back to all the local claims of the user. */
+        if (FrameworkConstants.RequestType.CLAIM_TYPE_OPENID.equals(requestType) ||
+                appConfig.getRequestedClaimMappings() == null || appConfig.getRequestedClaimMappings().isEmpty()) {
+            return null;
+        }
+
+        ServiceProvider serviceProvider = appConfig.getServiceProvider();
+        String applicationId = serviceProvider.getApplicationResourceId();
+        if (StringUtils.isBlank(applicationId)) {
+            return buildPlan(appConfig);
+        }
+
+        String key = getKey(tenantDomain, applicationId);
+        ClaimFetchPlan plan = plans.get(key);
+        if (plan != null && plan.serviceProvider == serviceProvider) {
+            plan.lastAccessTime = System.nanoTime();
+            return plan.claimURIs;
+        }
+
+        plan = new ClaimFetchPlan(serviceProvider, buildPlan(appConfig));
+        if (log.isDebugEnabled()) {
+            log.debug("Built the claim fetch plan of application: " + applicationId + " in tenant: " +
+                    tenantDomain + " with " + plan.claimURIs.size() + " claims.");
+        }
+        plans.put(key, plan);
+        if (plans.size() > maxEntries) {
+            removeLeastRecentlyUsedPlans();
+        }
+        return plan.claimURIs;
+    }
+
+    /**
+     * Remove the plan of an application.
+     *
+     * @param tenantDomain  Tenant domain of the application.
+     * @param applicationId Resource id of the application.
+     */
+    public void invalidate(String tenantDomain, String applicationId) {
+
+        if (StringUtils.isBlank(applicationId)) {
+            return;
+        }
+        plans.remove(getKey(tenantDomain, applicationId));
+    }
+
+    /**
+     * Remove the plans of all the applications of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidateTenant(String tenantDomain) {
+
+        String prefix = tenantDomain + ":";
+        plans.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public int size() {
+
+        return plans.size();
+    }
+
+    /**
+     * Remove the least recently used plans until the number of plans is within the maximum number of entries. Plans
+     * are only added when an application is loaded, hence scanning the plans on addition does not affect the
+     * lookups.
+     */
+    private void removeLeastRecentlyUsedPlans() {
+
+        while (plans.size() > maxEntries) {
+            Map.Entry<String, ClaimFetchPlan> leastRecentlyUsed = null;
+            for (Map.Entry<String, ClaimFetchPlan> entry : plans.entrySet()) {
+                if (leastRecentlyUsed == null ||
+                        entry.getValue().lastAccessTime - leastRecentlyUsed.getValue().lastAccessTime < 0) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            plans.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    private Set<String> buildPlan(ApplicationConfig appConfig) {
+
+        Set<String> claimURIs = new HashSet<>(appConfig.getRequestedClaimMappings().values());
+        if (appConfig.getMandatoryClaimMappings() != null) {
+            claimURIs.addAll(appConfig.getMandatoryClaimMappings().values());
+        }
+
+        Map<String, String> spToLocalClaimMappings = appConfig.getClaimMappings();
+        addClaim(claimURIs, appConfig.getSubjectClaimUri(), spToLocalClaimMappings);
+        addClaim(claimURIs, appConfig.getRoleClaim(), spToLocalClaimMappings);
+        claimURIs.add(IdentityUtil.getLocalGroupsClaimURI());
+        claimURIs.add(UserCoreConstants.USER_STORE_GROUPS_CLAIM);
+        claimURIs.add(FrameworkConstants.IDP_TYPE_CLAIM);
+        claimURIs.addAll(getScriptClaims(appConfig.getServiceProvider()));
+        claimURIs.remove(null);
+        return Collections.unmodifiableSet(claimURIs);
+    }
+
+    /**
+     * Add a claim of the application along with the local claim it is mapped to. The claim is added as it is
+     * as well, since the subject claim is read from the local claims of the user without mapping.
+     */
+    private static void addClaim(Set<String> claimURIs, String claimURI, Map<String, String> spToLocalClaimMappings) {
+
+        if (StringUtils.isBlank(claimURI)) {
+            return;
+        }
+        claimURIs.add(claimURI.trim());
+        if (spToLocalClaimMappings != null && spToLocalClaimMappings.get(claimURI) != null) {
+            claimURIs.add(spToLocalClaimMappings.get(claimURI));
+        }
+    }
+
+    /**
+     * Get the local claim URIs written as string literals in the adaptive authentication script. Claims accessed
+     * with computed names are read from the user store on demand by the script itself.
+     */
+    private static Set<String> getScriptClaims(ServiceProvider serviceProvider) {
+
+        LocalAndOutboundAuthenticationConfig authenticationConfig =
+                serviceProvider.getLocalAndOutBoundAuthenticationConfig();
+        if (authenticationConfig == null) {
+            return Collections.emptySet();
+        }
+        AuthenticationScriptConfig scriptConfig = authenticationConfig.getAuthenticationScriptConfig();
+        if (scriptConfig == null || !scriptConfig.isEnabled() || StringUtils.isBlank(scriptConfig.getContent())) {
+            return Collections.emptySet();
+        }
+        Set<String> claimURIs = new HashSet<>();
+        Matcher matcher = SCRIPT_CLAIM_PATTERN.matcher(scriptConfig.getContent());
+        while (matcher.find()) {
+            claimURIs.add(matcher.group(1));
+        }
+        return claimURIs;
+    }
+
+    private static String getKey(String tenantDomain, String applicationId) {
+
+        return tenantDomain + ":" + applicationId;
+    }
+
+    private static int readMaxEntries() {
+
+        String maxEntriesConfig = IdentityUtil.getProperty(CLAIM_FETCH_PLAN_MAX_ENTRIES);
+        if (StringUtils.isNotBlank(maxEntriesConfig)) {
+            try {
+                return Math.max(1, Integer.parseInt(maxEntriesConfig.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + maxEntriesConfig + " configured for: " + CLAIM_FETCH_PLAN_MAX_ENTRIES +
+                        ". Using the default value: " + DEFAULT_CLAIM_FETCH_PLAN_MAX_ENTRIES);
+            }
+        }
+        return DEFAULT_CLAIM_FETCH_PLAN_MAX_ENTRIES;
+    }
+
+    /**
+     * Local claim URIs planned for a service provider instance.
+     */
+    private static final class ClaimFetchPlan {
+
+        private final ServiceProvider serviceProvider;
+        private final Set<String> claimURIs;
+        private volatile long lastAccessTime = System.nanoTime();
+
+        ClaimFetchPlan(ServiceProvider serviceProvider, Set<String> claimURIs) {
+
+            this.serviceProvider = serviceProvider;
+            this.claimURIs = claimURIs;
+        }
+    }
+}
@@ -67,6 +67,7 @@ import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -772,8 +773,16 @@ public class DefaultClaimHandler implements ClaimHandler {
         // key:value -> sp_dialect:claim_value
         Map<String, String> spRequestedClaims = new HashMap<>();
 
-        // Retrieve all non-null user claim values against local claim uris.
-        allLocalClaims = retrieveAllNunNullUserClaimValues(authenticatedUser, claimManager, appConfig, userStore);
+        Set<String> plannedClaimURIs = ClaimFetchPlanner.getInstance().getClaimsToFetch(tenantDomain,
+                context.getRequestType(), appConfig);
+        if (plannedClaimURIs != null) {
+            // Retrieve the non-null user claim values of the local claims needed by the application.
+            allLocalClaims = retrieveUserClaimValues(authenticatedUser, userStore, plannedClaimURIs);
+        } else {
+            // Retrieve all non-null user claim values against local claim uris.
+            allLocalClaims = retrieveAllNunNullUserClaimValues(authenticatedUser, claimManager, appConfig,
+                    userStore);
+        }
 
         boolean useAppAssociatedRoles = isAppRoleResolverExists() || !CarbonConstants.ENABLE_LEGACY_AUTHZ_RUNTIME;
         boolean isRoleClaimRequested = (requestedClaimMappings.get(FrameworkConstants.ROLES_CLAIM) != null);
@@ -957,18 +966,39 @@ public class DefaultClaimHandler implements ClaimHandler {
             ClaimManager claimManager, ApplicationConfig appConfig,
             AbstractUserStoreManager userStore) throws FrameworkException {
 
-        String tenantDomain = authenticatedUser.getTenantDomain();
-
-        Map<String, String> allLocalClaims = new HashMap<>();
+        List<String> localClaimURIs = new ArrayList<>();
         try {
-
             org.wso2.carbon.user.api.ClaimMapping[] claimMappings = claimManager
                     .getAllClaimMappings(ApplicationConstants.LOCAL_IDP_DEFAULT_CLAIM_DIALECT);
-            List<String> localClaimURIs = new ArrayList<>();
             for (org.wso2.carbon.user.api.ClaimMapping mapping : claimMappings) {
                 String claimURI = mapping.getClaim().getClaimUri();
                 localClaimURIs.add(claimURI);
             }
+        } catch (UserStoreException e) {
+            throw new FrameworkException("Error occurred while getting all user claims for " +
+                    authenticatedUser.getLoggableUserId() + " in " + authenticatedUser.getTenantDomain(), e);
+        }
+        return retrieveUserClaimValues(authenticatedUser, userStore, localClaimURIs);
+    }
+
+    /**
+     * Retrieve the non-null claim values of the user for the given local claim URIs.
+     *
+     * @param authenticatedUser Authenticated user.
+     * @param userStore         User store manager.
+     * @param localClaimURIs    Local claim URIs to be retrieved.
+     * @return Claim values of the user against the local claim URIs.
+     * @throws FrameworkException If an error occurs while retrieving the claim values.
+     */
+    private Map<String, String> retrieveUserClaimValues(AuthenticatedUser authenticatedUser,
+                                                        AbstractUserStoreManager userStore,
+                                                        Collection<String> localClaimURIs)
+            throws FrameworkException {
+
+        String tenantDomain = authenticatedUser.getTenantDomain();
+
+        Map<String, String> allLocalClaims = new HashMap<>();
+        try {
             allLocalClaims = userStore.getUserClaimValuesWithID(authenticatedUser.getUserId(),
                     localClaimURIs.toArray(new String[0]), null);
 
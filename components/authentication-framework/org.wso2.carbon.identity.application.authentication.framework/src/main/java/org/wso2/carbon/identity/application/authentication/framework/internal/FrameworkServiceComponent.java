@@ -79,11 +79,15 @@ import org.wso2.carbon.identity.application.authentication.framework.internal.im
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.ServerSessionManagementServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.UserSessionManagementServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.listener.AuthenticationEndpointTenantActivityListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.ClaimFetchPlanApplicationMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.listener.SessionContextMgtListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.SequenceTemplateCacheApplicationMgtListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.SequenceTemplateCacheIdPMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.services.PostAuthenticationMgtService;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.processor.SessionExtenderProcessor;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.request.SessionExtenderRequestFactory;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.response.SessionExtenderResponseFactory;
+import org.wso2.carbon.identity.application.authentication.framework.store.CompactSessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.store.JavaSessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
 import org.wso2.carbon.identity.application.authentication.framework.store.PushedAuthDataStore;
@@ -97,6 +101,7 @@ import org.wso2.carbon.identity.application.common.model.LocalAuthenticatorConfi
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticatorConfig;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.base.AuthenticatorPropertyConstants.DefinedByType;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
@@ -263,6 +268,12 @@ public class FrameworkServiceComponent {
                 new JITProvisioningIdentityProviderMgtListener();
         bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
                 jitProvisioningIDPMgtListener, null);
+        bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
+                new SequenceTemplateCacheIdPMgtListener(), null);
+        bundleContext.registerService(ApplicationMgtListener.class.getName(),
+                new SequenceTemplateCacheApplicationMgtListener(), null);
+        bundleContext.registerService(ApplicationMgtListener.class.getName(),
+                new ClaimFetchPlanApplicationMgtListener(), null);
         bundleContext.registerService(ClaimFilter.class.getName(), new DefaultClaimFilter(), null);
 
         // This is done to load SessionDataStore and PushedAuthDataStore classes and start the cleanup tasks.
@@ -319,7 +330,7 @@ public class FrameworkServiceComponent {
         FrameworkServiceDataHolder.getInstance().setUserSessionMappingEnabled(FrameworkUtils
                 .isUserSessionMappingEnabled());
         if (FrameworkServiceDataHolder.getInstance().getSessionSerializer() == null) {
-            FrameworkServiceDataHolder.getInstance().setSessionSerializer(new JavaSessionSerializer());
+            FrameworkServiceDataHolder.getInstance().setSessionSerializer(getDefaultSessionSerializer());
         }
 
         // Set skip local user search for authentication flow handlers enabled.
@@ -409,6 +420,9 @@ public class FrameworkServiceComponent {
         if (FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor() != null) {
             FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor().shutdown();
         }
+        if (FrameworkServiceDataHolder.getInstance().getJsGenericGraphBuilderFactory() != null) {
+            FrameworkServiceDataHolder.getInstance().getJsGenericGraphBuilderFactory().destroy();
+        }
     }
 
     protected void unsetRealmService(RealmService realmService) {
@@ -526,7 +540,7 @@ public class FrameworkServiceComponent {
 
     protected void unsetSessionSerializer(SessionSerializer sessionSerializer) {
 
-        FrameworkServiceDataHolder.getInstance().setSessionSerializer(new JavaSessionSerializer());
+        FrameworkServiceDataHolder.getInstance().setSessionSerializer(getDefaultSessionSerializer());
 
         if (log.isDebugEnabled()) {
             log.debug("Removed session serializer.");
@@ -534,6 +548,33 @@ public class FrameworkServiceComponent {
 
     }
 
+    /**
+     * Get the session serializer to be used when no serializer is registered as a service. The compact serializer
+     * can read the data written by the Java serializer, but not the other way around.
+     *
+     * @return Default session serializer.
+     */
+    private SessionSerializer getDefaultSessionSerializer() {
+
+        String serializerType = IdentityUtil.getProperty(FrameworkConstants.Config.SESSION_SERIALIZER_TYPE);
+        if (!FrameworkConstants.Config.COMPACT_SESSION_SERIALIZER.equalsIgnoreCase(serializerType)) {
+            return new JavaSessionSerializer();
+        }
+        int compressionThreshold = CompactSessionSerializer.DEFAULT_COMPRESSION_THRESHOLD;
+        String compressionThresholdValue =
+                IdentityUtil.getProperty(FrameworkConstants.Config.SESSION_SERIALIZER_COMPRESSION_THRESHOLD);
+        if (StringUtils.isNotBlank(compressionThresholdValue)) {
+            try {
+                compressionThreshold = Integer.parseInt(compressionThresholdValue.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid session serializer compression threshold: " + compressionThresholdValue +
+                        ". Default value: " + compressionThreshold + " will be used.");
+            }
+        }
+        log.info("Compact session serializer is enabled with compression threshold: " + compressionThreshold);
+        return new CompactSessionSerializer(compressionThreshold);
+    }
+
     protected void unsetAuthenticator(ApplicationAuthenticator authenticator) {
 
         ApplicationAuthenticatorManager.getInstance().removeSystemDefinedAuthenticator(authenticator);
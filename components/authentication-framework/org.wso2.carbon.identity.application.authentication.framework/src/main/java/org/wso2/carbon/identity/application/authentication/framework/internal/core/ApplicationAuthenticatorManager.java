@@ -35,6 +35,7 @@ import org.wso2.carbon.idp.mgt.IdentityProviderManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.LOCAL_IDP_NAME;
 
@@ -45,6 +46,7 @@ public class ApplicationAuthenticatorManager {
 
     private static final ApplicationAuthenticatorManager instance = new ApplicationAuthenticatorManager();
     private final List<ApplicationAuthenticator> systemDefinedAuthenticators = new ArrayList<>();
+    private final AtomicInteger systemDefinedAuthenticatorsVersion = new AtomicInteger();
     private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
     private static final String AUTHENTICATION_ACTION_ENABLED_PROP =
@@ -63,6 +65,7 @@ public class ApplicationAuthenticatorManager {
     public void addSystemDefinedAuthenticator(ApplicationAuthenticator authenticator) {
 
         systemDefinedAuthenticators.add(authenticator);
+        systemDefinedAuthenticatorsVersion.incrementAndGet();
     }
 
     /**
@@ -73,6 +76,7 @@ public class ApplicationAuthenticatorManager {
     public void removeSystemDefinedAuthenticator(ApplicationAuthenticator authenticator) {
 
         systemDefinedAuthenticators.remove(authenticator);
+        systemDefinedAuthenticatorsVersion.incrementAndGet();
     }
 
     /**
@@ -85,6 +89,17 @@ public class ApplicationAuthenticatorManager {
         return systemDefinedAuthenticators;
     }
 
+    /**
+     * Get the version of the system defined authenticators, which changes whenever an authenticator is added or
+     * removed.
+     *
+     * @return Version of the system defined authenticators.
+     */
+    public int getSystemDefinedAuthenticatorsVersion() {
+
+        return systemDefinedAuthenticatorsVersion.get();
+    }
+
     /**
      * Get the ApplicationAuthenticator for the given system defined authenticator configuration name.
      *
@@ -36,6 +36,7 @@ import org.wso2.carbon.identity.application.authentication.framework.internal.Fr
 import org.wso2.carbon.identity.application.authentication.framework.internal.util.SessionEventPublishingUtil;
 import org.wso2.carbon.identity.application.authentication.framework.model.Application;
 import org.wso2.carbon.identity.application.authentication.framework.model.UserSession;
+import org.wso2.carbon.identity.application.authentication.framework.model.UserSessionPage;
 import org.wso2.carbon.identity.application.authentication.framework.services.SessionManagementService;
 import org.wso2.carbon.identity.application.authentication.framework.store.UserSessionStore;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
@@ -67,6 +68,7 @@ import org.wso2.carbon.user.core.util.UserCoreUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -310,7 +312,8 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
     @Override
     public boolean terminateSessionsByUserId(String userId) throws SessionManagementException {
 
-        List<String> sessionIdList = null;
+        List<String> sessionIdList;
+        int batchSize = getSessionBatchSize();
 
         if (StringUtils.isBlank(userId)) {
             throw handleSessionManagementClientException(ERROR_CODE_INVALID_USER, null);
@@ -335,38 +338,42 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
             }
         }
 
-        List<UserSession> sessionList = getSessionsByUserId(userIdToSearch);
-        sessionIdList = sessionList.stream().map(UserSession::getSessionId).collect(Collectors.toList());
-
         boolean isSessionPreservingAtPasswordUpdateEnabled =
                 IdPManagementUtil.getPreserveCurrentSessionAtPasswordUpdate(tenantDomain);
         String currentSessionId = "";
-        boolean isSessionTerminationSkipped = false;
-        if (isSessionPreservingAtPasswordUpdateEnabled) {
-            if (IdentityUtil.threadLocalProperties.get().get(CURRENT_SESSION_IDENTIFIER) != null) {
-                currentSessionId = (String) IdentityUtil.threadLocalProperties.get().get(CURRENT_SESSION_IDENTIFIER);
+        if (isSessionPreservingAtPasswordUpdateEnabled &&
+                IdentityUtil.threadLocalProperties.get().get(CURRENT_SESSION_IDENTIFIER) != null) {
+            currentSessionId = (String) IdentityUtil.threadLocalProperties.get().get(CURRENT_SESSION_IDENTIFIER);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Terminating the active sessions of user: " + userId + " in batches of " + batchSize + ".");
+        }
+
+        // Sessions are terminated page by page, so the session records of a page are removed in a single batch
+        // before the next page is read. All the mapped sessions are paged, as sessions which are only in the cache
+        // are not visible to the session store.
+        String cursor = null;
+        List<String> sessionIdPage;
+        do {
+            sessionIdPage = getSessionIdPage(userIdToSearch, cursor, batchSize);
+            if (sessionIdPage.isEmpty()) {
+                break;
             }
+            cursor = sessionIdPage.get(sessionIdPage.size() - 1);
+            sessionIdList = getEffectiveSessionIdList(sessionIdPage);
             // Remove current sessionId from the list so that its termination is bypassed.
-            if (sessionIdList.remove(currentSessionId)) {
-                isSessionTerminationSkipped = true;
+            if (sessionIdList.remove(currentSessionId) && log.isDebugEnabled()) {
+                log.debug("Skipping the termination of the current session of user: " + userId + ".");
             }
-        }
-
-        if (log.isDebugEnabled()) {
-            if (isSessionTerminationSkipped) {
-                log.debug("Terminating the active sessions of user: " + userId + "except the current session.");
-            } else {
-                log.debug("Terminating all the active sessions of user: " + userId + ".");
+            terminateSessionsOfUser(sessionIdList);
+            // Publish session termination event after session cleanup from session store,
+            // but before the session metadata is removed.
+            // Session publishing event may use session related metadata.
+            SessionEventPublishingUtil.publishSessionTerminationEvent(userId, sessionIdList);
+            if (!sessionIdList.isEmpty()) {
+                UserSessionStore.getInstance().removeTerminatedSessionRecords(sessionIdList);
             }
-        }
-        terminateSessionsOfUser(sessionIdList);
-        // Publish session termination event after session cleanup from session store,
-        // but before the session metadata is removed.
-        // Session publishing event may use session related metadata.
-        SessionEventPublishingUtil.publishSessionTerminationEvent(userId, sessionIdList);
-        if (!sessionIdList.isEmpty()) {
-            UserSessionStore.getInstance().removeTerminatedSessionRecords(sessionIdList);
-        }
+        } while (sessionIdPage.size() == batchSize);
         return true;
     }
 
@@ -486,6 +493,28 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
                 Integer.toString(idpId), null);
     }
 
+    @Override
+    public UserSessionPage getSessionPageByUserId(String userId, String tenantDomain, String cursor, int limit)
+            throws SessionManagementException {
+
+        if (StringUtils.isBlank(userId)) {
+            throw handleSessionManagementClientException(ERROR_CODE_INVALID_USER, null);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving a page of the active sessions of user: " + userId + " in tenant: " +
+                    tenantDomain + ".");
+        }
+        int pageSize = limit > 0 ? limit : getSessionBatchSize();
+        List<String> sessionIdPage = getActiveSessionIdPage(userId, cursor, pageSize);
+        UserSessionDAO userSessionDAO = new UserSessionDAOImpl();
+        List<UserSession> userSessions = userSessionDAO.getSessions(sessionIdPage);
+        for (UserSession userSession : userSessions) {
+            userSession.setUserId(userId);
+        }
+        String nextCursor = sessionIdPage.size() < pageSize ? null : sessionIdPage.get(sessionIdPage.size() - 1);
+        return new UserSessionPage(userSessions, nextCursor);
+    }
+
     @Override
     public List<UserSession> getSessions(String tenantDomain, List<ExpressionNode> filter, Integer limit,
                                          String sortOrder) throws SessionManagementException {
@@ -609,6 +638,97 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
         }
     }
 
+    /**
+     * Returns a page of the session ids mapped to a given user id.
+     *
+     * @param userId user id for which the sessions should be retrieved.
+     * @param cursor last session id of the previous page, or null to get the first page.
+     * @param limit  maximum number of session ids in the page.
+     * @return the list of session ids ordered by the session id.
+     * @throws SessionManagementServerException if session Ids can not be retrieved from the database.
+     */
+    private List<String> getSessionIdPage(String userId, String cursor, int limit)
+            throws SessionManagementServerException {
+
+        try {
+            return UserSessionStore.getInstance().getSessionIds(userId, cursor, limit);
+        } catch (UserSessionException e) {
+            throw handleSessionManagementServerException(ERROR_CODE_UNABLE_TO_GET_SESSIONS, userId, e);
+        }
+    }
+
+    /**
+     * Returns a page of the active session ids of a given user id.
+     *
+     * @param userId user id for which the sessions should be retrieved.
+     * @param cursor last session id of the previous page, or null to get the first page.
+     * @param limit  maximum number of session ids in the page.
+     * @return the list of session ids ordered by the session id.
+     * @throws SessionManagementServerException if session Ids can not be retrieved from the database.
+     */
+    private List<String> getActiveSessionIdPage(String userId, String cursor, int limit)
+            throws SessionManagementServerException {
+
+        try {
+            return UserSessionStore.getInstance().getActiveSessionIds(userId, cursor, limit);
+        } catch (UserSessionException e) {
+            throw handleSessionManagementServerException(ERROR_CODE_UNABLE_TO_GET_SESSIONS, userId, e);
+        }
+    }
+
+    /**
+     * Returns the ids of the effective sessions from the given list of session IDs. The session context is looked
+     * up from the cache before the session store, and the session information of the live sessions is retrieved
+     * at once.
+     *
+     * @param sessionIdList list of sessionIds.
+     * @return list of effective session ids.
+     * @throws SessionManagementServerException if an error occurs when retrieving the UserSessions.
+     */
+    private List<String> getEffectiveSessionIdList(List<String> sessionIdList)
+            throws SessionManagementServerException {
+
+        Map<String, SessionContext> sessionContexts = new LinkedHashMap<>();
+        String loginTenantDomain = FrameworkUtils.getLoginTenantDomainFromContext();
+        for (String sessionId : sessionIdList) {
+            SessionContext sessionContext = FrameworkUtils.getSessionContextFromCache(sessionId, loginTenantDomain);
+            if (sessionContext != null) {
+                sessionContexts.put(sessionId, sessionContext);
+            }
+        }
+
+        List<String> effectiveSessionIdList = new ArrayList<>();
+        if (sessionContexts.isEmpty()) {
+            return effectiveSessionIdList;
+        }
+        UserSessionDAO userSessionDAO = new UserSessionDAOImpl();
+        for (UserSession userSession : userSessionDAO.getSessions(new ArrayList<>(sessionContexts.keySet()))) {
+            if (isEffectiveSession(sessionContexts.get(userSession.getSessionId()), userSession)) {
+                effectiveSessionIdList.add(userSession.getSessionId());
+            }
+        }
+        return effectiveSessionIdList;
+    }
+
+    private int getSessionBatchSize() {
+
+        String batchSize = IdentityUtil.getProperty(FrameworkConstants.Config.USER_SESSION_BATCH_SIZE);
+        if (StringUtils.isNotBlank(batchSize)) {
+            try {
+                int value = Integer.parseInt(batchSize.trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value.
+            }
+            log.warn("Invalid value: " + batchSize + " configured for: " +
+                    FrameworkConstants.Config.USER_SESSION_BATCH_SIZE + ". Using the default value: " +
+                    FrameworkConstants.Config.DEFAULT_USER_SESSION_BATCH_SIZE);
+        }
+        return FrameworkConstants.Config.DEFAULT_USER_SESSION_BATCH_SIZE;
+    }
+
     /**
      * Returns the session id list for a given user.
      *
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.listener;
+
+import org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl.ClaimFetchPlanner;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
+
+/**
+ * Application management listener which removes the claim fetch plan of an application when the application is
+ * updated or deleted.
+ */
+public class ClaimFetchPlanApplicationMgtListener extends AbstractApplicationMgtListener {
+
+    @Override
+    public boolean doPostUpdateApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        if (isEnable()) {
+            ClaimFetchPlanner.getInstance().invalidate(tenantDomain, serviceProvider.getApplicationResourceId());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        if (isEnable()) {
+            ClaimFetchPlanner.getInstance().invalidate(tenantDomain, serviceProvider.getApplicationResourceId());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteApplication(String applicationName, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        // The resource id of the application is not available here. Hence the entries of the tenant are removed.
+        if (isEnable()) {
+            ClaimFetchPlanner.getInstance().invalidateTenant(tenantDomain);
+        }
+        return true;
+    }
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 216;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.application.authentication.framework.model;
+
+import java.util.List;
+
+/**
+ * Represents a page of user sessions. The next page starts after the cursor of this page.
+ */
+public class UserSessionPage {
+
+    private final List<UserSession> sessions;
+    private final String nextCursor;
+
+    public UserSessionPage(List<UserSession> sessions, String nextCursor) {
+
+        this.sessions = sessions;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the sessions of the page.
+     *
+     * @return List of user sessions ordered by the session id.
+     */
+    public List<UserSession> getSessions() {
+
+        return sessions;
+    }
+
+    /**
+     * Get the cursor to retrieve the next page.
+     *
+     * @return Cursor of the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+
+        return nextCursor;
+    }
+}
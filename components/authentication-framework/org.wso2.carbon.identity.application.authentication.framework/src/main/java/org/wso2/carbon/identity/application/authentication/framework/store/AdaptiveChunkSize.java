@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chunk size of the expired session data removal which follows the observed delete latency. A full chunk which was
+ * deleted well within the target latency grows the chunk size by half, while a chunk which took longer than the
+ * target shrinks it in proportion to the overshoot. The chunk size is shared by all the cleanup workers of a table.
+ */
+final class AdaptiveChunkSize {
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long targetLatencyNanos;
+    private final AtomicInteger chunkSize;
+
+    AdaptiveChunkSize(int initialChunkSize, int minChunkSize, int maxChunkSize, long targetLatencyMillis) {
+
+        this.minChunkSize = Math.max(1, minChunkSize);
+        this.maxChunkSize = Math.max(this.minChunkSize, maxChunkSize);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, targetLatencyMillis));
+        this.chunkSize = new AtomicInteger(clamp(initialChunkSize));
+    }
+
+    int get() {
+
+        return chunkSize.get();
+    }
+
+    /**
+     * Adjust the chunk size after a chunk deletion.
+     *
+     * @param requestedRows Chunk size used for the deletion.
+     * @param deletedRows   Number of rows deleted.
+     * @param latencyNanos  Time taken to delete and commit the chunk.
+     * @return Chunk size for the next deletion.
+     */
+    int record(int requestedRows, int deletedRows, long latencyNanos) {
+
+        if (latencyNanos > targetLatencyNanos) {
+            long shrunk = requestedRows * targetLatencyNanos / latencyNanos;
+            return chunkSize.updateAndGet(current -> clamp(Math.min(current, shrunk)));
+        }
+        // A partial chunk says nothing about how a larger chunk would perform.
+        if (deletedRows >= requestedRows && latencyNanos < targetLatencyNanos / 2) {
+            // Grow from the current size, as another worker may have shrunk it meanwhile.
+            return chunkSize.updateAndGet(current -> requestedRows >= current ?
+                    clamp((long) current + Math.max(1, current / 2)) : current);
+        }
+        return chunkSize.get();
+    }
+
+    private int clamp(long value) {
+
+        return (int) Math.max(minChunkSize, Math.min(maxChunkSize, value));
+    }
+}
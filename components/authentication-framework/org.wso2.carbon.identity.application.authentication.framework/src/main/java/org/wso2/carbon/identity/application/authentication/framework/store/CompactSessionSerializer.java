@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Session serializer which writes a compact, versioned binary format.
+ * <p>
+ * The payload keeps the field level semantics of Java serialization, but the class descriptors, which make up most
+ * of a serialized session, are written in a shorter form. The class name of the framework's session model classes
+ * ({@code SessionContext}, {@code AuthenticatedUser}, {@code SequenceConfig}, {@code StepConfig},
+ * {@code AuthHistory} etc.) is replaced by a registered type id, and other classes keep their class name. As in Java
+ * serialization, a descriptor is written in full, with its serialVersionUID, flags and serializable fields, the first
+ * time a class is used in a payload and referred to by a handle afterwards. Hence a payload written by a different
+ * but compatible version of a class is read the same way Java serialization reads it, while a payload written by an
+ * incompatible class version fails to de serialize. Payloads larger than the compression threshold are deflated.
+ * <p>
+ * Every payload starts with a format header. Payloads without the header are read as plain Java serialization, so
+ * rows written by {@link JavaSessionSerializer} can still be read after switching to this serializer.
+ */
+public class CompactSessionSerializer implements SessionSerializer {
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 8192;
+
+    private static final byte MAGIC_0 = (byte) 0xC5;
+    private static final byte MAGIC_1 = (byte) 0x53;
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte FLAG_COMPRESSED = 0x01;
+    private static final int HEADER_LENGTH = 4;
+
+    private static final int DESCRIPTOR_FULL = 0;
+    private static final int DESCRIPTOR_REGISTERED = 1;
+    private static final int DESCRIPTOR_NAMED = 2;
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Registered session model types. The position of a class name is its type id, so new types must only be
+     * appended to the end of this list.
+     */
+    private static final List<String> REGISTERED_TYPES = Collections.unmodifiableList(Arrays.asList(
+            "org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry",
+            "org.wso2.carbon.identity.application.authentication.framework.context.SessionContext",
+            "org.wso2.carbon.identity.application.authentication.framework.context.OptimizedSessionContext",
+            "org.wso2.carbon.identity.application.authentication.framework.context.SessionAuthHistory",
+            "org.wso2.carbon.identity.application.authentication.framework.context.AuthHistory",
+            "org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser",
+            "org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData",
+            "org.wso2.carbon.identity.application.authentication.framework.model.OptimizedAuthenticatedIdPData",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedSequenceConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedStepConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedAuthenticatorConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedApplicationConfig",
+            "org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCacheEntry",
+            "org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext",
+            "org.wso2.carbon.identity.application.common.model.User",
+            "org.wso2.carbon.identity.application.common.model.ClaimMapping",
+            "org.wso2.carbon.identity.application.common.model.Claim",
+            "org.wso2.carbon.identity.core.cache.CacheEntry",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "java.util.concurrent.ConcurrentHashMap",
+            "java.util.ArrayList",
+            "java.util.HashSet",
+            "java.util.LinkedHashSet",
+            "java.lang.Number",
+            "java.lang.Long",
+            "java.lang.Integer",
+            "java.lang.Boolean",
+            "java.lang.Enum"
+    ));
+    private static final Map<String, Integer> REGISTERED_TYPE_IDS = new HashMap<>();
+    private static final ClassValue<Byte> CLASS_FLAGS = new ClassValue<Byte>() {
+
+        @Override
+        protected Byte computeValue(Class<?> clazz) {
+
+            return getClassFlags(clazz);
+        }
+    };
+
+    static {
+        for (int i = 0; i < REGISTERED_TYPES.size(); i++) {
+            REGISTERED_TYPE_IDS.put(REGISTERED_TYPES.get(i), i);
+        }
+    }
+
+    private static final ThreadLocal<ReusableByteArrayOutputStream> OUTPUT_BUFFER =
+            ThreadLocal.withInitial(ReusableByteArrayOutputStream::new);
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(
+            () -> new Deflater(Deflater.BEST_SPEED));
+
+    private final int compressionThreshold;
+
+    public CompactSessionSerializer() {
+
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * Create a serializer with the given compression threshold.
+     *
+     * @param compressionThreshold Payloads larger than this number of bytes are compressed. A negative value
+     *                             disables compression.
+     */
+    public CompactSessionSerializer(int compressionThreshold) {
+
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public InputStream serializeSessionObject(Object value) throws SessionSerializerException {
+
+        ReusableByteArrayOutputStream buffer = OUTPUT_BUFFER.get();
+        buffer.reset();
+        try {
+            buffer.write(new byte[]{MAGIC_0, MAGIC_1, FORMAT_VERSION, 0});
+            try (ObjectOutputStream oos = new CompactObjectOutputStream(buffer)) {
+                oos.writeObject(value);
+            }
+            byte[] payload;
+            int payloadLength = buffer.size() - HEADER_LENGTH;
+            if (compressionThreshold >= 0 && payloadLength > compressionThreshold) {
+                payload = compress(buffer.buffer(), payloadLength);
+            } else {
+                payload = buffer.toByteArray();
+            }
+            return new ByteArrayInputStream(payload);
+        } catch (IOException e) {
+            throw new SessionSerializerException("Error while serializing the session object", e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Override
+    public Object deSerializeSessionObject(InputStream inputStream) throws SessionSerializerException {
+
+        try {
+            PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 2);
+            byte[] magic = new byte[2];
+            int read = readFully(pushbackInputStream, magic);
+            if (read < 2 || magic[0] != MAGIC_0 || magic[1] != MAGIC_1) {
+                // Payload written with plain Java serialization.
+                pushbackInputStream.unread(magic, 0, read);
+                try (ObjectInputStream ois = new ObjectInputStream(pushbackInputStream)) {
+                    return ois.readObject();
+                }
+            }
+            int version = pushbackInputStream.read();
+            int flags = pushbackInputStream.read();
+            if (version != FORMAT_VERSION || flags < 0) {
+                throw new StreamCorruptedException("Unsupported session serialization format version: " + version);
+            }
+            InputStream payload = pushbackInputStream;
+            if ((flags & FLAG_COMPRESSED) != 0) {
+                payload = new ByteArrayInputStream(decompress(pushbackInputStream));
+            }
+            try (ObjectInputStream ois = new CompactObjectInputStream(payload)) {
+                return ois.readObject();
+            }
+        } catch (IOException | ClassNotFoundException | DataFormatException e) {
+            throw new SessionSerializerException("Error while de serializing the session object", e);
+        }
+    }
+
+    private byte[] compress(byte[] buffer, int payloadLength) throws IOException {
+
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(buffer, HEADER_LENGTH, payloadLength);
+        deflater.finish();
+
+        // Header, the uncompressed length and the compressed payload.
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(HEADER_LENGTH + 4 + payloadLength / 2);
+        compressed.write(new byte[]{MAGIC_0, MAGIC_1, FORMAT_VERSION, FLAG_COMPRESSED});
+        compressed.write(payloadLength >>> 24);
+        compressed.write(payloadLength >>> 16);
+        compressed.write(payloadLength >>> 8);
+        compressed.write(payloadLength);
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            compressed.write(chunk, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+
+    private byte[] decompress(InputStream inputStream) throws IOException, DataFormatException {
+
+        byte[] lengthBytes = new byte[4];
+        if (readFully(inputStream, lengthBytes) != 4) {
+            throw new StreamCorruptedException("Truncated compressed session payload");
+        }
+        int length = ((lengthBytes[0] & 0xFF) << 24) | ((lengthBytes[1] & 0xFF) << 16) |
+                ((lengthBytes[2] & 0xFF) << 8) | (lengthBytes[3] & 0xFF);
+        if (length < 0) {
+            throw new StreamCorruptedException("Invalid compressed session payload length: " + length);
+        }
+
+        byte[] result = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            byte[] chunk = new byte[4096];
+            int offset = 0;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    int read = inputStream.read(chunk);
+                    if (read < 0) {
+                        throw new StreamCorruptedException("Truncated compressed session payload");
+                    }
+                    inflater.setInput(chunk, 0, read);
+                }
+                int inflated = inflater.inflate(result, offset, length - offset);
+                offset += inflated;
+                if (inflated == 0 && offset == length && !inflater.finished() && !inflater.needsInput()) {
+                    throw new StreamCorruptedException("Compressed session payload exceeds its declared length");
+                }
+            }
+            return result;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Get the class descriptor flags which Java serialization writes for a class.
+     *
+     * @param clazz Class.
+     * @return Class descriptor flags.
+     */
+    private static byte getClassFlags(Class<?> clazz) {
+
+        int flags = 0;
+        if (Externalizable.class.isAssignableFrom(clazz)) {
+            flags |= ObjectStreamConstants.SC_EXTERNALIZABLE | ObjectStreamConstants.SC_BLOCK_DATA;
+        } else if (Serializable.class.isAssignableFrom(clazz)) {
+            flags |= ObjectStreamConstants.SC_SERIALIZABLE;
+            if (hasWriteObjectMethod(clazz)) {
+                flags |= ObjectStreamConstants.SC_WRITE_METHOD;
+            }
+        }
+        if (Enum.class.isAssignableFrom(clazz)) {
+            flags |= ObjectStreamConstants.SC_ENUM;
+        }
+        return (byte) flags;
+    }
+
+    private static boolean hasWriteObjectMethod(Class<?> clazz) {
+
+        try {
+            Method method = clazz.getDeclaredMethod("writeObject", ObjectOutputStream.class);
+            int modifiers = method.getModifiers();
+            return method.getReturnType() == Void.TYPE && Modifier.isPrivate(modifiers) &&
+                    !Modifier.isStatic(modifiers);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static int readFully(InputStream inputStream, byte[] bytes) throws IOException {
+
+        int offset = 0;
+        while (offset < bytes.length) {
+            int read = inputStream.read(bytes, offset, bytes.length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+
+    /**
+     * Object output stream which writes registered type ids instead of the class names of the class descriptors.
+     * The stream calls {@link #writeClassDescriptor(ObjectStreamClass)} only for the first use of a class, and
+     * writes a handle to the descriptor for the later uses.
+     */
+    private static final class CompactObjectOutputStream extends ObjectOutputStream {
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() {
+
+            // The stream header is replaced by the format header of the serializer.
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+
+            Class<?> clazz = desc.forClass();
+            if (clazz == null || clazz.isPrimitive() || clazz.isArray()) {
+                write(DESCRIPTOR_FULL);
+                super.writeClassDescriptor(desc);
+                return;
+            }
+            Integer typeId = REGISTERED_TYPE_IDS.get(desc.getName());
+            if (typeId != null) {
+                write(DESCRIPTOR_REGISTERED);
+                writeShort(typeId);
+            } else {
+                write(DESCRIPTOR_NAMED);
+                writeUTF(desc.getName());
+            }
+            writeLong(desc.getSerialVersionUID());
+            writeByte(CLASS_FLAGS.get(clazz));
+            ObjectStreamField[] fields = desc.getFields();
+            writeShort(fields.length);
+            for (ObjectStreamField field : fields) {
+                writeByte(field.getTypeCode());
+                writeUTF(field.getName());
+                if (!field.isPrimitive()) {
+                    writeUTF(field.getTypeString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Object input stream which reads the class descriptors written by {@link CompactObjectOutputStream}.
+     */
+    private static final class CompactObjectInputStream extends ObjectInputStream {
+
+        CompactObjectInputStream(InputStream in) throws IOException {
+
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() {
+
+            // The stream header is replaced by the format header of the serializer.
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+
+            int type = read();
+            String className;
+            switch (type) {
+                case DESCRIPTOR_FULL:
+                    return super.readClassDescriptor();
+                case DESCRIPTOR_REGISTERED:
+                    int typeId = readUnsignedShort();
+                    if (typeId >= REGISTERED_TYPES.size()) {
+                        throw new StreamCorruptedException("Unknown registered session type id: " + typeId);
+                    }
+                    className = REGISTERED_TYPES.get(typeId);
+                    break;
+                case DESCRIPTOR_NAMED:
+                    className = readUTF();
+                    break;
+                default:
+                    throw new StreamCorruptedException("Unknown class descriptor type: " + type);
+            }
+            long serialVersionUID = readLong();
+            byte flags = readByte();
+            FieldDescriptor[] fields = new FieldDescriptor[readUnsignedShort()];
+            for (int i = 0; i < fields.length; i++) {
+                char typeCode = (char) readUnsignedByte();
+                String name = readUTF();
+                String typeString = typeCode == 'L' || typeCode == '[' ? readUTF() : null;
+                fields[i] = new FieldDescriptor(typeCode, name, typeString);
+            }
+
+            Class<?> clazz = Class.forName(className, false, CompactSessionSerializer.class.getClassLoader());
+            ObjectStreamClass desc = ObjectStreamClass.lookupAny(clazz);
+            if (desc.getSerialVersionUID() != serialVersionUID) {
+                throw new InvalidClassException(className, "Incompatible serialVersionUID. Stream: " +
+                        serialVersionUID + ", local: " + desc.getSerialVersionUID());
+            }
+            if (flags == CLASS_FLAGS.get(clazz) && matches(desc.getFields(), fields)) {
+                return desc;
+            }
+            // The payload was written by a different version of the class. Let Java serialization build the
+            // descriptor, so that the fields are matched by name as they are for a Java serialized payload.
+            return readStreamDescriptor(clazz, serialVersionUID, flags, fields);
+        }
+
+        private static boolean matches(ObjectStreamField[] localFields, FieldDescriptor[] streamFields) {
+
+            if (localFields.length != streamFields.length) {
+                return false;
+            }
+            for (int i = 0; i < localFields.length; i++) {
+                if (localFields[i].getTypeCode() != streamFields[i].typeCode ||
+                        !localFields[i].getName().equals(streamFields[i].name) ||
+                        !Objects.equals(localFields[i].getTypeString(), streamFields[i].typeString)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static ObjectStreamClass readStreamDescriptor(Class<?> clazz, long serialVersionUID, byte flags,
+                                                              FieldDescriptor[] fields)
+                throws IOException, ClassNotFoundException {
+
+            ByteArrayOutputStream descriptor = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(descriptor)) {
+                out.writeShort(STREAM_MAGIC);
+                out.writeShort(STREAM_VERSION);
+                out.writeByte(TC_CLASSDESC);
+                out.writeUTF(clazz.getName());
+                out.writeLong(serialVersionUID);
+                out.writeByte(flags);
+                out.writeShort(fields.length);
+                for (FieldDescriptor field : fields) {
+                    out.writeByte(field.typeCode);
+                    out.writeUTF(field.name);
+                    if (field.typeString != null) {
+                        out.writeByte(TC_STRING);
+                        out.writeUTF(field.typeString);
+                    }
+                }
+                // No class annotation, and the super class descriptor follows in the session payload.
+                out.writeByte(TC_ENDBLOCKDATA);
+                out.writeByte(TC_NULL);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(descriptor.toByteArray())) {
+
+                @Override
+                protected Class<?> resolveClass(ObjectStreamClass desc) {
+
+                    return clazz;
+                }
+            }) {
+                return (ObjectStreamClass) in.readObject();
+            }
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+
+            Class<?> clazz = desc.forClass();
+            if (clazz != null) {
+                return clazz;
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    /**
+     * Serializable field of a class descriptor read from a payload.
+     */
+    private static final class FieldDescriptor {
+
+        private final char typeCode;
+        private final String name;
+        private final String typeString;
+
+        FieldDescriptor(char typeCode, String name, String typeString) {
+
+            this.typeCode = typeCode;
+            this.name = name;
+            this.typeString = typeString;
+        }
+    }
+
+    /**
+     * Byte array output stream whose buffer is reused by the serializations of a thread.
+     */
+    private static final class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ReusableByteArrayOutputStream() {
+
+            super(1024);
+        }
+
+        byte[] buffer() {
+
+            return buf;
+        }
+
+        void release() {
+
+            reset();
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[1024];
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes the expired data of a session store table with a bounded number of parallel workers.
+ * The expired range of each run is split into expiry time partitions, starting from the high-water mark of the
+ * previous runs, and every partition is deleted in chunks of an {@link AdaptiveChunkSize}. The high-water mark is
+ * moved up to the last partition of the leading run of completed partitions, so a run which was stopped by the run
+ * time limit or a database error is resumed from there by the next run. The partitions are deleted on a pool of
+ * named daemon threads which is created with the cleaner and shut down with the session data store.
+ */
+final class PartitionedExpiredDataCleaner {
+
+    private static final Log log = LogFactory.getLog(PartitionedExpiredDataCleaner.class);
+
+    private static final String SQL_SELECT_EXPIRED_DATA_STATS =
+            "SELECT COUNT(*), MIN(EXPIRY_TIME) FROM %s WHERE EXPIRY_TIME < ?";
+
+    private final String tableName;
+    private final String deleteQueryTemplate;
+    private final int partitions;
+    private final int workers;
+    private final long maxRunTimeNanos;
+    private final AdaptiveChunkSize chunkSize;
+    private final SessionCleanUpMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private volatile long highWaterMark;
+
+    /**
+     * @param tableName           Name of the session store table.
+     * @param deleteQueryTemplate Chunked delete query with a lower and an upper expiry time parameter and a
+     *                            {@code %d} placeholder for the chunk size.
+     * @param partitions          Number of expiry time partitions of a run.
+     * @param workers             Maximum number of partitions deleted in parallel.
+     * @param maxRunTimeMillis    Time after which a run stops taking new chunks, or 0 for no limit.
+     * @param chunkSize           Chunk size of the deletions.
+     */
+    PartitionedExpiredDataCleaner(String tableName, String deleteQueryTemplate, int partitions, int workers,
+                                  long maxRunTimeMillis, AdaptiveChunkSize chunkSize) {
+
+        this.tableName = tableName;
+        this.deleteQueryTemplate = deleteQueryTemplate;
+        this.partitions = Math.max(1, partitions);
+        this.workers = Math.max(1, workers);
+        this.maxRunTimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxRunTimeMillis));
+        this.chunkSize = chunkSize;
+        this.metrics = new SessionCleanUpMetrics(tableName, chunkSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Idle workers are released between the runs.
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ExpiredDataCleaner-" + tableName + "-" +
+                    threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    SessionCleanUpMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    long getHighWaterMark() {
+
+        return highWaterMark;
+    }
+
+    /**
+     * Stop the workers of the cleaner. The partitions being deleted are stopped before their next chunk and the
+     * partitions waiting for a worker are cancelled.
+     */
+    void shutdown() {
+
+        for (Runnable partition : executor.shutdownNow()) {
+            if (partition instanceof Future) {
+                ((Future<?>) partition).cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Remove the rows of the table which expired before the given time.
+     *
+     * @param currentTime Current time in standard nano seconds.
+     */
+    void removeExpiredData(long currentTime) {
+
+        long startTime = System.nanoTime();
+        long[] expiredDataStats = getExpiredDataStats(currentTime);
+        if (expiredDataStats == null) {
+            return;
+        }
+        metrics.recordRunStart(expiredDataStats[0]);
+        if (expiredDataStats[0] == 0) {
+            highWaterMark = currentTime;
+            metrics.recordRunEnd(0, System.nanoTime() - startTime, highWaterMark);
+            return;
+        }
+
+        // Rows below the high-water mark are covered by the first partition, which has no lower bound.
+        long rangeStart = highWaterMark > 0 ? highWaterMark : expiredDataStats[1];
+        long[] upperBounds = planPartitions(rangeStart, currentTime, partitions);
+        AtomicLong removedRows = new AtomicLong();
+        List<Future<Boolean>> results = new ArrayList<>(upperBounds.length);
+        try {
+            for (int i = 0; i < upperBounds.length; i++) {
+                long lowerBound = i == 0 ? 0 : upperBounds[i - 1];
+                long upperBound = upperBounds[i];
+                results.add(executor.submit(() -> removePartition(lowerBound, upperBound, startTime, removedRows)));
+            }
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Expired data cleanup of table: " + tableName + " is skipped as the cleaner is stopped.");
+            }
+            results.forEach(result -> result.cancel(true));
+            return;
+        }
+
+        long newHighWaterMark = highWaterMark;
+        boolean leadingPartitionsCompleted = true;
+        for (int i = 0; i < results.size(); i++) {
+            boolean completed = false;
+            try {
+                completed = results.get(i).get();
+            } catch (CancellationException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Removing expired data of the partition: " + i + " of table: " + tableName +
+                            " is cancelled as the cleaner is stopped.");
+                }
+            } catch (InterruptedException e) {
+                results.forEach(result -> result.cancel(true));
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Error while removing expired data of the partition: " + i + " of table: " + tableName,
+                        e.getCause());
+            }
+            leadingPartitionsCompleted = leadingPartitionsCompleted && completed;
+            if (leadingPartitionsCompleted) {
+                newHighWaterMark = upperBounds[i];
+            }
+        }
+        highWaterMark = newHighWaterMark;
+        metrics.recordRunEnd(removedRows.get(), System.nanoTime() - startTime, highWaterMark);
+        if (log.isDebugEnabled()) {
+            log.debug("Expired data cleanup of table: " + tableName + " completed. " + metrics);
+        }
+    }
+
+    /**
+     * Split the expiry time range into partitions of equal width.
+     *
+     * @param rangeStart Start of the range.
+     * @param rangeEnd   End of the range, exclusive.
+     * @param partitions Maximum number of partitions.
+     * @return Exclusive upper bound of each partition, in ascending order. The last one is the end of the range.
+     */
+    static long[] planPartitions(long rangeStart, long rangeEnd, int partitions) {
+
+        long span = rangeEnd - rangeStart;
+        if (partitions <= 1 || span < partitions) {
+            return new long[]{rangeEnd};
+        }
+        long width = span / partitions;
+        long[] upperBounds = new long[partitions];
+        for (int i = 0; i < partitions - 1; i++) {
+            upperBounds[i] = rangeStart + width * (i + 1);
+        }
+        upperBounds[partitions - 1] = rangeEnd;
+        return upperBounds;
+    }
+
+    /**
+     * Delete the expired rows of a partition in chunks.
+     *
+     * @return Whether all the rows of the partition were deleted.
+     */
+    private boolean removePartition(long lowerBound, long upperBound, long runStartTime, AtomicLong removedRows) {
+
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
+            while (true) {
+                if (Thread.currentThread().isInterrupted() ||
+                        (maxRunTimeNanos > 0 && System.nanoTime() - runStartTime >= maxRunTimeNanos)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Stopped removing expired data of table: " + tableName + " between: " +
+                                lowerBound + " and: " + upperBound + " as the run time limit is reached.");
+                    }
+                    return false;
+                }
+                int requestedRows = chunkSize.get();
+                long chunkStartTime = System.nanoTime();
+                int deletedRows;
+                try (PreparedStatement statement = connection.prepareStatement(
+                        String.format(deleteQueryTemplate, requestedRows))) {
+                    statement.setLong(1, lowerBound);
+                    statement.setLong(2, upperBound);
+                    deletedRows = statement.executeUpdate();
+                    // Commit the chunk deletion.
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                }
+                long latency = System.nanoTime() - chunkStartTime;
+                chunkSize.record(requestedRows, deletedRows, latency);
+                metrics.recordChunk(deletedRows, latency);
+                removedRows.addAndGet(deletedRows);
+                if (deletedRows < requestedRows) {
+                    return true;
+                }
+            }
+        } catch (SQLException | IdentityRuntimeException e) {
+            metrics.recordFailedPartition();
+            log.error("Error while removing expired data of table: " + tableName + " between: " + lowerBound +
+                    " and: " + upperBound, e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of expired rows and the lowest expiry time among them.
+     *
+     * @return Expired row count and lowest expiry time, or null if they could not be retrieved.
+     */
+    private long[] getExpiredDataStats(long currentTime) {
+
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false);
+             PreparedStatement statement = connection.prepareStatement(
+                     String.format(SQL_SELECT_EXPIRED_DATA_STATS, tableName))) {
+            statement.setLong(1, currentTime);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    long count = resultSet.getLong(1);
+                    long minExpiryTime = resultSet.getLong(2);
+                    if (!resultSet.wasNull()) {
+                        return new long[]{count, minExpiryTime};
+                    }
+                }
+                return new long[]{0, currentTime};
+            }
+        } catch (SQLException | IdentityRuntimeException e) {
+            log.error("Error while retrieving the expired data count of table: " + tableName, e);
+            return null;
+        }
+    }
+}
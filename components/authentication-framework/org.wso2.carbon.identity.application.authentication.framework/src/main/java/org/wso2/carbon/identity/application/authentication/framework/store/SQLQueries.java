@@ -18,6 +18,7 @@
 package org.wso2.carbon.identity.application.authentication.framework.store;
 
 import static org.wso2.carbon.identity.application.authentication.framework.dao.impl.UserSessionDAOImpl.SCOPE_LIST_PLACEHOLDER;
+import static org.wso2.carbon.identity.application.authentication.framework.dao.impl.UserSessionDAOImpl.SESSION_ID_LIST_PLACEHOLDER;
 
 /**
  * This class holds the SQL queries used by {@link UserSessionStore}.
@@ -63,6 +64,34 @@ public class SQLQueries {
     public static final String SQL_SELECT_SESSION_ID_OF_USER_ID =
             "SELECT SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING WHERE USER_ID = ?";
 
+    /**
+     * Queries to retrieve a page of the session IDs mapped to a user, ordered by the session ID.
+     */
+    public static final String SQL_SELECT_SESSION_IDS_OF_USER_ID_ORDERED =
+            "SELECT SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING WHERE USER_ID = ? ORDER BY SESSION_ID";
+
+    public static final String SQL_SELECT_SESSION_IDS_OF_USER_ID_AFTER_SESSION_ID =
+            "SELECT SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING WHERE USER_ID = ? AND SESSION_ID > ? " +
+                    "ORDER BY SESSION_ID";
+
+    /**
+     * Queries to retrieve a page of the active session IDs of a user, ordered by the session ID. The session is
+     * active if its latest session store entry is a non expired STORE operation. Sessions which are not persisted
+     * yet are not listed, hence these must only be used for read only listings.
+     */
+    private static final String SQL_ACTIVE_SESSION_CONDITION = "EXISTS (SELECT 1 FROM IDN_AUTH_SESSION_STORE ss " +
+            "WHERE ss.SESSION_ID = sm.SESSION_ID AND ss.SESSION_TYPE = '" + SESSION_CONTEXT_CACHE_NAME + "' AND " +
+            "ss.OPERATION = 'STORE' AND ss.EXPIRY_TIME > ? AND ss.TIME_CREATED = (SELECT MAX(TIME_CREATED) FROM " +
+            "IDN_AUTH_SESSION_STORE WHERE SESSION_ID = sm.SESSION_ID AND SESSION_TYPE = ss.SESSION_TYPE))";
+
+    public static final String SQL_SELECT_ACTIVE_SESSION_IDS_OF_USER_ID =
+            "SELECT sm.SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING sm WHERE sm.USER_ID = ? AND " +
+                    SQL_ACTIVE_SESSION_CONDITION + " ORDER BY sm.SESSION_ID";
+
+    public static final String SQL_SELECT_ACTIVE_SESSION_IDS_OF_USER_ID_AFTER_SESSION_ID =
+            "SELECT sm.SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING sm WHERE sm.USER_ID = ? AND " +
+                    "sm.SESSION_ID > ? AND " + SQL_ACTIVE_SESSION_CONDITION + " ORDER BY sm.SESSION_ID";
+
     public static final String SQL_SELECT_TERMINATED_SESSION_IDS =
             "SELECT SESSION_ID FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = '" + SESSION_CONTEXT_CACHE_NAME
                     + "' AND EXPIRY_TIME < ?";
@@ -159,6 +188,14 @@ public class SQLQueries {
     public static final String SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_H2 = "SELECT PROPERTY_TYPE, `VALUE` FROM " +
             "IDN_AUTH_SESSION_META_DATA WHERE SESSION_ID = ?";
 
+    public static final String SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_FOR_SESSION_IDS = "SELECT SESSION_ID, " +
+            "PROPERTY_TYPE, VALUE FROM IDN_AUTH_SESSION_META_DATA WHERE SESSION_ID IN (" + SESSION_ID_LIST_PLACEHOLDER +
+            ")";
+
+    public static final String SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_FOR_SESSION_IDS_H2 = "SELECT SESSION_ID, " +
+            "PROPERTY_TYPE, `VALUE` FROM IDN_AUTH_SESSION_META_DATA WHERE SESSION_ID IN (" + SESSION_ID_LIST_PLACEHOLDER +
+            ")";
+
     public static final String SQL_GET_SESSION_META_DATA_FOR_USER_ID_AND_SESSION_ID =
             "SELECT PROPERTY_TYPE, VALUE FROM IDN_AUTH_SESSION_META_DATA sm JOIN IDN_AUTH_USER_SESSION_MAPPING su " +
                     "ON sm.SESSION_ID = su.SESSION_ID WHERE sm.SESSION_ID = ? AND USER_ID = ?";
@@ -174,6 +211,9 @@ public class SQLQueries {
     public static final String SQL_GET_APPS_FOR_SESSION_ID = "SELECT SUBJECT, APP_ID FROM IDN_AUTH_SESSION_APP_INFO " +
             "WHERE SESSION_ID = ?";
 
+    public static final String SQL_GET_APPS_FOR_SESSION_IDS = "SELECT SESSION_ID, SUBJECT, APP_ID FROM " +
+            "IDN_AUTH_SESSION_APP_INFO WHERE SESSION_ID IN (" + SESSION_ID_LIST_PLACEHOLDER + ")";
+
     public static final String SQL_GET_APPLICATION = "SELECT ID, APP_NAME, UUID FROM SP_APP WHERE ID IN (" +
             SCOPE_LIST_PLACEHOLDER + ")";
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the partitioned expired session data cleanup of a single table. Counters are cumulative from the server
+ * start up, while the backlog and the last run values are updated by each cleanup run.
+ */
+public class SessionCleanUpMetrics {
+
+    private final String tableName;
+    private final AdaptiveChunkSize chunkSize;
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong removedRowCount = new AtomicLong();
+    private final AtomicLong deletedChunkCount = new AtomicLong();
+    private final AtomicLong failedPartitionCount = new AtomicLong();
+    private final AtomicLong totalChunkTimeNanos = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+    private volatile long lastRunRemovedRows;
+    private volatile long lastRunDurationNanos;
+    private volatile long highWaterMark;
+
+    SessionCleanUpMetrics(String tableName, AdaptiveChunkSize chunkSize) {
+
+        this.tableName = tableName;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Record the start of a cleanup run.
+     *
+     * @param expiredRows Number of expired rows in the table when the run started.
+     */
+    void recordRunStart(long expiredRows) {
+
+        runCount.incrementAndGet();
+        backlog.set(expiredRows);
+    }
+
+    /**
+     * Record a deleted chunk.
+     *
+     * @param deletedRows  Number of rows deleted.
+     * @param latencyNanos Time taken to delete and commit the chunk.
+     */
+    void recordChunk(int deletedRows, long latencyNanos) {
+
+        deletedChunkCount.incrementAndGet();
+        removedRowCount.addAndGet(deletedRows);
+        totalChunkTimeNanos.addAndGet(latencyNanos);
+        backlog.updateAndGet(current -> Math.max(0, current - deletedRows));
+    }
+
+    void recordFailedPartition() {
+
+        failedPartitionCount.incrementAndGet();
+    }
+
+    /**
+     * Record the end of a cleanup run.
+     *
+     * @param removedRows   Number of rows removed by the run.
+     * @param durationNanos Time taken by the run.
+     * @param highWaterMark Expiry time below which all the expired rows are known to be removed.
+     */
+    void recordRunEnd(long removedRows, long durationNanos, long highWaterMark) {
+
+        this.lastRunRemovedRows = removedRows;
+        this.lastRunDurationNanos = durationNanos;
+        this.highWaterMark = highWaterMark;
+    }
+
+    public String getTableName() {
+
+        return tableName;
+    }
+
+    public long getRunCount() {
+
+        return runCount.get();
+    }
+
+    /**
+     * Get the number of expired rows which are yet to be removed, as estimated at the start of the last run.
+     *
+     * @return Number of expired rows left in the table.
+     */
+    public long getBacklog() {
+
+        return backlog.get();
+    }
+
+    public long getRemovedRowCount() {
+
+        return removedRowCount.get();
+    }
+
+    public long getDeletedChunkCount() {
+
+        return deletedChunkCount.get();
+    }
+
+    public long getFailedPartitionCount() {
+
+        return failedPartitionCount.get();
+    }
+
+    public int getCurrentChunkSize() {
+
+        return chunkSize.get();
+    }
+
+    public long getHighWaterMark() {
+
+        return highWaterMark;
+    }
+
+    public long getLastRunRemovedRows() {
+
+        return lastRunRemovedRows;
+    }
+
+    public long getLastRunDurationMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(lastRunDurationNanos);
+    }
+
+    public double getLastRunRowsPerSecond() {
+
+        long durationNanos = lastRunDurationNanos;
+        return durationNanos == 0 ? 0 : (double) lastRunRemovedRows * TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    }
+
+    public double getAverageChunkLatencyMillis() {
+
+        long chunks = deletedChunkCount.get();
+        return chunks == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMillis(totalChunkTimeNanos.get()) / chunks;
+    }
+
+    @Override
+    public String toString() {
+
+        return "table=" + tableName + ", runs=" + getRunCount() + ", backlog=" + getBacklog() + ", removedRows=" +
+                getRemovedRowCount() + ", chunks=" + getDeletedChunkCount() + ", failedPartitions=" +
+                getFailedPartitionCount() + ", chunkSize=" + getCurrentChunkSize() + ", lastRunRows=" +
+                getLastRunRemovedRows() + ", lastRunMs=" + getLastRunDurationMillis() + ", lastRunRowsPerSec=" +
+                getLastRunRowsPerSecond() + ", avgChunkLatencyMs=" + getAverageChunkLatencyMillis();
+    }
+}
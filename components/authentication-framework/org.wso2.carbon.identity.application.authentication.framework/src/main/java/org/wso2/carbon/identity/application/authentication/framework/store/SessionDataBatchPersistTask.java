@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task to persist and remove session data in batches. The task waits for the first entry, then keeps draining the
+ * queue until either the maximum batch size is reached or the maximum wait time has elapsed, and writes the
+ * collected entries with a single connection.
+ */
+public class SessionDataBatchPersistTask implements Runnable {
+
+    private static final Log log = LogFactory.getLog(SessionDataBatchPersistTask.class);
+    private static final long IDLE_POLL_INTERVAL_MILLIS = 1000;
+    private final BlockingDeque<SessionContextDO> sessionContextQueue;
+    private final int maxBatchSize;
+    private final long maxWaitTimeNanos;
+    private static volatile boolean running;
+
+    public SessionDataBatchPersistTask(BlockingDeque<SessionContextDO> sessionContextQueue, int maxBatchSize,
+                                       long maxWaitTimeMillis) {
+
+        this.sessionContextQueue = sessionContextQueue;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitTimeMillis);
+    }
+
+    @Override
+    public void run() {
+
+        log.debug("Session Context batch persist consumer is started");
+
+        running = true;
+        List<SessionContextDO> batch = new ArrayList<>(maxBatchSize);
+        while (running || !sessionContextQueue.isEmpty()) {
+            try {
+                SessionContextDO first = sessionContextQueue.poll(IDLE_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitTimeNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        sessionContextQueue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    SessionContextDO next = sessionContextQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                SessionDataStore.getInstance().persistSessionDataBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    SessionDataStore.getInstance().persistSessionDataBatch(batch);
+                }
+                log.debug("Session Context batch persist consumer is interrupted");
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error while persisting session data batch", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.debug("Session Context batch persist consumer is stopped");
+    }
+
+    public static void shutdown() {
+
+        running = false;
+    }
+}
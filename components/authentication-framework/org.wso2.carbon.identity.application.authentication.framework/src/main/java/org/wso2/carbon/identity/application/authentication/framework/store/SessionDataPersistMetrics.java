@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the batched session data persistence. Counters are cumulative from the server start up.
+ */
+public class SessionDataPersistMetrics {
+
+    private final BlockingDeque<SessionContextDO> sessionContextQueue;
+    private final AtomicLong flushedBatchCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final AtomicLong flushedEntryCount = new AtomicLong();
+    private final AtomicLong coalescedEntryCount = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong totalFlushTimeNanos = new AtomicLong();
+    private final AtomicLong maxFlushTimeNanos = new AtomicLong();
+    private volatile long lastBatchSize;
+    private volatile long lastFlushTimeNanos;
+
+    SessionDataPersistMetrics(BlockingDeque<SessionContextDO> sessionContextQueue) {
+
+        this.sessionContextQueue = sessionContextQueue;
+    }
+
+    /**
+     * Record a flushed batch.
+     *
+     * @param batchSize      Number of entries drained from the queue.
+     * @param coalescedCount Number of entries which were dropped as they were superseded by another entry of the
+     *                       same batch.
+     * @param flushTimeNanos Time taken to write the batch.
+     * @param failed         Whether the batch write failed and the entries had to be written individually.
+     */
+    void recordFlush(int batchSize, int coalescedCount, long flushTimeNanos, boolean failed) {
+
+        flushedBatchCount.incrementAndGet();
+        if (failed) {
+            failedBatchCount.incrementAndGet();
+        }
+        flushedEntryCount.addAndGet(batchSize);
+        coalescedEntryCount.addAndGet(coalescedCount);
+        maxBatchSize.accumulateAndGet(batchSize, Math::max);
+        totalFlushTimeNanos.addAndGet(flushTimeNanos);
+        maxFlushTimeNanos.accumulateAndGet(flushTimeNanos, Math::max);
+        lastBatchSize = batchSize;
+        lastFlushTimeNanos = flushTimeNanos;
+    }
+
+    public int getQueueDepth() {
+
+        return sessionContextQueue.size();
+    }
+
+    public long getFlushedBatchCount() {
+
+        return flushedBatchCount.get();
+    }
+
+    public long getFailedBatchCount() {
+
+        return failedBatchCount.get();
+    }
+
+    public long getFlushedEntryCount() {
+
+        return flushedEntryCount.get();
+    }
+
+    public long getCoalescedEntryCount() {
+
+        return coalescedEntryCount.get();
+    }
+
+    public long getLastBatchSize() {
+
+        return lastBatchSize;
+    }
+
+    public long getMaxBatchSize() {
+
+        return maxBatchSize.get();
+    }
+
+    public double getAverageBatchSize() {
+
+        long batches = flushedBatchCount.get();
+        return batches == 0 ? 0 : (double) flushedEntryCount.get() / batches;
+    }
+
+    public long getLastFlushLatencyMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(lastFlushTimeNanos);
+    }
+
+    public long getMaxFlushLatencyMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushTimeNanos.get());
+    }
+
+    public double getAverageFlushLatencyMillis() {
+
+        long batches = flushedBatchCount.get();
+        return batches == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMillis(totalFlushTimeNanos.get()) / batches;
+    }
+
+    @Override
+    public String toString() {
+
+        return "queueDepth=" + getQueueDepth() + ", batches=" + getFlushedBatchCount() + ", failedBatches=" +
+                getFailedBatchCount() + ", entries=" + getFlushedEntryCount() + ", coalesced=" +
+                getCoalescedEntryCount() + ", avgBatchSize=" + getAverageBatchSize() + ", maxBatchSize=" +
+                getMaxBatchSize() + ", avgFlushLatencyMs=" + getAverageFlushLatencyMillis() +
+                ", maxFlushLatencyMs=" + getMaxFlushLatencyMillis();
+    }
+}
@@ -42,6 +42,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ExecutorService;
@@ -55,6 +60,10 @@ import java.util.concurrent.TimeUnit;
  * And these events are stored with unique sessionId, operation type and operation initiated timestamp.
  * Expired DELETE operations and related STORE operations will be deleted by a OperationCleanUpService task.
  * All expired operations will be deleted by SessionCleanUpService task.
+ * When partitioned cleanup is enabled, the expired data is deleted by {@link PartitionedExpiredDataCleaner}s in
+ * parallel expiry time partitions with an adaptive chunk size.
+ * When batching is enabled, queued operations are drained by {@link SessionDataBatchPersistTask}s and written with
+ * one JDBC batch per operation type.
  */
 public class SessionDataStore {
     private static final Log log = LogFactory.getLog(SessionDataStore.class);
@@ -167,6 +176,8 @@ public class SessionDataStore {
             "DELETE FROM IDN_AUTH_SESSION_STORE WHERE (SESSION_ID, SESSION_TYPE, OPERATION, TIME_CREATED) IN " +
                     "(SELECT SESSION_ID, SESSION_TYPE, OPERATION, TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE " +
                     "EXPIRY_TIME < ? FETCH FIRST %d ROWS ONLY)";
+    private static final String EXPIRY_TIME_CONDITION = "EXPIRY_TIME < ?";
+    private static final String EXPIRY_TIME_RANGE_CONDITION = "EXPIRY_TIME >= ? AND EXPIRY_TIME < ?";
     private static final String MYSQL_DATABASE = "MySQL";
     private static final String MARIA_DATABASE = "MariaDB";
     private static final String H2_DATABASE = "H2";
@@ -177,6 +188,13 @@ public class SessionDataStore {
     private static final String INFORMIX_DATABASE = "Informix";
 
     private static final int DEFAULT_DELETE_LIMIT = 50000;
+    private static final int DEFAULT_CLEANUP_PARTITIONS = 8;
+    private static final int DEFAULT_CLEANUP_WORKERS = 4;
+    private static final int DEFAULT_CLEANUP_MIN_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_CLEANUP_TARGET_CHUNK_LATENCY = 500;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final long DEFAULT_MAX_BATCH_WAIT_TIME = 50;
+    private static final int DEFAULT_BATCH_PERSIST_POOL_SIZE = 4;
     public static final String DEFAULT_SESSION_STORE_TABLE_NAME = "IDN_AUTH_SESSION_STORE";
     private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
     public static final String DEFAULT_TEMP_SESSION_STORE_TABLE_NAME = "IDN_AUTH_TEMP_SESSION_STORE";
@@ -184,6 +202,11 @@ public class SessionDataStore {
     private static int maxTempDataPoolSize = 50;
     private static BlockingDeque<SessionContextDO> sessionContextQueue = new LinkedBlockingDeque();
     private static BlockingDeque<SessionContextDO> tempAuthnContextDataDeleteQueue = new LinkedBlockingDeque();
+    private static boolean sessionDataBatchingEnabled = false;
+    private static int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private static long maxBatchWaitTime = DEFAULT_MAX_BATCH_WAIT_TIME;
+    private static int batchPersistPoolSize = DEFAULT_BATCH_PERSIST_POOL_SIZE;
+    private static final SessionDataPersistMetrics persistMetrics = new SessionDataPersistMetrics(sessionContextQueue);
     private static volatile SessionDataStore instance;
     private boolean enablePersist;
     private String sqlInsertSTORE;
@@ -198,6 +221,10 @@ public class SessionDataStore {
     private int deleteChunkSize = DEFAULT_DELETE_LIMIT;
     private boolean sessionDataCleanupEnabled = true;
     private boolean operationDataCleanupEnabled = false;
+    private boolean partitionedCleanupEnabled = false;
+    private boolean deleteExpiredDataTaskSQLConfigured = false;
+    private volatile PartitionedExpiredDataCleaner sessionDataCleaner;
+    private volatile PartitionedExpiredDataCleaner tempDataCleaner;
     private static boolean tempDataCleanupEnabled = false;
     private static boolean periodicTempDataCleanupEnabled = true;
     private static boolean sessionAndTempDataSeparationEnabled = false;
@@ -237,13 +264,43 @@ public class SessionDataStore {
                 maxTempDataPoolSize = Integer.parseInt(maxTempDataPoolSizeValue);
             }
 
+            sessionDataBatchingEnabled = Boolean.parseBoolean(
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Batching.Enable"));
+            String maxBatchSizeValue =
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Batching.MaxBatchSize");
+            if (StringUtils.isNotBlank(maxBatchSizeValue)) {
+                maxBatchSize = Integer.parseInt(maxBatchSizeValue);
+            }
+            String maxBatchWaitTimeValue =
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Batching.MaxWaitTime");
+            if (StringUtils.isNotBlank(maxBatchWaitTimeValue)) {
+                maxBatchWaitTime = Long.parseLong(maxBatchWaitTimeValue);
+            }
+            String batchPersistPoolSizeValue =
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Batching.PoolSize");
+            if (StringUtils.isNotBlank(batchPersistPoolSizeValue)) {
+                batchPersistPoolSize = Integer.parseInt(batchPersistPoolSizeValue);
+            }
         } catch (NumberFormatException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Exception ignored : ", e);
             }
             log.warn("One or more pool size configurations cause NumberFormatException. Default values would be used");
         }
-        if (maxSessionDataPoolSize > 0) {
+        if (sessionDataBatchingEnabled && (maxBatchSize <= 1 || batchPersistPoolSize <= 0)) {
+            log.warn("Invalid session data batching configuration. Batch size: " + maxBatchSize + ", pool size: " +
+                    batchPersistPoolSize + ". Session data batching is disabled.");
+            sessionDataBatchingEnabled = false;
+        }
+        if (sessionDataBatchingEnabled) {
+            log.info("Thread pool size for session batch persistent consumer : " + batchPersistPoolSize +
+                    ", max batch size : " + maxBatchSize + ", max wait time : " + maxBatchWaitTime + "ms");
+            ExecutorService threadPool = Executors.newFixedThreadPool(batchPersistPoolSize);
+            for (int i = 0; i < batchPersistPoolSize; i++) {
+                threadPool.execute(new SessionDataBatchPersistTask(sessionContextQueue, maxBatchSize,
+                        maxBatchWaitTime));
+            }
+        } else if (maxSessionDataPoolSize > 0) {
             log.info("Thread pool size for session persistent consumer : " + maxSessionDataPoolSize);
             ExecutorService threadPool = Executors.newFixedThreadPool(maxSessionDataPoolSize);
             for (int i = 0; i < maxSessionDataPoolSize; i++) {
@@ -315,6 +372,15 @@ public class SessionDataStore {
 
         if (StringUtils.isNotBlank(deleteExpiredDataTaskSQL)) {
             sqlDeleteExpiredDataTask = String.format(deleteExpiredDataTaskSQL, deleteChunkSize);
+            deleteExpiredDataTaskSQLConfigured = true;
+        }
+
+        partitionedCleanupEnabled = Boolean.parseBoolean(IdentityUtil.getProperty(
+                "JDBCPersistenceManager.SessionDataPersist.SessionDataCleanUp.Partitioned.Enable"));
+        if (partitionedCleanupEnabled && deleteExpiredDataTaskSQLConfigured) {
+            log.warn("Partitioned session data cleanup is not supported with a custom DeleteExpiredDataTask query. " +
+                    "Expired session data will be removed sequentially.");
+            partitionedCleanupEnabled = false;
         }
 
         if (!enablePersist) {
@@ -581,7 +647,7 @@ public class SessionDataStore {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
-        if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
+        if (isAsyncPersistenceEnabled() && !isTempCache(type)) {
             sessionContextQueue.push(new SessionContextDO(key, type, entry, nanoTime, tenantId));
         } else {
             persistSessionData(key, type, entry, nanoTime, tenantId);
@@ -593,7 +659,7 @@ public class SessionDataStore {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
-        if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
+        if (isAsyncPersistenceEnabled() && !isTempCache(type)) {
             sessionContextQueue.push(new SessionContextDO(key, type, null, nanoTime));
         } else {
             removeSessionData(key, type, nanoTime);
@@ -607,6 +673,47 @@ public class SessionDataStore {
 
         TempAuthContextDataDeleteTask.shutdown();
         SessionDataPersistTask.shutdown();
+        SessionDataBatchPersistTask.shutdown();
+        PartitionedExpiredDataCleaner cleaner = sessionDataCleaner;
+        if (cleaner != null) {
+            cleaner.shutdown();
+        }
+        cleaner = tempDataCleaner;
+        if (cleaner != null) {
+            cleaner.shutdown();
+        }
+    }
+
+    /**
+     * Get the metrics of the batched session data persistence.
+     *
+     * @return Session data persistence metrics.
+     */
+    public SessionDataPersistMetrics getPersistMetrics() {
+
+        return persistMetrics;
+    }
+
+    /**
+     * Get the metrics of the partitioned expired session data cleanup.
+     *
+     * @return Session data cleanup metrics, or null if the partitioned cleanup has not run.
+     */
+    public SessionCleanUpMetrics getSessionDataCleanUpMetrics() {
+
+        PartitionedExpiredDataCleaner cleaner = sessionDataCleaner;
+        return cleaner != null ? cleaner.getMetrics() : null;
+    }
+
+    /**
+     * Get the metrics of the partitioned expired temporary data cleanup.
+     *
+     * @return Temporary data cleanup metrics, or null if the partitioned cleanup has not run.
+     */
+    public SessionCleanUpMetrics getTempDataCleanUpMetrics() {
+
+        PartitionedExpiredDataCleaner cleaner = tempDataCleaner;
+        return cleaner != null ? cleaner.getMetrics() : null;
     }
 
     /**
@@ -618,6 +725,18 @@ public class SessionDataStore {
      */
     private String getDBSpecificSessionDataRemovalQuery() throws IdentityApplicationManagementException {
 
+        return String.format(getDBSpecificSessionDataRemovalQueryTemplate(), deleteChunkSize);
+    }
+
+    /**
+     * Gets the DB specific chunked delete query for the session data removal, with a %d placeholder for the chunk
+     * size.
+     *
+     * @return Session data removal query template.
+     * @throws IdentityApplicationManagementException If the DB connection meta-data could not be retrieved.
+     */
+    private String getDBSpecificSessionDataRemovalQueryTemplate() throws IdentityApplicationManagementException {
+
         Connection connection = null;
         try {
             connection = IdentityDatabaseUtil.getSessionDBConnection(true);
@@ -639,7 +758,7 @@ public class SessionDataStore {
                 nonFormattedQuery = SQL_DELETE_EXPIRED_DATA_TASK_ORACLE;
             }
             IdentityDatabaseUtil.commitTransaction(connection);
-            return String.format(nonFormattedQuery, deleteChunkSize);
+            return nonFormattedQuery;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityApplicationManagementException("Error while retrieving DB connection meta-data", e);
@@ -686,24 +805,94 @@ public class SessionDataStore {
      */
     public void removeExpiredSessionData() {
 
-        if (StringUtils.isBlank(sqlDeleteExpiredDataTask)) {
-            try {
-                sqlDeleteExpiredDataTask = getDBSpecificSessionDataRemovalQuery();
-            } catch (IdentityApplicationManagementException e) {
-                log.error("Error when initializing the db specific cleanup query.", e);
-            }
-        }
-        if (sessionDataCleanupEnabled) {
-            removeExpiredSessionData(sqlDeleteExpiredDataTask);
+        if (partitionedCleanupEnabled && sessionDataCleaner == null) {
+            initPartitionedCleaners();
         }
-        if (tempDataCleanupEnabled && periodicTempDataCleanupEnabled) {
-            removeExpiredSessionData(replaceTableName(sqlDeleteExpiredDataTask));
+        if (partitionedCleanupEnabled) {
+            long currentTime = FrameworkUtils.getCurrentStandardNano();
+            if (sessionDataCleanupEnabled) {
+                sessionDataCleaner.removeExpiredData(currentTime);
+            }
+            if (tempDataCleanupEnabled && periodicTempDataCleanupEnabled) {
+                tempDataCleaner.removeExpiredData(currentTime);
+            }
+        } else {
+            if (StringUtils.isBlank(sqlDeleteExpiredDataTask)) {
+                try {
+                    sqlDeleteExpiredDataTask = getDBSpecificSessionDataRemovalQuery();
+                } catch (IdentityApplicationManagementException e) {
+                    log.error("Error when initializing the db specific cleanup query.", e);
+                }
+            }
+            if (sessionDataCleanupEnabled) {
+                removeExpiredSessionData(sqlDeleteExpiredDataTask);
+            }
+            if (tempDataCleanupEnabled && periodicTempDataCleanupEnabled) {
+                removeExpiredSessionData(replaceTableName(sqlDeleteExpiredDataTask));
+            }
         }
         if (operationDataCleanupEnabled) {
             removeInvalidatedSTOREOperations();
         }
     }
 
+    /**
+     * Create the partitioned cleaners of the session and temporary data tables. Falls back to the sequential
+     * cleanup if the DB specific delete query could not be resolved.
+     */
+    private synchronized void initPartitionedCleaners() {
+
+        if (sessionDataCleaner != null) {
+            return;
+        }
+        String queryTemplate;
+        try {
+            queryTemplate = getDBSpecificSessionDataRemovalQueryTemplate()
+                    .replace(EXPIRY_TIME_CONDITION, EXPIRY_TIME_RANGE_CONDITION);
+        } catch (IdentityApplicationManagementException e) {
+            log.error("Error when initializing the db specific cleanup query. Expired session data will be removed " +
+                    "sequentially.", e);
+            partitionedCleanupEnabled = false;
+            return;
+        }
+
+        String configPrefix = "JDBCPersistenceManager.SessionDataPersist.SessionDataCleanUp.Partitioned.";
+        int partitions = getCleanUpConfigValue(configPrefix + "Partitions", DEFAULT_CLEANUP_PARTITIONS);
+        int workers = getCleanUpConfigValue(configPrefix + "Workers", DEFAULT_CLEANUP_WORKERS);
+        int maxChunkSize = getCleanUpConfigValue(configPrefix + "MaxChunkSize", deleteChunkSize);
+        int minChunkSize = getCleanUpConfigValue(configPrefix + "MinChunkSize",
+                Math.min(DEFAULT_CLEANUP_MIN_CHUNK_SIZE, maxChunkSize));
+        long targetChunkLatency = getCleanUpConfigValue(configPrefix + "TargetChunkLatency",
+                DEFAULT_CLEANUP_TARGET_CHUNK_LATENCY);
+        long maxRunTime = TimeUnit.SECONDS.toMillis(getCleanUpConfigValue(configPrefix + "MaxRunTime", 0));
+        // Start with the sequential chunk size shared among the workers.
+        int initialChunkSize = Math.max(1, maxChunkSize / Math.max(1, workers));
+        log.info("Partitioned session data cleanup is enabled with " + partitions + " partitions, " + workers +
+                " workers and chunk sizes between " + minChunkSize + " and " + maxChunkSize + ".");
+
+        tempDataCleaner = new PartitionedExpiredDataCleaner(DEFAULT_TEMP_SESSION_STORE_TABLE_NAME,
+                replaceTableName(queryTemplate), partitions, workers, maxRunTime,
+                new AdaptiveChunkSize(initialChunkSize, minChunkSize, maxChunkSize, targetChunkLatency));
+        sessionDataCleaner = new PartitionedExpiredDataCleaner(DEFAULT_SESSION_STORE_TABLE_NAME, queryTemplate,
+                partitions, workers, maxRunTime,
+                new AdaptiveChunkSize(initialChunkSize, minChunkSize, maxChunkSize, targetChunkLatency));
+    }
+
+    private int getCleanUpConfigValue(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for: " + property + ". Default value: " +
+                    defaultValue + " would be used.");
+            return defaultValue;
+        }
+    }
+
     /**
      * @deprecated This is now run as a part of the {@link #removeExpiredSessionData()} due to a possible deadlock as
      * mentioned in IDENTITY-5131
@@ -805,6 +994,161 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Persist a batch of queued STORE and DELETE operations using a single connection and one JDBC batch per
+     * operation type. A STORE which is followed by a DELETE of the same key and type within the batch is not
+     * written, and only the latest operation of each kind is kept for a key and type. If the batch write fails,
+     * the operations are retried one by one so that a single bad entry does not discard the whole batch.
+     *
+     * @param sessionContextDOs Queued operations. DELETE operations have a null entry.
+     */
+    public void persistSessionDataBatch(List<SessionContextDO> sessionContextDOs) {
+
+        if (!enablePersist || sessionContextDOs == null || sessionContextDOs.isEmpty()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        List<SessionContextDO> operations = coalesceOperations(sessionContextDOs);
+        int coalescedCount = sessionContextDOs.size() - operations.size();
+
+        Connection connection;
+        try {
+            connection = IdentityDatabaseUtil.getSessionDBConnection(true);
+        } catch (IdentityRuntimeException e) {
+            log.error(e.getMessage(), e);
+            persistMetrics.recordFlush(sessionContextDOs.size(), coalescedCount, System.nanoTime() - startTime,
+                    true);
+            return;
+        }
+
+        boolean failed = false;
+        Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+        try {
+            for (SessionContextDO sessionContextDO : operations) {
+                String type = sessionContextDO.getType();
+                if (sessionContextDO.getEntry() == null) {
+                    if (checkExistingEntryForDeleteOperationInsert &&
+                            validateLastOperationOnSessionData(sessionContextDO.getKey(), type, OPERATION_DELETE)) {
+                        continue;
+                    }
+                    PreparedStatement preparedStatement = getBatchStatement(connection, statements,
+                            getSessionStoreDBQuery(sqlInsertDELETE, type));
+                    preparedStatement.setString(1, sessionContextDO.getKey());
+                    preparedStatement.setString(2, type);
+                    preparedStatement.setString(3, OPERATION_DELETE);
+                    preparedStatement.setLong(4, sessionContextDO.getNanoTime());
+                    preparedStatement.setLong(5, sessionContextDO.getNanoTime() +
+                            getCleanupTimeout(type, MultitenantConstants.INVALID_TENANT_ID));
+                    preparedStatement.addBatch();
+                } else {
+                    Object entry = sessionContextDO.getEntry();
+                    long validityPeriodNano = 0L;
+                    if (entry instanceof CacheEntry) {
+                        validityPeriodNano = ((CacheEntry) entry).getValidityPeriod();
+                    }
+                    if (validityPeriodNano == 0L) {
+                        validityPeriodNano = getCleanupTimeout(type, sessionContextDO.getTenantId());
+                    }
+                    PreparedStatement preparedStatement = getBatchStatement(connection, statements,
+                            getSessionStoreDBQuery(sqlInsertSTORE, type));
+                    preparedStatement.setString(1, sessionContextDO.getKey());
+                    preparedStatement.setString(2, type);
+                    preparedStatement.setString(3, OPERATION_STORE);
+                    setBlobObject(preparedStatement, entry, 4);
+                    preparedStatement.setLong(5, sessionContextDO.getNanoTime());
+                    preparedStatement.setLong(6, sessionContextDO.getNanoTime() + validityPeriodNano);
+                    preparedStatement.setInt(7, sessionContextDO.getTenantId());
+                    preparedStatement.addBatch();
+                }
+            }
+            for (PreparedStatement preparedStatement : statements.values()) {
+                preparedStatement.executeBatch();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException | IOException | SessionSerializerException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            log.error("Error while persisting a batch of " + operations.size() + " session data operations. " +
+                    "Retrying the operations individually.", e);
+            failed = true;
+        } finally {
+            for (PreparedStatement preparedStatement : statements.values()) {
+                IdentityDatabaseUtil.closeStatement(preparedStatement);
+            }
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+
+        if (failed) {
+            for (SessionContextDO sessionContextDO : operations) {
+                if (sessionContextDO.getEntry() == null) {
+                    removeSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                            sessionContextDO.getNanoTime());
+                } else {
+                    persistSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                            sessionContextDO.getEntry(), sessionContextDO.getNanoTime(),
+                            sessionContextDO.getTenantId());
+                }
+            }
+        }
+
+        long flushTime = System.nanoTime() - startTime;
+        persistMetrics.recordFlush(sessionContextDOs.size(), coalescedCount, flushTime, failed);
+        if (log.isDebugEnabled()) {
+            log.debug("Persisted a batch of " + operations.size() + " session data operations out of " +
+                    sessionContextDOs.size() + " queued operations in " +
+                    TimeUnit.NANOSECONDS.toMillis(flushTime) + "ms. " + persistMetrics);
+        }
+    }
+
+    /**
+     * Coalesce the operations of a batch. For each key and type, only the latest STORE and the latest DELETE are
+     * kept, and a STORE is dropped when a later DELETE exists for the same key and type. Readers always pick the
+     * latest operation of a key and type, so the dropped operations are never observable.
+     *
+     * @param sessionContextDOs Queued operations.
+     * @return Operations which need to be written.
+     */
+    static List<SessionContextDO> coalesceOperations(List<SessionContextDO> sessionContextDOs) {
+
+        Map<String, SessionContextDO> latestStoreOperations = new HashMap<>();
+        Map<String, SessionContextDO> latestDeleteOperations = new HashMap<>();
+        for (SessionContextDO sessionContextDO : sessionContextDOs) {
+            Map<String, SessionContextDO> latestOperations = sessionContextDO.getEntry() == null ?
+                    latestDeleteOperations : latestStoreOperations;
+            String operationKey = sessionContextDO.getType() + ":" + sessionContextDO.getKey();
+            SessionContextDO current = latestOperations.get(operationKey);
+            if (current == null || current.getNanoTime() < sessionContextDO.getNanoTime()) {
+                latestOperations.put(operationKey, sessionContextDO);
+            }
+        }
+
+        List<SessionContextDO> operations = new ArrayList<>(sessionContextDOs.size());
+        for (SessionContextDO sessionContextDO : sessionContextDOs) {
+            String operationKey = sessionContextDO.getType() + ":" + sessionContextDO.getKey();
+            if (sessionContextDO.getEntry() == null) {
+                if (latestDeleteOperations.get(operationKey) == sessionContextDO) {
+                    operations.add(sessionContextDO);
+                }
+            } else if (latestStoreOperations.get(operationKey) == sessionContextDO) {
+                SessionContextDO deleteOperation = latestDeleteOperations.get(operationKey);
+                if (deleteOperation == null || deleteOperation.getNanoTime() < sessionContextDO.getNanoTime()) {
+                    operations.add(sessionContextDO);
+                }
+            }
+        }
+        return operations;
+    }
+
+    private PreparedStatement getBatchStatement(Connection connection, Map<String, PreparedStatement> statements,
+                                                String sqlQuery) throws SQLException {
+
+        PreparedStatement preparedStatement = statements.get(sqlQuery);
+        if (preparedStatement == null) {
+            preparedStatement = connection.prepareStatement(sqlQuery);
+            statements.put(sqlQuery, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
     /**
      * Removes temporary authn context data from the table if temporary data cleanup is enabled.
      *
@@ -910,6 +1254,11 @@ public class SessionDataStore {
 
     }
 
+    private static boolean isAsyncPersistenceEnabled() {
+
+        return sessionDataBatchingEnabled || maxSessionDataPoolSize > 0;
+    }
+
     private boolean isTempCache(String type) {
 
         IdentityCacheConfig identityCacheConfig = IdentityUtil.getIdentityCacheConfig(CACHE_MANAGER_NAME, type);
@@ -427,6 +427,69 @@ public class UserSessionStore {
         return sessionIdList;
     }
 
+    /**
+     * Method to get a page of the session ids mapped to a given user id, regardless of whether the session data is
+     * persisted. The session ids are ordered, hence the next page starts after the last session id of the previous
+     * page.
+     *
+     * @param userId         id of the user
+     * @param afterSessionId session id after which the page starts, or null to get the first page
+     * @param limit          maximum number of session ids in the page
+     * @return the list of session ids
+     * @throws UserSessionException if an error occurs when retrieving the session id list from the database
+     */
+    public List<String> getSessionIds(String userId, String afterSessionId, int limit) throws UserSessionException {
+
+        String sqlStmt = afterSessionId == null ? SQLQueries.SQL_SELECT_SESSION_IDS_OF_USER_ID_ORDERED :
+                SQLQueries.SQL_SELECT_SESSION_IDS_OF_USER_ID_AFTER_SESSION_ID;
+        return getSessionIdPage(sqlStmt, userId, afterSessionId, limit, false);
+    }
+
+    /**
+     * Method to get a page of the active session ids of a given user id. The session ids are ordered, hence the
+     * next page starts after the last session id of the previous page. Sessions whose data is not persisted yet are
+     * not returned, hence this must only be used for listing the sessions.
+     *
+     * @param userId         id of the user
+     * @param afterSessionId session id after which the page starts, or null to get the first page
+     * @param limit          maximum number of session ids in the page
+     * @return the list of session ids
+     * @throws UserSessionException if an error occurs when retrieving the session id list from the database
+     */
+    public List<String> getActiveSessionIds(String userId, String afterSessionId, int limit)
+            throws UserSessionException {
+
+        String sqlStmt = afterSessionId == null ? SQLQueries.SQL_SELECT_ACTIVE_SESSION_IDS_OF_USER_ID :
+                SQLQueries.SQL_SELECT_ACTIVE_SESSION_IDS_OF_USER_ID_AFTER_SESSION_ID;
+        return getSessionIdPage(sqlStmt, userId, afterSessionId, limit, true);
+    }
+
+    private List<String> getSessionIdPage(String sqlStmt, String userId, String afterSessionId, int limit,
+                                          boolean activeOnly) throws UserSessionException {
+
+        List<String> sessionIdList = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false);
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlStmt)) {
+            preparedStatement.setMaxRows(limit);
+            int index = 1;
+            preparedStatement.setString(index++, userId);
+            if (afterSessionId != null) {
+                preparedStatement.setString(index++, afterSessionId);
+            }
+            if (activeOnly) {
+                preparedStatement.setLong(index, FrameworkUtils.getCurrentStandardNano());
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    sessionIdList.add(resultSet.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new UserSessionException("Error while retrieving session ids of user Id: " + userId, e);
+        }
+        return sessionIdList;
+    }
+
     /**
      * Removes all the expired session records from relevant tables.
      */
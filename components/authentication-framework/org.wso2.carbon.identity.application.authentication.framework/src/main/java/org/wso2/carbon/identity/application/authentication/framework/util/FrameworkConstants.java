@@ -413,6 +413,15 @@ public abstract class FrameworkConstants {
         public static final String SESSION_DATA_STORAGE_OPTIMIZATION_ENABLED =
                 "JDBCPersistenceManager.SessionDataPersist.SessionDataStorageOptimization.Enable";
 
+        /**
+         * Configurations used to select the default session serializer.
+         */
+        public static final String SESSION_SERIALIZER_TYPE =
+                "JDBCPersistenceManager.SessionDataPersist.Serializer.Type";
+        public static final String SESSION_SERIALIZER_COMPRESSION_THRESHOLD =
+                "JDBCPersistenceManager.SessionDataPersist.Serializer.CompressionThreshold";
+        public static final String COMPACT_SESSION_SERIALIZER = "compact";
+
         /**
          * Configuration to enable publishing the active session count in analytics event.
          */
@@ -448,6 +457,24 @@ public abstract class FrameworkConstants {
          */
         public static final String MARK_STEP_COMPLETED_ON_INTERRUPT = "MarkStepCompletedOnInterrupt";
 
+        /**
+         * Configuration to enable the per application authentication step template cache. Disabled by default.
+         */
+        public static final String SEQUENCE_TEMPLATE_CACHE_ENABLED = "AuthenticationSequenceTemplateCache.Enable";
+
+        /**
+         * Configurations of the per application plan of the local claims read from the user store.
+         */
+        public static final String CLAIM_FETCH_PLAN_ENABLED = "ClaimFetchPlan.Enable";
+        public static final String CLAIM_FETCH_PLAN_MAX_ENTRIES = "ClaimFetchPlan.MaxEntries";
+        public static final int DEFAULT_CLAIM_FETCH_PLAN_MAX_ENTRIES = 1000;
+
+        /**
+         * Number of sessions read and terminated at once when the sessions of a user are processed page by page.
+         */
+        public static final String USER_SESSION_BATCH_SIZE = "SessionManagement.UserSessionBatchSize";
+        public static final int DEFAULT_USER_SESSION_BATCH_SIZE = 500;
+
         private Config() {
         }
 
@@ -738,6 +765,10 @@ public abstract class FrameworkConstants {
         public static final String GRAALJS_SCRIPT_STATEMENTS_LIMIT
                 = "AdaptiveAuth.GraalJS.ScriptStatementsLimit";
         public static final int DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT = 0;
+        public static final String GRAALJS_CONTEXT_POOL_SIZE = "AdaptiveAuth.GraalJS.ContextPoolSize";
+        public static final int DEFAULT_GRAALJS_CONTEXT_POOL_SIZE = 8;
+        public static final String GRAALJS_SOURCE_CACHE_SIZE = "AdaptiveAuth.GraalJS.SourceCacheSize";
+        public static final int DEFAULT_GRAALJS_SOURCE_CACHE_SIZE = 1000;
     }
 
     /**
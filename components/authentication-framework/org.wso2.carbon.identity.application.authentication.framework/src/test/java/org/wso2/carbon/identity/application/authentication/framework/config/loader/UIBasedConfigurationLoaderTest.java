@@ -18,17 +18,28 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.config.loader;
 
+import org.mockito.MockedStatic;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.application.authentication.framework.AbstractFrameworkTest;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
 import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
 import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertNotSame;
 
 
 @Test
+@WithCarbonHome
 public class UIBasedConfigurationLoaderTest extends AbstractFrameworkTest {
 
     private UIBasedConfigurationLoader loader = new UIBasedConfigurationLoader();
@@ -56,4 +67,87 @@ public class UIBasedConfigurationLoaderTest extends AbstractFrameworkTest {
         assertNotNull(sequenceConfig.getStepMap().get(1));
         assertNotNull(sequenceConfig.getStepMap().get(2));
     }
+
+    public void testGetSequenceReusesStepTemplate() throws Exception {
+
+        AtomicInteger builtSteps = new AtomicInteger();
+        SequenceTemplateCache sequenceTemplateCache = new SequenceTemplateCache(true);
+        UIBasedConfigurationLoader countingLoader = new UIBasedConfigurationLoader() {
+
+            @Override
+            protected StepConfig createStepConfigurationObject(int stepOrder, AuthenticationStep authenticationStep) {
+
+                builtSteps.incrementAndGet();
+                return super.createStepConfigurationObject(stepOrder, authenticationStep);
+            }
+
+            @Override
+            protected SequenceTemplateCache getSequenceTemplateCache() {
+
+                return sequenceTemplateCache;
+            }
+        };
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationResourceId("template-test-app");
+        LocalAndOutboundAuthenticationConfig localAndOutboundAuthenticationConfig
+                = new LocalAndOutboundAuthenticationConfig();
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundAuthenticationConfig);
+        AuthenticationStep step = new AuthenticationStep();
+        step.setStepOrder(1);
+        AuthenticationStep[] authenticationSteps = new AuthenticationStep[] { step };
+
+        try (MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class)) {
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId("test_domain")).thenReturn(1);
+
+            sequenceTemplateCache.invalidateTenant("test_domain");
+            SequenceConfig first = countingLoader.getSequence(serviceProvider, "test_domain", authenticationSteps);
+            first.getStepMap().get(1).setCompleted(true);
+            SequenceConfig second = countingLoader.getSequence(serviceProvider, "test_domain", authenticationSteps);
+
+            // The second sequence is copied from the template, which is not affected by the changes to the first one.
+            assertEquals(builtSteps.get(), 1);
+            assertNotSame(second.getStepMap().get(1), first.getStepMap().get(1));
+            assertFalse(second.getStepMap().get(1).isCompleted());
+
+            // A reloaded application has a new steps instance, hence the template is built again.
+            AuthenticationStep[] reloadedSteps = new AuthenticationStep[] { step };
+            countingLoader.getSequence(serviceProvider, "test_domain", reloadedSteps);
+            assertEquals(builtSteps.get(), 2);
+
+            sequenceTemplateCache.invalidate("test_domain", "template-test-app");
+            countingLoader.getSequence(serviceProvider, "test_domain", reloadedSteps);
+            assertEquals(builtSteps.get(), 3);
+
+            // An identity provider update removes the templates of the tenant.
+            sequenceTemplateCache.invalidateTenant("test_domain");
+            countingLoader.getSequence(serviceProvider, "test_domain", reloadedSteps);
+            assertEquals(builtSteps.get(), 4);
+            countingLoader.getSequence(serviceProvider, "test_domain", reloadedSteps);
+            assertEquals(builtSteps.get(), 4);
+        }
+    }
+
+    public void testGetSequenceDoesNotCacheStepTemplateByDefault() throws Exception {
+
+        AtomicInteger builtSteps = new AtomicInteger();
+        UIBasedConfigurationLoader countingLoader = new UIBasedConfigurationLoader() {
+
+            @Override
+            protected StepConfig createStepConfigurationObject(int stepOrder, AuthenticationStep authenticationStep) {
+
+                builtSteps.incrementAndGet();
+                return super.createStepConfigurationObject(stepOrder, authenticationStep);
+            }
+        };
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationResourceId("default-test-app");
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(new LocalAndOutboundAuthenticationConfig());
+        AuthenticationStep step = new AuthenticationStep();
+        step.setStepOrder(1);
+        AuthenticationStep[] authenticationSteps = new AuthenticationStep[] { step };
+
+        countingLoader.getSequence(serviceProvider, "test_domain", authenticationSteps);
+        countingLoader.getSequence(serviceProvider, "test_domain", authenticationSteps);
+        assertEquals(builtSteps.get(), 2);
+    }
 }
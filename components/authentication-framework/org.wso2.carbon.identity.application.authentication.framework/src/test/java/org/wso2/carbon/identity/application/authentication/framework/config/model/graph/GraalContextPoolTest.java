@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+import org.graalvm.polyglot.Context;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.GraalContextPool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class GraalContextPoolTest {
+
+    private final List<Context> createdContexts = Collections.synchronizedList(new ArrayList<>());
+    private final Supplier<Context> contextFactory = () -> {
+        Context context = mock(Context.class);
+        createdContexts.add(context);
+        return context;
+    };
+
+    @Test
+    public void testAcquireTakesPreWarmedContexts() throws Exception {
+
+        createdContexts.clear();
+        GraalContextPool contextPool = new GraalContextPool(2, contextFactory);
+        try {
+            waitForIdleContexts(contextPool, 2);
+            assertEquals(createdContexts.size(), 2);
+
+            Context first = contextPool.acquire();
+            assertSame(first, createdContexts.get(0));
+            // The borrowed context is replaced in the background.
+            waitForIdleContexts(contextPool, 2);
+            assertEquals(createdContexts.size(), 3);
+
+            Context second = contextPool.acquire();
+            assertSame(second, createdContexts.get(1));
+            assertNotSame(second, first);
+        } finally {
+            contextPool.close();
+        }
+    }
+
+    @Test
+    public void testIdleContextsAreLimitedByPoolSize() throws Exception {
+
+        createdContexts.clear();
+        GraalContextPool contextPool = new GraalContextPool(3, contextFactory);
+        try {
+            waitForIdleContexts(contextPool, 3);
+            for (int i = 0; i < 3; i++) {
+                contextPool.acquire();
+            }
+            waitForIdleContexts(contextPool, 3);
+
+            // Each borrowed context is replaced once, so the pool never holds more contexts than its size.
+            assertEquals(createdContexts.size(), 6);
+            assertEquals(contextPool.getIdleCount(), 3);
+        } finally {
+            contextPool.close();
+        }
+    }
+
+    @Test
+    public void testContextsAreCreatedOnDemandWithoutPooling() {
+
+        createdContexts.clear();
+        GraalContextPool contextPool = new GraalContextPool(0, contextFactory);
+        try {
+            assertEquals(createdContexts.size(), 0);
+            Context first = contextPool.acquire();
+            Context second = contextPool.acquire();
+
+            assertEquals(createdContexts.size(), 2);
+            assertNotSame(second, first);
+            assertEquals(contextPool.getIdleCount(), 0);
+        } finally {
+            contextPool.close();
+        }
+    }
+
+    @Test
+    public void testCloseClosesIdleContexts() throws Exception {
+
+        createdContexts.clear();
+        GraalContextPool contextPool = new GraalContextPool(2, contextFactory);
+        waitForIdleContexts(contextPool, 2);
+        Context borrowed = contextPool.acquire();
+        waitForIdleContexts(contextPool, 2);
+        contextPool.close();
+
+        assertEquals(contextPool.getIdleCount(), 0);
+        verify(borrowed, never()).close();
+        verify(createdContexts.get(1)).close();
+        verify(createdContexts.get(2)).close();
+    }
+
+    private static void waitForIdleContexts(GraalContextPool contextPool, int count) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (contextPool.getIdleCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(contextPool.getIdleCount(), count);
+    }
+}
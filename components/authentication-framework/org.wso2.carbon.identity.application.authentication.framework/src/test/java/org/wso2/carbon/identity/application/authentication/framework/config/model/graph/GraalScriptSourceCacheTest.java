@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+import org.graalvm.polyglot.Source;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.GraalScriptSourceCache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class GraalScriptSourceCacheTest {
+
+    private static final String SCRIPT = "var onLoginRequest = function(context) { executeStep(1); };";
+
+    @AfterMethod
+    public void tearDown() {
+
+        GraalScriptSourceCache.getInstance().setMaxEntries(1000);
+        GraalScriptSourceCache.getInstance().clear();
+    }
+
+    @Test
+    public void testSourceIsReusedPerApplication() throws Exception {
+
+        GraalScriptSourceCache sourceCache = GraalScriptSourceCache.getInstance();
+        Source source = sourceCache.getScriptSource("carbon.super", "app1", SCRIPT);
+
+        assertSame(sourceCache.getScriptSource("carbon.super", "app1", SCRIPT), source);
+        assertNotSame(sourceCache.getScriptSource("carbon.super", "app2", SCRIPT), source);
+        assertNotSame(sourceCache.getScriptSource("wso2.com", "app1", SCRIPT), source);
+        assertNotSame(sourceCache.getScriptSource("carbon.super", "app1", SCRIPT + "\n"), source);
+        assertEquals(sourceCache.size(), 4);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSourceIsEvicted() throws Exception {
+
+        GraalScriptSourceCache sourceCache = GraalScriptSourceCache.getInstance();
+        sourceCache.setMaxEntries(2);
+        Source first = sourceCache.getScriptSource("carbon.super", "app1", SCRIPT);
+        Source second = sourceCache.getScriptSource("carbon.super", "app2", SCRIPT);
+
+        // Access the first source so that the second one becomes the eldest entry.
+        assertSame(sourceCache.getScriptSource("carbon.super", "app1", SCRIPT), first);
+        sourceCache.getSharedSource("(function() {})");
+
+        assertEquals(sourceCache.size(), 2);
+        assertSame(sourceCache.getScriptSource("carbon.super", "app1", SCRIPT), first);
+        assertNotSame(sourceCache.getScriptSource("carbon.super", "app2", SCRIPT), second);
+    }
+}
@@ -23,7 +23,10 @@ import org.apache.commons.lang.StringUtils;
 import org.mockito.MockedStatic;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.Application;
 import org.wso2.carbon.identity.application.authentication.framework.model.FederatedUserSession;
+import org.wso2.carbon.identity.application.authentication.framework.model.UserSession;
+import org.wso2.carbon.identity.application.authentication.framework.util.SessionMgtConstants;
 import org.wso2.carbon.identity.common.testng.WithH2Database;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.testutil.IdentityBaseTest;
@@ -33,7 +36,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.sql.DataSource;
@@ -41,6 +46,7 @@ import javax.sql.DataSource;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 @WithH2Database(files = {"dbScripts/h2.sql"})
 public class UserSessionDAOImplTest extends IdentityBaseTest {
@@ -49,6 +55,7 @@ public class UserSessionDAOImplTest extends IdentityBaseTest {
 
     private static Map<String, BasicDataSource> dataSourceMap = new HashMap<>();
     private static final String DB_NAME = "testOIDCSLO";
+    private static final String SESSIONS_DB_NAME = "testUserSessions";
     private static final String SESSION_CONTEXT_KEY
             = "02278824dfe9862d265e389365c0a71c365401672491b78c6ee7dd6fc44d8af4";
     private static final String IDP_SESSION_INDEX = "15043ffc-877d-4205-af41-9b107f7da38c";
@@ -141,4 +148,65 @@ public class UserSessionDAOImplTest extends IdentityBaseTest {
             assertEquals(federatedUserSession.getProtocolType(), PROTOCOL_TYPE);
         }
     }
+
+    @Test
+    public void testGetSessionsOfSessionIds() throws Exception {
+
+        initiateH2Base(SESSIONS_DB_NAME, getFilePath("h2.sql"));
+        try (Connection connection = getConnection(SESSIONS_DB_NAME)) {
+            connection.createStatement().executeUpdate("INSERT INTO SP_APP (ID, TENANT_ID, APP_NAME, USER_STORE, " +
+                    "USERNAME, AUTH_TYPE, UUID) VALUES (1, -1234, 'app-1', 'PRIMARY', 'admin', 'default', " +
+                    "'app-1-uuid'), (2, -1234, 'app-2', 'PRIMARY', 'admin', 'default', 'app-2-uuid')");
+            connection.createStatement().executeUpdate("INSERT INTO IDN_AUTH_SESSION_APP_INFO (SESSION_ID, SUBJECT, " +
+                    "APP_ID, INBOUND_AUTH_TYPE) VALUES ('session-1', 'alice', 1, 'oauth2'), " +
+                    "('session-1', 'alice', 2, 'samlsso'), ('session-2', 'bob', 2, 'oauth2'), " +
+                    "('session-3', 'carol', 99, 'oauth2')");
+            connection.createStatement().executeUpdate("INSERT INTO IDN_AUTH_SESSION_META_DATA (SESSION_ID, " +
+                    "PROPERTY_TYPE, `VALUE`) VALUES ('session-1', '" + SessionMgtConstants.IP_ADDRESS +
+                    "', '10.0.0.1'), ('session-1', '" + SessionMgtConstants.USER_AGENT + "', 'Firefox'), " +
+                    "('session-2', '" + SessionMgtConstants.LOGIN_TIME + "', '1700000000000')");
+        }
+
+        // The session ids span two queries, with a session at the start of each of them.
+        List<String> sessionIds = new ArrayList<>();
+        sessionIds.add("session-1");
+        for (int i = 0; i < 999; i++) {
+            sessionIds.add("missing-session-" + i);
+        }
+        sessionIds.add("session-2");
+        sessionIds.add("session-3");
+
+        try (MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            DataSource dataSource = dataSourceMap.get(SESSIONS_DB_NAME);
+            identityDatabaseUtil.when(IdentityDatabaseUtil::getDataSource).thenReturn(dataSource);
+            identityDatabaseUtil.when(IdentityDatabaseUtil::getSessionDataSource).thenReturn(dataSource);
+            identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(false))
+                    .thenAnswer(invocation -> dataSource.getConnection());
+
+            List<UserSession> userSessions = userSessionDAO.getSessions(sessionIds);
+
+            // The session of an application which is not in the SP_APP table is not returned.
+            assertEquals(userSessions.size(), 2);
+            UserSession firstSession = userSessions.get(0);
+            assertEquals(firstSession.getSessionId(), "session-1");
+            assertEquals(firstSession.getApplications().size(), 2);
+            Map<String, String> applications = new HashMap<>();
+            for (Application application : firstSession.getApplications()) {
+                assertEquals(application.getSubject(), "alice");
+                applications.put(application.getAppName(), application.getResourceId());
+            }
+            assertEquals(applications.get("app-1"), "app-1-uuid");
+            assertEquals(applications.get("app-2"), "app-2-uuid");
+            assertEquals(firstSession.getIp(), "10.0.0.1");
+            assertEquals(firstSession.getUserAgent(), "Firefox");
+
+            UserSession secondSession = userSessions.get(1);
+            assertEquals(secondSession.getSessionId(), "session-2");
+            assertEquals(secondSession.getApplications().size(), 1);
+            assertEquals(secondSession.getApplications().get(0).getAppName(), "app-2");
+            assertEquals(secondSession.getApplications().get(0).getSubject(), "bob");
+            assertEquals(secondSession.getLoginTime(), "1700000000000");
+            assertNull(secondSession.getIp());
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.model.script.AuthenticationScriptConfig;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.user.core.UserCoreConstants;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ClaimFetchPlannerTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String EMAIL_CLAIM = "http://wso2.org/claims/emailaddress";
+    private static final String COUNTRY_CLAIM = "http://wso2.org/claims/country";
+    private static final String USERNAME_CLAIM = "http://wso2.org/claims/username";
+    private static final String MOBILE_CLAIM = "http://wso2.org/claims/mobile";
+
+    @Test
+    public void testClaimsToFetch() {
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(IdentityUtil::getLocalGroupsClaimURI).thenReturn(UserCoreConstants.ROLE_CLAIM);
+            ClaimFetchPlanner planner = new ClaimFetchPlanner(true, 10);
+
+            ServiceProvider serviceProvider = createServiceProvider("app-1",
+                    "var country = context.currentKnownSubject.localClaims['" + COUNTRY_CLAIM + "'];");
+            ApplicationConfig appConfig = createApplicationConfig(serviceProvider);
+
+            Set<String> claims = planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig);
+            assertTrue(claims.contains(EMAIL_CLAIM));
+            assertTrue(claims.contains(USERNAME_CLAIM));
+            assertTrue(claims.contains(COUNTRY_CLAIM));
+            assertTrue(claims.contains(UserCoreConstants.ROLE_CLAIM));
+            assertTrue(claims.contains(FrameworkConstants.IDP_TYPE_CLAIM));
+            assertFalse(claims.contains(MOBILE_CLAIM));
+
+            // The plan is reused for the same service provider instance.
+            assertSame(planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig), claims);
+            assertEquals(planner.size(), 1);
+
+            // A reloaded service provider gets a new plan.
+            ApplicationConfig reloadedAppConfig = createApplicationConfig(createServiceProvider("app-1", null));
+            Set<String> reloadedClaims = planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", reloadedAppConfig);
+            assertNotSame(reloadedClaims, claims);
+            assertFalse(reloadedClaims.contains(COUNTRY_CLAIM));
+            assertEquals(planner.size(), 1);
+
+            planner.invalidateTenant(TENANT_DOMAIN);
+            assertEquals(planner.size(), 0);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPlanIsRemoved() {
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(IdentityUtil::getLocalGroupsClaimURI).thenReturn(UserCoreConstants.ROLE_CLAIM);
+            ClaimFetchPlanner planner = new ClaimFetchPlanner(true, 2);
+
+            ApplicationConfig appConfig1 = createApplicationConfig(createServiceProvider("app-1", null));
+            ApplicationConfig appConfig2 = createApplicationConfig(createServiceProvider("app-2", null));
+            ApplicationConfig appConfig3 = createApplicationConfig(createServiceProvider("app-3", null));
+            Set<String> claims1 = planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig1);
+            Set<String> claims2 = planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig2);
+            // Use the plan of the first application, so that the plan of the second application is removed.
+            assertSame(planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig1), claims1);
+            planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig3);
+
+            assertEquals(planner.size(), 2);
+            assertSame(planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig1), claims1);
+            assertNotSame(planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig2), claims2);
+        }
+    }
+
+    @Test
+    public void testAllClaimsFetchedWhenNotPlanned() {
+
+        ApplicationConfig appConfig = createApplicationConfig(createServiceProvider("app-2", null));
+
+        assertNull(new ClaimFetchPlanner(false, 10).getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig));
+
+        ClaimFetchPlanner planner = new ClaimFetchPlanner(true, 10);
+        assertNull(planner.getClaimsToFetch(TENANT_DOMAIN, FrameworkConstants.RequestType.CLAIM_TYPE_OPENID,
+                appConfig));
+        when(appConfig.getRequestedClaimMappings()).thenReturn(Collections.emptyMap());
+        assertNull(planner.getClaimsToFetch(TENANT_DOMAIN, "oidc", appConfig));
+        assertEquals(planner.size(), 0);
+    }
+
+    private ServiceProvider createServiceProvider(String applicationId, String script) {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationResourceId(applicationId);
+        LocalAndOutboundAuthenticationConfig authenticationConfig = new LocalAndOutboundAuthenticationConfig();
+        if (script != null) {
+            AuthenticationScriptConfig scriptConfig = new AuthenticationScriptConfig();
+            scriptConfig.setContent(script);
+            scriptConfig.setEnabled(true);
+            authenticationConfig.setAuthenticationScriptConfig(scriptConfig);
+        }
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(authenticationConfig);
+        return serviceProvider;
+    }
+
+    private ApplicationConfig createApplicationConfig(ServiceProvider serviceProvider) {
+
+        Map<String, String> claimMappings = new HashMap<>();
+        claimMappings.put(EMAIL_CLAIM, EMAIL_CLAIM);
+        claimMappings.put(MOBILE_CLAIM, MOBILE_CLAIM);
+        claimMappings.put(USERNAME_CLAIM, USERNAME_CLAIM);
+        ApplicationConfig appConfig = mock(ApplicationConfig.class);
+        when(appConfig.getServiceProvider()).thenReturn(serviceProvider);
+        when(appConfig.getClaimMappings()).thenReturn(claimMappings);
+        when(appConfig.getRequestedClaimMappings()).thenReturn(Collections.singletonMap(EMAIL_CLAIM, EMAIL_CLAIM));
+        when(appConfig.getMandatoryClaimMappings()).thenReturn(Collections.emptyMap());
+        when(appConfig.getSubjectClaimUri()).thenReturn(USERNAME_CLAIM);
+        return appConfig;
+    }
+}
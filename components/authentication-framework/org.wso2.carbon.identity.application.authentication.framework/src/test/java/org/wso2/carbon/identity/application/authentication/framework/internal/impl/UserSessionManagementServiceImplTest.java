@@ -24,11 +24,15 @@ import org.mockito.MockedStatic;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
 import org.wso2.carbon.identity.application.authentication.framework.dao.impl.UserSessionDAOImpl;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.internal.util.SessionEventPublishingUtil;
 import org.wso2.carbon.identity.application.authentication.framework.model.Application;
 import org.wso2.carbon.identity.application.authentication.framework.model.UserSession;
+import org.wso2.carbon.identity.application.authentication.framework.model.UserSessionPage;
+import org.wso2.carbon.identity.application.authentication.framework.services.SessionManagementService;
 import org.wso2.carbon.identity.application.authentication.framework.store.UserSessionStore;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
@@ -36,22 +40,34 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Sessio
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.FederatedAssociationManager;
+import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+import org.wso2.carbon.user.core.UserRealm;
 import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.tenant.TenantManager;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -210,6 +226,168 @@ public class UserSessionManagementServiceImplTest {
         assertTrue(userSessions.stream().anyMatch(session -> TEST_SESSION_ID_2.equals(session.getSessionId())));
     }
 
+    @Test
+    public void testGetSessionPageByUserId() throws Exception {
+
+        List<String> sessionIds = new ArrayList<>();
+        sessionIds.add(TEST_SESSION_ID_1);
+        sessionIds.add(TEST_SESSION_ID_2);
+        when(userSessionStore.getActiveSessionIds(TEST_USER_ID, null, 2)).thenReturn(sessionIds);
+        when(userSessionStore.getActiveSessionIds(TEST_USER_ID, TEST_SESSION_ID_2, 2)).thenReturn(new ArrayList<>());
+
+        List<UserSession> userSessions = new ArrayList<>();
+        userSessions.add(createTestUserSession(TEST_SESSION_ID_2, null));
+        try (MockedConstruction<UserSessionDAOImpl> userSessionDAOConstruction =
+                     mockConstruction(UserSessionDAOImpl.class,
+                             (mock, context) -> when(mock.getSessions(sessionIds)).thenReturn(userSessions))) {
+
+            UserSessionPage page = userSessionManagementService.getSessionPageByUserId(TEST_USER_ID,
+                    TEST_TENANT_DOMAIN, null, 2);
+            assertEquals(page.getSessions().size(), 1);
+            assertEquals(page.getSessions().get(0).getUserId(), TEST_USER_ID);
+            assertEquals(page.getNextCursor(), TEST_SESSION_ID_2);
+
+            page = userSessionManagementService.getSessionPageByUserId(TEST_USER_ID, TEST_TENANT_DOMAIN,
+                    page.getNextCursor(), 2);
+            assertTrue(page.getSessions().isEmpty());
+            assertNull(page.getNextCursor());
+        }
+    }
+
+    @Test
+    public void testGetEffectiveSessionIdListLooksUpCacheFirst() throws Exception {
+
+        List<String> sessionIds = new ArrayList<>();
+        sessionIds.add(TEST_SESSION_ID_1);
+        sessionIds.add(TEST_SESSION_ID_2);
+        List<String> liveSessionIds = new ArrayList<>();
+        liveSessionIds.add(TEST_SESSION_ID_1);
+        List<UserSession> userSessions = new ArrayList<>();
+        userSessions.add(createTestUserSession(TEST_SESSION_ID_1, TEST_USER_ID));
+        SessionContext cachedSessionContext = mock(SessionContext.class);
+        when(cachedSessionContext.getProperties()).thenReturn(new HashMap<>());
+
+        Method method = UserSessionManagementServiceImpl.class.getDeclaredMethod("getEffectiveSessionIdList",
+                List.class);
+        method.setAccessible(true);
+        try (MockedStatic<FrameworkUtils> frameworkUtilsMockedStatic = mockStatic(FrameworkUtils.class);
+             MockedConstruction<UserSessionDAOImpl> userSessionDAOConstruction =
+                     mockConstruction(UserSessionDAOImpl.class,
+                             (mock, context) -> when(mock.getSessions(liveSessionIds)).thenReturn(userSessions))) {
+
+            frameworkUtilsMockedStatic.when(FrameworkUtils::getLoginTenantDomainFromContext).thenReturn("carbon.super");
+            // Only the first session is alive, e.g. it is still in the cache and waiting to be persisted.
+            frameworkUtilsMockedStatic.when(() -> FrameworkUtils.getSessionContextFromCache(TEST_SESSION_ID_1,
+                    "carbon.super")).thenReturn(cachedSessionContext);
+
+            @SuppressWarnings("unchecked")
+            List<String> effectiveSessionIds = (List<String>) method.invoke(userSessionManagementService,
+                    sessionIds);
+            assertEquals(effectiveSessionIds, liveSessionIds);
+        }
+    }
+
+    @Test
+    public void testTerminateSessionsByUserIdTerminatesEveryPage() throws Exception {
+
+        String thirdSessionId = "test-session-id-3";
+        List<String> firstPage = Arrays.asList(TEST_SESSION_ID_1, TEST_SESSION_ID_2);
+        List<String> secondPage = Collections.singletonList(thirdSessionId);
+        when(userSessionStore.getSessionIds(TEST_USER_ID, null, 2)).thenReturn(firstPage);
+        when(userSessionStore.getSessionIds(TEST_USER_ID, TEST_SESSION_ID_2, 2)).thenReturn(secondPage);
+
+        SessionManagementService sessionManagementService =
+                terminateSessions(false, Arrays.asList(firstPage, secondPage));
+
+        verify(sessionManagementService).removeSession(TEST_SESSION_ID_1);
+        verify(sessionManagementService).removeSession(TEST_SESSION_ID_2);
+        verify(sessionManagementService).removeSession(thirdSessionId);
+        verify(userSessionStore).removeTerminatedSessionRecords(firstPage);
+        verify(userSessionStore).removeTerminatedSessionRecords(secondPage);
+        // The last page is shorter than the batch size, hence no further page is read.
+        verify(userSessionStore, never()).getSessionIds(TEST_USER_ID, thirdSessionId, 2);
+    }
+
+    @Test
+    public void testTerminateSessionsByUserIdPreservesCurrentSession() throws Exception {
+
+        List<String> firstPage = Arrays.asList(TEST_SESSION_ID_1, TEST_SESSION_ID_2);
+        when(userSessionStore.getSessionIds(TEST_USER_ID, null, 2)).thenReturn(firstPage);
+        when(userSessionStore.getSessionIds(TEST_USER_ID, TEST_SESSION_ID_2, 2)).thenReturn(new ArrayList<>());
+
+        IdentityUtil.threadLocalProperties.get().put(FrameworkConstants.CURRENT_SESSION_IDENTIFIER,
+                TEST_SESSION_ID_2);
+        SessionManagementService sessionManagementService;
+        try {
+            sessionManagementService = terminateSessions(true,
+                    Collections.singletonList(Collections.singletonList(TEST_SESSION_ID_1)));
+        } finally {
+            IdentityUtil.threadLocalProperties.remove();
+        }
+
+        verify(sessionManagementService).removeSession(TEST_SESSION_ID_1);
+        verify(sessionManagementService, never()).removeSession(TEST_SESSION_ID_2);
+        verify(userSessionStore).removeTerminatedSessionRecords(Collections.singletonList(TEST_SESSION_ID_1));
+    }
+
+    /**
+     * Terminates the sessions of the test user with a batch size of two, and verifies that a termination event is
+     * published for each of the given lists of terminated session ids.
+     */
+    private SessionManagementService terminateSessions(boolean preserveCurrentSession,
+                                                       List<List<String>> terminatedSessionIds) throws Exception {
+
+        clearInvocations(userSessionStore);
+        SessionManagementService sessionManagementService = mock(SessionManagementService.class);
+        Field sessionManagementServiceField =
+                UserSessionManagementServiceImpl.class.getDeclaredField("sessionManagementService");
+        sessionManagementServiceField.setAccessible(true);
+        Object defaultSessionManagementService = sessionManagementServiceField.get(userSessionManagementService);
+        sessionManagementServiceField.set(userSessionManagementService, sessionManagementService);
+
+        identityUtilMockedStatic.when(() -> IdentityUtil.getProperty(FrameworkConstants.Config.USER_SESSION_BATCH_SIZE))
+                .thenReturn("2");
+        // No federated association is found, as the username of the user can not be resolved.
+        when(realmService.getTenantUserRealm(TEST_TENANT_ID)).thenReturn(mock(UserRealm.class));
+        when(sessionContext.getProperties()).thenReturn(new HashMap<>());
+
+        PrivilegedCarbonContext.startTenantFlow();
+        try (MockedStatic<FrameworkUtils> frameworkUtilsMockedStatic = mockStatic(FrameworkUtils.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtilMockedStatic = mockStatic(IdPManagementUtil.class);
+             MockedStatic<SessionEventPublishingUtil> sessionEventPublishingUtilMockedStatic =
+                     mockStatic(SessionEventPublishingUtil.class);
+             MockedConstruction<UserSessionDAOImpl> userSessionDAOConstruction =
+                     mockConstruction(UserSessionDAOImpl.class, (mock, context) ->
+                             when(mock.getSessions(anyList())).thenAnswer(invocation -> {
+                                 List<UserSession> userSessions = new ArrayList<>();
+                                 for (Object sessionId : (List<?>) invocation.getArgument(0)) {
+                                     userSessions.add(createTestUserSession((String) sessionId, TEST_USER_ID));
+                                 }
+                                 return userSessions;
+                             }))) {
+
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(TEST_TENANT_DOMAIN);
+            frameworkUtilsMockedStatic.when(FrameworkUtils::getLoginTenantDomainFromContext)
+                    .thenReturn(TEST_TENANT_DOMAIN);
+            frameworkUtilsMockedStatic.when(() -> FrameworkUtils.getSessionContextFromCache(anyString(),
+                    eq(TEST_TENANT_DOMAIN))).thenReturn(sessionContext);
+            idPManagementUtilMockedStatic.when(() ->
+                    IdPManagementUtil.getPreserveCurrentSessionAtPasswordUpdate(TEST_TENANT_DOMAIN))
+                    .thenReturn(preserveCurrentSession);
+
+            assertTrue(userSessionManagementService.terminateSessionsByUserId(TEST_USER_ID));
+
+            for (List<String> sessionIds : terminatedSessionIds) {
+                sessionEventPublishingUtilMockedStatic.verify(() ->
+                        SessionEventPublishingUtil.publishSessionTerminationEvent(TEST_USER_ID, sessionIds));
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            sessionManagementServiceField.set(userSessionManagementService, defaultSessionManagementService);
+        }
+        return sessionManagementService;
+    }
+
     private UserSession createTestUserSession(String sessionId, String userId) {
 
         UserSession userSession = new UserSession();
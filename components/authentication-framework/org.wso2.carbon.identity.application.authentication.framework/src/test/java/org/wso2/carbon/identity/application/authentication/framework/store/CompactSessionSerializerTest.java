@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthHistory;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for the compact session serializer.
+ */
+public class CompactSessionSerializerTest {
+
+    @DataProvider
+    public Object[][] compressionThresholds() {
+
+        return new Object[][]{
+                {-1},
+                {0},
+                {CompactSessionSerializer.DEFAULT_COMPRESSION_THRESHOLD}
+        };
+    }
+
+    @Test(dataProvider = "compressionThresholds")
+    public void testSessionContextRoundTrip(int compressionThreshold) throws Exception {
+
+        CompactSessionSerializer serializer = new CompactSessionSerializer(compressionThreshold);
+        SessionContext sessionContext = buildSessionContext();
+
+        SessionContext deserialized = (SessionContext) serializer.deSerializeSessionObject(
+                serializer.serializeSessionObject(sessionContext));
+
+        assertEquals(deserialized.getAuthenticatedSequences().keySet(),
+                sessionContext.getAuthenticatedSequences().keySet());
+        assertEquals(deserialized.getSessionAuthHistory().getHistory().size(), 1);
+        assertEquals(deserialized.getSessionAuthHistory().getHistory().get(0).getAuthenticatorName(),
+                "BasicAuthenticator");
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) deserialized.getProperty("user");
+        assertEquals(authenticatedUser.getUserName(), "admin");
+        assertEquals(authenticatedUser.getTenantDomain(), "carbon.super");
+    }
+
+    @Test
+    public void testCompactPayloadIsSmallerThanJavaSerialization() throws Exception {
+
+        SessionContext sessionContext = buildSessionContext();
+        int javaSize = new JavaSessionSerializer().serializeSessionObject(sessionContext).available();
+        int compactSize = new CompactSessionSerializer(-1).serializeSessionObject(sessionContext).available();
+
+        assertTrue(compactSize < javaSize, "Compact size: " + compactSize + ", Java size: " + javaSize);
+    }
+
+    @Test
+    public void testDeserializeJavaSerializedPayload() throws Exception {
+
+        Map<String, String> value = new HashMap<>();
+        value.put("key", "value");
+        InputStream javaSerialized = new JavaSessionSerializer().serializeSessionObject(value);
+
+        assertEquals(new CompactSessionSerializer().deSerializeSessionObject(javaSerialized), value);
+    }
+
+    @Test
+    public void testDeserializePayloadOfEvolvedClass() throws Exception {
+
+        CompactSessionSerializer serializer = new CompactSessionSerializer(-1);
+        SessionDataV1 sessionData = new SessionDataV1();
+        sessionData.name = "session";
+        sessionData.count = 5;
+        sessionData.items.add("item");
+        Map<String, Object> value = new HashMap<>();
+        value.put("data", sessionData);
+        byte[] payload = toByteArray(serializer.serializeSessionObject(value));
+
+        // Rename the class in the payload, as if it was written by the previous version of SessionDataV2, which
+        // has no count field and did not have the added field.
+        String className = SessionDataV1.class.getName();
+        String payloadString = new String(payload, StandardCharsets.ISO_8859_1);
+        int index = payloadString.indexOf(className);
+        assertTrue(index > 0);
+        assertEquals(payloadString.indexOf(className, index + 1), -1);
+        payload[index + className.length() - 1] = '2';
+
+        Map<?, ?> deserialized = (Map<?, ?>) serializer.deSerializeSessionObject(new ByteArrayInputStream(payload));
+        SessionDataV2 evolvedData = (SessionDataV2) deserialized.get("data");
+        assertEquals(evolvedData.name, "session");
+        assertNull(evolvedData.added);
+        assertEquals(evolvedData.items, Collections.singletonList("item"));
+    }
+
+    @Test(expectedExceptions = SessionSerializerException.class)
+    public void testDeserializeUnsupportedVersion() throws Exception {
+
+        new CompactSessionSerializer().deSerializeSessionObject(
+                new ByteArrayInputStream(new byte[]{(byte) 0xC5, (byte) 0x53, 99, 0}));
+    }
+
+    private static byte[] toByteArray(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private SessionContext buildSessionContext() {
+
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+        authenticatedUser.setUserName("admin");
+        authenticatedUser.setTenantDomain("carbon.super");
+        authenticatedUser.setUserStoreDomain("PRIMARY");
+
+        SessionContext sessionContext = new SessionContext();
+        sessionContext.addProperty("user", authenticatedUser);
+        sessionContext.getSessionAuthHistory().push(new AuthHistory("BasicAuthenticator", "LOCAL"));
+        return sessionContext;
+    }
+
+    /**
+     * Session data class as written by a node.
+     */
+    public static class SessionDataV1 implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private int count;
+        private List<String> items = new ArrayList<>();
+    }
+
+    /**
+     * Compatible version of the session data class, with a removed and an added field.
+     */
+    public static class SessionDataV2 implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private String added;
+        private List<String> items;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.persistence.JDBCPersistenceManager;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit tests for the partition planning, the adaptive chunk size and the partitioned expired data cleanup.
+ */
+public class PartitionedExpiredDataCleanerTest extends DataStoreBaseTest {
+
+    private static final String DB_NAME = "PartitionedExpiredDataCleaner";
+    private static final String TABLE_NAME = "IDN_AUTH_SESSION_STORE";
+    private static final String DELETE_QUERY_TEMPLATE =
+            "DELETE FROM IDN_AUTH_SESSION_STORE WHERE EXPIRY_TIME >= ? AND EXPIRY_TIME < ? LIMIT %d";
+
+    @Test
+    public void testPlanPartitions() {
+
+        assertEquals(PartitionedExpiredDataCleaner.planPartitions(1000, 1800, 4), new long[]{1200, 1400, 1600, 1800});
+        // The last partition takes the remainder of the range.
+        assertEquals(PartitionedExpiredDataCleaner.planPartitions(0, 10, 3), new long[]{3, 6, 10});
+        assertEquals(PartitionedExpiredDataCleaner.planPartitions(1000, 1002, 4), new long[]{1002});
+        // A high-water mark ahead of the current time falls back to a single partition.
+        assertEquals(PartitionedExpiredDataCleaner.planPartitions(2000, 1000, 4), new long[]{1000});
+        assertEquals(PartitionedExpiredDataCleaner.planPartitions(0, 1000, 1), new long[]{1000});
+    }
+
+    @Test
+    public void testChunkSizeFollowsLatency() {
+
+        AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(1000, 100, 4000, 100);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        long slow = TimeUnit.MILLISECONDS.toNanos(400);
+
+        assertEquals(chunkSize.record(1000, 1000, fast), 1500);
+        // A partial chunk does not grow the chunk size.
+        assertEquals(chunkSize.record(1500, 20, fast), 1500);
+        assertEquals(chunkSize.record(1500, 1500, fast), 2250);
+        assertEquals(chunkSize.record(2250, 2250, fast), 3375);
+        assertEquals(chunkSize.record(3375, 3375, fast), 4000);
+        assertEquals(chunkSize.record(4000, 4000, TimeUnit.MILLISECONDS.toNanos(80)), 4000);
+
+        assertEquals(chunkSize.record(4000, 4000, slow), 1000);
+        assertEquals(chunkSize.record(1000, 1000, TimeUnit.SECONDS.toNanos(60)), 100);
+    }
+
+    @Test
+    public void testConcurrentWorkersAdjustCurrentSize() {
+
+        AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(2000, 100, 4000, 100);
+
+        assertEquals(chunkSize.record(2000, 2000, TimeUnit.MILLISECONDS.toNanos(200)), 1000);
+        // A fast chunk of another worker which started with the old chunk size grows the shrunk size.
+        assertEquals(chunkSize.record(2000, 2000, TimeUnit.MILLISECONDS.toNanos(10)), 1500);
+        // A fast chunk smaller than the current size does not grow it.
+        assertEquals(chunkSize.record(1000, 1000, TimeUnit.MILLISECONDS.toNanos(10)), 1500);
+        // A slow chunk which started with a smaller chunk size never grows the current size.
+        assertEquals(chunkSize.record(1000, 1000, TimeUnit.MILLISECONDS.toNanos(150)), 666);
+    }
+
+    @Test
+    public void testCleanUpMetrics() {
+
+        AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(500, 100, 1000, 100);
+        SessionCleanUpMetrics metrics = new SessionCleanUpMetrics("IDN_AUTH_SESSION_STORE", chunkSize);
+
+        metrics.recordRunStart(1200);
+        metrics.recordChunk(500, TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordChunk(500, TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(metrics.getBacklog(), 200);
+        metrics.recordChunk(300, TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(metrics.getBacklog(), 0);
+        metrics.recordRunEnd(1300, TimeUnit.SECONDS.toNanos(2), 5000);
+
+        assertEquals(metrics.getRunCount(), 1);
+        assertEquals(metrics.getRemovedRowCount(), 1300);
+        assertEquals(metrics.getDeletedChunkCount(), 3);
+        assertEquals(metrics.getLastRunRowsPerSecond(), 650.0);
+        assertEquals(metrics.getAverageChunkLatencyMillis(), 40.0);
+        assertEquals(metrics.getHighWaterMark(), 5000);
+        assertEquals(metrics.getCurrentChunkSize(), 500);
+    }
+
+    @Test
+    public void testFailedPartitionIsResumedFromHighWaterMark() throws Exception {
+
+        initH2DB(DB_NAME, getDatabaseScriptFilePath("h2.sql"));
+        PartitionedExpiredDataCleaner cleaner = new PartitionedExpiredDataCleaner(TABLE_NAME, DELETE_QUERY_TEMPLATE,
+                3, 1, 0, new AdaptiveChunkSize(1, 1, 1, 100));
+        // The partitions are deleted on the worker threads, which do not see static mocks.
+        Field instanceField = JDBCPersistenceManager.class.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+        Object persistenceManager = instanceField.get(null);
+        JDBCPersistenceManager mockedPersistenceManager = mock(JDBCPersistenceManager.class);
+        AtomicInteger deleteConnectionCount = new AtomicInteger();
+        when(mockedPersistenceManager.getSessionDBConnection(anyBoolean())).thenAnswer(invocation -> {
+            // A single worker deletes the partitions in order, so the second one fails.
+            if (invocation.getArgument(0, Boolean.class) && deleteConnectionCount.incrementAndGet() == 2) {
+                throw IdentityRuntimeException.error("Database is not available.");
+            }
+            return getConnection(DB_NAME);
+        });
+        instanceField.set(null, mockedPersistenceManager);
+        try {
+            for (long expiryTime : new long[]{100, 350, 450, 650, 800, 950, 1200}) {
+                addSessionData("session-" + expiryTime, expiryTime);
+            }
+
+            // Partitions [0, 400), [400, 700) and [700, 1000). The failed second partition holds the mark at 400.
+            cleaner.removeExpiredData(1000);
+            assertEquals(getExpiryTimes(), Arrays.asList(450L, 650L, 1200L));
+            assertEquals(cleaner.getHighWaterMark(), 400);
+            assertEquals(cleaner.getMetrics().getRemovedRowCount(), 4);
+
+            // The next run starts from the mark and removes the rows left by the failed partition.
+            cleaner.removeExpiredData(1000);
+            assertEquals(getExpiryTimes(), Arrays.asList(1200L));
+            assertEquals(cleaner.getHighWaterMark(), 1000);
+            assertEquals(cleaner.getMetrics().getRemovedRowCount(), 6);
+
+            // A stopped cleaner skips the run.
+            cleaner.shutdown();
+            addSessionData("session-500", 500);
+            cleaner.removeExpiredData(2000);
+            assertEquals(getExpiryTimes(), Arrays.asList(500L, 1200L));
+        } finally {
+            cleaner.shutdown();
+            instanceField.set(null, persistenceManager);
+            closeH2DB(DB_NAME);
+        }
+    }
+
+    private void addSessionData(String sessionId, long expiryTime) throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME);
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO IDN_AUTH_SESSION_STORE " +
+                     "(SESSION_ID, SESSION_TYPE, OPERATION, TIME_CREATED, TENANT_ID, EXPIRY_TIME) " +
+                     "VALUES (?, 'AppAuthFrameworkSessionContextCache', 'STORE', 1, -1234, ?)")) {
+            statement.setString(1, sessionId);
+            statement.setLong(2, expiryTime);
+            statement.executeUpdate();
+        }
+    }
+
+    private List<Long> getExpiryTimes() throws Exception {
+
+        List<Long> expiryTimes = new ArrayList<>();
+        try (Connection connection = getConnection(DB_NAME);
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT EXPIRY_TIME FROM IDN_AUTH_SESSION_STORE ORDER BY EXPIRY_TIME");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                expiryTimes.add(resultSet.getLong(1));
+            }
+        }
+        return expiryTimes;
+    }
+}
@@ -41,6 +41,8 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -55,6 +57,7 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test class that includes unit tests of Session Data Store.
@@ -215,7 +218,59 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         }
     }
 
+    @Test
+    public void testCoalesceOperations() {
+
+        Object entry = new Object();
+        SessionContextDO storeThenDeleted = new SessionContextDO("00000010", "sessionType", entry, 100, 1);
+        SessionContextDO delete = new SessionContextDO("00000010", "sessionType", null, 101);
+        SessionContextDO olderStore = new SessionContextDO("00000011", "sessionType", entry, 100, 1);
+        SessionContextDO latestStore = new SessionContextDO("00000011", "sessionType", entry, 102, 1);
+        SessionContextDO otherType = new SessionContextDO("00000011", "otherType", entry, 101, 1);
+        SessionContextDO deleteThenStored = new SessionContextDO("00000012", "sessionType", null, 100);
+        SessionContextDO storeAfterDelete = new SessionContextDO("00000012", "sessionType", entry, 101, 1);
+
+        List<SessionContextDO> operations = SessionDataStore.coalesceOperations(Arrays.asList(storeThenDeleted,
+                delete, latestStore, olderStore, otherType, deleteThenStored, storeAfterDelete));
+
+        assertEquals(operations, Arrays.asList(delete, latestStore, otherType, deleteThenStored,
+                storeAfterDelete));
+    }
+
     @Test(dependsOnMethods = "testValidateLastOperationOnSessionData")
+    public void testPersistSessionDataBatch() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = getConnection(DB_NAME);
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            mockIdentityDataBaseUtilConnection(connection, false, identityDatabaseUtil);
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+
+            Object entry = mock(Object.class, withSettings().serializable());
+            long flushedBatchCount = SessionDataStore.getInstance().getPersistMetrics().getFlushedBatchCount();
+            SessionDataStore.getInstance().persistSessionDataBatch(Arrays.asList(
+                    new SessionContextDO("00000003", "sessionType", entry, 30003, 1),
+                    new SessionContextDO("00000004", "sessionType", entry, 30003, 1),
+                    new SessionContextDO("00000004", "sessionType", null, 30004)));
+
+            assertTrue(SessionDataStore.getInstance()
+                    .validateLastOperationOnSessionData("00000003", "sessionType", OPERATION_STORE));
+            assertTrue(SessionDataStore.getInstance()
+                    .validateLastOperationOnSessionData("00000004", "sessionType", OPERATION_DELETE));
+            assertEquals(SessionDataStore.getInstance().getPersistMetrics().getFlushedBatchCount(),
+                    flushedBatchCount + 1);
+        }
+    }
+
+    @Test(dependsOnMethods = "testPersistSessionDataBatch")
     public void testRemoveExpiredSessionData() throws Exception {
 
         try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
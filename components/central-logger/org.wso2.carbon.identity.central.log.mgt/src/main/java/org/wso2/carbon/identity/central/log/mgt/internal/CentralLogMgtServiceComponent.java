@@ -30,6 +30,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.central.log.mgt.hanlder.CentralLogger;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPipeline;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublisher;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
@@ -45,6 +47,7 @@ public class CentralLogMgtServiceComponent {
 
     private static final Log log = LogFactory.getLog(CentralLogMgtServiceComponent.class);
     private ServiceRegistration serviceRegistration = null;
+    private final LogPublisher identityEventLogPublisher = new IdentityEventLogPublisher();
 
     @Activate
     protected void activate(ComponentContext context) {
@@ -57,6 +60,14 @@ public class CentralLogMgtServiceComponent {
             log.debug("Central logger event handler is activated.");
         }
         LoggerUtils.getLogMaskingConfigValue();
+
+        CentralLogMgtServiceComponentHolder holder = CentralLogMgtServiceComponentHolder.getInstance();
+        holder.addLogPublisher(identityEventLogPublisher);
+        LogPipeline logPipeline = LogPipeline.create(holder.getLogPublishers());
+        if (logPipeline != null) {
+            logPipeline.start();
+            holder.setLogPipeline(logPipeline);
+        }
     }
 
     @Deactivate
@@ -65,6 +76,14 @@ public class CentralLogMgtServiceComponent {
         if (log.isDebugEnabled()) {
             log.debug("Central logger event handler is deactivated.");
         }
+        // Publish the logs left in the pipeline before unregistering the event handler.
+        CentralLogMgtServiceComponentHolder holder = CentralLogMgtServiceComponentHolder.getInstance();
+        LogPipeline logPipeline = holder.getLogPipeline();
+        if (logPipeline != null) {
+            holder.setLogPipeline(null);
+            logPipeline.shutdown();
+        }
+        holder.removeLogPublisher(identityEventLogPublisher);
         // Unregistering Central logger event handler.
         if (serviceRegistration != null) {
             serviceRegistration.unregister();
@@ -90,4 +109,24 @@ public class CentralLogMgtServiceComponent {
 
         CentralLogMgtServiceComponentHolder.getInstance().setIdentityEventService(null);
     }
+
+    @Reference(
+            name = "central.log.publisher",
+            service = LogPublisher.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetLogPublisher"
+    )
+    protected void setLogPublisher(LogPublisher logPublisher) {
+
+        CentralLogMgtServiceComponentHolder.getInstance().addLogPublisher(logPublisher);
+        if (log.isDebugEnabled()) {
+            log.debug("Log publisher: " + logPublisher.getClass().getName() + " set in Central logger.");
+        }
+    }
+
+    protected void unsetLogPublisher(LogPublisher logPublisher) {
+
+        CentralLogMgtServiceComponentHolder.getInstance().removeLogPublisher(logPublisher);
+    }
 }
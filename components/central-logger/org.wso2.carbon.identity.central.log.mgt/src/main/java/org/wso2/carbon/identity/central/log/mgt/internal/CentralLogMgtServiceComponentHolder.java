@@ -18,8 +18,13 @@
 
 package org.wso2.carbon.identity.central.log.mgt.internal;
 
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPipeline;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublisher;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Service component holder class for central logger.
  */
@@ -38,6 +43,8 @@ public class CentralLogMgtServiceComponentHolder {
     }
 
     private IdentityEventService identityEventService;
+    private final List<LogPublisher> logPublishers = new CopyOnWriteArrayList<>();
+    private LogPipeline logPipeline;
 
     /**
      * Set identity event service.
@@ -58,4 +65,54 @@ public class CentralLogMgtServiceComponentHolder {
 
         return identityEventService;
     }
+
+    /**
+     * Add a publisher of the logs in the log pipeline.
+     *
+     * @param logPublisher Log publisher.
+     */
+    public void addLogPublisher(LogPublisher logPublisher) {
+
+        logPublishers.add(logPublisher);
+    }
+
+    /**
+     * Remove a publisher of the logs in the log pipeline.
+     *
+     * @param logPublisher Log publisher.
+     */
+    public void removeLogPublisher(LogPublisher logPublisher) {
+
+        logPublishers.remove(logPublisher);
+    }
+
+    /**
+     * Return the publishers of the logs in the log pipeline.
+     *
+     * @return Log publishers.
+     */
+    public List<LogPublisher> getLogPublishers() {
+
+        return logPublishers;
+    }
+
+    /**
+     * Set the log pipeline.
+     *
+     * @param logPipeline Log pipeline.
+     */
+    public void setLogPipeline(LogPipeline logPipeline) {
+
+        this.logPipeline = logPipeline;
+    }
+
+    /**
+     * Return the log pipeline.
+     *
+     * @return Log pipeline, or null if the logs are published synchronously.
+     */
+    public LogPipeline getLogPipeline() {
+
+        return logPipeline;
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.CarbonConstants;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublisher;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.services.IdentityEventService;
+import org.wso2.carbon.utils.AuditLog;
+import org.wso2.carbon.utils.DiagnosticLog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_AUDIT_LOG;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_DIAGNOSTIC_LOG;
+
+/**
+ * Default log publisher which hands the logs from the log pipeline to the audit and diagnostic log event handlers,
+ * the same way the logs are published when the pipeline is disabled.
+ */
+public class IdentityEventLogPublisher implements LogPublisher {
+
+    private static final Log log = LogFactory.getLog(IdentityEventLogPublisher.class);
+
+    @Override
+    public void publishAuditLogs(int tenantId, List<AuditLog> auditLogs) {
+
+        IdentityEventService eventMgtService =
+                CentralLogMgtServiceComponentHolder.getInstance().getIdentityEventService();
+        startTenantFlow(tenantId);
+        try {
+            for (AuditLog auditLog : auditLogs) {
+                try {
+                    eventMgtService.handleEvent(new Event(PUBLISH_AUDIT_LOG,
+                            Map.of(CarbonConstants.LogEventConstants.AUDIT_LOG, auditLog)));
+                } catch (IdentityEventException e) {
+                    log.error("Error occurred when firing the event. Unable to audit the request.", e);
+                }
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Override
+    public void publishDiagnosticLogs(int tenantId, List<DiagnosticLog> diagnosticLogs) {
+
+        IdentityEventService eventMgtService =
+                CentralLogMgtServiceComponentHolder.getInstance().getIdentityEventService();
+        startTenantFlow(tenantId);
+        try {
+            for (DiagnosticLog diagnosticLog : diagnosticLogs) {
+                Map<String, Object> diagnosticLogProperties = new HashMap<>();
+                diagnosticLogProperties.put(CarbonConstants.LogEventConstants.DIAGNOSTIC_LOG, diagnosticLog);
+                diagnosticLogProperties.put(CarbonConstants.LogEventConstants.TENANT_ID, tenantId);
+                try {
+                    eventMgtService.handleEvent(new Event(PUBLISH_DIAGNOSTIC_LOG, diagnosticLogProperties));
+                } catch (IdentityEventException e) {
+                    log.error("Error occurred when firing the diagnostic log event.", e);
+                }
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private void startTenantFlow(int tenantId) {
+
+        PrivilegedCarbonContext.startTenantFlow();
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID) {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantId(tenantId);
+            carbonContext.setTenantDomain(IdentityTenantUtil.getTenantDomain(tenantId));
+        }
+    }
+}
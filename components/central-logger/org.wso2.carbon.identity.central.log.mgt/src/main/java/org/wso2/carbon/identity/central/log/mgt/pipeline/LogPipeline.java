@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityConfigParser;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.utils.AuditLog;
+import org.wso2.carbon.utils.DiagnosticLog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.BATCH_SIZE;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.BUFFER_SIZE;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.DEFAULT_BATCH_SIZE;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.DEFAULT_BUFFER_SIZE;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.DEFAULT_FLUSH_INTERVAL_MILLIS;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.DIAGNOSTIC_LOG_SAMPLING;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.ENABLE;
+import static org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.LogPipeline.FLUSH_INTERVAL_MILLIS;
+
+/**
+ * Asynchronous pipeline of the audit and diagnostic logs.
+ * Logging threads append the logs to a lock-free ring buffer, and a single pipeline thread drains the buffer and
+ * hands the logs to the publishers in batches. Audit logs are never dropped; if the buffer is full they are left to
+ * the caller to publish synchronously. Diagnostic logs are dropped if the buffer is full, and can be sampled per
+ * component. The logs are handed to the publishers in the order they were recorded. Once the pipeline is shut down,
+ * the logs are left to the caller to publish synchronously.
+ */
+public class LogPipeline {
+
+    private static final Log log = LogFactory.getLog(LogPipeline.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final LogRingBuffer<LogRecord> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Map<String, Double> samplingRates;
+    private final List<LogPublisher> publishers;
+    private final LogPipelineMetrics metrics;
+    private final Thread pipelineThread;
+    private final AtomicInteger inFlightProducers = new AtomicInteger();
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    LogPipeline(int bufferSize, int batchSize, long flushIntervalMillis, Map<String, Double> samplingRates,
+                List<LogPublisher> publishers) {
+
+        this.buffer = new LogRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.samplingRates = samplingRates;
+        this.publishers = publishers;
+        this.metrics = new LogPipelineMetrics(buffer);
+        this.pipelineThread = new Thread(this::run, "CentralLogPipeline");
+        this.pipelineThread.setDaemon(true);
+    }
+
+    /**
+     * Create the log pipeline from the identity configurations.
+     *
+     * @param publishers Publishers to hand the logs over to. Changes to the list are picked up by the pipeline.
+     * @return Log pipeline, or null if the pipeline is not enabled.
+     */
+    public static LogPipeline create(List<LogPublisher> publishers) {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE))) {
+            return null;
+        }
+        return new LogPipeline(readPositiveInt(BUFFER_SIZE, DEFAULT_BUFFER_SIZE),
+                readPositiveInt(BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                readPositiveInt(FLUSH_INTERVAL_MILLIS, DEFAULT_FLUSH_INTERVAL_MILLIS),
+                readSamplingRates(), publishers);
+    }
+
+    public void start() {
+
+        running = true;
+        pipelineThread.start();
+        if (log.isDebugEnabled()) {
+            log.debug("Central log pipeline started with a buffer of " + buffer.getCapacity() + " logs.");
+        }
+    }
+
+    /**
+     * Stop accepting logs, and stop the pipeline thread after publishing the logs in the buffer.
+     */
+    public void shutdown() {
+
+        running = false;
+        // Logs which are being added by the producers that passed the running check must still be published.
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+        while (inFlightProducers.get() > 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        stopped = true;
+        LockSupport.unpark(pipelineThread);
+        try {
+            pipelineThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pipelineThread.isAlive()) {
+            log.warn("Central log pipeline did not stop in " + SHUTDOWN_TIMEOUT_MILLIS + "ms. " +
+                    buffer.size() + " logs may not be published.");
+        }
+    }
+
+    /**
+     * Add an audit log to the pipeline.
+     *
+     * @param auditLog Audit log.
+     * @param tenantId ID of the tenant the log is recorded in.
+     * @return False if the log is not accepted and should be published by the caller.
+     */
+    public boolean publishAuditLog(AuditLog auditLog, int tenantId) {
+
+        inFlightProducers.incrementAndGet();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (!offer(new LogRecord(auditLog, null, tenantId))) {
+                metrics.recordOverflow();
+                return false;
+            }
+            return true;
+        } finally {
+            inFlightProducers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Add a diagnostic log to the pipeline. The log is dropped if the buffer is full, or if it is not picked by the
+     * sampling rate of its component.
+     *
+     * @param diagnosticLog Diagnostic log.
+     * @param tenantId      ID of the tenant the log is recorded in.
+     * @return False if the log is not accepted and should be published by the caller.
+     */
+    public boolean publishDiagnosticLog(DiagnosticLog diagnosticLog, int tenantId) {
+
+        inFlightProducers.incrementAndGet();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (!samplingRates.isEmpty()) {
+                Double samplingRate = samplingRates.get(diagnosticLog.getComponentId());
+                if (samplingRate != null && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+                    metrics.recordSampledOut();
+                    return true;
+                }
+            }
+            if (!offer(new LogRecord(null, diagnosticLog, tenantId))) {
+                metrics.recordDropped();
+            }
+            return true;
+        } finally {
+            inFlightProducers.decrementAndGet();
+        }
+    }
+
+    public LogPipelineMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    private boolean offer(LogRecord logRecord) {
+
+        long position = buffer.offer(logRecord);
+        if (position < 0) {
+            return false;
+        }
+        metrics.recordAccepted();
+        // Wake up the pipeline thread once a full batch is waiting instead of at every log.
+        if ((position + 1) % batchSize == 0) {
+            LockSupport.unpark(pipelineThread);
+        }
+        return true;
+    }
+
+    private void run() {
+
+        List<LogRecord> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = stopped;
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            publish(batch);
+            batch.clear();
+        }
+    }
+
+    private void publish(List<LogRecord> batch) {
+
+        // Consecutive logs of the same type and tenant are handed over together, so that the publishers receive the
+        // logs in the order they were recorded.
+        List<LogRun> logRuns = new ArrayList<>();
+        LogRun logRun = null;
+        for (LogRecord logRecord : batch) {
+            boolean audit = logRecord.auditLog != null;
+            if (logRun == null || logRun.audit != audit || logRun.tenantId != logRecord.tenantId) {
+                logRun = new LogRun(audit, logRecord.tenantId);
+                logRuns.add(logRun);
+            }
+            if (audit) {
+                logRun.auditLogs.add(logRecord.auditLog);
+            } else {
+                logRun.diagnosticLogs.add(logRecord.diagnosticLog);
+            }
+        }
+
+        for (LogPublisher publisher : publishers) {
+            for (LogRun run : logRuns) {
+                try {
+                    if (run.audit) {
+                        publisher.publishAuditLogs(run.tenantId, run.auditLogs);
+                    } else {
+                        publisher.publishDiagnosticLogs(run.tenantId, run.diagnosticLogs);
+                    }
+                } catch (RuntimeException e) {
+                    metrics.recordFailedPublication();
+                    log.error("Error while publishing " + run.size() + (run.audit ? " audit" : " diagnostic") +
+                            " logs with " + publisher.getClass().getName(), e);
+                }
+            }
+        }
+        metrics.recordPublished(batch.size());
+    }
+
+    private static int readPositiveInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int parsedValue = Integer.parseInt(value.trim());
+            if (parsedValue > 0) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the warning below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Read the diagnostic log sampling rates configured as componentId:rate, where the rate is the fraction of the
+     * diagnostic logs of the component to publish.
+     */
+    private static Map<String, Double> readSamplingRates() {
+
+        Object configValue = IdentityConfigParser.getInstance().getConfiguration().get(DIAGNOSTIC_LOG_SAMPLING);
+        List<String> configuredRates = new ArrayList<>();
+        if (configValue instanceof List) {
+            for (Object value : (List<?>) configValue) {
+                configuredRates.add(String.valueOf(value));
+            }
+        } else if (configValue instanceof String) {
+            configuredRates.add((String) configValue);
+        }
+        if (configuredRates.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Double> samplingRates = new HashMap<>();
+        for (String configuredRate : configuredRates) {
+            int separatorIndex = configuredRate.lastIndexOf(':');
+            if (separatorIndex <= 0) {
+                log.warn("Invalid diagnostic log sampling rate: " + configuredRate + ". Expected componentId:rate.");
+                continue;
+            }
+            String componentId = configuredRate.substring(0, separatorIndex).trim();
+            try {
+                double rate = Double.parseDouble(configuredRate.substring(separatorIndex + 1).trim());
+                if (rate < 0 || rate > 1) {
+                    throw new NumberFormatException();
+                }
+                samplingRates.put(componentId, rate);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid diagnostic log sampling rate: " + configuredRate + ". The rate should be " +
+                        "between 0 and 1.");
+            }
+        }
+        return samplingRates;
+    }
+
+    /**
+     * Audit or diagnostic log waiting in the buffer.
+     */
+    private static final class LogRecord {
+
+        private final AuditLog auditLog;
+        private final DiagnosticLog diagnosticLog;
+        private final int tenantId;
+
+        LogRecord(AuditLog auditLog, DiagnosticLog diagnosticLog, int tenantId) {
+
+            this.auditLog = auditLog;
+            this.diagnosticLog = diagnosticLog;
+            this.tenantId = tenantId;
+        }
+    }
+
+    /**
+     * Consecutive logs of the same type, recorded in the same tenant.
+     */
+    private static final class LogRun {
+
+        private final boolean audit;
+        private final int tenantId;
+        private final List<AuditLog> auditLogs = new ArrayList<>();
+        private final List<DiagnosticLog> diagnosticLogs = new ArrayList<>();
+
+        LogRun(boolean audit, int tenantId) {
+
+            this.audit = audit;
+            this.tenantId = tenantId;
+        }
+
+        int size() {
+
+            return audit ? auditLogs.size() : diagnosticLogs.size();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runtime statistics of the central log pipeline.
+ */
+public class LogPipelineMetrics {
+
+    private final LogRingBuffer<?> buffer;
+    private final AtomicLong acceptedLogs = new AtomicLong();
+    private final AtomicLong publishedLogs = new AtomicLong();
+    private final AtomicLong publishedBatches = new AtomicLong();
+    private final AtomicLong droppedLogs = new AtomicLong();
+    private final AtomicLong overflowLogs = new AtomicLong();
+    private final AtomicLong sampledOutLogs = new AtomicLong();
+    private final AtomicLong failedPublications = new AtomicLong();
+
+    LogPipelineMetrics(LogRingBuffer<?> buffer) {
+
+        this.buffer = buffer;
+    }
+
+    void recordAccepted() {
+
+        acceptedLogs.incrementAndGet();
+    }
+
+    void recordPublished(int logs) {
+
+        publishedLogs.addAndGet(logs);
+        publishedBatches.incrementAndGet();
+    }
+
+    void recordDropped() {
+
+        droppedLogs.incrementAndGet();
+    }
+
+    void recordOverflow() {
+
+        overflowLogs.incrementAndGet();
+    }
+
+    void recordSampledOut() {
+
+        sampledOutLogs.incrementAndGet();
+    }
+
+    void recordFailedPublication() {
+
+        failedPublications.incrementAndGet();
+    }
+
+    /**
+     * Number of logs waiting in the buffer to be published.
+     */
+    public int getPendingLogs() {
+
+        return buffer.size();
+    }
+
+    public int getBufferCapacity() {
+
+        return buffer.getCapacity();
+    }
+
+    /**
+     * Number of logs added to the buffer.
+     */
+    public long getAcceptedLogs() {
+
+        return acceptedLogs.get();
+    }
+
+    /**
+     * Number of logs handed over to the publishers by the pipeline thread.
+     */
+    public long getPublishedLogs() {
+
+        return publishedLogs.get();
+    }
+
+    public long getPublishedBatches() {
+
+        return publishedBatches.get();
+    }
+
+    /**
+     * Number of diagnostic logs discarded because the buffer was full.
+     */
+    public long getDroppedLogs() {
+
+        return droppedLogs.get();
+    }
+
+    /**
+     * Number of audit logs published in the calling thread because the buffer was full.
+     */
+    public long getOverflowLogs() {
+
+        return overflowLogs.get();
+    }
+
+    /**
+     * Number of diagnostic logs skipped by the sampling rate configured for their component.
+     */
+    public long getSampledOutLogs() {
+
+        return sampledOutLogs.get();
+    }
+
+    /**
+     * Number of batches a publisher failed to publish.
+     */
+    public long getFailedPublications() {
+
+        return failedPublications.get();
+    }
+
+    @Override
+    public String toString() {
+
+        return "LogPipelineMetrics{pending=" + getPendingLogs() + ", capacity=" + getBufferCapacity() +
+                ", accepted=" + getAcceptedLogs() + ", published=" + getPublishedLogs() +
+                ", batches=" + getPublishedBatches() + ", dropped=" + getDroppedLogs() +
+                ", overflow=" + getOverflowLogs() + ", sampledOut=" + getSampledOutLogs() +
+                ", failedPublications=" + getFailedPublications() + "}";
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import org.wso2.carbon.utils.AuditLog;
+import org.wso2.carbon.utils.DiagnosticLog;
+
+import java.util.List;
+
+/**
+ * Publisher of the audit and diagnostic logs collected by the central log pipeline.
+ * Logs are handed over in batches from the pipeline thread, in the order they were recorded. Each batch holds
+ * consecutive logs of the same type which were recorded in the same tenant.
+ * Publishers registered as OSGi services only receive logs when the central log pipeline is enabled.
+ */
+public interface LogPublisher {
+
+    /**
+     * Publish a batch of audit logs.
+     *
+     * @param tenantId  ID of the tenant the logs were recorded in.
+     * @param auditLogs Audit logs in the order they were recorded.
+     */
+    void publishAuditLogs(int tenantId, List<AuditLog> auditLogs);
+
+    /**
+     * Publish a batch of diagnostic logs.
+     *
+     * @param tenantId       ID of the tenant the logs were recorded in.
+     * @param diagnosticLogs Diagnostic logs in the order they were recorded.
+     */
+    void publishDiagnosticLogs(int tenantId, List<DiagnosticLog> diagnosticLogs);
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer with multiple producers and a single consumer.
+ * Each slot carries a sequence number, so producers claim a slot with a single compare and set on the tail and
+ * publish the element by advancing the sequence of the slot. The consumer releases a slot by moving its sequence a
+ * full lap ahead.
+ *
+ * @param <E> Type of the elements.
+ */
+final class LogRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    LogRingBuffer(int requestedCapacity) {
+
+        this.capacity = roundUpToPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Append an element to the buffer.
+     *
+     * @param element Element to append.
+     * @return Position of the element in the buffer, or -1 if the buffer is full.
+     */
+    long offer(E element) {
+
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer has not released this slot yet, so the buffer is full.
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move up to the given number of elements from the buffer to the given list. Must only be called by the
+     * consumer thread.
+     *
+     * @param target      List to add the elements to.
+     * @param maxElements Maximum number of elements to move.
+     * @return Number of elements moved.
+     */
+    int drainTo(List<E> target, int maxElements) {
+
+        long position = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // The slot is not published yet.
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Approximate number of elements in the buffer.
+     */
+    int size() {
+
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    int getCapacity() {
+
+        return capacity;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+
+        if (value <= 1) {
+            return 2;
+        }
+        int highestOneBit = Integer.highestOneBit(value);
+        if (highestOneBit == value) {
+            return value;
+        }
+        if (highestOneBit >= (1 << 29)) {
+            return 1 << 30;
+        }
+        return highestOneBit << 1;
+    }
+}
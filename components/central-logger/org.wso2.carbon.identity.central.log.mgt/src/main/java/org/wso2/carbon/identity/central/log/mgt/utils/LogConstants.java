@@ -37,6 +37,22 @@ public class LogConstants {
     public static final Pattern LOG_MASKING_PATTERN = Pattern.compile("(?<=.).(?=.)");
     public static final String LOGGABLE_USER_CLAIMS = "LoggableUserClaims.LoggableUserClaim";
 
+    /**
+     * Configurations of the asynchronous log pipeline.
+     */
+    public static class LogPipeline {
+
+        public static final String ENABLE = "CentralLogger.LogPipeline.Enable";
+        public static final String BUFFER_SIZE = "CentralLogger.LogPipeline.BufferSize";
+        public static final String BATCH_SIZE = "CentralLogger.LogPipeline.BatchSize";
+        public static final String FLUSH_INTERVAL_MILLIS = "CentralLogger.LogPipeline.FlushIntervalMillis";
+        public static final String DIAGNOSTIC_LOG_SAMPLING =
+                "CentralLogger.LogPipeline.DiagnosticLogSampling.Component";
+        public static final int DEFAULT_BUFFER_SIZE = 8192;
+        public static final int DEFAULT_BATCH_SIZE = 256;
+        public static final int DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+    }
+
 
     /**
      * Define common and reusable Input keys for diagnostic logs.
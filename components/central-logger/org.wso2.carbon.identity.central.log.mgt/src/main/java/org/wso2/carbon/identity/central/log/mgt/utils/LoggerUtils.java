@@ -30,6 +30,8 @@ import org.slf4j.MDC;
 import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.central.log.mgt.internal.CentralLogMgtServiceComponentHolder;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPipeline;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPipelineMetrics;
 import org.wso2.carbon.identity.core.util.IdentityConfigParser;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
@@ -40,11 +42,7 @@ import org.wso2.carbon.utils.AuditLog;
 import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.carbon.utils.DiagnosticLog;
 
-import java.time.DateTimeException;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -106,6 +104,11 @@ public class LoggerUtils {
             }
             AuditLog auditLog = auditLogBuilder.build();
             if (isEnableV2AuditLogs()) {
+                LogPipeline logPipeline = CentralLogMgtServiceComponentHolder.getInstance().getLogPipeline();
+                if (logPipeline != null && logPipeline.publishAuditLog(auditLog,
+                        CarbonContext.getThreadLocalCarbonContext().getTenantId())) {
+                    return;
+                }
                 IdentityEventService eventMgtService =
                         CentralLogMgtServiceComponentHolder.getInstance().getIdentityEventService();
                 Event auditEvent =
@@ -150,21 +153,14 @@ public class LoggerUtils {
                                                  Map<String, Object> configurations) {
 
         try {
-            Map<String, Object> diagnosticLogProperties = new HashMap<>();
             String id = UUID.randomUUID().toString();
-            Instant recordedAt = parseDateTime(Instant.now().toString());
             String requestId = MDC.get(CORRELATION_ID_MDC);
             String flowId = MDC.get(FLOW_ID_MDC);
-            DiagnosticLog diagnosticLog = new DiagnosticLog(id, recordedAt, requestId, flowId, resultStatus,
+            DiagnosticLog diagnosticLog = new DiagnosticLog(id, Instant.now(), requestId, flowId, resultStatus,
                     resultMessage, actionId, componentId, input, configurations);
-            IdentityEventService eventMgtService =
-                    CentralLogMgtServiceComponentHolder.getInstance().getIdentityEventService();
-            diagnosticLogProperties.put(CarbonConstants.LogEventConstants.DIAGNOSTIC_LOG, diagnosticLog);
             int tenantId =
                     IdentityTenantUtil.getTenantId(CarbonContext.getThreadLocalCarbonContext().getTenantDomain());
-            diagnosticLogProperties.put(CarbonConstants.LogEventConstants.TENANT_ID, tenantId);
-            Event diagnosticLogEvent = new Event(PUBLISH_DIAGNOSTIC_LOG, diagnosticLogProperties);
-            eventMgtService.handleEvent(diagnosticLogEvent);
+            publishDiagnosticLog(diagnosticLog, tenantId);
         } catch (IdentityEventException e) {
             String errorLog = "Error occurred when firing the diagnostic log event.";
             log.error(errorLog, e);
@@ -179,25 +175,53 @@ public class LoggerUtils {
     public static void triggerDiagnosticLogEvent(DiagnosticLog.DiagnosticLogBuilder diagnosticLogBuilder) {
 
         try {
-            Map<String, Object> diagnosticLogProperties = new HashMap<>();
             DiagnosticLog diagnosticLog = diagnosticLogBuilder.build();
             /* As the Console application is used to access the identity server resources, the diagnostic logs are not
             required to be emitted. */
             if (isConsoleApp(diagnosticLog)) {
                 return;
             }
-            IdentityEventService eventMgtService =
-                    CentralLogMgtServiceComponentHolder.getInstance().getIdentityEventService();
-            diagnosticLogProperties.put(CarbonConstants.LogEventConstants.DIAGNOSTIC_LOG, diagnosticLog);
-            diagnosticLogProperties.put(CarbonConstants.LogEventConstants.TENANT_ID, resolveTenantId());
-            Event diagnosticLogEvent = new Event(PUBLISH_DIAGNOSTIC_LOG, diagnosticLogProperties);
-            eventMgtService.handleEvent(diagnosticLogEvent);
+            publishDiagnosticLog(diagnosticLog, resolveTenantId());
         } catch (IdentityEventException e) {
             String errorLog = "Error occurred when firing the diagnostic log event.";
             log.error(errorLog, e);
         }
     }
 
+    /**
+     * Hand the diagnostic log to the log pipeline, or fire the diagnostic log event if the pipeline is disabled or
+     * does not accept the log.
+     *
+     * @param diagnosticLog Diagnostic log.
+     * @param tenantId      Tenant ID.
+     * @throws IdentityEventException If an error occurs while firing the event.
+     */
+    private static void publishDiagnosticLog(DiagnosticLog diagnosticLog, int tenantId)
+            throws IdentityEventException {
+
+        LogPipeline logPipeline = CentralLogMgtServiceComponentHolder.getInstance().getLogPipeline();
+        if (logPipeline != null && logPipeline.publishDiagnosticLog(diagnosticLog, tenantId)) {
+            return;
+        }
+        Map<String, Object> diagnosticLogProperties = new HashMap<>();
+        diagnosticLogProperties.put(CarbonConstants.LogEventConstants.DIAGNOSTIC_LOG, diagnosticLog);
+        diagnosticLogProperties.put(CarbonConstants.LogEventConstants.TENANT_ID, tenantId);
+        IdentityEventService eventMgtService =
+                CentralLogMgtServiceComponentHolder.getInstance().getIdentityEventService();
+        eventMgtService.handleEvent(new Event(PUBLISH_DIAGNOSTIC_LOG, diagnosticLogProperties));
+    }
+
+    /**
+     * Return the runtime statistics of the log pipeline.
+     *
+     * @return Log pipeline metrics, or null if the log pipeline is disabled.
+     */
+    public static LogPipelineMetrics getLogPipelineMetrics() {
+
+        LogPipeline logPipeline = CentralLogMgtServiceComponentHolder.getInstance().getLogPipeline();
+        return logPipeline != null ? logPipeline.getMetrics() : null;
+    }
+
     /**
      * Resolves the tenant id
      *
@@ -224,30 +248,6 @@ public class LoggerUtils {
         return !CarbonConstants.DiagnosticLogMode.NONE.equals(diagnosticLogMode);
     }
 
-    /**
-     * Parse Date Time into UTC format.
-     *
-     * @param dateTimeString Date time.
-     * @return Date time in ISO_OFFSET_DATE_TIME format.
-     */
-    private static Instant parseDateTime(String dateTimeString) {
-
-        Instant localDateTime = null;
-        if (StringUtils.isEmpty(dateTimeString)) {
-            return null;
-        }
-        try {
-            localDateTime = LocalDateTime.parse(dateTimeString).toInstant(ZoneOffset.UTC);
-        } catch (DateTimeException e) {
-            try {
-                return OffsetDateTime.parse(dateTimeString).toInstant();
-            } catch (DateTimeException dte) {
-                log.error("Error in parsing date time. Date time should adhere to ISO_OFFSET_DATE_TIME format", e);
-            }
-        }
-        return localDateTime;
-    }
-
     /**
      * Get the log masking config value from config file.
      */
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.utils.AuditLog;
+import org.wso2.carbon.utils.DiagnosticLog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for the central log pipeline.
+ */
+public class LogPipelineTest {
+
+    private static final int TENANT_ID = 1;
+    private static final int OTHER_TENANT_ID = 2;
+
+    @Test
+    public void testAuditLogIsLeftToCallerWhenBufferIsFull() throws Exception {
+
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingPublisher publisher = new RecordingPublisher() {
+
+            @Override
+            public void publishAuditLogs(int tenantId, List<AuditLog> auditLogs) {
+
+                publishing.countDown();
+                await(release);
+                super.publishAuditLogs(tenantId, auditLogs);
+            }
+        };
+        LogPipeline pipeline = new LogPipeline(2, 1, 10, Collections.emptyMap(),
+                Collections.singletonList(publisher));
+        pipeline.start();
+
+        AuditLog first = buildAuditLog("first");
+        assertTrue(pipeline.publishAuditLog(first, TENANT_ID));
+        // The pipeline thread is blocked on the first log, hence the buffer fills up.
+        assertTrue(publishing.await(5, TimeUnit.SECONDS));
+        AuditLog second = buildAuditLog("second");
+        AuditLog third = buildAuditLog("third");
+        assertTrue(pipeline.publishAuditLog(second, TENANT_ID));
+        assertTrue(pipeline.publishAuditLog(third, TENANT_ID));
+        assertFalse(pipeline.publishAuditLog(buildAuditLog("overflow"), TENANT_ID));
+        assertTrue(pipeline.publishDiagnosticLog(buildDiagnosticLog("dropped"), TENANT_ID));
+
+        release.countDown();
+        pipeline.shutdown();
+        assertEquals(publisher.logs, Arrays.asList(first, second, third));
+        assertEquals(pipeline.getMetrics().getOverflowLogs(), 1);
+        assertEquals(pipeline.getMetrics().getDroppedLogs(), 1);
+    }
+
+    @Test
+    public void testLogsArePublishedInRecordedOrder() {
+
+        RecordingPublisher publisher = new RecordingPublisher();
+        LogPipeline pipeline = new LogPipeline(64, 4, 10, Collections.emptyMap(),
+                Collections.singletonList(publisher));
+        pipeline.start();
+
+        List<Object> recordedLogs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            DiagnosticLog diagnosticLog = buildDiagnosticLog("diagnostic-" + i);
+            AuditLog auditLog = buildAuditLog("audit-" + i);
+            assertTrue(pipeline.publishDiagnosticLog(diagnosticLog, i % 3 == 0 ? OTHER_TENANT_ID : TENANT_ID));
+            assertTrue(pipeline.publishAuditLog(auditLog, TENANT_ID));
+            recordedLogs.add(diagnosticLog);
+            recordedLogs.add(auditLog);
+        }
+        pipeline.shutdown();
+
+        assertEquals(publisher.logs, recordedLogs);
+        assertEquals(pipeline.getMetrics().getPublishedLogs(), recordedLogs.size());
+    }
+
+    @Test
+    public void testShutdownPublishesBufferedLogs() {
+
+        RecordingPublisher publisher = new RecordingPublisher();
+        // The pipeline thread is not woken up before a full batch or the flush interval.
+        LogPipeline pipeline = new LogPipeline(64, 32, TimeUnit.MINUTES.toMillis(10), Collections.emptyMap(),
+                Collections.singletonList(publisher));
+        pipeline.start();
+
+        AuditLog auditLog = buildAuditLog("buffered");
+        DiagnosticLog diagnosticLog = buildDiagnosticLog("buffered");
+        assertTrue(pipeline.publishAuditLog(auditLog, TENANT_ID));
+        assertTrue(pipeline.publishDiagnosticLog(diagnosticLog, TENANT_ID));
+        pipeline.shutdown();
+
+        assertEquals(publisher.logs, Arrays.asList(auditLog, diagnosticLog));
+        // Logs recorded after the shutdown are left to the caller.
+        assertFalse(pipeline.publishAuditLog(buildAuditLog("late"), TENANT_ID));
+        assertFalse(pipeline.publishDiagnosticLog(buildDiagnosticLog("late"), TENANT_ID));
+    }
+
+    @Test
+    public void testShutdownPublishesLogsOfConcurrentProducers() throws Exception {
+
+        RecordingPublisher publisher = new RecordingPublisher();
+        LogPipeline pipeline = new LogPipeline(1 << 16, 64, 1, Collections.emptyMap(),
+                Collections.singletonList(publisher));
+        pipeline.start();
+
+        AtomicInteger acceptedLogs = new AtomicInteger();
+        CountDownLatch producing = new CountDownLatch(4);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread producer = new Thread(() -> {
+                producing.countDown();
+                while (pipeline.publishAuditLog(buildAuditLog("concurrent"), TENANT_ID)) {
+                    acceptedLogs.incrementAndGet();
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        assertTrue(producing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        pipeline.shutdown();
+        for (Thread producer : producers) {
+            producer.join(5000);
+        }
+
+        // Every log accepted by the pipeline is published, even if it was added while shutting down.
+        assertEquals(publisher.logs.size(), acceptedLogs.get());
+    }
+
+    private static AuditLog buildAuditLog(String action) {
+
+        return new AuditLog.AuditLogBuilder("initiator", "User", "target", "Application", action).build();
+    }
+
+    private static DiagnosticLog buildDiagnosticLog(String resultMessage) {
+
+        return new DiagnosticLog("id", Instant.now(), "request", "flow", "SUCCESS", resultMessage, "action",
+                "component", Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Publisher which records the logs in the order they are received.
+     */
+    private static class RecordingPublisher implements LogPublisher {
+
+        private final List<Object> logs = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void publishAuditLogs(int tenantId, List<AuditLog> auditLogs) {
+
+            logs.addAll(auditLogs);
+        }
+
+        @Override
+        public void publishDiagnosticLogs(int tenantId, List<DiagnosticLog> diagnosticLogs) {
+
+            logs.addAll(diagnosticLogs);
+        }
+    }
+}
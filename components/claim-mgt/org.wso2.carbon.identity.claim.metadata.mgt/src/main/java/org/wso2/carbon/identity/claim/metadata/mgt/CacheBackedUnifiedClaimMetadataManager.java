@@ -21,6 +21,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.AssociatedClaimCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimDialectCache;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataCacheWarmUpLoader;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCacheKey;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.LocalClaimCache;
@@ -30,6 +31,8 @@ import org.wso2.carbon.identity.claim.metadata.mgt.model.Claim;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.ClaimDialect;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.util.ClaimConstants;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.identity.organization.management.service.model.BasicOrganization;
@@ -120,6 +123,8 @@ public class CacheBackedUnifiedClaimMetadataManager extends UnifiedClaimMetadata
     @Override
     public List<LocalClaim> getLocalClaims(int tenantId) throws ClaimMetadataException {
 
+        CacheWarmUpManager.getInstance().recordAccess(ClaimMetadataCacheWarmUpLoader.LOADER_NAME, tenantId,
+                ClaimConstants.LOCAL_CLAIM_DIALECT_URI);
         List<LocalClaim> localClaimList = localClaimCache.getValueFromCache(tenantId, tenantId);
 
         if (localClaimList == null) {
@@ -202,6 +207,8 @@ public class CacheBackedUnifiedClaimMetadataManager extends UnifiedClaimMetadata
     public List<ExternalClaim> getExternalClaims(String externalClaimDialectURI, int tenantId)
             throws ClaimMetadataException {
 
+        CacheWarmUpManager.getInstance().recordAccess(ClaimMetadataCacheWarmUpLoader.LOADER_NAME, tenantId,
+                externalClaimDialectURI);
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         List<ExternalClaim> externalClaimList = externalClaimCache.getValueFromCache(cacheKey, tenantId);
 
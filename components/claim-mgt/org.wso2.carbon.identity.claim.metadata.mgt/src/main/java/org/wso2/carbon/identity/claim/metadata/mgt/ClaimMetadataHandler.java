@@ -19,12 +19,15 @@ package org.wso2.carbon.identity.claim.metadata.mgt;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ClaimMappingTable;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.user.core.UserCoreConstants;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,8 +38,28 @@ import java.util.Set;
 public class ClaimMetadataHandler {
 
     private static final Log log = LogFactory.getLog(ClaimMetadataHandler.class);
+    private static final int MAX_MAPPING_TABLES = 1000;
     private static final ClaimMetadataHandler INSTANCE = new ClaimMetadataHandler();
 
+    private volatile ClaimMetadataManagementServiceImpl claimMetadataService;
+
+    /**
+     * Precomputed mapping tables by tenant domain and dialect. A table is bound to the claim list instance it was
+     * built from, which is held by the claim metadata caches. Since these caches are invalidated across the cluster
+     * on claim and dialect updates, the table is built again once the claims are reloaded.
+     */
+    private final Map<String, BoundMappingTable> mappingTables =
+            new LinkedHashMap<String, BoundMappingTable>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 2293675512409824365L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, BoundMappingTable> eldest) {
+
+                    return size() > MAX_MAPPING_TABLES;
+                }
+            };
+
     public static ClaimMetadataHandler getInstance() {
         return INSTANCE;
     }
@@ -62,7 +85,7 @@ public class ClaimMetadataHandler {
 
 
         try {
-            ClaimMetadataManagementServiceImpl claimMetadataService = new ClaimMetadataManagementServiceImpl();
+            ClaimMetadataManagementServiceImpl claimMetadataService = getClaimMetadataService();
 
             if (otherDialectURI.equals(UserCoreConstants.DEFAULT_CARBON_DIALECT) ) {
 
@@ -135,16 +158,99 @@ public class ClaimMetadataHandler {
     public Map<String, String> getMappingsMapFromOtherDialectToCarbon(String otherDialectURI, Set<String>
             otherClaimURIs, String tenantDomain, boolean useCarbonDialectAsKey) throws ClaimMetadataException {
 
+        ClaimMappingTable mappingTable = getClaimMappingTable(otherDialectURI, tenantDomain);
+        if (otherClaimURIs == null || otherClaimURIs.isEmpty()) {
+            Map<String, String> mappings = useCarbonDialectAsKey ? mappingTable.getLocalToOtherMappings() :
+                    mappingTable.getOtherToLocalMappings();
+            return new HashMap<>(mappings);
+        }
+
         Map<String, String> returnMap = new HashMap<>();
-        Set<ExternalClaim> mappings = getMappingsFromOtherDialectToCarbon(
-                otherDialectURI, otherClaimURIs, tenantDomain);
-        for (ExternalClaim externalClaim : mappings) {
+        for (String otherClaimURI : otherClaimURIs) {
+            String localClaimURI = mappingTable.getLocalClaim(otherClaimURI);
+            if (localClaimURI == null) {
+                continue;
+            }
             if (useCarbonDialectAsKey) {
-                returnMap.put(externalClaim.getMappedLocalClaim(), externalClaim.getClaimURI());
+                returnMap.put(localClaimURI, otherClaimURI);
             } else {
-                returnMap.put(externalClaim.getClaimURI(), externalClaim.getMappedLocalClaim());
+                returnMap.put(otherClaimURI, localClaimURI);
             }
         }
         return returnMap;
     }
+
+    /**
+     * Get the precomputed mapping table between a dialect and the local dialect of a tenant. The table is built
+     * once and reused until the claims of the dialect are changed.
+     *
+     * @param dialectURI   Dialect URI.
+     * @param tenantDomain Tenant domain.
+     * @return Immutable mapping table.
+     * @throws ClaimMetadataException If an error occurs while retrieving the claims of the dialect.
+     */
+    public ClaimMappingTable getClaimMappingTable(String dialectURI, String tenantDomain)
+            throws ClaimMetadataException {
+
+        if (dialectURI == null) {
+            String message = "Invalid argument: \'dialectURI\' is \'NULL\'";
+            log.error(message);
+            throw new ClaimMetadataException(message);
+        }
+
+        ClaimMetadataManagementServiceImpl claimMetadataService = getClaimMetadataService();
+        boolean isLocalDialect = dialectURI.equals(UserCoreConstants.DEFAULT_CARBON_DIALECT);
+        List<?> claims = isLocalDialect ?
+                claimMetadataService.getCachedLocalClaims(IdentityTenantUtil.getTenantId(tenantDomain)) :
+                claimMetadataService.getExternalClaims(dialectURI, tenantDomain);
+
+        String key = tenantDomain + "|" + dialectURI;
+        BoundMappingTable boundTable;
+        synchronized (mappingTables) {
+            boundTable = mappingTables.get(key);
+        }
+        if (boundTable != null && boundTable.claims == claims) {
+            return boundTable.mappingTable;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Building the claim mapping table of dialect: " + dialectURI + " in tenant: " + tenantDomain);
+        }
+        ClaimMappingTable mappingTable;
+        if (isLocalDialect) {
+            mappingTable = ClaimMappingTable.fromLocalClaims(dialectURI,
+                    claimMetadataService.getLocalClaims(tenantDomain));
+        } else {
+            @SuppressWarnings("unchecked")
+            List<ExternalClaim> externalClaims = (List<ExternalClaim>) claims;
+            mappingTable = ClaimMappingTable.fromExternalClaims(dialectURI, externalClaims);
+        }
+        synchronized (mappingTables) {
+            mappingTables.put(key, new BoundMappingTable(claims, mappingTable));
+        }
+        return mappingTable;
+    }
+
+    private ClaimMetadataManagementServiceImpl getClaimMetadataService() {
+
+        if (claimMetadataService == null) {
+            claimMetadataService = new ClaimMetadataManagementServiceImpl();
+        }
+        return claimMetadataService;
+    }
+
+    /**
+     * Mapping table along with the claim list it was built from.
+     */
+    private static final class BoundMappingTable {
+
+        private final List<?> claims;
+        private final ClaimMappingTable mappingTable;
+
+        BoundMappingTable(List<?> claims, ClaimMappingTable mappingTable) {
+
+            this.claims = claims;
+            this.mappingTable = mappingTable;
+        }
+    }
 }
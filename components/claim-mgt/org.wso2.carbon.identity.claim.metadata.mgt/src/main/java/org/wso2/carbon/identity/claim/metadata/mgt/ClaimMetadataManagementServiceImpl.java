@@ -338,6 +338,20 @@ public class ClaimMetadataManagementServiceImpl implements ClaimMetadataManageme
         return filteredLocalClaims;
     }
 
+    /**
+     * Get the local claims of a tenant as held by the claim metadata caches, without the filtering done in
+     * {@link #getLocalClaims(String)}. The same list instance is returned until the cached claims of the tenant are
+     * invalidated, hence the list must not be modified.
+     *
+     * @param tenantId Tenant id.
+     * @return Cached local claims of the tenant.
+     * @throws ClaimMetadataException If an error occurs while retrieving the local claims.
+     */
+    List<LocalClaim> getCachedLocalClaims(int tenantId) throws ClaimMetadataException {
+
+        return this.unifiedClaimMetadataManager.getLocalClaims(tenantId);
+    }
+
     @Override
     public Optional<LocalClaim> getLocalClaim(String localClaimURI, String tenantDomain) throws ClaimMetadataException {
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
+import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.claim.metadata.mgt.util.ClaimConstants;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpException;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpLoader;
+
+/**
+ * Warms up the claim caches with the most accessed claim lists. Keys are claim dialect URIs; the local claim dialect
+ * URI stands for the local claims.
+ */
+public class ClaimMetadataCacheWarmUpLoader implements CacheWarmUpLoader {
+
+    public static final String LOADER_NAME = "ClaimMetadata";
+
+    private final ClaimMetadataManagementService claimMetadataManagementService;
+
+    public ClaimMetadataCacheWarmUpLoader(ClaimMetadataManagementService claimMetadataManagementService) {
+
+        this.claimMetadataManagementService = claimMetadataManagementService;
+    }
+
+    @Override
+    public String getName() {
+
+        return LOADER_NAME;
+    }
+
+    @Override
+    public void load(String tenantDomain, String key) throws CacheWarmUpException {
+
+        try {
+            if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equals(key)) {
+                claimMetadataManagementService.getLocalClaims(tenantDomain);
+            } else {
+                claimMetadataManagementService.getExternalClaims(key, tenantDomain);
+            }
+        } catch (ClaimMetadataException e) {
+            throw new CacheWarmUpException("Error while loading the claims of the dialect: " + key, e);
+        }
+    }
+}
@@ -29,12 +29,14 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementServiceImpl;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataStoreFactory;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataCacheWarmUpLoader;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.ClaimConfigInitDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.internal.impl.DefaultClaimConfigInitDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimConfigListener;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataManagementAuditLogger;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataMgtListener;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataTenantMgtListener;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
@@ -73,6 +75,8 @@ public class IdentityClaimManagementServiceComponent {
             ClaimMetadataManagementService claimManagementService = new ClaimMetadataManagementServiceImpl();
             bundleCtx.registerService(ClaimMetadataManagementService.class.getName(), claimManagementService, null);
             IdentityClaimManagementServiceDataHolder.getInstance().setClaimManagementService(claimManagementService);
+            CacheWarmUpManager.getInstance().registerLoader(
+                    new ClaimMetadataCacheWarmUpLoader(claimManagementService));
 
             bundleCtx.registerService(TenantMgtListener.class.getName(),
                     new ClaimMetadataTenantMgtListener(), null);
@@ -115,6 +119,7 @@ public class IdentityClaimManagementServiceComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
+        CacheWarmUpManager.getInstance().unregisterLoader(ClaimMetadataCacheWarmUpLoader.LOADER_NAME);
         if (log.isDebugEnabled()) {
             log.debug("Identity Claim Management bundle is deactivated");
         }
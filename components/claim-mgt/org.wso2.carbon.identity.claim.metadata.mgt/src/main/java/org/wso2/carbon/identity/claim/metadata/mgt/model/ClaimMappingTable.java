@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.claim.metadata.mgt.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable mapping between the claims of a dialect and the local claims of a tenant. The claim URIs are interned,
+ * since the same claim URIs are repeated in the tables of every tenant.
+ */
+public final class ClaimMappingTable {
+
+    private final String dialectURI;
+    private final Map<String, String> otherToLocalMappings;
+    private final Map<String, String> localToOtherMappings;
+
+    private ClaimMappingTable(String dialectURI, Map<String, String> otherToLocalMappings,
+                              Map<String, String> localToOtherMappings) {
+
+        this.dialectURI = dialectURI;
+        this.otherToLocalMappings = Collections.unmodifiableMap(otherToLocalMappings);
+        this.localToOtherMappings = Collections.unmodifiableMap(localToOtherMappings);
+    }
+
+    /**
+     * Build the table of the local dialect, where every local claim is mapped to itself.
+     *
+     * @param dialectURI  Local dialect URI.
+     * @param localClaims Local claims of the tenant.
+     * @return Mapping table.
+     */
+    public static ClaimMappingTable fromLocalClaims(String dialectURI, Iterable<LocalClaim> localClaims) {
+
+        Map<String, String> mappings = new HashMap<>();
+        for (LocalClaim localClaim : localClaims) {
+            String claimURI = intern(localClaim.getClaimURI());
+            mappings.put(claimURI, claimURI);
+        }
+        return new ClaimMappingTable(dialectURI, mappings, mappings);
+    }
+
+    /**
+     * Build the table of an external dialect.
+     *
+     * @param dialectURI     External dialect URI.
+     * @param externalClaims External claims of the dialect.
+     * @return Mapping table.
+     */
+    public static ClaimMappingTable fromExternalClaims(String dialectURI, Iterable<ExternalClaim> externalClaims) {
+
+        Map<String, String> otherToLocalMappings = new HashMap<>();
+        Map<String, String> localToOtherMappings = new HashMap<>();
+        for (ExternalClaim externalClaim : externalClaims) {
+            String claimURI = intern(externalClaim.getClaimURI());
+            String mappedLocalClaimURI = intern(externalClaim.getMappedLocalClaim());
+            otherToLocalMappings.put(claimURI, mappedLocalClaimURI);
+            localToOtherMappings.put(mappedLocalClaimURI, claimURI);
+        }
+        return new ClaimMappingTable(dialectURI, otherToLocalMappings, localToOtherMappings);
+    }
+
+    public String getDialectURI() {
+
+        return dialectURI;
+    }
+
+    /**
+     * Get the local claim mapped to a claim of the dialect.
+     *
+     * @param claimURI Claim URI in the dialect.
+     * @return Local claim URI, or null if the claim is not mapped.
+     */
+    public String getLocalClaim(String claimURI) {
+
+        return otherToLocalMappings.get(claimURI);
+    }
+
+    /**
+     * Get the claim of the dialect mapped to a local claim.
+     *
+     * @param localClaimURI Local claim URI.
+     * @return Claim URI in the dialect, or null if the local claim is not mapped.
+     */
+    public String getDialectClaim(String localClaimURI) {
+
+        return localToOtherMappings.get(localClaimURI);
+    }
+
+    /**
+     * @return Unmodifiable map of the claims of the dialect to the local claims.
+     */
+    public Map<String, String> getOtherToLocalMappings() {
+
+        return otherToLocalMappings;
+    }
+
+    /**
+     * @return Unmodifiable map of the local claims to the claims of the dialect.
+     */
+    public Map<String, String> getLocalToOtherMappings() {
+
+        return localToOtherMappings;
+    }
+
+    public int size() {
+
+        return otherToLocalMappings.size();
+    }
+
+    private static String intern(String claimURI) {
+
+        return claimURI == null ? null : claimURI.intern();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.claim.metadata.mgt.model;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit test class for ClaimMappingTable.
+ */
+public class ClaimMappingTableTest {
+
+    private static final String LOCAL_DIALECT = "http://wso2.org/claims";
+    private static final String OIDC_DIALECT = "http://wso2.org/oidc/claim";
+
+    /**
+     * Test to verify the mappings of an external dialect in both directions.
+     */
+    @Test
+    public void mapsExternalClaimsInBothDirections() {
+
+        ClaimMappingTable table = ClaimMappingTable.fromExternalClaims(OIDC_DIALECT, Arrays.asList(
+                new ExternalClaim(OIDC_DIALECT, "email", "http://wso2.org/claims/emailaddress"),
+                new ExternalClaim(OIDC_DIALECT, "given_name", "http://wso2.org/claims/givenname")));
+
+        assertEquals(table.getDialectURI(), OIDC_DIALECT);
+        assertEquals(table.size(), 2);
+        assertEquals(table.getLocalClaim("email"), "http://wso2.org/claims/emailaddress");
+        assertEquals(table.getDialectClaim("http://wso2.org/claims/givenname"), "given_name");
+        assertNull(table.getLocalClaim("family_name"));
+    }
+
+    /**
+     * Test to verify that every local claim is mapped to itself and the claim URIs are interned.
+     */
+    @Test
+    public void mapsLocalClaimsToThemselves() {
+
+        String claimURI = new String("http://wso2.org/claims/emailaddress");
+        ClaimMappingTable table = ClaimMappingTable.fromLocalClaims(LOCAL_DIALECT,
+                Collections.singletonList(new LocalClaim(claimURI)));
+
+        assertEquals(table.getLocalClaim(claimURI), claimURI);
+        assertSame(table.getLocalToOtherMappings().get(claimURI), claimURI.intern());
+        assertSame(table.getOtherToLocalMappings(), table.getLocalToOtherMappings());
+    }
+
+    /**
+     * Test to verify that the mappings of the table can not be modified.
+     */
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void mappingsCanNotBeModified() {
+
+        ClaimMappingTable table = ClaimMappingTable.fromLocalClaims(LOCAL_DIALECT, Collections.emptyList());
+        table.getOtherToLocalMappings().put("http://wso2.org/claims/country", "http://wso2.org/claims/country");
+    }
+}
@@ -257,6 +257,7 @@ public class Constants {
         }
 
         public static final String FLOW_STATE_JSON = "FLOW_STATE_JSON";
+        public static final String SEQUENCE_NO = "SEQUENCE_NO";
 
         public static final String INSERT_CONTEXT_SQL = "INSERT INTO IDN_FLOW_CONTEXT_STORE " +
                 "(ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) VALUES (?, ?, ?, ?, ?, ?)";
@@ -265,6 +266,77 @@ public class Constants {
         public static final String SELECT_CONTEXT_SQL = "SELECT FLOW_STATE_JSON FROM IDN_FLOW_CONTEXT_STORE WHERE ID = ?" +
                 " AND TENANT_ID = ? AND EXPIRES_AT > ?";
         public static final String DELETE_CONTEXT_SQL = "DELETE FROM IDN_FLOW_CONTEXT_STORE WHERE ID = ?";
+        public static final String SELECT_CONTEXT_ID_SQL = "SELECT ID FROM IDN_FLOW_CONTEXT_STORE WHERE ID = ?";
+        public static final String UPDATE_CONTEXT_IF_NEWER_SQL = "UPDATE IDN_FLOW_CONTEXT_STORE SET " +
+                "FLOW_STATE_JSON = ?, EXPIRES_AT = ? WHERE ID = ? AND TENANT_ID = ? AND EXPIRES_AT <= ?";
+
+        public static final String UPDATE_CONTEXT_EXPIRY_SQL = "UPDATE IDN_FLOW_CONTEXT_STORE SET EXPIRES_AT = ? " +
+                "WHERE ID = ? AND TENANT_ID = ?";
+        public static final String INSERT_CONTEXT_DELTA_SQL = "INSERT INTO IDN_FLOW_CONTEXT_DELTA " +
+                "(CONTEXT_ID, SEQUENCE_NO, DELTA_JSON) VALUES (?, ?, ?)";
+        public static final String DELETE_CONTEXT_DELTAS_SQL = "DELETE FROM IDN_FLOW_CONTEXT_DELTA WHERE " +
+                "CONTEXT_ID = ?";
+        // Keeps the deltas if a snapshot expiring later than the given time, i.e. a newer snapshot, is stored.
+        public static final String DELETE_CONTEXT_DELTAS_IF_NOT_NEWER_SQL = "DELETE FROM IDN_FLOW_CONTEXT_DELTA " +
+                "WHERE CONTEXT_ID = ? AND NOT EXISTS (SELECT 1 FROM IDN_FLOW_CONTEXT_STORE WHERE ID = ? AND " +
+                "EXPIRES_AT > ?)";
+        // The snapshot is returned with the sequence number 0, followed by the deltas in sequence order.
+        public static final String SELECT_CONTEXT_WITH_DELTAS_SQL = "SELECT 0 AS SEQUENCE_NO, FLOW_STATE_JSON " +
+                "FROM IDN_FLOW_CONTEXT_STORE WHERE ID = ? AND TENANT_ID = ? AND EXPIRES_AT > ? " +
+                "UNION ALL SELECT D.SEQUENCE_NO, D.DELTA_JSON FROM IDN_FLOW_CONTEXT_DELTA D " +
+                "INNER JOIN IDN_FLOW_CONTEXT_STORE S ON D.CONTEXT_ID = S.ID " +
+                "WHERE D.CONTEXT_ID = ? AND S.TENANT_ID = ? AND S.EXPIRES_AT > ? ORDER BY SEQUENCE_NO";
+
+        // Single statement upserts. An existing row is only updated if it belongs to the same tenant.
+        public static final String UPSERT_CONTEXT_SQL_MYSQL = "INSERT INTO IDN_FLOW_CONTEXT_STORE " +
+                "(ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE " +
+                "EXPIRES_AT = IF(TENANT_ID = VALUES(TENANT_ID), VALUES(EXPIRES_AT), EXPIRES_AT), " +
+                "FLOW_STATE_JSON = IF(TENANT_ID = VALUES(TENANT_ID), VALUES(FLOW_STATE_JSON), FLOW_STATE_JSON)";
+        public static final String UPSERT_CONTEXT_SQL_POSTGRESQL = "INSERT INTO IDN_FLOW_CONTEXT_STORE " +
+                "(ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (ID) DO UPDATE SET EXPIRES_AT = EXCLUDED.EXPIRES_AT, " +
+                "FLOW_STATE_JSON = EXCLUDED.FLOW_STATE_JSON " +
+                "WHERE IDN_FLOW_CONTEXT_STORE.TENANT_ID = EXCLUDED.TENANT_ID";
+        public static final String UPSERT_CONTEXT_SQL_H2 = "MERGE INTO IDN_FLOW_CONTEXT_STORE T USING " +
+                "(VALUES (?, ?, ?, ?, ?, ?)) S (ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) " +
+                "ON T.ID = S.ID " +
+                "WHEN MATCHED AND T.TENANT_ID = S.TENANT_ID THEN UPDATE SET EXPIRES_AT = S.EXPIRES_AT, " +
+                "FLOW_STATE_JSON = S.FLOW_STATE_JSON " +
+                "WHEN NOT MATCHED THEN INSERT (ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) " +
+                "VALUES (S.ID, S.TENANT_ID, S.FLOW_TYPE, S.CREATED_AT, S.EXPIRES_AT, S.FLOW_STATE_JSON)";
+        public static final String UPSERT_CONTEXT_SQL_MSSQL_OR_DB2 = UPSERT_CONTEXT_SQL_H2 + ";";
+        public static final String UPSERT_CONTEXT_SQL_ORACLE = "MERGE INTO IDN_FLOW_CONTEXT_STORE USING dual " +
+                "ON (ID = ?) " +
+                "WHEN MATCHED THEN UPDATE SET EXPIRES_AT = ?, FLOW_STATE_JSON = ? WHERE TENANT_ID = ? " +
+                "WHEN NOT MATCHED THEN INSERT (ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+
+        // Upserts which only update an existing row of the same tenant if it does not expire later than the new one.
+        // MySQL evaluates the assignments in order, so FLOW_STATE_JSON is assigned before EXPIRES_AT.
+        public static final String UPSERT_CONTEXT_IF_NEWER_SQL_MYSQL = "INSERT INTO IDN_FLOW_CONTEXT_STORE " +
+                "(ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE " +
+                "FLOW_STATE_JSON = IF(TENANT_ID = VALUES(TENANT_ID) AND EXPIRES_AT <= VALUES(EXPIRES_AT), " +
+                "VALUES(FLOW_STATE_JSON), FLOW_STATE_JSON), " +
+                "EXPIRES_AT = IF(TENANT_ID = VALUES(TENANT_ID) AND EXPIRES_AT <= VALUES(EXPIRES_AT), " +
+                "VALUES(EXPIRES_AT), EXPIRES_AT)";
+        public static final String UPSERT_CONTEXT_IF_NEWER_SQL_POSTGRESQL = UPSERT_CONTEXT_SQL_POSTGRESQL +
+                " AND IDN_FLOW_CONTEXT_STORE.EXPIRES_AT <= EXCLUDED.EXPIRES_AT";
+        public static final String UPSERT_CONTEXT_IF_NEWER_SQL_H2 = "MERGE INTO IDN_FLOW_CONTEXT_STORE T USING " +
+                "(VALUES (?, ?, ?, ?, ?, ?)) S (ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) " +
+                "ON T.ID = S.ID " +
+                "WHEN MATCHED AND T.TENANT_ID = S.TENANT_ID AND T.EXPIRES_AT <= S.EXPIRES_AT THEN UPDATE SET " +
+                "EXPIRES_AT = S.EXPIRES_AT, FLOW_STATE_JSON = S.FLOW_STATE_JSON " +
+                "WHEN NOT MATCHED THEN INSERT (ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) " +
+                "VALUES (S.ID, S.TENANT_ID, S.FLOW_TYPE, S.CREATED_AT, S.EXPIRES_AT, S.FLOW_STATE_JSON)";
+        public static final String UPSERT_CONTEXT_IF_NEWER_SQL_MSSQL_OR_DB2 = UPSERT_CONTEXT_IF_NEWER_SQL_H2 + ";";
+        public static final String UPSERT_CONTEXT_IF_NEWER_SQL_ORACLE = "MERGE INTO IDN_FLOW_CONTEXT_STORE " +
+                "USING dual ON (ID = ?) " +
+                "WHEN MATCHED THEN UPDATE SET EXPIRES_AT = ?, FLOW_STATE_JSON = ? WHERE TENANT_ID = ? AND " +
+                "EXPIRES_AT <= ? " +
+                "WHEN NOT MATCHED THEN INSERT (ID, TENANT_ID, FLOW_TYPE, CREATED_AT, EXPIRES_AT, FLOW_STATE_JSON) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
     }
 
     public static class FlowExecutionConfigs {
@@ -278,5 +350,19 @@ public class Constants {
         public static final String FLOW_TYPE_TTL_CONFIG_KEY_PREFIX = "FlowTypeTTLs";
         public static final String FLOW_TYPE_TTL_CONFIG_KEY = "FlowTypeTTL";
         public static final String FLOW_TYPE_ATTRIBUTE = "type";
+        public static final String WRITE_BEHIND_ENABLE_PROPERTY = "FlowExecution.ContextStore.WriteBehind.Enable";
+        public static final String WRITE_BEHIND_HOT_TIER_CAPACITY_PROPERTY =
+                "FlowExecution.ContextStore.WriteBehind.HotTierCapacity";
+        public static final String WRITE_BEHIND_FLUSH_INTERVAL_PROPERTY =
+                "FlowExecution.ContextStore.WriteBehind.FlushIntervalMillis";
+        public static final int DEFAULT_WRITE_BEHIND_HOT_TIER_CAPACITY = 10000;
+        public static final long DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS = 500L;
+        public static final String DELTA_ENABLE_PROPERTY = "FlowExecution.ContextStore.Delta.Enable";
+        public static final String DELTA_SNAPSHOT_INTERVAL_PROPERTY =
+                "FlowExecution.ContextStore.Delta.SnapshotInterval";
+        public static final String DELTA_MAX_TRACKED_CONTEXTS_PROPERTY =
+                "FlowExecution.ContextStore.Delta.MaxTrackedContexts";
+        public static final int DEFAULT_DELTA_SNAPSHOT_INTERVAL = 10;
+        public static final int DEFAULT_DELTA_MAX_TRACKED_CONTEXTS = 10000;
     }
 }
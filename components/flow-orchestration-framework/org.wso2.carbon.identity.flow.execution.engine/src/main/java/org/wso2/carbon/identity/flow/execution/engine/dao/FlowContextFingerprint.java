@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.flow.execution.engine.dao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact fingerprint of a serialized flow execution context, used to find the parts of the context that changed
+ * since it was last loaded or stored without keeping a copy of the context.
+ * <p>
+ * Every top level field of the context is fingerprinted. Fields holding a JSON object, e.g. the user inputs and the
+ * context properties, are fingerprinted per entry so that a change of a single entry only adds that entry to the
+ * delta. A delta has the following format, where each section is only present if it is not empty.
+ * <pre>
+ * {
+ *   "fields": {"field": value},
+ *   "removedFields": ["field"],
+ *   "entries": {"field": {"key": value}},
+ *   "removedEntries": {"field": ["key"]}
+ * }
+ * </pre>
+ */
+final class FlowContextFingerprint {
+
+    static final String FIELDS = "fields";
+    static final String REMOVED_FIELDS = "removedFields";
+    static final String ENTRIES = "entries";
+    static final String REMOVED_ENTRIES = "removedEntries";
+
+    private final Map<String, Long> fieldHashes;
+    private final Map<String, Map<String, Long>> entryHashes;
+
+    private FlowContextFingerprint(Map<String, Long> fieldHashes, Map<String, Map<String, Long>> entryHashes) {
+
+        this.fieldHashes = fieldHashes;
+        this.entryHashes = entryHashes;
+    }
+
+    /**
+     * Fingerprint the given serialized context.
+     *
+     * @param tree         Serialized context.
+     * @param objectMapper Object mapper used to serialize the field values.
+     * @return Fingerprint of the context.
+     * @throws JsonProcessingException If a field value cannot be serialized.
+     */
+    static FlowContextFingerprint of(ObjectNode tree, ObjectMapper objectMapper) throws JsonProcessingException {
+
+        MessageDigest digest = newDigest();
+        Map<String, Long> fieldHashes = new HashMap<>();
+        Map<String, Map<String, Long>> entryHashes = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isObject()) {
+                Map<String, Long> hashes = new HashMap<>();
+                Iterator<Map.Entry<String, JsonNode>> entries = field.getValue().fields();
+                while (entries.hasNext()) {
+                    Map.Entry<String, JsonNode> entry = entries.next();
+                    hashes.put(entry.getKey(), hash(digest, objectMapper, entry.getValue()));
+                }
+                entryHashes.put(field.getKey(), hashes);
+            } else {
+                fieldHashes.put(field.getKey(), hash(digest, objectMapper, field.getValue()));
+            }
+        }
+        return new FlowContextFingerprint(fieldHashes, entryHashes);
+    }
+
+    /**
+     * Build the delta which turns the context of the previous fingerprint into the given context.
+     *
+     * @param previous Fingerprint of the previously persisted context.
+     * @param tree     Serialized context this fingerprint was created from.
+     * @return Delta, or null if nothing changed.
+     */
+    ObjectNode diff(FlowContextFingerprint previous, ObjectNode tree) {
+
+        ObjectNode delta = tree.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            Map<String, Long> previousEntries = previous.entryHashes.get(name);
+            if (field.getValue().isObject() && previousEntries != null) {
+                diffEntries(delta, name, field.getValue(), entryHashes.get(name), previousEntries);
+            } else if (field.getValue().isObject() || previousEntries != null ||
+                    !fieldHashes.get(name).equals(previous.fieldHashes.get(name))) {
+                section(delta, FIELDS).set(name, field.getValue());
+            }
+        }
+        Set<String> previousFields = new HashSet<>(previous.fieldHashes.keySet());
+        previousFields.addAll(previous.entryHashes.keySet());
+        for (String name : previousFields) {
+            if (!tree.has(name)) {
+                arraySection(delta, REMOVED_FIELDS).add(name);
+            }
+        }
+        return delta.size() == 0 ? null : delta;
+    }
+
+    /**
+     * Apply a delta built by {@link #diff(FlowContextFingerprint, ObjectNode)} to a serialized context.
+     *
+     * @param tree  Serialized context.
+     * @param delta Delta to apply.
+     */
+    static void applyDelta(ObjectNode tree, JsonNode delta) {
+
+        Iterator<Map.Entry<String, JsonNode>> fields = delta.path(FIELDS).fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            tree.set(field.getKey(), field.getValue());
+        }
+        for (JsonNode name : delta.path(REMOVED_FIELDS)) {
+            tree.remove(name.asText());
+        }
+        Iterator<Map.Entry<String, JsonNode>> entries = delta.path(ENTRIES).fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            JsonNode target = tree.get(entry.getKey());
+            if (target == null || !target.isObject()) {
+                target = tree.putObject(entry.getKey());
+            }
+            ((ObjectNode) target).setAll((ObjectNode) entry.getValue());
+        }
+        Iterator<Map.Entry<String, JsonNode>> removedEntries = delta.path(REMOVED_ENTRIES).fields();
+        while (removedEntries.hasNext()) {
+            Map.Entry<String, JsonNode> removedEntry = removedEntries.next();
+            JsonNode target = tree.get(removedEntry.getKey());
+            if (target != null && target.isObject()) {
+                for (JsonNode key : removedEntry.getValue()) {
+                    ((ObjectNode) target).remove(key.asText());
+                }
+            }
+        }
+    }
+
+    private static void diffEntries(ObjectNode delta, String name, JsonNode value, Map<String, Long> hashes,
+                                    Map<String, Long> previousHashes) {
+
+        Iterator<Map.Entry<String, JsonNode>> entries = value.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            if (!hashes.get(entry.getKey()).equals(previousHashes.get(entry.getKey()))) {
+                ObjectNode changedEntries = section(delta, ENTRIES);
+                ObjectNode fieldEntries = changedEntries.has(name) ? (ObjectNode) changedEntries.get(name) :
+                        changedEntries.putObject(name);
+                fieldEntries.set(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String key : previousHashes.keySet()) {
+            if (!hashes.containsKey(key)) {
+                ObjectNode removedEntries = section(delta, REMOVED_ENTRIES);
+                ArrayNode removedKeys = removedEntries.has(name) ? (ArrayNode) removedEntries.get(name) :
+                        removedEntries.putArray(name);
+                removedKeys.add(key);
+            }
+        }
+    }
+
+    private static ObjectNode section(ObjectNode delta, String name) {
+
+        return delta.has(name) ? (ObjectNode) delta.get(name) : delta.putObject(name);
+    }
+
+    private static ArrayNode arraySection(ObjectNode delta, String name) {
+
+        return delta.has(name) ? (ArrayNode) delta.get(name) : delta.putArray(name);
+    }
+
+    /**
+     * 64 bit hash of the serialized value. A truncated SHA-256 is used so that a changed value is never mistaken
+     * for an unchanged one in practice.
+     */
+    private static long hash(MessageDigest digest, ObjectMapper objectMapper, JsonNode value)
+            throws JsonProcessingException {
+
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(objectMapper.writeValueAsBytes(value))).getLong();
+    }
+
+    private static MessageDigest newDigest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available in every Java runtime.
+            throw new IllegalStateException(e);
+        }
+    }
+}
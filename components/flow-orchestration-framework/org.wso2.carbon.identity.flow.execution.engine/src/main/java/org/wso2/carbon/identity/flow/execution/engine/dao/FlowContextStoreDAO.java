@@ -46,6 +46,21 @@ public interface FlowContextStoreDAO {
     void storeContext(String contextIdentifier, FlowExecutionContext context, long ttlSeconds)
             throws FlowEngineException;
 
+    /**
+     * Store an already serialized FlowExecutionContext. An existing context with the same identifier is only
+     * replaced if it does not expire later than the given expiry time, so that a delayed write does not overwrite a
+     * newer version of the context stored by another node.
+     *
+     * @param contextIdentifier Unique identifier for the context.
+     * @param tenantId          Tenant ID of the context.
+     * @param flowType          Flow type of the context.
+     * @param serializedContext JSON representation of the context.
+     * @param expiryTime        Expiry time of the context in epoch milliseconds.
+     * @throws FlowEngineException if an error occurs while storing the context.
+     */
+    void storeSerializedContext(String contextIdentifier, int tenantId, String flowType, String serializedContext,
+                                long expiryTime) throws FlowEngineException;
+
     /**
      * Retrieve a FlowExecutionContext by its context ID.
      *
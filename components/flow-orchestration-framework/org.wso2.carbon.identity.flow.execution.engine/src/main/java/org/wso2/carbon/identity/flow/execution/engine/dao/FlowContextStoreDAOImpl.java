@@ -18,13 +18,23 @@
 
 package org.wso2.carbon.identity.flow.execution.engine.dao;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.Template;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.database.utils.jdbc.exceptions.TransactionException;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
 import org.wso2.carbon.identity.core.util.LambdaExceptionUtils;
 import org.wso2.carbon.identity.flow.execution.engine.Constants;
+import org.wso2.carbon.identity.flow.execution.engine.Constants.FlowExecutionConfigs;
 import org.wso2.carbon.identity.flow.execution.engine.exception.FlowEngineException;
 import org.wso2.carbon.identity.flow.execution.engine.exception.FlowEngineServerException;
 import org.wso2.carbon.identity.flow.execution.engine.model.FlowExecutionContext;
@@ -33,19 +43,77 @@ import org.wso2.carbon.identity.flow.execution.engine.util.FlowExecutionEngineUt
 import java.io.IOException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.DELETE_CONTEXT_DELTAS_IF_NOT_NEWER_SQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.DELETE_CONTEXT_DELTAS_SQL;
 import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.DELETE_CONTEXT_SQL;
 import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.FLOW_STATE_JSON;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.INSERT_CONTEXT_DELTA_SQL;
 import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.INSERT_CONTEXT_SQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.SELECT_CONTEXT_ID_SQL;
 import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.SELECT_CONTEXT_SQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.SELECT_CONTEXT_WITH_DELTAS_SQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.SEQUENCE_NO;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPDATE_CONTEXT_EXPIRY_SQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPDATE_CONTEXT_IF_NEWER_SQL;
 import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPDATE_CONTEXT_SQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_IF_NEWER_SQL_H2;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_IF_NEWER_SQL_MSSQL_OR_DB2;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_IF_NEWER_SQL_MYSQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_IF_NEWER_SQL_ORACLE;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_IF_NEWER_SQL_POSTGRESQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_SQL_H2;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_SQL_MSSQL_OR_DB2;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_SQL_MYSQL;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_SQL_ORACLE;
+import static org.wso2.carbon.identity.flow.execution.engine.Constants.SQLConstants.UPSERT_CONTEXT_SQL_POSTGRESQL;
 
 /**
  * DAO implementation for managing FlowExecutionContext store.
+ * <p>
+ * When delta persistence is enabled, the DAO remembers a fingerprint of every context it loaded or stored. The next
+ * store of such a context only writes the fields that changed since then, as a delta record in
+ * IDN_FLOW_CONTEXT_DELTA, and refreshes the expiry time of the snapshot. A full snapshot is written, and the deltas
+ * are dropped, when the context is not tracked, after the configured number of deltas, or once the deltas together
+ * would be larger than the snapshot. Loading a context applies its deltas to the snapshot in sequence order.
  */
 public class FlowContextStoreDAOImpl implements FlowContextStoreDAO {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Log LOG = LogFactory.getLog(FlowContextStoreDAOImpl.class);
+    private static final ObjectMapper OBJECT_MAPPER =
+            new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final boolean deltaEnabled;
+    private final int snapshotInterval;
+    private final Map<String, DeltaState> deltaStates;
+    private volatile UpsertType upsertType;
+
+    public FlowContextStoreDAOImpl() {
+
+        this(Boolean.parseBoolean(IdentityUtil.getProperty(FlowExecutionConfigs.DELTA_ENABLE_PROPERTY)),
+                readPositiveInt(FlowExecutionConfigs.DELTA_SNAPSHOT_INTERVAL_PROPERTY,
+                        FlowExecutionConfigs.DEFAULT_DELTA_SNAPSHOT_INTERVAL),
+                readPositiveInt(FlowExecutionConfigs.DELTA_MAX_TRACKED_CONTEXTS_PROPERTY,
+                        FlowExecutionConfigs.DEFAULT_DELTA_MAX_TRACKED_CONTEXTS));
+    }
+
+    FlowContextStoreDAOImpl(boolean deltaEnabled, int snapshotInterval, int maxTrackedContexts) {
+
+        this.deltaEnabled = deltaEnabled;
+        this.snapshotInterval = snapshotInterval;
+        this.deltaStates = Collections.synchronizedMap(new LinkedHashMap<String, DeltaState>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DeltaState> eldest) {
+
+                return size() > maxTrackedContexts;
+            }
+        });
+    }
 
     @Override
     public void storeContext(FlowExecutionContext context, long ttlSeconds) throws FlowEngineException {
@@ -56,33 +124,17 @@ public class FlowContextStoreDAOImpl implements FlowContextStoreDAO {
     @Override
     public void storeContext(String contextIdentifier, FlowExecutionContext context, long ttlSeconds) throws FlowEngineException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        int tenantId = IdentityTenantUtil.getTenantId(context.getTenantDomain());
+        long expiryTime = Instant.now().plusSeconds(ttlSeconds).toEpochMilli();
         try {
-            String serializedContext = OBJECT_MAPPER.writeValueAsString(context);
-            Timestamp now = Timestamp.from(Instant.now());
-            Timestamp expiresAt = Timestamp.from(Instant.now().plusSeconds(ttlSeconds));
-
-            int affectedRows = jdbcTemplate.executeUpdateWithAffectedRows(
-                    UPDATE_CONTEXT_SQL,
-                    preparedStatement -> {
-                        preparedStatement.setString(1, serializedContext);
-                        preparedStatement.setString(2, contextIdentifier);
-                        preparedStatement.setInt(3, IdentityTenantUtil.getTenantId(context.getTenantDomain()));
-                    });
-
-            if (affectedRows == 0) {
-                jdbcTemplate.executeUpdate(
-                        INSERT_CONTEXT_SQL,
-                        preparedStatement -> {
-                            preparedStatement.setString(1, contextIdentifier);
-                            preparedStatement.setInt(2, IdentityTenantUtil.getTenantId(context.getTenantDomain()));
-                            preparedStatement.setString(3, context.getFlowType());
-                            preparedStatement.setTimestamp(4, now);
-                            preparedStatement.setTimestamp(5, expiresAt);
-                            preparedStatement.setString(6, serializedContext);
-                        });
+            if (deltaEnabled) {
+                storeContextTree(contextIdentifier, tenantId, context.getFlowType(),
+                        OBJECT_MAPPER.valueToTree(context), expiryTime);
+                return;
             }
-        } catch (IOException | DataAccessException e) {
+            storeSnapshot(contextIdentifier, tenantId, context.getFlowType(),
+                    OBJECT_MAPPER.writeValueAsString(context), expiryTime, false);
+        } catch (IOException | IllegalArgumentException e) {
             throw FlowExecutionEngineUtils.handleServerException(context.getFlowType(),
                     Constants.ErrorMessages.ERROR_CODE_FLOW_CONTEXT_STORE_FAILURE,
                     e,
@@ -90,9 +142,22 @@ public class FlowContextStoreDAOImpl implements FlowContextStoreDAO {
         }
     }
 
+    @Override
+    public void storeSerializedContext(String contextIdentifier, int tenantId, String flowType,
+                                       String serializedContext, long expiryTime) throws FlowEngineException {
+
+        // Whether the snapshot replaced the stored context is not known, so the context is no longer tracked for
+        // deltas and the next store of it writes a snapshot again.
+        deltaStates.remove(contextIdentifier);
+        storeSnapshotIfNewer(contextIdentifier, tenantId, flowType, serializedContext, expiryTime);
+    }
+
     @Override
     public FlowExecutionContext getContext(String contextId) throws FlowEngineException {
 
+        if (deltaEnabled) {
+            return getContextWithDeltas(contextId);
+        }
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
             int tenantId = getTenantId();
@@ -116,6 +181,7 @@ public class FlowContextStoreDAOImpl implements FlowContextStoreDAO {
     @Override
     public void deleteContext(String contextId) throws FlowEngineException {
 
+        deltaStates.remove(contextId);
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
             jdbcTemplate.executeUpdate(DELETE_CONTEXT_SQL,
@@ -126,6 +192,309 @@ public class FlowContextStoreDAOImpl implements FlowContextStoreDAO {
         }
     }
 
+    /**
+     * Store the context as a delta against the last loaded or stored version if possible, otherwise as a snapshot.
+     */
+    private void storeContextTree(String contextIdentifier, int tenantId, String flowType, ObjectNode tree,
+                                  long expiryTime) throws IOException, FlowEngineException {
+
+        FlowContextFingerprint fingerprint = FlowContextFingerprint.of(tree, OBJECT_MAPPER);
+        DeltaState state = deltaStates.get(contextIdentifier);
+        if (state != null && state.tenantId == tenantId && state.sequenceNo < snapshotInterval) {
+            ObjectNode delta = fingerprint.diff(state.fingerprint, tree);
+            String serializedDelta = delta == null ? null : OBJECT_MAPPER.writeValueAsString(delta);
+            if (serializedDelta == null) {
+                if (storeDelta(contextIdentifier, tenantId, 0, null, expiryTime)) {
+                    return;
+                }
+            } else if (state.deltaLength + serializedDelta.length() < state.snapshotLength &&
+                    storeDelta(contextIdentifier, tenantId, state.sequenceNo + 1, serializedDelta, expiryTime)) {
+                deltaStates.put(contextIdentifier, new DeltaState(tenantId, fingerprint, state.sequenceNo + 1,
+                        state.deltaLength + serializedDelta.length(), state.snapshotLength));
+                return;
+            }
+        }
+
+        String serializedContext = OBJECT_MAPPER.writeValueAsString(tree);
+        // Deltas can only exist if this node wrote them or if the context is not tracked by this node.
+        boolean dropDeltas = state == null || state.sequenceNo > 0;
+        try {
+            storeSnapshot(contextIdentifier, tenantId, flowType, serializedContext, expiryTime, dropDeltas);
+        } catch (FlowEngineException e) {
+            deltaStates.remove(contextIdentifier);
+            throw e;
+        }
+        deltaStates.put(contextIdentifier,
+                new DeltaState(tenantId, fingerprint, 0, 0, serializedContext.length()));
+    }
+
+    /**
+     * Refresh the expiry time of the stored snapshot and add the delta record, if any.
+     *
+     * @return false if the snapshot is missing or the delta could not be added, in which case a snapshot has to be
+     * stored instead.
+     */
+    private boolean storeDelta(String contextIdentifier, int tenantId, int sequenceNo, String serializedDelta,
+                               long expiryTime) {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            int affectedRows = jdbcTemplate.executeUpdateWithAffectedRows(UPDATE_CONTEXT_EXPIRY_SQL,
+                    preparedStatement -> {
+                        preparedStatement.setTimestamp(1, new Timestamp(expiryTime));
+                        preparedStatement.setString(2, contextIdentifier);
+                        preparedStatement.setInt(3, tenantId);
+                    });
+            if (affectedRows == 0) {
+                return false;
+            }
+            if (serializedDelta != null) {
+                jdbcTemplate.executeUpdate(INSERT_CONTEXT_DELTA_SQL,
+                        preparedStatement -> {
+                            preparedStatement.setString(1, contextIdentifier);
+                            preparedStatement.setInt(2, sequenceNo);
+                            preparedStatement.setString(3, serializedDelta);
+                        });
+            }
+            return true;
+        } catch (DataAccessException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while storing the delta: " + sequenceNo + " of the flow context: " +
+                        contextIdentifier + ". Storing a snapshot instead.", e);
+            }
+            return false;
+        }
+    }
+
+    private void storeSnapshot(String contextIdentifier, int tenantId, String flowType, String serializedContext,
+                               long expiryTime, boolean dropDeltas) throws FlowEngineException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            Timestamp expiresAt = new Timestamp(expiryTime);
+            UpsertType upsertType = getUpsertType();
+
+            if (upsertType != UpsertType.NONE) {
+                if (!dropDeltas) {
+                    upsertContext(jdbcTemplate, upsertType, contextIdentifier, tenantId, flowType,
+                            serializedContext, now, expiresAt, false);
+                    return;
+                }
+                // The snapshot replaces the deltas, so both are written in the same transaction.
+                jdbcTemplate.withTransaction(template -> {
+                    template.executeUpdate(DELETE_CONTEXT_DELTAS_SQL,
+                            preparedStatement -> preparedStatement.setString(1, contextIdentifier));
+                    upsertContext(template, upsertType, contextIdentifier, tenantId, flowType, serializedContext,
+                            now, expiresAt, false);
+                    return null;
+                });
+                return;
+            }
+
+            if (dropDeltas) {
+                jdbcTemplate.executeUpdate(DELETE_CONTEXT_DELTAS_SQL,
+                        preparedStatement -> preparedStatement.setString(1, contextIdentifier));
+            }
+            int affectedRows = jdbcTemplate.executeUpdateWithAffectedRows(
+                    UPDATE_CONTEXT_SQL,
+                    preparedStatement -> {
+                        preparedStatement.setString(1, serializedContext);
+                        preparedStatement.setString(2, contextIdentifier);
+                        preparedStatement.setInt(3, tenantId);
+                    });
+
+            if (affectedRows == 0) {
+                insertContext(jdbcTemplate, contextIdentifier, tenantId, flowType, serializedContext, now,
+                        expiresAt);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            throw FlowExecutionEngineUtils.handleServerException(flowType,
+                    Constants.ErrorMessages.ERROR_CODE_FLOW_CONTEXT_STORE_FAILURE,
+                    e,
+                    contextIdentifier);
+        }
+    }
+
+    /**
+     * Store a snapshot unless a snapshot which expires later, i.e. a newer version of the context, is stored. The
+     * deltas of the context are dropped along with a replaced snapshot.
+     */
+    private void storeSnapshotIfNewer(String contextIdentifier, int tenantId, String flowType,
+                                      String serializedContext, long expiryTime) throws FlowEngineException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            Timestamp expiresAt = new Timestamp(expiryTime);
+            UpsertType upsertType = getUpsertType();
+            jdbcTemplate.withTransaction(template -> {
+                if (upsertType != UpsertType.NONE) {
+                    upsertContext(template, upsertType, contextIdentifier, tenantId, flowType, serializedContext,
+                            now, expiresAt, true);
+                } else {
+                    template.executeUpdate(UPDATE_CONTEXT_IF_NEWER_SQL,
+                            preparedStatement -> {
+                                preparedStatement.setString(1, serializedContext);
+                                preparedStatement.setTimestamp(2, expiresAt);
+                                preparedStatement.setString(3, contextIdentifier);
+                                preparedStatement.setInt(4, tenantId);
+                                preparedStatement.setTimestamp(5, expiresAt);
+                            });
+                    String storedContextId = template.fetchSingleRecord(SELECT_CONTEXT_ID_SQL,
+                            (resultSet, rowNumber) -> resultSet.getString(1),
+                            preparedStatement -> preparedStatement.setString(1, contextIdentifier));
+                    if (storedContextId == null) {
+                        insertContext(template, contextIdentifier, tenantId, flowType, serializedContext, now,
+                                expiresAt);
+                    }
+                }
+                if (deltaEnabled) {
+                    template.executeUpdate(DELETE_CONTEXT_DELTAS_IF_NOT_NEWER_SQL,
+                            preparedStatement -> {
+                                preparedStatement.setString(1, contextIdentifier);
+                                preparedStatement.setString(2, contextIdentifier);
+                                preparedStatement.setTimestamp(3, expiresAt);
+                            });
+                }
+                return null;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            throw FlowExecutionEngineUtils.handleServerException(flowType,
+                    Constants.ErrorMessages.ERROR_CODE_FLOW_CONTEXT_STORE_FAILURE,
+                    e,
+                    contextIdentifier);
+        }
+    }
+
+    private void insertContext(Template<?> template, String contextIdentifier, int tenantId, String flowType,
+                               String serializedContext, Timestamp now, Timestamp expiresAt)
+            throws DataAccessException {
+
+        template.executeUpdate(
+                INSERT_CONTEXT_SQL,
+                preparedStatement -> {
+                    preparedStatement.setString(1, contextIdentifier);
+                    preparedStatement.setInt(2, tenantId);
+                    preparedStatement.setString(3, flowType);
+                    preparedStatement.setTimestamp(4, now);
+                    preparedStatement.setTimestamp(5, expiresAt);
+                    preparedStatement.setString(6, serializedContext);
+                });
+    }
+
+    /**
+     * Upsert the snapshot. If onlyIfNewer is set, an existing snapshot is only replaced if it does not expire later
+     * than the new one.
+     */
+    private void upsertContext(Template<?> template, UpsertType upsertType, String contextIdentifier, int tenantId,
+                               String flowType, String serializedContext, Timestamp now, Timestamp expiresAt,
+                               boolean onlyIfNewer) throws DataAccessException {
+
+        if (upsertType == UpsertType.ORACLE) {
+            int offset = onlyIfNewer ? 1 : 0;
+            template.executeUpdate(
+                    onlyIfNewer ? UPSERT_CONTEXT_IF_NEWER_SQL_ORACLE : UPSERT_CONTEXT_SQL_ORACLE,
+                    preparedStatement -> {
+                        preparedStatement.setString(1, contextIdentifier);
+                        preparedStatement.setTimestamp(2, expiresAt);
+                        preparedStatement.setString(3, serializedContext);
+                        preparedStatement.setInt(4, tenantId);
+                        if (onlyIfNewer) {
+                            preparedStatement.setTimestamp(5, expiresAt);
+                        }
+                        preparedStatement.setString(5 + offset, contextIdentifier);
+                        preparedStatement.setInt(6 + offset, tenantId);
+                        preparedStatement.setString(7 + offset, flowType);
+                        preparedStatement.setTimestamp(8 + offset, now);
+                        preparedStatement.setTimestamp(9 + offset, expiresAt);
+                        preparedStatement.setString(10 + offset, serializedContext);
+                    });
+            return;
+        }
+        template.executeUpdate(
+                onlyIfNewer ? upsertType.getConditionalQuery() : upsertType.getQuery(),
+                preparedStatement -> {
+                    preparedStatement.setString(1, contextIdentifier);
+                    preparedStatement.setInt(2, tenantId);
+                    preparedStatement.setString(3, flowType);
+                    preparedStatement.setTimestamp(4, now);
+                    preparedStatement.setTimestamp(5, expiresAt);
+                    preparedStatement.setString(6, serializedContext);
+                });
+    }
+
+    /**
+     * Load the snapshot and the deltas of the context in a single query and replay the deltas in sequence order.
+     */
+    private FlowExecutionContext getContextWithDeltas(String contextId) throws FlowEngineException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            int tenantId = getTenantId();
+            Timestamp now = Timestamp.from(Instant.now());
+            List<StoredRecord> records = jdbcTemplate.executeQuery(SELECT_CONTEXT_WITH_DELTAS_SQL,
+                    (resultSet, rowNumber) -> new StoredRecord(resultSet.getInt(SEQUENCE_NO),
+                            resultSet.getString(FLOW_STATE_JSON)),
+                    preparedStatement -> {
+                        preparedStatement.setString(1, contextId);
+                        preparedStatement.setInt(2, tenantId);
+                        preparedStatement.setTimestamp(3, now);
+                        preparedStatement.setString(4, contextId);
+                        preparedStatement.setInt(5, tenantId);
+                        preparedStatement.setTimestamp(6, now);
+                    });
+            if (records.isEmpty() || records.get(0).sequenceNo != 0) {
+                deltaStates.remove(contextId);
+                return null;
+            }
+
+            String snapshot = records.get(0).json;
+            ObjectNode tree = (ObjectNode) OBJECT_MAPPER.readTree(snapshot);
+            int sequenceNo = 0;
+            long deltaLength = 0;
+            for (StoredRecord record : records.subList(1, records.size())) {
+                JsonNode delta = OBJECT_MAPPER.readTree(record.json);
+                FlowContextFingerprint.applyDelta(tree, delta);
+                sequenceNo = record.sequenceNo;
+                deltaLength += StringUtils.length(record.json);
+            }
+            FlowExecutionContext context = OBJECT_MAPPER.treeToValue(tree, FlowExecutionContext.class);
+            deltaStates.put(contextId, new DeltaState(tenantId, FlowContextFingerprint.of(tree, OBJECT_MAPPER),
+                    sequenceNo, deltaLength, snapshot.length()));
+            return context;
+        } catch (DataAccessException | IOException | ClassCastException e) {
+            throw FlowExecutionEngineUtils.handleServerException(
+                    Constants.ErrorMessages.ERROR_CODE_FLOW_CONTEXT_RETRIEVAL_FAILURE, e, contextId);
+        }
+    }
+
+    /**
+     * Resolve the upsert statement of the identity database once. Databases without a known upsert syntax fall back
+     * to an UPDATE followed by an INSERT.
+     */
+    private UpsertType getUpsertType() throws DataAccessException {
+
+        UpsertType type = upsertType;
+        if (type == null) {
+            if (JdbcUtils.isMySQLDB() || JdbcUtils.isMariaDB()) {
+                type = UpsertType.MYSQL;
+            } else if (JdbcUtils.isPostgreSQLDB()) {
+                type = UpsertType.POSTGRESQL;
+            } else if (JdbcUtils.isH2DB()) {
+                type = UpsertType.H2;
+            } else if (JdbcUtils.isMSSqlDB() || JdbcUtils.isDB2DB()) {
+                type = UpsertType.MSSQL_OR_DB2;
+            } else if (JdbcUtils.isOracleDB()) {
+                type = UpsertType.ORACLE;
+            } else {
+                type = UpsertType.NONE;
+            }
+            upsertType = type;
+        }
+        return type;
+    }
+
     private int getTenantId() throws FlowEngineServerException {
 
         try {
@@ -139,5 +508,91 @@ public class FlowContextStoreDAOImpl implements FlowContextStoreDAO {
                     Constants.ErrorMessages.ERROR_CODE_TENANT_ID_RETRIEVE_FAILURE, e);
         }
     }
-}
 
+    private static int readPositiveInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int parsedValue = Integer.parseInt(value.trim());
+                if (parsedValue > 0) {
+                    return parsedValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the warning below.
+            }
+            LOG.warn("Invalid value: " + value + " for " + property + ". Using the default value: " +
+                    defaultValue + ".");
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Fingerprint of the last loaded or stored version of a context, with the deltas written since its snapshot.
+     */
+    private static final class DeltaState {
+
+        private final int tenantId;
+        private final FlowContextFingerprint fingerprint;
+        private final int sequenceNo;
+        private final long deltaLength;
+        private final long snapshotLength;
+
+        DeltaState(int tenantId, FlowContextFingerprint fingerprint, int sequenceNo, long deltaLength,
+                   long snapshotLength) {
+
+            this.tenantId = tenantId;
+            this.fingerprint = fingerprint;
+            this.sequenceNo = sequenceNo;
+            this.deltaLength = deltaLength;
+            this.snapshotLength = snapshotLength;
+        }
+    }
+
+    /**
+     * Snapshot or delta row of a stored context. The snapshot has the sequence number 0.
+     */
+    private static final class StoredRecord {
+
+        private final int sequenceNo;
+        private final String json;
+
+        StoredRecord(int sequenceNo, String json) {
+
+            this.sequenceNo = sequenceNo;
+            this.json = json;
+        }
+    }
+
+    private enum UpsertType {
+
+        MYSQL(UPSERT_CONTEXT_SQL_MYSQL, UPSERT_CONTEXT_IF_NEWER_SQL_MYSQL),
+        POSTGRESQL(UPSERT_CONTEXT_SQL_POSTGRESQL, UPSERT_CONTEXT_IF_NEWER_SQL_POSTGRESQL),
+        H2(UPSERT_CONTEXT_SQL_H2, UPSERT_CONTEXT_IF_NEWER_SQL_H2),
+        MSSQL_OR_DB2(UPSERT_CONTEXT_SQL_MSSQL_OR_DB2, UPSERT_CONTEXT_IF_NEWER_SQL_MSSQL_OR_DB2),
+        ORACLE(UPSERT_CONTEXT_SQL_ORACLE, UPSERT_CONTEXT_IF_NEWER_SQL_ORACLE),
+        NONE(null, null);
+
+        private final String query;
+        private final String conditionalQuery;
+
+        UpsertType(String query, String conditionalQuery) {
+
+            this.query = query;
+            this.conditionalQuery = conditionalQuery;
+        }
+
+        String getQuery() {
+
+            return query;
+        }
+
+        /**
+         * Upsert which keeps an existing snapshot that expires later than the new one.
+         */
+        String getConditionalQuery() {
+
+            return conditionalQuery;
+        }
+    }
+}
@@ -50,8 +50,11 @@ public class FlowContextStore {
     private static final long DEFAULT_TTL_MINUTES = loadDefaultTTL();
     private static final FlowContextStore INSTANCE = new FlowContextStore();
 
+    private final TieredFlowContextStore tieredContextStore;
+
     private FlowContextStore() {
 
+        tieredContextStore = createTieredContextStore();
     }
 
     public static FlowContextStore getInstance() {
@@ -73,25 +76,79 @@ public class FlowContextStore {
             LOG.debug("Storing context: " + contextIdentifier + " with TTL: " + ttlSecs + " secs");
         }
 
+        if (tieredContextStore != null) {
+            tieredContextStore.storeContext(contextIdentifier, context, ttlSecs);
+            return;
+        }
         flowContextStoreDAO.storeContext(contextIdentifier, context, ttlSecs);
     }
 
     public Optional<FlowExecutionContext> getContext(String contextId) throws FlowEngineException {
 
+        if (tieredContextStore != null) {
+            return tieredContextStore.getContext(contextId);
+        }
         return Optional.ofNullable(flowContextStoreDAO.getContext(contextId));
     }
 
     public void deleteContext(String contextId) throws FlowEngineException {
 
         LOG.debug("Deleting context: " + contextId);
+        if (tieredContextStore != null) {
+            tieredContextStore.deleteContext(contextId);
+            return;
+        }
         flowContextStoreDAO.deleteContext(contextId);
     }
 
+    /**
+     * Write the pending context changes to the database and stop the write-behind flusher, if enabled.
+     */
+    public void shutdown() {
+
+        if (tieredContextStore != null) {
+            tieredContextStore.shutdown();
+        }
+    }
+
     private long resolveTTL(String flowType) {
 
         return FLOW_TYPE_TTL_MAP.getOrDefault(flowType, DEFAULT_TTL_MINUTES);
     }
 
+    private static TieredFlowContextStore createTieredContextStore() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(FlowExecutionConfigs.WRITE_BEHIND_ENABLE_PROPERTY))) {
+            return null;
+        }
+        long capacity = readPositiveLong(FlowExecutionConfigs.WRITE_BEHIND_HOT_TIER_CAPACITY_PROPERTY,
+                FlowExecutionConfigs.DEFAULT_WRITE_BEHIND_HOT_TIER_CAPACITY);
+        long flushInterval = readPositiveLong(FlowExecutionConfigs.WRITE_BEHIND_FLUSH_INTERVAL_PROPERTY,
+                FlowExecutionConfigs.DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS);
+        TieredFlowContextStore tieredStore = new TieredFlowContextStore(flowContextStoreDAO,
+                (int) Math.min(capacity, Integer.MAX_VALUE), flushInterval);
+        tieredStore.start();
+        return tieredStore;
+    }
+
+    private static long readPositiveLong(String property, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                long parsedValue = Long.parseLong(value.trim());
+                if (parsedValue > 0) {
+                    return parsedValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the warning below.
+            }
+            LOG.warn("Invalid value: " + value + " for " + property + ". Using the default value: " +
+                    defaultValue + ".");
+        }
+        return defaultValue;
+    }
+
     private static long loadDefaultTTL() {
 
         String value = IdentityUtil.getProperty(FlowExecutionConfigs.DEFAULT_TTL_PROPERTY);
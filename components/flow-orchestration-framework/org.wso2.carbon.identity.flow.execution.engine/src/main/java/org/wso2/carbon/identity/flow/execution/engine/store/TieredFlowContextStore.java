@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.flow.execution.engine.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.flow.execution.engine.Constants;
+import org.wso2.carbon.identity.flow.execution.engine.dao.FlowContextStoreDAO;
+import org.wso2.carbon.identity.flow.execution.engine.exception.FlowEngineException;
+import org.wso2.carbon.identity.flow.execution.engine.model.FlowExecutionContext;
+import org.wso2.carbon.identity.flow.execution.engine.util.FlowExecutionEngineUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind flow context store. Stored contexts are kept in a bounded in-memory tier of pending writes and written
+ * to the database asynchronously by a single flusher thread, so consecutive changes of a context within a flush
+ * interval are coalesced into one upsert or delete. Once the capacity is reached, changes are written to the
+ * database in the calling thread.
+ * <p>
+ * Contexts are only read from here when the flow context cache misses, e.g. after another node of the cluster changed
+ * the context and invalidated the cache. The in-memory copy may be stale then, so contexts are always read from the
+ * database, after writing the pending change of the context, if any. Pending changes are written conditionally on
+ * their expiry time, which is the write time plus the TTL of the flow type and so acts as the version of the context:
+ * a delayed change never replaces a newer version of the context stored by another node.
+ */
+final class TieredFlowContextStore {
+
+    private static final Log LOG = LogFactory.getLog(TieredFlowContextStore.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Number of times a pending change is written before it is discarded.
+     */
+    static final int MAX_FLUSH_ATTEMPTS = 10;
+
+    private final FlowContextStoreDAO flowContextStoreDAO;
+    private final int capacity;
+    private final long flushIntervalMillis;
+    private final Map<String, StoredContext> pendingWrites = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService flusher;
+
+    TieredFlowContextStore(FlowContextStoreDAO flowContextStoreDAO, int capacity, long flushIntervalMillis) {
+
+        this.flowContextStoreDAO = flowContextStoreDAO;
+        this.capacity = capacity;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * Start the thread which writes the pending changes to the database.
+     */
+    synchronized void start() {
+
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FlowContextStoreFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Started the flow context store flusher with capacity: " + capacity +
+                    " and flush interval: " + flushIntervalMillis + " ms.");
+        }
+    }
+
+    /**
+     * Stop the flusher thread and write the remaining pending changes to the database.
+     */
+    synchronized void shutdown() {
+
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                if (!flusher.awaitTermination(flushIntervalMillis + 5000L, TimeUnit.MILLISECONDS)) {
+                    LOG.warn("Flow context store flusher did not stop in time.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusher = null;
+        }
+        flush();
+    }
+
+    void storeContext(String contextIdentifier, FlowExecutionContext context, long ttlSeconds)
+            throws FlowEngineException {
+
+        String serializedContext;
+        try {
+            serializedContext = OBJECT_MAPPER.writeValueAsString(context);
+        } catch (IOException e) {
+            throw FlowExecutionEngineUtils.handleServerException(context.getFlowType(),
+                    Constants.ErrorMessages.ERROR_CODE_FLOW_CONTEXT_STORE_FAILURE, e, contextIdentifier);
+        }
+        StoredContext storedContext = new StoredContext(IdentityTenantUtil.getTenantId(context.getTenantDomain()),
+                context.getFlowType(), serializedContext, System.currentTimeMillis() + ttlSeconds * 1000L);
+
+        if (!hasPendingCapacity(contextIdentifier)) {
+            write(contextIdentifier, storedContext);
+            return;
+        }
+        pendingWrites.put(contextIdentifier, storedContext);
+    }
+
+    /**
+     * Read the context from the database. A pending change of the context is written first, so that the newer one of
+     * the pending change and the version stored by another node is returned.
+     */
+    Optional<FlowExecutionContext> getContext(String contextId) throws FlowEngineException {
+
+        StoredContext storedContext = pendingWrites.get(contextId);
+        if (storedContext != null) {
+            write(contextId, storedContext);
+            pendingWrites.remove(contextId, storedContext);
+        }
+        return Optional.ofNullable(flowContextStoreDAO.getContext(contextId));
+    }
+
+    void deleteContext(String contextId) throws FlowEngineException {
+
+        if (!hasPendingCapacity(contextId)) {
+            flowContextStoreDAO.deleteContext(contextId);
+            return;
+        }
+        pendingWrites.put(contextId, StoredContext.deleted());
+    }
+
+    /**
+     * Write the pending changes to the database. Changes which are replaced by a newer change of the same context
+     * while being written stay pending and are written in the next round.
+     */
+    void flush() {
+
+        int failures = 0;
+        FlowEngineException lastError = null;
+        for (Map.Entry<String, StoredContext> pendingWrite : pendingWrites.entrySet()) {
+            String contextId = pendingWrite.getKey();
+            StoredContext storedContext = pendingWrite.getValue();
+            try {
+                write(contextId, storedContext);
+                pendingWrites.remove(contextId, storedContext);
+            } catch (FlowEngineException e) {
+                failures++;
+                lastError = e;
+                if (++storedContext.attempts >= MAX_FLUSH_ATTEMPTS ||
+                        storedContext.expiryTime <= System.currentTimeMillis()) {
+                    if (pendingWrites.remove(contextId, storedContext)) {
+                        LOG.error("Discarding the pending change of flow context: " + contextId + " after " +
+                                storedContext.attempts + " failed attempts.", e);
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected error while writing the flow context: " + contextId + ". Discarding the " +
+                        "pending change.", e);
+                pendingWrites.remove(contextId, storedContext);
+            }
+        }
+        if (failures > 0) {
+            LOG.warn("Failed to write " + failures + " pending flow context changes to the database. They will be " +
+                    "retried in the next flush.", lastError);
+        }
+    }
+
+    int getPendingWriteCount() {
+
+        return pendingWrites.size();
+    }
+
+    private boolean hasPendingCapacity(String contextId) {
+
+        return pendingWrites.size() < capacity || pendingWrites.containsKey(contextId);
+    }
+
+    private void write(String contextId, StoredContext storedContext) throws FlowEngineException {
+
+        if (storedContext.isDeleted()) {
+            flowContextStoreDAO.deleteContext(contextId);
+            return;
+        }
+        flowContextStoreDAO.storeSerializedContext(contextId, storedContext.tenantId, storedContext.flowType,
+                storedContext.serializedContext, storedContext.expiryTime);
+    }
+
+    /**
+     * Serialized flow context kept in the pending writes.
+     */
+    private static final class StoredContext {
+
+        private final int tenantId;
+        private final String flowType;
+        private final String serializedContext;
+        private final long expiryTime;
+        // Only accessed by the flusher.
+        private int attempts;
+
+        StoredContext(int tenantId, String flowType, String serializedContext, long expiryTime) {
+
+            this.tenantId = tenantId;
+            this.flowType = flowType;
+            this.serializedContext = serializedContext;
+            this.expiryTime = expiryTime;
+        }
+
+        /**
+         * Marker of a deleted context. It never expires, so the deletion is retried until it succeeds or the
+         * maximum number of attempts is reached.
+         */
+        static StoredContext deleted() {
+
+            return new StoredContext(0, null, null, Long.MAX_VALUE);
+        }
+
+        boolean isDeleted() {
+
+            return serializedContext == null;
+        }
+    }
+}
@@ -109,7 +109,7 @@ public class FlowExecutionEngineUtils {
         optimizeContext(context);
         FlowExecCtxCacheEntry cacheEntry = new FlowExecCtxCacheEntry(context);
         FlowExecCtxCacheKey cacheKey = new FlowExecCtxCacheKey(cacheKeyIdentifier);
-        FlowExecCtxCache.getInstance().clearCacheEntry(cacheKey);
+        // The existing entry is replaced in place, so the stored context is updated instead of being re-created.
         FlowExecCtxCache.getInstance().addToCache(cacheKey, cacheEntry);
         if (LOG.isDebugEnabled()) {
             LOG.debug("Flow context added to cache for context id: " + cacheKeyIdentifier);
@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.flow.execution.engine.dao;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
@@ -26,6 +27,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.RowMapper;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
@@ -36,10 +38,15 @@ import org.wso2.carbon.identity.flow.execution.engine.model.FlowExecutionContext
 import org.wso2.carbon.identity.flow.execution.engine.util.FlowExecutionEngineUtils;
 import org.wso2.carbon.identity.flow.mgt.model.GraphConfig;
 
+import java.sql.ResultSet;
+import java.util.Arrays;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -157,6 +164,116 @@ public class FlowContextStoreDAOImplTest {
         verify(jdbcTemplate, times(0)).executeUpdate(contains("INSERT"), any());
     }
 
+    @Test
+    public void testStoreContextWithPostgreSQLUpsert() throws Exception {
+
+        jdbcUtils.when(JdbcUtils::isPostgreSQLDB).thenReturn(true);
+        FlowExecutionContext context = createTestContext();
+
+        flowContextStoreDAO.storeContext(context, TTL_SECONDS);
+        flowContextStoreDAO.storeContext(context, TTL_SECONDS);
+
+        verify(jdbcTemplate, times(2)).executeUpdate(contains("ON CONFLICT (ID)"), any());
+        verify(jdbcTemplate, times(0)).executeUpdateWithAffectedRows(any(), any());
+        // The database type is resolved only once.
+        jdbcUtils.verify(JdbcUtils::isPostgreSQLDB, times(1));
+    }
+
+    @Test
+    public void testStoreContextWithMergeUpsert() throws Exception {
+
+        jdbcUtils.when(JdbcUtils::isMSSqlDB).thenReturn(true);
+        FlowExecutionContext context = createTestContext();
+
+        flowContextStoreDAO.storeContext(context, TTL_SECONDS);
+
+        verify(jdbcTemplate).executeUpdate(contains("MERGE INTO IDN_FLOW_CONTEXT_STORE"), any());
+        verify(jdbcTemplate, times(0)).executeUpdateWithAffectedRows(any(), any());
+    }
+
+    @Test
+    public void testStoreContextWritesDeltaAfterSnapshot() throws Exception {
+
+        jdbcUtils.when(JdbcUtils::isPostgreSQLDB).thenReturn(true);
+        FlowContextStoreDAOImpl deltaDAO = new FlowContextStoreDAOImpl(true, 10, 100);
+        FlowExecutionContext context = createDeltaTestContext();
+        when(jdbcTemplate.executeUpdateWithAffectedRows(contains("SET EXPIRES_AT"), any())).thenReturn(1);
+
+        // The first store of an untracked context writes a snapshot and drops any stale deltas.
+        deltaDAO.storeContext(context, TTL_SECONDS);
+        verify(jdbcTemplate, times(1)).withTransaction(any());
+
+        context.setCurrentActionId("step-2");
+        context.getUserInputData().put("email", "john@example.com");
+        deltaDAO.storeContext(context, TTL_SECONDS);
+
+        verify(jdbcTemplate).executeUpdateWithAffectedRows(contains("SET EXPIRES_AT"), any());
+        verify(jdbcTemplate).executeUpdate(contains("INSERT INTO IDN_FLOW_CONTEXT_DELTA"), any());
+        verify(jdbcTemplate, times(1)).withTransaction(any());
+    }
+
+    @Test
+    public void testStoreContextWritesSnapshotWhenDeltaCannotBeStored() throws Exception {
+
+        jdbcUtils.when(JdbcUtils::isPostgreSQLDB).thenReturn(true);
+        FlowContextStoreDAOImpl deltaDAO = new FlowContextStoreDAOImpl(true, 10, 100);
+        FlowExecutionContext context = createDeltaTestContext();
+        // The snapshot row is missing, e.g. it was removed by the expired context cleanup.
+        when(jdbcTemplate.executeUpdateWithAffectedRows(contains("SET EXPIRES_AT"), any())).thenReturn(0);
+
+        deltaDAO.storeContext(context, TTL_SECONDS);
+        context.setCurrentActionId("step-2");
+        deltaDAO.storeContext(context, TTL_SECONDS);
+
+        verify(jdbcTemplate, times(0)).executeUpdate(contains("INSERT INTO IDN_FLOW_CONTEXT_DELTA"), any());
+        verify(jdbcTemplate, times(1)).withTransaction(any());
+        verify(jdbcTemplate, times(1)).executeUpdate(contains("ON CONFLICT (ID)"), any());
+    }
+
+    @Test
+    public void testStoreSerializedContextIsConditionalOnVersion() throws Exception {
+
+        jdbcUtils.when(JdbcUtils::isPostgreSQLDB).thenReturn(true);
+        FlowContextStoreDAOImpl deltaDAO = new FlowContextStoreDAOImpl(true, 10, 100);
+
+        deltaDAO.storeSerializedContext(CONTEXT_ID, -1234, FLOW_TYPE, "{}", System.currentTimeMillis());
+
+        // The conditional upsert and the removal of the replaced deltas run in a single transaction.
+        verify(jdbcTemplate, times(1)).withTransaction(any());
+        verify(jdbcTemplate, times(0)).executeUpdate(any(), any());
+        verify(jdbcTemplate, times(0)).executeUpdateWithAffectedRows(any(), any());
+    }
+
+    @Test
+    public void testGetContextAppliesDeltas() throws Exception {
+
+        FlowContextStoreDAOImpl deltaDAO = new FlowContextStoreDAOImpl(true, 10, 100);
+        String snapshot = new ObjectMapper().writeValueAsString(createDeltaTestContext());
+        String delta = "{\"fields\":{\"currentActionId\":\"step-2\"}," +
+                "\"entries\":{\"userInputData\":{\"email\":\"john@example.com\"}}}";
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(Constants.SQLConstants.SEQUENCE_NO)).thenReturn(0, 1);
+        when(resultSet.getString(Constants.SQLConstants.FLOW_STATE_JSON)).thenReturn(snapshot, delta);
+        doAnswer(invocation -> {
+            RowMapper<?> rowMapper = invocation.getArgument(1);
+            return Arrays.asList(rowMapper.mapRow(resultSet, 0), rowMapper.mapRow(resultSet, 1));
+        }).when(jdbcTemplate).executeQuery(contains("UNION ALL"), any(), any());
+
+        FlowExecutionContext context = deltaDAO.getContext(CONTEXT_ID);
+
+        assertNotNull(context);
+        assertEquals(context.getCurrentActionId(), "step-2");
+        assertEquals(context.getUserInputData().get("email"), "john@example.com");
+        assertEquals(context.getUserInputData().get("username"), "john");
+
+        // Storing the unchanged context only refreshes the expiry time of the snapshot.
+        when(jdbcTemplate.executeUpdateWithAffectedRows(contains("SET EXPIRES_AT"), any())).thenReturn(1);
+        deltaDAO.storeContext(context, TTL_SECONDS);
+        verify(jdbcTemplate).executeUpdateWithAffectedRows(contains("SET EXPIRES_AT"), any());
+        verify(jdbcTemplate, times(0)).executeUpdate(contains("IDN_FLOW_CONTEXT_DELTA"), any());
+        verify(jdbcTemplate, times(0)).withTransaction(any());
+    }
+
     @Test
     public void testStoreContextWithDataAccessException() throws Exception {
 
@@ -266,6 +383,17 @@ public class FlowContextStoreDAOImplTest {
         flowContextStoreDAO.getContext(CONTEXT_ID);
     }
 
+    private FlowExecutionContext createDeltaTestContext() {
+
+        FlowExecutionContext context = new FlowExecutionContext();
+        context.setContextIdentifier(CONTEXT_ID);
+        context.setTenantDomain(TENANT_DOMAIN);
+        context.setFlowType(FLOW_TYPE);
+        context.setCurrentActionId("step-1");
+        context.getUserInputData().put("username", "john");
+        return context;
+    }
+
     private FlowExecutionContext createTestContext() {
 
         FlowExecutionContext context = new FlowExecutionContext();
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.flow.execution.engine.store;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.flow.execution.engine.dao.FlowContextStoreDAO;
+import org.wso2.carbon.identity.flow.execution.engine.exception.FlowEngineServerException;
+import org.wso2.carbon.identity.flow.execution.engine.model.FlowExecutionContext;
+import org.wso2.carbon.identity.flow.execution.engine.util.FlowExecutionEngineUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for TieredFlowContextStore.
+ */
+public class TieredFlowContextStoreTest {
+
+    private static final String CONTEXT_ID = "test-context-id";
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String FLOW_TYPE = "REGISTRATION";
+    private static final long TTL_SECONDS = 900L;
+
+    @Mock
+    private FlowContextStoreDAO flowContextStoreDAO;
+
+    private AutoCloseable autoCloseable;
+    private MockedStatic<FlowExecutionEngineUtils> flowEngineUtils;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private TieredFlowContextStore tieredStore;
+
+    @BeforeMethod
+    public void setUp() {
+
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        flowEngineUtils = mockStatic(FlowExecutionEngineUtils.class);
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+        flowEngineUtils.when(FlowExecutionEngineUtils::resolveTenantDomain).thenReturn(TENANT_DOMAIN);
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(-1234);
+        tieredStore = new TieredFlowContextStore(flowContextStoreDAO, 2, 1000L);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        flowEngineUtils.close();
+        identityTenantUtil.close();
+        autoCloseable.close();
+    }
+
+    @Test
+    public void testStoreIsWrittenBehind() throws Exception {
+
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+
+        assertEquals(tieredStore.getPendingWriteCount(), 1);
+        verifyNoInteractions(flowContextStoreDAO);
+    }
+
+    @Test
+    public void testPendingChangeIsWrittenBeforeRead() throws Exception {
+
+        // Another node stored a newer version of the context, which the conditional write keeps.
+        FlowExecutionContext newerContext = createTestContext("step-2");
+        when(flowContextStoreDAO.getContext(CONTEXT_ID)).thenReturn(newerContext);
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+
+        Optional<FlowExecutionContext> context = tieredStore.getContext(CONTEXT_ID);
+
+        assertTrue(context.isPresent());
+        assertEquals(context.get().getCurrentActionId(), "step-2");
+        InOrder inOrder = inOrder(flowContextStoreDAO);
+        inOrder.verify(flowContextStoreDAO).storeSerializedContext(eq(CONTEXT_ID), eq(-1234), eq(FLOW_TYPE),
+                anyString(), anyLong());
+        inOrder.verify(flowContextStoreDAO).getContext(CONTEXT_ID);
+        assertEquals(tieredStore.getPendingWriteCount(), 0);
+    }
+
+    @Test
+    public void testPendingChangeIsWrittenWithItsExpiryTime() throws Exception {
+
+        long writeTime = System.currentTimeMillis();
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+
+        tieredStore.flush();
+
+        ArgumentCaptor<Long> expiryTime = ArgumentCaptor.forClass(Long.class);
+        verify(flowContextStoreDAO).storeSerializedContext(eq(CONTEXT_ID), eq(-1234), eq(FLOW_TYPE), anyString(),
+                expiryTime.capture());
+        assertTrue(expiryTime.getValue() >= writeTime + TTL_SECONDS * 1000L);
+        assertTrue(expiryTime.getValue() <= System.currentTimeMillis() + TTL_SECONDS * 1000L);
+    }
+
+    @Test
+    public void testChangesAreCoalescedOnFlush() throws Exception {
+
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+        tieredStore.deleteContext(CONTEXT_ID);
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-2"), TTL_SECONDS);
+        assertEquals(tieredStore.getPendingWriteCount(), 1);
+
+        tieredStore.flush();
+
+        verify(flowContextStoreDAO, times(1)).storeSerializedContext(eq(CONTEXT_ID), eq(-1234), eq(FLOW_TYPE),
+                anyString(), anyLong());
+        verify(flowContextStoreDAO, never()).deleteContext(anyString());
+        assertEquals(tieredStore.getPendingWriteCount(), 0);
+    }
+
+    @Test
+    public void testPendingDeletionIsWrittenBeforeRead() throws Exception {
+
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+        tieredStore.deleteContext(CONTEXT_ID);
+
+        assertFalse(tieredStore.getContext(CONTEXT_ID).isPresent());
+        verify(flowContextStoreDAO).deleteContext(CONTEXT_ID);
+        verify(flowContextStoreDAO, never()).storeSerializedContext(anyString(), anyInt(), anyString(), anyString(),
+                anyLong());
+        assertEquals(tieredStore.getPendingWriteCount(), 0);
+    }
+
+    @Test
+    public void testReadThroughWithoutPendingChange() throws Exception {
+
+        FlowExecutionContext storedContext = createTestContext("step-1");
+        when(flowContextStoreDAO.getContext(CONTEXT_ID)).thenReturn(storedContext);
+
+        Optional<FlowExecutionContext> context = tieredStore.getContext(CONTEXT_ID);
+
+        assertTrue(context.isPresent());
+        verify(flowContextStoreDAO).getContext(CONTEXT_ID);
+    }
+
+    @Test
+    public void testPendingChangeStaysPendingWhenWriteBeforeReadFails() throws Exception {
+
+        doThrow(new FlowEngineServerException("Store failure")).when(flowContextStoreDAO)
+                .storeSerializedContext(anyString(), anyInt(), anyString(), anyString(), anyLong());
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+
+        assertThrows(FlowEngineServerException.class, () -> tieredStore.getContext(CONTEXT_ID));
+        verify(flowContextStoreDAO, never()).getContext(anyString());
+        assertEquals(tieredStore.getPendingWriteCount(), 1);
+    }
+
+    @Test
+    public void testFailedWritesAreRetriedAndDiscarded() throws Exception {
+
+        doThrow(new FlowEngineServerException("Store failure")).when(flowContextStoreDAO)
+                .storeSerializedContext(anyString(), anyInt(), anyString(), anyString(), anyLong());
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+
+        for (int i = 1; i < TieredFlowContextStore.MAX_FLUSH_ATTEMPTS; i++) {
+            tieredStore.flush();
+            assertEquals(tieredStore.getPendingWriteCount(), 1);
+        }
+        tieredStore.flush();
+
+        assertEquals(tieredStore.getPendingWriteCount(), 0);
+        verify(flowContextStoreDAO, times(TieredFlowContextStore.MAX_FLUSH_ATTEMPTS))
+                .storeSerializedContext(anyString(), anyInt(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testWriteThroughWhenPendingWritesAreFull() throws Exception {
+
+        tieredStore.storeContext("context-1", createTestContext("step-1"), TTL_SECONDS);
+        tieredStore.storeContext("context-2", createTestContext("step-1"), TTL_SECONDS);
+        tieredStore.storeContext("context-3", createTestContext("step-1"), TTL_SECONDS);
+
+        assertEquals(tieredStore.getPendingWriteCount(), 2);
+        verify(flowContextStoreDAO).storeSerializedContext(eq("context-3"), eq(-1234), eq(FLOW_TYPE), anyString(),
+                anyLong());
+    }
+
+    @Test
+    public void testShutdownFlushesPendingWrites() throws Exception {
+
+        tieredStore.start();
+        tieredStore.storeContext(CONTEXT_ID, createTestContext("step-1"), TTL_SECONDS);
+
+        tieredStore.shutdown();
+
+        verify(flowContextStoreDAO).storeSerializedContext(eq(CONTEXT_ID), eq(-1234), eq(FLOW_TYPE), anyString(),
+                anyLong());
+        assertEquals(tieredStore.getPendingWriteCount(), 0);
+    }
+
+    private FlowExecutionContext createTestContext(String currentActionId) {
+
+        FlowExecutionContext context = new FlowExecutionContext();
+        context.setContextIdentifier(CONTEXT_ID);
+        context.setTenantDomain(TENANT_DOMAIN);
+        context.setFlowType(FLOW_TYPE);
+        context.setCurrentActionId(currentActionId);
+        return context;
+    }
+}
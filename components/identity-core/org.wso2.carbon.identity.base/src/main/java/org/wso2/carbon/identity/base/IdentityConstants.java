@@ -119,6 +119,7 @@ public class IdentityConstants {
     public final static String CACHE_ENABLE = "enable";
     public final static String CACHE_TIMEOUT = "timeout";
     public final static String CACHE_CAPACITY = "capacity";
+    public final static String CACHE_NEAR_CACHE_CAPACITY = "nearCacheCapacity";
     
     // Cookie Config constants
     public final static String COOKIES_CONFIG = "Cookies";
@@ -31,16 +31,24 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import javax.cache.Cache;
 import javax.cache.CacheBuilder;
 import javax.cache.CacheConfiguration;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.Status;
 
 /**
  * A base class for all cache implementations in Identity modules. This maintains  caches in the tenanted space.
  * A copy of this class is maintained at org.wso2.carbon.identity.organization.management.service.cache component.
+ * <p>
+ * The resolved javax.cache instance of each tenant is kept in memory, so the cache manager is looked up only once
+ * per tenant. When a near cache capacity is configured for the cache, an in-process near cache is maintained in
+ * front of the underlying cache which serves hits without starting a tenant flow. The near cache is invalidated
+ * through a cache listener registered on the underlying cache of each tenant.
  *
  * @param <K> cache key type.
  * @param <V> cache value type.
@@ -49,10 +57,14 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
 
     private static final Log log = LogFactory.getLog(BaseCache.class);
     private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
+    private static final int NEAR_CACHE_DEFAULT_TIMEOUT = 900;
     private CacheBuilder<K, V> cacheBuilder;
     private final List<AbstractCacheListener<K, V>> cacheListeners;
     private String cacheName;
     private final IdentityCacheConfig identityCacheConfig;
+    private final Map<Integer, Cache<K, V>> cacheHandles = new ConcurrentHashMap<>();
+    private volatile NearCache<K, V> nearCache;
+    private volatile boolean nearCacheResolved;
 
     public BaseCache(String cacheName) {
 
@@ -93,6 +105,26 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
 
     private Cache<K, V> getBaseCache() {
 
+        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        Cache<K, V> cache = cacheHandles.get(tenantId);
+        if (cache != null && cache.getStatus() == Status.STARTED) {
+            return cache;
+        }
+        return cacheHandles.compute(tenantId, (id, current) -> {
+            if (current != null && current.getStatus() == Status.STARTED) {
+                return current;
+            }
+            Cache<K, V> resolved = resolveBaseCache();
+            NearCache<K, V> near = getNearCache();
+            if (resolved != null && near != null) {
+                resolved.registerCacheEntryListener(new NearCacheInvalidationListener<>(near));
+            }
+            return resolved;
+        });
+    }
+
+    private Cache<K, V> resolveBaseCache() {
+
         Cache<K, V> cache;
         CacheManager cacheManager = Caching.getCacheManagerFactory()
                 .getCacheManager(CACHE_MANAGER_NAME);
@@ -153,6 +185,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.put(key, entry);
             }
+            invalidateNearCacheEntry(key);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -177,6 +210,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.put(key, entry);
             }
+            invalidateNearCacheEntry(key);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -200,6 +234,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.putIfNoDuplicate(key, entry);
             }
+            invalidateNearCacheEntry(key);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -223,6 +258,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.putIfNoDuplicate(key, entry);
             }
+            invalidateNearCacheEntry(key);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -245,10 +281,14 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return null;
         }
 
+        if (getNearCache() != null) {
+            return getValueFromCache(key, IdentityTenantUtil.getTenantId(tenantDomain));
+        }
+
         try {
             startTenantFlow(tenantDomain);
             Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
+            if (cache != null) {
                 return cache.get(key);
             }
             return null;
@@ -274,13 +314,27 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return null;
         }
 
+        NearCache<K, V> near = getNearCache();
+        long stamp = 0;
+        if (near != null) {
+            V value = near.get(tenantId, key);
+            if (value != null) {
+                return value;
+            }
+            stamp = near.stamp();
+        }
+
         try {
             startTenantFlow(tenantId);
             Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
-                return cache.get(key);
+            V value = null;
+            if (cache != null) {
+                value = cache.get(key);
             }
-            return null;
+            if (near != null && value != null) {
+                near.put(tenantId, key, value, stamp);
+            }
+            return value;
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -304,6 +358,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.remove(key);
             }
+            invalidateNearCacheEntry(key);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -327,6 +382,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.remove(key);
             }
+            invalidateNearCacheEntry(key);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -349,6 +405,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.removeAll();
             }
+            invalidateNearCache();
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -371,6 +428,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             if (cache != null) {
                 cache.removeAll();
             }
+            invalidateNearCache();
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -407,6 +465,57 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         }
     }
 
+    /**
+     * Get the maximum number of entries kept in the in-process near cache. The near cache is disabled when the
+     * capacity is not positive.
+     *
+     * @return Near cache capacity.
+     */
+    public int getNearCacheCapacity() {
+
+        if (identityCacheConfig != null && identityCacheConfig.getNearCacheCapacity() > 0) {
+            return identityCacheConfig.getNearCacheCapacity();
+        }
+        return -1;
+    }
+
+    private NearCache<K, V> getNearCache() {
+
+        if (!nearCacheResolved) {
+            synchronized (this) {
+                if (!nearCacheResolved) {
+                    int nearCacheCapacity = getNearCacheCapacity();
+                    if (nearCacheCapacity > 0) {
+                        int nearCacheTimeout = getCacheTimeout() > 0 ? getCacheTimeout() : NEAR_CACHE_DEFAULT_TIMEOUT;
+                        nearCache = new NearCache<>(nearCacheCapacity, nearCacheTimeout);
+                        if (log.isDebugEnabled()) {
+                            log.debug("Near cache is enabled for cache : " + cacheName + " with capacity : " +
+                                    nearCacheCapacity + " and timeout : " + nearCacheTimeout);
+                        }
+                    }
+                    nearCacheResolved = true;
+                }
+            }
+        }
+        return nearCache;
+    }
+
+    private void invalidateNearCacheEntry(K key) {
+
+        NearCache<K, V> near = getNearCache();
+        if (near != null) {
+            near.invalidate(CarbonContext.getThreadLocalCarbonContext().getTenantId(), key);
+        }
+    }
+
+    private void invalidateNearCache() {
+
+        NearCache<K, V> near = getNearCache();
+        if (near != null) {
+            near.invalidateAll(CarbonContext.getThreadLocalCarbonContext().getTenantId());
+        }
+    }
+
     private void startTenantFlow(String tenantDomain) {
 
         PrivilegedCarbonContext.startTenantFlow();
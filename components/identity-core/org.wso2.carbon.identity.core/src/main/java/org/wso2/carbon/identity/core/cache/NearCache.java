@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-process, size bounded near cache which sits in front of the javax.cache instances maintained by
+ * {@link BaseCache}. Entries are keyed by (tenant id, key) so a lookup does not need a tenant flow.
+ * <p>
+ * Admission follows the W-TinyLFU scheme: new entries land in a small admission window and, once the window
+ * overflows, its oldest entry is only promoted to the main region if its estimated access frequency is higher
+ * than the frequency of the main region's eviction victim. Reads are lock free; writes and evictions are
+ * serialized on the near cache instance.
+ *
+ * @param <K> cache key type.
+ * @param <V> cache value type.
+ */
+final class NearCache<K, V> {
+
+    private static final int WINDOW_PERCENTAGE = 1;
+
+    private final int capacity;
+    private final int windowCapacity;
+    private final long ttlNanos;
+    private final FrequencySketch sketch;
+    private final Map<TenantKey<K>, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LinkedHashSet<TenantKey<K>> window = new LinkedHashSet<>();
+    private final LinkedHashSet<TenantKey<K>> main = new LinkedHashSet<>();
+    private final AtomicLong invalidationStamp = new AtomicLong();
+
+    NearCache(int capacity, int ttlSeconds) {
+
+        this.capacity = capacity;
+        this.windowCapacity = Math.max(1, capacity * WINDOW_PERCENTAGE / 100);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    /**
+     * Get the value for the given key of the given tenant, recording the access for admission decisions.
+     *
+     * @param tenantId Tenant id.
+     * @param key      Cache key.
+     * @return Cached value or null if not present or expired.
+     */
+    V get(int tenantId, K key) {
+
+        TenantKey<K> tenantKey = new TenantKey<>(tenantId, key);
+        sketch.increment(tenantKey.hashCode());
+        Entry<V> entry = entries.get(tenantKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            invalidate(tenantId, key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Return a stamp that must be passed to {@link #put(int, Object, Object, long)} when populating the near cache
+     * from a value read from the underlying cache. Any invalidation which happens in between makes the stamp stale
+     * so a value read before a concurrent update is never published.
+     *
+     * @return Current invalidation stamp.
+     */
+    long stamp() {
+
+        return invalidationStamp.get();
+    }
+
+    /**
+     * Add the value to the near cache if no invalidation happened since the given stamp was taken.
+     *
+     * @param tenantId Tenant id.
+     * @param key      Cache key.
+     * @param value    Value read from the underlying cache.
+     * @param stamp    Stamp taken before the underlying cache was read.
+     */
+    synchronized void put(int tenantId, K key, V value, long stamp) {
+
+        if (value == null || stamp != invalidationStamp.get()) {
+            return;
+        }
+        TenantKey<K> tenantKey = new TenantKey<>(tenantId, key);
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        if (entries.put(tenantKey, entry) != null) {
+            // Existing entry is refreshed in place and keeps its region.
+            return;
+        }
+        window.add(tenantKey);
+        if (window.size() > windowCapacity) {
+            TenantKey<K> candidate = poll(window);
+            admit(candidate);
+        }
+    }
+
+    /**
+     * Remove the entry of the given key of the given tenant.
+     *
+     * @param tenantId Tenant id.
+     * @param key      Cache key.
+     */
+    synchronized void invalidate(int tenantId, K key) {
+
+        invalidationStamp.incrementAndGet();
+        TenantKey<K> tenantKey = new TenantKey<>(tenantId, key);
+        if (entries.remove(tenantKey) != null) {
+            window.remove(tenantKey);
+            main.remove(tenantKey);
+        }
+    }
+
+    /**
+     * Remove the entries of the given key across all the tenants. Used when the tenant of an invalidation
+     * cannot be determined.
+     *
+     * @param key Cache key.
+     */
+    synchronized void invalidate(K key) {
+
+        invalidationStamp.incrementAndGet();
+        removeIf(tenantKey -> Objects.equals(tenantKey.key, key));
+    }
+
+    /**
+     * Remove all the entries of the given tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    synchronized void invalidateAll(int tenantId) {
+
+        invalidationStamp.incrementAndGet();
+        removeIf(tenantKey -> tenantKey.tenantId == tenantId);
+    }
+
+    int size() {
+
+        return entries.size();
+    }
+
+    private void admit(TenantKey<K> candidate) {
+
+        if (entries.size() <= capacity) {
+            main.add(candidate);
+            return;
+        }
+        TenantKey<K> victim = main.isEmpty() ? null : main.iterator().next();
+        if (victim == null || sketch.frequency(candidate.hashCode()) > sketch.frequency(victim.hashCode())) {
+            if (victim != null) {
+                main.remove(victim);
+                entries.remove(victim);
+            }
+            main.add(candidate);
+        } else {
+            entries.remove(candidate);
+        }
+    }
+
+    private void removeIf(Predicate<TenantKey<K>> predicate) {
+
+        Iterator<TenantKey<K>> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            TenantKey<K> tenantKey = iterator.next();
+            if (predicate.test(tenantKey)) {
+                iterator.remove();
+                window.remove(tenantKey);
+                main.remove(tenantKey);
+            }
+        }
+    }
+
+    private static <T> T poll(LinkedHashSet<T> set) {
+
+        Iterator<T> iterator = set.iterator();
+        T head = iterator.next();
+        iterator.remove();
+        return head;
+    }
+
+    /**
+     * Near cache key which binds a cache key to its tenant.
+     */
+    private static final class TenantKey<K> {
+
+        private final int tenantId;
+        private final K key;
+        private final int hash;
+
+        TenantKey(int tenantId, K key) {
+
+            this.tenantId = tenantId;
+            this.key = key;
+            this.hash = 31 * tenantId + Objects.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TenantKey)) {
+                return false;
+            }
+            TenantKey<?> that = (TenantKey<?>) o;
+            return tenantId == that.tenantId && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hash;
+        }
+    }
+
+    /**
+     * Near cache value holder with its expiry time.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+
+            return now - expiresAt > 0;
+        }
+    }
+
+    /**
+     * Count-min sketch with 4 bit saturating counters which estimates the access frequency of keys. Counters are
+     * halved once the number of recorded accesses reaches ten times the cache capacity so that the estimation
+     * follows the recent popularity of keys. Updates are not atomic; occasionally lost increments only make the
+     * estimation slightly less accurate.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final int MAX_COUNT = 15;
+
+        private final int[][] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+
+            int width = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+            this.table = new int[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = Math.max(10 * capacity, 10);
+        }
+
+        void increment(int hash) {
+
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                if (table[i][index] < MAX_COUNT) {
+                    table[i][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int indexOf(int hash, int row) {
+
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & mask;
+        }
+
+        private void reset() {
+
+            for (int[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            additions = additions >>> 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache.warmup;
+
+/**
+ * Loads the entries of a cache which is warmed up by the {@link CacheWarmUpManager}. The keys handed to the loader
+ * are the keys the cache layer recorded through {@link CacheWarmUpManager#recordAccess(String, String, String)}
+ * under the name of the loader.
+ */
+public interface CacheWarmUpLoader {
+
+    /**
+     * Name of the loader. Accesses are recorded and persisted under this name.
+     *
+     * @return Name of the loader.
+     */
+    String getName();
+
+    /**
+     * Load the entry of the given key to the cache. Invoked inside the tenant flow of the given tenant.
+     *
+     * @param tenantDomain Tenant domain the key belongs to.
+     * @param key          Key recorded by the cache layer.
+     * @throws CacheWarmUpException If the entry could not be loaded.
+     */
+    void load(String tenantDomain, String key) throws CacheWarmUpException;
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache.warmup;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.utils.CarbonUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_KEY_FILE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_MAX_DURATION_SECONDS;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_PERSIST_INTERVAL_SECONDS;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_POOL_SIZE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_READY_THRESHOLD_PERCENTAGE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_SAMPLING_RATE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.DEFAULT_TOP_KEYS_PER_TENANT;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.ENABLE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.KEY_FILE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.MAX_DURATION_SECONDS;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.PERSIST_INTERVAL_SECONDS;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.POOL_SIZE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.READY_THRESHOLD_PERCENTAGE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.SAMPLING_RATE;
+import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.CacheWarmUp.TOP_KEYS_PER_TENANT;
+
+/**
+ * Warms up the identity caches after a restart, so that the first requests of a node do not pay for the cache misses
+ * of every identity provider, application, claim and role they touch.
+ * <p>
+ * The cache layers record the keys they serve under the name of a {@link CacheWarmUpLoader}. The most accessed keys
+ * of each loader and tenant are tracked in a {@link TopKeySketch} and periodically written to a key file. On the
+ * next start, the keys of the super tenant are loaded once the server startup completes and the keys of the other
+ * tenants are loaded when the tenant is loaded. The keys are loaded by a bounded pool of threads, the most accessed
+ * keys first. The node reports itself as ready once the configured percentage of the super tenant keys are loaded,
+ * or once the maximum warm-up duration elapses.
+ */
+public class CacheWarmUpManager {
+
+    private static final Log log = LogFactory.getLog(CacheWarmUpManager.class);
+    private static final CacheWarmUpManager instance = new CacheWarmUpManager();
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final int FIELD_COUNT = 4;
+    private static final ThreadLocal<Boolean> warmingUp = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Map<String, CacheWarmUpLoader> loaders = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, TopKeySketch>> sketches = new ConcurrentHashMap<>();
+    private final Map<String, List<PersistedKey>> pendingKeys = new ConcurrentHashMap<>();
+    private volatile Settings settings;
+    private volatile CacheWarmUpProgress startupProgress;
+    private ThreadPoolExecutor warmUpExecutor;
+    private ScheduledExecutorService persistScheduler;
+
+    CacheWarmUpManager() {
+
+    }
+
+    public static CacheWarmUpManager getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Start tracking the cache accesses if the cache warm-up is enabled, and read the keys persisted by the previous
+     * run of the server.
+     */
+    public void start() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE))) {
+            return;
+        }
+        Path keyFile = Paths.get(StringUtils.defaultIfBlank(IdentityUtil.getProperty(KEY_FILE), DEFAULT_KEY_FILE));
+        if (!keyFile.isAbsolute()) {
+            keyFile = Paths.get(CarbonUtils.getCarbonHome()).resolve(keyFile);
+        }
+        start(new Settings(keyFile, readPositiveInt(TOP_KEYS_PER_TENANT, DEFAULT_TOP_KEYS_PER_TENANT),
+                readPositiveInt(SAMPLING_RATE, DEFAULT_SAMPLING_RATE),
+                readPositiveInt(PERSIST_INTERVAL_SECONDS, DEFAULT_PERSIST_INTERVAL_SECONDS),
+                readPositiveInt(POOL_SIZE, DEFAULT_POOL_SIZE),
+                Math.min(100, readPositiveInt(READY_THRESHOLD_PERCENTAGE, DEFAULT_READY_THRESHOLD_PERCENTAGE)),
+                readPositiveInt(MAX_DURATION_SECONDS, DEFAULT_MAX_DURATION_SECONDS)));
+    }
+
+    synchronized void start(Settings newSettings) {
+
+        if (settings != null) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        warmUpExecutor = new ThreadPoolExecutor(newSettings.poolSize, newSettings.poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CacheWarmUp-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        warmUpExecutor.allowCoreThreadTimeOut(true);
+        persistScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CacheWarmUpKeyPersister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        readKeys(newSettings);
+        persistScheduler.scheduleWithFixedDelay(this::persistKeysSafely, newSettings.persistIntervalSeconds,
+                newSettings.persistIntervalSeconds, TimeUnit.SECONDS);
+        settings = newSettings;
+        log.info("Cache warm-up is enabled with " + loaders.size() + " registered loaders. Cache keys are " +
+                "persisted to: " + newSettings.keyFile);
+    }
+
+    /**
+     * Persist the tracked keys and stop the warm-up threads.
+     */
+    public synchronized void shutdown() {
+
+        if (settings == null) {
+            return;
+        }
+        persistScheduler.shutdownNow();
+        warmUpExecutor.shutdownNow();
+        persistKeysSafely();
+        settings = null;
+    }
+
+    public boolean isEnabled() {
+
+        return settings != null;
+    }
+
+    public void registerLoader(CacheWarmUpLoader loader) {
+
+        loaders.put(loader.getName(), loader);
+        if (log.isDebugEnabled()) {
+            log.debug("Registered cache warm-up loader: " + loader.getName());
+        }
+    }
+
+    public void unregisterLoader(String loaderName) {
+
+        loaders.remove(loaderName);
+    }
+
+    /**
+     * Record an access of a cache key. Only a sample of the accesses, as configured by the sampling rate, is
+     * recorded. Accesses made while warming up the caches are not recorded.
+     *
+     * @param loaderName   Name of the loader which can load the key.
+     * @param tenantDomain Tenant domain the key belongs to.
+     * @param key          Accessed key.
+     */
+    public void recordAccess(String loaderName, String tenantDomain, String key) {
+
+        Settings current = settings;
+        if (current == null || StringUtils.isBlank(tenantDomain) || StringUtils.isBlank(key)) {
+            return;
+        }
+        if (current.samplingRate > 1 && ThreadLocalRandom.current().nextInt(current.samplingRate) != 0) {
+            return;
+        }
+        if (warmingUp.get()) {
+            return;
+        }
+        getSketch(current, loaderName, tenantDomain).add(key, 1);
+    }
+
+    /**
+     * Record an access of a cache key of the tenant with the given id. The tenant domain is only resolved for the
+     * sampled accesses.
+     *
+     * @param loaderName Name of the loader which can load the key.
+     * @param tenantId   Id of the tenant the key belongs to.
+     * @param key        Accessed key.
+     */
+    public void recordAccess(String loaderName, int tenantId, String key) {
+
+        Settings current = settings;
+        if (current == null || StringUtils.isBlank(key)) {
+            return;
+        }
+        if (current.samplingRate > 1 && ThreadLocalRandom.current().nextInt(current.samplingRate) != 0) {
+            return;
+        }
+        if (warmingUp.get()) {
+            return;
+        }
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantId);
+        if (StringUtils.isNotBlank(tenantDomain)) {
+            getSketch(current, loaderName, tenantDomain).add(key, 1);
+        }
+    }
+
+    /**
+     * Warm up the caches of the super tenant. Invoked once the server startup completes.
+     */
+    public void warmUpOnStartup() {
+
+        if (settings == null || startupProgress != null) {
+            return;
+        }
+        startupProgress = warmUp(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+    }
+
+    /**
+     * Load the persisted keys of the given tenant in the background. The keys of a tenant are only loaded once.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Progress of the warm-up, or null if the cache warm-up is not enabled.
+     */
+    public CacheWarmUpProgress warmUp(String tenantDomain) {
+
+        if (settings == null) {
+            return null;
+        }
+        List<PersistedKey> keys = pendingKeys.remove(tenantDomain);
+        if (keys == null) {
+            keys = Collections.emptyList();
+        }
+        keys.sort((first, second) -> Long.compare(second.count, first.count));
+        CacheWarmUpProgress progress = new CacheWarmUpProgress(tenantDomain, keys.size());
+        if (log.isDebugEnabled()) {
+            log.debug("Warming up " + keys.size() + " cache keys of tenant: " + tenantDomain);
+        }
+        for (PersistedKey key : keys) {
+            CacheWarmUpLoader loader = loaders.get(key.loaderName);
+            if (loader == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("No cache warm-up loader is registered with the name: " + key.loaderName);
+                }
+                recordFailed(progress);
+                continue;
+            }
+            try {
+                warmUpExecutor.execute(() -> load(loader, key.key, progress));
+            } catch (RejectedExecutionException e) {
+                recordFailed(progress);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Progress of the super tenant warm-up.
+     *
+     * @return Progress, or null if the warm-up has not started.
+     */
+    public CacheWarmUpProgress getProgress() {
+
+        return startupProgress;
+    }
+
+    /**
+     * Whether the node is ready to serve requests. The node is ready once the configured percentage of the super
+     * tenant keys are processed, or once the maximum warm-up duration elapses. The node is always ready if the cache
+     * warm-up is not enabled.
+     *
+     * @return True if the node is ready.
+     */
+    public boolean isReady() {
+
+        Settings current = settings;
+        if (current == null) {
+            return true;
+        }
+        CacheWarmUpProgress progress = startupProgress;
+        if (progress == null) {
+            return false;
+        }
+        return progress.isCompleted() || progress.getPercentage() >= current.readyThresholdPercentage ||
+                progress.getElapsedMillis() >= TimeUnit.SECONDS.toMillis(current.maxDurationSeconds);
+    }
+
+    /**
+     * Write the tracked keys to the key file and decay their access counts.
+     *
+     * @throws IOException If the key file could not be written.
+     */
+    void persistKeys() throws IOException {
+
+        Settings current = settings;
+        if (current == null) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Map<String, TopKeySketch>> loaderSketches : sketches.entrySet()) {
+            for (Map.Entry<String, TopKeySketch> tenantSketch : loaderSketches.getValue().entrySet()) {
+                for (TopKeySketch.KeyCount keyCount : tenantSketch.getValue().getTopKeys()) {
+                    lines.add(encode(loaderSketches.getKey()) + FIELD_SEPARATOR + encode(tenantSketch.getKey()) +
+                            FIELD_SEPARATOR + keyCount.getCount() + FIELD_SEPARATOR + encode(keyCount.getKey()));
+                }
+                tenantSketch.getValue().decay();
+            }
+        }
+
+        Path directory = current.keyFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, current.keyFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile, current.keyFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, current.keyFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Persisted " + lines.size() + " cache warm-up keys to: " + current.keyFile);
+        }
+    }
+
+    private void persistKeysSafely() {
+
+        try {
+            persistKeys();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error while persisting the cache warm-up keys.", e);
+        }
+    }
+
+    /**
+     * Read the keys persisted by the previous run. The keys are queued for the warm-up of their tenant and seed the
+     * sketches, so that keys of tenants which are not loaded yet are not lost on the next persistence.
+     */
+    private void readKeys(Settings newSettings) {
+
+        if (!Files.exists(newSettings.keyFile)) {
+            return;
+        }
+        int keyCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(newSettings.keyFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                if (fields.length != FIELD_COUNT) {
+                    continue;
+                }
+                String loaderName = decode(fields[0]);
+                String tenantDomain = decode(fields[1]);
+                long count = Long.parseLong(fields[2]);
+                String key = decode(fields[3]);
+                getSketch(newSettings, loaderName, tenantDomain).add(key, count);
+                pendingKeys.computeIfAbsent(tenantDomain, domain -> new ArrayList<>())
+                        .add(new PersistedKey(loaderName, key, count));
+                keyCount++;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Error while reading the cache warm-up keys from: " + newSettings.keyFile + ". Caches are " +
+                    "warmed up with the " + keyCount + " keys read so far.", e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Read " + keyCount + " cache warm-up keys of " + pendingKeys.size() + " tenants.");
+        }
+    }
+
+    private void load(CacheWarmUpLoader loader, String key, CacheWarmUpProgress progress) {
+
+        String tenantDomain = progress.getTenantDomain();
+        warmingUp.set(Boolean.TRUE);
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(tenantDomain);
+            carbonContext.setTenantId(IdentityTenantUtil.getTenantId(tenantDomain));
+            loader.load(tenantDomain, key);
+            if (progress.recordLoaded()) {
+                logCompletion(progress);
+            }
+        } catch (CacheWarmUpException | RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while warming up the cache key: " + key + " of the loader: " + loader.getName() +
+                        " in tenant: " + tenantDomain, e);
+            }
+            recordFailed(progress);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            warmingUp.remove();
+        }
+    }
+
+    private void recordFailed(CacheWarmUpProgress progress) {
+
+        if (progress.recordFailed()) {
+            logCompletion(progress);
+        }
+    }
+
+    private void logCompletion(CacheWarmUpProgress progress) {
+
+        log.info("Cache warm-up of tenant: " + progress.getTenantDomain() + " completed. Loaded " +
+                progress.getLoadedKeys() + " of " + progress.getTotalKeys() + " keys in " +
+                progress.getElapsedMillis() + "ms.");
+    }
+
+    private TopKeySketch getSketch(Settings current, String loaderName, String tenantDomain) {
+
+        return sketches.computeIfAbsent(loaderName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tenantDomain, domain -> new TopKeySketch(current.topKeysPerTenant));
+    }
+
+    private static String encode(String value) {
+
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(String value) {
+
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int readPositiveInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int parsedValue = Integer.parseInt(value.trim());
+            if (parsedValue > 0) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the warning below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Key read from the key file.
+     */
+    private static final class PersistedKey {
+
+        private final String loaderName;
+        private final String key;
+        private final long count;
+
+        PersistedKey(String loaderName, String key, long count) {
+
+            this.loaderName = loaderName;
+            this.key = key;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Cache warm-up configurations.
+     */
+    static final class Settings {
+
+        private final Path keyFile;
+        private final int topKeysPerTenant;
+        private final int samplingRate;
+        private final int persistIntervalSeconds;
+        private final int poolSize;
+        private final int readyThresholdPercentage;
+        private final int maxDurationSeconds;
+
+        Settings(Path keyFile, int topKeysPerTenant, int samplingRate, int persistIntervalSeconds, int poolSize,
+                 int readyThresholdPercentage, int maxDurationSeconds) {
+
+            this.keyFile = keyFile;
+            this.topKeysPerTenant = topKeysPerTenant;
+            this.samplingRate = samplingRate;
+            this.persistIntervalSeconds = persistIntervalSeconds;
+            this.poolSize = poolSize;
+            this.readyThresholdPercentage = readyThresholdPercentage;
+            this.maxDurationSeconds = maxDurationSeconds;
+        }
+    }
+}
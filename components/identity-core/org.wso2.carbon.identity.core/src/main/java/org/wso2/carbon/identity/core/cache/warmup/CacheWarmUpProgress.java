@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache.warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of the cache warm-up of a tenant.
+ */
+public class CacheWarmUpProgress {
+
+    private final String tenantDomain;
+    private final int totalKeys;
+    private final long startedAt = System.nanoTime();
+    private final AtomicInteger loadedKeys = new AtomicInteger();
+    private final AtomicInteger failedKeys = new AtomicInteger();
+    private final AtomicInteger processedKeys = new AtomicInteger();
+    private volatile long completedAt;
+    private volatile boolean completed;
+
+    CacheWarmUpProgress(String tenantDomain, int totalKeys) {
+
+        this.tenantDomain = tenantDomain;
+        this.totalKeys = totalKeys;
+        if (totalKeys == 0) {
+            completedAt = startedAt;
+            completed = true;
+        }
+    }
+
+    /**
+     * Record a loaded key.
+     *
+     * @return True if this was the last key of the warm-up.
+     */
+    boolean recordLoaded() {
+
+        loadedKeys.incrementAndGet();
+        return recordProcessed();
+    }
+
+    /**
+     * Record a key which could not be loaded.
+     *
+     * @return True if this was the last key of the warm-up.
+     */
+    boolean recordFailed() {
+
+        failedKeys.incrementAndGet();
+        return recordProcessed();
+    }
+
+    private boolean recordProcessed() {
+
+        if (processedKeys.incrementAndGet() == totalKeys) {
+            completedAt = System.nanoTime();
+            completed = true;
+            return true;
+        }
+        return false;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    /**
+     * Number of keys to be loaded by the warm-up.
+     */
+    public int getTotalKeys() {
+
+        return totalKeys;
+    }
+
+    public int getLoadedKeys() {
+
+        return loadedKeys.get();
+    }
+
+    public int getFailedKeys() {
+
+        return failedKeys.get();
+    }
+
+    /**
+     * Percentage of the keys which are either loaded or failed.
+     */
+    public int getPercentage() {
+
+        return totalKeys == 0 ? 100 : (int) (processedKeys.get() * 100L / totalKeys);
+    }
+
+    public boolean isCompleted() {
+
+        return completed;
+    }
+
+    /**
+     * Time spent on the warm-up, up to its completion.
+     */
+    public long getElapsedMillis() {
+
+        long end = completed ? completedAt : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startedAt);
+    }
+
+    @Override
+    public String toString() {
+
+        return "CacheWarmUpProgress{tenant=" + tenantDomain + ", total=" + totalKeys + ", loaded=" +
+                getLoadedKeys() + ", failed=" + getFailedKeys() + ", percentage=" + getPercentage() +
+                ", elapsedMs=" + getElapsedMillis() + "}";
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache.warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch which keeps the approximate top keys of a stream of accesses in a bounded number of counters.
+ * Once all the counters are taken, a new key replaces the key with the lowest count and inherits that count, so a
+ * key which is accessed often enough always makes it to the top while rarely used keys keep replacing each other.
+ * The replacement scans the counters, which is cheap for the few hundred keys tracked per tenant.
+ */
+final class TopKeySketch {
+
+    private final int capacity;
+    private final Map<String, long[]> counters;
+
+    TopKeySketch(int capacity) {
+
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Record the given number of accesses of the key.
+     *
+     * @param key   Accessed key.
+     * @param count Number of accesses.
+     */
+    synchronized void add(String key, long count) {
+
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{count});
+            return;
+        }
+        String minKey = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < minCount) {
+                minKey = entry.getKey();
+                minCount = entry.getValue()[0];
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[]{minCount + count});
+    }
+
+    /**
+     * Get the tracked keys ordered by their access count, the most accessed key first.
+     *
+     * @return Tracked keys with their access counts.
+     */
+    synchronized List<KeyCount> getTopKeys() {
+
+        List<KeyCount> topKeys = new ArrayList<>(counters.size());
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            topKeys.add(new KeyCount(entry.getKey(), entry.getValue()[0]));
+        }
+        topKeys.sort((first, second) -> Long.compare(second.getCount(), first.getCount()));
+        return topKeys;
+    }
+
+    /**
+     * Halve the access counts so that the sketch follows the recent popularity of the keys. Keys whose count drops
+     * to zero are removed.
+     */
+    synchronized void decay() {
+
+        Iterator<long[]> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            long[] counter = iterator.next();
+            counter[0] >>>= 1;
+            if (counter[0] == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    synchronized int size() {
+
+        return counters.size();
+    }
+
+    /**
+     * Key with its approximate access count.
+     */
+    static final class KeyCount {
+
+        private final String key;
+        private final long count;
+
+        KeyCount(String key, long count) {
+
+            this.key = key;
+            this.count = count;
+        }
+
+        String getKey() {
+
+            return key;
+        }
+
+        long getCount() {
+
+            return count;
+        }
+    }
+}
@@ -38,6 +38,9 @@ import org.wso2.carbon.identity.core.KeyProviderService;
 import org.wso2.carbon.identity.core.KeyStoreManagerExtension;
 import org.wso2.carbon.identity.core.SAMLSSOServiceProviderManager;
 import org.wso2.carbon.identity.core.ServiceURLBuilderFactory;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpStartupObserver;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpTenantObserver;
 import org.wso2.carbon.identity.core.migrate.MigrationClient;
 import org.wso2.carbon.identity.core.migrate.MigrationClientException;
 import org.wso2.carbon.identity.core.migrate.MigrationClientStartupObserver;
@@ -55,6 +58,7 @@ import org.wso2.carbon.identity.organization.management.service.OrganizationUser
 import org.wso2.carbon.registry.core.service.RegistryService;
 import org.wso2.carbon.registry.core.service.TenantRegistryLoader;
 import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.Axis2ConfigurationContextObserver;
 import org.wso2.carbon.utils.ConfigurationContextService;
 
 @Component(
@@ -192,6 +196,16 @@ public class IdentityCoreServiceComponent {
                     .setTenantedSessionsEnabled(Boolean.parseBoolean(IdentityUtil.getProperty(
                             IdentityCoreConstants.ENABLE_TENANTED_SESSIONS)));
 
+            // Warm up the caches with the keys persisted by the previous run once the server startup completes,
+            // and when the tenants are loaded.
+            CacheWarmUpManager.getInstance().start();
+            if (CacheWarmUpManager.getInstance().isEnabled()) {
+                ctxt.getBundleContext().registerService(ServerStartupObserver.class.getName(),
+                        new CacheWarmUpStartupObserver(), null);
+                ctxt.getBundleContext().registerService(Axis2ConfigurationContextObserver.class.getName(),
+                        new CacheWarmUpTenantObserver(), null);
+            }
+
             // Register initialize service To guarantee the activation order. Component which is referring this
             // service will wait until this component activated.
             ctxt.getBundleContext().registerService(IdentityCoreInitializedEvent.class.getName(),
@@ -213,6 +227,7 @@ public class IdentityCoreServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
         defaultKeystoreManagerServiceRef.unregister();
+        CacheWarmUpManager.getInstance().shutdown();
         IdentityTenantUtil.setBundleContext(null);
         if (log.isDebugEnabled()) {
             log.debug("Identity Core bundle is deactivated");
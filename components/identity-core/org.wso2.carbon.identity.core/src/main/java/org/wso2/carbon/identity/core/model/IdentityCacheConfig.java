@@ -23,6 +23,7 @@ public class IdentityCacheConfig {
     private boolean isEnabled;
     private int timeout;
     private int capacity;
+    private int nearCacheCapacity;
     private boolean isDistributed = true;
     private boolean isTemporary = false;
 
@@ -54,6 +55,14 @@ public class IdentityCacheConfig {
         this.capacity = capacity;
     }
 
+    public int getNearCacheCapacity() {
+        return nearCacheCapacity;
+    }
+
+    public void setNearCacheCapacity(int nearCacheCapacity) {
+        this.nearCacheCapacity = nearCacheCapacity;
+    }
+
     public IdentityCacheConfigKey getIdentityCacheConfigKey() {
         return identityCacheConfigKey;
     }
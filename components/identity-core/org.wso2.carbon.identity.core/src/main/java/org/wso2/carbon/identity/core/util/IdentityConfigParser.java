@@ -397,6 +397,12 @@ public class IdentityConfigParser {
                                 identityCacheConfig.setCapacity(Integer.parseInt(capacity));
                             }
 
+                            String nearCacheCapacity = cache.getAttributeValue(
+                                    new QName(IdentityConstants.CACHE_NEAR_CACHE_CAPACITY));
+                            if (StringUtils.isNotBlank(nearCacheCapacity)) {
+                                identityCacheConfig.setNearCacheCapacity(Integer.parseInt(nearCacheCapacity));
+                            }
+
                             String isDistributedCache = cache.getAttributeValue(new QName(IS_DISTRIBUTED_CACHE));
                             if (StringUtils.isNotBlank(isDistributedCache)) {
                                 identityCacheConfig.setDistributed(Boolean.parseBoolean(isDistributedCache));
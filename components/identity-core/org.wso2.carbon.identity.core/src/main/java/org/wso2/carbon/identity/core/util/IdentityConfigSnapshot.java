@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.core.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the identity.xml configuration with resolved and typed values. The placeholders of a value are
+ * replaced and the value is parsed the first time it is read, and the result is reused for the rest of the life of
+ * the snapshot. A new snapshot is created when the configuration is reloaded, hence a reader either sees the old or
+ * the new configuration as a whole.
+ */
+public final class IdentityConfigSnapshot {
+
+    private static final Log log = LogFactory.getLog(IdentityConfigSnapshot.class);
+
+    private static final ConfigValue MISSING = new ConfigValue(null);
+
+    private final Map<String, Object> configuration;
+    private final Map<String, ConfigValue> values = new ConcurrentHashMap<>();
+    private final Map<String, ConfigValue> valuesWithoutStandardPort = new ConcurrentHashMap<>();
+
+    IdentityConfigSnapshot(Map<String, Object> configuration) {
+
+        this.configuration = configuration;
+    }
+
+    /**
+     * Get a configuration value with the placeholders replaced.
+     *
+     * @param key Element name as specified from the parent elements in the XML structure, e.g. "a.b".
+     * @return Resolved value, or null if the element is not configured.
+     */
+    public String getString(String key) {
+
+        return getValue(key).value;
+    }
+
+    /**
+     * Get a configuration value with the placeholders replaced and the port dropped if it is the standard port of
+     * the protocol.
+     *
+     * @param key Element name as specified from the parent elements in the XML structure, e.g. "a.b".
+     * @return Resolved value, or null if the element is not configured.
+     */
+    public String getStringWithoutStandardPort(String key) {
+
+        ConfigValue configValue = valuesWithoutStandardPort.get(key);
+        if (configValue == null) {
+            String rawValue = getRawValue(key);
+            if (rawValue == null) {
+                return null;
+            }
+            String value = IdentityUtil.fillURLPlaceholders(
+                    IdentityUtil.replacePortNumberPlaceholder(rawValue, Boolean.TRUE));
+            configValue = new ConfigValue(value);
+            valuesWithoutStandardPort.put(key, configValue);
+        }
+        return configValue.value;
+    }
+
+    /**
+     * Get a boolean configuration value.
+     *
+     * @param key          Element name as specified from the parent elements in the XML structure, e.g. "a.b".
+     * @param defaultValue Value to return if the element is not configured or blank.
+     * @return Configured value.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+
+        Boolean value = getValue(key).booleanValue;
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get an integer configuration value.
+     *
+     * @param key          Element name as specified from the parent elements in the XML structure, e.g. "a.b".
+     * @param defaultValue Value to return if the element is not configured or is not a valid integer.
+     * @return Configured value.
+     */
+    public int getInt(String key, int defaultValue) {
+
+        Long value = getNumber(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            log.warn("Value configured for: " + key + " in identity.xml is out of range. Using the default value: "
+                    + defaultValue);
+            return defaultValue;
+        }
+        return value.intValue();
+    }
+
+    /**
+     * Get a long configuration value, such as a duration configured in a fixed time unit.
+     *
+     * @param key          Element name as specified from the parent elements in the XML structure, e.g. "a.b".
+     * @param defaultValue Value to return if the element is not configured or is not a valid number.
+     * @return Configured value.
+     */
+    public long getLong(String key, long defaultValue) {
+
+        Long value = getNumber(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Check whether the snapshot is built from the given configuration.
+     */
+    boolean isBuiltFrom(Map<String, Object> configuration) {
+
+        return this.configuration == configuration;
+    }
+
+    private Long getNumber(String key) {
+
+        ConfigValue configValue = getValue(key);
+        if (configValue.invalidNumber && !configValue.invalidNumberReported) {
+            configValue.invalidNumberReported = true;
+            log.warn("Value configured for: " + key + " in identity.xml is not a valid number. Using the default " +
+                    "value.");
+        }
+        return configValue.longValue;
+    }
+
+    private ConfigValue getValue(String key) {
+
+        ConfigValue configValue = values.get(key);
+        if (configValue == null) {
+            String rawValue = getRawValue(key);
+            if (rawValue == null) {
+                // Absent keys are not kept, since the callers may build the keys at runtime.
+                return MISSING;
+            }
+            configValue = new ConfigValue(IdentityUtil.fillURLPlaceholders(rawValue));
+            values.put(key, configValue);
+        }
+        return configValue;
+    }
+
+    private String getRawValue(String key) {
+
+        Object value = configuration.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof List) {
+            value = ((List) value).get(0);
+        }
+        if (value instanceof String) {
+            return (String) value;
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Resolved configuration value along with its parsed forms.
+     */
+    private static final class ConfigValue {
+
+        private final String value;
+        private final Boolean booleanValue;
+        private final Long longValue;
+        private final boolean invalidNumber;
+        private volatile boolean invalidNumberReported;
+
+        ConfigValue(String value) {
+
+            this.value = value;
+            if (StringUtils.isBlank(value)) {
+                this.booleanValue = null;
+                this.longValue = null;
+                this.invalidNumber = false;
+                return;
+            }
+            this.booleanValue = Boolean.parseBoolean(value);
+            this.longValue = parseLong(value);
+            this.invalidNumber = longValue == null;
+        }
+
+        private static Long parseLong(String value) {
+
+            // Most of the values are not numbers, so the exception is avoided for them.
+            char first = value.charAt(0);
+            if (first != '-' && first != '+' && !Character.isDigit(first)) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -143,6 +143,29 @@ public class IdentityCoreConstants {
 
     public static final int MAXIMUM_ALLOWED_JWT_PAYLOAD_JSON_DEPTH = 255;
 
+    /**
+     * Configurations of the cache warm-up.
+     */
+    public static class CacheWarmUp {
+
+        public static final String ENABLE = "CacheWarmUp.Enable";
+        public static final String TOP_KEYS_PER_TENANT = "CacheWarmUp.TopKeysPerTenant";
+        public static final String SAMPLING_RATE = "CacheWarmUp.SamplingRate";
+        public static final String PERSIST_INTERVAL_SECONDS = "CacheWarmUp.PersistIntervalSeconds";
+        public static final String KEY_FILE = "CacheWarmUp.KeyFile";
+        public static final String POOL_SIZE = "CacheWarmUp.PoolSize";
+        public static final String READY_THRESHOLD_PERCENTAGE = "CacheWarmUp.ReadyThresholdPercentage";
+        public static final String MAX_DURATION_SECONDS = "CacheWarmUp.MaxDurationSeconds";
+
+        public static final int DEFAULT_TOP_KEYS_PER_TENANT = 200;
+        public static final int DEFAULT_SAMPLING_RATE = 4;
+        public static final int DEFAULT_PERSIST_INTERVAL_SECONDS = 300;
+        public static final String DEFAULT_KEY_FILE = "repository/data/identity/cache-warmup-keys.txt";
+        public static final int DEFAULT_POOL_SIZE = 4;
+        public static final int DEFAULT_READY_THRESHOLD_PERCENTAGE = 90;
+        public static final int DEFAULT_MAX_DURATION_SECONDS = 120;
+    }
+
     public static class Filter {
 
         public static final String AND = "and";
@@ -160,6 +160,7 @@ public class IdentityUtil {
     private static final String DISABLE_EMAIL_USERNAME_VALIDATION = "DisableEmailUserNameValidation";
     private static Log log = LogFactory.getLog(IdentityUtil.class);
     private static Map<String, Object> configuration = new HashMap<>();
+    private static volatile IdentityConfigSnapshot configSnapshot;
     private static Map<IdentityEventListenerConfigKey, IdentityEventListenerConfig> eventListenerConfiguration = new
             HashMap<>();
     private static Map<IdentityCacheConfigKey, IdentityCacheConfig> identityCacheConfigurationHolder = new HashMap<>();
@@ -220,9 +221,7 @@ public class IdentityUtil {
      */
     public static String getProperty(String key) {
 
-        String strValue = getPropertyValue(key);
-        strValue = fillURLPlaceholders(strValue);
-        return strValue;
+        return getConfigSnapshot().getString(key);
     }
 
     /**
@@ -237,37 +236,24 @@ public class IdentityUtil {
      */
     public static String getPropertyWithoutStandardPort(String key) {
 
-        String strValue = getPropertyValue(key);
-        strValue = replacePortNumberPlaceholder(strValue, Boolean.TRUE);
-        strValue = fillURLPlaceholders(strValue);
-        return strValue;
+        return getConfigSnapshot().getStringWithoutStandardPort(key);
     }
 
     /**
-     * Gets the property value corresponding to the given key from the identity.xml file.
+     * Get the resolved and typed view of the identity.xml configuration. Use the typed getters of the snapshot
+     * instead of parsing the values returned by {@link #getProperty(String)}.
      *
-     * @param key Element name as specified from the parent elements in the XML structure.
-     *            To read the element value of b in {@code <a><b>text</b></a>}, the property
-     *            name should be passed as "a.b".
-     * @return The value of the element, which is "text" in the above element.
+     * @return Snapshot of the current configuration.
      */
-    private static String getPropertyValue(String key) {
-
-        Object value = configuration.get(key);
-        String strValue;
+    public static IdentityConfigSnapshot getConfigSnapshot() {
 
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof List) {
-            value = ((List) value).get(0);
-        }
-        if (value instanceof String) {
-            strValue = (String) value;
-        } else {
-            strValue = String.valueOf(value);
+        IdentityConfigSnapshot snapshot = configSnapshot;
+        Map<String, Object> currentConfiguration = configuration;
+        if (snapshot == null || !snapshot.isBuiltFrom(currentConfiguration)) {
+            snapshot = new IdentityConfigSnapshot(currentConfiguration);
+            configSnapshot = snapshot;
         }
-        return strValue;
+        return snapshot;
     }
 
     public static IdentityEventListenerConfig readEventListenerProperty(String type, String name) {
@@ -380,6 +366,7 @@ public class IdentityUtil {
 
     public static void populateProperties() {
         configuration = IdentityConfigParser.getInstance().getConfiguration();
+        configSnapshot = new IdentityConfigSnapshot(configuration);
         eventListenerConfiguration = IdentityConfigParser.getInstance().getEventListenerConfiguration();
         identityCacheConfigurationHolder = IdentityConfigParser.getInstance().getIdentityCacheConfigurationHolder();
         identityCookiesConfigurationHolder = IdentityConfigParser.getIdentityCookieConfigurationHolder();
@@ -398,7 +385,7 @@ public class IdentityUtil {
         byte[] rawPpid = Base64.getDecoder().decode(value);
 
         String algorithm;
-        if (Boolean.parseBoolean(IdentityUtil.getProperty(IdentityConstants.IDENTITY_UTIL_ENABLE_SHA256))) {
+        if (getConfigSnapshot().getBoolean(IdentityConstants.IDENTITY_UTIL_ENABLE_SHA256, false)) {
             algorithm = SHA256_ALGORITHM;
         } else {
             algorithm = SHA1_ALGORITHM;
@@ -434,7 +421,7 @@ public class IdentityUtil {
     public static String getHMAC(String secretKey, String baseString) throws SignatureException {
         try {
             String algorithm;
-            if (Boolean.parseBoolean(IdentityUtil.getProperty(IdentityConstants.IDENTITY_UTIL_ENABLE_SHA256))) {
+            if (getConfigSnapshot().getBoolean(IdentityConstants.IDENTITY_UTIL_ENABLE_SHA256, false)) {
                 algorithm = HMAC_SHA256_ALGORITHM;
             } else {
                 algorithm = HMAC_SHA1_ALGORITHM;
@@ -486,7 +473,7 @@ public class IdentityUtil {
             String baseString = UUIDGenerator.generateUUID();
 
             String algorithm;
-            if (Boolean.parseBoolean(IdentityUtil.getProperty(IdentityConstants.IDENTITY_UTIL_ENABLE_SHA256))) {
+            if (getConfigSnapshot().getBoolean(IdentityConstants.IDENTITY_UTIL_ENABLE_SHA256, false)) {
                 algorithm = HMAC_SHA256_ALGORITHM;
             } else {
                 algorithm = HMAC_SHA1_ALGORITHM;
@@ -1322,14 +1309,8 @@ public class IdentityUtil {
      */
     public static boolean isFederatedUserAssociationEnabled() {
 
-        String enableFedUserAssocicationConfigValue = IdentityUtil.getProperty(
-                IdentityConstants.ServerConfig.ENABLE_FEDERATED_USER_ASSOCIATION);
-        if (StringUtils.isBlank(enableFedUserAssocicationConfigValue)) {
-            enableFedUserAssocicationConfigValue =
-                    IdentityConstants.ServerConfig.ENABLE_FEDERATED_USER_ASSOCIATION_DEFAULT;
-        }
-
-        return Boolean.parseBoolean(enableFedUserAssocicationConfigValue);
+        return getConfigSnapshot().getBoolean(IdentityConstants.ServerConfig.ENABLE_FEDERATED_USER_ASSOCIATION,
+                Boolean.parseBoolean(IdentityConstants.ServerConfig.ENABLE_FEDERATED_USER_ASSOCIATION_DEFAULT));
     }
 
     /**
@@ -1358,8 +1339,7 @@ public class IdentityUtil {
      */
     public static boolean isRecoveryEPAvailable() {
 
-        String enableRecoveryEPUrlProperty = getProperty(ENABLE_RECOVERY_ENDPOINT);
-        return Boolean.parseBoolean(enableRecoveryEPUrlProperty);
+        return getConfigSnapshot().getBoolean(ENABLE_RECOVERY_ENDPOINT, false);
     }
 
     /**
@@ -1369,8 +1349,7 @@ public class IdentityUtil {
      */
     public static boolean isSelfSignUpEPAvailable() {
 
-        String enableSelfSignEPUpUrlProperty = getProperty(ENABLE_SELF_SIGN_UP_ENDPOINT);
-        return Boolean.parseBoolean(enableSelfSignEPUpUrlProperty);
+        return getConfigSnapshot().getBoolean(ENABLE_SELF_SIGN_UP_ENDPOINT, false);
     }
 
     /**
@@ -1589,18 +1568,8 @@ public class IdentityUtil {
      */
     public static int getMaximumItemPerPage() {
 
-        int maximumItemsPerPage = IdentityCoreConstants.DEFAULT_MAXIMUM_ITEMS_PRE_PAGE;
-        String maximumItemsPerPagePropertyValue =
-                IdentityUtil.getProperty(IdentityCoreConstants.MAXIMUM_ITEMS_PRE_PAGE_PROPERTY);
-        if (StringUtils.isNotBlank(maximumItemsPerPagePropertyValue)) {
-            try {
-                maximumItemsPerPage = Integer.parseInt(maximumItemsPerPagePropertyValue);
-            } catch (NumberFormatException e) {
-                maximumItemsPerPage = IdentityCoreConstants.DEFAULT_MAXIMUM_ITEMS_PRE_PAGE;
-                log.warn("Error occurred while parsing the 'MaximumItemsPerPage' property value in identity.xml.", e);
-            }
-        }
-        return maximumItemsPerPage;
+        return getConfigSnapshot().getInt(IdentityCoreConstants.MAXIMUM_ITEMS_PRE_PAGE_PROPERTY,
+                IdentityCoreConstants.DEFAULT_MAXIMUM_ITEMS_PRE_PAGE);
     }
 
     /**
@@ -1610,18 +1579,8 @@ public class IdentityUtil {
      */
     public static int getMaximumActionsPerActionType() {
 
-        int maximumActionsPerActionType = IdentityCoreConstants.DEFAULT_MAXIMUM_ACTIONS_PER_TYPE;
-        String maximumActionsPerActionTypePropertyValue =
-                IdentityUtil.getProperty(IdentityCoreConstants.MAXIMUM_ACTIONS_PER_TYPE_PROPERTY);
-        if (StringUtils.isNotBlank(maximumActionsPerActionTypePropertyValue)) {
-            try {
-                maximumActionsPerActionType = Integer.parseInt(maximumActionsPerActionTypePropertyValue);
-            } catch (NumberFormatException e) {
-                log.warn("Error occurred while parsing the 'maximumActionsPerActionType' property value " +
-                        "in identity.xml.", e);
-            }
-        }
-        return maximumActionsPerActionType;
+        return getConfigSnapshot().getInt(IdentityCoreConstants.MAXIMUM_ACTIONS_PER_TYPE_PROPERTY,
+                IdentityCoreConstants.DEFAULT_MAXIMUM_ACTIONS_PER_TYPE);
     }
 
     /**
@@ -1631,18 +1590,8 @@ public class IdentityUtil {
      */
     public static int getMaximumWebhooksPerTenant() {
 
-        int maximumWebhooksPerTenant = IdentityCoreConstants.DEFAULT_MAXIMUM_WEBHOOKS_PER_TENANT;
-        String maximumWebhooksPerTenantPropertyValue =
-                IdentityUtil.getProperty(IdentityCoreConstants.MAXIMUM_WEBHOOKS_PER_TENANT_PROPERTY);
-        if (StringUtils.isNotBlank(maximumWebhooksPerTenantPropertyValue)) {
-            try {
-                maximumWebhooksPerTenant = Integer.parseInt(maximumWebhooksPerTenantPropertyValue);
-            } catch (NumberFormatException e) {
-                log.warn("Error occurred while parsing the 'maximumWebhooksPerTenant' property value in " +
-                        "identity.xml.", e);
-            }
-        }
-        return maximumWebhooksPerTenant;
+        return getConfigSnapshot().getInt(IdentityCoreConstants.MAXIMUM_WEBHOOKS_PER_TENANT_PROPERTY,
+                IdentityCoreConstants.DEFAULT_MAXIMUM_WEBHOOKS_PER_TENANT);
     }
 
     /**
@@ -1652,20 +1601,9 @@ public class IdentityUtil {
      */
     public static int getDefaultItemsPerPage() {
 
-        int defaultItemsPerPage = IdentityCoreConstants.DEFAULT_ITEMS_PRE_PAGE;
-        try {
-            String defaultItemsPerPageProperty = IdentityUtil.getProperty(IdentityCoreConstants
-                    .DEFAULT_ITEMS_PRE_PAGE_PROPERTY);
-            if (StringUtils.isNotBlank(defaultItemsPerPageProperty)) {
-                int defaultItemsPerPageConfig = Integer.parseInt(defaultItemsPerPageProperty);
-                if (defaultItemsPerPageConfig > 0) {
-                    defaultItemsPerPage = defaultItemsPerPageConfig;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore.
-        }
-        return defaultItemsPerPage;
+        int defaultItemsPerPage = getConfigSnapshot().getInt(IdentityCoreConstants.DEFAULT_ITEMS_PRE_PAGE_PROPERTY,
+                IdentityCoreConstants.DEFAULT_ITEMS_PRE_PAGE);
+        return defaultItemsPerPage > 0 ? defaultItemsPerPage : IdentityCoreConstants.DEFAULT_ITEMS_PRE_PAGE;
     }
 
     /**
@@ -1914,8 +1852,8 @@ public class IdentityUtil {
      */
     public static boolean isSystemRolesEnabled() {
 
-        return Boolean.parseBoolean(
-                IdentityUtil.getProperty(IdentityConstants.SystemRoles.SYSTEM_ROLES_ENABLED_CONFIG_ELEMENT));
+        return getConfigSnapshot().getBoolean(IdentityConstants.SystemRoles.SYSTEM_ROLES_ENABLED_CONFIG_ELEMENT,
+                false);
     }
 
     /**
@@ -1926,7 +1864,7 @@ public class IdentityUtil {
      */
     public static String getClaimUriLocale() {
 
-        if (Boolean.parseBoolean(IdentityUtil.getProperty("UseLegacyLocalizationClaim"))) {
+        if (getConfigSnapshot().getBoolean("UseLegacyLocalizationClaim", false)) {
             return "http://wso2.org/claims/locality";
         } else {
             return "http://wso2.org/claims/local";
@@ -2102,13 +2040,7 @@ public class IdentityUtil {
      */
     public static boolean isSCIM2UserMaxItemsPerPageEnabled() {
 
-        String scim2UserMaxItemsPerPageEnabledProperty =
-                IdentityUtil.getProperty(IdentityCoreConstants.SCIM2_USER_MAX_ITEMS_PER_PAGE_ENABLED);
-
-        if (StringUtils.isBlank(scim2UserMaxItemsPerPageEnabledProperty)) {
-            return true;
-        }
-        return Boolean.parseBoolean(scim2UserMaxItemsPerPageEnabledProperty);
+        return getConfigSnapshot().getBoolean(IdentityCoreConstants.SCIM2_USER_MAX_ITEMS_PER_PAGE_ENABLED, true);
     }
 
     /**
@@ -2264,10 +2196,7 @@ public class IdentityUtil {
      */
     public static boolean isAgentIdentityEnabled() {
 
-        if (IdentityUtil.getProperty(AGENT_IDENTITY_ENABLE) != null) {
-            return Boolean.parseBoolean(IdentityUtil.getProperty(AGENT_IDENTITY_ENABLE));
-        }
-        return false;
+        return getConfigSnapshot().getBoolean(AGENT_IDENTITY_ENABLE, false);
     }
 
     /**
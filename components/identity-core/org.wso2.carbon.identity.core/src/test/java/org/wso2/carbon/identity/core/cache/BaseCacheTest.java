@@ -155,4 +155,29 @@ public class BaseCacheTest {
         entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("test2"), "bar.com");
         assertEquals("value2", entry.getValue());
     }
+
+    @Test
+    public void testNearCacheUpdateAndClear() {
+
+        TestNearCache.getInstance().addToCache(new TestCacheKey("test1"), new TestCacheEntry("value1"), 1);
+        TestNearCache.getInstance().addToCache(new TestCacheKey("test2"), new TestCacheEntry("value2"), 2);
+
+        TestCacheEntry entry = TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test1"), 1);
+        assertEquals(entry.getValue(), "value1");
+        // Served from the near cache.
+        entry = TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test1"), "foo.com");
+        assertEquals(entry.getValue(), "value1");
+        assertNull(TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test1"), 2));
+
+        TestNearCache.getInstance().addToCache(new TestCacheKey("test1"), new TestCacheEntry("newValue1"), 1);
+        entry = TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test1"), 1);
+        assertEquals(entry.getValue(), "newValue1");
+
+        TestNearCache.getInstance().clearCacheEntry(new TestCacheKey("test1"), "foo.com");
+        assertNull(TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test1"), 1));
+
+        TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test2"), 2);
+        TestNearCache.getInstance().clear(2);
+        assertNull(TestNearCache.getInstance().getValueFromCache(new TestCacheKey("test2"), "bar.com"));
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for the near cache maintained in front of the base cache.
+ */
+public class NearCacheTest {
+
+    @Test
+    public void testGetAndPutAreTenantScoped() {
+
+        NearCache<String, String> nearCache = new NearCache<>(100, 60);
+        nearCache.put(1, "key", "value", nearCache.stamp());
+
+        assertEquals(nearCache.get(1, "key"), "value");
+        assertNull(nearCache.get(2, "key"));
+    }
+
+    @Test
+    public void testStalePutIsIgnored() {
+
+        NearCache<String, String> nearCache = new NearCache<>(100, 60);
+        long stamp = nearCache.stamp();
+        nearCache.invalidate(1, "key");
+        nearCache.put(1, "key", "staleValue", stamp);
+
+        assertNull(nearCache.get(1, "key"));
+    }
+
+    @Test
+    public void testInvalidation() {
+
+        NearCache<String, String> nearCache = new NearCache<>(100, 60);
+        nearCache.put(1, "key1", "value1", nearCache.stamp());
+        nearCache.put(1, "key2", "value2", nearCache.stamp());
+        nearCache.put(2, "key1", "value1", nearCache.stamp());
+
+        nearCache.invalidate(1, "key1");
+        assertNull(nearCache.get(1, "key1"));
+        assertEquals(nearCache.get(1, "key2"), "value2");
+        assertEquals(nearCache.get(2, "key1"), "value1");
+
+        nearCache.invalidate("key1");
+        assertNull(nearCache.get(2, "key1"));
+
+        nearCache.invalidateAll(1);
+        assertNull(nearCache.get(1, "key2"));
+        assertEquals(nearCache.size(), 0);
+    }
+
+    @Test
+    public void testExpiry() {
+
+        NearCache<String, String> nearCache = new NearCache<>(100, 0);
+        nearCache.put(1, "key", "value", nearCache.stamp());
+
+        assertNull(nearCache.get(1, "key"));
+    }
+
+    @Test
+    public void testCapacityIsBoundedAndFrequentKeysAreRetained() {
+
+        int capacity = 100;
+        NearCache<String, String> nearCache = new NearCache<>(capacity, 60);
+        for (int i = 0; i < capacity; i++) {
+            nearCache.put(1, "hot" + i, "value" + i, nearCache.stamp());
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < capacity; i++) {
+                nearCache.get(1, "hot" + i);
+            }
+        }
+        for (int i = 0; i < 10 * capacity; i++) {
+            nearCache.get(1, "cold" + i);
+            nearCache.put(1, "cold" + i, "value" + i, nearCache.stamp());
+        }
+
+        assertTrue(nearCache.size() <= capacity);
+        int retained = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (nearCache.get(1, "hot" + i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained > capacity / 2, "Frequently accessed keys should not be evicted by one-hit keys.");
+    }
+}
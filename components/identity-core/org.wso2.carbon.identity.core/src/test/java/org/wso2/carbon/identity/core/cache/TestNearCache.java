@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+/**
+ * Test cache with the near cache enabled.
+ */
+public class TestNearCache extends BaseCache<TestCacheKey, TestCacheEntry> {
+
+    private static final String CACHE_NAME = "TestNearCache";
+    private static final int NEAR_CACHE_CAPACITY = 100;
+    private static TestNearCache instance;
+
+    public TestNearCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static TestNearCache getInstance() {
+
+        if (instance == null) {
+            synchronized (TestNearCache.class) {
+                if (instance == null) {
+                    instance = new TestNearCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public int getNearCacheCapacity() {
+
+        return NEAR_CACHE_CAPACITY;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache.warmup;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for the cache warm-up manager and the top key sketch.
+ */
+public class CacheWarmUpManagerTest {
+
+    private static final String LOADER_NAME = "TestLoader";
+    private static final String SUPER_TENANT = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+
+    private Path keyFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        URL root = this.getClass().getClassLoader().getResource(".");
+        System.setProperty("carbon.home", new File(root.getPath()).getAbsolutePath());
+        keyFile = Files.createTempDirectory("cache-warmup").resolve("keys.txt");
+
+        RealmService realmService = mock(RealmService.class);
+        TenantManager tenantManager = mock(TenantManager.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(SUPER_TENANT)).thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+        IdentityTenantUtil.setRealmService(realmService);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        IdentityTenantUtil.setRealmService(null);
+        Files.deleteIfExists(keyFile);
+        Files.deleteIfExists(keyFile.getParent());
+    }
+
+    @Test
+    public void testSketchKeepsMostAccessedKeys() {
+
+        TopKeySketch sketch = new TopKeySketch(3);
+        sketch.add("hot", 10);
+        sketch.add("warm", 5);
+        // Cold keys keep replacing each other in the last counter, which inherits the count of the replaced key.
+        for (int i = 0; i < 4; i++) {
+            sketch.add("cold" + i, 1);
+        }
+
+        List<TopKeySketch.KeyCount> topKeys = sketch.getTopKeys();
+        assertEquals(topKeys.size(), 3);
+        assertEquals(topKeys.get(0).getKey(), "hot");
+        assertEquals(topKeys.get(0).getCount(), 10);
+        assertEquals(topKeys.get(1).getKey(), "warm");
+        assertEquals(topKeys.get(2).getKey(), "cold3");
+        assertEquals(topKeys.get(2).getCount(), 4);
+
+        sketch.decay();
+        assertEquals(sketch.getTopKeys().get(0).getCount(), 5);
+    }
+
+    @Test
+    public void testPersistedKeysAreWarmedUpInAccessOrder() throws Exception {
+
+        CacheWarmUpManager recordingManager = new CacheWarmUpManager();
+        recordingManager.start(settings());
+        assertFalse(recordingManager.isReady());
+        recordAccesses(recordingManager, "idp1", 1);
+        recordAccesses(recordingManager, "idp2", 5);
+        recordAccesses(recordingManager, "idp3", 3);
+        recordingManager.shutdown();
+        assertTrue(Files.exists(keyFile));
+
+        CacheWarmUpManager warmUpManager = new CacheWarmUpManager();
+        List<String> loadedKeys = new CopyOnWriteArrayList<>();
+        warmUpManager.registerLoader(new TestLoader(loadedKeys));
+        warmUpManager.start(settings());
+        assertFalse(warmUpManager.isReady());
+
+        warmUpManager.warmUpOnStartup();
+        CacheWarmUpProgress progress = warmUpManager.getProgress();
+        waitForCompletion(progress);
+
+        assertEquals(loadedKeys, Arrays.asList("idp2", "idp3", "idp1"));
+        assertEquals(progress.getTotalKeys(), 3);
+        assertEquals(progress.getLoadedKeys(), 3);
+        assertEquals(progress.getFailedKeys(), 0);
+        assertTrue(warmUpManager.isReady());
+        warmUpManager.shutdown();
+    }
+
+    @Test
+    public void testFailedKeysAreCountedAndNotRecorded() throws Exception {
+
+        CacheWarmUpManager recordingManager = new CacheWarmUpManager();
+        recordingManager.start(settings());
+        recordAccesses(recordingManager, "missing", 2);
+        recordingManager.shutdown();
+
+        CacheWarmUpManager warmUpManager = new CacheWarmUpManager();
+        warmUpManager.registerLoader(new CacheWarmUpLoader() {
+
+            @Override
+            public String getName() {
+
+                return LOADER_NAME;
+            }
+
+            @Override
+            public void load(String tenantDomain, String key) throws CacheWarmUpException {
+
+                // Accesses made by the loaders must not be recorded.
+                warmUpManager.recordAccess(LOADER_NAME, tenantDomain, "recordedByLoader");
+                throw new CacheWarmUpException("Key not found: " + key);
+            }
+        });
+        warmUpManager.start(settings());
+        warmUpManager.warmUpOnStartup();
+        CacheWarmUpProgress progress = warmUpManager.getProgress();
+        waitForCompletion(progress);
+
+        assertEquals(progress.getFailedKeys(), 1);
+        assertEquals(progress.getPercentage(), 100);
+        assertTrue(warmUpManager.isReady());
+        warmUpManager.shutdown();
+
+        List<String> lines = Files.readAllLines(keyFile);
+        assertEquals(lines.size(), 1);
+        assertTrue(lines.get(0).endsWith("\tmissing"));
+    }
+
+    @Test
+    public void testManagerIsReadyWhenNotEnabled() {
+
+        CacheWarmUpManager manager = new CacheWarmUpManager();
+        manager.recordAccess(LOADER_NAME, SUPER_TENANT, "key");
+
+        assertTrue(manager.isReady());
+        assertNull(manager.warmUp(SUPER_TENANT));
+        assertNull(manager.getProgress());
+    }
+
+    private CacheWarmUpManager.Settings settings() {
+
+        return new CacheWarmUpManager.Settings(keyFile, 10, 1, 3600, 1, 100, 60);
+    }
+
+    private static void recordAccesses(CacheWarmUpManager manager, String key, int count) {
+
+        for (int i = 0; i < count; i++) {
+            manager.recordAccess(LOADER_NAME, SUPER_TENANT, key);
+        }
+    }
+
+    private static void waitForCompletion(CacheWarmUpProgress progress) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!progress.isCompleted() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(progress.isCompleted());
+    }
+
+    private static class TestLoader implements CacheWarmUpLoader {
+
+        private final List<String> loadedKeys;
+
+        TestLoader(List<String> loadedKeys) {
+
+            this.loadedKeys = loadedKeys;
+        }
+
+        @Override
+        public String getName() {
+
+            return LOADER_NAME;
+        }
+
+        @Override
+        public void load(String tenantDomain, String key) {
+
+            loadedKeys.add(key);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.core.util;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class IdentityConfigSnapshotTest {
+
+    private Object originalConfiguration;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        originalConfiguration = getConfigurationField().get(null);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        getConfigurationField().set(null, originalConfiguration);
+    }
+
+    @Test
+    public void testTypedValues() {
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("Feature.Enable", "true");
+        configuration.put("Feature.Disable", "false");
+        configuration.put("Feature.Blank", " ");
+        configuration.put("Feature.Count", "25");
+        configuration.put("Feature.Timeout", "3600000");
+        configuration.put("Feature.Invalid", "NotANumber");
+        configuration.put("Feature.OutOfRange", "9999999999");
+        configuration.put("Feature.List", Arrays.asList("first", "second"));
+        IdentityConfigSnapshot snapshot = new IdentityConfigSnapshot(configuration);
+
+        assertTrue(snapshot.getBoolean("Feature.Enable", false));
+        assertFalse(snapshot.getBoolean("Feature.Disable", true));
+        assertTrue(snapshot.getBoolean("Feature.Blank", true));
+        assertTrue(snapshot.getBoolean("Feature.Missing", true));
+        assertEquals(snapshot.getInt("Feature.Count", 10), 25);
+        assertEquals(snapshot.getLong("Feature.Timeout", 10L), 3600000L);
+        assertEquals(snapshot.getInt("Feature.Invalid", 10), 10);
+        assertEquals(snapshot.getInt("Feature.OutOfRange", 10), 10);
+        assertEquals(snapshot.getLong("Feature.OutOfRange", 10L), 9999999999L);
+        assertEquals(snapshot.getInt("Feature.Blank", 10), 10);
+        assertEquals(snapshot.getString("Feature.List"), "first");
+        assertNull(snapshot.getString("Feature.Missing"));
+    }
+
+    @Test
+    public void testSnapshotIsReplacedWithConfiguration() throws Exception {
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("Feature.Count", "25");
+        setConfiguration(configuration);
+        IdentityConfigSnapshot snapshot = IdentityUtil.getConfigSnapshot();
+        assertSame(IdentityUtil.getConfigSnapshot(), snapshot);
+        assertEquals(IdentityUtil.getProperty("Feature.Count"), "25");
+
+        Map<String, Object> reloadedConfiguration = new HashMap<>();
+        reloadedConfiguration.put("Feature.Count", "50");
+        setConfiguration(reloadedConfiguration);
+        assertEquals(IdentityUtil.getConfigSnapshot().getInt("Feature.Count", 10), 50);
+        assertEquals(snapshot.getInt("Feature.Count", 10), 25);
+        assertEquals(IdentityUtil.getProperty("Feature.Count"), "50");
+    }
+
+    private void setConfiguration(Map<String, Object> configuration) throws Exception {
+
+        getConfigurationField().set(null, configuration);
+    }
+
+    private Field getConfigurationField() throws Exception {
+
+        Field field = IdentityUtil.class.getDeclaredField("configuration");
+        field.setAccessible(true);
+        return field;
+    }
+}
@@ -18,38 +18,65 @@
 
 package org.wso2.carbon.identity.event;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.bean.ModuleConfiguration;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
-import org.wso2.carbon.identity.event.internal.IdentityEventServiceDataHolder;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.event.IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_BLOCK_TIMEOUT;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_CAPACITY;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_DRAIN_TIMEOUT;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_MAX_CONCURRENCY;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_OVERFLOW_POLICY;
 
 /**
- * This has a queue inside. All publishers add events to this queue and this event distribution task is responsible
- * for distributing these events to Notification sending modules
+ * Distributes asynchronous events to the event handlers. Each handler has its own bounded queue, overflow policy
+ * and concurrency limit, and the queues are drained by a thread pool shared by all the handlers. When the pool is
+ * saturated, the queues of handlers with a higher priority (lower order value) are served first.
  */
-public class EventDistributionTask implements Runnable {
+public class EventDistributionTask {
 
     private static final Log log = LogFactory.getLog(EventDistributionTask.class);
 
-    /**
-     * Queue used to add events by publishers.
-     */
-    private BlockingDeque<Event> eventQueue;
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    private static final HandlerEventQueue.OverflowPolicy DEFAULT_OVERFLOW_POLICY =
+            HandlerEventQueue.OverflowPolicy.CALLER_RUNS;
+    private static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
+    private static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 30000;
+    private static final long DRAIN_POLL_INTERVAL_MILLIS = 50;
+
     /**
      * Registered message sending modules.
      */
     private List<AbstractEventHandler> notificationSendingModules;
     /**
-     * Condition to break event distribution task
+     * Async event queue of each handler, created on the first async event of the handler.
+     */
+    private final ConcurrentMap<AbstractEventHandler, HandlerEventQueue> handlerQueues = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor threadPool;
+    private final int threadPoolSize;
+    private final Properties asyncQueueProperties;
+    private final Map<String, ModuleConfiguration> moduleConfigurations;
+    /**
+     * Condition to stop accepting events to the queues
      */
-    private volatile boolean running;
+    private volatile boolean running = true;
 
     /**
      * Overridden constructor to initiate notification sending modules and thread pool size
@@ -58,52 +85,203 @@ public class EventDistributionTask implements Runnable {
      * @param threadPoolSize             Size of thread pool for notification sending components
      */
     public EventDistributionTask(List<AbstractEventHandler> notificationSendingModules, int threadPoolSize) {
+
+        this(notificationSendingModules, threadPoolSize, new Properties(),
+                Collections.<String, ModuleConfiguration>emptyMap());
+    }
+
+    /**
+     * Constructor with the async event queue configurations.
+     *
+     * @param notificationSendingModules List of notification sending modules registered
+     * @param threadPoolSize             Size of thread pool for notification sending components
+     * @param asyncQueueProperties       Default async event queue configurations
+     * @param moduleConfigurations       Module configurations which may override the async event queue
+     *                                   configurations per handler
+     */
+    public EventDistributionTask(List<AbstractEventHandler> notificationSendingModules, int threadPoolSize,
+                                 Properties asyncQueueProperties,
+                                 Map<String, ModuleConfiguration> moduleConfigurations) {
+
         this.notificationSendingModules = notificationSendingModules;
-        this.eventQueue = new LinkedBlockingDeque<Event>();
-        IdentityEventServiceDataHolder.getInstance().setThreadPool(Executors.newFixedThreadPool(threadPoolSize));
+        this.threadPoolSize = Math.max(1, threadPoolSize);
+        this.asyncQueueProperties = asyncQueueProperties != null ? asyncQueueProperties : new Properties();
+        this.moduleConfigurations = moduleConfigurations != null ? moduleConfigurations :
+                Collections.<String, ModuleConfiguration>emptyMap();
+        // Workers are comparable, so the pool picks queued workers by handler priority. The pool only accepts the
+        // workers of the handler queues, hence it is not shared with the other components.
+        this.threadPool = new ThreadPoolExecutor(this.threadPoolSize, this.threadPoolSize, 0L,
+                TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>(), new EventDistributionThreadFactory());
     }
 
+    /**
+     * Add the event to the queues of all the registered handlers which are enabled for the event.
+     *
+     * @param publisherEvent Event to be distributed.
+     * @deprecated Use {@link #addEventToQueue(AbstractEventHandler, Event)} to add the event to the queue of a
+     * specific handler.
+     */
+    @Deprecated
     public void addEventToQueue(Event publisherEvent) {
-        this.eventQueue.add(publisherEvent);
+
+        IdentityEventMessageContext eventContext = new IdentityEventMessageContext(publisherEvent);
+        for (AbstractEventHandler module : notificationSendingModules) {
+            // If the module is subscribed to the event, module will be executed.
+            if (module.isEnabled(eventContext)) {
+                addEventToQueue(module, publisherEvent);
+            }
+        }
+    }
+
+    /**
+     * Add the event to the async event queue of the given handler. Once the distribution task is shut down, the
+     * event is handled in the calling thread.
+     *
+     * @param handler        Event handler which should handle the event.
+     * @param publisherEvent Event to be handled.
+     */
+    public void addEventToQueue(AbstractEventHandler handler, Event publisherEvent) {
+
+        HandlerEventQueue handlerQueue = handlerQueues.computeIfAbsent(handler, this::createHandlerQueue);
+        if (running) {
+            handlerQueue.enqueue(publisherEvent);
+        } else {
+            handlerQueue.runInCaller(publisherEvent);
+        }
+    }
+
+    /**
+     * Get the async event queue statistics of the handlers, keyed by handler name.
+     *
+     * @return Map of handler name to queue metrics.
+     */
+    public Map<String, HandlerEventQueueMetrics> getMetrics() {
+
+        Map<String, HandlerEventQueueMetrics> metrics = new LinkedHashMap<>();
+        for (HandlerEventQueue handlerQueue : handlerQueues.values()) {
+            metrics.put(handlerQueue.getMetrics().getHandlerName(), handlerQueue.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Stop accepting events to the queues and wait until the queued events are handled or the drain timeout is
+     * reached.
+     */
+    public void shutdown() {
+
+        this.running = false;
+        long drainTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(getLongProperty(asyncQueueProperties,
+                ASYNC_QUEUE_DRAIN_TIMEOUT, DEFAULT_DRAIN_TIMEOUT_MILLIS));
+        long deadline = System.nanoTime() + drainTimeoutNanos;
+        try {
+            while (!isIdle() && deadline - System.nanoTime() > 0) {
+                Thread.sleep(DRAIN_POLL_INTERVAL_MILLIS);
+            }
+            threadPool.shutdown();
+            threadPool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        int pendingEvents = 0;
+        for (HandlerEventQueue handlerQueue : handlerQueues.values()) {
+            pendingEvents += handlerQueue.size();
+        }
+        if (pendingEvents > 0) {
+            log.warn("Event distribution task was shut down before handling " + pendingEvents + " queued events.");
+        } else if (log.isDebugEnabled()) {
+            log.debug("Event distribution task was shut down after handling all the queued events.");
+        }
     }
 
-    @Override
-    public void run() {
-        running = true;
-        // Run forever until stop the bundle. Will stop in eventQueue.take()
-        while (running) {
+    private boolean isIdle() {
+
+        for (HandlerEventQueue handlerQueue : handlerQueues.values()) {
+            if (!handlerQueue.isIdle()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private HandlerEventQueue createHandlerQueue(AbstractEventHandler handler) {
+
+        String handlerName = handler.getName();
+        Properties properties = resolveQueueProperties(handlerName);
+        int capacity = (int) getLongProperty(properties, ASYNC_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        // By default a single handler can occupy at most half of the pool.
+        int maxConcurrency = (int) getLongProperty(properties, ASYNC_QUEUE_MAX_CONCURRENCY,
+                Math.max(1, threadPoolSize / 2));
+        long blockTimeout = getLongProperty(properties, ASYNC_QUEUE_BLOCK_TIMEOUT, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+        HandlerEventQueue.OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+        String policy = properties.getProperty(ASYNC_QUEUE_OVERFLOW_POLICY);
+        if (StringUtils.isNotBlank(policy)) {
             try {
-                final Event event = eventQueue.take();
-                IdentityEventMessageContext eventContext = new IdentityEventMessageContext(event);
-                for (final AbstractEventHandler module : notificationSendingModules) {
-                    // If the module is subscribed to the event, module will be executed.
-                    if (module.isEnabled(eventContext)) {
-                        // Create a runnable and submit to the thread pool for sending message.
-                        Runnable msgSender = new Runnable() {
-                            @Override
-                            public void run() {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Executing " + module.getName() + " on event" + event.
-                                            getEventName());
-                                }
-                                try {
-                                    module.handleEvent(event);
-                                } catch (IdentityEventException e) {
-                                    log.error("Error while invoking notification sending module " + module.
-                                            getName(), e);
-                                }
-                            }
-                        };
-                        IdentityEventServiceDataHolder.getInstance().getThreadPool().submit(msgSender);
-                    }
+                overflowPolicy = HandlerEventQueue.OverflowPolicy.valueOf(policy.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid async queue overflow policy: " + policy + " configured for handler: " +
+                        handlerName + ". Using the default policy: " + DEFAULT_OVERFLOW_POLICY);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Creating async event queue for handler: " + handlerName + " with capacity: " + capacity +
+                    ", overflow policy: " + overflowPolicy + ", max concurrency: " + maxConcurrency);
+        }
+        return new HandlerEventQueue(handler, handler.getPriority(null), Math.max(1, capacity), overflowPolicy,
+                blockTimeout, Math.max(1, maxConcurrency), threadPool);
+    }
+
+    /**
+     * Resolve the async event queue configurations of the handler. Handler specific configurations which are
+     * prefixed with the handler name take precedence over the default configurations.
+     */
+    private Properties resolveQueueProperties(String handlerName) {
+
+        Properties properties = new Properties();
+        properties.putAll(asyncQueueProperties);
+        ModuleConfiguration moduleConfiguration = moduleConfigurations.get(handlerName);
+        if (moduleConfiguration != null && moduleConfiguration.getModuleProperties() != null) {
+            Properties moduleProperties = moduleConfiguration.getModuleProperties();
+            for (String key : new String[]{ASYNC_QUEUE_CAPACITY, ASYNC_QUEUE_OVERFLOW_POLICY,
+                    ASYNC_QUEUE_BLOCK_TIMEOUT, ASYNC_QUEUE_MAX_CONCURRENCY}) {
+                String value = moduleProperties.getProperty(handlerName + "." + key);
+                if (StringUtils.isNotBlank(value)) {
+                    properties.setProperty(key, value);
                 }
-            } catch (InterruptedException e) {
-                log.error("Error while picking up event from event queue", e);
             }
         }
+        return properties;
     }
 
-    public void shutdown() {
-        this.running = false;
+    private static long getLongProperty(Properties properties, String key, long defaultValue) {
+
+        String value = properties.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for: " + key + ". Using the default value: " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Thread factory which names the event distribution threads.
+     */
+    private static class EventDistributionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            return new Thread(runnable, "IdentityEventDistribution-" + threadCount.incrementAndGet());
+        }
     }
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of the async events of a single event handler. Events are drained by at most
+ * {@code maxConcurrency} workers which run on the thread pool shared by all the handlers, so a slow handler can
+ * only hold a limited share of the pool and only its own queue grows when it falls behind.
+ */
+final class HandlerEventQueue {
+
+    private static final Log log = LogFactory.getLog(HandlerEventQueue.class);
+
+    /**
+     * Maximum number of events a worker handles before yielding its pool thread to the workers of other handlers.
+     */
+    private static final int MAX_EVENTS_PER_RUN = 64;
+    private static final AtomicLong WORKER_SEQUENCE = new AtomicLong();
+
+    /**
+     * Action to take when an event is published while the queue is full.
+     */
+    enum OverflowPolicy {
+
+        /**
+         * Wait for free space up to the configured block timeout, then drop the event.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest queued event to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Handle the event in the publishing thread.
+         */
+        CALLER_RUNS
+    }
+
+    private final AbstractEventHandler handler;
+    private final BlockingQueue<QueuedEvent> queue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final int maxConcurrency;
+    private final int priority;
+    private final Executor executor;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final HandlerEventQueueMetrics metrics;
+
+    HandlerEventQueue(AbstractEventHandler handler, int priority, int capacity, OverflowPolicy overflowPolicy,
+                      long blockTimeoutMillis, int maxConcurrency, Executor executor) {
+
+        this.handler = handler;
+        this.priority = priority;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+        this.metrics = new HandlerEventQueueMetrics(handler.getName(), this);
+    }
+
+    /**
+     * Add the event to the queue applying the overflow policy if the queue is full.
+     *
+     * @param event Event to be handled asynchronously.
+     */
+    void enqueue(Event event) {
+
+        QueuedEvent queuedEvent = new QueuedEvent(event);
+        if (!queue.offer(queuedEvent)) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    if (!offerWithTimeout(queuedEvent)) {
+                        metrics.recordDropped();
+                        log.warn("Async event queue of handler: " + handler.getName() + " is full. Dropping event: "
+                                + event.getEventName());
+                        return;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!queue.offer(queuedEvent)) {
+                        QueuedEvent dropped = queue.poll();
+                        if (dropped != null) {
+                            metrics.recordDropped();
+                            log.warn("Async event queue of handler: " + handler.getName() + " is full. Dropping " +
+                                    "oldest event: " + dropped.event.getEventName());
+                        }
+                    }
+                    break;
+                default:
+                    metrics.recordCallerRun();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Async event queue of handler: " + handler.getName() + " is full. Handling " +
+                                "event: " + event.getEventName() + " in the publishing thread.");
+                    }
+                    runInCaller(event);
+                    return;
+            }
+        }
+        metrics.recordEnqueued();
+        schedule();
+    }
+
+    /**
+     * Handle the event in the calling thread, bypassing the queue.
+     *
+     * @param event Event to be handled.
+     */
+    void runInCaller(Event event) {
+
+        long start = System.nanoTime();
+        boolean failed = !deliver(event);
+        metrics.recordProcessed(0, System.nanoTime() - start, failed);
+    }
+
+    boolean isIdle() {
+
+        return queue.isEmpty() && activeWorkers.get() == 0;
+    }
+
+    int size() {
+
+        return queue.size();
+    }
+
+    int getCapacity() {
+
+        return capacity;
+    }
+
+    int getActiveWorkers() {
+
+        return activeWorkers.get();
+    }
+
+    HandlerEventQueueMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    private boolean offerWithTimeout(QueuedEvent queuedEvent) {
+
+        try {
+            return queue.offer(queuedEvent, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Start a new worker if the queue has more pending events than active workers and the concurrency limit of the
+     * handler is not reached.
+     */
+    private void schedule() {
+
+        int active;
+        while ((active = activeWorkers.get()) < maxConcurrency && queue.size() > active) {
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                try {
+                    executor.execute(new Worker());
+                } catch (RejectedExecutionException e) {
+                    activeWorkers.decrementAndGet();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Event distribution thread pool is shut down. Pending events of handler: " +
+                                handler.getName() + " will not be scheduled.");
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean deliver(Event event) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Executing " + handler.getName() + " on event" + event.getEventName());
+        }
+        try {
+            handler.handleEvent(event);
+            return true;
+        } catch (IdentityEventException | RuntimeException e) {
+            log.error("Error while invoking notification sending module " + handler.getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Queued event with the time it was published.
+     */
+    private static final class QueuedEvent {
+
+        private final Event event;
+        private final long enqueuedAt = System.nanoTime();
+
+        QueuedEvent(Event event) {
+
+            this.event = event;
+        }
+    }
+
+    /**
+     * Drains a bounded number of events from the queue. Workers of higher priority handlers are picked first by
+     * the shared thread pool; workers of the same priority run in submission order.
+     */
+    final class Worker implements Runnable, Comparable<Worker> {
+
+        private final long sequence = WORKER_SEQUENCE.incrementAndGet();
+
+        @Override
+        public void run() {
+
+            try {
+                QueuedEvent queuedEvent;
+                int handled = 0;
+                while (handled++ < MAX_EVENTS_PER_RUN && (queuedEvent = queue.poll()) != null) {
+                    long start = System.nanoTime();
+                    boolean failed = !deliver(queuedEvent.event);
+                    metrics.recordProcessed(start - queuedEvent.enqueuedAt, System.nanoTime() - start, failed);
+                }
+            } finally {
+                activeWorkers.decrementAndGet();
+                // Events added while this worker was finishing up must not be left behind.
+                schedule();
+            }
+        }
+
+        @Override
+        public int compareTo(Worker other) {
+
+            if (priority != other.priority()) {
+                return Integer.compare(priority, other.priority());
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Long.hashCode(sequence);
+        }
+
+        private int priority() {
+
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runtime statistics of the async event queue of a single event handler.
+ */
+public class HandlerEventQueueMetrics {
+
+    private final String handlerName;
+    private final HandlerEventQueue queue;
+    private final AtomicLong enqueuedEvents = new AtomicLong();
+    private final AtomicLong processedEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong callerRunEvents = new AtomicLong();
+    private final AtomicLong totalQueueTimeNanos = new AtomicLong();
+    private final AtomicLong maxQueueTimeNanos = new AtomicLong();
+    private final AtomicLong totalProcessingTimeNanos = new AtomicLong();
+    private final AtomicLong maxProcessingTimeNanos = new AtomicLong();
+
+    HandlerEventQueueMetrics(String handlerName, HandlerEventQueue queue) {
+
+        this.handlerName = handlerName;
+        this.queue = queue;
+    }
+
+    void recordEnqueued() {
+
+        enqueuedEvents.incrementAndGet();
+    }
+
+    void recordDropped() {
+
+        droppedEvents.incrementAndGet();
+    }
+
+    void recordCallerRun() {
+
+        callerRunEvents.incrementAndGet();
+    }
+
+    void recordProcessed(long queueTimeNanos, long processingTimeNanos, boolean failed) {
+
+        processedEvents.incrementAndGet();
+        if (failed) {
+            failedEvents.incrementAndGet();
+        }
+        totalQueueTimeNanos.addAndGet(queueTimeNanos);
+        totalProcessingTimeNanos.addAndGet(processingTimeNanos);
+        updateMax(maxQueueTimeNanos, queueTimeNanos);
+        updateMax(maxProcessingTimeNanos, processingTimeNanos);
+    }
+
+    public String getHandlerName() {
+
+        return handlerName;
+    }
+
+    /**
+     * Number of events currently waiting in the queue.
+     */
+    public int getQueueDepth() {
+
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+
+        return queue.getCapacity();
+    }
+
+    /**
+     * Number of workers currently draining the queue.
+     */
+    public int getActiveWorkers() {
+
+        return queue.getActiveWorkers();
+    }
+
+    public long getEnqueuedEvents() {
+
+        return enqueuedEvents.get();
+    }
+
+    /**
+     * Number of events handled by the async workers, including the failed ones.
+     */
+    public long getProcessedEvents() {
+
+        return processedEvents.get();
+    }
+
+    public long getFailedEvents() {
+
+        return failedEvents.get();
+    }
+
+    /**
+     * Number of events discarded because the queue was full.
+     */
+    public long getDroppedEvents() {
+
+        return droppedEvents.get();
+    }
+
+    /**
+     * Number of events handled in the publishing thread because the queue was full.
+     */
+    public long getCallerRunEvents() {
+
+        return callerRunEvents.get();
+    }
+
+    public long getAverageQueueTimeMillis() {
+
+        return average(totalQueueTimeNanos);
+    }
+
+    public long getMaxQueueTimeMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueTimeNanos.get());
+    }
+
+    public long getAverageProcessingTimeMillis() {
+
+        return average(totalProcessingTimeNanos);
+    }
+
+    public long getMaxProcessingTimeMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxProcessingTimeNanos.get());
+    }
+
+    private long average(AtomicLong totalNanos) {
+
+        long processed = processedEvents.get();
+        return processed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / processed);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return "HandlerEventQueueMetrics{handler=" + handlerName + ", queueDepth=" + getQueueDepth() +
+                ", capacity=" + getQueueCapacity() + ", activeWorkers=" + getActiveWorkers() +
+                ", enqueued=" + getEnqueuedEvents() + ", processed=" + getProcessedEvents() +
+                ", failed=" + getFailedEvents() + ", dropped=" + getDroppedEvents() +
+                ", callerRuns=" + getCallerRunEvents() + ", avgQueueTimeMs=" + getAverageQueueTimeMillis() +
+                ", maxQueueTimeMs=" + getMaxQueueTimeMillis() + ", avgProcessingTimeMs=" +
+                getAverageProcessingTimeMillis() + ", maxProcessingTimeMs=" + getMaxProcessingTimeMillis() + "}";
+    }
+}
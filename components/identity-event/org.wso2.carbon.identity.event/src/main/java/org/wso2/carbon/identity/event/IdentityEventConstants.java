@@ -42,6 +42,13 @@ public class IdentityEventConstants {
         public static final String ALREADY_WRITTEN_PROPERTY_KEY = "AlreadyWritten";
         public static final String ALREADY_WRITTEN_PROPERTY_VALUE = "true";
 
+        // Async event queue configurations. These can be overridden per handler with the handler name as the prefix.
+        public static final String ASYNC_QUEUE_PREFIX = "asyncQueue";
+        public static final String ASYNC_QUEUE_CAPACITY = "asyncQueue.capacity";
+        public static final String ASYNC_QUEUE_OVERFLOW_POLICY = "asyncQueue.overflowPolicy";
+        public static final String ASYNC_QUEUE_BLOCK_TIMEOUT = "asyncQueue.blockTimeout";
+        public static final String ASYNC_QUEUE_MAX_CONCURRENCY = "asyncQueue.maxConcurrency";
+        public static final String ASYNC_QUEUE_DRAIN_TIMEOUT = "asyncQueue.drainTimeout";
     }
 
     public class Event {
@@ -23,13 +23,17 @@ import org.apache.commons.logging.LogFactory;
 
 import org.osgi.annotation.bundle.Capability;
 import org.wso2.carbon.identity.event.EventDistributionTask;
+import org.wso2.carbon.identity.event.HandlerEventQueueMetrics;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.bean.ModuleConfiguration;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.internal.IdentityEventServiceComponent;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 
 @Capability(
         namespace = "osgi.service",
@@ -44,12 +48,24 @@ public class IdentityEventServiceImpl implements IdentityEventService {
     private EventDistributionTask eventDistributionTask;
 
     public IdentityEventServiceImpl(List<AbstractEventHandler> handlerList, int threadPoolSize) {
+
         this.eventDistributionTask = new EventDistributionTask(handlerList, threadPoolSize);
         if (log.isDebugEnabled()) {
             log.debug("Starting event distribution task from Notification Management component");
         }
-        new Thread(eventDistributionTask).start();
     }
+
+    public IdentityEventServiceImpl(List<AbstractEventHandler> handlerList, int threadPoolSize,
+                                    Properties asyncQueueProperties,
+                                    Map<String, ModuleConfiguration> moduleConfigurations) {
+
+        this.eventDistributionTask = new EventDistributionTask(handlerList, threadPoolSize, asyncQueueProperties,
+                moduleConfigurations);
+        if (log.isDebugEnabled()) {
+            log.debug("Starting event distribution task from Notification Management component");
+        }
+    }
+
     @Override
     public void handleEvent(Event event) throws IdentityEventException {
 
@@ -59,11 +75,32 @@ public class IdentityEventServiceImpl implements IdentityEventService {
 
             if (handler.canHandle(eventContext)) {
                 if (handler.isAssociationAsync(event.getEventName())) {
-                    eventDistributionTask.addEventToQueue(event);
+                    // Async handlers are only executed if they are enabled.
+                    if (handler.isEnabled(eventContext)) {
+                        eventDistributionTask.addEventToQueue(handler, event);
+                    }
                 } else {
                     handler.handleEvent(event);
                 }
             }
         }
     }
+
+    /**
+     * Get the async event queue statistics of the event handlers, keyed by handler name.
+     *
+     * @return Map of handler name to queue metrics.
+     */
+    public Map<String, HandlerEventQueueMetrics> getAsyncQueueMetrics() {
+
+        return eventDistributionTask.getMetrics();
+    }
+
+    /**
+     * Stop accepting async events and wait until the queued events are handled.
+     */
+    public void shutdown() {
+
+        eventDistributionTask.shutdown();
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class EventDistributionTaskTest {
+
+    @Test
+    public void testEventsAreDrainedOnShutdown() {
+
+        TestEventHandler handler = new TestEventHandler("testHandler", null);
+        EventDistributionTask task = new EventDistributionTask(new ArrayList<AbstractEventHandler>(), 2,
+                new Properties(), null);
+        for (int i = 0; i < 50; i++) {
+            task.addEventToQueue(handler, new Event("TEST_EVENT"));
+        }
+        task.shutdown();
+
+        assertEquals(handler.handledEvents.get(), 50);
+        HandlerEventQueueMetrics metrics = task.getMetrics().get("testHandler");
+        assertEquals(metrics.getQueueDepth(), 0);
+        assertEquals(metrics.getProcessedEvents(), 50);
+        assertEquals(metrics.getDroppedEvents(), 0);
+
+        // Events published after the shutdown are handled in the publishing thread.
+        task.addEventToQueue(handler, new Event("TEST_EVENT"));
+        assertEquals(handler.handledEvents.get(), 51);
+    }
+
+    @Test
+    public void testDropOldestOverflowPolicy() throws Exception {
+
+        CountDownLatch latch = new CountDownLatch(1);
+        TestEventHandler handler = new TestEventHandler("blockedHandler", latch);
+        Properties properties = new Properties();
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_CAPACITY, "5");
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_OVERFLOW_POLICY, "drop_oldest");
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_MAX_CONCURRENCY, "1");
+        EventDistributionTask task = new EventDistributionTask(new ArrayList<AbstractEventHandler>(), 2,
+                properties, null);
+
+        task.addEventToQueue(handler, new Event("TEST_EVENT"));
+        assertTrue(handler.started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            task.addEventToQueue(handler, new Event("TEST_EVENT"));
+        }
+        HandlerEventQueueMetrics metrics = task.getMetrics().get("blockedHandler");
+        assertEquals(metrics.getQueueDepth(), 5);
+        assertEquals(metrics.getDroppedEvents(), 5);
+
+        latch.countDown();
+        task.shutdown();
+        assertEquals(handler.handledEvents.get(), 6);
+    }
+
+    @Test
+    public void testCallerRunsOverflowPolicy() throws Exception {
+
+        CountDownLatch latch = new CountDownLatch(1);
+        TestEventHandler blockedHandler = new TestEventHandler("slowHandler", latch);
+        TestEventHandler otherHandler = new TestEventHandler("otherHandler", null);
+        Properties properties = new Properties();
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_CAPACITY, "2");
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_QUEUE_MAX_CONCURRENCY, "1");
+        EventDistributionTask task = new EventDistributionTask(new ArrayList<AbstractEventHandler>(), 2,
+                properties, null);
+
+        task.addEventToQueue(blockedHandler, new Event("TEST_EVENT"));
+        assertTrue(blockedHandler.started.await(5, TimeUnit.SECONDS));
+        task.addEventToQueue(blockedHandler, new Event("TEST_EVENT"));
+        task.addEventToQueue(blockedHandler, new Event("TEST_EVENT"));
+
+        // The slow handler holds a single worker, so other handlers are still served by the pool.
+        task.addEventToQueue(otherHandler, new Event("TEST_EVENT"));
+        assertTrue(otherHandler.started.await(5, TimeUnit.SECONDS));
+
+        // Queue is full, so this event is handled in the calling thread.
+        task.addEventToQueue(blockedHandler, new Event("TEST_EVENT"));
+        assertEquals(task.getMetrics().get("slowHandler").getCallerRunEvents(), 1);
+
+        latch.countDown();
+        task.shutdown();
+        assertEquals(blockedHandler.handledEvents.get(), 4);
+        assertEquals(otherHandler.handledEvents.get(), 1);
+    }
+
+    private static class TestEventHandler extends AbstractEventHandler {
+
+        private final String name;
+        private final CountDownLatch latch;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final AtomicInteger handledEvents = new AtomicInteger();
+
+        TestEventHandler(String name, CountDownLatch latch) {
+
+            this.name = name;
+            this.latch = latch;
+        }
+
+        @Override
+        public void handleEvent(Event event) throws IdentityEventException {
+
+            // Only the first event waits for the latch.
+            boolean first = started.getCount() > 0;
+            started.countDown();
+            if (latch != null && first) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            handledEvents.incrementAndGet();
+        }
+
+        @Override
+        public String getName() {
+
+            return name;
+        }
+
+        @Override
+        public int getPriority(MessageContext messageContext) {
+
+            return 50;
+        }
+    }
+}
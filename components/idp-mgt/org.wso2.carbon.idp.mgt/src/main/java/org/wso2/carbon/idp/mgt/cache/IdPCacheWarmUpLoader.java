@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.idp.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpException;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpLoader;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.IdentityProviderManager;
+import org.wso2.carbon.idp.mgt.dao.CacheBackedIdPMgtDAO;
+import org.wso2.carbon.idp.mgt.dao.IdPManagementDAO;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Warms up the identity provider caches with the identity providers most accessed by name. The identity providers
+ * of a tenant are loaded in bulk on the first key of the tenant, hence the keys are mostly served from the cache.
+ */
+public class IdPCacheWarmUpLoader implements CacheWarmUpLoader {
+
+    public static final String LOADER_NAME = "IdentityProvider";
+
+    private final CacheBackedIdPMgtDAO dao;
+    private final ConcurrentMap<String, FutureTask<Integer>> tenantWarmUps = new ConcurrentHashMap<>();
+
+    public IdPCacheWarmUpLoader() {
+
+        this(new CacheBackedIdPMgtDAO(new IdPManagementDAO()));
+    }
+
+    IdPCacheWarmUpLoader(CacheBackedIdPMgtDAO dao) {
+
+        this.dao = dao;
+    }
+
+    @Override
+    public String getName() {
+
+        return LOADER_NAME;
+    }
+
+    @Override
+    public void load(String tenantDomain, String key) throws CacheWarmUpException {
+
+        warmUpTenant(tenantDomain);
+        try {
+            // Loads the identity providers which are not loaded in bulk, such as the resident identity provider.
+            IdentityProviderManager.getInstance().getIdPByName(key, tenantDomain);
+        } catch (IdentityProviderManagementException e) {
+            throw new CacheWarmUpException("Error while loading the identity provider: " + key, e);
+        }
+    }
+
+    private void warmUpTenant(String tenantDomain) throws CacheWarmUpException {
+
+        FutureTask<Integer> warmUp = new FutureTask<>(
+                () -> dao.warmUpIdPCache(IdentityTenantUtil.getTenantId(tenantDomain), tenantDomain));
+        FutureTask<Integer> existingWarmUp = tenantWarmUps.putIfAbsent(tenantDomain, warmUp);
+        if (existingWarmUp == null) {
+            warmUp.run();
+        } else {
+            warmUp = existingWarmUp;
+        }
+        try {
+            warmUp.get();
+        } catch (ExecutionException e) {
+            // Allow the next key of the tenant to retry the bulk load.
+            tenantWarmUps.remove(tenantDomain, warmUp);
+            throw new CacheWarmUpException("Error while loading the identity providers of tenant: " +
+                    tenantDomain, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheWarmUpException("Interrupted while loading the identity providers of tenant: " +
+                    tenantDomain, e);
+        }
+    }
+}
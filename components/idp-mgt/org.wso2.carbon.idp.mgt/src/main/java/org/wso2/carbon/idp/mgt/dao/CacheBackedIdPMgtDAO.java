@@ -28,6 +28,7 @@ import org.wso2.carbon.identity.application.common.model.IdPGroup;
 import org.wso2.carbon.identity.application.common.model.IdentityProvider;
 import org.wso2.carbon.identity.application.common.model.IdentityProviderProperty;
 import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 import org.wso2.carbon.identity.core.model.ExpressionNode;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
@@ -42,6 +43,7 @@ import org.wso2.carbon.idp.mgt.cache.IdPCacheByMetadataProperty;
 import org.wso2.carbon.idp.mgt.cache.IdPCacheByName;
 import org.wso2.carbon.idp.mgt.cache.IdPCacheByResourceId;
 import org.wso2.carbon.idp.mgt.cache.IdPCacheEntry;
+import org.wso2.carbon.idp.mgt.cache.IdPCacheWarmUpLoader;
 import org.wso2.carbon.idp.mgt.cache.IdPHomeRealmIdCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPMetadataPropertyCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPNameCacheKey;
@@ -230,6 +232,7 @@ public class CacheBackedIdPMgtDAO {
                                          int tenantId, String tenantDomain) throws
             IdentityProviderManagementException {
 
+        CacheWarmUpManager.getInstance().recordAccess(IdPCacheWarmUpLoader.LOADER_NAME, tenantDomain, idPName);
         IdPNameCacheKey cacheKey = new IdPNameCacheKey(idPName);
         IdPCacheEntry entry = idPCacheByName.getValueFromCache(cacheKey, tenantDomain);
 
@@ -804,6 +807,29 @@ public class CacheBackedIdPMgtDAO {
         }
     }
 
+    /**
+     * Load all the identity providers of the tenant, except the resident identity provider, in bulk and add them
+     * to the identity provider caches.
+     *
+     * @param tenantId     Tenant ID of the identity providers.
+     * @param tenantDomain Tenant domain of the identity providers.
+     * @return Number of identity providers added to the caches.
+     * @throws IdentityProviderManagementException If an error occurs while retrieving the identity providers.
+     */
+    public int warmUpIdPCache(int tenantId, String tenantDomain) throws IdentityProviderManagementException {
+
+        List<IdentityProvider> identityProviders = idPManagementFacade.getIdPsWithDetails(null, tenantId,
+                tenantDomain);
+        for (IdentityProvider identityProvider : identityProviders) {
+            addIdPCache(identityProvider, tenantDomain);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Added " + identityProviders.size() + " identity providers of tenant: " + tenantDomain +
+                    " to the cache.");
+        }
+        return identityProviders.size();
+    }
+
     public void clearIdpCache(String idPName, int tenantId, String tenantDomain)
             throws IdentityProviderManagementException {
 
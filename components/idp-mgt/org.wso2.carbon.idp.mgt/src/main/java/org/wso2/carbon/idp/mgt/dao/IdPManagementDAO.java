@@ -107,6 +107,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -151,6 +152,10 @@ public class IdPManagementDAO {
     private final IdPSecretsProcessor idpSecretsProcessorService = new IdPSecretsProcessor();
 
     private static final String OPENID_IDP_ENTITY_ID = "IdPEntityId";
+    /**
+     * Maximum number of identity providers hydrated together, which bounds the IN clauses of the bulk queries.
+     */
+    private static final int MAX_IDPS_PER_HYDRATION_BATCH = 100;
     private static final String USE_ENTITY_ID_AS_ISSUER = "OAuth.OpenIDConnect.UseEntityIdAsIssuer";
     private static final String ENABLE_SMS_OTP_IF_RECOVERY_NOTIFICATION_ENABLED
             = "OnDemandConfig.OnInitialUse.EnableSMSOTPPasswordRecoveryIfConnectorEnabled";
@@ -1047,101 +1052,112 @@ public class IdPManagementDAO {
                                                                         int idpId, int tenantId)
             throws SQLException {
 
-        PreparedStatement prepStmt = null;
-        ResultSet rs = null;
-        List<IdentityProviderProperty> idpProperties = new ArrayList<IdentityProviderProperty>();
-        boolean isRecoveryNotificationPasswordRecoveryEnabled = false;
-        boolean isEmailLinkNotificationPasswordRecoveryEnabled = false;
-        boolean isEmailOTPNotificationPasswordRecoveryEnabled = false;
-        boolean isSmsOtpNotificationPasswordRecoveryEnabled = false;
-
-        boolean isUsernameRecoveryEnabled = false;
-        boolean isEmailUsernameRecoveryEnabled = false;
-        boolean isSmsUsernameRecoveryEnabled = false;
+        try {
+            return getIdentityPropertiesOfIdPs(dbConnection, Collections.singletonList(idpId), tenantId).get(idpId);
+        } catch (SQLException e) {
+            throw new SQLException("Error while retrieving IDP properties for IDP ID: " + idpId, e);
+        }
+    }
 
-        boolean isAdminForcePasswordResetEmailLinkEnabled = false;
-        boolean isAdminForcePasswordResetEmailOTPEnabled = false;
-        boolean isAdminForcePasswordResetSMSOTPEnabled = false;
-        boolean isAdminForcePasswordResetOfflineEnabled = false;
+    /**
+     * Get the identity properties of the given identity providers with a single query.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @param tenantId     Tenant ID of the identity providers.
+     * @return Identity provider properties keyed by the identity provider ID.
+     * @throws SQLException If an error occurs while retrieving the properties.
+     */
+    private Map<Integer, List<IdentityProviderProperty>> getIdentityPropertiesOfIdPs(Connection dbConnection,
+                                                                                    List<Integer> idpIds,
+                                                                                    int tenantId)
+            throws SQLException {
 
-        try {
-            String databaseProductName = dbConnection.getMetaData().getDatabaseProductName();
-            String sqlStmt =
-                    isH2DB(databaseProductName) ? IdPManagementConstants.SQLQueries.GET_IDP_METADATA_BY_IDP_ID_H2 :
-                            IdPManagementConstants.SQLQueries.GET_IDP_METADATA_BY_IDP_ID;
-            prepStmt = dbConnection.prepareStatement(sqlStmt);
-            prepStmt.setInt(1, idpId);
-            rs = prepStmt.executeQuery();
+        Map<Integer, List<IdentityProviderProperty>> idpProperties = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            idpProperties.put(idpId, new ArrayList<>());
+        }
+        String databaseProductName = dbConnection.getMetaData().getDatabaseProductName();
+        String sqlStmt = isH2DB(databaseProductName) ? IdPManagementConstants.SQLQueries.GET_IDP_METADATA_BY_IDP_IDS_H2 :
+                IdPManagementConstants.SQLQueries.GET_IDP_METADATA_BY_IDP_IDS;
+        try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection, sqlStmt, idpIds);
+             ResultSet rs = prepStmt.executeQuery()) {
             while (rs.next()) {
                 IdentityProviderProperty property = new IdentityProviderProperty();
                 property.setName(rs.getString("NAME"));
-                if (IdPManagementConstants.NOTIFICATION_PASSWORD_ENABLE_PROPERTY.equals(property.getName())) {
-                    isRecoveryNotificationPasswordRecoveryEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.EMAIL_LINK_PASSWORD_RECOVERY_PROPERTY.equals(property.getName())) {
-                    isEmailLinkNotificationPasswordRecoveryEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.EMAIL_OTP_PASSWORD_RECOVERY_PROPERTY.equals(property.getName())) {
-                    isEmailOTPNotificationPasswordRecoveryEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.SMS_OTP_PASSWORD_RECOVERY_PROPERTY.equals(property.getName())) {
-                    isSmsOtpNotificationPasswordRecoveryEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.USERNAME_RECOVERY_PROPERTY.equals(property.getName())) {
-                    isUsernameRecoveryEnabled = Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.EMAIL_USERNAME_RECOVERY_PROPERTY.equals(property.getName())) {
-                    isEmailUsernameRecoveryEnabled = Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.SMS_USERNAME_RECOVERY_PROPERTY.equals(property.getName())) {
-                    isSmsUsernameRecoveryEnabled = Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_EMAIL_LINK_PROPERTY.equals(property.getName())) {
-                    isAdminForcePasswordResetEmailLinkEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_EMAIL_OTP_PROPERTY.equals(property.getName())) {
-                    isAdminForcePasswordResetEmailOTPEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_SMS_OTP_PROPERTY.equals(property.getName())) {
-                    isAdminForcePasswordResetSMSOTPEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
-                if (IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_OFFLINE_PROPERTY.equals(property.getName())) {
-                    isAdminForcePasswordResetOfflineEnabled =
-                            Boolean.parseBoolean(rs.getString("VALUE"));
-                }
                 property.setValue(rs.getString("VALUE"));
                 property.setDisplayName(rs.getString("DISPLAY_NAME"));
-                idpProperties.add(property);
-            }
-            // If recovery notification are inconsistent, correct the configurations.
-            if (isRecoveryNotificationPasswordRecoveryEnabled && !isEmailLinkNotificationPasswordRecoveryEnabled &&
-                    !isEmailOTPNotificationPasswordRecoveryEnabled && !isSmsOtpNotificationPasswordRecoveryEnabled) {
-                performConfigCorrectionForPasswordRecoveryConfigs(dbConnection, tenantId, idpId, idpProperties);
+                idpProperties.get(rs.getInt("IDP_ID")).add(property);
             }
-            // If username recovery configs are inconsistent, correct the configurations.
-            if (isUsernameRecoveryEnabled && !isEmailUsernameRecoveryEnabled && !isSmsUsernameRecoveryEnabled) {
-                performConfigCorrectionForUsernameRecoveryConfigs(dbConnection, tenantId, idpId, idpProperties);
-            }
-            // If admin force password reset configs are inconsistent, correct the configurations.
-            if (!isAdminForcePasswordResetEmailLinkEnabled && !isAdminForcePasswordResetEmailOTPEnabled
-                    && !isAdminForcePasswordResetSMSOTPEnabled && !isAdminForcePasswordResetOfflineEnabled) {
-                performConfigCorrectionForAdminForcedPasswordResetConfigs(idpProperties);
-            }
-        } catch (SQLException e) {
-            throw new SQLException("Error while retrieving IDP properties for IDP ID: " + idpId, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(null, rs, prepStmt);
+        }
+        for (Map.Entry<Integer, List<IdentityProviderProperty>> entry : idpProperties.entrySet()) {
+            correctIdentityProperties(dbConnection, entry.getKey(), tenantId, entry.getValue());
         }
         return idpProperties;
     }
 
+    /**
+     * Correct inconsistent recovery and admin forced password reset configurations of an identity provider.
+     *
+     * @param dbConnection  Database connection.
+     * @param idpId         ID of the identity provider.
+     * @param tenantId      Tenant ID of the identity provider.
+     * @param idpProperties Properties of the identity provider as stored in the database.
+     * @throws SQLException If an error occurs while persisting the corrected configurations.
+     */
+    private void correctIdentityProperties(Connection dbConnection, int idpId, int tenantId,
+                                           List<IdentityProviderProperty> idpProperties) throws SQLException {
+
+        Map<String, String> propertyValues = new HashMap<>();
+        for (IdentityProviderProperty property : idpProperties) {
+            propertyValues.put(property.getName(), property.getValue());
+        }
+        boolean isRecoveryNotificationPasswordRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.NOTIFICATION_PASSWORD_ENABLE_PROPERTY);
+        boolean isEmailLinkNotificationPasswordRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.EMAIL_LINK_PASSWORD_RECOVERY_PROPERTY);
+        boolean isEmailOTPNotificationPasswordRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.EMAIL_OTP_PASSWORD_RECOVERY_PROPERTY);
+        boolean isSmsOtpNotificationPasswordRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.SMS_OTP_PASSWORD_RECOVERY_PROPERTY);
+
+        boolean isUsernameRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.USERNAME_RECOVERY_PROPERTY);
+        boolean isEmailUsernameRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.EMAIL_USERNAME_RECOVERY_PROPERTY);
+        boolean isSmsUsernameRecoveryEnabled =
+                isPropertyEnabled(propertyValues, IdPManagementConstants.SMS_USERNAME_RECOVERY_PROPERTY);
+
+        boolean isAdminForcePasswordResetEmailLinkEnabled = isPropertyEnabled(propertyValues,
+                IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_EMAIL_LINK_PROPERTY);
+        boolean isAdminForcePasswordResetEmailOTPEnabled = isPropertyEnabled(propertyValues,
+                IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_EMAIL_OTP_PROPERTY);
+        boolean isAdminForcePasswordResetSMSOTPEnabled = isPropertyEnabled(propertyValues,
+                IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_SMS_OTP_PROPERTY);
+        boolean isAdminForcePasswordResetOfflineEnabled = isPropertyEnabled(propertyValues,
+                IdPManagementConstants.ENABLE_ADMIN_PASSWORD_RESET_OFFLINE_PROPERTY);
+
+        // If recovery notification are inconsistent, correct the configurations.
+        if (isRecoveryNotificationPasswordRecoveryEnabled && !isEmailLinkNotificationPasswordRecoveryEnabled &&
+                !isEmailOTPNotificationPasswordRecoveryEnabled && !isSmsOtpNotificationPasswordRecoveryEnabled) {
+            performConfigCorrectionForPasswordRecoveryConfigs(dbConnection, tenantId, idpId, idpProperties);
+        }
+        // If username recovery configs are inconsistent, correct the configurations.
+        if (isUsernameRecoveryEnabled && !isEmailUsernameRecoveryEnabled && !isSmsUsernameRecoveryEnabled) {
+            performConfigCorrectionForUsernameRecoveryConfigs(dbConnection, tenantId, idpId, idpProperties);
+        }
+        // If admin force password reset configs are inconsistent, correct the configurations.
+        if (!isAdminForcePasswordResetEmailLinkEnabled && !isAdminForcePasswordResetEmailOTPEnabled
+                && !isAdminForcePasswordResetSMSOTPEnabled && !isAdminForcePasswordResetOfflineEnabled) {
+            performConfigCorrectionForAdminForcedPasswordResetConfigs(idpProperties);
+        }
+    }
+
+    private boolean isPropertyEnabled(Map<String, String> propertyValues, String propertyName) {
+
+        return Boolean.parseBoolean(propertyValues.get(propertyName));
+    }
+
     /**
      * Add Identity provider properties
      *
@@ -1225,70 +1241,119 @@ public class IdPManagementDAO {
             throws IdentityProviderManagementException, SQLException {
 
         int idPId = getIdentityProviderIdentifier(dbConnection, idPName, tenantId);
+        List<FederatedAuthenticatorConfig> authnConfigs = getFederatedAuthenticatorConfigsOfIdPs(dbConnection,
+                Collections.singletonList(idPId)).get(idPId);
+        return resolveFederatedAuthenticatorConfigs(dbConnection, federatedIdp, authnConfigs, tenantId);
+    }
 
-        PreparedStatement prepStmt1 = null;
-        PreparedStatement prepStmt2 = null;
-        ResultSet rs = null;
-        ResultSet proprs = null;
-        String defaultAuthName = null;
+    /**
+     * Get the federated authenticators of the given identity providers along with their properties. All the
+     * authenticators and all their properties are retrieved with one query each.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @return Federated authenticators keyed by the identity provider ID.
+     * @throws SQLException If an error occurs while retrieving the authenticators.
+     */
+    private Map<Integer, List<FederatedAuthenticatorConfig>> getFederatedAuthenticatorConfigsOfIdPs(
+            Connection dbConnection, List<Integer> idpIds) throws SQLException {
 
-        if (federatedIdp != null && federatedIdp.getDefaultAuthenticatorConfig() != null) {
-            defaultAuthName = federatedIdp.getDefaultAuthenticatorConfig().getName();
+        Map<Integer, List<FederatedAuthenticatorConfig>> authnConfigsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            authnConfigsOfIdPs.put(idpId, new ArrayList<>());
+        }
+        if (idpIds.isEmpty()) {
+            return authnConfigsOfIdPs;
         }
 
-        String sqlStmt = IdPManagementConstants.SQLQueries.GET_ALL_IDP_AUTH_SQL;
-        Set<FederatedAuthenticatorConfig> federatedAuthenticatorConfigs = new HashSet<FederatedAuthenticatorConfig>();
-        try {
-            prepStmt1 = dbConnection.prepareStatement(sqlStmt);
-            prepStmt1.setInt(1, idPId);
-            rs = prepStmt1.executeQuery();
-
+        Map<Integer, FederatedAuthenticatorConfig> authnConfigsById = new HashMap<>();
+        try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                IdPManagementConstants.SQLQueries.GET_IDP_AUTHS_BY_IDP_IDS_SQL, idpIds);
+             ResultSet rs = prepStmt.executeQuery()) {
             while (rs.next()) {
                 FederatedAuthenticatorConfig authnConfig = createFederatedAuthenticatorConfig(DefinedByType.valueOf(
-                                rs.getString(DEFINED_BY_COLUMN)));
-                int authnId = rs.getInt("ID");
+                        rs.getString(DEFINED_BY_COLUMN)));
                 authnConfig.setName(rs.getString("NAME"));
+                authnConfig.setEnabled(IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_ENABLED")));
+                authnConfig.setDisplayName(rs.getString("DISPLAY_NAME"));
+                authnConfigsById.put(rs.getInt("ID"), authnConfig);
+                authnConfigsOfIdPs.get(rs.getInt("IDP_ID")).add(authnConfig);
+            }
+        }
+        if (authnConfigsById.isEmpty()) {
+            return authnConfigsOfIdPs;
+        }
 
-                if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("IS_ENABLED"))) {
-                    authnConfig.setEnabled(true);
-                } else {
-                    authnConfig.setEnabled(false);
+        Map<Integer, Set<Property>> propertiesOfAuthenticators = new HashMap<>();
+        try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                IdPManagementConstants.SQLQueries.GET_IDP_AUTH_PROPS_BY_IDP_IDS_SQL, idpIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                Property property = new Property();
+                property.setName(rs.getString("PROPERTY_KEY"));
+                property.setValue(rs.getString("PROPERTY_VALUE"));
+                if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("IS_SECRET"))) {
+                    property.setConfidential(true);
                 }
+                propertiesOfAuthenticators.computeIfAbsent(rs.getInt("AUTHENTICATOR_ID"), k -> new HashSet<>())
+                        .add(property);
+            }
+        }
+        for (Map.Entry<Integer, FederatedAuthenticatorConfig> entry : authnConfigsById.entrySet()) {
+            Set<Property> properties = propertiesOfAuthenticators.getOrDefault(entry.getKey(),
+                    Collections.emptySet());
+            entry.getValue().setProperties(properties.toArray(new Property[0]));
+        }
+        return authnConfigsOfIdPs;
+    }
 
-                authnConfig.setDisplayName(rs.getString("DISPLAY_NAME"));
+    /**
+     * Apply the identity provider specific resolutions to the federated authenticators loaded from the database.
+     *
+     * @param dbConnection Database connection.
+     * @param federatedIdp Identity provider the authenticators belong to.
+     * @param authnConfigs Federated authenticators of the identity provider.
+     * @param tenantId     Tenant ID of the identity provider.
+     * @return Resolved federated authenticators.
+     * @throws IdentityProviderManagementException If an error occurs while resolving inherited properties.
+     */
+    private FederatedAuthenticatorConfig[] resolveFederatedAuthenticatorConfigs(
+            Connection dbConnection, IdentityProvider federatedIdp, List<FederatedAuthenticatorConfig> authnConfigs,
+            int tenantId) throws IdentityProviderManagementException {
 
+        String defaultAuthName = null;
+        if (federatedIdp != null && federatedIdp.getDefaultAuthenticatorConfig() != null) {
+            defaultAuthName = federatedIdp.getDefaultAuthenticatorConfig().getName();
+        }
+
+        Set<FederatedAuthenticatorConfig> federatedAuthenticatorConfigs = new HashSet<FederatedAuthenticatorConfig>();
+        try {
+            boolean inheritProperties = federatedIdp != null &&
+                    IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME.equals(
+                            federatedIdp.getIdentityProviderName()) &&
+                    isIdpPropertyInheritanceEnabled(IdentityTenantUtil.getTenantDomain(tenantId));
+            for (FederatedAuthenticatorConfig authnConfig : authnConfigs) {
                 if (defaultAuthName != null && authnConfig.getName().equals(defaultAuthName)) {
                     federatedIdp.getDefaultAuthenticatorConfig().setDisplayName(authnConfig.getDisplayName());
                 }
 
-                Set<Property> properties = new HashSet<Property>();
-                if (isIdpPropertyInheritanceEnabled(IdentityTenantUtil.getTenantDomain(tenantId)) &&
-                        federatedIdp != null &&
-                        IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME.equals(
-                                federatedIdp.getIdentityProviderName()) &&
+                if (inheritProperties &&
                         IdPManagementConstants.INHERITED_FEDERATED_AUTHENTICATORS.contains(authnConfig.getName())) {
-                    properties = resolveInheritedFederatedAuthenticatorProperties(
+                    Set<Property> properties = resolveInheritedFederatedAuthenticatorProperties(
                             tenantId, authnConfig.getName(), dbConnection);
-                } else {
-                    properties = getFederatedAuthenticatorProperties(dbConnection, authnId);
+                    authnConfig.setProperties(properties.toArray(new Property[0]));
                 }
-                authnConfig.setProperties(properties.toArray(new Property[properties.size()]));
                 if (isEmailOTPAuthenticator(authnConfig.getName())) {
                     // This is to support backward compatibility.
                     updateEmailOTPCharTypeProperty(authnConfig, true);
                 }
                 federatedAuthenticatorConfigs.add(authnConfig);
             }
-
-            return federatedAuthenticatorConfigs
-                    .toArray(new FederatedAuthenticatorConfig[federatedAuthenticatorConfigs.size()]);
         } catch (OrganizationManagementException e) {
             throw new IdentityProviderManagementException("Error while resolving organization ID for tenant: " +
                     IdentityTenantUtil.getTenantDomain(tenantId), e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(null, proprs, prepStmt2);
-            IdentityDatabaseUtil.closeAllConnections(null, rs, prepStmt1);
         }
+        return federatedAuthenticatorConfigs.toArray(new FederatedAuthenticatorConfig[0]);
     }
 
     /**
@@ -1820,27 +1885,35 @@ public class IdPManagementDAO {
                                                       String userClaimUri, String roleClaimUri,
                                                       int idpId, int tenantId) throws SQLException {
 
-        PreparedStatement prepStmt = null;
-        ResultSet rs = null;
-        String sqlStmt;
-        ClaimConfig claimConfig = new ClaimConfig();
-
-        try {
-
-            claimConfig.setLocalClaimDialect(true);
-            claimConfig.setRoleClaimURI(roleClaimUri);
-            claimConfig.setUserClaimURI(userClaimUri);
-
-            sqlStmt = IdPManagementConstants.SQLQueries.GET_LOCAL_IDP_DEFAULT_CLAIM_VALUES_SQL;
-            prepStmt = dbConnection.prepareStatement(sqlStmt);
-
-            prepStmt.setInt(1, idpId);
-            prepStmt.setInt(2, tenantId);
+        return buildLocalIdPClaimConfig(userClaimUri, roleClaimUri, getLocalIdPDefaultClaimValuesOfIdPs(
+                dbConnection, Collections.singletonList(idpId), tenantId).get(idpId));
+    }
 
-            List<ClaimMapping> claimMappings = new ArrayList<ClaimMapping>();
+    /**
+     * Get the default local claim values of the given identity providers with a single query.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @param tenantId     Tenant ID of the identity providers.
+     * @return Claim mappings keyed by the identity provider ID.
+     * @throws SQLException If an error occurs while retrieving the claim values.
+     */
+    private Map<Integer, List<ClaimMapping>> getLocalIdPDefaultClaimValuesOfIdPs(Connection dbConnection,
+                                                                                List<Integer> idpIds, int tenantId)
+            throws SQLException {
 
-            rs = prepStmt.executeQuery();
+        Map<Integer, List<ClaimMapping>> claimMappingsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            claimMappingsOfIdPs.put(idpId, new ArrayList<>());
+        }
+        if (idpIds.isEmpty()) {
+            return claimMappingsOfIdPs;
+        }
 
+        try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                IdPManagementConstants.SQLQueries.GET_LOCAL_IDP_DEFAULT_CLAIM_VALUES_BY_IDP_IDS_SQL, idpIds,
+                tenantId);
+             ResultSet rs = prepStmt.executeQuery()) {
             while (rs.next()) {
                 ClaimMapping claimMapping = new ClaimMapping();
 
@@ -1853,24 +1926,24 @@ public class IdPManagementDAO {
                 claimMapping.setLocalClaim(localClaim);
                 claimMapping.setRemoteClaim(remoteClaim);
                 claimMapping.setDefaultValue(rs.getString("DEFAULT_VALUE"));
-
                 if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("IS_REQUESTED"))) {
                     claimMapping.setRequested(true);
-                } else if (rs.getString("IS_REQUESTED").equals(IdPManagementConstants.IS_TRUE_VALUE)) {
-                    claimMapping.setRequested(false);
                 }
-
-                claimMappings.add(claimMapping);
+                claimMappingsOfIdPs.get(rs.getInt("IDP_ID")).add(claimMapping);
             }
+        }
+        return claimMappingsOfIdPs;
+    }
 
-            claimConfig.setClaimMappings(claimMappings.toArray(new ClaimMapping[claimMappings
-                    .size()]));
-
-            return claimConfig;
+    private ClaimConfig buildLocalIdPClaimConfig(String userClaimUri, String roleClaimUri,
+                                                 List<ClaimMapping> claimMappings) {
 
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(null, rs, prepStmt);
-        }
+        ClaimConfig claimConfig = new ClaimConfig();
+        claimConfig.setLocalClaimDialect(true);
+        claimConfig.setRoleClaimURI(roleClaimUri);
+        claimConfig.setUserClaimURI(userClaimUri);
+        claimConfig.setClaimMappings(claimMappings.toArray(new ClaimMapping[0]));
+        return claimConfig;
     }
 
     /**
@@ -1885,72 +1958,98 @@ public class IdPManagementDAO {
                                                  String userClaimUri, String roleClaimUri, int idPId, int tenantId)
             throws SQLException {
 
-        PreparedStatement prepStmt1 = null;
-        PreparedStatement prepStmt2 = null;
-        ResultSet rs1 = null;
-        ResultSet rs2 = null;
-
-        try {
+        List<Integer> idpIds = Collections.singletonList(idPId);
+        return buildIdPClaimConfig(userClaimUri, roleClaimUri, getIdPClaimsOfIdPs(dbConnection, idpIds).get(idPId),
+                getIdPClaimMappingsOfIdPs(dbConnection, idpIds).get(idPId));
+    }
 
-            List<Claim> claimList = new ArrayList<Claim>();
-            // SP_IDP_CLAIM_ID, SP_IDP_CLAIM
-            String sqlStmt = IdPManagementConstants.SQLQueries.GET_IDP_CLAIMS_SQL;
-            prepStmt1 = dbConnection.prepareStatement(sqlStmt);
-            prepStmt1.setInt(1, idPId);
-            rs1 = prepStmt1.executeQuery();
+    /**
+     * Get the claims of the given identity providers with a single query.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @return Identity provider claims keyed by the identity provider ID.
+     * @throws SQLException If an error occurs while retrieving the claims.
+     */
+    private Map<Integer, List<Claim>> getIdPClaimsOfIdPs(Connection dbConnection, List<Integer> idpIds)
+            throws SQLException {
 
-            ClaimConfig claimConfig = new ClaimConfig();
+        Map<Integer, List<Claim>> claimsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            claimsOfIdPs.put(idpId, new ArrayList<>());
+        }
+        if (idpIds.isEmpty()) {
+            return claimsOfIdPs;
+        }
 
-            while (rs1.next()) {
+        try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                IdPManagementConstants.SQLQueries.GET_IDP_CLAIMS_BY_IDP_IDS_SQL, idpIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
                 Claim identityProviderClaim = new Claim();
-                identityProviderClaim.setClaimId(rs1.getInt(1));
-                identityProviderClaim.setClaimUri(rs1.getString(2));
-                claimList.add(identityProviderClaim);
+                identityProviderClaim.setClaimId(rs.getInt("ID"));
+                identityProviderClaim.setClaimUri(rs.getString("CLAIM"));
+                claimsOfIdPs.get(rs.getInt("IDP_ID")).add(identityProviderClaim);
             }
+        }
+        return claimsOfIdPs;
+    }
 
-            // populate claim configuration with identity provider claims.
-            claimConfig.setIdpClaims(claimList.toArray(new Claim[claimList.size()]));
-
-            claimConfig.setUserClaimURI(userClaimUri);
-            claimConfig.setRoleClaimURI(roleClaimUri);
-
-            List<ClaimMapping> claimMappings = new ArrayList<ClaimMapping>();
+    /**
+     * Get the claim mappings of the given identity providers with a single query.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @return Claim mappings keyed by the identity provider ID.
+     * @throws SQLException If an error occurs while retrieving the claim mappings.
+     */
+    private Map<Integer, List<ClaimMapping>> getIdPClaimMappingsOfIdPs(Connection dbConnection, List<Integer> idpIds)
+            throws SQLException {
 
-            // SP_IDP_CLAIMS.SP_IDP_CLAIM SP_IDP_CLAIM_MAPPINGS.SP_LOCAL_CLAIM
-            sqlStmt = IdPManagementConstants.SQLQueries.GET_IDP_CLAIM_MAPPINGS_SQL;
-            prepStmt2 = dbConnection.prepareStatement(sqlStmt);
-            prepStmt2.setInt(1, idPId);
-            rs2 = prepStmt2.executeQuery();
+        Map<Integer, List<ClaimMapping>> claimMappingsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            claimMappingsOfIdPs.put(idpId, new ArrayList<>());
+        }
+        if (idpIds.isEmpty()) {
+            return claimMappingsOfIdPs;
+        }
 
-            while (rs2.next()) {
+        try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                IdPManagementConstants.SQLQueries.GET_IDP_CLAIM_MAPPINGS_BY_IDP_IDS_SQL, idpIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
                 ClaimMapping claimMapping = new ClaimMapping();
 
                 Claim idpClaim = new Claim();
-                idpClaim.setClaimUri(rs2.getString("CLAIM"));
+                idpClaim.setClaimUri(rs.getString("CLAIM"));
 
                 Claim localClaim = new Claim();
-                localClaim.setClaimUri(rs2.getString("LOCAL_CLAIM"));
+                localClaim.setClaimUri(rs.getString("LOCAL_CLAIM"));
 
                 claimMapping.setLocalClaim(localClaim);
                 claimMapping.setRemoteClaim(idpClaim);
-                claimMapping.setDefaultValue(rs2.getString("DEFAULT_VALUE"));
-                if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs2.getString("IS_REQUESTED"))) {
+                claimMapping.setDefaultValue(rs.getString("DEFAULT_VALUE"));
+                if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("IS_REQUESTED"))) {
                     claimMapping.setRequested(true);
-                } else if ((IdPManagementConstants.IS_FALSE_VALUE).equals(rs2.getString("IS_REQUESTED"))) {
+                } else if ((IdPManagementConstants.IS_FALSE_VALUE).equals(rs.getString("IS_REQUESTED"))) {
                     claimMapping.setRequested(false);
                 }
-                claimMappings.add(claimMapping);
-
+                claimMappingsOfIdPs.get(rs.getInt("IDP_ID")).add(claimMapping);
             }
+        }
+        return claimMappingsOfIdPs;
+    }
 
-            claimConfig.setClaimMappings(claimMappings.toArray(new ClaimMapping[claimMappings
-                    .size()]));
+    private ClaimConfig buildIdPClaimConfig(String userClaimUri, String roleClaimUri, List<Claim> idpClaims,
+                                            List<ClaimMapping> claimMappings) {
 
-            return claimConfig;
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(null, rs2, prepStmt2);
-            IdentityDatabaseUtil.closeAllConnections(null, rs1, prepStmt1);
-        }
+        ClaimConfig claimConfig = new ClaimConfig();
+        // populate claim configuration with identity provider claims.
+        claimConfig.setIdpClaims(idpClaims.toArray(new Claim[0]));
+        claimConfig.setUserClaimURI(userClaimUri);
+        claimConfig.setRoleClaimURI(roleClaimUri);
+        claimConfig.setClaimMappings(claimMappings.toArray(new ClaimMapping[0]));
+        return claimConfig;
     }
 
     /**
@@ -1965,49 +2064,54 @@ public class IdPManagementDAO {
                                                                        String idPName, int idPId, int tenantId)
             throws SQLException {
 
-        PreparedStatement prepStmt1 = null;
-        PreparedStatement prepStmt2 = null;
-        ResultSet rs1 = null;
-        ResultSet rs2 = null;
-        PermissionsAndRoleConfig permissionRoleConfiguration = new PermissionsAndRoleConfig();
+        return getPermissionsAndRoleConfigurationsOfIdPs(dbConnection, Collections.singletonList(idPId)).get(idPId);
+    }
 
-        try {
+    /**
+     * Get the role configurations of the given identity providers. The roles and the role mappings are retrieved
+     * with one query each.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @return Role configurations keyed by the identity provider ID.
+     * @throws SQLException If an error occurs while retrieving the role configurations.
+     */
+    private Map<Integer, PermissionsAndRoleConfig> getPermissionsAndRoleConfigurationsOfIdPs(Connection dbConnection,
+                                                                                            List<Integer> idpIds)
+            throws SQLException {
 
-            List<String> idpRoleList = new ArrayList<String>();
-            // SP_IDP_ROLE
-            String sqlStmt = IdPManagementConstants.SQLQueries.GET_IDP_ROLES_SQL;
-            prepStmt1 = dbConnection.prepareStatement(sqlStmt);
-            prepStmt1.setInt(1, idPId);
-            rs1 = prepStmt1.executeQuery();
-            while (rs1.next()) {
-                idpRoleList.add(rs1.getString("ROLE"));
+        Map<Integer, List<String>> idpRolesOfIdPs = new HashMap<>();
+        Map<Integer, List<RoleMapping>> roleMappingsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            idpRolesOfIdPs.put(idpId, new ArrayList<>());
+            roleMappingsOfIdPs.put(idpId, new ArrayList<>());
+        }
+        if (!idpIds.isEmpty()) {
+            try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                    IdPManagementConstants.SQLQueries.GET_IDP_ROLES_BY_IDP_IDS_SQL, idpIds);
+                 ResultSet rs = prepStmt.executeQuery()) {
+                while (rs.next()) {
+                    idpRolesOfIdPs.get(rs.getInt("IDP_ID")).add(rs.getString("ROLE"));
+                }
             }
+            try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                    IdPManagementConstants.SQLQueries.GET_IDP_ROLE_MAPPINGS_BY_IDP_IDS_SQL, idpIds);
+                 ResultSet rs = prepStmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalRole localRole = new LocalRole(rs.getString("USER_STORE_ID"), rs.getString("LOCAL_ROLE"));
+                    roleMappingsOfIdPs.get(rs.getInt("IDP_ID")).add(new RoleMapping(localRole, rs.getString("ROLE")));
+                }
+            }
+        }
 
-            permissionRoleConfiguration.setIdpRoles(idpRoleList.toArray(new String[idpRoleList
-                    .size()]));
-
-            List<RoleMapping> roleMappings = new ArrayList<RoleMapping>();
-            // SP_IDP_ROLE_MAPPINGS.SP_USER_STORE_ID, SP_IDP_ROLE_MAPPINGS.SP_LOCAL_ROLE,
-            // SP_IDP_ROLES.SP_IDP_ROLE
-
-            sqlStmt = IdPManagementConstants.SQLQueries.GET_IDP_ROLE_MAPPINGS_SQL;
-            prepStmt2 = dbConnection.prepareStatement(sqlStmt);
-            prepStmt2.setInt(1, idPId);
-            rs2 = prepStmt2.executeQuery();
-            while (rs2.next()) {
-                LocalRole localRole = new LocalRole(rs2.getString("USER_STORE_ID"),
-                        rs2.getString("LOCAL_ROLE"));
-                RoleMapping roleMapping = new RoleMapping(localRole, rs2.getString("ROLE"));
-                roleMappings.add(roleMapping);
-            }
-
-            permissionRoleConfiguration.setRoleMappings(roleMappings
-                    .toArray(new RoleMapping[roleMappings.size()]));
-            return permissionRoleConfiguration;
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(null, rs2, prepStmt2);
-            IdentityDatabaseUtil.closeAllConnections(null, rs1, prepStmt1);
+        Map<Integer, PermissionsAndRoleConfig> roleConfigsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            PermissionsAndRoleConfig permissionRoleConfiguration = new PermissionsAndRoleConfig();
+            permissionRoleConfiguration.setIdpRoles(idpRolesOfIdPs.get(idpId).toArray(new String[0]));
+            permissionRoleConfiguration.setRoleMappings(roleMappingsOfIdPs.get(idpId).toArray(new RoleMapping[0]));
+            roleConfigsOfIdPs.put(idpId, permissionRoleConfiguration);
         }
+        return roleConfigsOfIdPs;
     }
 
     /**
@@ -2021,25 +2125,42 @@ public class IdPManagementDAO {
     public IdPGroup[] getIdPGroupConfiguration(Connection dbConnection, int idPId)
             throws SQLException {
 
-        IdPGroup[] idPGroupConfiguration;
-
-        try (PreparedStatement getIdPGroupsConfigPrepStmt = dbConnection.prepareStatement(
-                IdPManagementConstants.SQLQueries.GET_IDP_GROUPS_SQL)) {
+        return getIdPGroupConfigurationsOfIdPs(dbConnection, Collections.singletonList(idPId)).get(idPId);
+    }
 
-            List<IdPGroup> idpGroupList = new ArrayList<>();
-            getIdPGroupsConfigPrepStmt.setInt(1, idPId);
+    /**
+     * Get the group configurations of the given identity providers with a single query.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @return Identity provider groups keyed by the identity provider ID.
+     * @throws SQLException Error when executing getting idp groups from database.
+     */
+    private Map<Integer, IdPGroup[]> getIdPGroupConfigurationsOfIdPs(Connection dbConnection, List<Integer> idpIds)
+            throws SQLException {
 
-            try (ResultSet getIdPGroupsConfigResultSet = getIdPGroupsConfigPrepStmt.executeQuery()) {
-                while (getIdPGroupsConfigResultSet.next()) {
+        Map<Integer, List<IdPGroup>> idpGroupsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            idpGroupsOfIdPs.put(idpId, new ArrayList<>());
+        }
+        if (!idpIds.isEmpty()) {
+            try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                    IdPManagementConstants.SQLQueries.GET_IDP_GROUPS_BY_IDP_IDS_SQL, idpIds);
+                 ResultSet rs = prepStmt.executeQuery()) {
+                while (rs.next()) {
                     IdPGroup idPGroup = new IdPGroup();
-                    idPGroup.setIdpGroupName(getIdPGroupsConfigResultSet.getString(2));
-                    idPGroup.setIdpGroupId(getIdPGroupsConfigResultSet.getString(3));
-                    idpGroupList.add(idPGroup);
+                    idPGroup.setIdpGroupName(rs.getString("GROUP_NAME"));
+                    idPGroup.setIdpGroupId(rs.getString("UUID"));
+                    idpGroupsOfIdPs.get(rs.getInt("IDP_ID")).add(idPGroup);
                 }
             }
-            idPGroupConfiguration = idpGroupList.toArray(new IdPGroup[0]);
         }
-        return idPGroupConfiguration;
+
+        Map<Integer, IdPGroup[]> idpGroupConfigsOfIdPs = new HashMap<>();
+        for (Map.Entry<Integer, List<IdPGroup>> entry : idpGroupsOfIdPs.entrySet()) {
+            idpGroupConfigsOfIdPs.put(entry.getKey(), entry.getValue().toArray(new IdPGroup[0]));
+        }
+        return idpGroupConfigsOfIdPs;
     }
 
     /**
@@ -2321,103 +2442,98 @@ public class IdPManagementDAO {
                                                                          String idPName, int idPId, int tenantId)
             throws IdentityProviderManagementException, SQLException {
 
-        PreparedStatement prepStmt = null;
-        PreparedStatement prepBaseStmt = null;
-
-        ResultSet rs1 = null;
-        ResultSet rs2 = null;
-
-        try {
-            // SP_IDP_PROV_CONNECTOR_TYPE,SP_IDP_PROV_CONFIG_KEY,
-            // SP_IDP_PROV_CONFIG_VALUE,SP_IDP_PROV_CONFIG_IS_SECRET
-            String sqlBaseStmt = IdPManagementConstants.SQLQueries.GET_IDP_PROVISIONING_CONFIGS_SQL;
-            prepBaseStmt = dbConnection.prepareStatement(sqlBaseStmt);
-
-            prepBaseStmt.setInt(1, idPId);
-            rs1 = prepBaseStmt.executeQuery();
-
-            Map<String, ProvisioningConnectorConfig> provisioningConnectorMap = new HashMap<String,
-                    ProvisioningConnectorConfig>();
-
-            while (rs1.next()) {
+        return getProvisioningConnectorConfigsOfIdPs(dbConnection, Collections.singletonList(idPId), tenantId)
+                .get(idPId);
+    }
 
-                ProvisioningConnectorConfig provisioningConnector;
+    /**
+     * Get the provisioning connectors of the given identity providers. The connectors and their properties are
+     * retrieved with one query each.
+     *
+     * @param dbConnection Database connection.
+     * @param idpIds       IDs of the identity providers.
+     * @param tenantId     Tenant ID of the identity providers.
+     * @return Provisioning connectors keyed by the identity provider ID.
+     * @throws IdentityProviderManagementException If an error occurs while reading a blob property value.
+     * @throws SQLException                        If an error occurs while retrieving the connectors.
+     */
+    private Map<Integer, ProvisioningConnectorConfig[]> getProvisioningConnectorConfigsOfIdPs(
+            Connection dbConnection, List<Integer> idpIds, int tenantId)
+            throws IdentityProviderManagementException, SQLException {
 
-                String type = rs1.getString("PROVISIONING_CONNECTOR_TYPE");
-                if (!provisioningConnectorMap.containsKey(type)) {
-                    provisioningConnector = new ProvisioningConnectorConfig();
+        Map<Integer, Map<String, ProvisioningConnectorConfig>> connectorsOfIdPs = new HashMap<>();
+        for (Integer idpId : idpIds) {
+            connectorsOfIdPs.put(idpId, new LinkedHashMap<>());
+        }
+        // Only the first connector config of each type is used, same as when reading the connectors one by one.
+        Map<Integer, ProvisioningConnectorConfig> connectorsById = new HashMap<>();
+        Map<Integer, List<Property>> propertiesOfConnectors = new HashMap<>();
+        if (!idpIds.isEmpty()) {
+            try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                    IdPManagementConstants.SQLQueries.GET_IDP_PROVISIONING_CONFIGS_BY_IDP_IDS_SQL, idpIds);
+                 ResultSet rs = prepStmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, ProvisioningConnectorConfig> provisioningConnectorMap =
+                            connectorsOfIdPs.get(rs.getInt("IDP_ID"));
+                    String type = rs.getString("PROVISIONING_CONNECTOR_TYPE");
+                    if (provisioningConnectorMap.containsKey(type)) {
+                        continue;
+                    }
+                    ProvisioningConnectorConfig provisioningConnector = new ProvisioningConnectorConfig();
                     provisioningConnector.setName(type);
+                    provisioningConnector.setEnabled(
+                            IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_ENABLED")));
+                    provisioningConnector.setBlocking(
+                            IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_BLOCKING")));
+                    provisioningConnectorMap.put(type, provisioningConnector);
+                    connectorsById.put(rs.getInt("ID"), provisioningConnector);
+                    propertiesOfConnectors.put(rs.getInt("ID"), new ArrayList<>());
+                }
+            }
+        }
 
-                    if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs1.getString("IS_ENABLED"))) {
-                        provisioningConnector.setEnabled(true);
-                    } else {
-                        provisioningConnector.setEnabled(false);
+        if (!propertiesOfConnectors.isEmpty()) {
+            try (PreparedStatement prepStmt = prepareIdPIdListStatement(dbConnection,
+                    IdPManagementConstants.SQLQueries.GET_IDP_PROVISIONING_PROPERTIES_BY_IDP_IDS_SQL, idpIds,
+                    tenantId);
+                 ResultSet rs = prepStmt.executeQuery()) {
+                while (rs.next()) {
+                    List<Property> provisioningProperties =
+                            propertiesOfConnectors.get(rs.getInt("PROVISIONING_CONFIG_ID"));
+                    if (provisioningProperties == null) {
+                        continue;
                     }
-
-                    if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs1.getString("IS_BLOCKING"))) {
-                        provisioningConnector.setBlocking(true);
-                    } else {
-                        provisioningConnector.setBlocking(false);
+                    Property property = new Property();
+                    String value = rs.getString("PROPERTY_VALUE");
+                    String blobValue = getBlobValue(rs.getBinaryStream("PROPERTY_BLOB_VALUE"));
+                    String propertyType = rs.getString("PROPERTY_TYPE");
+                    if (propertyType != null) {
+                        propertyType = propertyType.trim();
                     }
 
-                    if (provisioningConnector.getProvisioningProperties() == null
-                            || provisioningConnector.getProvisioningProperties().length == 0) {
-
-                        String sqlStmt = IdPManagementConstants.SQLQueries.GET_IDP_PROVISIONING_PROPERTY_SQL;
-                        prepStmt = dbConnection.prepareStatement(sqlStmt);
-
-                        int configId = rs1.getInt("ID");
-                        prepStmt.setInt(1, tenantId);
-                        prepStmt.setInt(2, configId);
-
-                        rs2 = prepStmt.executeQuery();
-
-                        List<Property> provisioningProperties = new ArrayList<Property>();
-                        while (rs2.next()) {
-                            Property property = new Property();
-                            String name = rs2.getString("PROPERTY_KEY");
-                            String value = rs2.getString("PROPERTY_VALUE");
-                            String blobValue = getBlobValue(rs2.getBinaryStream("PROPERTY_BLOB_VALUE"));
-
-                            String propertyType = rs2.getString("PROPERTY_TYPE");
-                            if (propertyType != null) {
-                                propertyType = propertyType.trim();
-                            }
-                            String isSecret = rs2.getString("IS_SECRET");
-
-                            property.setName(name);
-                            if (IdentityApplicationConstants.ConfigElements.PROPERTY_TYPE_BLOB.equals(propertyType)) {
-                                property.setValue(blobValue);
-                            } else {
-                                property.setValue(value);
-                            }
-
-                            property.setType(propertyType);
-
-                            if ((IdPManagementConstants.IS_TRUE_VALUE).equals(isSecret)) {
-                                property.setConfidential(true);
-                            } else {
-                                property.setConfidential(false);
-                            }
-
-                            provisioningProperties.add(property);
-                        }
-                        provisioningConnector.setProvisioningProperties(provisioningProperties
-                                .toArray(new Property[provisioningProperties.size()]));
+                    property.setName(rs.getString("PROPERTY_KEY"));
+                    if (IdentityApplicationConstants.ConfigElements.PROPERTY_TYPE_BLOB.equals(propertyType)) {
+                        property.setValue(blobValue);
+                    } else {
+                        property.setValue(value);
                     }
-
-                    provisioningConnectorMap.put(type, provisioningConnector);
+                    property.setType(propertyType);
+                    property.setConfidential(IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_SECRET")));
+                    provisioningProperties.add(property);
                 }
             }
+        }
 
-            return provisioningConnectorMap.values().toArray(
-                    new ProvisioningConnectorConfig[provisioningConnectorMap.size()]);
-
-        } finally {
-
-            IdentityDatabaseUtil.closeAllConnections(null, rs2, prepBaseStmt);
-            IdentityDatabaseUtil.closeAllConnections(null, rs1, prepStmt);
+        for (Map.Entry<Integer, ProvisioningConnectorConfig> entry : connectorsById.entrySet()) {
+            entry.getValue().setProvisioningProperties(
+                    propertiesOfConnectors.get(entry.getKey()).toArray(new Property[0]));
+        }
+        Map<Integer, ProvisioningConnectorConfig[]> provisioningConnectorsOfIdPs = new HashMap<>();
+        for (Map.Entry<Integer, Map<String, ProvisioningConnectorConfig>> entry : connectorsOfIdPs.entrySet()) {
+            provisioningConnectorsOfIdPs.put(entry.getKey(),
+                    entry.getValue().values().toArray(new ProvisioningConnectorConfig[0]));
         }
+        return provisioningConnectorsOfIdPs;
     }
 
     private String getBlobValue(InputStream is) throws IdentityProviderManagementException {
@@ -3369,145 +3485,300 @@ public class IdPManagementDAO {
             rs = prepStmt.executeQuery();
 
             if (rs.next()) {
-                federatedIdp = new IdentityProvider();
-                idpId = rs.getInt("ID");
-                federatedIdp.setId(Integer.toString(idpId));
-                idPName = rs.getString("NAME");
-                federatedIdp.setIdentityProviderName(idPName);
-                resourceId = rs.getString("UUID");
-                federatedIdp.setResourceId(resourceId);
-                federatedIdp.setImageUrl(rs.getString("IMAGE_URL"));
+                IdPRecord idpRecord = buildIdPRecord(rs);
+                idPName = idpRecord.identityProvider.getIdentityProviderName();
+                federatedIdp = hydrateIdentityProviders(dbConnection, Collections.singletonList(idpRecord),
+                        tenantId, tenantDomain).get(0);
+            }
+            return federatedIdp;
+        } catch (SQLException e) {
+            throw new IdentityProviderManagementException("Error occurred while retrieving Identity Provider " +
+                    "information for tenant : " + tenantDomain + " and Identity Provider name : " + idPName, e);
+        } catch (ConnectorException e) {
+            throw new IdentityProviderManagementException("Error occurred while retrieving the identity connector " +
+                    "configurations.", e);
+        } catch (SecretManagementException e) {
+            throw new IdentityProviderManagementException("Error while retrieving secrets of Identity provider : " +
+                    idPName + " in tenant : " + tenantDomain, e);
+        } catch (OrganizationManagementException e) {
+            throw new IdentityProviderManagementException("Error while checking if the tenant: " + tenantDomain +
+                    " is an organization.", e);
+        } finally {
+            if (dbConnectionInitialized) {
+                IdentityDatabaseUtil.closeAllConnections(dbConnection, rs, prepStmt);
+            } else {
+                IdentityDatabaseUtil.closeAllConnections(null, rs, prepStmt);
+            }
+        }
+    }
 
-                if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("IS_PRIMARY"))) {
-                    federatedIdp.setPrimary(true);
-                } else {
-                    federatedIdp.setPrimary(false);
-                }
+    /**
+     * Retrieves all the identity providers of the tenant along with their federated authenticators, claim, role,
+     * group and provisioning configurations and properties. The resident identity provider is not included.
+     * Sub entities are loaded with a fixed number of queries per batch of identity providers, rather than per
+     * identity provider, so this is suitable for warming up the identity provider caches.
+     *
+     * @param dbConnection Database connection.
+     * @param tenantId     Tenant ID of the identity providers.
+     * @param tenantDomain Tenant domain of the identity providers.
+     * @return Fully populated identity providers of the tenant.
+     * @throws IdentityProviderManagementException If an error occurs while retrieving the identity providers.
+     */
+    public List<IdentityProvider> getIdPsWithDetails(Connection dbConnection, int tenantId, String tenantDomain)
+            throws IdentityProviderManagementException {
 
-                federatedIdp.setHomeRealmId(rs.getString("HOME_REALM_ID"));
-                federatedIdp.setCertificate(getBlobValue(rs.getBinaryStream("CERTIFICATE")));
-                federatedIdp.setAlias(rs.getString("ALIAS"));
+        boolean dbConnectionInitialized = true;
+        if (dbConnection == null) {
+            dbConnection = IdentityDatabaseUtil.getDBConnection(false);
+        } else {
+            dbConnectionInitialized = false;
+        }
 
-                JustInTimeProvisioningConfig jitProConfig = new JustInTimeProvisioningConfig();
-                if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("INBOUND_PROV_ENABLED"))) {
-                    jitProConfig.setProvisioningEnabled(true);
-                } else {
-                    jitProConfig.setProvisioningEnabled(false);
+        try {
+            List<IdPRecord> idpRecords = new ArrayList<>();
+            try (PreparedStatement prepStmt = dbConnection.prepareStatement(
+                    IdPManagementConstants.SQLQueries.GET_IDPS_WITH_DETAILS_SQL)) {
+                prepStmt.setInt(1, tenantId);
+                prepStmt.setInt(2, MultitenantConstants.SUPER_TENANT_ID);
+                try (ResultSet rs = prepStmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (!IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME.equals(rs.getString("NAME"))) {
+                            idpRecords.add(buildIdPRecord(rs));
+                        }
+                    }
                 }
+            }
 
-                jitProConfig.setProvisioningUserStore(rs.getString("INBOUND_PROV_USER_STORE_ID"));
-                federatedIdp.setJustInTimeProvisioningConfig(jitProConfig);
+            List<IdentityProvider> identityProviders = new ArrayList<>(idpRecords.size());
+            for (int i = 0; i < idpRecords.size(); i += MAX_IDPS_PER_HYDRATION_BATCH) {
+                identityProviders.addAll(hydrateIdentityProviders(dbConnection, idpRecords.subList(i,
+                        Math.min(i + MAX_IDPS_PER_HYDRATION_BATCH, idpRecords.size())), tenantId, tenantDomain));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Retrieved " + identityProviders.size() + " identity providers with details for tenant: " +
+                        tenantDomain);
+            }
+            return identityProviders;
+        } catch (SQLException e) {
+            throw new IdentityProviderManagementException("Error occurred while retrieving Identity Providers " +
+                    "with details for tenant : " + tenantDomain, e);
+        } catch (ConnectorException e) {
+            throw new IdentityProviderManagementException("Error occurred while retrieving the identity connector " +
+                    "configurations.", e);
+        } catch (SecretManagementException e) {
+            throw new IdentityProviderManagementException("Error while retrieving secrets of Identity providers " +
+                    "in tenant : " + tenantDomain, e);
+        } catch (OrganizationManagementException e) {
+            throw new IdentityProviderManagementException("Error while checking if the tenant: " + tenantDomain +
+                    " is an organization.", e);
+        } finally {
+            if (dbConnectionInitialized) {
+                IdentityDatabaseUtil.closeConnection(dbConnection);
+            }
+        }
+    }
 
-                String userClaimUri = rs.getString("USER_CLAIM_URI");
-                String roleClaimUri = rs.getString("ROLE_CLAIM_URI");
+    /**
+     * Build an identity provider with the attributes stored in the IDP table from the current row of the result set.
+     *
+     * @param rs Result set positioned at an identity provider row.
+     * @return Identity provider record.
+     * @throws SQLException                        If an error occurs while reading the row.
+     * @throws IdentityProviderManagementException If an error occurs while reading the certificate.
+     */
+    private IdPRecord buildIdPRecord(ResultSet rs) throws SQLException, IdentityProviderManagementException {
 
-                String defaultAuthenticatorName = rs.getString("DEFAULT_AUTHENTICATOR_NAME");
-                String defaultProvisioningConnectorConfigName = rs.getString("DEFAULT_PRO_CONNECTOR_NAME");
-                federatedIdp.setIdentityProviderDescription(rs.getString("DESCRIPTION"));
+        IdentityProvider federatedIdp = new IdentityProvider();
+        int idpId = rs.getInt("ID");
+        federatedIdp.setId(Integer.toString(idpId));
+        federatedIdp.setIdentityProviderName(rs.getString("NAME"));
+        federatedIdp.setResourceId(rs.getString("UUID"));
+        federatedIdp.setImageUrl(rs.getString("IMAGE_URL"));
 
-                // IS_FEDERATION_HUB_IDP
-                if (IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_FEDERATION_HUB"))) {
-                    federatedIdp.setFederationHub(true);
-                } else {
-                    federatedIdp.setFederationHub(false);
-                }
+        if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("IS_PRIMARY"))) {
+            federatedIdp.setPrimary(true);
+        } else {
+            federatedIdp.setPrimary(false);
+        }
 
-                if (federatedIdp.getClaimConfig() == null) {
-                    federatedIdp.setClaimConfig(new ClaimConfig());
-                }
+        federatedIdp.setHomeRealmId(rs.getString("HOME_REALM_ID"));
+        federatedIdp.setCertificate(getBlobValue(rs.getBinaryStream("CERTIFICATE")));
+        federatedIdp.setAlias(rs.getString("ALIAS"));
 
-                // IS_LOCAL_CLAIM_DIALECT
-                if (IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_LOCAL_CLAIM_DIALECT"))) {
-                    federatedIdp.getClaimConfig().setLocalClaimDialect(true);
-                } else {
-                    federatedIdp.getClaimConfig().setLocalClaimDialect(false);
-                }
+        JustInTimeProvisioningConfig jitProConfig = new JustInTimeProvisioningConfig();
+        if ((IdPManagementConstants.IS_TRUE_VALUE).equals(rs.getString("INBOUND_PROV_ENABLED"))) {
+            jitProConfig.setProvisioningEnabled(true);
+        } else {
+            jitProConfig.setProvisioningEnabled(false);
+        }
 
-                federatedIdp.setProvisioningRole(rs.getString("PROVISIONING_ROLE"));
+        jitProConfig.setProvisioningUserStore(rs.getString("INBOUND_PROV_USER_STORE_ID"));
+        federatedIdp.setJustInTimeProvisioningConfig(jitProConfig);
 
-                if (IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_ENABLED"))) {
-                    federatedIdp.setEnable(true);
-                } else {
-                    federatedIdp.setEnable(false);
-                }
+        String userClaimUri = rs.getString("USER_CLAIM_URI");
+        String roleClaimUri = rs.getString("ROLE_CLAIM_URI");
 
-                federatedIdp.setDisplayName(rs.getString("DISPLAY_NAME"));
+        String defaultAuthenticatorName = rs.getString("DEFAULT_AUTHENTICATOR_NAME");
+        String defaultProvisioningConnectorConfigName = rs.getString("DEFAULT_PRO_CONNECTOR_NAME");
+        federatedIdp.setIdentityProviderDescription(rs.getString("DESCRIPTION"));
 
-                if (defaultProvisioningConnectorConfigName != null) {
-                    ProvisioningConnectorConfig defaultProConnector = new ProvisioningConnectorConfig();
-                    defaultProConnector.setName(defaultProvisioningConnectorConfigName);
-                    federatedIdp.setDefaultProvisioningConnectorConfig(defaultProConnector);
-                }
+        // IS_FEDERATION_HUB_IDP
+        if (IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_FEDERATION_HUB"))) {
+            federatedIdp.setFederationHub(true);
+        } else {
+            federatedIdp.setFederationHub(false);
+        }
 
-                // get federated authenticators.
-                federatedIdp.setFederatedAuthenticatorConfigs(getFederatedAuthenticatorConfigs(
-                        dbConnection, idPName, federatedIdp, tenantId));
+        if (federatedIdp.getClaimConfig() == null) {
+            federatedIdp.setClaimConfig(new ClaimConfig());
+        }
 
-                // Retrieve encrypted secrets from DB, decrypt and set to the system federated authenticator configs.
-                federatedIdp = decryptSystemDefinedFederatedAuthenticatorSecrets(tenantDomain, federatedIdp);
+        // IS_LOCAL_CLAIM_DIALECT
+        if (IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_LOCAL_CLAIM_DIALECT"))) {
+            federatedIdp.getClaimConfig().setLocalClaimDialect(true);
+        } else {
+            federatedIdp.getClaimConfig().setLocalClaimDialect(false);
+        }
 
-                if (defaultAuthenticatorName != null && federatedIdp.getFederatedAuthenticatorConfigs() != null) {
-                    federatedIdp.setDefaultAuthenticatorConfig(IdentityApplicationManagementUtil
-                            .getFederatedAuthenticator(federatedIdp.getFederatedAuthenticatorConfigs(),
-                                    defaultAuthenticatorName));
-                }
+        federatedIdp.setProvisioningRole(rs.getString("PROVISIONING_ROLE"));
 
-                if (federatedIdp.getClaimConfig().isLocalClaimDialect()) {
-                    federatedIdp.setClaimConfig(getLocalIdPDefaultClaimValues(dbConnection,
-                            idPName, userClaimUri, roleClaimUri, idpId, tenantId));
-                } else {
-                    // get claim configuration.
-                    federatedIdp.setClaimConfig(getIdPClaimConfiguration(dbConnection, idPName,
-                            userClaimUri, roleClaimUri, idpId, tenantId));
-                }
+        if (IdPManagementConstants.IS_TRUE_VALUE.equals(rs.getString("IS_ENABLED"))) {
+            federatedIdp.setEnable(true);
+        } else {
+            federatedIdp.setEnable(false);
+        }
 
-                // get provisioning connectors.
-                federatedIdp.setProvisioningConnectorConfigs(getProvisioningConnectorConfigs(
-                        dbConnection, idPName, idpId, tenantId));
+        federatedIdp.setDisplayName(rs.getString("DISPLAY_NAME"));
 
-                // Decrypt provisioning connector secrets.
-                federatedIdp = decryptProvisioningConnectorConfigSecrets(tenantDomain, federatedIdp);
+        if (defaultProvisioningConnectorConfigName != null) {
+            ProvisioningConnectorConfig defaultProConnector = new ProvisioningConnectorConfig();
+            defaultProConnector.setName(defaultProvisioningConnectorConfigName);
+            federatedIdp.setDefaultProvisioningConnectorConfig(defaultProConnector);
+        }
+        return new IdPRecord(federatedIdp, idpId, userClaimUri, roleClaimUri, defaultAuthenticatorName);
+    }
 
-                // get permission and role configuration.
-                federatedIdp.setPermissionAndRoleConfig(getPermissionsAndRoleConfiguration(
-                        dbConnection, idPName, idpId, tenantId));
+    /**
+     * Populate the sub entities of the given identity providers. Each kind of sub entity is retrieved for all the
+     * identity providers at once, so the number of queries does not depend on the number of identity providers or
+     * on the number of authenticators and connectors they have.
+     *
+     * @param dbConnection Database connection.
+     * @param idpRecords   Identity providers built from the IDP table.
+     * @param tenantId     Tenant ID of the identity providers.
+     * @param tenantDomain Tenant domain of the identity providers.
+     * @return Populated identity providers in the order of the given records.
+     */
+    private List<IdentityProvider> hydrateIdentityProviders(Connection dbConnection, List<IdPRecord> idpRecords,
+                                                            int tenantId, String tenantDomain)
+            throws SQLException, IdentityProviderManagementException, ConnectorException, SecretManagementException,
+            OrganizationManagementException {
+
+        List<Integer> idpIds = new ArrayList<>();
+        List<Integer> localClaimDialectIdpIds = new ArrayList<>();
+        List<Integer> idpClaimDialectIdpIds = new ArrayList<>();
+        for (IdPRecord idpRecord : idpRecords) {
+            idpIds.add(idpRecord.idpId);
+            if (idpRecord.identityProvider.getClaimConfig().isLocalClaimDialect()) {
+                localClaimDialectIdpIds.add(idpRecord.idpId);
+            } else {
+                idpClaimDialectIdpIds.add(idpRecord.idpId);
+            }
+        }
+
+        Map<Integer, List<FederatedAuthenticatorConfig>> authnConfigsOfIdPs =
+                getFederatedAuthenticatorConfigsOfIdPs(dbConnection, idpIds);
+        Map<Integer, List<ClaimMapping>> localClaimValuesOfIdPs =
+                getLocalIdPDefaultClaimValuesOfIdPs(dbConnection, localClaimDialectIdpIds, tenantId);
+        Map<Integer, List<Claim>> claimsOfIdPs = getIdPClaimsOfIdPs(dbConnection, idpClaimDialectIdpIds);
+        Map<Integer, List<ClaimMapping>> claimMappingsOfIdPs =
+                getIdPClaimMappingsOfIdPs(dbConnection, idpClaimDialectIdpIds);
+        Map<Integer, ProvisioningConnectorConfig[]> provisioningConnectorsOfIdPs =
+                getProvisioningConnectorConfigsOfIdPs(dbConnection, idpIds, tenantId);
+        Map<Integer, PermissionsAndRoleConfig> roleConfigsOfIdPs =
+                getPermissionsAndRoleConfigurationsOfIdPs(dbConnection, idpIds);
+        Map<Integer, IdPGroup[]> idpGroupsOfIdPs = getIdPGroupConfigurationsOfIdPs(dbConnection, idpIds);
+        Map<Integer, List<IdentityProviderProperty>> propertiesOfIdPs =
+                getIdentityPropertiesOfIdPs(dbConnection, idpIds, tenantId);
+
+        List<IdentityProvider> identityProviders = new ArrayList<>(idpRecords.size());
+        for (IdPRecord idpRecord : idpRecords) {
+            IdentityProvider federatedIdp = idpRecord.identityProvider;
+            int idpId = idpRecord.idpId;
+
+            // get federated authenticators.
+            federatedIdp.setFederatedAuthenticatorConfigs(resolveFederatedAuthenticatorConfigs(dbConnection,
+                    federatedIdp, authnConfigsOfIdPs.get(idpId), tenantId));
+
+            // Retrieve encrypted secrets from DB, decrypt and set to the system federated authenticator configs.
+            federatedIdp = decryptSystemDefinedFederatedAuthenticatorSecrets(tenantDomain, federatedIdp);
+
+            if (idpRecord.defaultAuthenticatorName != null &&
+                    federatedIdp.getFederatedAuthenticatorConfigs() != null) {
+                federatedIdp.setDefaultAuthenticatorConfig(IdentityApplicationManagementUtil
+                        .getFederatedAuthenticator(federatedIdp.getFederatedAuthenticatorConfigs(),
+                                idpRecord.defaultAuthenticatorName));
+            }
+
+            if (federatedIdp.getClaimConfig().isLocalClaimDialect()) {
+                federatedIdp.setClaimConfig(buildLocalIdPClaimConfig(idpRecord.userClaimUri,
+                        idpRecord.roleClaimUri, localClaimValuesOfIdPs.get(idpId)));
+            } else {
+                // get claim configuration.
+                federatedIdp.setClaimConfig(buildIdPClaimConfig(idpRecord.userClaimUri, idpRecord.roleClaimUri,
+                        claimsOfIdPs.get(idpId), claimMappingsOfIdPs.get(idpId)));
+            }
 
-                // Get federated idp groups.
-                federatedIdp.setIdPGroupConfig(getIdPGroupConfiguration(dbConnection, idpId));
+            // get provisioning connectors.
+            federatedIdp.setProvisioningConnectorConfigs(provisioningConnectorsOfIdPs.get(idpId));
 
-                List<IdentityProviderProperty> propertyList = filterIdentityProperties(federatedIdp,
-                        getIdentityPropertiesByIdpId(dbConnection, idpId, tenantId));
-                if (IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME.equals(idPName)) {
-                    // Resolve resident IdP properties from the organization hierarchy if inheritance is enabled.
-                    if (isIdpPropertyInheritanceEnabled(tenantDomain)) {
-                        propertyList = resolveResidentIdpProperties(tenantDomain, federatedIdp, dbConnection);
-                    }
-                    // Populate non-existing properties with default values.
-                    propertyList = resolveConnectorProperties(propertyList, tenantDomain);
-                }
+            // Decrypt provisioning connector secrets.
+            federatedIdp = decryptProvisioningConnectorConfigSecrets(tenantDomain, federatedIdp);
 
-                federatedIdp.setIdpProperties(propertyList.toArray(new IdentityProviderProperty[0]));
+            // get permission and role configuration.
+            federatedIdp.setPermissionAndRoleConfig(roleConfigsOfIdPs.get(idpId));
 
+            // Get federated idp groups.
+            federatedIdp.setIdPGroupConfig(idpGroupsOfIdPs.get(idpId));
+
+            List<IdentityProviderProperty> propertyList = filterIdentityProperties(federatedIdp,
+                    propertiesOfIdPs.get(idpId));
+            if (IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME.equals(
+                    federatedIdp.getIdentityProviderName())) {
+                // Resolve resident IdP properties from the organization hierarchy if inheritance is enabled.
+                if (isIdpPropertyInheritanceEnabled(tenantDomain)) {
+                    propertyList = resolveResidentIdpProperties(tenantDomain, federatedIdp, dbConnection);
+                }
+                // Populate non-existing properties with default values.
+                propertyList = resolveConnectorProperties(propertyList, tenantDomain);
             }
-            return federatedIdp;
-        } catch (SQLException e) {
-            throw new IdentityProviderManagementException("Error occurred while retrieving Identity Provider " +
-                    "information for tenant : " + tenantDomain + " and Identity Provider name : " + idPName, e);
-        } catch (ConnectorException e) {
-            throw new IdentityProviderManagementException("Error occurred while retrieving the identity connector " +
-                    "configurations.", e);
-        } catch (SecretManagementException e) {
-            throw new IdentityProviderManagementException("Error while retrieving secrets of Identity provider : " +
-                    idPName + " in tenant : " + tenantDomain, e);
-        } catch (OrganizationManagementException e) {
-            throw new IdentityProviderManagementException("Error while checking if the tenant: " + tenantDomain +
-                    " is an organization.", e);
-        } finally {
-            if (dbConnectionInitialized) {
-                IdentityDatabaseUtil.closeAllConnections(dbConnection, rs, prepStmt);
-            } else {
-                IdentityDatabaseUtil.closeAllConnections(null, rs, prepStmt);
-            }
+
+            federatedIdp.setIdpProperties(propertyList.toArray(new IdentityProviderProperty[0]));
+            identityProviders.add(federatedIdp);
+        }
+        return identityProviders;
+    }
+
+    /**
+     * Identity provider built from a row of the IDP table, along with the row attributes which are needed to
+     * populate its sub entities.
+     */
+    private static final class IdPRecord {
+
+        private final IdentityProvider identityProvider;
+        private final int idpId;
+        private final String userClaimUri;
+        private final String roleClaimUri;
+        private final String defaultAuthenticatorName;
+
+        private IdPRecord(IdentityProvider identityProvider, int idpId, String userClaimUri, String roleClaimUri,
+                          String defaultAuthenticatorName) {
+
+            this.identityProvider = identityProvider;
+            this.idpId = idpId;
+            this.userClaimUri = userClaimUri;
+            this.roleClaimUri = roleClaimUri;
+            this.defaultAuthenticatorName = defaultAuthenticatorName;
         }
     }
 
@@ -6580,6 +6851,31 @@ public class IdPManagementDAO {
         return prepStmt;
     }
 
+    /**
+     * Prepare a statement for a query with an IDP ID list placeholder. The leading parameters are bound before the
+     * identity provider IDs.
+     */
+    private PreparedStatement prepareIdPIdListStatement(Connection dbConnection, String sqlQuery, List<Integer> idpIds,
+                                                        int... leadingParameters) throws SQLException {
+
+        String placeholders = String.join(", ", Collections.nCopies(idpIds.size(), "?"));
+        PreparedStatement prepStmt = dbConnection.prepareStatement(
+                sqlQuery.replace(IdPManagementConstants.IDP_ID_LIST_PLACEHOLDER, placeholders));
+        try {
+            int index = 1;
+            for (int parameter : leadingParameters) {
+                prepStmt.setInt(index++, parameter);
+            }
+            for (Integer idpId : idpIds) {
+                prepStmt.setInt(index++, idpId);
+            }
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.closeStatement(prepStmt);
+            throw e;
+        }
+        return prepStmt;
+    }
+
     private PreparedStatement createSqlStatement(Connection connection, String sqlQuery, Object... params)
             throws SQLException, IdentityProviderManagementServerException {
 
@@ -97,6 +97,16 @@ public class IdPManagementFacade {
         return dao.getCountOfFilteredIdPs(tenantId, expressionConditions);
     }
 
+    public List<IdentityProvider> getIdPsWithDetails(Connection dbConnection, int tenantId, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        List<IdentityProvider> identityProviders = dao.getIdPsWithDetails(dbConnection, tenantId, tenantDomain);
+        for (IdentityProvider identityProvider : identityProviders) {
+            populateEndpointConfig(identityProvider, tenantDomain);
+        }
+        return identityProviders;
+    }
+
     public IdentityProvider getIdPByName(Connection dbConnection, String idPName, int tenantId, String tenantDomain)
             throws IdentityProviderManagementException {
 
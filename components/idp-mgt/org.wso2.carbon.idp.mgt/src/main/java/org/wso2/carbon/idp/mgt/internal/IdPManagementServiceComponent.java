@@ -39,6 +39,7 @@ import org.wso2.carbon.identity.application.common.util.IdentityApplicationConst
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataMgtListener;
 import org.wso2.carbon.identity.core.ConnectorConfig;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
@@ -50,6 +51,7 @@ import org.wso2.carbon.identity.secret.mgt.core.SecretResolveManager;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.idp.mgt.IdentityProviderManager;
 import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.idp.mgt.cache.IdPCacheWarmUpLoader;
 import org.wso2.carbon.idp.mgt.dao.CacheBackedIdPMgtDAO;
 import org.wso2.carbon.idp.mgt.dao.IdPManagementDAO;
 import org.wso2.carbon.idp.mgt.listener.IDPMgtAuditLogger;
@@ -230,6 +232,8 @@ public class IdPManagementServiceComponent {
                         "Management Listener.");
             }
 
+            CacheWarmUpManager.getInstance().registerLoader(new IdPCacheWarmUpLoader());
+
             buildFileBasedIdPList();
             cleanUpRemovedIdps();
 
@@ -335,6 +339,7 @@ public class IdPManagementServiceComponent {
      */
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
+        CacheWarmUpManager.getInstance().unregisterLoader(IdPCacheWarmUpLoader.LOADER_NAME);
         log.debug("Identity Provider Management bundle is deactivated");
     }
 
@@ -31,6 +31,7 @@ public class IdPManagementConstants {
     public static final String SCOPE_LIST_PLACEHOLDER = "_SCOPE_LIST_";
     public static final String IDP_GROUP_LIST_PLACEHOLDER = "_IDP_GROUP_LIST_";
     public static final String IDP_METADATA_PROPERTY_LIST_PLACEHOLDER = "_IDP_METADATA_PROPERTY_LIST_";
+    public static final String IDP_ID_LIST_PLACEHOLDER = "_IDP_ID_LIST_";
     public static final String MULTI_VALUED_PROPERTY_CHARACTER = ".";
     public static final String IS_TRUE_VALUE = "1";
     public static final String IS_FALSE_VALUE = "0";
@@ -314,6 +315,62 @@ public class IdPManagementConstants {
                 "UUID FROM IDP WHERE (TENANT_ID = ? OR (TENANT_ID = ? AND NAME LIKE '" + SHARED_IDP_PREFIX + "%')) " +
                 "AND UUID = ?";
 
+        public static final String GET_IDPS_WITH_DETAILS_SQL = "SELECT ID, NAME, IS_PRIMARY, HOME_REALM_ID, " +
+                "CERTIFICATE, ALIAS, INBOUND_PROV_ENABLED, INBOUND_PROV_USER_STORE_ID, USER_CLAIM_URI, " +
+                "ROLE_CLAIM_URI, DEFAULT_AUTHENTICATOR_NAME, DEFAULT_PRO_CONNECTOR_NAME, DESCRIPTION, " +
+                "IS_FEDERATION_HUB, IS_LOCAL_CLAIM_DIALECT, PROVISIONING_ROLE, IS_ENABLED, DISPLAY_NAME, IMAGE_URL, " +
+                "UUID FROM IDP WHERE (TENANT_ID = ? OR (TENANT_ID = ? AND NAME LIKE '" + SHARED_IDP_PREFIX + "%'))";
+
+        public static final String GET_IDP_AUTHS_BY_IDP_IDS_SQL = "SELECT ID, IDP_ID, NAME, IS_ENABLED, " +
+                "DISPLAY_NAME, DEFINED_BY FROM IDP_AUTHENTICATOR WHERE IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_AUTH_PROPS_BY_IDP_IDS_SQL = "SELECT IDP_AUTHENTICATOR_PROPERTY" +
+                ".AUTHENTICATOR_ID, IDP_AUTHENTICATOR_PROPERTY.PROPERTY_KEY, IDP_AUTHENTICATOR_PROPERTY" +
+                ".PROPERTY_VALUE, IDP_AUTHENTICATOR_PROPERTY.IS_SECRET FROM IDP_AUTHENTICATOR_PROPERTY INNER JOIN " +
+                "IDP_AUTHENTICATOR ON IDP_AUTHENTICATOR_PROPERTY.AUTHENTICATOR_ID = IDP_AUTHENTICATOR.ID WHERE " +
+                "IDP_AUTHENTICATOR.IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_PROVISIONING_CONFIGS_BY_IDP_IDS_SQL = "SELECT ID, IDP_ID, " +
+                "PROVISIONING_CONNECTOR_TYPE, IS_ENABLED, IS_BLOCKING FROM IDP_PROVISIONING_CONFIG WHERE IDP_ID IN (" +
+                IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_PROVISIONING_PROPERTIES_BY_IDP_IDS_SQL = "SELECT IDP_PROV_CONFIG_PROPERTY" +
+                ".PROVISIONING_CONFIG_ID, IDP_PROV_CONFIG_PROPERTY.PROPERTY_KEY, IDP_PROV_CONFIG_PROPERTY" +
+                ".PROPERTY_VALUE, IDP_PROV_CONFIG_PROPERTY.PROPERTY_BLOB_VALUE, IDP_PROV_CONFIG_PROPERTY" +
+                ".PROPERTY_TYPE, IDP_PROV_CONFIG_PROPERTY.IS_SECRET FROM IDP_PROV_CONFIG_PROPERTY INNER JOIN " +
+                "IDP_PROVISIONING_CONFIG ON IDP_PROV_CONFIG_PROPERTY.PROVISIONING_CONFIG_ID = " +
+                "IDP_PROVISIONING_CONFIG.ID WHERE IDP_PROV_CONFIG_PROPERTY.TENANT_ID = ? AND " +
+                "IDP_PROVISIONING_CONFIG.IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_LOCAL_IDP_DEFAULT_CLAIM_VALUES_BY_IDP_IDS_SQL = "SELECT IDP_ID, CLAIM_URI, " +
+                "DEFAULT_VALUE, IS_REQUESTED FROM IDP_LOCAL_CLAIM WHERE TENANT_ID = ? AND IDP_ID IN (" +
+                IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_CLAIMS_BY_IDP_IDS_SQL = "SELECT ID, IDP_ID, CLAIM FROM IDP_CLAIM WHERE " +
+                "IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_CLAIM_MAPPINGS_BY_IDP_IDS_SQL = "SELECT IDP_CLAIM.IDP_ID, IDP_CLAIM.CLAIM, " +
+                "IDP_CLAIM_MAPPING.LOCAL_CLAIM, IDP_CLAIM_MAPPING.DEFAULT_VALUE, IDP_CLAIM_MAPPING.IS_REQUESTED FROM " +
+                "IDP_CLAIM_MAPPING INNER JOIN IDP_CLAIM ON IDP_CLAIM_MAPPING.IDP_CLAIM_ID = IDP_CLAIM.ID WHERE " +
+                "IDP_CLAIM.IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_ROLES_BY_IDP_IDS_SQL = "SELECT ID, IDP_ID, ROLE FROM IDP_ROLE WHERE " +
+                "IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_ROLE_MAPPINGS_BY_IDP_IDS_SQL = "SELECT IDP_ROLE.IDP_ID, " +
+                "IDP_ROLE_MAPPING.USER_STORE_ID, IDP_ROLE_MAPPING.LOCAL_ROLE, IDP_ROLE.ROLE FROM IDP_ROLE_MAPPING " +
+                "INNER JOIN IDP_ROLE ON IDP_ROLE_MAPPING.IDP_ROLE_ID = IDP_ROLE.ID WHERE IDP_ROLE.IDP_ID IN (" +
+                IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_GROUPS_BY_IDP_IDS_SQL = "SELECT ID, IDP_ID, GROUP_NAME, UUID FROM " +
+                "IDP_GROUP WHERE IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_METADATA_BY_IDP_IDS = "SELECT ID, IDP_ID, NAME, VALUE, DISPLAY_NAME FROM " +
+                "IDP_METADATA WHERE IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
+        public static final String GET_IDP_METADATA_BY_IDP_IDS_H2 = "SELECT ID, IDP_ID, NAME, `VALUE`, DISPLAY_NAME " +
+                "FROM IDP_METADATA WHERE IDP_ID IN (" + IDP_ID_LIST_PLACEHOLDER + ")";
+
         public static final String GET_IDP_NAME_BY_RESOURCE_ID_SQL = "SELECT NAME FROM IDP WHERE UUID = ?";
 
         public static final String GET_IDP_ID_BY_NAME_SQL = "SELECT ID "
@@ -983,6 +983,122 @@ public class IdPManagementDAOTest {
         }
     }
 
+    @Test
+    public void testGetIdPsWithDetails() throws Exception {
+
+        try (MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+             Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection);
+            identityDatabaseUtil.when(IdentityDatabaseUtil::getDBConnection).thenReturn(connection);
+            identityDatabaseUtil.when(IdentityDatabaseUtil::getDataSource).thenReturn(dataSourceMap.get(DB_NAME));
+            addTestIdps();
+            IdentityProvider residentIdP = new IdentityProvider();
+            residentIdP.setIdentityProviderName(IdentityApplicationConstants.RESIDENT_IDP_RESERVED_NAME);
+            idPManagementDAO.addIdP(residentIdP, SAMPLE_TENANT_ID);
+
+            List<IdentityProvider> idps = idPManagementDAO.getIdPsWithDetails(connection, SAMPLE_TENANT_ID,
+                    TENANT_DOMAIN);
+
+            // The resident identity provider is not returned.
+            Map<String, IdentityProvider> idpsByName = new HashMap<>();
+            for (IdentityProvider idp : idps) {
+                idpsByName.put(idp.getIdentityProviderName(), idp);
+            }
+            assertEquals(idpsByName.keySet(), new HashSet<>(Arrays.asList("testIdP1", "testIdP2")));
+
+            IdentityProvider idp1 = idpsByName.get("testIdP1");
+            assertNotNull(idp1.getResourceId());
+            assertEquals(idp1.getHomeRealmId(), "1");
+            assertTrue(idp1.isPrimary());
+
+            assertEquals(idp1.getFederatedAuthenticatorConfigs().length, 1);
+            FederatedAuthenticatorConfig authnConfig = idp1.getFederatedAuthenticatorConfigs()[0];
+            assertEquals(authnConfig.getName(), "Name");
+            assertEquals(authnConfig.getDisplayName(), "DisplayName1");
+            assertTrue(authnConfig.isEnabled());
+            assertEquals(getPropertyValues(authnConfig.getProperties()), toMap("Property1", "value1",
+                    "Property2", "value2"));
+
+            Map<String, ProvisioningConnectorConfig> provisioningConfigs = new HashMap<>();
+            for (ProvisioningConnectorConfig provisioningConfig : idp1.getProvisioningConnectorConfigs()) {
+                provisioningConfigs.put(provisioningConfig.getName(), provisioningConfig);
+            }
+            assertEquals(provisioningConfigs.keySet(),
+                    new HashSet<>(Arrays.asList("ProvisiningConfig1", "ProvisiningConfig2")));
+            assertEquals(getPropertyValues(provisioningConfigs.get("ProvisiningConfig1").getProvisioningProperties()),
+                    toMap("Property1", "value1"));
+            assertEquals(getPropertyValues(provisioningConfigs.get("ProvisiningConfig2").getProvisioningProperties()),
+                    toMap("Property2", "value2"));
+            assertTrue(provisioningConfigs.get("ProvisiningConfig2").isEnabled());
+            assertTrue(provisioningConfigs.get("ProvisiningConfig2").isBlocking());
+
+            ClaimConfig claimConfig = idp1.getClaimConfig();
+            assertFalse(claimConfig.isLocalClaimDialect());
+            assertEquals(claimConfig.getUserClaimURI(), "Country");
+            assertEquals(claimConfig.getRoleClaimURI(), "Country");
+            assertEquals(claimConfig.getIdpClaims().length, 1);
+            assertEquals(claimConfig.getIdpClaims()[0].getClaimUri(), "Country");
+            assertEquals(claimConfig.getClaimMappings().length, 1);
+            ClaimMapping claimMapping = claimConfig.getClaimMappings()[0];
+            assertEquals(claimMapping.getLocalClaim().getClaimUri(), "http://wso2.org/claims/country");
+            assertEquals(claimMapping.getRemoteClaim().getClaimUri(), "Country");
+            assertTrue(claimMapping.isRequested());
+
+            PermissionsAndRoleConfig roleConfig = idp1.getPermissionAndRoleConfig();
+            assertEquals(new HashSet<>(Arrays.asList(roleConfig.getIdpRoles())),
+                    new HashSet<>(Arrays.asList("Role1", "Role2")));
+            Map<String, String> roleMappings = new HashMap<>();
+            for (RoleMapping roleMapping : roleConfig.getRoleMappings()) {
+                roleMappings.put(roleMapping.getRemoteRole(), roleMapping.getLocalRole().getUserStoreId() + "/" +
+                        roleMapping.getLocalRole().getLocalRoleName());
+            }
+            assertEquals(roleMappings, toMap("Role1", "1/LocalRole1", "Role2", "2/LocalRole2"));
+
+            Set<String> groupNames = new HashSet<>();
+            for (IdPGroup idPGroup : idp1.getIdPGroupConfig()) {
+                groupNames.add(idPGroup.getIdpGroupName());
+            }
+            assertEquals(groupNames, new HashSet<>(Arrays.asList(IDP_GROUP1, IDP_GROUP2)));
+
+            Map<String, String> idpProperties = new HashMap<>();
+            for (IdentityProviderProperty idpProperty : idp1.getIdpProperties()) {
+                idpProperties.put(idpProperty.getName(), idpProperty.getValue());
+            }
+            assertEquals(idpProperties.get("idpPropertyName"), "idpPropertyValue");
+            assertEquals(idpProperties.get(IdPManagementConstants.EMAIL_OTP_PASSWORD_RECOVERY_PROPERTY), "true");
+
+            IdentityProvider idp2 = idpsByName.get("testIdP2");
+            assertEquals(idp2.getHomeRealmId(), "2");
+            assertEquals(idp2.getFederatedAuthenticatorConfigs().length, 0);
+            assertEquals(idp2.getProvisioningConnectorConfigs().length, 0);
+            assertTrue(idp2.getClaimConfig().isLocalClaimDialect());
+            assertEquals(idp2.getClaimConfig().getUserClaimURI(), "http://wso2.org/claims/fullname");
+            assertEquals(idp2.getClaimConfig().getRoleClaimURI(), "http://wso2.org/claims/role");
+            assertEquals(idp2.getPermissionAndRoleConfig().getRoleMappings().length, 0);
+            assertEquals(idp2.getIdPGroupConfig().length, 2);
+
+            assertEquals(idPManagementDAO.getIdPsWithDetails(connection, 4, TENANT_DOMAIN).size(), 0);
+        }
+    }
+
+    private static Map<String, String> getPropertyValues(Property[] properties) {
+
+        Map<String, String> propertyValues = new HashMap<>();
+        for (Property property : properties) {
+            propertyValues.put(property.getName(), property.getValue());
+        }
+        return propertyValues;
+    }
+
+    private static Map<String, String> toMap(String... keysAndValues) {
+
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
     @Test
     public void testDeleteIdpProperties() throws Exception {
 
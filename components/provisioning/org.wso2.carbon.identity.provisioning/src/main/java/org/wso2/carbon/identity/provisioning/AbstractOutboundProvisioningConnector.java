@@ -27,6 +27,7 @@ import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.user.core.UserCoreConstants;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,35 @@ public abstract class AbstractOutboundProvisioningConnector implements Serializa
     public abstract ProvisionedIdentifier provision(ProvisioningEntity provisioningEntity)
             throws IdentityProvisioningException;
 
+    /**
+     * Override if the provisioning identity provider accepts several provisioning operations in a single request.
+     * The provisioning outbox then delivers the pending operations of this connector in batches.
+     *
+     * @return True if {@link #provisionBulk(List)} is implemented with a bulk request.
+     */
+    public boolean isBulkProvisioningSupported() {
+
+        return false;
+    }
+
+    /**
+     * Provision a batch of entities. The batch either succeeds or fails as a whole. The default implementation
+     * provisions the entities one by one.
+     *
+     * @param provisioningEntities Entities to be provisioned.
+     * @return Provisioned identifiers in the order of the given entities.
+     * @throws IdentityProvisioningException If the batch could not be provisioned.
+     */
+    public List<ProvisionedIdentifier> provisionBulk(List<ProvisioningEntity> provisioningEntities)
+            throws IdentityProvisioningException {
+
+        List<ProvisionedIdentifier> provisionedIdentifiers = new ArrayList<>(provisioningEntities.size());
+        for (ProvisioningEntity provisioningEntity : provisioningEntities) {
+            provisionedIdentifiers.add(provision(provisioningEntity));
+        }
+        return provisionedIdentifiers;
+    }
+
     /**
      * override only if needed - if claims are controlled by the identity provider, this will return
      * null. If it is connector specific this must return the corresponding claim dialect.
@@ -53,8 +53,75 @@ public class IdentityProvisioningConstants {
     public static final String ENABLE_SCIM_PATCH_FOR_UPDATES = "OutboundProvisioning.EnableSCIMPatchForUpdates";
     public static final String ENABLE_SCIM_COMPLIANT_EMAIL_ATTRIBUTE = "OutboundProvisioning.EnableSCIMCompliantEmailAttribute";
 
+    // Outbound provisioning executor constants.
+    public static final String PROVISIONING_EXECUTOR_POOL_SIZE = "OutboundProvisioning.Executor.PoolSize";
+    public static final String PROVISIONING_EXECUTOR_QUEUE_CAPACITY = "OutboundProvisioning.Executor.QueueCapacity";
+    public static final String PROVISIONING_EXECUTOR_MAX_CONCURRENCY_PER_CONNECTOR =
+            "OutboundProvisioning.Executor.MaxConcurrencyPerConnector";
+    public static final int DEFAULT_PROVISIONING_EXECUTOR_POOL_SIZE = 20;
+    public static final int DEFAULT_PROVISIONING_EXECUTOR_QUEUE_CAPACITY = 1000;
+    public static final int DEFAULT_PROVISIONING_EXECUTOR_MAX_CONCURRENCY_PER_CONNECTOR = 4;
+
+    // Outbound provisioning outbox constants.
+    public static final String PROVISIONING_OUTBOX_ENABLED = "OutboundProvisioning.Outbox.Enable";
+    public static final String PROVISIONING_OUTBOX_POLL_INTERVAL = "OutboundProvisioning.Outbox.PollIntervalMillis";
+    public static final String PROVISIONING_OUTBOX_BATCH_SIZE = "OutboundProvisioning.Outbox.BatchSize";
+    public static final String PROVISIONING_OUTBOX_MAX_ATTEMPTS = "OutboundProvisioning.Outbox.MaxAttempts";
+    public static final String PROVISIONING_OUTBOX_INITIAL_BACKOFF =
+            "OutboundProvisioning.Outbox.InitialBackoffMillis";
+    public static final String PROVISIONING_OUTBOX_MAX_BACKOFF = "OutboundProvisioning.Outbox.MaxBackoffMillis";
+    public static final String PROVISIONING_OUTBOX_LEASE_TIME = "OutboundProvisioning.Outbox.LeaseTimeMillis";
+    public static final long DEFAULT_PROVISIONING_OUTBOX_POLL_INTERVAL = 1000L;
+    public static final int DEFAULT_PROVISIONING_OUTBOX_BATCH_SIZE = 100;
+    public static final int DEFAULT_PROVISIONING_OUTBOX_MAX_ATTEMPTS = 10;
+    public static final long DEFAULT_PROVISIONING_OUTBOX_INITIAL_BACKOFF = 2000L;
+    public static final long DEFAULT_PROVISIONING_OUTBOX_MAX_BACKOFF = 600000L;
+    public static final long DEFAULT_PROVISIONING_OUTBOX_LEASE_TIME = 300000L;
+
     public static class SQLQueries {
 
+        public static final String ADD_OUTBOX_ENTRY_SQL = "INSERT INTO IDP_PROVISIONING_OUTBOX (ID, TENANT_ID, " +
+                "IDP_NAME, CONNECTOR_TYPE, ENTITY_TYPE, ENTITY_NAME, ENTITY_TENANT_DOMAIN, OPERATION, JIT_ENABLED, " +
+                "STATUS, ATTEMPTS, ROW_VERSION, PAYLOAD, CREATED_TIME, NEXT_ATTEMPT_TIME) VALUES " +
+                "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?)";
+
+        public static final String GET_LATEST_OUTBOX_ENTRY_OF_ENTITY_SQL = "SELECT ID, TENANT_ID, IDP_NAME, " +
+                "CONNECTOR_TYPE, ENTITY_TENANT_DOMAIN, JIT_ENABLED, STATUS, ATTEMPTS, ROW_VERSION, PAYLOAD, " +
+                "CREATED_TIME, NEXT_ATTEMPT_TIME FROM IDP_PROVISIONING_OUTBOX WHERE TENANT_ID=? AND ENTITY_NAME=? " +
+                "AND ENTITY_TYPE=? AND IDP_NAME=? AND CONNECTOR_TYPE=? ORDER BY CREATED_TIME DESC";
+
+        public static final String UPDATE_PENDING_OUTBOX_ENTRY_SQL = "UPDATE IDP_PROVISIONING_OUTBOX SET " +
+                "OPERATION=?, JIT_ENABLED=?, PAYLOAD=?, ROW_VERSION=ROW_VERSION+1 WHERE ID=? AND ROW_VERSION=? AND " +
+                "STATUS='PENDING'";
+
+        public static final String DELETE_PENDING_OUTBOX_ENTRY_SQL = "DELETE FROM IDP_PROVISIONING_OUTBOX WHERE " +
+                "ID=? AND ROW_VERSION=? AND STATUS='PENDING'";
+
+        /*
+         * Entries of an entity are delivered in the order they were added. An entry is not due while an older entry
+         * of the same entity is waiting for a retry or is being delivered.
+         */
+        public static final String GET_DUE_OUTBOX_ENTRIES_SQL = "SELECT ID, TENANT_ID, IDP_NAME, CONNECTOR_TYPE, " +
+                "ENTITY_TENANT_DOMAIN, JIT_ENABLED, STATUS, ATTEMPTS, ROW_VERSION, PAYLOAD, CREATED_TIME, " +
+                "NEXT_ATTEMPT_TIME FROM IDP_PROVISIONING_OUTBOX O WHERE O.STATUS IN ('PENDING', 'IN_FLIGHT') AND " +
+                "O.NEXT_ATTEMPT_TIME<=? AND NOT EXISTS (SELECT 1 FROM IDP_PROVISIONING_OUTBOX P WHERE " +
+                "P.TENANT_ID=O.TENANT_ID AND P.ENTITY_NAME=O.ENTITY_NAME AND P.ENTITY_TYPE=O.ENTITY_TYPE AND " +
+                "P.IDP_NAME=O.IDP_NAME AND P.CONNECTOR_TYPE=O.CONNECTOR_TYPE AND " +
+                "P.CREATED_TIME<O.CREATED_TIME) ORDER BY O.CREATED_TIME";
+
+        public static final String CLAIM_OUTBOX_ENTRY_SQL = "UPDATE IDP_PROVISIONING_OUTBOX SET STATUS='IN_FLIGHT', " +
+                "NEXT_ATTEMPT_TIME=?, ROW_VERSION=ROW_VERSION+1 WHERE ID=? AND ROW_VERSION=?";
+
+        public static final String DELETE_OUTBOX_ENTRY_SQL = "DELETE FROM IDP_PROVISIONING_OUTBOX WHERE ID=? AND " +
+                "ROW_VERSION=?";
+
+        public static final String RESCHEDULE_OUTBOX_ENTRY_SQL = "UPDATE IDP_PROVISIONING_OUTBOX SET STATUS='PENDING', " +
+                "ATTEMPTS=ATTEMPTS+1, NEXT_ATTEMPT_TIME=?, LAST_ERROR=?, ROW_VERSION=ROW_VERSION+1 WHERE ID=? AND " +
+                "ROW_VERSION=?";
+
+        public static final String GET_OUTBOX_BACKLOG_SQL = "SELECT COUNT(*), MIN(CREATED_TIME) FROM " +
+                "IDP_PROVISIONING_OUTBOX WHERE STATUS IN ('PENDING', 'IN_FLIGHT')";
+
         public static final String ADD_PROVISIONING_ENTITY_SQL = "INSERT INTO IDP_PROVISIONING_ENTITY " +
               "(PROVISIONING_CONFIG_ID, ENTITY_TYPE, ENTITY_LOCAL_USERSTORE, ENTITY_NAME, ENTITY_VALUE, TENANT_ID, " +
               "ENTITY_LOCAL_ID) VALUES (?, ?, ?, ?, ?, ?,?)";
@@ -71,9 +71,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
 import java.util.stream.Collectors;
 
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.CONSOLE_APPLICATION_NAME;
@@ -336,6 +333,38 @@ public class OutboundProvisioningManager {
         return null;
     }
 
+    /**
+     * Resolve the runtime provisioning connector of the given provisioning identity provider. Used to deliver the
+     * operations stored in the provisioning outbox.
+     *
+     * @param idPName       Name of the provisioning identity provider.
+     * @param connectorType Type of the provisioning connector.
+     * @param tenantDomain  Tenant domain of the service provider.
+     * @return Provisioning connector or null if the connector is not enabled for the identity provider.
+     * @throws IdentityProvisioningException If the identity provider could not be resolved.
+     */
+    AbstractOutboundProvisioningConnector getOutboundProvisioningConnector(String idPName, String connectorType,
+                                                                           String tenantDomain)
+            throws IdentityProvisioningException {
+
+        IdentityProvider identityProvider = new IdentityProvider();
+        identityProvider.setIdentityProviderName(idPName);
+        ProvisioningConnectorConfig connectorConfig = new ProvisioningConnectorConfig();
+        connectorConfig.setName(connectorType);
+        identityProvider.setDefaultProvisioningConnectorConfig(connectorConfig);
+        try {
+            return getOutboundProvisioningConnector(identityProvider,
+                    IdentityProvisionServiceComponent.getConnectorFactories(), tenantDomain);
+        } catch (IdentityProviderManagementException e) {
+            throw new IdentityProvisioningException("Error while retrieving idp configuration for " + idPName, e);
+        }
+    }
+
+    static CacheBackedProvisioningMgtDAO getProvisioningMgtDAO() {
+
+        return dao;
+    }
+
     /**
      * Outbound provisioning method.
      *
@@ -429,7 +458,6 @@ public class OutboundProvisioningManager {
 
             ProvisioningEntity outboundProEntity;
 
-            ExecutorService executors = ThreadLocalAwareExecutors.newFixedThreadPool(connectors.size());
             if (LoggerUtils.isDiagnosticLogsEnabled()) {
                 DiagnosticLog.DiagnosticLogBuilder diagLogBuilder = new DiagnosticLog.DiagnosticLogBuilder(
                         LogConstants.OutboundProvisioning.OUTBOUND_PROVISIONING_COMPONENT,
@@ -600,13 +628,13 @@ public class OutboundProvisioningManager {
 
                         outboundProEntity = new ProvisioningEntity(ProvisioningEntityType.USER,
                                                                    user, ProvisioningOperation.POST, mappedUserClaims);
-                        Callable<Boolean> proThread = new ProvisioningThread(outboundProEntity, spTenantDomainName,
+                        ProvisioningThread proThread = new ProvisioningThread(outboundProEntity, spTenantDomainName,
                                 provisioningEntityTenantDomainName, connector, connectorType, idPName, dao,
                                 jitProvisioningEnabledForIdP);
                         outboundProEntity.setIdentifier(provisionedIdentifier);
                         outboundProEntity.setJitProvisioning(jitProvisioning);
                         boolean isBlocking = entry.getValue().isBlocking();
-                        executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                        executeOutboundProvisioning(provisioningEntity, connectorType, idPName, proThread, isBlocking);
 
                     }
 
@@ -626,13 +654,13 @@ public class OutboundProvisioningManager {
 
                             outboundProEntity = new ProvisioningEntity(ProvisioningEntityType.USER,
                                                                        user, ProvisioningOperation.DELETE, mappedUserClaims);
-                            Callable<Boolean> proThread = new ProvisioningThread(outboundProEntity, spTenantDomainName,
+                            ProvisioningThread proThread = new ProvisioningThread(outboundProEntity, spTenantDomainName,
                                     provisioningEntityTenantDomainName, connector, connectorType, idPName, dao,
                                     jitProvisioningEnabledForIdP);
                             outboundProEntity.setIdentifier(provisionedUserIdentifier);
                             outboundProEntity.setJitProvisioning(jitProvisioning);
                             boolean isBlocking = entry.getValue().isBlocking();
-                            executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                            executeOutboundProvisioning(provisioningEntity, connectorType, idPName, proThread, isBlocking);
                         }
                     }
 
@@ -665,7 +693,7 @@ public class OutboundProvisioningManager {
                         outboundProEntity = new ProvisioningEntity(provisioningEntity.getEntityType(),
                                 provisioningEntity.getEntityName(), provisioningOp, mapppedClaims);
 
-                        Callable<Boolean> proThread = new ProvisioningThread(outboundProEntity, spTenantDomainName,
+                        ProvisioningThread proThread = new ProvisioningThread(outboundProEntity, spTenantDomainName,
                                 provisioningEntityTenantDomainName, connector, connectorType, idPName, dao,
                                 jitProvisioningEnabledForIdP);
                         outboundProEntity.setIdentifier(provisionedIdentifier);
@@ -687,13 +715,11 @@ public class OutboundProvisioningManager {
                         }
 
                         if (isAllowed) {
-                            executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                            executeOutboundProvisioning(provisioningEntity, connectorType, idPName, proThread, isBlocking);
                         }
                     }
                 }
             }
-
-            executors.shutdown();
         } catch (CarbonException | IdentityApplicationManagementException | IdentityProviderManagementException | UserStoreException e) {
             throw new IdentityProvisioningException("Error occurred while checking for user " +
                                                     "provisioning", e);
@@ -732,9 +758,8 @@ public class OutboundProvisioningManager {
         return true;
     }
 
-    private void executeOutboundProvisioning(ProvisioningEntity provisioningEntity, ExecutorService executors,
-                                             String connectorType,
-                                             String idPName, Callable<Boolean> proThread, boolean isBlocking)
+    private void executeOutboundProvisioning(ProvisioningEntity provisioningEntity, String connectorType,
+                                             String idPName, ProvisioningThread proThread, boolean isBlocking)
             throws IdentityProvisioningException {
 
         if (!isBlocking && needToWaitForUserProvisioning(provisioningEntity)) {
@@ -745,18 +770,25 @@ public class OutboundProvisioningManager {
                     //DO not roll back since non-blocking configuration was enabled.
                 }
             } catch (Exception e) {
-                handleException(idPName, connectorType, provisioningEntity, executors, e);
+                handleException(idPName, connectorType, provisioningEntity, e);
             }
         } else if (!isBlocking) {
-            executors.submit(proThread);
+            if (ProvisioningOutbox.isEnabled()) {
+                try {
+                    ProvisioningOutbox.getInstance().enqueue(proThread);
+                    return;
+                } catch (IdentityProvisioningException e) {
+                    log.error("Error while adding the outbound provisioning operation to the outbox. Provisioning "
+                            + "the entity without the outbox via connection: " + idPName + ", connector: "
+                            + connectorType, e);
+                }
+            }
+            ProvisioningExecutor.getInstance().execute(connectorType, idPName, proThread);
         } else {
             try {
 
                 boolean success = proThread.call();
                 if (!success) {
-                    if (executors != null) {
-                        executors.shutdown();
-                    }
                     throw new IdentityProvisioningException
                             (generateMessageOnFailureProvisioningOperation(idPName,
                                                                            connectorType, provisioningEntity));
@@ -766,7 +798,7 @@ public class OutboundProvisioningManager {
                 if (isFailOnBlockingOutBoundProvisionEnabled()) {
                     throw new IdentityProvisioningException(e.getMessage());
                 }
-                handleException(idPName, connectorType, provisioningEntity, executors, e);
+                handleException(idPName, connectorType, provisioningEntity, e);
             }
         }
     }
@@ -1154,11 +1186,10 @@ public class OutboundProvisioningManager {
      * @param idPName
      * @param connectorType
      * @param provisioningEntity
-     * @param executors
      * @param e
      */
     protected void handleException(String idPName, String connectorType, ProvisioningEntity provisioningEntity,
-                                   ExecutorService executors, Exception e) {
+                                   Exception e) {
 
         if (log.isDebugEnabled()) {
             log.debug(generateMessageOnFailureProvisioningOperation(idPName, connectorType, provisioningEntity), e);
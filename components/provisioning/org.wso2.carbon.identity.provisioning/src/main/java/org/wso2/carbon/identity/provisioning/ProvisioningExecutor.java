@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
+import org.wso2.carbon.identity.core.ThreadLocalAwareThreadPoolExecutor;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived executor of the non-blocking outbound provisioning operations. Each connector of each identity
+ * provider gets a bounded queue which is drained by a limited number of workers running on a thread pool shared by
+ * all the connectors, so a slow or unavailable provisioning endpoint can only hold its own share of the pool and
+ * bursts of provisioning requests are queued instead of creating new threads. Each operation runs with the MDC
+ * context of the thread which queued it, so that its logs carry the correlation id of the originating request.
+ */
+public class ProvisioningExecutor {
+
+    private static final Log log = LogFactory.getLog(ProvisioningExecutor.class);
+
+    /**
+     * Maximum number of operations a worker runs before yielding its pool thread to the workers of other connectors.
+     */
+    private static final int MAX_TASKS_PER_RUN = 32;
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private static volatile ProvisioningExecutor instance;
+
+    private final ThreadPoolExecutor threadPool;
+    private final Map<String, ConnectorQueue> connectorQueues = new ConcurrentHashMap<>();
+    private final int queueCapacity;
+    private final int maxConcurrencyPerConnector;
+    private volatile boolean shutdown;
+
+    ProvisioningExecutor(int poolSize, int queueCapacity, int maxConcurrencyPerConnector) {
+
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrencyPerConnector = maxConcurrencyPerConnector;
+        this.threadPool = new ThreadLocalAwareThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ProvisioningThreadFactory());
+        this.threadPool.allowCoreThreadTimeOut(true);
+    }
+
+    public static ProvisioningExecutor getInstance() {
+
+        if (instance == null) {
+            synchronized (ProvisioningExecutor.class) {
+                if (instance == null) {
+                    instance = new ProvisioningExecutor(
+                            readPositiveInt(IdentityProvisioningConstants.PROVISIONING_EXECUTOR_POOL_SIZE,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_EXECUTOR_POOL_SIZE),
+                            readPositiveInt(IdentityProvisioningConstants.PROVISIONING_EXECUTOR_QUEUE_CAPACITY,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_EXECUTOR_QUEUE_CAPACITY),
+                            readPositiveInt(
+                                    IdentityProvisioningConstants.PROVISIONING_EXECUTOR_MAX_CONCURRENCY_PER_CONNECTOR,
+                                    IdentityProvisioningConstants
+                                            .DEFAULT_PROVISIONING_EXECUTOR_MAX_CONCURRENCY_PER_CONNECTOR));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queue the provisioning operation of the given connector and return without waiting for it. When the queue of
+     * the connector is full, or the executor is shut down, the operation runs in the calling thread so that it is
+     * never lost.
+     *
+     * @param connectorType Type of the provisioning connector.
+     * @param idPName       Name of the identity provider the connector belongs to.
+     * @param task          Provisioning operation.
+     */
+    public void execute(String connectorType, String idPName, Callable<Boolean> task) {
+
+        ConnectorQueue connectorQueue = connectorQueues.computeIfAbsent(getQueueKey(connectorType, idPName),
+                key -> new ConnectorQueue(connectorType, idPName));
+        connectorQueue.enqueue(task);
+    }
+
+    /**
+     * Get the runtime statistics of the provisioning queues, keyed by identity provider and connector type.
+     *
+     * @return Statistics of each provisioning queue.
+     */
+    public Map<String, ProvisioningQueueMetrics> getMetrics() {
+
+        Map<String, ProvisioningQueueMetrics> metrics = new HashMap<>();
+        for (Map.Entry<String, ConnectorQueue> entry : connectorQueues.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().metrics);
+        }
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Stop accepting new operations and wait for the queued operations to complete.
+     *
+     * @param timeoutMillis Maximum time to wait for the queued operations.
+     */
+    public void shutdown(long timeoutMillis) {
+
+        shutdown = true;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            while (!isIdle() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        threadPool.shutdown();
+        if (!isIdle()) {
+            log.warn("Outbound provisioning executor is shut down with pending provisioning operations: " +
+                    connectorQueues.values());
+        }
+    }
+
+    /**
+     * Shut down the shared executor, if it is initialized.
+     *
+     * @param timeoutMillis Maximum time to wait for the queued operations.
+     */
+    public static void shutdownInstance(long timeoutMillis) {
+
+        synchronized (ProvisioningExecutor.class) {
+            if (instance != null) {
+                instance.shutdown(timeoutMillis);
+                instance = null;
+            }
+        }
+    }
+
+    private boolean isIdle() {
+
+        for (ConnectorQueue connectorQueue : connectorQueues.values()) {
+            if (!connectorQueue.isIdle()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getQueueKey(String connectorType, String idPName) {
+
+        return idPName + ":" + connectorType;
+    }
+
+    private static int readPositiveInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int parsedValue = Integer.parseInt(value.trim());
+            if (parsedValue > 0) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the default value.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Bounded queue of the provisioning operations of a single connector of an identity provider.
+     */
+    private final class ConnectorQueue {
+
+        private final String connectorType;
+        private final String idPName;
+        private final BlockingQueue<ProvisioningTask> queue;
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private final ProvisioningQueueMetrics metrics;
+
+        ConnectorQueue(String connectorType, String idPName) {
+
+            this.connectorType = connectorType;
+            this.idPName = idPName;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.metrics = new ProvisioningQueueMetrics(connectorType, idPName, queue::size);
+        }
+
+        void enqueue(Callable<Boolean> operation) {
+
+            metrics.recordSubmitted();
+            ProvisioningTask task = new ProvisioningTask(operation, MDC.getCopyOfContextMap());
+            if (shutdown || !queue.offer(task)) {
+                metrics.recordCallerRun();
+                if (log.isDebugEnabled()) {
+                    log.debug("Provisioning queue of connector: " + connectorType + " of identity provider: " +
+                            idPName + " is full or shut down. Running the provisioning operation in the calling " +
+                            "thread.");
+                }
+                run(task);
+                return;
+            }
+            schedule();
+        }
+
+        boolean isIdle() {
+
+            return queue.isEmpty() && activeWorkers.get() == 0;
+        }
+
+        /**
+         * Start a new worker if the queue has more pending operations than active workers and the concurrency limit
+         * of the connector is not reached.
+         */
+        private void schedule() {
+
+            int active;
+            while ((active = activeWorkers.get()) < maxConcurrencyPerConnector && queue.size() > active) {
+                if (activeWorkers.compareAndSet(active, active + 1)) {
+                    try {
+                        threadPool.execute(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        activeWorkers.decrementAndGet();
+                        drainInCaller();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void drain() {
+
+            try {
+                ProvisioningTask task;
+                int count = 0;
+                while (count++ < MAX_TASKS_PER_RUN && (task = queue.poll()) != null) {
+                    run(task);
+                }
+            } finally {
+                activeWorkers.decrementAndGet();
+                // Operations added while this worker was finishing up must not be left behind.
+                schedule();
+            }
+        }
+
+        private void drainInCaller() {
+
+            ProvisioningTask task;
+            while ((task = queue.poll()) != null) {
+                metrics.recordCallerRun();
+                run(task);
+            }
+        }
+
+        private void run(ProvisioningTask task) {
+
+            metrics.recordStarted();
+            // The operation may run in the thread which queued it, whose MDC context must be kept.
+            Map<String, String> callerContextMap = MDC.getCopyOfContextMap();
+            setMDCContext(task.contextMap);
+            boolean success = false;
+            try {
+                success = Boolean.TRUE.equals(task.operation.call());
+            } catch (Exception e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Error while running the provisioning operation of connector: " + connectorType +
+                            " of identity provider: " + idPName, e);
+                }
+            } finally {
+                setMDCContext(callerContextMap);
+                metrics.recordFinished(success);
+            }
+        }
+
+        @Override
+        public String toString() {
+
+            return metrics.toString();
+        }
+    }
+
+    private static void setMDCContext(Map<String, String> contextMap) {
+
+        MDC.clear();
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        }
+    }
+
+    /**
+     * Provisioning operation along with the MDC context of the thread which queued it.
+     */
+    private static final class ProvisioningTask {
+
+        private final Callable<Boolean> operation;
+        private final Map<String, String> contextMap;
+
+        ProvisioningTask(Callable<Boolean> operation, Map<String, String> contextMap) {
+
+            this.operation = operation;
+            this.contextMap = contextMap;
+        }
+    }
+
+    private static final class ProvisioningThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, "OutboundProvisioningExecutor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Folds successive outbound provisioning operations on the same entity into a single operation, so that an entity
+ * updated several times before the outbox is drained is provisioned once with its latest state.
+ */
+final class ProvisioningOperationCoalescer {
+
+    private ProvisioningOperationCoalescer() {
+
+    }
+
+    /**
+     * Check whether the pending operation and the next operation cancel each other out. This is the case when an
+     * entity which was never provisioned is deleted before it was created at the provisioning identity provider.
+     *
+     * @param pending Operation waiting in the outbox.
+     * @param next    Operation which follows the pending operation.
+     * @return True if neither operation needs to be delivered.
+     */
+    static boolean isCancelledBy(ProvisioningEntity pending, ProvisioningEntity next) {
+
+        return isSameEntity(pending, next) && pending.getOperation() == ProvisioningOperation.POST
+                && next.getOperation() == ProvisioningOperation.DELETE && !hasIdentifier(pending);
+    }
+
+    /**
+     * Fold the next operation into the pending operation.
+     * <ul>
+     * <li>Any operation followed by a DELETE becomes the DELETE.</li>
+     * <li>A POST followed by a PUT or a PATCH becomes a POST with the merged attributes.</li>
+     * <li>A PUT or a PATCH followed by a PUT becomes the later PUT, since it carries the full state of the entity and
+     * must not bring back attributes removed by the earlier operation.</li>
+     * <li>A PUT or a PATCH followed by a PATCH becomes a PUT, or a PATCH if both of them are PATCHes, with the merged
+     * attributes. Group membership changes are merged, so that the last change of each member wins.</li>
+     * </ul>
+     *
+     * @param pending Operation waiting in the outbox.
+     * @param next    Operation which follows the pending operation.
+     * @return Coalesced operation or null if the operations have to be delivered separately.
+     */
+    static ProvisioningEntity coalesce(ProvisioningEntity pending, ProvisioningEntity next) {
+
+        if (!isSameEntity(pending, next) || pending.getOperation() == ProvisioningOperation.DELETE
+                || next.getOperation() == ProvisioningOperation.POST) {
+            return null;
+        }
+
+        ProvisioningOperation operation;
+        Map<ClaimMapping, List<String>> attributes;
+        boolean replaced = next.getOperation() == ProvisioningOperation.DELETE
+                || (next.getOperation() == ProvisioningOperation.PUT
+                && pending.getOperation() != ProvisioningOperation.POST);
+        if (replaced) {
+            operation = next.getOperation();
+            attributes = next.getAttributes();
+        } else {
+            if (pending.getOperation() == ProvisioningOperation.POST) {
+                operation = ProvisioningOperation.POST;
+            } else if (pending.getOperation() == ProvisioningOperation.PATCH
+                    && next.getOperation() == ProvisioningOperation.PATCH) {
+                operation = ProvisioningOperation.PATCH;
+            } else {
+                operation = ProvisioningOperation.PUT;
+            }
+            attributes = mergeAttributes(pending.getAttributes(), next.getAttributes());
+        }
+
+        ProvisioningEntity coalesced = new ProvisioningEntity(next.getEntityType(), next.getEntityName(), operation,
+                attributes);
+        coalesced.setIdentifier(hasIdentifier(next) ? next.getIdentifier() : pending.getIdentifier());
+        // The coalesced operation is a JIT provisioning operation only if all the folded operations are.
+        coalesced.setJitProvisioning(pending.isJitProvisioning() && next.isJitProvisioning());
+        if (replaced) {
+            coalesced.setInboundAttributes(next.getInboundAttributes());
+        } else if (pending.getInboundAttributes() != null || next.getInboundAttributes() != null) {
+            Map<String, String> inboundAttributes = new HashMap<>();
+            if (pending.getInboundAttributes() != null) {
+                inboundAttributes.putAll(pending.getInboundAttributes());
+            }
+            if (next.getInboundAttributes() != null) {
+                inboundAttributes.putAll(next.getInboundAttributes());
+            }
+            coalesced.setInboundAttributes(inboundAttributes);
+        }
+        return coalesced;
+    }
+
+    private static Map<ClaimMapping, List<String>> mergeAttributes(Map<ClaimMapping, List<String>> pending,
+                                                                   Map<ClaimMapping, List<String>> next) {
+
+        Map<ClaimMapping, List<String>> merged = new LinkedHashMap<>();
+        if (pending != null) {
+            merged.putAll(pending);
+        }
+        if (next == null) {
+            return merged;
+        }
+
+        ClaimMapping pendingAdded = findMapping(pending, IdentityProvisioningConstants.NEW_USER_CLAIM_URI);
+        ClaimMapping pendingDeleted = findMapping(pending, IdentityProvisioningConstants.DELETED_USER_CLAIM_URI);
+        ClaimMapping nextAdded = findMapping(next, IdentityProvisioningConstants.NEW_USER_CLAIM_URI);
+        ClaimMapping nextDeleted = findMapping(next, IdentityProvisioningConstants.DELETED_USER_CLAIM_URI);
+
+        for (Map.Entry<ClaimMapping, List<String>> entry : next.entrySet()) {
+            if (!entry.getKey().equals(nextAdded) && !entry.getKey().equals(nextDeleted)) {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // Membership changes are deltas, so a member added and later removed ends up in the removed list only.
+        Set<String> added = new LinkedHashSet<>(values(pending, pendingAdded));
+        Set<String> deleted = new LinkedHashSet<>(values(pending, pendingDeleted));
+        List<String> nextAddedValues = values(next, nextAdded);
+        List<String> nextDeletedValues = values(next, nextDeleted);
+        added.removeAll(nextDeletedValues);
+        added.addAll(nextAddedValues);
+        deleted.removeAll(nextAddedValues);
+        deleted.addAll(nextDeletedValues);
+
+        putMembers(merged, pendingAdded != null ? pendingAdded : nextAdded, added);
+        putMembers(merged, pendingDeleted != null ? pendingDeleted : nextDeleted, deleted);
+        return merged;
+    }
+
+    private static void putMembers(Map<ClaimMapping, List<String>> attributes, ClaimMapping mapping,
+                                   Set<String> members) {
+
+        if (mapping == null) {
+            return;
+        }
+        if (members.isEmpty()) {
+            attributes.remove(mapping);
+        } else {
+            attributes.put(mapping, new ArrayList<>(members));
+        }
+    }
+
+    private static ClaimMapping findMapping(Map<ClaimMapping, List<String>> attributes, String localClaimUri) {
+
+        if (attributes == null) {
+            return null;
+        }
+        for (ClaimMapping mapping : attributes.keySet()) {
+            if (mapping.getLocalClaim() != null && localClaimUri.equals(mapping.getLocalClaim().getClaimUri())) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> values(Map<ClaimMapping, List<String>> attributes, ClaimMapping mapping) {
+
+        if (mapping == null || attributes.get(mapping) == null) {
+            return new ArrayList<>();
+        }
+        return attributes.get(mapping);
+    }
+
+    private static boolean isSameEntity(ProvisioningEntity pending, ProvisioningEntity next) {
+
+        return pending.getEntityType() == next.getEntityType()
+                && Objects.equals(pending.getEntityName(), next.getEntityName());
+    }
+
+    private static boolean hasIdentifier(ProvisioningEntity entity) {
+
+        return entity.getIdentifier() != null && entity.getIdentifier().getIdentifier() != null;
+    }
+}
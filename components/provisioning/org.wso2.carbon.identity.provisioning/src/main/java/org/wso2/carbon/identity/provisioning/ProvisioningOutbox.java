@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.provisioning.dao.CacheBackedProvisioningMgtDAO;
+import org.wso2.carbon.identity.provisioning.dao.ProvisioningOutboxDAO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable outbox of the non-blocking outbound provisioning operations. Operations are stored in the database and
+ * delivered by a dispatcher which polls the outbox, so that pending operations survive restarts and provisioning
+ * endpoint outages.
+ * <ul>
+ * <li>An operation on an entity which already has an undelivered operation in the outbox is folded into it, so
+ * that an entity updated several times is provisioned once with its latest state.</li>
+ * <li>Due operations are delivered in batches per connector on the {@link ProvisioningExecutor}, using a single
+ * bulk request if the connector supports it.</li>
+ * <li>Failed deliveries are retried with an exponential backoff and given up after the maximum number of
+ * attempts.</li>
+ * <li>Delivered and given up operations are removed from the outbox.</li>
+ * <li>Operations of the same entity are delivered in the order they were added.</li>
+ * </ul>
+ */
+public class ProvisioningOutbox {
+
+    private static final Log log = LogFactory.getLog(ProvisioningOutbox.class);
+
+    /**
+     * Number of times an operation is folded into a waiting operation which is concurrently updated by another
+     * thread, before it is added as a new entry.
+     */
+    private static final int MAX_COALESCE_ATTEMPTS = 3;
+    private static final long BACKLOG_REFRESH_INTERVAL_MILLIS = 10000L;
+
+    private static volatile ProvisioningOutbox instance;
+
+    private final ProvisioningOutboxDAO outboxDAO;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long leaseTimeMillis;
+    private final AtomicInteger inFlightOperations = new AtomicInteger();
+    private final ProvisioningOutboxMetrics metrics = new ProvisioningOutboxMetrics();
+    private ScheduledExecutorService scheduler;
+    private volatile long lastBacklogRefreshTime;
+
+    ProvisioningOutbox(ProvisioningOutboxDAO outboxDAO, int batchSize, int maxAttempts, long pollIntervalMillis,
+                       long initialBackoffMillis, long maxBackoffMillis, long leaseTimeMillis) {
+
+        this.outboxDAO = outboxDAO;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.leaseTimeMillis = leaseTimeMillis;
+    }
+
+    public static ProvisioningOutbox getInstance() {
+
+        if (instance == null) {
+            synchronized (ProvisioningOutbox.class) {
+                if (instance == null) {
+                    instance = new ProvisioningOutbox(new ProvisioningOutboxDAO(),
+                            (int) readPositiveLong(IdentityProvisioningConstants.PROVISIONING_OUTBOX_BATCH_SIZE,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_OUTBOX_BATCH_SIZE),
+                            (int) readPositiveLong(IdentityProvisioningConstants.PROVISIONING_OUTBOX_MAX_ATTEMPTS,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_OUTBOX_MAX_ATTEMPTS),
+                            readPositiveLong(IdentityProvisioningConstants.PROVISIONING_OUTBOX_POLL_INTERVAL,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_OUTBOX_POLL_INTERVAL),
+                            readPositiveLong(IdentityProvisioningConstants.PROVISIONING_OUTBOX_INITIAL_BACKOFF,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_OUTBOX_INITIAL_BACKOFF),
+                            readPositiveLong(IdentityProvisioningConstants.PROVISIONING_OUTBOX_MAX_BACKOFF,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_OUTBOX_MAX_BACKOFF),
+                            readPositiveLong(IdentityProvisioningConstants.PROVISIONING_OUTBOX_LEASE_TIME,
+                                    IdentityProvisioningConstants.DEFAULT_PROVISIONING_OUTBOX_LEASE_TIME));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Check whether the non-blocking outbound provisioning operations are delivered through the outbox.
+     *
+     * @return True if the outbox is enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(IdentityProvisioningConstants.PROVISIONING_OUTBOX_ENABLED));
+    }
+
+    /**
+     * Start polling the outbox for due operations.
+     */
+    public synchronized void start() {
+
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ProvisioningOutboxDispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("Outbound provisioning outbox dispatcher started with a poll interval of " + pollIntervalMillis
+                    + " ms.");
+        }
+    }
+
+    /**
+     * Stop polling the outbox. Operations which are not delivered stay in the outbox and are delivered by another
+     * node, or by this node after a restart, once their lease expires.
+     *
+     * @param timeoutMillis Maximum time to wait for the running poll to complete.
+     */
+    public synchronized void shutdown(long timeoutMillis) {
+
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    /**
+     * Stop the outbox dispatcher if it was started.
+     *
+     * @param timeoutMillis Maximum time to wait for the running poll to complete.
+     */
+    public static void shutdownInstance(long timeoutMillis) {
+
+        ProvisioningOutbox outbox = instance;
+        if (outbox != null) {
+            outbox.shutdown(timeoutMillis);
+        }
+    }
+
+    /**
+     * Add the operation of the given provisioning thread to the outbox, folding it into the undelivered operation of
+     * the same entity if there is one.
+     *
+     * @param provisioningThread Provisioning operation.
+     * @throws IdentityProvisioningException If the operation could not be stored.
+     */
+    void enqueue(ProvisioningThread provisioningThread) throws IdentityProvisioningException {
+
+        ProvisioningEntity provisioningEntity = provisioningThread.getProvisioningEntity();
+        int tenantId = IdentityTenantUtil.getTenantId(provisioningThread.getTenantDomainName());
+        String idPName = provisioningThread.getIdPName();
+        String connectorType = provisioningThread.getConnectorType();
+
+        ProvisioningOutboxEntry latestEntry = null;
+        for (int attempt = 0; attempt < MAX_COALESCE_ATTEMPTS; attempt++) {
+            latestEntry = outboxDAO.getLatestEntry(tenantId, idPName, connectorType, provisioningEntity);
+            if (latestEntry == null || latestEntry.getStatus() != ProvisioningOutboxEntry.Status.PENDING
+                    || latestEntry.getProvisioningEntity() == null) {
+                break;
+            }
+
+            ProvisioningEntity pendingEntity = latestEntry.getProvisioningEntity();
+            if (ProvisioningOperationCoalescer.isCancelledBy(pendingEntity, provisioningEntity)) {
+                if (outboxDAO.deletePendingEntry(latestEntry)) {
+                    metrics.recordCancelled();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Outbound provisioning operation: " + provisioningEntity.getOperation() +
+                                " of entity: " + ProvisioningUtil.maskIfRequired(provisioningEntity.getEntityName())
+                                + " cancelled out the waiting operation: " + pendingEntity.getOperation());
+                    }
+                    return;
+                }
+                continue;
+            }
+
+            ProvisioningEntity coalescedEntity = ProvisioningOperationCoalescer.coalesce(pendingEntity,
+                    provisioningEntity);
+            if (coalescedEntity == null) {
+                break;
+            }
+            latestEntry.setJitProvisioningEnabledForIdP(provisioningThread.isJitProvisioningEnabledForIdP());
+            if (outboxDAO.updatePendingEntry(latestEntry, coalescedEntity)) {
+                metrics.recordCoalesced();
+                if (log.isDebugEnabled()) {
+                    log.debug("Outbound provisioning operation: " + provisioningEntity.getOperation() +
+                            " of entity: " + ProvisioningUtil.maskIfRequired(provisioningEntity.getEntityName()) +
+                            " folded into the waiting operation: " + pendingEntity.getOperation());
+                }
+                return;
+            }
+        }
+
+        long currentTime = System.currentTimeMillis();
+        ProvisioningOutboxEntry entry = new ProvisioningOutboxEntry();
+        entry.setId(UUID.randomUUID().toString());
+        entry.setTenantId(tenantId);
+        entry.setIdPName(idPName);
+        entry.setConnectorType(connectorType);
+        entry.setEntityTenantDomain(provisioningThread.getProvisioningEntityTenantDomainName());
+        entry.setJitProvisioningEnabledForIdP(provisioningThread.isJitProvisioningEnabledForIdP());
+        entry.setProvisioningEntity(provisioningEntity);
+        entry.setStatus(ProvisioningOutboxEntry.Status.PENDING);
+        // Operations of an entity are delivered in the order of their creation time, so it must be unique per entity.
+        entry.setCreatedTime(latestEntry == null ? currentTime : Math.max(currentTime,
+                latestEntry.getCreatedTime() + 1));
+        entry.setNextAttemptTime(entry.getCreatedTime());
+        outboxDAO.addEntry(entry);
+        metrics.recordEnqueued();
+    }
+
+    /**
+     * Get the runtime statistics of the outbox.
+     *
+     * @return Statistics of the outbox.
+     */
+    public ProvisioningOutboxMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Claim the due operations and hand them over to the {@link ProvisioningExecutor} in batches per connector.
+     * Operations claimed by this node which are still being delivered count towards the batch size, so that the
+     * outbox is not drained faster than the connectors can deliver.
+     */
+    void poll() {
+
+        try {
+            long currentTime = System.currentTimeMillis();
+            refreshBacklog(currentTime);
+            int limit = batchSize - inFlightOperations.get();
+            if (limit <= 0) {
+                return;
+            }
+            List<ProvisioningOutboxEntry> entries = outboxDAO.claimDueEntries(currentTime,
+                    currentTime + leaseTimeMillis, limit);
+            if (entries.isEmpty()) {
+                return;
+            }
+
+            Map<String, List<ProvisioningOutboxEntry>> batches = new LinkedHashMap<>();
+            for (ProvisioningOutboxEntry entry : entries) {
+                if (entry.getProvisioningEntity() == null) {
+                    recordFailure(entry, "Unreadable provisioning entity.", false);
+                    continue;
+                }
+                batches.computeIfAbsent(entry.getTenantId() + ":" + entry.getIdPName() + ":" +
+                        entry.getConnectorType(), key -> new ArrayList<>()).add(entry);
+            }
+            for (List<ProvisioningOutboxEntry> batch : batches.values()) {
+                inFlightOperations.addAndGet(batch.size());
+                ProvisioningOutboxEntry firstEntry = batch.get(0);
+                ProvisioningExecutor.getInstance().execute(firstEntry.getConnectorType(), firstEntry.getIdPName(),
+                        () -> deliver(batch));
+            }
+        } catch (IdentityProvisioningException | RuntimeException e) {
+            log.error("Error while dispatching the outbound provisioning operations of the outbox.", e);
+        }
+    }
+
+    /**
+     * Time to wait before the next delivery attempt of an operation.
+     *
+     * @param attempts Number of failed delivery attempts of the operation.
+     * @return Backoff time in milliseconds.
+     */
+    long getBackoffMillis(int attempts) {
+
+        long backoffMillis = initialBackoffMillis;
+        for (int i = 1; i < attempts && backoffMillis < maxBackoffMillis; i++) {
+            backoffMillis = backoffMillis > maxBackoffMillis / 2 ? maxBackoffMillis : backoffMillis * 2;
+        }
+        return Math.min(backoffMillis, maxBackoffMillis);
+    }
+
+    private Boolean deliver(List<ProvisioningOutboxEntry> batch) {
+
+        ProvisioningOutboxEntry firstEntry = batch.get(0);
+        String idPName = firstEntry.getIdPName();
+        String connectorType = firstEntry.getConnectorType();
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            String tenantDomain = IdentityTenantUtil.getTenantDomain(firstEntry.getTenantId());
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
+
+            AbstractOutboundProvisioningConnector connector;
+            try {
+                connector = OutboundProvisioningManager.getInstance().getOutboundProvisioningConnector(idPName,
+                        connectorType, tenantDomain);
+                if (connector == null) {
+                    throw new IdentityProvisioningException("Provisioning connector: " + connectorType +
+                            " is not enabled for connection: " + idPName);
+                }
+            } catch (IdentityProvisioningException | RuntimeException e) {
+                log.warn("Error while resolving the provisioning connector: " + connectorType + " of connection: " +
+                        idPName + " to deliver " + batch.size() + " outbox entries.", e);
+                for (ProvisioningOutboxEntry entry : batch) {
+                    recordFailure(entry, e.getMessage(), true);
+                }
+                return false;
+            }
+
+            List<ProvisioningOutboxEntry> bulkEntries = new ArrayList<>();
+            List<ProvisioningThread> bulkThreads = new ArrayList<>();
+            for (ProvisioningOutboxEntry entry : batch) {
+                try {
+                    ProvisioningThread provisioningThread = createProvisioningThread(entry, tenantDomain, connector);
+                    if (connector.isBulkProvisioningSupported() && batch.size() > 1
+                            && !provisioningThread.isSkippedForJitProvisioning()) {
+                        bulkEntries.add(entry);
+                        bulkThreads.add(provisioningThread);
+                        continue;
+                    }
+                    provisioningThread.call();
+                    recordSuccess(entry);
+                } catch (IdentityApplicationManagementException | IdentityProvisioningException | RuntimeException e) {
+                    recordFailure(entry, e.getMessage(), true);
+                }
+            }
+            if (!bulkEntries.isEmpty()) {
+                deliverBulk(connector, bulkEntries, bulkThreads);
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            inFlightOperations.addAndGet(-batch.size());
+        }
+        return true;
+    }
+
+    private void deliverBulk(AbstractOutboundProvisioningConnector connector, List<ProvisioningOutboxEntry> entries,
+                             List<ProvisioningThread> provisioningThreads) {
+
+        List<ProvisioningEntity> provisioningEntities = new ArrayList<>(entries.size());
+        for (ProvisioningThread provisioningThread : provisioningThreads) {
+            provisioningEntities.add(provisioningThread.getProvisioningEntity());
+        }
+        List<ProvisionedIdentifier> provisionedIdentifiers;
+        try {
+            provisionedIdentifiers = connector.provisionBulk(provisioningEntities);
+            if (provisionedIdentifiers == null || provisionedIdentifiers.size() != provisioningEntities.size()) {
+                throw new IdentityProvisioningException("Bulk provisioning request of " +
+                        provisioningEntities.size() + " operations returned " + (provisionedIdentifiers == null ?
+                        0 : provisionedIdentifiers.size()) + " identifiers.");
+            }
+        } catch (IdentityProvisioningException | RuntimeException e) {
+            log.warn("Bulk outbound provisioning of " + entries.size() + " operations failed via connection: " +
+                    entries.get(0).getIdPName() + ", connector: " + entries.get(0).getConnectorType(), e);
+            for (ProvisioningOutboxEntry entry : entries) {
+                recordFailure(entry, e.getMessage(), true);
+            }
+            return;
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                provisioningThreads.get(i).completeBulkProvisioning(provisionedIdentifiers.get(i));
+                recordSuccess(entries.get(i));
+            } catch (IdentityProvisioningException | RuntimeException e) {
+                recordFailure(entries.get(i), e.getMessage(), true);
+            }
+        }
+    }
+
+    private ProvisioningThread createProvisioningThread(ProvisioningOutboxEntry entry, String tenantDomain,
+                                                        AbstractOutboundProvisioningConnector connector)
+            throws IdentityApplicationManagementException {
+
+        ProvisioningEntity provisioningEntity = entry.getProvisioningEntity();
+        CacheBackedProvisioningMgtDAO provisioningMgtDAO = OutboundProvisioningManager.getProvisioningMgtDAO();
+        // The entity may have been created at the identity provider after this operation was added to the outbox.
+        if (provisioningEntity.getOperation() != ProvisioningOperation.POST && (provisioningEntity.getIdentifier()
+                == null || provisioningEntity.getIdentifier().getIdentifier() == null)) {
+            provisioningEntity.setIdentifier(provisioningMgtDAO.getProvisionedIdentifier(entry.getIdPName(),
+                    entry.getConnectorType(), provisioningEntity, entry.getTenantId(), tenantDomain));
+        }
+        return new ProvisioningThread(provisioningEntity, tenantDomain, entry.getEntityTenantDomain(), connector,
+                entry.getConnectorType(), entry.getIdPName(), provisioningMgtDAO,
+                entry.isJitProvisioningEnabledForIdP());
+    }
+
+    private void recordSuccess(ProvisioningOutboxEntry entry) {
+
+        try {
+            if (!outboxDAO.deleteEntry(entry)) {
+                log.warn("Lease of outbox entry: " + entry.getId() + " expired before it was delivered. The " +
+                        "operation may be delivered again.");
+            }
+            metrics.recordDelivered(System.currentTimeMillis() - entry.getCreatedTime());
+        } catch (IdentityProvisioningException e) {
+            log.error("Error while removing the delivered outbox entry: " + entry.getId(), e);
+        }
+    }
+
+    private void recordFailure(ProvisioningOutboxEntry entry, String error, boolean retry) {
+
+        int attempts = entry.getAttempts() + 1;
+        long currentTime = System.currentTimeMillis();
+        try {
+            if (retry && attempts < maxAttempts) {
+                long backoffMillis = getBackoffMillis(attempts);
+                outboxDAO.rescheduleEntry(entry, currentTime + backoffMillis, error);
+                metrics.recordRetried();
+                if (log.isDebugEnabled()) {
+                    log.debug("Delivery attempt " + attempts + " of outbox entry: " + entry.getId() + " failed. " +
+                            "Retrying in " + backoffMillis + " ms.");
+                }
+            } else {
+                if (!outboxDAO.deleteEntry(entry)) {
+                    log.warn("Lease of outbox entry: " + entry.getId() + " expired before it was given up. The " +
+                            "operation may be delivered again.");
+                }
+                metrics.recordFailed();
+                log.error("Giving up outbound provisioning operation of outbox entry: " + entry.getId() +
+                        " via connection: " + entry.getIdPName() + ", connector: " + entry.getConnectorType() +
+                        " after " + attempts + " attempts. Last error: " + error);
+            }
+        } catch (IdentityProvisioningException e) {
+            log.error("Error while rescheduling outbox entry: " + entry.getId(), e);
+        }
+    }
+
+    private void refreshBacklog(long currentTime) throws IdentityProvisioningException {
+
+        if (currentTime - lastBacklogRefreshTime < BACKLOG_REFRESH_INTERVAL_MILLIS) {
+            return;
+        }
+        lastBacklogRefreshTime = currentTime;
+        long[] backlog = outboxDAO.getBacklog();
+        metrics.updateBacklog(backlog[0], backlog[0] == 0 ? 0 : Math.max(0, currentTime - backlog[1]));
+    }
+
+    private static long readPositiveLong(String property, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            long parsedValue = Long.parseLong(value.trim());
+            if (parsedValue > 0) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the default value.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+}
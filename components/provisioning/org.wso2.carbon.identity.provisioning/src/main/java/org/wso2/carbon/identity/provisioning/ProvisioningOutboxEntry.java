@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+/**
+ * Outbound provisioning operation stored in the provisioning outbox until it is delivered to the provisioning
+ * identity provider.
+ */
+public class ProvisioningOutboxEntry {
+
+    /**
+     * Delivery status of an outbox entry.
+     */
+    public enum Status {
+
+        /**
+         * Waiting to be delivered, either for the first time or for a retry.
+         */
+        PENDING,
+        /**
+         * Claimed by a dispatcher. The entry becomes due again if it is not completed before the lease expires.
+         */
+        IN_FLIGHT
+    }
+
+    private String id;
+    private int tenantId;
+    private String idPName;
+    private String connectorType;
+    private String entityTenantDomain;
+    private boolean jitProvisioningEnabledForIdP;
+    private ProvisioningEntity provisioningEntity;
+    private Status status;
+    private int attempts;
+    private int rowVersion;
+    private long createdTime;
+    private long nextAttemptTime;
+
+    public String getId() {
+
+        return id;
+    }
+
+    public void setId(String id) {
+
+        this.id = id;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public void setTenantId(int tenantId) {
+
+        this.tenantId = tenantId;
+    }
+
+    public String getIdPName() {
+
+        return idPName;
+    }
+
+    public void setIdPName(String idPName) {
+
+        this.idPName = idPName;
+    }
+
+    public String getConnectorType() {
+
+        return connectorType;
+    }
+
+    public void setConnectorType(String connectorType) {
+
+        this.connectorType = connectorType;
+    }
+
+    public String getEntityTenantDomain() {
+
+        return entityTenantDomain;
+    }
+
+    public void setEntityTenantDomain(String entityTenantDomain) {
+
+        this.entityTenantDomain = entityTenantDomain;
+    }
+
+    public boolean isJitProvisioningEnabledForIdP() {
+
+        return jitProvisioningEnabledForIdP;
+    }
+
+    public void setJitProvisioningEnabledForIdP(boolean jitProvisioningEnabledForIdP) {
+
+        this.jitProvisioningEnabledForIdP = jitProvisioningEnabledForIdP;
+    }
+
+    public ProvisioningEntity getProvisioningEntity() {
+
+        return provisioningEntity;
+    }
+
+    public void setProvisioningEntity(ProvisioningEntity provisioningEntity) {
+
+        this.provisioningEntity = provisioningEntity;
+    }
+
+    public Status getStatus() {
+
+        return status;
+    }
+
+    public void setStatus(Status status) {
+
+        this.status = status;
+    }
+
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+
+        this.attempts = attempts;
+    }
+
+    /**
+     * Version of the stored entry. Every update of the entry increments the version, so that concurrent updates of
+     * the same entry can be detected.
+     *
+     * @return Version of the stored entry.
+     */
+    public int getRowVersion() {
+
+        return rowVersion;
+    }
+
+    public void setRowVersion(int rowVersion) {
+
+        this.rowVersion = rowVersion;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+
+    public void setCreatedTime(long createdTime) {
+
+        this.createdTime = createdTime;
+    }
+
+    public long getNextAttemptTime() {
+
+        return nextAttemptTime;
+    }
+
+    public void setNextAttemptTime(long nextAttemptTime) {
+
+        this.nextAttemptTime = nextAttemptTime;
+    }
+}
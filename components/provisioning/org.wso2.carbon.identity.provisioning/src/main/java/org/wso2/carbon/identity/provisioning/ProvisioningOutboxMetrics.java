@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runtime statistics of the outbound provisioning outbox. Counters cover the operations handled by this node, while
+ * the backlog covers the outbox shared by all the nodes.
+ */
+public class ProvisioningOutboxMetrics {
+
+    private final AtomicLong enqueuedOperations = new AtomicLong();
+    private final AtomicLong coalescedOperations = new AtomicLong();
+    private final AtomicLong cancelledOperations = new AtomicLong();
+    private final AtomicLong deliveredOperations = new AtomicLong();
+    private final AtomicLong retriedOperations = new AtomicLong();
+    private final AtomicLong failedOperations = new AtomicLong();
+    private final AtomicLong totalDeliveryLagMillis = new AtomicLong();
+    private final AtomicLong maxDeliveryLagMillis = new AtomicLong();
+    private volatile long pendingOperations;
+    private volatile long oldestPendingAgeMillis;
+
+    void recordEnqueued() {
+
+        enqueuedOperations.incrementAndGet();
+    }
+
+    void recordCoalesced() {
+
+        coalescedOperations.incrementAndGet();
+    }
+
+    void recordCancelled() {
+
+        cancelledOperations.incrementAndGet();
+    }
+
+    void recordDelivered(long deliveryLagMillis) {
+
+        deliveredOperations.incrementAndGet();
+        totalDeliveryLagMillis.addAndGet(deliveryLagMillis);
+        long current;
+        while (deliveryLagMillis > (current = maxDeliveryLagMillis.get())) {
+            if (maxDeliveryLagMillis.compareAndSet(current, deliveryLagMillis)) {
+                break;
+            }
+        }
+    }
+
+    void recordRetried() {
+
+        retriedOperations.incrementAndGet();
+    }
+
+    void recordFailed() {
+
+        failedOperations.incrementAndGet();
+    }
+
+    void updateBacklog(long pendingOperations, long oldestPendingAgeMillis) {
+
+        this.pendingOperations = pendingOperations;
+        this.oldestPendingAgeMillis = oldestPendingAgeMillis;
+    }
+
+    /**
+     * Number of operations added to the outbox as new entries.
+     */
+    public long getEnqueuedOperations() {
+
+        return enqueuedOperations.get();
+    }
+
+    /**
+     * Number of operations folded into an operation of the same entity which was already waiting in the outbox.
+     */
+    public long getCoalescedOperations() {
+
+        return coalescedOperations.get();
+    }
+
+    /**
+     * Number of operations which cancelled out a waiting operation of the same entity, such as deleting an entity
+     * which was not yet created at the provisioning identity provider.
+     */
+    public long getCancelledOperations() {
+
+        return cancelledOperations.get();
+    }
+
+    public long getDeliveredOperations() {
+
+        return deliveredOperations.get();
+    }
+
+    /**
+     * Number of failed delivery attempts which were scheduled for a retry.
+     */
+    public long getRetriedOperations() {
+
+        return retriedOperations.get();
+    }
+
+    /**
+     * Number of operations given up after the maximum number of delivery attempts.
+     */
+    public long getFailedOperations() {
+
+        return failedOperations.get();
+    }
+
+    /**
+     * Number of operations waiting in the outbox, as of the last poll of the outbox.
+     */
+    public long getPendingOperations() {
+
+        return pendingOperations;
+    }
+
+    /**
+     * Time the oldest waiting operation has spent in the outbox, as of the last poll of the outbox.
+     */
+    public long getOldestPendingAgeMillis() {
+
+        return oldestPendingAgeMillis;
+    }
+
+    /**
+     * Average time between adding an operation to the outbox and delivering it.
+     */
+    public long getAverageDeliveryLagMillis() {
+
+        long delivered = deliveredOperations.get();
+        return delivered == 0 ? 0 : totalDeliveryLagMillis.get() / delivered;
+    }
+
+    public long getMaxDeliveryLagMillis() {
+
+        return maxDeliveryLagMillis.get();
+    }
+
+    @Override
+    public String toString() {
+
+        return "ProvisioningOutboxMetrics{pending=" + getPendingOperations() + ", oldestPendingAgeMs=" +
+                getOldestPendingAgeMillis() + ", enqueued=" + getEnqueuedOperations() + ", coalesced=" +
+                getCoalescedOperations() + ", cancelled=" + getCancelledOperations() + ", delivered=" +
+                getDeliveredOperations() + ", retried=" + getRetriedOperations() + ", failed=" +
+                getFailedOperations() + ", avgDeliveryLagMs=" + getAverageDeliveryLagMillis() +
+                ", maxDeliveryLagMs=" + getMaxDeliveryLagMillis() + "}";
+    }
+}
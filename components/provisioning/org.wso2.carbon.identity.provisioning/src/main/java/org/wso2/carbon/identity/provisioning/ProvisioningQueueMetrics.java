@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Runtime statistics of the outbound provisioning queue of a single connector of an identity provider.
+ */
+public class ProvisioningQueueMetrics {
+
+    private final String connectorType;
+    private final String idPName;
+    private final IntSupplier queueDepth;
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicInteger inFlightTasks = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private final AtomicLong callerRunTasks = new AtomicLong();
+
+    ProvisioningQueueMetrics(String connectorType, String idPName, IntSupplier queueDepth) {
+
+        this.connectorType = connectorType;
+        this.idPName = idPName;
+        this.queueDepth = queueDepth;
+    }
+
+    void recordSubmitted() {
+
+        submittedTasks.incrementAndGet();
+    }
+
+    void recordCallerRun() {
+
+        callerRunTasks.incrementAndGet();
+    }
+
+    void recordStarted() {
+
+        inFlightTasks.incrementAndGet();
+    }
+
+    void recordFinished(boolean success) {
+
+        inFlightTasks.decrementAndGet();
+        if (success) {
+            completedTasks.incrementAndGet();
+        } else {
+            failedTasks.incrementAndGet();
+        }
+    }
+
+    public String getConnectorType() {
+
+        return connectorType;
+    }
+
+    public String getIdPName() {
+
+        return idPName;
+    }
+
+    /**
+     * Number of provisioning operations waiting in the queue.
+     */
+    public int getQueuedTasks() {
+
+        return queueDepth.getAsInt();
+    }
+
+    /**
+     * Number of provisioning operations currently running.
+     */
+    public int getInFlightTasks() {
+
+        return inFlightTasks.get();
+    }
+
+    public long getSubmittedTasks() {
+
+        return submittedTasks.get();
+    }
+
+    public long getCompletedTasks() {
+
+        return completedTasks.get();
+    }
+
+    /**
+     * Number of provisioning operations which returned an unsuccessful result or failed with an exception.
+     */
+    public long getFailedTasks() {
+
+        return failedTasks.get();
+    }
+
+    /**
+     * Number of provisioning operations run in the calling thread because the queue was full.
+     */
+    public long getCallerRunTasks() {
+
+        return callerRunTasks.get();
+    }
+
+    @Override
+    public String toString() {
+
+        return "ProvisioningQueueMetrics{idp=" + idPName + ", connector=" + connectorType + ", queued=" +
+                getQueuedTasks() + ", inFlight=" + getInFlightTasks() + ", submitted=" + getSubmittedTasks() +
+                ", completed=" + getCompletedTasks() + ", failed=" + getFailedTasks() + ", callerRuns=" +
+                getCallerRunTasks() + "}";
+    }
+}
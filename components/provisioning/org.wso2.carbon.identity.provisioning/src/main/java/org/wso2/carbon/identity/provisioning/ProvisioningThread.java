@@ -92,6 +92,67 @@ public class ProvisioningThread implements Callable<Boolean> {
     @Override
     public Boolean call() throws IdentityProvisioningException {
 
+        return provision(false, null);
+    }
+
+    /**
+     * Complete an operation which was already delivered to the provisioning identity provider as part of a bulk
+     * request, by storing the provisioned identifier for future reference.
+     *
+     * @param provisionedIdentifier Identifier returned by the bulk request for this operation.
+     * @return True if the operation was completed.
+     * @throws IdentityProvisioningException If the operation could not be completed.
+     */
+    Boolean completeBulkProvisioning(ProvisionedIdentifier provisionedIdentifier)
+            throws IdentityProvisioningException {
+
+        return provision(true, provisionedIdentifier);
+    }
+
+    /**
+     * Check whether the operation is skipped since it is triggered by a JIT provisioning flow and JIT outbound
+     * provisioning is disabled for the connector.
+     *
+     * @return True if the operation is not delivered to the provisioning identity provider.
+     */
+    boolean isSkippedForJitProvisioning() {
+
+        return provisioningEntity.isJitProvisioning() && !jitProvisioningEnabledForIdP;
+    }
+
+    ProvisioningEntity getProvisioningEntity() {
+
+        return provisioningEntity;
+    }
+
+    String getTenantDomainName() {
+
+        return tenantDomainName;
+    }
+
+    String getProvisioningEntityTenantDomainName() {
+
+        return provisioningEntityTenantDomainName;
+    }
+
+    String getConnectorType() {
+
+        return connectorType;
+    }
+
+    String getIdPName() {
+
+        return idPName;
+    }
+
+    boolean isJitProvisioningEnabledForIdP() {
+
+        return jitProvisioningEnabledForIdP;
+    }
+
+    private Boolean provision(boolean bulkProvisioned, ProvisionedIdentifier bulkProvisionedIdentifier)
+            throws IdentityProvisioningException {
+
         boolean success = false;
         String tenantDomainName = this.tenantDomainName;
         String provisioningEntityTenantDomainName = this.provisioningEntityTenantDomainName;
@@ -109,7 +170,7 @@ public class ProvisioningThread implements Callable<Boolean> {
 
             /* Skip outbound provisioning triggered for JIT provisioning flow, where the JIT outbound is disabled for
                the configured connector. */
-            if (provisioningEntity.isJitProvisioning() && !jitProvisioningEnabledForIdP) {
+            if (isSkippedForJitProvisioning()) {
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("Skipping outbound provisioning for entity: %s via IDP: %s, connector: " +
                             "%s. Reason: JIT provisioning is not enabled for this provisioning connector.",
@@ -132,8 +193,12 @@ public class ProvisioningThread implements Callable<Boolean> {
                 return true;
             }
             ProvisionedIdentifier provisionedIdentifier = null;
-            // real provisioning happens now.
-            provisionedIdentifier = connector.provision(provisioningEntity);
+            if (bulkProvisioned) {
+                provisionedIdentifier = bulkProvisionedIdentifier;
+            } else {
+                // real provisioning happens now.
+                provisionedIdentifier = connector.provision(provisioningEntity);
+            }
 
             if (provisioningEntity.getOperation() == ProvisioningOperation.DELETE) {
                 deleteProvisionedEntityIdentifier(idPName, connectorType, provisioningEntity,
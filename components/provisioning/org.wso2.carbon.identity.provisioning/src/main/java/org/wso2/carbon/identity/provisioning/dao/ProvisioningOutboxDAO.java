@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningException;
+import org.wso2.carbon.identity.provisioning.ProvisioningEntity;
+import org.wso2.carbon.identity.provisioning.ProvisioningOutboxEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data access object of the outbound provisioning outbox. Every update is guarded by the row version of the entry, so
+ * that nodes sharing the outbox never overwrite each other's changes. The provisioning entity of an entry is stored
+ * as a JSON payload with its credentials encrypted.
+ */
+public class ProvisioningOutboxDAO {
+
+    private static final Log log = LogFactory.getLog(ProvisioningOutboxDAO.class);
+
+    /**
+     * Add a new entry to the outbox.
+     *
+     * @param entry Outbox entry.
+     * @throws IdentityProvisioningException If an error occurred while adding the entry.
+     */
+    public void addEntry(ProvisioningOutboxEntry entry) throws IdentityProvisioningException {
+
+        ProvisioningEntity provisioningEntity = entry.getProvisioningEntity();
+        byte[] payload = ProvisioningOutboxPayload.serialize(provisioningEntity);
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(IdentityProvisioningConstants.SQLQueries.ADD_OUTBOX_ENTRY_SQL);
+            prepStmt.setString(1, entry.getId());
+            prepStmt.setInt(2, entry.getTenantId());
+            prepStmt.setString(3, entry.getIdPName());
+            prepStmt.setString(4, entry.getConnectorType());
+            prepStmt.setString(5, provisioningEntity.getEntityType().toString());
+            prepStmt.setString(6, provisioningEntity.getEntityName());
+            prepStmt.setString(7, entry.getEntityTenantDomain());
+            prepStmt.setString(8, provisioningEntity.getOperation().toString());
+            prepStmt.setString(9, entry.isJitProvisioningEnabledForIdP() ? "1" : "0");
+            prepStmt.setString(10, ProvisioningOutboxEntry.Status.PENDING.name());
+            prepStmt.setBinaryStream(11, new ByteArrayInputStream(payload), payload.length);
+            prepStmt.setLong(12, entry.getCreatedTime());
+            prepStmt.setLong(13, entry.getNextAttemptTime());
+            prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            throw new IdentityProvisioningException("Error while adding outbound provisioning operation of entity: "
+                    + provisioningEntity.getEntityName() + " to the outbox of tenant: " + entry.getTenantId(), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Get the most recent entry of the given entity.
+     *
+     * @param tenantId           Tenant id.
+     * @param idPName            Name of the provisioning identity provider.
+     * @param connectorType      Type of the provisioning connector.
+     * @param provisioningEntity Provisioning entity.
+     * @return Most recent entry of the entity or null if the entity has no entries in the outbox.
+     * @throws IdentityProvisioningException If an error occurred while reading the entry.
+     */
+    public ProvisioningOutboxEntry getLatestEntry(int tenantId, String idPName, String connectorType,
+                                                  ProvisioningEntity provisioningEntity)
+            throws IdentityProvisioningException {
+
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(false);
+        PreparedStatement prepStmt = null;
+        ResultSet rs = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(
+                    IdentityProvisioningConstants.SQLQueries.GET_LATEST_OUTBOX_ENTRY_OF_ENTITY_SQL);
+            prepStmt.setMaxRows(1);
+            prepStmt.setInt(1, tenantId);
+            prepStmt.setString(2, provisioningEntity.getEntityName());
+            prepStmt.setString(3, provisioningEntity.getEntityType().toString());
+            prepStmt.setString(4, idPName);
+            prepStmt.setString(5, connectorType);
+            rs = prepStmt.executeQuery();
+            return rs.next() ? buildEntry(rs) : null;
+        } catch (SQLException e) {
+            throw new IdentityProvisioningException("Error while reading the outbox entries of entity: "
+                    + provisioningEntity.getEntityName() + " of tenant: " + tenantId, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, rs, prepStmt);
+        }
+    }
+
+    /**
+     * Replace the provisioning operation of a pending entry.
+     *
+     * @param entry              Pending entry as read from the outbox.
+     * @param provisioningEntity New provisioning operation of the entry.
+     * @return False if the entry was changed or claimed after it was read.
+     * @throws IdentityProvisioningException If an error occurred while updating the entry.
+     */
+    public boolean updatePendingEntry(ProvisioningOutboxEntry entry, ProvisioningEntity provisioningEntity)
+            throws IdentityProvisioningException {
+
+        byte[] payload = ProvisioningOutboxPayload.serialize(provisioningEntity);
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(
+                    IdentityProvisioningConstants.SQLQueries.UPDATE_PENDING_OUTBOX_ENTRY_SQL);
+            prepStmt.setString(1, provisioningEntity.getOperation().toString());
+            prepStmt.setString(2, entry.isJitProvisioningEnabledForIdP() ? "1" : "0");
+            prepStmt.setBinaryStream(3, new ByteArrayInputStream(payload), payload.length);
+            prepStmt.setString(4, entry.getId());
+            prepStmt.setInt(5, entry.getRowVersion());
+            int updated = prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+            return updated > 0;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            throw new IdentityProvisioningException("Error while updating outbox entry: " + entry.getId(), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Remove a pending entry from the outbox.
+     *
+     * @param entry Pending entry as read from the outbox.
+     * @return False if the entry was changed or claimed after it was read.
+     * @throws IdentityProvisioningException If an error occurred while removing the entry.
+     */
+    public boolean deletePendingEntry(ProvisioningOutboxEntry entry) throws IdentityProvisioningException {
+
+        return delete(IdentityProvisioningConstants.SQLQueries.DELETE_PENDING_OUTBOX_ENTRY_SQL, entry);
+    }
+
+    /**
+     * Claim up to the given number of due entries for delivery. Claimed entries are leased to the caller until the
+     * given lease expiry time.
+     *
+     * @param currentTime Current time in milliseconds.
+     * @param leaseExpiry Time in milliseconds after which the claimed entries become due again.
+     * @param limit       Maximum number of entries to claim.
+     * @return Claimed entries in the order they were added to the outbox.
+     * @throws IdentityProvisioningException If an error occurred while claiming the entries.
+     */
+    public List<ProvisioningOutboxEntry> claimDueEntries(long currentTime, long leaseExpiry, int limit)
+            throws IdentityProvisioningException {
+
+        List<ProvisioningOutboxEntry> dueEntries = new ArrayList<>();
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        PreparedStatement claimStmt = null;
+        ResultSet rs = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(
+                    IdentityProvisioningConstants.SQLQueries.GET_DUE_OUTBOX_ENTRIES_SQL);
+            prepStmt.setMaxRows(limit);
+            prepStmt.setLong(1, currentTime);
+            rs = prepStmt.executeQuery();
+            while (rs.next()) {
+                dueEntries.add(buildEntry(rs));
+            }
+
+            List<ProvisioningOutboxEntry> claimedEntries = new ArrayList<>();
+            claimStmt = dbConnection.prepareStatement(IdentityProvisioningConstants.SQLQueries.CLAIM_OUTBOX_ENTRY_SQL);
+            for (ProvisioningOutboxEntry entry : dueEntries) {
+                claimStmt.setLong(1, leaseExpiry);
+                claimStmt.setString(2, entry.getId());
+                claimStmt.setInt(3, entry.getRowVersion());
+                // Entries claimed by another node in the meantime are skipped.
+                if (claimStmt.executeUpdate() > 0) {
+                    entry.setStatus(ProvisioningOutboxEntry.Status.IN_FLIGHT);
+                    entry.setRowVersion(entry.getRowVersion() + 1);
+                    entry.setNextAttemptTime(leaseExpiry);
+                    claimedEntries.add(entry);
+                }
+            }
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+            return claimedEntries;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            throw new IdentityProvisioningException("Error while claiming due outbound provisioning operations.", e);
+        } finally {
+            IdentityDatabaseUtil.closeStatement(claimStmt);
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, rs, prepStmt);
+        }
+    }
+
+    /**
+     * Remove a claimed entry from the outbox once it is delivered or given up.
+     *
+     * @param entry Claimed entry.
+     * @return False if the lease of the entry expired and the entry was claimed again.
+     * @throws IdentityProvisioningException If an error occurred while removing the entry.
+     */
+    public boolean deleteEntry(ProvisioningOutboxEntry entry) throws IdentityProvisioningException {
+
+        return delete(IdentityProvisioningConstants.SQLQueries.DELETE_OUTBOX_ENTRY_SQL, entry);
+    }
+
+    /**
+     * Record a failed delivery attempt of a claimed entry and make it pending for a retry.
+     *
+     * @param entry           Claimed entry.
+     * @param nextAttemptTime Time in milliseconds of the next delivery attempt.
+     * @param error           Error of the failed attempt.
+     * @return False if the lease of the entry expired and the entry was claimed again.
+     * @throws IdentityProvisioningException If an error occurred while updating the entry.
+     */
+    public boolean rescheduleEntry(ProvisioningOutboxEntry entry, long nextAttemptTime, String error)
+            throws IdentityProvisioningException {
+
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(
+                    IdentityProvisioningConstants.SQLQueries.RESCHEDULE_OUTBOX_ENTRY_SQL);
+            prepStmt.setLong(1, nextAttemptTime);
+            prepStmt.setString(2, error != null && error.length() > 1024 ? error.substring(0, 1024) : error);
+            prepStmt.setString(3, entry.getId());
+            prepStmt.setInt(4, entry.getRowVersion());
+            int updated = prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+            return updated > 0;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            throw new IdentityProvisioningException("Error while rescheduling outbox entry: " + entry.getId(), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Get the number of entries waiting to be delivered and the creation time of the oldest of them.
+     *
+     * @return Two element array with the number of entries and the creation time of the oldest entry, which is 0 if
+     * the outbox is empty.
+     * @throws IdentityProvisioningException If an error occurred while reading the outbox.
+     */
+    public long[] getBacklog() throws IdentityProvisioningException {
+
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(false);
+        PreparedStatement prepStmt = null;
+        ResultSet rs = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(IdentityProvisioningConstants.SQLQueries.GET_OUTBOX_BACKLOG_SQL);
+            rs = prepStmt.executeQuery();
+            if (rs.next()) {
+                return new long[]{rs.getLong(1), rs.getLong(2)};
+            }
+            return new long[]{0, 0};
+        } catch (SQLException e) {
+            throw new IdentityProvisioningException("Error while reading the outbound provisioning outbox.", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, rs, prepStmt);
+        }
+    }
+
+    private boolean delete(String sqlStmt, ProvisioningOutboxEntry entry) throws IdentityProvisioningException {
+
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = dbConnection.prepareStatement(sqlStmt);
+            prepStmt.setString(1, entry.getId());
+            prepStmt.setInt(2, entry.getRowVersion());
+            int deleted = prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+            return deleted > 0;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            throw new IdentityProvisioningException("Error while removing outbox entry: " + entry.getId(), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, null, prepStmt);
+        }
+    }
+
+    private ProvisioningOutboxEntry buildEntry(ResultSet rs) throws SQLException {
+
+        ProvisioningOutboxEntry entry = new ProvisioningOutboxEntry();
+        entry.setId(rs.getString("ID"));
+        entry.setTenantId(rs.getInt("TENANT_ID"));
+        entry.setIdPName(rs.getString("IDP_NAME"));
+        entry.setConnectorType(rs.getString("CONNECTOR_TYPE"));
+        entry.setEntityTenantDomain(rs.getString("ENTITY_TENANT_DOMAIN"));
+        entry.setJitProvisioningEnabledForIdP("1".equals(rs.getString("JIT_ENABLED")));
+        entry.setStatus(ProvisioningOutboxEntry.Status.valueOf(rs.getString("STATUS")));
+        entry.setAttempts(rs.getInt("ATTEMPTS"));
+        entry.setRowVersion(rs.getInt("ROW_VERSION"));
+        entry.setCreatedTime(rs.getLong("CREATED_TIME"));
+        entry.setNextAttemptTime(rs.getLong("NEXT_ATTEMPT_TIME"));
+        entry.setProvisioningEntity(getPayload(rs, entry.getId()));
+        return entry;
+    }
+
+    /**
+     * Read the provisioning entity of an entry. An unreadable payload is logged and returned as null, so that a
+     * single corrupted entry does not block the rest of the outbox.
+     */
+    private ProvisioningEntity getPayload(ResultSet rs, String entryId) throws SQLException {
+
+        try (InputStream inputStream = rs.getBinaryStream("PAYLOAD")) {
+            if (inputStream == null) {
+                log.error("Outbox entry: " + entryId + " has no payload.");
+                return null;
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return ProvisioningOutboxPayload.deserialize(outputStream.toByteArray());
+        } catch (IOException | IdentityProvisioningException e) {
+            log.error("Error while reading the payload of outbox entry: " + entryId, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning.dao;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wso2.carbon.core.util.CryptoException;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.application.common.model.Claim;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningException;
+import org.wso2.carbon.identity.provisioning.ProvisionedIdentifier;
+import org.wso2.carbon.identity.provisioning.ProvisioningEntity;
+import org.wso2.carbon.identity.provisioning.ProvisioningEntityType;
+import org.wso2.carbon.identity.provisioning.ProvisioningOperation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON payload of a provisioning entity stored in the outbox. The values of the credential claims are encrypted with
+ * the default crypto util, so that credentials are never stored in plain text.
+ */
+final class ProvisioningOutboxPayload {
+
+    private static final int VERSION = 1;
+    private static final Set<String> CREDENTIAL_CLAIM_URIS = Collections.unmodifiableSet(new HashSet<>(
+            Collections.singletonList(IdentityProvisioningConstants.PASSWORD_CLAIM_URI)));
+
+    private static final String VERSION_KEY = "version";
+    private static final String ENTITY_TYPE = "entityType";
+    private static final String ENTITY_NAME = "entityName";
+    private static final String OPERATION = "operation";
+    private static final String JIT_PROVISIONING = "jitProvisioning";
+    private static final String IDENTIFIER = "identifier";
+    private static final String ATTRIBUTES = "attributes";
+    private static final String INBOUND_ATTRIBUTES = "inboundAttributes";
+    private static final String LOCAL_CLAIM = "localClaim";
+    private static final String REMOTE_CLAIM = "remoteClaim";
+    private static final String CLAIM_URI = "uri";
+    private static final String CLAIM_ID = "id";
+    private static final String DEFAULT_VALUE = "defaultValue";
+    private static final String REQUESTED = "requested";
+    private static final String MANDATORY = "mandatory";
+    private static final String ENCRYPTED = "encrypted";
+    private static final String VALUES = "values";
+
+    private ProvisioningOutboxPayload() {
+
+    }
+
+    /**
+     * Write a provisioning entity as a JSON payload.
+     *
+     * @param provisioningEntity Provisioning entity.
+     * @return UTF-8 encoded JSON payload.
+     * @throws IdentityProvisioningException If the credentials of the entity could not be encrypted.
+     */
+    static byte[] serialize(ProvisioningEntity provisioningEntity) throws IdentityProvisioningException {
+
+        JSONObject payload = new JSONObject();
+        payload.put(VERSION_KEY, VERSION);
+        payload.put(ENTITY_TYPE, provisioningEntity.getEntityType().name());
+        payload.put(ENTITY_NAME, provisioningEntity.getEntityName());
+        payload.put(OPERATION, provisioningEntity.getOperation().name());
+        payload.put(JIT_PROVISIONING, provisioningEntity.isJitProvisioning());
+        if (provisioningEntity.getIdentifier() != null && provisioningEntity.getIdentifier().getIdentifier() != null) {
+            payload.put(IDENTIFIER, provisioningEntity.getIdentifier().getIdentifier());
+        }
+        if (provisioningEntity.getAttributes() != null) {
+            JSONArray attributes = new JSONArray();
+            for (Map.Entry<ClaimMapping, List<String>> attribute : provisioningEntity.getAttributes().entrySet()) {
+                attributes.put(writeAttribute(attribute.getKey(), attribute.getValue(),
+                        provisioningEntity.getEntityName()));
+            }
+            payload.put(ATTRIBUTES, attributes);
+        }
+        if (provisioningEntity.getInboundAttributes() != null) {
+            JSONObject inboundAttributes = new JSONObject();
+            for (Map.Entry<String, String> attribute : provisioningEntity.getInboundAttributes().entrySet()) {
+                inboundAttributes.put(attribute.getKey(), attribute.getValue() != null ? attribute.getValue() :
+                        JSONObject.NULL);
+            }
+            payload.put(INBOUND_ATTRIBUTES, inboundAttributes);
+        }
+        return payload.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a provisioning entity from a JSON payload.
+     *
+     * @param payload UTF-8 encoded JSON payload.
+     * @return Provisioning entity.
+     * @throws IdentityProvisioningException If the payload is not a valid payload of a provisioning entity or its
+     *                                       credentials could not be decrypted.
+     */
+    static ProvisioningEntity deserialize(byte[] payload) throws IdentityProvisioningException {
+
+        try {
+            JSONObject json = new JSONObject(new String(payload, StandardCharsets.UTF_8));
+            if (json.getInt(VERSION_KEY) != VERSION) {
+                throw new IdentityProvisioningException("Unsupported outbox payload version: " +
+                        json.getInt(VERSION_KEY));
+            }
+            Map<ClaimMapping, List<String>> attributes = null;
+            JSONArray attributesJson = json.optJSONArray(ATTRIBUTES);
+            if (attributesJson != null) {
+                attributes = new LinkedHashMap<>();
+                for (int i = 0; i < attributesJson.length(); i++) {
+                    readAttribute(attributesJson.getJSONObject(i), attributes);
+                }
+            }
+            ProvisioningEntity provisioningEntity = new ProvisioningEntity(
+                    ProvisioningEntityType.valueOf(json.getString(ENTITY_TYPE)), json.optString(ENTITY_NAME, null),
+                    ProvisioningOperation.valueOf(json.getString(OPERATION)), attributes);
+            provisioningEntity.setJitProvisioning(json.optBoolean(JIT_PROVISIONING));
+            if (json.has(IDENTIFIER)) {
+                ProvisionedIdentifier identifier = new ProvisionedIdentifier();
+                identifier.setIdentifier(json.getString(IDENTIFIER));
+                provisioningEntity.setIdentifier(identifier);
+            }
+            JSONObject inboundAttributesJson = json.optJSONObject(INBOUND_ATTRIBUTES);
+            if (inboundAttributesJson != null) {
+                Map<String, String> inboundAttributes = new LinkedHashMap<>();
+                for (String key : inboundAttributesJson.keySet()) {
+                    inboundAttributes.put(key, inboundAttributesJson.isNull(key) ? null :
+                            inboundAttributesJson.getString(key));
+                }
+                provisioningEntity.setInboundAttributes(inboundAttributes);
+            }
+            return provisioningEntity;
+        } catch (JSONException | IllegalArgumentException e) {
+            throw new IdentityProvisioningException("Invalid outbox payload.", e);
+        }
+    }
+
+    private static JSONObject writeAttribute(ClaimMapping claimMapping, List<String> values, String entityName)
+            throws IdentityProvisioningException {
+
+        JSONObject attribute = new JSONObject();
+        if (claimMapping.getLocalClaim() != null) {
+            attribute.put(LOCAL_CLAIM, writeClaim(claimMapping.getLocalClaim()));
+        }
+        if (claimMapping.getRemoteClaim() != null) {
+            attribute.put(REMOTE_CLAIM, writeClaim(claimMapping.getRemoteClaim()));
+        }
+        if (claimMapping.getDefaultValue() != null) {
+            attribute.put(DEFAULT_VALUE, claimMapping.getDefaultValue());
+        }
+        attribute.put(REQUESTED, claimMapping.isRequested());
+        attribute.put(MANDATORY, claimMapping.isMandatory());
+        if (values == null) {
+            return attribute;
+        }
+
+        boolean credential = claimMapping.getLocalClaim() != null &&
+                CREDENTIAL_CLAIM_URIS.contains(claimMapping.getLocalClaim().getClaimUri());
+        JSONArray valuesJson = new JSONArray();
+        for (String value : values) {
+            if (value == null) {
+                valuesJson.put(JSONObject.NULL);
+            } else if (credential) {
+                valuesJson.put(encrypt(value, entityName));
+            } else {
+                valuesJson.put(value);
+            }
+        }
+        attribute.put(ENCRYPTED, credential);
+        attribute.put(VALUES, valuesJson);
+        return attribute;
+    }
+
+    private static void readAttribute(JSONObject attribute, Map<ClaimMapping, List<String>> attributes)
+            throws IdentityProvisioningException {
+
+        ClaimMapping claimMapping = new ClaimMapping();
+        claimMapping.setLocalClaim(readClaim(attribute.optJSONObject(LOCAL_CLAIM)));
+        claimMapping.setRemoteClaim(readClaim(attribute.optJSONObject(REMOTE_CLAIM)));
+        claimMapping.setDefaultValue(attribute.optString(DEFAULT_VALUE, null));
+        claimMapping.setRequested(attribute.optBoolean(REQUESTED));
+        claimMapping.setMandatory(attribute.optBoolean(MANDATORY));
+
+        List<String> values = null;
+        JSONArray valuesJson = attribute.optJSONArray(VALUES);
+        if (valuesJson != null) {
+            boolean encrypted = attribute.optBoolean(ENCRYPTED);
+            values = new ArrayList<>(valuesJson.length());
+            for (int i = 0; i < valuesJson.length(); i++) {
+                if (valuesJson.isNull(i)) {
+                    values.add(null);
+                } else {
+                    values.add(encrypted ? decrypt(valuesJson.getString(i)) : valuesJson.getString(i));
+                }
+            }
+        }
+        attributes.put(claimMapping, values);
+    }
+
+    private static JSONObject writeClaim(Claim claim) {
+
+        JSONObject claimJson = new JSONObject();
+        if (claim.getClaimUri() != null) {
+            claimJson.put(CLAIM_URI, claim.getClaimUri());
+        }
+        claimJson.put(CLAIM_ID, claim.getClaimId());
+        return claimJson;
+    }
+
+    private static Claim readClaim(JSONObject claimJson) {
+
+        if (claimJson == null) {
+            return null;
+        }
+        Claim claim = new Claim();
+        claim.setClaimUri(claimJson.optString(CLAIM_URI, null));
+        claim.setClaimId(claimJson.optInt(CLAIM_ID));
+        return claim;
+    }
+
+    private static String encrypt(String value, String entityName) throws IdentityProvisioningException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            return CryptoUtil.getDefaultCryptoUtil().encryptAndBase64Encode(bytes);
+        } catch (CryptoException e) {
+            throw new IdentityProvisioningException("Error while encrypting the credentials of the provisioning " +
+                    "entity: " + entityName, e);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    private static String decrypt(String value) throws IdentityProvisioningException {
+
+        try {
+            return new String(CryptoUtil.getDefaultCryptoUtil().base64DecodeAndDecrypt(value),
+                    StandardCharsets.UTF_8);
+        } catch (CryptoException e) {
+            throw new IdentityProvisioningException("Error while decrypting the credentials of an outbox payload.", e);
+        }
+    }
+}
@@ -32,6 +32,8 @@ import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorCo
 import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.provisioning.rules.ProvisioningHandler;
 import org.wso2.carbon.identity.provisioning.AbstractProvisioningConnectorFactory;
+import org.wso2.carbon.identity.provisioning.ProvisioningExecutor;
+import org.wso2.carbon.identity.provisioning.ProvisioningOutbox;
 import org.wso2.carbon.identity.provisioning.listener.DefaultInboundUserProvisioningListener;
 import org.wso2.carbon.identity.provisioning.listener.ProvisioningApplicationMgtListener;
 import org.wso2.carbon.identity.provisioning.listener.ProvisioningErrorListener;
@@ -53,6 +55,7 @@ import java.util.Map;
 public class IdentityProvisionServiceComponent {
 
     private static final Log log = LogFactory.getLog(IdentityProvisionServiceComponent.class);
+    private static final long PROVISIONING_EXECUTOR_SHUTDOWN_TIMEOUT_MILLIS = 10000L;
 
     /**
      * @return
@@ -115,6 +118,9 @@ public class IdentityProvisionServiceComponent {
             if (log.isDebugEnabled()) {
                 log.debug("Identity provisioning error event listener registered successfully");
             }
+            if (ProvisioningOutbox.isEnabled()) {
+                ProvisioningOutbox.getInstance().start();
+            }
         } catch (Throwable e) {
             log.error("Error while initiating identity provisioning connector framework", e);
         }
@@ -125,6 +131,9 @@ public class IdentityProvisionServiceComponent {
      */
     @Deactivate
     protected void deactivate(ComponentContext context) {
+        // Stop claiming outbox entries before the executor that delivers them is shut down.
+        ProvisioningOutbox.shutdownInstance(PROVISIONING_EXECUTOR_SHUTDOWN_TIMEOUT_MILLIS);
+        ProvisioningExecutor.shutdownInstance(PROVISIONING_EXECUTOR_SHUTDOWN_TIMEOUT_MILLIS);
         if (log.isDebugEnabled()) {
             log.debug("Identity Provision bundle is de-activated");
         }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.slf4j.MDC;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ProvisioningExecutorTest {
+
+    private static final String CORRELATION_ID = "Correlation-ID";
+
+    @Test
+    public void testConcurrencyIsLimitedPerConnector() throws Exception {
+
+        ProvisioningExecutor executor = new ProvisioningExecutor(4, 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            executor.execute("scim2", "slowIdP", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                running.decrementAndGet();
+                return true;
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // The blocked connector does not hold back the other connectors.
+        CountDownLatch otherDone = new CountDownLatch(1);
+        executor.execute("scim2", "otherIdP", () -> {
+            otherDone.countDown();
+            return true;
+        });
+        assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+
+        ProvisioningQueueMetrics metrics = executor.getMetrics().get("slowIdP:scim2");
+        assertEquals(metrics.getInFlightTasks(), 1);
+        assertEquals(metrics.getQueuedTasks(), 2);
+
+        release.countDown();
+        executor.shutdown(5000L);
+        assertEquals(maxRunning.get(), 1);
+        assertEquals(metrics.getCompletedTasks(), 3);
+        assertEquals(metrics.getQueuedTasks(), 0);
+    }
+
+    @Test
+    public void testOperationRunsInCallerWhenQueueIsFull() throws Exception {
+
+        ProvisioningExecutor executor = new ProvisioningExecutor(1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute("scim2", "idp", () -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute("scim2", "idp", () -> true);
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger callerRuns = new AtomicInteger();
+        executor.execute("scim2", "idp", () -> {
+            if (Thread.currentThread() == caller) {
+                callerRuns.incrementAndGet();
+            }
+            return true;
+        });
+        assertEquals(callerRuns.get(), 1);
+        assertEquals(executor.getMetrics().get("idp:scim2").getCallerRunTasks(), 1);
+
+        release.countDown();
+        executor.shutdown(5000L);
+        assertEquals(executor.getMetrics().get("idp:scim2").getCompletedTasks(), 3);
+    }
+
+    @Test
+    public void testFailedOperationsAreCounted() {
+
+        ProvisioningExecutor executor = new ProvisioningExecutor(2, 10, 2);
+        executor.execute("scim2", "idp", () -> false);
+        executor.execute("scim2", "idp", () -> {
+            throw new IdentityProvisioningException("Provisioning failed.");
+        });
+        executor.execute("scim2", "idp", () -> true);
+        executor.shutdown(5000L);
+
+        ProvisioningQueueMetrics metrics = executor.getMetrics().get("idp:scim2");
+        assertEquals(metrics.getSubmittedTasks(), 3);
+        assertEquals(metrics.getFailedTasks(), 2);
+        assertEquals(metrics.getCompletedTasks(), 1);
+        assertEquals(metrics.getInFlightTasks(), 0);
+    }
+
+    @Test
+    public void testOperationRunsWithMDCContextOfCaller() throws Exception {
+
+        ProvisioningExecutor executor = new ProvisioningExecutor(1, 10, 1);
+        AtomicReference<String> queuedCorrelationId = new AtomicReference<>();
+        AtomicReference<String> callerRunCorrelationId = new AtomicReference<>();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            MDC.put(CORRELATION_ID, "queued-request");
+            executor.execute("scim2", "idp", () -> {
+                release.await(5, TimeUnit.SECONDS);
+                queuedCorrelationId.set(MDC.get(CORRELATION_ID));
+                return true;
+            });
+            MDC.put(CORRELATION_ID, "current-request");
+            executor.shutdown(0L);
+            // The executor is shut down, hence the operation runs in the calling thread.
+            executor.execute("scim2", "idp", () -> {
+                callerRunCorrelationId.set(MDC.get(CORRELATION_ID));
+                return true;
+            });
+            assertEquals(MDC.get(CORRELATION_ID), "current-request");
+        } finally {
+            release.countDown();
+            MDC.remove(CORRELATION_ID);
+        }
+
+        executor.shutdown(5000L);
+        assertEquals(queuedCorrelationId.get(), "queued-request");
+        assertEquals(callerRunCorrelationId.get(), "current-request");
+    }
+}
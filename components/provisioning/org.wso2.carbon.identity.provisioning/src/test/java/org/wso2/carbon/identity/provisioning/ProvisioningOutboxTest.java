@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.provisioning.dao.ProvisioningOutboxDAO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ProvisioningOutboxTest {
+
+    private static final String EMAIL_CLAIM = "http://wso2.org/claims/emailaddress";
+    private static final String MOBILE_CLAIM = "http://wso2.org/claims/mobile";
+
+    @Test
+    public void testUpdatesAreFoldedIntoPendingOperation() {
+
+        ProvisioningEntity post = userOperation(ProvisioningOperation.POST, EMAIL_CLAIM, "old@wso2.com");
+        ProvisioningEntity put = userOperation(ProvisioningOperation.PUT, EMAIL_CLAIM, "new@wso2.com");
+        ProvisioningEntity patch = userOperation(ProvisioningOperation.PATCH, MOBILE_CLAIM, "0771234567");
+
+        ProvisioningEntity coalesced = ProvisioningOperationCoalescer.coalesce(post, put);
+        assertEquals(coalesced.getOperation(), ProvisioningOperation.POST);
+        assertEquals(ProvisioningUtil.getAttributeValue(coalesced, EMAIL_CLAIM), "new@wso2.com");
+
+        coalesced = ProvisioningOperationCoalescer.coalesce(put, patch);
+        assertEquals(coalesced.getOperation(), ProvisioningOperation.PUT);
+        assertEquals(ProvisioningUtil.getAttributeValue(coalesced, EMAIL_CLAIM), "new@wso2.com");
+        assertEquals(ProvisioningUtil.getAttributeValue(coalesced, MOBILE_CLAIM), "0771234567");
+
+        ProvisioningEntity secondPatch = userOperation(ProvisioningOperation.PATCH, EMAIL_CLAIM, "new@wso2.com");
+        assertEquals(ProvisioningOperationCoalescer.coalesce(patch, secondPatch).getOperation(),
+                ProvisioningOperation.PATCH);
+    }
+
+    @Test
+    public void testPutReplacesPendingUpdate() {
+
+        ProvisioningEntity patch = userOperation(ProvisioningOperation.PATCH, MOBILE_CLAIM, "0771234567");
+        ProvisioningEntity put = userOperation(ProvisioningOperation.PUT, EMAIL_CLAIM, "new@wso2.com");
+
+        ProvisioningEntity coalesced = ProvisioningOperationCoalescer.coalesce(patch, put);
+        assertEquals(coalesced.getOperation(), ProvisioningOperation.PUT);
+        assertEquals(ProvisioningUtil.getAttributeValue(coalesced, EMAIL_CLAIM), "new@wso2.com");
+        // The PUT carries the full state of the user, so the attribute it does not have must not come back.
+        assertNull(ProvisioningUtil.getAttributeValue(coalesced, MOBILE_CLAIM));
+        assertEquals(coalesced.getAttributes().size(), 1);
+    }
+
+    @Test
+    public void testDeleteSupersedesPendingOperation() {
+
+        ProvisionedIdentifier identifier = new ProvisionedIdentifier();
+        identifier.setIdentifier("remote-id");
+        ProvisioningEntity put = userOperation(ProvisioningOperation.PUT, EMAIL_CLAIM, "new@wso2.com");
+        put.setIdentifier(identifier);
+        ProvisioningEntity delete = userOperation(ProvisioningOperation.DELETE, EMAIL_CLAIM, "new@wso2.com");
+
+        assertFalse(ProvisioningOperationCoalescer.isCancelledBy(put, delete));
+        ProvisioningEntity coalesced = ProvisioningOperationCoalescer.coalesce(put, delete);
+        assertEquals(coalesced.getOperation(), ProvisioningOperation.DELETE);
+        assertEquals(coalesced.getIdentifier().getIdentifier(), "remote-id");
+
+        // A user deleted before it was created is never provisioned.
+        ProvisioningEntity post = userOperation(ProvisioningOperation.POST, EMAIL_CLAIM, "new@wso2.com");
+        assertTrue(ProvisioningOperationCoalescer.isCancelledBy(post, delete));
+
+        // A user created again after it was deleted must be deleted first.
+        assertNull(ProvisioningOperationCoalescer.coalesce(delete, post));
+    }
+
+    @Test
+    public void testGroupMembershipChangesAreMerged() {
+
+        ProvisioningEntity first = groupPatch(Arrays.asList("alice", "bob"), Collections.singletonList("carol"));
+        ProvisioningEntity second = groupPatch(Collections.singletonList("carol"), Collections.singletonList("bob"));
+
+        ProvisioningEntity coalesced = ProvisioningOperationCoalescer.coalesce(first, second);
+        assertEquals(coalesced.getOperation(), ProvisioningOperation.PATCH);
+        assertEquals(members(coalesced, IdentityProvisioningConstants.NEW_USER_CLAIM_URI),
+                Arrays.asList("alice", "carol"));
+        assertEquals(members(coalesced, IdentityProvisioningConstants.DELETED_USER_CLAIM_URI),
+                Collections.singletonList("bob"));
+    }
+
+    @Test
+    public void testBackoffIsExponentialAndCapped() {
+
+        ProvisioningOutbox outbox = new ProvisioningOutbox(mock(ProvisioningOutboxDAO.class), 10, 5, 1000L, 1000L,
+                10000L, 60000L);
+        assertEquals(outbox.getBackoffMillis(1), 1000L);
+        assertEquals(outbox.getBackoffMillis(2), 2000L);
+        assertEquals(outbox.getBackoffMillis(4), 8000L);
+        assertEquals(outbox.getBackoffMillis(5), 10000L);
+        assertEquals(outbox.getBackoffMillis(200), 10000L);
+    }
+
+    @Test
+    public void testEnqueueFoldsIntoPendingEntry() throws Exception {
+
+        ProvisioningOutboxDAO outboxDAO = mock(ProvisioningOutboxDAO.class);
+        ProvisioningOutbox outbox = new ProvisioningOutbox(outboxDAO, 10, 5, 1000L, 1000L, 10000L, 60000L);
+
+        ProvisioningOutboxEntry pendingEntry = new ProvisioningOutboxEntry();
+        pendingEntry.setId("entry-1");
+        pendingEntry.setStatus(ProvisioningOutboxEntry.Status.PENDING);
+        pendingEntry.setCreatedTime(System.currentTimeMillis());
+        pendingEntry.setProvisioningEntity(userOperation(ProvisioningOperation.POST, EMAIL_CLAIM, "old@wso2.com"));
+
+        try (MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class)) {
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId("carbon.super")).thenReturn(-1234);
+            when(outboxDAO.getLatestEntry(anyInt(), anyString(), anyString(), any())).thenReturn(pendingEntry);
+            when(outboxDAO.updatePendingEntry(any(), any())).thenReturn(true);
+
+            outbox.enqueue(provisioningThread(userOperation(ProvisioningOperation.PUT, EMAIL_CLAIM, "new@wso2.com")));
+
+            ArgumentCaptor<ProvisioningEntity> captor = ArgumentCaptor.forClass(ProvisioningEntity.class);
+            verify(outboxDAO).updatePendingEntry(any(), captor.capture());
+            assertEquals(captor.getValue().getOperation(), ProvisioningOperation.POST);
+            assertEquals(ProvisioningUtil.getAttributeValue(captor.getValue(), EMAIL_CLAIM), "new@wso2.com");
+            verify(outboxDAO, never()).addEntry(any());
+            assertEquals(outbox.getMetrics().getCoalescedOperations(), 1);
+
+            // The pending entry was claimed by the dispatcher, so the operation is added after it.
+            pendingEntry.setStatus(ProvisioningOutboxEntry.Status.IN_FLIGHT);
+            outbox.enqueue(provisioningThread(userOperation(ProvisioningOperation.PUT, EMAIL_CLAIM, "x@wso2.com")));
+
+            ArgumentCaptor<ProvisioningOutboxEntry> entryCaptor = ArgumentCaptor.forClass(
+                    ProvisioningOutboxEntry.class);
+            verify(outboxDAO).addEntry(entryCaptor.capture());
+            assertEquals(entryCaptor.getValue().getTenantId(), -1234);
+            assertTrue(entryCaptor.getValue().getCreatedTime() > pendingEntry.getCreatedTime());
+            assertEquals(outbox.getMetrics().getEnqueuedOperations(), 1);
+        }
+    }
+
+    @Test
+    public void testGivenUpEntryIsRemoved() throws Exception {
+
+        ProvisioningOutboxDAO outboxDAO = mock(ProvisioningOutboxDAO.class);
+        ProvisioningOutbox outbox = new ProvisioningOutbox(outboxDAO, 10, 5, 1000L, 1000L, 10000L, 60000L);
+
+        ProvisioningOutboxEntry unreadableEntry = new ProvisioningOutboxEntry();
+        unreadableEntry.setId("entry-1");
+        unreadableEntry.setStatus(ProvisioningOutboxEntry.Status.IN_FLIGHT);
+        when(outboxDAO.getBacklog()).thenReturn(new long[]{1, System.currentTimeMillis()});
+        when(outboxDAO.claimDueEntries(anyLong(), anyLong(), anyInt())).thenReturn(
+                Collections.singletonList(unreadableEntry));
+        when(outboxDAO.deleteEntry(unreadableEntry)).thenReturn(true);
+
+        outbox.poll();
+
+        verify(outboxDAO).deleteEntry(unreadableEntry);
+        verify(outboxDAO, never()).rescheduleEntry(any(), anyLong(), any());
+        assertEquals(outbox.getMetrics().getFailedOperations(), 1);
+    }
+
+    private static ProvisioningThread provisioningThread(ProvisioningEntity provisioningEntity) {
+
+        return new ProvisioningThread(provisioningEntity, "carbon.super", "carbon.super", null, "scim2", "idp", null,
+                true);
+    }
+
+    private static ProvisioningEntity userOperation(ProvisioningOperation operation, String claimUri, String value) {
+
+        Map<ClaimMapping, List<String>> attributes = new HashMap<>();
+        attributes.put(ClaimMapping.build(claimUri, null, null, false), Collections.singletonList(value));
+        return new ProvisioningEntity(ProvisioningEntityType.USER, "john", operation, attributes);
+    }
+
+    private static ProvisioningEntity groupPatch(List<String> addedMembers, List<String> deletedMembers) {
+
+        Map<ClaimMapping, List<String>> attributes = new HashMap<>();
+        attributes.put(ClaimMapping.build(IdentityProvisioningConstants.NEW_USER_CLAIM_URI, null, null, false),
+                addedMembers);
+        attributes.put(ClaimMapping.build(IdentityProvisioningConstants.DELETED_USER_CLAIM_URI, null, null, false),
+                deletedMembers);
+        return new ProvisioningEntity(ProvisioningEntityType.GROUP, "engineering", ProvisioningOperation.PATCH,
+                attributes);
+    }
+
+    private static List<String> members(ProvisioningEntity provisioningEntity, String claimUri) {
+
+        return provisioningEntity.getAttributes().get(ClaimMapping.build(claimUri, null, null, false));
+    }
+}
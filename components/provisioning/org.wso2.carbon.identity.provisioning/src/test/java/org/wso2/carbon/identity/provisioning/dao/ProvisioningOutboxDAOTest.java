@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning.dao;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants;
+import org.wso2.carbon.identity.provisioning.ProvisionedIdentifier;
+import org.wso2.carbon.identity.provisioning.ProvisioningEntity;
+import org.wso2.carbon.identity.provisioning.ProvisioningEntityType;
+import org.wso2.carbon.identity.provisioning.ProvisioningOperation;
+import org.wso2.carbon.identity.provisioning.ProvisioningOutboxEntry;
+import org.wso2.carbon.identity.provisioning.ProvisioningUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of the outbox DAO against the H2 database.
+ */
+public class ProvisioningOutboxDAOTest {
+
+    private static final String PASSWORD = "Wso2@Password123";
+    private static final String EMAIL_CLAIM = "http://wso2.org/claims/emailaddress";
+    private static final String ENCRYPTED_PREFIX = "encrypted:";
+
+    private BasicDataSource dataSource;
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<CryptoUtil> cryptoUtil;
+    private final ProvisioningOutboxDAO outboxDAO = new ProvisioningOutboxDAO();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUsername("username");
+        dataSource.setPassword("password");
+        dataSource.setUrl("jdbc:h2:mem:outbox");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("RUNSCRIPT FROM '" + Paths.get(System.getProperty(
+                    "user.dir"), "src", "test", "resources", "dbscripts", "h2.sql") + "'");
+        }
+
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> dataSource.getConnection());
+
+        CryptoUtil defaultCryptoUtil = mock(CryptoUtil.class);
+        when(defaultCryptoUtil.encryptAndBase64Encode(any(byte[].class))).thenAnswer(invocation ->
+                ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(invocation.getArgument(0)));
+        when(defaultCryptoUtil.base64DecodeAndDecrypt(anyString())).thenAnswer(invocation -> Base64.getDecoder()
+                .decode(((String) invocation.getArgument(0)).substring(ENCRYPTED_PREFIX.length())));
+        cryptoUtil = mockStatic(CryptoUtil.class);
+        cryptoUtil.when(CryptoUtil::getDefaultCryptoUtil).thenReturn(defaultCryptoUtil);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        cryptoUtil.close();
+        identityDatabaseUtil.close();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("DROP ALL OBJECTS");
+        }
+        dataSource.close();
+    }
+
+    @Test
+    public void testPayloadIsStoredAsJsonWithEncryptedCredentials() throws Exception {
+
+        ProvisioningOutboxEntry entry = buildEntry("entry-1", userCreation());
+        outboxDAO.addEntry(entry);
+
+        String payload = new String(readPayload("entry-1"), StandardCharsets.UTF_8);
+        assertTrue(payload.startsWith("{"), payload);
+        assertFalse(payload.contains(PASSWORD), payload);
+        assertTrue(payload.contains("john@wso2.com"), payload);
+
+        ProvisioningOutboxEntry storedEntry = outboxDAO.getLatestEntry(-1234, "idp", "scim2", userCreation());
+        ProvisioningEntity provisioningEntity = storedEntry.getProvisioningEntity();
+        assertEquals(provisioningEntity.getEntityType(), ProvisioningEntityType.USER);
+        assertEquals(provisioningEntity.getEntityName(), "PRIMARY/john");
+        assertEquals(provisioningEntity.getOperation(), ProvisioningOperation.POST);
+        assertTrue(provisioningEntity.isJitProvisioning());
+        assertEquals(provisioningEntity.getIdentifier().getIdentifier(), "remote-id");
+        assertEquals(ProvisioningUtil.getAttributeValue(provisioningEntity,
+                IdentityProvisioningConstants.PASSWORD_CLAIM_URI), PASSWORD);
+        assertEquals(ProvisioningUtil.getAttributeValue(provisioningEntity, EMAIL_CLAIM), "john@wso2.com");
+        assertEquals(provisioningEntity.getAttributes().get(ClaimMapping.build(
+                IdentityProvisioningConstants.GROUP_CLAIM_URI, null, null, false)), Collections.emptyList());
+        assertEquals(provisioningEntity.getInboundAttributes().get(EMAIL_CLAIM), "john@wso2.com");
+        assertTrue(provisioningEntity.getInboundAttributes().containsKey("http://wso2.org/claims/mobile"));
+        assertNull(provisioningEntity.getInboundAttributes().get("http://wso2.org/claims/mobile"));
+    }
+
+    @Test
+    public void testJavaSerializedPayloadIsNotRead() throws Exception {
+
+        outboxDAO.addEntry(buildEntry("entry-1", userCreation()));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(userCreation());
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     "UPDATE IDP_PROVISIONING_OUTBOX SET PAYLOAD=? WHERE ID=?")) {
+            prepStmt.setBytes(1, outputStream.toByteArray());
+            prepStmt.setString(2, "entry-1");
+            prepStmt.executeUpdate();
+        }
+
+        ProvisioningOutboxEntry storedEntry = outboxDAO.getLatestEntry(-1234, "idp", "scim2", userCreation());
+        assertNotNull(storedEntry);
+        assertNull(storedEntry.getProvisioningEntity());
+    }
+
+    @Test
+    public void testClaimedEntryIsRemovedOnceCompleted() throws Exception {
+
+        outboxDAO.addEntry(buildEntry("entry-1", userCreation()));
+        long currentTime = System.currentTimeMillis();
+        List<ProvisioningOutboxEntry> claimedEntries = outboxDAO.claimDueEntries(currentTime, currentTime + 60000L,
+                10);
+        assertEquals(claimedEntries.size(), 1);
+
+        ProvisioningOutboxEntry claimedEntry = claimedEntries.get(0);
+        assertTrue(outboxDAO.rescheduleEntry(claimedEntry, currentTime, "Connection refused."));
+        claimedEntries = outboxDAO.claimDueEntries(currentTime, currentTime + 60000L, 10);
+        assertEquals(claimedEntries.size(), 1);
+        assertEquals(claimedEntries.get(0).getAttempts(), 1);
+
+        assertTrue(outboxDAO.deleteEntry(claimedEntries.get(0)));
+        assertNull(outboxDAO.getLatestEntry(-1234, "idp", "scim2", userCreation()));
+        assertEquals(outboxDAO.getBacklog()[0], 0L);
+    }
+
+    private ProvisioningOutboxEntry buildEntry(String id, ProvisioningEntity provisioningEntity) {
+
+        ProvisioningOutboxEntry entry = new ProvisioningOutboxEntry();
+        entry.setId(id);
+        entry.setTenantId(-1234);
+        entry.setIdPName("idp");
+        entry.setConnectorType("scim2");
+        entry.setEntityTenantDomain("carbon.super");
+        entry.setJitProvisioningEnabledForIdP(true);
+        entry.setProvisioningEntity(provisioningEntity);
+        entry.setStatus(ProvisioningOutboxEntry.Status.PENDING);
+        entry.setCreatedTime(System.currentTimeMillis() - 1000L);
+        entry.setNextAttemptTime(entry.getCreatedTime());
+        return entry;
+    }
+
+    private static ProvisioningEntity userCreation() {
+
+        Map<ClaimMapping, List<String>> attributes = new LinkedHashMap<>();
+        attributes.put(ClaimMapping.build(IdentityProvisioningConstants.PASSWORD_CLAIM_URI, null, null, false),
+                Collections.singletonList(PASSWORD));
+        attributes.put(ClaimMapping.build(EMAIL_CLAIM, null, null, false), Collections.singletonList("john@wso2.com"));
+        attributes.put(ClaimMapping.build(IdentityProvisioningConstants.GROUP_CLAIM_URI, null, null, false),
+                Collections.emptyList());
+        ProvisioningEntity provisioningEntity = new ProvisioningEntity(ProvisioningEntityType.USER, "PRIMARY/john",
+                ProvisioningOperation.POST, attributes);
+        provisioningEntity.setJitProvisioning(true);
+        ProvisionedIdentifier identifier = new ProvisionedIdentifier();
+        identifier.setIdentifier("remote-id");
+        provisioningEntity.setIdentifier(identifier);
+        Map<String, String> inboundAttributes = new HashMap<>();
+        inboundAttributes.put(EMAIL_CLAIM, "john@wso2.com");
+        inboundAttributes.put("http://wso2.org/claims/mobile", null);
+        provisioningEntity.setInboundAttributes(inboundAttributes);
+        return provisioningEntity;
+    }
+
+    private byte[] readPayload(String id) throws Exception {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     "SELECT PAYLOAD FROM IDP_PROVISIONING_OUTBOX WHERE ID=?")) {
+            prepStmt.setString(1, id);
+            try (ResultSet rs = prepStmt.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getBytes(1);
+            }
+        }
+    }
+}
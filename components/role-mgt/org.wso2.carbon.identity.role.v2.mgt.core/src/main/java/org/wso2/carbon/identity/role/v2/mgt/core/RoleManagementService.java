@@ -448,6 +448,23 @@ public interface RoleManagementService {
     List<String> getRoleIdListOfIdpGroups(List<String> groupIds, String tenantDomain)
             throws IdentityRoleManagementException;
 
+    /**
+     * Get the IDs of the roles assigned to a user, directly or through the given groups and IdP groups, with a single
+     * lookup. The everyone role is included if a user is given, same as {@link #getRoleIdListOfUser}.
+     *
+     * @param userId       User ID. Can be null if only the roles of the groups are required.
+     * @param groupIds     Group IDs of the user.
+     * @param idpGroupIds  IdP group IDs of the user.
+     * @param tenantDomain Tenant domain.
+     * @return The distinct list of role IDs.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    default List<String> getRoleIdListOfUserAndGroups(String userId, List<String> groupIds, List<String> idpGroupIds,
+                                                      String tenantDomain) throws IdentityRoleManagementException {
+
+        throw new NotImplementedException("getRoleIdListOfUserAndGroups method is not implemented");
+    }
+
     /**
      * Delete all roles associated app by id.
      *
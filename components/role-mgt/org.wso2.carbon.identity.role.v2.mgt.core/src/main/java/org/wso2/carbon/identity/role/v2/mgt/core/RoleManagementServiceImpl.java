@@ -935,6 +935,30 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         return roles;
     }
 
+    @Override
+    public List<String> getRoleIdListOfUserAndGroups(String userId, List<String> groupIds, List<String> idpGroupIds,
+                                                     String tenantDomain) throws IdentityRoleManagementException {
+
+        List<RoleManagementListener> roleManagementListenerList = RoleManagementServiceComponentHolder.getInstance()
+                .getRoleManagementListenerList();
+        for (RoleManagementListener roleManagementListener : roleManagementListenerList) {
+            if (roleManagementListener.isEnable()) {
+                roleManagementListener.preGetRoleIdListOfUserAndGroups(userId, groupIds, idpGroupIds, tenantDomain);
+            }
+        }
+        List<String> roles = roleDAO.getRoleIdListOfUserAndGroups(userId, groupIds, idpGroupIds, tenantDomain);
+        if (userId != null) {
+            addEveryoneRoleToRoleList(roles, tenantDomain);
+        }
+        for (RoleManagementListener roleManagementListener : roleManagementListenerList) {
+            if (roleManagementListener.isEnable()) {
+                roleManagementListener.postGetRoleIdListOfUserAndGroups(roles, userId, groupIds, idpGroupIds,
+                        tenantDomain);
+            }
+        }
+        return roles;
+    }
+
     @Override
     public void deleteRolesByApplication(String applicationId, String tenantDomain)
             throws IdentityRoleManagementException {
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAssignee;
+
+import java.util.Objects;
+
+/**
+ * Cache key for the role IDs assigned to a user, group or IdP group.
+ */
+public class RoleAssignmentCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 3360519137146417352L;
+    private final RoleAssignee roleAssignee;
+
+    public RoleAssignmentCacheKey(RoleAssignee roleAssignee) {
+
+        this.roleAssignee = roleAssignee;
+    }
+
+    public RoleAssignee getRoleAssignee() {
+
+        return roleAssignee;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        RoleAssignmentCacheKey that = (RoleAssignmentCacheKey) o;
+
+        return Objects.equals(roleAssignee, that.roleAssignee);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + (roleAssignee != null ? roleAssignee.hashCode() : 0);
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.cache;
+
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpException;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpLoader;
+import org.wso2.carbon.identity.role.v2.mgt.core.dao.RoleMgtDAOFactory;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+
+/**
+ * Warms up the role basic info cache with the most accessed roles. Keys are role ids.
+ */
+public class RoleCacheWarmUpLoader implements CacheWarmUpLoader {
+
+    public static final String LOADER_NAME = "Role";
+
+    @Override
+    public String getName() {
+
+        return LOADER_NAME;
+    }
+
+    @Override
+    public void load(String tenantDomain, String key) throws CacheWarmUpException {
+
+        try {
+            RoleMgtDAOFactory.getInstance().getCacheBackedRoleDAO().getRoleBasicInfoById(key, tenantDomain);
+        } catch (IdentityRoleManagementException e) {
+            throw new CacheWarmUpException("Error while loading the role: " + key, e);
+        }
+    }
+}
@@ -20,16 +20,29 @@ package org.wso2.carbon.identity.role.v2.mgt.core.dao;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCache;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCacheEntry;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCacheKey;
 import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCache;
 import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheEntry;
 import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleCacheWarmUpLoader;
 import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheByName;
 import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheEntry;
 import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleNameCacheKey;
 import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAssignee;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.util.RoleManagementUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Cache layer implementation of the {@link RoleDAO} interface.
  * Delegates calls to the underlying RoleDAO implementation.
@@ -40,11 +53,13 @@ public class CacheBackedRoleDAO extends RoleDAOImpl {
 
     private final RoleIdCacheByName roleCacheByName;
     private final RoleBasicInfoCache roleBasicInfoCache;
+    private final RoleAssignmentCache roleAssignmentCache;
 
     public CacheBackedRoleDAO() {
 
         roleCacheByName = RoleIdCacheByName.getInstance();
         roleBasicInfoCache = RoleBasicInfoCache.getInstance();
+        roleAssignmentCache = RoleAssignmentCache.getInstance();
     }
 
     @Override
@@ -86,6 +101,7 @@ public class CacheBackedRoleDAO extends RoleDAOImpl {
     public RoleBasicInfo getRoleBasicInfoById(String roleId, String tenantDomain)
             throws IdentityRoleManagementException {
 
+        CacheWarmUpManager.getInstance().recordAccess(RoleCacheWarmUpLoader.LOADER_NAME, tenantDomain, roleId);
         RoleBasicInfoCacheKey cacheKey = new RoleBasicInfoCacheKey(roleId);
         RoleBasicInfoCacheEntry cacheEntry = roleBasicInfoCache.getValueFromCache(cacheKey, tenantDomain);
 
@@ -108,6 +124,43 @@ public class CacheBackedRoleDAO extends RoleDAOImpl {
         return roleBasicInfo;
     }
 
+    /**
+     * Get the role IDs of the user, groups and IdP groups. The role IDs of each assignee are cached separately, and
+     * the assignees missing in the cache are resolved from the database in batches. The cache entries are cleared by
+     * the RoleAssignmentCacheInvalidationListener when the assignees of a role change, and by the
+     * RoleAssignmentCacheUserOperationEventListener when they change through the user store manager.
+     */
+    @Override
+    public List<String> getRoleIdListOfUserAndGroups(String userId, List<String> groupIds, List<String> idpGroupIds,
+                                                     String tenantDomain) throws IdentityRoleManagementException {
+
+        Set<String> roleIds = new LinkedHashSet<>();
+        List<String> uncachedUserIds = collectCachedRoleIds(RoleAssignee.Type.USER,
+                userId != null ? Collections.singletonList(userId) : null, tenantDomain, roleIds);
+        List<String> uncachedGroupIds = collectCachedRoleIds(RoleAssignee.Type.GROUP, groupIds, tenantDomain,
+                roleIds);
+        List<String> uncachedIdpGroupIds = collectCachedRoleIds(RoleAssignee.Type.IDP_GROUP, idpGroupIds,
+                tenantDomain, roleIds);
+        if (uncachedUserIds.isEmpty() && uncachedGroupIds.isEmpty() && uncachedIdpGroupIds.isEmpty()) {
+            return new ArrayList<>(roleIds);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cache miss for role assignments of " + uncachedUserIds.size() + " users, " +
+                    uncachedGroupIds.size() + " groups and " + uncachedIdpGroupIds.size() + " idp groups in " +
+                    "tenant: " + tenantDomain + ". Fetching from DB.");
+        }
+        Map<RoleAssignee, List<String>> roleIdsOfAssignees = getRoleIdListOfAssignees(
+                uncachedUserIds.isEmpty() ? null : uncachedUserIds.get(0), uncachedGroupIds, uncachedIdpGroupIds,
+                tenantDomain);
+        for (Map.Entry<RoleAssignee, List<String>> entry : roleIdsOfAssignees.entrySet()) {
+            roleAssignmentCache.addToCache(new RoleAssignmentCacheKey(entry.getKey()),
+                    new RoleAssignmentCacheEntry(entry.getValue()), tenantDomain);
+            roleIds.addAll(entry.getValue());
+        }
+        return new ArrayList<>(roleIds);
+    }
+
     @Override
     public void deleteRole(String roleId, String tenantDomain) throws IdentityRoleManagementException {
 
@@ -131,6 +184,34 @@ public class CacheBackedRoleDAO extends RoleDAOImpl {
         clearRoleBasicInfoCacheByTenant(tenantDomain);
     }
 
+    /**
+     * Add the cached role IDs of the given assignees to the role ID set.
+     *
+     * @param type         Type of the assignees.
+     * @param assigneeIds  Assignee IDs.
+     * @param tenantDomain Tenant domain.
+     * @param roleIds      Role ID set to add the cached role IDs to.
+     * @return IDs of the assignees missing in the cache.
+     */
+    private List<String> collectCachedRoleIds(RoleAssignee.Type type, List<String> assigneeIds, String tenantDomain,
+                                              Set<String> roleIds) {
+
+        List<String> uncachedAssigneeIds = new ArrayList<>();
+        if (assigneeIds == null) {
+            return uncachedAssigneeIds;
+        }
+        for (String assigneeId : assigneeIds) {
+            RoleAssignmentCacheEntry cacheEntry = roleAssignmentCache.getValueFromCache(
+                    new RoleAssignmentCacheKey(new RoleAssignee(type, assigneeId)), tenantDomain);
+            if (cacheEntry != null) {
+                roleIds.addAll(cacheEntry.getRoleIds());
+            } else {
+                uncachedAssigneeIds.add(assigneeId);
+            }
+        }
+        return uncachedAssigneeIds;
+    }
+
     /**
      * Clear role basic info cache for a specific role.
      *
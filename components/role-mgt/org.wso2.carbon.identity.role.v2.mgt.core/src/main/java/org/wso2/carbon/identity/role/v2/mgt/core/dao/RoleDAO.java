@@ -29,6 +29,8 @@ import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleDTO;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.UserBasicInfo;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -468,6 +470,32 @@ public interface RoleDAO {
     List<String> getRoleIdListOfIdpGroups(List<String> groupIds, String tenantDomain)
             throws IdentityRoleManagementException;
 
+    /**
+     * Get the IDs of the roles assigned to a user, to any of the given groups, or to any of the given IdP groups.
+     *
+     * @param userId       User ID. Can be null if only the roles of the groups are required.
+     * @param groupIds     Group IDs.
+     * @param idpGroupIds  IdP group IDs.
+     * @param tenantDomain Tenant domain.
+     * @return The distinct list of role IDs.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    default List<String> getRoleIdListOfUserAndGroups(String userId, List<String> groupIds, List<String> idpGroupIds,
+                                                      String tenantDomain) throws IdentityRoleManagementException {
+
+        Set<String> roleIds = new LinkedHashSet<>();
+        if (userId != null) {
+            roleIds.addAll(getRoleIdListOfUser(userId, tenantDomain));
+        }
+        if (groupIds != null && !groupIds.isEmpty()) {
+            roleIds.addAll(getRoleIdListOfGroups(groupIds, tenantDomain));
+        }
+        if (idpGroupIds != null && !idpGroupIds.isEmpty()) {
+            roleIds.addAll(getRoleIdListOfIdpGroups(idpGroupIds, tenantDomain));
+        }
+        return new ArrayList<>(roleIds);
+    }
+
     /**
      * Delete all roles associated app by id.
      *
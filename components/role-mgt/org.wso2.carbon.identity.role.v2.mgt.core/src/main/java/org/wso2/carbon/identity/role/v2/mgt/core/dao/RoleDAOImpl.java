@@ -51,6 +51,7 @@ import org.wso2.carbon.identity.role.v2.mgt.core.model.AssociatedApplication;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.GroupBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.IdpGroup;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAssignee;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Role;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAudience;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
@@ -183,7 +184,11 @@ import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_BASIC_INFO_BY_ROLE_UUID_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_BY_NAME_AND_AUDIENCE_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_GROUP_SQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_GROUPS_PART_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_IDP_GROUPS_SQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_IDP_GROUPS_PART_SQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_USER_PART_SQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_USER_PART_SQL_CASE_INSENSITIVE;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_USER_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_ID_LIST_OF_USER_SQL_CASE_INSENSITIVE;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_LIST_OF_GROUP_SQL;
@@ -203,12 +208,14 @@ import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_USERS
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_USERS_ROLES_BY_TENANT_AND_ROLE_NAME_TAIL_ORACLE;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_USERS_ROLES_BY_TENANT_AND_ROLE_NAME_TAIL_POSTGRESQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_USER_ROLES_BY_TENANT_AND_ROLE_NAME_TAIL_MYSQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GROUP_NAME_AND_DOMAIN_CONDITION;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.INSERT_MAIN_TO_SHARED_ROLE_RELATIONSHIP;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.IS_ROLE_EXIST_SQL_OPTIMIZED;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.IS_ROLE_ID_EXIST_FROM_UM_HYBRID_ROLE_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.IS_SHARED_ROLE_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.REMOVE_GROUP_FROM_ROLE_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.REMOVE_USER_FROM_ROLE_SQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.UNION_ALL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.UPDATE_ROLE_NAME_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.UPDATE_SCIM_ROLE_NAME_SQL;
 
@@ -219,6 +226,8 @@ import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.UPDATE_SC
 public class RoleDAOImpl implements RoleDAO {
 
     private static final Log LOG = LogFactory.getLog(RoleDAOImpl.class);
+    // Maximum number of groups, and of IdP groups, resolved by a single role ID query.
+    private static final int MAX_ASSIGNEES_PER_ROLE_ID_QUERY = 100;
     private final GroupIDResolver groupIDResolver = new GroupIDResolver();
     private final UserIDResolver userIDResolver = new UserIDResolver();
     private final Set<String> systemRoles = getSystemRoles();
@@ -1370,6 +1379,207 @@ public class RoleDAOImpl implements RoleDAO {
         return roleIds.stream().distinct().collect(Collectors.toList());
     }
 
+    @Override
+    public List<String> getRoleIdListOfUserAndGroups(String userId, List<String> groupIds, List<String> idpGroupIds,
+                                                     String tenantDomain) throws IdentityRoleManagementException {
+
+        Map<RoleAssignee, List<String>> roleIdsOfAssignees =
+                getRoleIdListOfAssignees(userId, groupIds, idpGroupIds, tenantDomain);
+        return roleIdsOfAssignees.values().stream().flatMap(List::stream).distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * Get the IDs of the roles assigned to each of the given user, groups and IdP groups. The assignees are resolved
+     * with one query per batch of groups and IdP groups.
+     *
+     * @param userId       User ID. Can be null.
+     * @param groupIds     Group IDs. Can be null.
+     * @param idpGroupIds  IdP group IDs. Can be null.
+     * @param tenantDomain Tenant domain.
+     * @return Role IDs of each assignee. Assignees without roles are mapped to an empty list.
+     * @throws IdentityRoleManagementException If an error occurs while retrieving the role IDs.
+     */
+    protected Map<RoleAssignee, List<String>> getRoleIdListOfAssignees(String userId, List<String> groupIds,
+                                                                       List<String> idpGroupIds,
+                                                                       String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        Map<RoleAssignee, List<String>> roleIdsOfAssignees = new HashMap<>();
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        String primaryDomainName = IdentityUtil.getPrimaryDomainName();
+        if (primaryDomainName != null) {
+            primaryDomainName = primaryDomainName.toUpperCase(Locale.ENGLISH);
+        }
+
+        RoleAssignee user = null;
+        String userQuery = null;
+        List<Object> userParameters = new ArrayList<>();
+        if (userId != null) {
+            user = new RoleAssignee(RoleAssignee.Type.USER, userId);
+            roleIdsOfAssignees.put(user, new ArrayList<>());
+            String userName = UserCoreUtil.addDomainToName(getUsernameByUserID(userId, tenantDomain),
+                    primaryDomainName);
+            String domainName = UserCoreUtil.extractDomainFromName(userName);
+            if (domainName != null) {
+                domainName = domainName.toUpperCase(Locale.ENGLISH);
+            }
+            userQuery = IdentityUtil.isUserStoreInUsernameCaseSensitive(userName, tenantId) ?
+                    GET_ROLE_ID_LIST_OF_USER_PART_SQL : GET_ROLE_ID_LIST_OF_USER_PART_SQL_CASE_INSENSITIVE;
+            Collections.addAll(userParameters, UserCoreUtil.removeDomainFromName(userName), tenantId, tenantId,
+                    domainName);
+        }
+
+        // Groups are stored against their names, so the rows are mapped back to the group IDs by domain and name.
+        Map<String, String> groupIdsByName = new HashMap<>();
+        List<String[]> groupNamesAndDomains = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(groupIds)) {
+            for (Map.Entry<String, String> group : getGroupNamesByIDs(groupIds, tenantDomain).entrySet()) {
+                String groupName = UserCoreUtil.addDomainToName(group.getValue(), primaryDomainName);
+                String domainName = UserCoreUtil.extractDomainFromName(groupName);
+                if (domainName != null) {
+                    domainName = domainName.toUpperCase(Locale.ENGLISH);
+                }
+                String nameWithoutDomain = UserCoreUtil.removeDomainFromName(groupName);
+                groupIdsByName.put(getQualifiedName(domainName, nameWithoutDomain), group.getKey());
+                groupNamesAndDomains.add(new String[]{nameWithoutDomain, domainName});
+            }
+            for (String groupId : groupIds) {
+                roleIdsOfAssignees.put(new RoleAssignee(RoleAssignee.Type.GROUP, groupId), new ArrayList<>());
+            }
+        }
+
+        List<String> idpGroupIdList = idpGroupIds != null ? idpGroupIds : Collections.emptyList();
+        for (String idpGroupId : idpGroupIdList) {
+            roleIdsOfAssignees.put(new RoleAssignee(RoleAssignee.Type.IDP_GROUP, idpGroupId), new ArrayList<>());
+        }
+
+        // The groups and IdP groups are split into batches to bound the number of conditions and parameters of a
+        // query. The user is resolved along with the first batch.
+        int batchCount = Math.max(userQuery != null ? 1 : 0,
+                Math.max(getBatchCount(groupNamesAndDomains.size()), getBatchCount(idpGroupIdList.size())));
+        if (batchCount == 0) {
+            return roleIdsOfAssignees;
+        }
+        try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false)) {
+            for (int batch = 0; batch < batchCount; batch++) {
+                StringBuilder query = new StringBuilder();
+                List<Object> parameters = new ArrayList<>();
+                if (batch == 0 && userQuery != null) {
+                    query.append(userQuery);
+                    parameters.addAll(userParameters);
+                }
+
+                List<String[]> groupBatch = getBatch(groupNamesAndDomains, batch);
+                if (!groupBatch.isEmpty()) {
+                    appendUnion(query);
+                    query.append(GET_ROLE_ID_LIST_OF_GROUPS_PART_SQL)
+                            .append(String.join(" OR ", Collections.nCopies(groupBatch.size(),
+                                    GROUP_NAME_AND_DOMAIN_CONDITION)))
+                            .append(")");
+                    Collections.addAll(parameters, tenantId, tenantId);
+                    for (String[] groupNameAndDomain : groupBatch) {
+                        Collections.addAll(parameters, (Object[]) groupNameAndDomain);
+                    }
+                }
+
+                List<String> idpGroupBatch = getBatch(idpGroupIdList, batch);
+                if (!idpGroupBatch.isEmpty()) {
+                    appendUnion(query);
+                    query.append(GET_ROLE_ID_LIST_OF_IDP_GROUPS_PART_SQL)
+                            .append(String.join(", ", Collections.nCopies(idpGroupBatch.size(), "?")))
+                            .append(")");
+                    parameters.add(tenantId);
+                    parameters.addAll(idpGroupBatch);
+                }
+                collectRoleIdsOfAssignees(connection, query.toString(), parameters, user, groupIdsByName,
+                        roleIdsOfAssignees);
+            }
+        } catch (SQLException e) {
+            String errorMessage = "Error while retrieving role id list of user: " + userId + ", groups: " +
+                    groupIds + " and idp groups: " + idpGroupIds + " in tenantDomain : " + tenantDomain;
+            throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(), errorMessage, e);
+        }
+        return roleIdsOfAssignees;
+    }
+
+    private void collectRoleIdsOfAssignees(Connection connection, String query, List<Object> parameters,
+                                           RoleAssignee user, Map<String, String> groupIdsByName,
+                                           Map<RoleAssignee, List<String>> roleIdsOfAssignees) throws SQLException {
+
+        try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, query)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                Object parameter = parameters.get(i);
+                if (parameter instanceof Integer) {
+                    statement.setInt(i + 1, (Integer) parameter);
+                } else {
+                    statement.setString(i + 1, (String) parameter);
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    RoleAssignee assignee = getRoleAssignee(resultSet, user, groupIdsByName);
+                    if (assignee == null) {
+                        continue;
+                    }
+                    List<String> roleIds = roleIdsOfAssignees.get(assignee);
+                    String roleId = resultSet.getString(2);
+                    if (roleIds != null && !roleIds.contains(roleId)) {
+                        roleIds.add(roleId);
+                    }
+                }
+            }
+        }
+    }
+
+    private int getBatchCount(int size) {
+
+        return (size + MAX_ASSIGNEES_PER_ROLE_ID_QUERY - 1) / MAX_ASSIGNEES_PER_ROLE_ID_QUERY;
+    }
+
+    private <T> List<T> getBatch(List<T> items, int batch) {
+
+        int fromIndex = batch * MAX_ASSIGNEES_PER_ROLE_ID_QUERY;
+        if (fromIndex >= items.size()) {
+            return Collections.emptyList();
+        }
+        return items.subList(fromIndex, Math.min(fromIndex + MAX_ASSIGNEES_PER_ROLE_ID_QUERY, items.size()));
+    }
+
+    private RoleAssignee getRoleAssignee(ResultSet resultSet, RoleAssignee user, Map<String, String> groupIdsByName)
+            throws SQLException {
+
+        switch (resultSet.getInt(1)) {
+            case 1:
+                return user;
+            case 2:
+                String qualifiedName = getQualifiedName(resultSet.getString(4), resultSet.getString(3));
+                String groupId = groupIdsByName.get(qualifiedName);
+                if (groupId == null) {
+                    // The user store may match the group name case insensitively.
+                    groupId = groupIdsByName.entrySet().stream()
+                            .filter(entry -> entry.getKey().equalsIgnoreCase(qualifiedName))
+                            .map(Map.Entry::getValue).findFirst().orElse(null);
+                }
+                return groupId != null ? new RoleAssignee(RoleAssignee.Type.GROUP, groupId) : null;
+            case 3:
+                return new RoleAssignee(RoleAssignee.Type.IDP_GROUP, resultSet.getString(3));
+            default:
+                return null;
+        }
+    }
+
+    private String getQualifiedName(String domainName, String nameWithoutDomain) {
+
+        return domainName + UserCoreConstants.DOMAIN_SEPARATOR + nameWithoutDomain;
+    }
+
+    private void appendUnion(StringBuilder query) {
+
+        if (query.length() > 0) {
+            query.append(UNION_ALL);
+        }
+    }
+
     @Override
     public void deleteRolesByApplication(String applicationId, String tenantDomain)
             throws IdentityRoleManagementException {
@@ -234,6 +234,32 @@ public class SQLQueries {
             "JOIN UM_IDP_GROUP_ROLE ON UM_HYBRID_ROLE.UM_ID = UM_IDP_GROUP_ROLE.UM_ROLE_ID WHERE " +
             "UM_IDP_GROUP_ROLE.UM_GROUP_ID =:UM_GROUP_ID; AND UM_IDP_GROUP_ROLE.UM_TENANT_ID =:UM_TENANT_ID;";
 
+    /* Parts of the query resolving the role IDs of a user, groups and IdP groups at once. Each part selects the
+     assignee type, the role ID and the columns identifying the assignee, and the parts are joined with UNION ALL. */
+    public static final String GET_ROLE_ID_LIST_OF_USER_PART_SQL = "SELECT 1, r.UM_UUID, ur.UM_USER_NAME, " +
+            "d.UM_DOMAIN_NAME FROM UM_HYBRID_ROLE r INNER JOIN UM_HYBRID_USER_ROLE ur ON r.UM_ID = ur.UM_ROLE_ID " +
+            "INNER JOIN UM_DOMAIN d ON ur.UM_DOMAIN_ID = d.UM_DOMAIN_ID WHERE ur.UM_USER_NAME = ? AND " +
+            "ur.UM_TENANT_ID = ? AND d.UM_TENANT_ID = ? AND d.UM_DOMAIN_NAME = ?";
+
+    public static final String GET_ROLE_ID_LIST_OF_USER_PART_SQL_CASE_INSENSITIVE = "SELECT 1, r.UM_UUID, " +
+            "ur.UM_USER_NAME, d.UM_DOMAIN_NAME FROM UM_HYBRID_ROLE r INNER JOIN UM_HYBRID_USER_ROLE ur ON " +
+            "r.UM_ID = ur.UM_ROLE_ID INNER JOIN UM_DOMAIN d ON ur.UM_DOMAIN_ID = d.UM_DOMAIN_ID WHERE " +
+            "LOWER(ur.UM_USER_NAME) = LOWER(?) AND ur.UM_TENANT_ID = ? AND d.UM_TENANT_ID = ? AND " +
+            "d.UM_DOMAIN_NAME = ?";
+
+    public static final String GET_ROLE_ID_LIST_OF_GROUPS_PART_SQL = "SELECT 2, r.UM_UUID, gr.UM_GROUP_NAME, " +
+            "d.UM_DOMAIN_NAME FROM UM_HYBRID_ROLE r INNER JOIN UM_HYBRID_GROUP_ROLE gr ON r.UM_ID = gr.UM_ROLE_ID " +
+            "INNER JOIN UM_DOMAIN d ON gr.UM_DOMAIN_ID = d.UM_DOMAIN_ID WHERE gr.UM_TENANT_ID = ? AND " +
+            "d.UM_TENANT_ID = ? AND (";
+
+    public static final String GROUP_NAME_AND_DOMAIN_CONDITION = "(gr.UM_GROUP_NAME = ? AND d.UM_DOMAIN_NAME = ?)";
+
+    public static final String GET_ROLE_ID_LIST_OF_IDP_GROUPS_PART_SQL = "SELECT 3, r.UM_UUID, igr.UM_GROUP_ID, " +
+            "igr.UM_GROUP_ID FROM UM_HYBRID_ROLE r INNER JOIN UM_IDP_GROUP_ROLE igr ON r.UM_ID = igr.UM_ROLE_ID " +
+            "WHERE igr.UM_TENANT_ID = ? AND igr.UM_GROUP_ID IN (";
+
+    public static final String UNION_ALL = " UNION ALL ";
+
     public static final String UPDATE_ROLE_NAME_SQL = "UPDATE UM_HYBRID_ROLE SET UM_ROLE_NAME=:NEW_UM_ROLE_NAME; " +
             "WHERE UM_UUID=:UM_UUID; AND UM_TENANT_ID=:UM_TENANT_ID;";
 
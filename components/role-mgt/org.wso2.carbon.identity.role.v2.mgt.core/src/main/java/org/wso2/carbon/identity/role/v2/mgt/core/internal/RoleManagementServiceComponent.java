@@ -29,15 +29,20 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.api.resource.mgt.APIResourceManager;
+import org.wso2.carbon.identity.core.cache.warmup.CacheWarmUpManager;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementServiceImpl;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleCacheWarmUpLoader;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleAssignmentCacheInvalidationListener;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleAssignmentCacheUserOperationEventListener;
 import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleManagementListener;
 import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleManagementOrganizationHandler;
 import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleManagementV2AuditLogger;
 import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
 
 /**
@@ -56,7 +61,12 @@ public class RoleManagementServiceComponent {
             BundleContext bundleContext = context.getBundleContext();
             bundleContext.registerService(RoleManagementService.class, new RoleManagementServiceImpl(), null);
             bundleContext.registerService(RoleManagementListener.class, new RoleManagementV2AuditLogger(), null);
+            bundleContext.registerService(RoleManagementListener.class, new RoleAssignmentCacheInvalidationListener(),
+                    null);
+            bundleContext.registerService(UserOperationEventListener.class,
+                    new RoleAssignmentCacheUserOperationEventListener(), null);
             bundleContext.registerService(AbstractEventHandler.class, new RoleManagementOrganizationHandler(), null);
+            CacheWarmUpManager.getInstance().registerLoader(new RoleCacheWarmUpLoader());
 
             log.debug("Role V2 management service is activated.");
         } catch (Throwable e) {
@@ -67,6 +77,7 @@ public class RoleManagementServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        CacheWarmUpManager.getInstance().unregisterLoader(RoleCacheWarmUpLoader.LOADER_NAME);
         log.debug("Role V2 management service is deactivated.");
     }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.listener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCache;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.IdpGroup;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAssignee;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
+
+import java.util.List;
+
+/**
+ * Clears the cached role IDs of the users, groups and IdP groups when the assignees of a role change. Changes made
+ * through the user store manager are handled by {@link RoleAssignmentCacheUserOperationEventListener}.
+ */
+public class RoleAssignmentCacheInvalidationListener extends AbstractRoleManagementListener {
+
+    private static final Log LOG = LogFactory.getLog(RoleAssignmentCacheInvalidationListener.class);
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 1;
+    }
+
+    @Override
+    public boolean isEnable() {
+
+        // Stale role assignments must never be served, so the listener cannot be disabled.
+        return true;
+    }
+
+    @Override
+    public void postAddRole(RoleBasicInfo roleBasicInfo, String roleName, List<String> userList, List<String> groupList,
+                            List<Permission> permissions, String audience, String audienceId, String tenantDomain) {
+
+        clearCacheEntries(RoleAssignee.Type.USER, userList, tenantDomain);
+        clearCacheEntries(RoleAssignee.Type.GROUP, groupList, tenantDomain);
+    }
+
+    @Override
+    public void postDeleteRole(String roleId, String tenantDomain) {
+
+        // The assignees of the deleted role are no longer known, so all the role assignments of the tenant are cleared.
+        clearCache(tenantDomain);
+    }
+
+    @Override
+    public void postUpdateUserListOfRole(String roleId, List<String> newUserIDList, List<String> deletedUserIDList,
+                                         String tenantDomain) {
+
+        clearCacheEntries(RoleAssignee.Type.USER, newUserIDList, tenantDomain);
+        clearCacheEntries(RoleAssignee.Type.USER, deletedUserIDList, tenantDomain);
+    }
+
+    @Override
+    public void postUpdateGroupListOfRole(String roleId, List<String> newGroupIDList, List<String> deletedGroupIDList,
+                                          String tenantDomain) {
+
+        clearCacheEntries(RoleAssignee.Type.GROUP, newGroupIDList, tenantDomain);
+        clearCacheEntries(RoleAssignee.Type.GROUP, deletedGroupIDList, tenantDomain);
+    }
+
+    @Override
+    public void postUpdateIdpGroupListOfRole(String roleId, List<IdpGroup> newGroupIDList,
+                                             List<IdpGroup> deletedGroupIDList, String tenantDomain) {
+
+        clearIdpGroupCacheEntries(newGroupIDList, tenantDomain);
+        clearIdpGroupCacheEntries(deletedGroupIDList, tenantDomain);
+    }
+
+    @Override
+    public void postDeleteRolesByApplication(String applicationId, String tenantDomain) {
+
+        clearCache(tenantDomain);
+    }
+
+    private void clearIdpGroupCacheEntries(List<IdpGroup> idpGroups, String tenantDomain) {
+
+        if (idpGroups == null) {
+            return;
+        }
+        for (IdpGroup idpGroup : idpGroups) {
+            clearCacheEntry(new RoleAssignee(RoleAssignee.Type.IDP_GROUP, idpGroup.getGroupId()), tenantDomain);
+        }
+    }
+
+    private void clearCacheEntries(RoleAssignee.Type type, List<String> assigneeIds, String tenantDomain) {
+
+        if (assigneeIds == null) {
+            return;
+        }
+        for (String assigneeId : assigneeIds) {
+            clearCacheEntry(new RoleAssignee(type, assigneeId), tenantDomain);
+        }
+    }
+
+    private void clearCacheEntry(RoleAssignee roleAssignee, String tenantDomain) {
+
+        RoleAssignmentCache.getInstance().clearCacheEntry(new RoleAssignmentCacheKey(roleAssignee), tenantDomain);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cleared role assignment cache for: " + roleAssignee + " in tenant: " + tenantDomain);
+        }
+    }
+
+    private void clearCache(String tenantDomain) {
+
+        RoleAssignmentCache.getInstance().clear(tenantDomain);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cleared all role assignment cache entries for tenant: " + tenantDomain);
+        }
+    }
+}
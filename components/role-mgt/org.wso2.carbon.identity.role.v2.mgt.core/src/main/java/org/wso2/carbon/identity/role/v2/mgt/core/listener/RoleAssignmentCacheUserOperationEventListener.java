@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.listener;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.AbstractIdentityUserOperationEventListener;
+import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCache;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleAssignmentCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAssignee;
+import org.wso2.carbon.user.api.Permission;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.common.User;
+
+import java.util.Map;
+
+/**
+ * Clears the cached role IDs of users and groups when their role assignments are changed through the user store
+ * manager, e.g. by the user admin service or by JIT provisioning, bypassing the role management service.
+ */
+public class RoleAssignmentCacheUserOperationEventListener extends AbstractIdentityUserOperationEventListener {
+
+    private static final Log LOG = LogFactory.getLog(RoleAssignmentCacheUserOperationEventListener.class);
+
+    @Override
+    public int getExecutionOrderId() {
+
+        int orderId = getOrderId();
+        if (orderId != IdentityCoreConstants.EVENT_LISTENER_ORDER_ID) {
+            return orderId;
+        }
+        return 96;
+    }
+
+    @Override
+    public boolean doPostAddUserWithID(User user, Object credential, String[] roleList, Map<String, String> claims,
+                                       String profile, UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (!isEnable() || ArrayUtils.isEmpty(roleList) || user == null) {
+            return true;
+        }
+        clearUserCacheEntries(new String[]{user.getUserID()}, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteUserWithID(String userID, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        clearUserCacheEntries(new String[]{userID}, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateRoleListOfUserWithID(String userID, String[] deletedRoles, String[] newRoles,
+                                                    UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        clearUserCacheEntries(new String[]{userID}, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostAddRoleWithID(String roleName, String[] userIDList, Permission[] permissions,
+                                       UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        clearUserCacheEntries(userIDList, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostAddInternalRoleWithID(String roleName, String[] userIDList, Permission[] permissions,
+                                               UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        clearUserCacheEntries(userIDList, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateUserListOfRoleWithID(String roleName, String[] deletedUserIDs, String[] newUserIDs,
+                                                    UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        clearUserCacheEntries(deletedUserIDs, userStoreManager);
+        clearUserCacheEntries(newUserIDs, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateUserListOfInternalRoleWithID(String roleName, String[] deletedUserIDs,
+                                                            String[] newUserIDs, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        clearUserCacheEntries(deletedUserIDs, userStoreManager);
+        clearUserCacheEntries(newUserIDs, userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteRole(String roleName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        // Groups are roles of the user store manager. The group IDs of a deleted group, and the members of a deleted
+        // role, are no longer known, so all the role assignments of the tenant are cleared.
+        clearCache(userStoreManager);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateRoleName(String roleName, String newRoleName, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        if (!isEnable()) {
+            return true;
+        }
+        // Role assignments of groups are stored against the group name.
+        clearCache(userStoreManager);
+        return true;
+    }
+
+    private void clearUserCacheEntries(String[] userIds, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        if (ArrayUtils.isEmpty(userIds)) {
+            return;
+        }
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(userStoreManager.getTenantId());
+        for (String userId : userIds) {
+            RoleAssignmentCache.getInstance().clearCacheEntry(
+                    new RoleAssignmentCacheKey(new RoleAssignee(RoleAssignee.Type.USER, userId)), tenantDomain);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cleared role assignment cache for " + userIds.length + " users in tenant: " + tenantDomain);
+        }
+    }
+
+    private void clearCache(UserStoreManager userStoreManager) throws UserStoreException {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(userStoreManager.getTenantId());
+        RoleAssignmentCache.getInstance().clear(tenantDomain);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cleared all role assignment cache entries for tenant: " + tenantDomain);
+        }
+    }
+}
@@ -701,4 +701,56 @@ public interface RoleManagementListener {
     default void postGetPermissionListOfRoles(List<String> permissions, List<String> roleIds, String tenantDomain)
             throws IdentityRoleManagementException {}
 
+    /**
+     * Invoked before retrieving the role IDs of a user, groups and IdP groups in the given tenant domain. By default,
+     * the pre-retrieval listeners of the user, the groups and the IdP groups are invoked, as the role IDs of them
+     * were retrieved separately before.
+     *
+     * @param userId       The unique identifier of the user. Can be null.
+     * @param groupIds     A list of unique identifiers of the groups.
+     * @param idpGroupIds  A list of unique identifiers of the IdP groups.
+     * @param tenantDomain The domain in which the operation is being performed.
+     * @throws IdentityRoleManagementException If an error occurs during the pre-retrieval phase.
+     */
+    default void preGetRoleIdListOfUserAndGroups(String userId, List<String> groupIds, List<String> idpGroupIds,
+                                                 String tenantDomain) throws IdentityRoleManagementException {
+
+        if (userId != null) {
+            preGetRoleIdListOfUser(userId, tenantDomain);
+        }
+        if (groupIds != null && !groupIds.isEmpty()) {
+            preGetRoleIdListOfGroups(groupIds, tenantDomain);
+        }
+        if (idpGroupIds != null && !idpGroupIds.isEmpty()) {
+            preGetRoleIdListOfIdpGroups(idpGroupIds, tenantDomain);
+        }
+    }
+
+    /**
+     * Invoked after retrieving the role IDs of a user, groups and IdP groups in the given tenant domain. By default,
+     * the post-retrieval listeners of the user, the groups and the IdP groups are invoked with the combined list of
+     * role IDs, so that the changes they make to the list are kept.
+     *
+     * @param roleIds      A list of role IDs retrieved for the user and the groups.
+     * @param userId       The unique identifier of the user. Can be null.
+     * @param groupIds     A list of unique identifiers of the groups.
+     * @param idpGroupIds  A list of unique identifiers of the IdP groups.
+     * @param tenantDomain The domain in which the operation was performed.
+     * @throws IdentityRoleManagementException If an error occurs during the post-retrieval phase.
+     */
+    default void postGetRoleIdListOfUserAndGroups(List<String> roleIds, String userId, List<String> groupIds,
+                                                  List<String> idpGroupIds, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        if (userId != null) {
+            postGetRoleIdListOfUser(roleIds, userId, tenantDomain);
+        }
+        if (groupIds != null && !groupIds.isEmpty()) {
+            postGetRoleIdListOfGroups(roleIds, tenantDomain);
+        }
+        if (idpGroupIds != null && !idpGroupIds.isEmpty()) {
+            postGetRoleIdListOfIdpGroups(roleIds, idpGroupIds, tenantDomain);
+        }
+    }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * User, group or IdP group which roles are assigned to.
+ */
+public class RoleAssignee implements Serializable {
+
+    private static final long serialVersionUID = 6215388904772163071L;
+
+    /**
+     * Types of the role assignees.
+     */
+    public enum Type {
+        USER, GROUP, IDP_GROUP
+    }
+
+    private final Type type;
+    private final String id;
+
+    public RoleAssignee(Type type, String id) {
+
+        this.type = type;
+        this.id = id;
+    }
+
+    public Type getType() {
+
+        return type;
+    }
+
+    public String getId() {
+
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RoleAssignee that = (RoleAssignee) o;
+        return type == that.type && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+
+        return type + ":" + id;
+    }
+}
@@ -30,11 +30,15 @@ import org.testng.annotations.Test;
 import org.wso2.carbon.base.CarbonBaseConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
 import org.wso2.carbon.identity.role.v2.mgt.core.dao.CacheBackedRoleDAO;
 import org.wso2.carbon.identity.role.v2.mgt.core.dao.RoleDAO;
 import org.wso2.carbon.identity.role.v2.mgt.core.dao.RoleMgtDAOFactory;
 import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementClientException;
 import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+import org.wso2.carbon.identity.role.v2.mgt.core.internal.RoleManagementServiceComponentHolder;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.AbstractRoleManagementListener;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleManagementListener;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.UserBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.util.RoleManagementUtils;
@@ -43,6 +47,8 @@ import org.wso2.carbon.user.core.UserCoreConstants;
 
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -259,6 +265,82 @@ public class RoleManagementServiceImplTest extends IdentityBaseTest {
         Assert.assertNotNull(userBasicInfoList);
     }
 
+    @Test
+    public void testGetRoleIdListOfUserAndGroupsInvokesRoleIdListListeners() throws Exception {
+
+        List<String> groupIds = Collections.singletonList("groupId");
+        List<String> idpGroupIds = Collections.singletonList("idpGroupId");
+        when(roleDAO.getRoleIdListOfUserAndGroups("userId", groupIds, idpGroupIds, tenantDomain))
+                .thenReturn(new ArrayList<>(Arrays.asList("userRoleId", "groupRoleId", "idpGroupRoleId")));
+
+        List<String> invokedListeners = new ArrayList<>();
+        RoleManagementListener roleManagementListener = new AbstractRoleManagementListener() {
+
+            @Override
+            public boolean isEnable() {
+
+                return true;
+            }
+
+            @Override
+            public void preGetRoleIdListOfUser(String userId, String tenantDomain) {
+
+                invokedListeners.add("preGetRoleIdListOfUser");
+            }
+
+            @Override
+            public void postGetRoleIdListOfUser(List<String> roleIds, String userId, String tenantDomain) {
+
+                invokedListeners.add("postGetRoleIdListOfUser");
+                roleIds.remove("userRoleId");
+            }
+
+            @Override
+            public void preGetRoleIdListOfGroups(List<String> groupIds, String tenantDomain) {
+
+                invokedListeners.add("preGetRoleIdListOfGroups");
+            }
+
+            @Override
+            public void postGetRoleIdListOfGroups(List<String> roleIds, String tenantDomain) {
+
+                invokedListeners.add("postGetRoleIdListOfGroups");
+                roleIds.add("listenerRoleId");
+            }
+
+            @Override
+            public void preGetRoleIdListOfIdpGroups(List<String> groupIds, String tenantDomain) {
+
+                invokedListeners.add("preGetRoleIdListOfIdpGroups");
+            }
+
+            @Override
+            public void postGetRoleIdListOfIdpGroups(List<String> roleIds, List<String> groupIds,
+                                                     String tenantDomain) {
+
+                invokedListeners.add("postGetRoleIdListOfIdpGroups");
+            }
+        };
+        RoleManagementServiceComponentHolder componentHolder = RoleManagementServiceComponentHolder.getInstance();
+        List<RoleManagementListener> roleManagementListeners = componentHolder.getRoleManagementListenerList();
+        componentHolder.setRoleManagementListenerList(Collections.singletonList(roleManagementListener));
+        try (MockedStatic<OrganizationManagementUtil> organizationManagementUtil =
+                     mockStatic(OrganizationManagementUtil.class)) {
+            organizationManagementUtil.when(() -> OrganizationManagementUtil.isOrganization(tenantDomain))
+                    .thenReturn(true);
+
+            List<String> roleIds = roleManagementService.getRoleIdListOfUserAndGroups("userId", groupIds,
+                    idpGroupIds, tenantDomain);
+
+            assertEquals(Arrays.asList("groupRoleId", "idpGroupRoleId", "listenerRoleId"), roleIds);
+            assertEquals(Arrays.asList("preGetRoleIdListOfUser", "preGetRoleIdListOfGroups",
+                    "preGetRoleIdListOfIdpGroups", "postGetRoleIdListOfUser", "postGetRoleIdListOfGroups",
+                    "postGetRoleIdListOfIdpGroups"), invokedListeners);
+        } finally {
+            componentHolder.setRoleManagementListenerList(roleManagementListeners);
+        }
+    }
+
     private void mockCarbonContextForTenant() {
 
         String carbonHome = Paths.get(System.getProperty("user.dir"), "target", "test-classes").toString();
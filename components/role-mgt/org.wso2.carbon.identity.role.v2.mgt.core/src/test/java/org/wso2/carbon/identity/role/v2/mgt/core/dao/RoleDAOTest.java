@@ -55,6 +55,7 @@ import org.wso2.carbon.identity.role.v2.mgt.core.internal.RoleManagementServiceC
 import org.wso2.carbon.identity.role.v2.mgt.core.model.IdpGroup;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Role;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleAssignee;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.UserBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.util.GroupIDResolver;
@@ -1125,6 +1126,71 @@ public class RoleDAOTest {
         assertEquals(roles.size(), 1);
     }
 
+    @Test
+    public void testGetRoleIdListOfUserAndGroups() throws Exception {
+
+        RoleDAOImpl roleDAO = spy(new RoleDAOImpl());
+        mockCacheClearing(roleDAO);
+        mockRealmConfiguration();
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getUserDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection());
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection());
+        identityUtil.when(IdentityUtil::getPrimaryDomainName).thenReturn(USER_DOMAIN_PRIMARY);
+        identityUtil.when(() -> IdentityUtil.extractDomainFromName(anyString())).thenCallRealMethod();
+        identityUtil.when(() -> IdentityUtil.isUserStoreInUsernameCaseSensitive(anyString(), anyInt()))
+                .thenReturn(true);
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(anyString())).thenReturn(SAMPLE_TENANT_ID);
+        userCoreUtil.when(() -> UserCoreUtil.isEveryoneRole(anyString(), any(RealmConfiguration.class)))
+                .thenReturn(false);
+        userCoreUtil.when(() -> UserCoreUtil.removeDomainFromName(anyString())).thenCallRealMethod();
+        userCoreUtil.when(() -> UserCoreUtil.extractDomainFromName(anyString())).thenCallRealMethod();
+        userCoreUtil.when(() -> UserCoreUtil.addDomainToName(anyString(), anyString())).thenCallRealMethod();
+        RoleBasicInfo role1 = addRole(roleNamesList.get(0), APPLICATION_AUD, SAMPLE_APP_ID, roleDAO);
+        RoleBasicInfo role2 = addRole(roleNamesList.get(1), APPLICATION_AUD, SAMPLE_APP_ID, roleDAO);
+        List<IdpGroup> newGroups = new ArrayList<>();
+        newGroups.add(new IdpGroup("test-group1-id", "test-idp-id"));
+        IdpManager mockIdpManager = mock(IdpManager.class);
+        IdentityProvider mockIdentityProvider = mock(IdentityProvider.class);
+        IdPGroup[] idpGroups = buildIdPGroups().toArray(new IdPGroup[0]);
+        when(mockIdpManager.getIdPByResourceId(anyString(), anyString(), anyBoolean())).thenReturn(
+                mockIdentityProvider);
+        when(mockIdentityProvider.getIdPGroupConfig()).thenReturn(idpGroups);
+        RoleManagementServiceComponentHolder.getInstance().setIdentityProviderManager(mockIdpManager);
+        roleDAO.updateIdpGroupListOfRole(role1.getId(), newGroups, new ArrayList<>(), SAMPLE_TENANT_DOMAIN);
+
+        List<String> idpGroupIds = Arrays.asList("test-group1-id", "test-group2-id");
+        Map<RoleAssignee, List<String>> roleIdsOfAssignees = roleDAO.getRoleIdListOfAssignees("userID1",
+                groupIDsList, idpGroupIds, SAMPLE_TENANT_DOMAIN);
+        assertEquals(roleIdsOfAssignees.size(), 5);
+        assertEquals(roleIdsOfAssignees.get(new RoleAssignee(RoleAssignee.Type.USER, "userID1")).size(), 2);
+        assertEquals(roleIdsOfAssignees.get(new RoleAssignee(RoleAssignee.Type.GROUP, groupIDsList.get(0))).size(),
+                2);
+        assertEquals(roleIdsOfAssignees.get(new RoleAssignee(RoleAssignee.Type.IDP_GROUP, "test-group1-id")),
+                Collections.singletonList(role1.getId()));
+        assertTrue(roleIdsOfAssignees.get(new RoleAssignee(RoleAssignee.Type.IDP_GROUP, "test-group2-id")).isEmpty());
+
+        List<String> roleIds = roleDAO.getRoleIdListOfUserAndGroups("userID1", groupIDsList, idpGroupIds,
+                SAMPLE_TENANT_DOMAIN);
+        assertEquals(roleIds.size(), 2);
+        assertTrue(roleIds.containsAll(Arrays.asList(role1.getId(), role2.getId())));
+        assertEquals(roleDAO.getRoleIdListOfUserAndGroups(null, null, Collections.singletonList("test-group1-id"),
+                SAMPLE_TENANT_DOMAIN), Collections.singletonList(role1.getId()));
+
+        // IdP groups beyond the first batch are resolved by further queries.
+        List<String> manyIdpGroupIds = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            manyIdpGroupIds.add("unassigned-group-" + i);
+        }
+        manyIdpGroupIds.add("test-group1-id");
+        Map<RoleAssignee, List<String>> roleIdsOfManyIdpGroups = roleDAO.getRoleIdListOfAssignees("userID1", null,
+                manyIdpGroupIds, SAMPLE_TENANT_DOMAIN);
+        assertEquals(roleIdsOfManyIdpGroups.size(), 252);
+        assertEquals(roleIdsOfManyIdpGroups.get(new RoleAssignee(RoleAssignee.Type.USER, "userID1")).size(), 2);
+        assertEquals(roleIdsOfManyIdpGroups.get(new RoleAssignee(RoleAssignee.Type.IDP_GROUP, "test-group1-id")),
+                Collections.singletonList(role1.getId()));
+    }
+
     @Test
     public void testDeleteRolesByApplication() throws Exception {
 
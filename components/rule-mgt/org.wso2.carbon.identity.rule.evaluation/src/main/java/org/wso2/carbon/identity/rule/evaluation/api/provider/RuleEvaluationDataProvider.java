@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.rule.evaluation.api.provider;
 
 import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationDataProviderException;
+import org.wso2.carbon.identity.rule.evaluation.api.model.Field;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FlowContext;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FlowType;
@@ -52,4 +53,18 @@ public interface RuleEvaluationDataProvider {
     List<FieldValue> getEvaluationData(RuleEvaluationContext ruleEvaluationContext, FlowContext flowContext,
                                        String tenantDomain) throws RuleEvaluationDataProviderException;
 
+    /**
+     * Check whether the value of the given field should be resolved lazily.
+     * Lazily resolved fields are not requested together with the rest of the fields in the rule. They are requested
+     * through {@link #getEvaluationData} only if the evaluation reaches an expression on the field, together with
+     * the other lazily resolved fields needed by the same AND combined rule.
+     * Fields that need a lookup from a database or a user store are candidates to be resolved lazily.
+     *
+     * @param field Field in the rule.
+     * @return True if the field value should only be resolved when it is needed.
+     */
+    default boolean isLazilyResolved(Field field) {
+
+        return false;
+    }
 }
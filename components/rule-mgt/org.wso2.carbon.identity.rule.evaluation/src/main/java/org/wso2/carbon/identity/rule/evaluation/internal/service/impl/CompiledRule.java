@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.rule.evaluation.internal.service.impl;
+
+import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationException;
+import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
+import org.wso2.carbon.identity.rule.evaluation.api.model.Operator;
+import org.wso2.carbon.identity.rule.management.api.model.ANDCombinedRule;
+import org.wso2.carbon.identity.rule.management.api.model.Expression;
+import org.wso2.carbon.identity.rule.management.api.model.ORCombinedRule;
+import org.wso2.carbon.identity.rule.management.api.model.Rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.BOOLEAN;
+import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.LIST;
+import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.NUMBER;
+import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.REFERENCE;
+import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.STRING;
+
+/**
+ * Immutable, pre-processed form of a rule used for evaluation.
+ * Operators are resolved and expression values are parsed once when the rule is compiled. Single expression OR
+ * branches using the equals operator and notEquals expressions of an AND rule on the same field are merged into a
+ * single hashed membership check, and the cheaper and more selective conditions are evaluated first.
+ */
+final class CompiledRule {
+
+    // Operators
+    private static final String EQUALS = "equals";
+    private static final String NOT_EQUALS = "notEquals";
+    private static final String CONTAINS = "contains";
+
+    private static final Comparator<Condition> BY_COST = Comparator.comparingInt(Condition::cost);
+
+    private final Condition[][] conjunctions;
+
+    private CompiledRule(Condition[][] conjunctions) {
+
+        this.conjunctions = conjunctions;
+    }
+
+    /**
+     * Compile the given rule.
+     *
+     * @param rule             Rule to compile.
+     * @param operatorRegistry Registry to resolve the operators of the rule expressions.
+     * @return Compiled rule.
+     */
+    static CompiledRule compile(Rule rule, OperatorRegistry operatorRegistry) {
+
+        ORCombinedRule orRule = (ORCombinedRule) rule;
+        List<Condition[]> conjunctions = new ArrayList<>();
+        // Single expression equals branches of the OR rule, grouped by the field.
+        Map<String, List<ExpressionCondition>> equalsBranches = new LinkedHashMap<>();
+        for (ANDCombinedRule andRule : orRule.getRules()) {
+            List<Expression> expressions = andRule.getExpressions();
+            if (expressions.size() == 1 && EQUALS.equals(expressions.get(0).getOperator())) {
+                ExpressionCondition condition = new ExpressionCondition(expressions.get(0), operatorRegistry);
+                equalsBranches.computeIfAbsent(condition.field, k -> new ArrayList<>()).add(condition);
+            } else {
+                conjunctions.add(compileConjunction(expressions, operatorRegistry));
+            }
+        }
+        for (List<ExpressionCondition> branches : equalsBranches.values()) {
+            conjunctions.add(new Condition[]{mergeIfRepeated(branches, false)});
+        }
+        conjunctions.sort(Comparator.comparingInt(CompiledRule::cost));
+        return new CompiledRule(conjunctions.toArray(new Condition[0][]));
+    }
+
+    /**
+     * Evaluate the compiled rule.
+     *
+     * @param evaluationData Evaluation data.
+     * @return Evaluation result.
+     * @throws RuleEvaluationException If an error occurs while evaluating the rule.
+     */
+    boolean evaluate(RuleEvaluationData evaluationData) throws RuleEvaluationException {
+
+        for (Condition[] conjunction : conjunctions) {
+            if (evaluateConjunction(conjunction, evaluationData)) {
+                return true; // If any ANDCombinedRule evaluates to true, the ORCombinedRule passes
+            }
+        }
+        return false; // If none of the ANDCombinedRules pass, the ORCombinedRule fails
+    }
+
+    private static boolean evaluateConjunction(Condition[] conjunction, RuleEvaluationData evaluationData)
+            throws RuleEvaluationException {
+
+        List<Condition> deferredConditions = null;
+        for (Condition condition : conjunction) {
+            if (evaluationData.isPending(condition.field())) {
+                // Lazily resolved fields are only resolved once all the other expressions have passed.
+                if (deferredConditions == null) {
+                    deferredConditions = new ArrayList<>();
+                }
+                deferredConditions.add(condition);
+            } else if (!condition.evaluate(evaluationData)) {
+                return false; // If any expression fails, the ANDCombinedRule fails
+            }
+        }
+        if (deferredConditions == null) {
+            return true; // All expressions passed, the ANDCombinedRule passes
+        }
+
+        // The remaining fields are all needed for the ANDCombinedRule to pass, so they are resolved together.
+        List<String> deferredFields = new ArrayList<>(deferredConditions.size());
+        for (Condition condition : deferredConditions) {
+            deferredFields.add(condition.field());
+        }
+        evaluationData.resolve(deferredFields);
+        for (Condition condition : deferredConditions) {
+            if (!condition.evaluate(evaluationData)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Condition[] compileConjunction(List<Expression> expressions, OperatorRegistry operatorRegistry) {
+
+        List<Condition> conditions = new ArrayList<>();
+        // notEquals expressions of the AND rule, grouped by the field.
+        Map<String, List<ExpressionCondition>> notEqualsExpressions = new LinkedHashMap<>();
+        for (Expression expression : expressions) {
+            ExpressionCondition condition = new ExpressionCondition(expression, operatorRegistry);
+            if (NOT_EQUALS.equals(expression.getOperator())) {
+                notEqualsExpressions.computeIfAbsent(condition.field, k -> new ArrayList<>()).add(condition);
+            } else {
+                conditions.add(condition);
+            }
+        }
+        for (List<ExpressionCondition> fieldExpressions : notEqualsExpressions.values()) {
+            conditions.add(mergeIfRepeated(fieldExpressions, true));
+        }
+        // Stable sort, so conditions of the same cost keep the order they were defined in.
+        conditions.sort(BY_COST);
+        return conditions.toArray(new Condition[0]);
+    }
+
+    private static Condition mergeIfRepeated(List<ExpressionCondition> conditions, boolean negated) {
+
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+        return new MembershipCondition(conditions, negated);
+    }
+
+    private static int cost(Condition[] conjunction) {
+
+        int cost = 0;
+        for (Condition condition : conjunction) {
+            cost += condition.cost();
+        }
+        return cost;
+    }
+
+    private static FieldValue getFieldValue(String field, RuleEvaluationData evaluationData)
+            throws RuleEvaluationException {
+
+        FieldValue fieldValue = evaluationData.getFieldValue(field);
+        if (fieldValue == null) {
+            throw new RuleEvaluationException("Field value not found for the field: " + field);
+        }
+        return fieldValue;
+    }
+
+    /**
+     * Compiled condition of a rule.
+     */
+    private interface Condition {
+
+        boolean evaluate(RuleEvaluationData evaluationData) throws RuleEvaluationException;
+
+        /**
+         * Name of the field the condition is evaluated on.
+         */
+        String field();
+
+        /**
+         * Relative evaluation cost of the condition. Conditions with a lower cost are evaluated first.
+         */
+        int cost();
+    }
+
+    /**
+     * Single expression with the resolved operator and the expression value parsed to each of the value types.
+     */
+    private static final class ExpressionCondition implements Condition {
+
+        private final String field;
+        private final String operatorName;
+        private final Operator operator;
+        private final String value;
+        private final Boolean booleanValue;
+        private final Double numberValue;
+        private final int cost;
+
+        ExpressionCondition(Expression expression, OperatorRegistry operatorRegistry) {
+
+            this.field = expression.getField();
+            this.operatorName = expression.getOperator();
+            this.operator = operatorRegistry.getOperator(operatorName);
+            this.value = expression.getValue().getFieldValue();
+            this.booleanValue = Boolean.parseBoolean(value);
+            this.numberValue = parseNumber(value);
+            this.cost = resolveCost(expression);
+        }
+
+        @Override
+        public boolean evaluate(RuleEvaluationData evaluationData) throws RuleEvaluationException {
+
+            FieldValue fieldValue = getFieldValue(field, evaluationData);
+            if (operator == null) {
+                throw new RuleEvaluationException("Unsupported operator: " + operatorName);
+            }
+
+            // Evaluate based on the value type of the field
+            if (fieldValue.getValueType() == STRING || fieldValue.getValueType() == REFERENCE) {
+                return operator.apply(fieldValue.getValue(), value);
+            } else if (fieldValue.getValueType() == BOOLEAN) {
+                return operator.apply(fieldValue.getValue(), booleanValue);
+            } else if (fieldValue.getValueType() == NUMBER) {
+                if (numberValue == null) {
+                    throw new RuleEvaluationException("Invalid number value: " + value + " for the field: " + field);
+                }
+                return operator.apply(fieldValue.getValue(), numberValue);
+            } else if (fieldValue.getValueType() == LIST) {
+                return applyOperatorForList((List<?>) fieldValue.getValue());
+            }
+
+            throw new IllegalStateException("Unsupported value type: " + fieldValue.getValueType().getName());
+        }
+
+        @Override
+        public String field() {
+
+            return field;
+        }
+
+        @Override
+        public int cost() {
+
+            return cost;
+        }
+
+        private boolean applyOperatorForList(List<?> list) {
+
+            switch (operatorName) {
+                case EQUALS:
+                case CONTAINS:
+                    return list.contains(value);
+                case NOT_EQUALS:
+                    return !list.contains(value);
+                default:
+                    throw new IllegalStateException("Unsupported operator: " + operatorName + " for LIST value type");
+            }
+        }
+
+        private static Double parseNumber(String value) {
+
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException | NullPointerException e) {
+                // Not a number literal. Only an error if the field turns out to be a number.
+                return null;
+            }
+        }
+
+        private static int resolveCost(Expression expression) {
+
+            // Boolean and number comparisons are cheaper than string comparisons, and equals is more likely to
+            // fail an AND rule early than notEquals. contains may scan the whole string or list.
+            int cost;
+            switch (expression.getValue().getType()) {
+                case BOOLEAN:
+                    cost = 0;
+                    break;
+                case NUMBER:
+                    cost = 2;
+                    break;
+                default:
+                    cost = 4;
+            }
+            if (NOT_EQUALS.equals(expression.getOperator())) {
+                cost += 1;
+            } else if (!EQUALS.equals(expression.getOperator())) {
+                cost += 4;
+            }
+            return cost;
+        }
+    }
+
+    /**
+     * Membership check of a field against the values of a group of equals (OR) or notEquals (AND) expressions on
+     * the same field. String and list field values are checked against a hash set of the expression values, other
+     * value types fall back to evaluating the expressions one by one.
+     */
+    private static final class MembershipCondition implements Condition {
+
+        private final String field;
+        private final Set<String> values;
+        private final boolean negated;
+        private final ExpressionCondition[] expressions;
+        private final int cost;
+
+        MembershipCondition(Collection<ExpressionCondition> expressions, boolean negated) {
+
+            this.expressions = expressions.toArray(new ExpressionCondition[0]);
+            this.field = this.expressions[0].field;
+            this.negated = negated;
+            Set<String> expressionValues = new HashSet<>();
+            int maxCost = 0;
+            for (ExpressionCondition expression : expressions) {
+                expressionValues.add(expression.value);
+                maxCost = Math.max(maxCost, expression.cost);
+            }
+            this.values = expressionValues;
+            this.cost = maxCost + 1;
+        }
+
+        @Override
+        public boolean evaluate(RuleEvaluationData evaluationData) throws RuleEvaluationException {
+
+            FieldValue fieldValue = getFieldValue(field, evaluationData);
+            Object value = fieldValue.getValue();
+            if (fieldValue.getValueType() == LIST) {
+                for (Object element : (List<?>) value) {
+                    if (values.contains(element)) {
+                        return !negated;
+                    }
+                }
+                return negated;
+            } else if (value instanceof String) {
+                return values.contains(value) != negated;
+            }
+
+            for (ExpressionCondition expression : expressions) {
+                if (expression.evaluate(evaluationData) != negated) {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+
+        @Override
+        public String field() {
+
+            return field;
+        }
+
+        @Override
+        public int cost() {
+
+            return cost;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.rule.evaluation.internal.service.impl;
+
+import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationException;
+import org.wso2.carbon.identity.rule.evaluation.api.model.Field;
+import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field values of a single rule evaluation.
+ * Eagerly resolved field values are provided upfront. Lazily resolved fields are requested from the rule evaluation
+ * data provider only when the evaluator reaches an expression on them, and the resolved values are kept for the
+ * rest of the evaluation.
+ */
+public class RuleEvaluationData {
+
+    private final Map<String, FieldValue> fieldValues;
+    private final Map<String, Field> pendingFields;
+    private final FieldResolver fieldResolver;
+
+    public RuleEvaluationData(Map<String, FieldValue> fieldValues) {
+
+        this(fieldValues, Collections.emptyList(), null);
+    }
+
+    RuleEvaluationData(Map<String, FieldValue> fieldValues, List<Field> lazyFields, FieldResolver fieldResolver) {
+
+        this.fieldValues = new HashMap<>(fieldValues);
+        this.pendingFields = new LinkedHashMap<>();
+        for (Field field : lazyFields) {
+            pendingFields.put(field.getName(), field);
+        }
+        this.fieldResolver = fieldResolver;
+    }
+
+    /**
+     * Get the value of a field, resolving it first if it is a lazily resolved field.
+     *
+     * @param fieldName Field name.
+     * @return Field value or null if no value is available for the field.
+     * @throws RuleEvaluationException If an error occurs while resolving the field value.
+     */
+    public FieldValue getFieldValue(String fieldName) throws RuleEvaluationException {
+
+        if (pendingFields.containsKey(fieldName)) {
+            resolve(Collections.singletonList(fieldName));
+        }
+        return fieldValues.get(fieldName);
+    }
+
+    /**
+     * Check whether the given field is a lazily resolved field that is not resolved yet.
+     *
+     * @param fieldName Field name.
+     * @return True if the field value is not resolved yet.
+     */
+    boolean isPending(String fieldName) {
+
+        return pendingFields.containsKey(fieldName);
+    }
+
+    /**
+     * Resolve the pending fields among the given fields with a single call to the rule evaluation data provider.
+     *
+     * @param fieldNames Field names.
+     * @throws RuleEvaluationException If an error occurs while resolving the field values.
+     */
+    void resolve(Collection<String> fieldNames) throws RuleEvaluationException {
+
+        List<Field> fields = new ArrayList<>();
+        for (String fieldName : fieldNames) {
+            Field field = pendingFields.remove(fieldName);
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        List<FieldValue> resolvedFieldValues = fieldResolver.resolve(fields);
+        if (resolvedFieldValues != null) {
+            for (FieldValue fieldValue : resolvedFieldValues) {
+                fieldValues.put(fieldValue.getName(), fieldValue);
+            }
+        }
+    }
+
+    /**
+     * Resolves the values of lazily resolved fields.
+     */
+    @FunctionalInterface
+    interface FieldResolver {
+
+        List<FieldValue> resolve(List<Field> fields) throws RuleEvaluationException;
+    }
+}
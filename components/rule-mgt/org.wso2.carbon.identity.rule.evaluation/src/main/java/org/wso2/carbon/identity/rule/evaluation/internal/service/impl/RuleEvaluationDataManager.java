@@ -19,13 +19,16 @@
 package org.wso2.carbon.identity.rule.evaluation.internal.service.impl;
 
 import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationException;
+import org.wso2.carbon.identity.rule.evaluation.api.model.Field;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FlowContext;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FlowType;
 import org.wso2.carbon.identity.rule.evaluation.api.model.RuleEvaluationContext;
 import org.wso2.carbon.identity.rule.evaluation.api.provider.RuleEvaluationDataProvider;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -72,6 +75,49 @@ public class RuleEvaluationDataManager {
         return ruleEvaluationDataProvider.getEvaluationData(ruleEvaluationContext, flowContext, tenantDomain);
     }
 
+    /**
+     * Get evaluation data for a given rule evaluation context and flow context.
+     * Values of the fields that are not lazily resolved by the rule evaluation data provider are retrieved with a
+     * single call. Lazily resolved fields are retrieved only when the rule evaluation needs them.
+     *
+     * @param ruleEvaluationContext Rule evaluation context.
+     * @param flowContext           Flow context.
+     * @param tenantDomain          Tenant domain.
+     * @return Rule evaluation data.
+     * @throws RuleEvaluationException If an error occurs while getting evaluation data.
+     */
+    public RuleEvaluationData getRuleEvaluationData(RuleEvaluationContext ruleEvaluationContext,
+                                                    FlowContext flowContext,
+                                                    String tenantDomain) throws RuleEvaluationException {
+
+        RuleEvaluationDataProvider ruleEvaluationDataProvider =
+                ruleEvaluationDataProviderMap.get(flowContext.getFlowType());
+
+        List<Field> eagerFields = new ArrayList<>();
+        List<Field> lazyFields = new ArrayList<>();
+        for (Field field : ruleEvaluationContext.getFields()) {
+            if (ruleEvaluationDataProvider.isLazilyResolved(field)) {
+                lazyFields.add(field);
+            } else {
+                eagerFields.add(field);
+            }
+        }
+
+        Map<String, FieldValue> fieldValues = new HashMap<>();
+        if (lazyFields.isEmpty()) {
+            addFieldValues(fieldValues, ruleEvaluationDataProvider.getEvaluationData(ruleEvaluationContext,
+                    flowContext, tenantDomain));
+        } else if (!eagerFields.isEmpty()) {
+            addFieldValues(fieldValues, ruleEvaluationDataProvider.getEvaluationData(
+                    new RuleEvaluationContext(ruleEvaluationContext.getRuleId(), eagerFields), flowContext,
+                    tenantDomain));
+        }
+
+        String ruleId = ruleEvaluationContext.getRuleId();
+        return new RuleEvaluationData(fieldValues, lazyFields, fields -> ruleEvaluationDataProvider
+                .getEvaluationData(new RuleEvaluationContext(ruleId, fields), flowContext, tenantDomain));
+    }
+
     /**
      * Register a rule evaluation data provider.
      *
@@ -92,4 +138,13 @@ public class RuleEvaluationDataManager {
 
         ruleEvaluationDataProviderMap.remove(ruleEvaluationDataProvider.getSupportedFlowType());
     }
+
+    private static void addFieldValues(Map<String, FieldValue> fieldValues, List<FieldValue> fieldValueList) {
+
+        if (fieldValueList != null) {
+            for (FieldValue fieldValue : fieldValueList) {
+                fieldValues.put(fieldValue.getName(), fieldValue);
+            }
+        }
+    }
 }
@@ -23,7 +23,6 @@ import org.apache.commons.logging.LogFactory;
 import org.osgi.annotation.bundle.Capability;
 import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationException;
 import org.wso2.carbon.identity.rule.evaluation.api.model.Field;
-import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FlowContext;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FlowType;
 import org.wso2.carbon.identity.rule.evaluation.api.model.RuleEvaluationContext;
@@ -35,10 +34,7 @@ import org.wso2.carbon.identity.rule.management.api.model.Rule;
 import org.wso2.carbon.identity.rule.metadata.api.exception.RuleMetadataException;
 import org.wso2.carbon.identity.rule.metadata.api.model.FieldDefinition;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of RuleEvaluationService.
@@ -71,8 +67,8 @@ public class RuleEvaluationServiceImpl implements RuleEvaluationService {
                 new FieldExtractor(getRuleMetaFromRuleMetadataService(flowContext.getFlowType(), tenantDomain));
         List<Field> fieldsInRule = fieldExtractor.extractFields(rule);
 
-        Map<String, FieldValue> evaluationData =
-                getEvaluationData(ruleId, flowContext, tenantDomain, fieldsInRule);
+        RuleEvaluationData evaluationData = RuleEvaluationDataManager.getInstance().getRuleEvaluationData(
+                new RuleEvaluationContext(ruleId, fieldsInRule), flowContext, tenantDomain);
 
         RuleEvaluator ruleEvaluator = new RuleEvaluator(RuleEvaluationComponentServiceHolder.getInstance()
                 .getOperatorRegistry());
@@ -82,20 +78,6 @@ public class RuleEvaluationServiceImpl implements RuleEvaluationService {
         return new RuleEvaluationResult(ruleId, evaluationStatus);
     }
 
-    private Map<String, FieldValue> getEvaluationData(String ruleId, FlowContext flowContext,
-                                                      String tenantDomain, List<Field> fieldsInRule)
-            throws RuleEvaluationException {
-
-        RuleEvaluationDataManager ruleEvaluationDataProviderManager = RuleEvaluationDataManager.getInstance();
-
-        List<FieldValue> evaluationDataList = ruleEvaluationDataProviderManager.getEvaluationData(
-                new RuleEvaluationContext(ruleId, fieldsInRule), flowContext, tenantDomain);
-
-        return (evaluationDataList == null || evaluationDataList.isEmpty())
-                ? Collections.emptyMap()
-                : evaluationDataList.stream().collect(Collectors.toMap(FieldValue::getName, fieldValue -> fieldValue));
-    }
-
     private Rule getRuleFromRuleManagementService(String ruleId, String tenantDomain)
             throws RuleEvaluationException {
 
@@ -22,20 +22,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationException;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
-import org.wso2.carbon.identity.rule.evaluation.api.model.Operator;
-import org.wso2.carbon.identity.rule.management.api.model.ANDCombinedRule;
-import org.wso2.carbon.identity.rule.management.api.model.Expression;
-import org.wso2.carbon.identity.rule.management.api.model.ORCombinedRule;
 import org.wso2.carbon.identity.rule.management.api.model.Rule;
 
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
-
-import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.BOOLEAN;
-import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.LIST;
-import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.NUMBER;
-import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.REFERENCE;
-import static org.wso2.carbon.identity.rule.evaluation.api.model.ValueType.STRING;
+import java.util.WeakHashMap;
 
 /**
  * Rule evaluator.
@@ -45,12 +36,13 @@ public class RuleEvaluator {
 
     private static final Log LOG = LogFactory.getLog(RuleEvaluator.class);
 
-    private final OperatorRegistry operatorRegistry;
+    /**
+     * Compiled rules, keyed by the rule instance. Rules are served from the rule cache, so a rule is compiled once
+     * when it is loaded, and a rule reloaded after an update gets compiled again as a new instance.
+     */
+    private static final Map<Rule, CompiledRule> COMPILED_RULES = Collections.synchronizedMap(new WeakHashMap<>());
 
-    // Operators
-    private static final String EQUALS = "equals";
-    private static final String NOT_EQUALS = "notEquals";
-    private static final String CONTAINS = "contains";
+    private final OperatorRegistry operatorRegistry;
 
     public RuleEvaluator(OperatorRegistry operatorRegistry) {
 
@@ -67,71 +59,32 @@ public class RuleEvaluator {
      */
     public boolean evaluate(Rule rule, Map<String, FieldValue> evaluationData) throws RuleEvaluationException {
 
-        ORCombinedRule orRule = (ORCombinedRule) rule;
-        return evaluateORCombinedRule(orRule, evaluationData);
+        return evaluate(rule, new RuleEvaluationData(evaluationData));
     }
 
-    private boolean evaluateORCombinedRule(ORCombinedRule orRule, Map<String, FieldValue> evaluationData)
-            throws RuleEvaluationException {
+    /**
+     * Evaluate a given rule, resolving the lazily resolved fields of the evaluation data only when they are needed.
+     *
+     * @param rule           Rule to evaluate.
+     * @param evaluationData Evaluation data.
+     * @return Evaluation result.
+     * @throws RuleEvaluationException If an error occurs while evaluating the rule.
+     */
+    public boolean evaluate(Rule rule, RuleEvaluationData evaluationData) throws RuleEvaluationException {
 
-        for (ANDCombinedRule andRule : orRule.getRules()) {
-            if (evaluateANDCombinedRule(andRule, evaluationData)) {
-                return true; // If any ANDCombinedRule evaluates to true, the ORCombinedRule passes
-            }
-        }
-        return false; // If none of the ANDCombinedRules pass, the ORCombinedRule fails
+        return getCompiledRule(rule).evaluate(evaluationData);
     }
 
-    private boolean evaluateANDCombinedRule(ANDCombinedRule andRule, Map<String, FieldValue> evaluationData)
-            throws RuleEvaluationException {
+    private CompiledRule getCompiledRule(Rule rule) {
 
-        for (Expression expression : andRule.getExpressions()) {
-            if (!evaluateExpression(expression, evaluationData)) {
-                return false; // If any expression fails, the ANDCombinedRule fails
+        CompiledRule compiledRule = COMPILED_RULES.get(rule);
+        if (compiledRule == null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Compiling rule: " + rule.getId() + " for evaluation.");
             }
+            compiledRule = CompiledRule.compile(rule, operatorRegistry);
+            COMPILED_RULES.put(rule, compiledRule);
         }
-        return true; // All expressions passed, the ANDCombinedRule passes
-    }
-
-    private boolean evaluateExpression(Expression expression, Map<String, FieldValue> evaluationData)
-            throws RuleEvaluationException {
-
-        FieldValue fieldValue = evaluationData.get(expression.getField());
-        if (fieldValue == null) {
-            throw new RuleEvaluationException("Field value not found for the field: " + expression.getField());
-        }
-
-        Operator operator = operatorRegistry.getOperator(expression.getOperator());
-
-        // Evaluate based on the value type of the field
-        if (fieldValue.getValueType().equals(STRING)) {
-            return operator.apply(fieldValue.getValue(), expression.getValue().getFieldValue());
-        } else if (fieldValue.getValueType().equals(BOOLEAN)) {
-            return operator.apply(fieldValue.getValue(),
-                    Boolean.parseBoolean(expression.getValue().getFieldValue()));
-        } else if (fieldValue.getValueType().equals(NUMBER)) {
-            return operator.apply(fieldValue.getValue(), Double.parseDouble(expression.getValue().getFieldValue()));
-        } else if (fieldValue.getValueType().equals(REFERENCE)) {
-            return operator.apply(fieldValue.getValue(), expression.getValue().getFieldValue());
-        } else if (fieldValue.getValueType().equals(LIST)) {
-            return applyOperatorForList(operator, fieldValue.getValue(), expression.getValue().getFieldValue());
-        }
-
-        throw new IllegalStateException("Unsupported value type: " + fieldValue.getValueType());
-    }
-
-    private boolean applyOperatorForList(Operator operator, Object fieldValue, Object expressionValue) {
-
-        List<?> list = (List<?>) fieldValue;
-
-        if (operator.getName().equals(EQUALS)) {
-            return list.contains(expressionValue);
-        } else if (operator.getName().equals(NOT_EQUALS)) {
-            return !list.contains(expressionValue);
-        } else if (operator.getName().equals(CONTAINS)) {
-            return list.contains(expressionValue);
-        }
-
-        throw new IllegalStateException("Unsupported operator: " + operator.getName() + " for LIST value type");
+        return compiledRule;
     }
 }
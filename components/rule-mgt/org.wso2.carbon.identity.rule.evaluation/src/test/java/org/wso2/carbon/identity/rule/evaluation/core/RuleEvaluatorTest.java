@@ -26,9 +26,14 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.rule.evaluation.api.exception.RuleEvaluationException;
 import org.wso2.carbon.identity.rule.evaluation.api.model.FieldValue;
+import org.wso2.carbon.identity.rule.evaluation.api.model.FlowContext;
+import org.wso2.carbon.identity.rule.evaluation.api.model.RuleEvaluationContext;
 import org.wso2.carbon.identity.rule.evaluation.api.model.ValueType;
+import org.wso2.carbon.identity.rule.evaluation.api.provider.RuleEvaluationDataProvider;
 import org.wso2.carbon.identity.rule.evaluation.internal.component.RuleEvaluationComponentServiceHolder;
 import org.wso2.carbon.identity.rule.evaluation.internal.service.impl.OperatorRegistry;
+import org.wso2.carbon.identity.rule.evaluation.internal.service.impl.RuleEvaluationData;
+import org.wso2.carbon.identity.rule.evaluation.internal.service.impl.RuleEvaluationDataManager;
 import org.wso2.carbon.identity.rule.evaluation.internal.service.impl.RuleEvaluator;
 import org.wso2.carbon.identity.rule.management.api.model.Expression;
 import org.wso2.carbon.identity.rule.management.api.model.FlowType;
@@ -56,9 +61,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
@@ -129,7 +139,26 @@ public class RuleEvaluatorTest {
                 {createRuleWithListValueTypeAndContainsOperator(),
                         createEvaluationDataForRoleList(Arrays.asList("role1", "role2", "role3")), true},
                 {createRuleWithListValueTypeAndContainsOperator(),
-                        createEvaluationDataForRoleList(Arrays.asList("role4", "role5")), false}
+                        createEvaluationDataForRoleList(Arrays.asList("role4", "role5")), false},
+                {createRuleWithORExpressionsOnSameFieldUsingStringValueTypes(),
+                        createEvaluationData("testapp", "password"), true},
+                {createRuleWithORExpressionsOnSameFieldUsingStringValueTypes(),
+                        createEvaluationData("testapp", "client_credentials"), false},
+                {createRuleWithORExpressionsOnSameFieldUsingListValueTypes(),
+                        createEvaluationData(Arrays.asList("http://wso2.org/claims/givenname",
+                                "http://wso2.org/claims/dob")), true},
+                {createRuleWithORExpressionsOnSameFieldUsingListValueTypes(),
+                        createEvaluationData(Collections.singletonList("http://wso2.org/claims/givenname")), false},
+                {createRuleWithORExpressionsOnSameFieldUsingNumberValueTypes(),
+                        createEvaluationData("testapp", 10), true},
+                {createRuleWithORExpressionsOnSameFieldUsingNumberValueTypes(),
+                        createEvaluationData("testapp", 7), false},
+                {createRuleWithANDNotEqualsExpressionsOnSameField(),
+                        createEvaluationData("testapp", "authorization_code"), true},
+                {createRuleWithANDNotEqualsExpressionsOnSameField(),
+                        createEvaluationData("testapp", "client_credentials"), false},
+                {createRuleWithANDNotEqualsExpressionsOnSameField(),
+                        createEvaluationData("testapp1", "authorization_code"), false}
         };
     }
 
@@ -153,6 +182,72 @@ public class RuleEvaluatorTest {
                 Collections.emptyMap());
     }
 
+    @Test
+    public void testEvaluateSameRuleWithDifferentEvaluationData() throws Exception {
+
+        Rule rule = createRuleWithTwoANDExpressionsAndOneORExpressionUsingReferenceAndNumberValueTypes();
+
+        assertTrue(ruleEvaluator.evaluate(rule, createEvaluationData("testapp1", 10)));
+        assertFalse(ruleEvaluator.evaluate(rule, createEvaluationData("testapp2", 10)));
+        assertTrue(new RuleEvaluator(operatorRegistry).evaluate(rule, createEvaluationData("testapp3", 4)));
+    }
+
+    @Test
+    public void testLazilyResolvedFieldIsResolvedOnlyWhenNeeded() throws Exception {
+
+        Rule rule = createRuleWithTwoANDExpressionsUsingReferenceAndStringValueTypes();
+        RuleEvaluationDataProvider provider = mock(RuleEvaluationDataProvider.class);
+        when(provider.getSupportedFlowType()).thenReturn(
+                org.wso2.carbon.identity.rule.evaluation.api.model.FlowType.PRE_ISSUE_ACCESS_TOKEN);
+        when(provider.isLazilyResolved(any())).thenAnswer(invocation -> "grantType".equals(
+                ((org.wso2.carbon.identity.rule.evaluation.api.model.Field) invocation.getArgument(0)).getName()));
+        RuleEvaluationDataManager ruleEvaluationDataManager = RuleEvaluationDataManager.getInstance();
+        ruleEvaluationDataManager.registerRuleEvaluationDataProvider(provider);
+        try {
+            List<org.wso2.carbon.identity.rule.evaluation.api.model.Field> fields = Arrays.asList(
+                    new org.wso2.carbon.identity.rule.evaluation.api.model.Field("application", ValueType.REFERENCE),
+                    new org.wso2.carbon.identity.rule.evaluation.api.model.Field("grantType", ValueType.STRING));
+            FlowContext flowContext = new FlowContext(
+                    org.wso2.carbon.identity.rule.evaluation.api.model.FlowType.PRE_ISSUE_ACCESS_TOKEN,
+                    Collections.emptyMap());
+
+            // The application expression fails, so the grant type is never resolved.
+            mockFieldValues(provider, createEvaluationData("testApp", "authorization_code"));
+            RuleEvaluationData evaluationData = ruleEvaluationDataManager.getRuleEvaluationData(
+                    new RuleEvaluationContext(rule.getId(), fields), flowContext, "tenant1");
+            assertFalse(ruleEvaluator.evaluate(rule, evaluationData));
+            verify(provider, times(1)).getEvaluationData(any(), any(), any());
+            verify(provider).getEvaluationData(argThat(context -> context.getFields().size() == 1 &&
+                    "application".equals(context.getFields().get(0).getName())), any(), any());
+
+            // The grant type is resolved once the application expression passes.
+            mockFieldValues(provider, createEvaluationData("testapp", "authorization_code"));
+            evaluationData = ruleEvaluationDataManager.getRuleEvaluationData(
+                    new RuleEvaluationContext(rule.getId(), fields), flowContext, "tenant1");
+            assertTrue(ruleEvaluator.evaluate(rule, evaluationData));
+            verify(provider, times(3)).getEvaluationData(any(), any(), any());
+            verify(provider).getEvaluationData(argThat(context -> context.getFields().size() == 1 &&
+                    "grantType".equals(context.getFields().get(0).getName())), any(), any());
+
+            // Resolved values are kept for the rest of the evaluation.
+            assertTrue(ruleEvaluator.evaluate(rule, evaluationData));
+            verify(provider, times(3)).getEvaluationData(any(), any(), any());
+        } finally {
+            ruleEvaluationDataManager.unregisterRuleEvaluationDataProvider(provider);
+        }
+    }
+
+    private void mockFieldValues(RuleEvaluationDataProvider provider, Map<String, FieldValue> fieldValues)
+            throws Exception {
+
+        when(provider.getEvaluationData(any(), any(), any())).thenAnswer(invocation -> {
+            RuleEvaluationContext context = invocation.getArgument(0);
+            return context.getFields().stream()
+                    .map(field -> fieldValues.get(field.getName()))
+                    .collect(Collectors.toList());
+        });
+    }
+
     private Rule createRuleWithTwoANDExpressionsUsingReferenceAndStringValueTypes() throws Exception {
 
         RuleBuilder ruleBuilder = RuleBuilder.create(FlowType.PRE_ISSUE_ACCESS_TOKEN, "tenant1");
@@ -230,6 +325,62 @@ public class RuleEvaluatorTest {
         return ruleBuilder.build();
     }
 
+    private Rule createRuleWithORExpressionsOnSameFieldUsingStringValueTypes() throws Exception {
+
+        RuleBuilder ruleBuilder = RuleBuilder.create(FlowType.PRE_ISSUE_ACCESS_TOKEN, "tenant1");
+
+        ruleBuilder.addAndExpression(new Expression.Builder().field("grantType").operator("equals")
+                .value(new Value(Value.Type.STRING, "authorization_code")).build());
+        ruleBuilder.addOrCondition();
+        ruleBuilder.addAndExpression(new Expression.Builder().field("grantType").operator("equals")
+                .value(new Value(Value.Type.STRING, "password")).build());
+        ruleBuilder.addOrCondition();
+        ruleBuilder.addAndExpression(new Expression.Builder().field("grantType").operator("equals")
+                .value(new Value(Value.Type.STRING, "refresh_token")).build());
+
+        return ruleBuilder.build();
+    }
+
+    private Rule createRuleWithORExpressionsOnSameFieldUsingListValueTypes() throws Exception {
+
+        RuleBuilder ruleBuilder = RuleBuilder.create(FlowType.PRE_ISSUE_ACCESS_TOKEN, "tenant1");
+
+        ruleBuilder.addAndExpression(new Expression.Builder().field("claim").operator("equals")
+                .value(new Value(Value.Type.REFERENCE, "http://wso2.org/claims/country")).build());
+        ruleBuilder.addOrCondition();
+        ruleBuilder.addAndExpression(new Expression.Builder().field("claim").operator("equals")
+                .value(new Value(Value.Type.REFERENCE, "http://wso2.org/claims/dob")).build());
+
+        return ruleBuilder.build();
+    }
+
+    private Rule createRuleWithORExpressionsOnSameFieldUsingNumberValueTypes() throws Exception {
+
+        RuleBuilder ruleBuilder = RuleBuilder.create(FlowType.PRE_ISSUE_ACCESS_TOKEN, "tenant1");
+
+        ruleBuilder.addAndExpression(new Expression.Builder().field("riskScore").operator("equals")
+                .value(new Value(Value.Type.NUMBER, "5")).build());
+        ruleBuilder.addOrCondition();
+        ruleBuilder.addAndExpression(new Expression.Builder().field("riskScore").operator("equals")
+                .value(new Value(Value.Type.NUMBER, "10")).build());
+
+        return ruleBuilder.build();
+    }
+
+    private Rule createRuleWithANDNotEqualsExpressionsOnSameField() throws Exception {
+
+        RuleBuilder ruleBuilder = RuleBuilder.create(FlowType.PRE_ISSUE_ACCESS_TOKEN, "tenant1");
+
+        ruleBuilder.addAndExpression(new Expression.Builder().field("grantType").operator("notEquals")
+                .value(new Value(Value.Type.STRING, "client_credentials")).build());
+        ruleBuilder.addAndExpression(new Expression.Builder().field("grantType").operator("notEquals")
+                .value(new Value(Value.Type.STRING, "password")).build());
+        ruleBuilder.addAndExpression(new Expression.Builder().field("application").operator("equals")
+                .value(new Value(Value.Type.REFERENCE, "testapp")).build());
+
+        return ruleBuilder.build();
+    }
+
     private Rule createRuleWithListValueTypeAndContainsOperator() throws Exception {
 
         RuleBuilder ruleBuilder = RuleBuilder.create(FlowType.PRE_ISSUE_ACCESS_TOKEN, "tenant1");
@@ -136,6 +136,21 @@ public class WorkFlowRuleEvaluationDataProvider implements RuleEvaluationDataPro
         return FlowType.APPROVAL_WORKFLOW;
     }
 
+    /**
+     * User claims, groups and roles and the role audience are looked up from the user store or the role management
+     * service, so they are resolved only if the rule evaluation reaches them.
+     */
+    @Override
+    public boolean isLazilyResolved(Field field) {
+
+        if (isUserClaimField(field.getName())) {
+            return true;
+        }
+        RuleField ruleField = RuleField.valueOfFieldName(field.getName());
+        return ruleField == RuleField.USER_GROUPS || ruleField == RuleField.USER_ROLES ||
+                ruleField == RuleField.ROLE_AUDIENCE;
+    }
+
     @Override
     public List<FieldValue> getEvaluationData(RuleEvaluationContext ruleEvaluationContext, FlowContext flowContext,
                                               String tenantDomain) throws RuleEvaluationDataProviderException {
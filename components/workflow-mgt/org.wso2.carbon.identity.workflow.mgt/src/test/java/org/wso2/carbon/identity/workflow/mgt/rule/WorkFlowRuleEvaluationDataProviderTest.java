@@ -54,8 +54,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Unit tests for {@link WorkFlowRuleEvaluationDataProvider}.
@@ -116,6 +118,19 @@ public class WorkFlowRuleEvaluationDataProviderTest {
         assertEquals(provider.getSupportedFlowType(), FlowType.APPROVAL_WORKFLOW);
     }
 
+    // ---- isLazilyResolved ----
+
+    @Test
+    public void testIsLazilyResolved_onlyForFieldsLookedUpFromStores() {
+
+        assertTrue(provider.isLazilyResolved(new Field("user.groups", ValueType.LIST)));
+        assertTrue(provider.isLazilyResolved(new Field("user.roles", ValueType.LIST)));
+        assertTrue(provider.isLazilyResolved(new Field("role.audience", ValueType.REFERENCE)));
+        assertTrue(provider.isLazilyResolved(new Field("user.http://wso2.org/claims/country", ValueType.STRING)));
+        assertFalse(provider.isLazilyResolved(new Field("user.domain", ValueType.STRING)));
+        assertFalse(provider.isLazilyResolved(new Field("role.id", ValueType.STRING)));
+    }
+
     // ---- user.domain ----
 
     @Test
@@ -1038,6 +1038,25 @@ CREATE TRIGGER IDP_PROV_ENTITY_TRIG NO CASCADE
                     SET (NEW.ID) = (NEXTVAL FOR IDP_PROV_ENTITY_SEQ);
                 END
 /
+CREATE TABLE IDP_PROVISIONING_OUTBOX (
+            ID VARCHAR(36) NOT NULL,
+            TENANT_ID INTEGER NOT NULL,
+            IDP_NAME VARCHAR(254) NOT NULL,
+            CONNECTOR_TYPE VARCHAR(255) NOT NULL,
+            ENTITY_TYPE VARCHAR(10) NOT NULL,
+            ENTITY_NAME VARCHAR(255) NOT NULL,
+            ENTITY_TENANT_DOMAIN VARCHAR(255),
+            OPERATION VARCHAR(10) NOT NULL,
+            JIT_ENABLED CHAR(1) DEFAULT '0' NOT NULL,
+            STATUS VARCHAR(20) NOT NULL,
+            ATTEMPTS INTEGER DEFAULT 0 NOT NULL,
+            ROW_VERSION INTEGER DEFAULT 0 NOT NULL,
+            PAYLOAD BLOB,
+            LAST_ERROR VARCHAR(1024),
+            CREATED_TIME BIGINT NOT NULL,
+            NEXT_ATTEMPT_TIME BIGINT NOT NULL,
+            PRIMARY KEY (ID))
+/
 CREATE TABLE IDP_LOCAL_CLAIM (
             ID INTEGER NOT NULL,
             TENANT_ID INTEGER NOT NULL,
@@ -2697,6 +2716,15 @@ CREATE TABLE IF NOT EXISTS IDN_FLOW_CONTEXT_STORE (
 )
 /
 
+CREATE TABLE IF NOT EXISTS IDN_FLOW_CONTEXT_DELTA (
+    CONTEXT_ID VARCHAR(255) NOT NULL,
+    SEQUENCE_NO INTEGER NOT NULL,
+    DELTA_JSON CLOB NOT NULL,
+    CONSTRAINT PK_IDN_FLOW_CONTEXT_DELTA PRIMARY KEY (CONTEXT_ID, SEQUENCE_NO),
+    FOREIGN KEY (CONTEXT_ID) REFERENCES IDN_FLOW_CONTEXT_STORE(ID) ON DELETE CASCADE
+)
+/
+
 CREATE TABLE IF NOT EXISTS IDN_ASYNC_OPERATION_STATUS (
 	OPERATION_ID VARCHAR(36) NOT NULL,
 	CURSOR_KEY INTEGER NOT NULL,
@@ -3039,6 +3067,12 @@ CREATE INDEX IDX_IDP_AUTH_IDP_ID ON IDP_AUTHENTICATOR (IDP_ID)
 CREATE INDEX IDX_AUTH_PROP_AUTH_ID ON IDP_AUTHENTICATOR_PROPERTY (AUTHENTICATOR_ID)
 /
 
+-- IDP_PROVISIONING_OUTBOX --
+CREATE INDEX IDX_IDP_PROV_OBX_ST_NAT ON IDP_PROVISIONING_OUTBOX (STATUS, NEXT_ATTEMPT_TIME)
+/
+CREATE INDEX IDX_IDP_PROV_OBX_TID_EN ON IDP_PROVISIONING_OUTBOX (TENANT_ID, ENTITY_NAME, ENTITY_TYPE, CREATED_TIME)
+/
+
 -- IDN_CONFIG_FILE --
 CREATE INDEX IDX_CON_FILE_RES_ID ON IDN_CONFIG_FILE (RESOURCE_ID);
 /
@@ -720,6 +720,26 @@ CREATE TABLE IF NOT EXISTS IDP_PROVISIONING_ENTITY (
             FOREIGN KEY (PROVISIONING_CONFIG_ID) REFERENCES IDP_PROVISIONING_CONFIG(ID) ON DELETE CASCADE
 )DEFAULT CHARACTER SET latin1 ENGINE INNODB;
 
+CREATE TABLE IF NOT EXISTS IDP_PROVISIONING_OUTBOX (
+            ID VARCHAR(36) NOT NULL,
+            TENANT_ID INTEGER NOT NULL,
+            IDP_NAME VARCHAR(254) NOT NULL,
+            CONNECTOR_TYPE VARCHAR(255) NOT NULL,
+            ENTITY_TYPE VARCHAR(10) NOT NULL,
+            ENTITY_NAME VARCHAR(255) NOT NULL,
+            ENTITY_TENANT_DOMAIN VARCHAR(255),
+            OPERATION VARCHAR(10) NOT NULL,
+            JIT_ENABLED CHAR(1) DEFAULT '0',
+            STATUS VARCHAR(20) NOT NULL,
+            ATTEMPTS INTEGER DEFAULT 0,
+            ROW_VERSION INTEGER DEFAULT 0,
+            PAYLOAD BLOB,
+            LAST_ERROR VARCHAR(1024),
+            CREATED_TIME BIGINT NOT NULL,
+            NEXT_ATTEMPT_TIME BIGINT NOT NULL,
+            PRIMARY KEY (ID)
+)DEFAULT CHARACTER SET latin1 ENGINE INNODB;
+
 CREATE TABLE IF NOT EXISTS IDP_LOCAL_CLAIM (
             ID INTEGER AUTO_INCREMENT,
             TENANT_ID INTEGER,
@@ -1817,6 +1837,14 @@ CREATE TABLE IF NOT EXISTS IDN_FLOW_CONTEXT_STORE (
     EXPIRES_AT TIMESTAMP NOT NULL
 );
 
+CREATE TABLE IF NOT EXISTS IDN_FLOW_CONTEXT_DELTA (
+    CONTEXT_ID VARCHAR(255) NOT NULL,
+    SEQUENCE_NO INT NOT NULL,
+    DELTA_JSON LONGTEXT NOT NULL,
+    PRIMARY KEY (CONTEXT_ID, SEQUENCE_NO),
+    FOREIGN KEY (CONTEXT_ID) REFERENCES IDN_FLOW_CONTEXT_STORE(ID) ON DELETE CASCADE
+);
+
 CREATE TABLE IF NOT EXISTS IDN_ASYNC_OPERATION_STATUS (
 	OPERATION_ID VARCHAR(36) NOT NULL,
 	CURSOR_KEY INT NOT NULL AUTO_INCREMENT,
@@ -2015,6 +2043,10 @@ CREATE INDEX IDX_IDP_AUTH_IDP_ID ON IDP_AUTHENTICATOR (IDP_ID);
 -- IDP_AUTHENTICATOR_PROPERTY --
 CREATE INDEX IDX_AUTH_PROP_AUTH_ID ON IDP_AUTHENTICATOR_PROPERTY (AUTHENTICATOR_ID);
 
+-- IDP_PROVISIONING_OUTBOX --
+CREATE INDEX IDX_IDP_PROV_OBX_ST_NAT ON IDP_PROVISIONING_OUTBOX (STATUS, NEXT_ATTEMPT_TIME);
+CREATE INDEX IDX_IDP_PROV_OBX_TID_EN ON IDP_PROVISIONING_OUTBOX (TENANT_ID, ENTITY_NAME, ENTITY_TYPE, CREATED_TIME);
+
 -- IDN_CONFIG_FILE --
 CREATE INDEX IDX_CON_FILE_RES_ID ON IDN_CONFIG_FILE (RESOURCE_ID);
 
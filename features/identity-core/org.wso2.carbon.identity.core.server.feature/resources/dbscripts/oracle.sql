@@ -1176,6 +1176,25 @@ CREATE OR REPLACE TRIGGER IDP_PROV_ENTITY_TRIG
                    SELECT IDP_PROV_ENTITY_SEQ.nextval INTO :NEW.ID FROM dual;
                END;
 /
+CREATE TABLE IDP_PROVISIONING_OUTBOX (
+            ID VARCHAR(36) NOT NULL,
+            TENANT_ID INTEGER NOT NULL,
+            IDP_NAME VARCHAR(254) NOT NULL,
+            CONNECTOR_TYPE VARCHAR(255) NOT NULL,
+            ENTITY_TYPE VARCHAR(10) NOT NULL,
+            ENTITY_NAME VARCHAR(255) NOT NULL,
+            ENTITY_TENANT_DOMAIN VARCHAR(255),
+            OPERATION VARCHAR(10) NOT NULL,
+            JIT_ENABLED CHAR(1) DEFAULT '0',
+            STATUS VARCHAR(20) NOT NULL,
+            ATTEMPTS INTEGER DEFAULT 0,
+            ROW_VERSION INTEGER DEFAULT 0,
+            PAYLOAD BLOB,
+            LAST_ERROR VARCHAR(1024),
+            CREATED_TIME NUMBER(19) NOT NULL,
+            NEXT_ATTEMPT_TIME NUMBER(19) NOT NULL,
+            PRIMARY KEY (ID))
+/
 CREATE TABLE IDP_LOCAL_CLAIM (
             ID INTEGER,
             TENANT_ID INTEGER,
@@ -2846,6 +2865,15 @@ CREATE TABLE IDN_FLOW_CONTEXT_STORE (
 )
 /
 
+CREATE TABLE IDN_FLOW_CONTEXT_DELTA (
+    CONTEXT_ID VARCHAR2(255) NOT NULL,
+    SEQUENCE_NO NUMBER(10) NOT NULL,
+    DELTA_JSON CLOB NOT NULL,
+    PRIMARY KEY (CONTEXT_ID, SEQUENCE_NO),
+    FOREIGN KEY (CONTEXT_ID) REFERENCES IDN_FLOW_CONTEXT_STORE(ID) ON DELETE CASCADE
+)
+/
+
 CREATE TABLE IDN_ASYNC_OPERATION_STATUS (
     OPERATION_ID CHAR(36) NOT NULL,
     CURSOR_KEY INTEGER NOT NULL,
@@ -3175,6 +3203,12 @@ CREATE INDEX IDX_IDP_AUTH_IDP_ID ON IDP_AUTHENTICATOR (IDP_ID)
 CREATE INDEX IDX_AUTH_PROP_AUTH_ID ON IDP_AUTHENTICATOR_PROPERTY (AUTHENTICATOR_ID)
 /
 
+-- IDP_PROVISIONING_OUTBOX --
+CREATE INDEX IDX_IDP_PROV_OBX_ST_NAT ON IDP_PROVISIONING_OUTBOX (STATUS, NEXT_ATTEMPT_TIME)
+/
+CREATE INDEX IDX_IDP_PROV_OBX_TID_EN ON IDP_PROVISIONING_OUTBOX (TENANT_ID, ENTITY_NAME, ENTITY_TYPE, CREATED_TIME)
+/
+
 -- SCOPE --
 CREATE INDEX API_ID_NAME_INDEX ON SCOPE (API_ID, NAME)
 /